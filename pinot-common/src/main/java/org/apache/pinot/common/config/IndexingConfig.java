@@ -49,6 +49,14 @@ public class IndexingConfig {
   @ConfigKey("bloomFilterColumns")
   private List<String> _bloomFilterColumns = new ArrayList<>();
 
+  @ConfigKey("bloomFilterType")
+  private String _bloomFilterType;
+
+  // Map from bloom filter column to its maximum false positive probability
+  @ConfigKey("bloomFilterConfig")
+  @UseChildKeyHandler(SimpleMapChildKeyHandler.class)
+  private Map<String, String> _bloomFilterConfig;
+
   @ConfigKey("loadMode")
   private String _loadMode;
 
@@ -75,6 +83,18 @@ public class IndexingConfig {
   @ConfigKey("onHeapDictionaryColumns")
   private List<String> _onHeapDictionaryColumns;
 
+  @ConfigKey("varLengthDictionaryColumns")
+  private List<String> _varLengthDictionaryColumns;
+
+  @ConfigKey("segmentWarmUpPolicy")
+  private String _segmentWarmUpPolicy;
+
+  @ConfigKey("waitForSegmentWarmUp")
+  private boolean _waitForSegmentWarmUp;
+
+  @ConfigKey("prefixSumMultiValueForwardIndex")
+  private boolean _prefixSumMultiValueForwardIndex;
+
   @ConfigKey("starTreeIndexSpec")
   private StarTreeIndexSpec _starTreeIndexSpec;
 
@@ -127,6 +147,22 @@ public class IndexingConfig {
     this._bloomFilterColumns = _bloomFilterColumns;
   }
 
+  public String getBloomFilterType() {
+    return _bloomFilterType;
+  }
+
+  public void setBloomFilterType(String bloomFilterType) {
+    _bloomFilterType = bloomFilterType;
+  }
+
+  public Map<String, String> getBloomFilterConfig() {
+    return _bloomFilterConfig;
+  }
+
+  public void setBloomFilterConfig(Map<String, String> bloomFilterConfig) {
+    _bloomFilterConfig = bloomFilterConfig;
+  }
+
   public String getLoadMode() {
     return _loadMode;
   }
@@ -191,6 +227,38 @@ public class IndexingConfig {
     _onHeapDictionaryColumns = onHeapDictionaryColumns;
   }
 
+  public List<String> getVarLengthDictionaryColumns() {
+    return _varLengthDictionaryColumns;
+  }
+
+  public void setVarLengthDictionaryColumns(List<String> varLengthDictionaryColumns) {
+    _varLengthDictionaryColumns = varLengthDictionaryColumns;
+  }
+
+  public String getSegmentWarmUpPolicy() {
+    return _segmentWarmUpPolicy;
+  }
+
+  public void setSegmentWarmUpPolicy(String segmentWarmUpPolicy) {
+    _segmentWarmUpPolicy = segmentWarmUpPolicy;
+  }
+
+  public boolean isWaitForSegmentWarmUp() {
+    return _waitForSegmentWarmUp;
+  }
+
+  public void setWaitForSegmentWarmUp(boolean waitForSegmentWarmUp) {
+    _waitForSegmentWarmUp = waitForSegmentWarmUp;
+  }
+
+  public boolean isPrefixSumMultiValueForwardIndex() {
+    return _prefixSumMultiValueForwardIndex;
+  }
+
+  public void setPrefixSumMultiValueForwardIndex(boolean prefixSumMultiValueForwardIndex) {
+    _prefixSumMultiValueForwardIndex = prefixSumMultiValueForwardIndex;
+  }
+
   public void setStarTreeIndexSpec(StarTreeIndexSpec starTreeIndexSpec) {
     _starTreeIndexSpec = starTreeIndexSpec;
   }
@@ -277,9 +345,15 @@ public class IndexingConfig {
         .isEqual(_noDictionaryColumns, that._noDictionaryColumns) && EqualityUtils
         .isEqual(_noDictionaryConfig, that._noDictionaryConfig) && EqualityUtils
         .isEqual(_onHeapDictionaryColumns, that._onHeapDictionaryColumns) && EqualityUtils
+        .isEqual(_varLengthDictionaryColumns, that._varLengthDictionaryColumns) && EqualityUtils
+        .isEqual(_segmentWarmUpPolicy, that._segmentWarmUpPolicy) && EqualityUtils
+        .isEqual(_waitForSegmentWarmUp, that._waitForSegmentWarmUp) && EqualityUtils
+        .isEqual(_prefixSumMultiValueForwardIndex, that._prefixSumMultiValueForwardIndex) && EqualityUtils
         .isEqual(_starTreeIndexSpec, that._starTreeIndexSpec) && EqualityUtils
         .isEqual(_segmentPartitionConfig, that._segmentPartitionConfig) && EqualityUtils
-        .isEqual(_bloomFilterColumns, that._bloomFilterColumns);
+        .isEqual(_bloomFilterColumns, that._bloomFilterColumns) && EqualityUtils
+        .isEqual(_bloomFilterType, that._bloomFilterType) && EqualityUtils
+        .isEqual(_bloomFilterConfig, that._bloomFilterConfig);
   }
 
   @Override
@@ -295,9 +369,15 @@ public class IndexingConfig {
     result = EqualityUtils.hashCodeOf(result, _noDictionaryColumns);
     result = EqualityUtils.hashCodeOf(result, _noDictionaryConfig);
     result = EqualityUtils.hashCodeOf(result, _onHeapDictionaryColumns);
+    result = EqualityUtils.hashCodeOf(result, _varLengthDictionaryColumns);
+    result = EqualityUtils.hashCodeOf(result, _segmentWarmUpPolicy);
+    result = EqualityUtils.hashCodeOf(result, _waitForSegmentWarmUp);
+    result = EqualityUtils.hashCodeOf(result, _prefixSumMultiValueForwardIndex);
     result = EqualityUtils.hashCodeOf(result, _starTreeIndexSpec);
     result = EqualityUtils.hashCodeOf(result, _segmentPartitionConfig);
     result = EqualityUtils.hashCodeOf(result, _bloomFilterColumns);
+    result = EqualityUtils.hashCodeOf(result, _bloomFilterType);
+    result = EqualityUtils.hashCodeOf(result, _bloomFilterConfig);
     return result;
   }
 }
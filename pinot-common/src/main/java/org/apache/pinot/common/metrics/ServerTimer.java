@@ -26,7 +26,15 @@ import org.apache.pinot.common.Utils;
  *
  */
 public enum ServerTimer implements AbstractMetrics.Timer {
-  CURRENT_MSG_EVENT_TIMESTAMP_LAG("currentMsgEventTimestampLag", false);
+  CURRENT_MSG_EVENT_TIMESTAMP_LAG("currentMsgEventTimestampLag", false),
+  // Time to download (and untar) a segment from the deep store
+  SEGMENT_DOWNLOAD_TIME_MS("milliseconds", false),
+  // Time to convert and pre-process (create missing indexes for) a segment on disk
+  SEGMENT_PREPROCESS_TIME_MS("milliseconds", false),
+  // Time to load a segment into the table data manager
+  SEGMENT_LOAD_TIME_MS("milliseconds", false),
+  // Time to preload all the OFFLINE segments during server bootstrap
+  SEGMENT_PRELOAD_TIME_MS("milliseconds", true);
 
   private final String timerName;
   private final boolean global;
@@ -23,10 +23,12 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Set;
+import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.pinot.common.utils.TarGzCompressionUtils;
 import org.apache.pinot.common.utils.retry.RetryPolicies;
 import org.apache.pinot.common.utils.retry.RetryPolicy;
 import org.slf4j.Logger;
@@ -125,6 +127,37 @@ public class HdfsSegmentFetcher implements SegmentFetcher {
     }
   }
 
+  @Override
+  public void fetchUntarSegmentToLocalStreamed(final String uri, final File destDir)
+      throws Exception {
+    LOGGER.debug("starting to fetch and untar segment from hdfs");
+    try {
+      final Path remoteFile = new Path(uri);
+
+      RetryPolicy fixedDelayRetryPolicy = RetryPolicies.fixedDelayRetryPolicy(_retryCount, _retryWaitMs);
+      fixedDelayRetryPolicy.attempt(() -> {
+        // Clean up the partially untarred files from the previous attempt
+        FileUtils.deleteQuietly(destDir);
+        try {
+          if (_hadoopFS == null) {
+            throw new RuntimeException("_hadoopFS client is not initialized when trying to copy files");
+          }
+          long startMs = System.currentTimeMillis();
+          TarGzCompressionUtils.unTar(_hadoopFS.open(remoteFile), destDir);
+          LOGGER.debug("copied and untarred {} from hdfs to {} in local, take {} ms", uri, destDir,
+              System.currentTimeMillis() - startMs);
+          return true;
+        } catch (IOException e) {
+          LOGGER.warn("failed to fetch segment {} from hdfs, might retry", uri, e);
+          return false;
+        }
+      });
+    } catch (Exception e) {
+      LOGGER.error("failed to fetch and untar {} from hdfs to local {}", uri, destDir, e);
+      throw e;
+    }
+  }
+
   @Override
   public Set<String> getProtectedConfigKeys() {
     return Collections.emptySet();
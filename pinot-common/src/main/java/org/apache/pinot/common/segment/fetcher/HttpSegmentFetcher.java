@@ -23,6 +23,7 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.Set;
 import org.apache.commons.configuration.Configuration;
+import org.apache.commons.io.FileUtils;
 import org.apache.pinot.common.exception.HttpErrorStatusException;
 import org.apache.pinot.common.utils.FileUploadDownloadClient;
 import org.apache.pinot.common.utils.retry.RetryPolicies;
@@ -80,6 +81,35 @@ public class HttpSegmentFetcher implements SegmentFetcher {
     });
   }
 
+  @Override
+  public void fetchUntarSegmentToLocalStreamed(final String uri, final File destDir)
+      throws Exception {
+    RetryPolicies.exponentialBackoffRetryPolicy(_retryCount, _retryWaitMs, 5).attempt(() -> {
+      // Clean up the partially untarred files from the previous attempt
+      FileUtils.deleteQuietly(destDir);
+      try {
+        int statusCode = _httpClient.downloadUntarFileStreamed(new URI(uri), destDir);
+        _logger.info("Downloaded and untarred file from: {} to: {}; Response status code: {}", uri, destDir,
+            statusCode);
+        return true;
+      } catch (HttpErrorStatusException e) {
+        int statusCode = e.getStatusCode();
+        if (statusCode >= 500) {
+          // Temporary exception
+          _logger.warn("Caught temporary exception while downloading file from: {}, will retry", uri, e);
+          return false;
+        } else {
+          // Permanent exception
+          _logger.error("Caught permanent exception while downloading file from: {}, won't retry", uri, e);
+          throw e;
+        }
+      } catch (Exception e) {
+        _logger.warn("Caught temporary exception while downloading file from: {}, will retry", uri, e);
+        return false;
+      }
+    });
+  }
+
   @Override
   public Set<String> getProtectedConfigKeys() {
     return Collections.emptySet();
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.Set;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.utils.TarGzCompressionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +43,13 @@ public class LocalFileSegmentFetcher implements SegmentFetcher {
     LOGGER.info("Copy file from {} to {}; Length of file: {}", uri, tempFile, tempFile.length());
   }
 
+  @Override
+  public void fetchUntarSegmentToLocalStreamed(String uri, File destDir)
+      throws Exception {
+    TarGzCompressionUtils.unTar(new File(uri), destDir);
+    LOGGER.info("Untar file from {} to {}", uri, destDir);
+  }
+
   @Override
   public Set<String> getProtectedConfigKeys() {
     return Collections.emptySet();
@@ -21,6 +21,8 @@ package org.apache.pinot.common.segment.fetcher;
 import java.io.File;
 import java.util.Set;
 import org.apache.commons.configuration.Configuration;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.utils.TarGzCompressionUtils;
 
 
 public interface SegmentFetcher {
@@ -40,6 +42,26 @@ public interface SegmentFetcher {
   void fetchSegmentToLocal(String uri, File tempFile)
       throws Exception;
 
+  /**
+   * Fetches a tar.gz segment from a uri location and untars it into the given directory while fetching, so that the
+   * tarred segment does not need to be stored on the local filesystem. Fetchers that cannot stream the segment fall
+   * back to fetching the tarred segment next to the given directory before untarring it.
+   * @param uri current segment location
+   * @param destDir directory the untarred segment will be stored into
+   * @throws Exception
+   */
+  default void fetchUntarSegmentToLocalStreamed(String uri, File destDir)
+      throws Exception {
+    File tempTarFile =
+        new File(destDir.getParentFile(), destDir.getName() + TarGzCompressionUtils.TAR_GZ_FILE_EXTENSION);
+    try {
+      fetchSegmentToLocal(uri, tempTarFile);
+      TarGzCompressionUtils.unTar(tempTarFile, destDir);
+    } finally {
+      FileUtils.deleteQuietly(tempTarFile);
+    }
+  }
+
   /**
    * Returns a list of config keys whose value should not be logged.
    *
@@ -160,10 +160,18 @@ public class CommonConstants {
     public static final String CONFIG_OF_STARTER_ENABLE_SEGMENTS_LOADING_CHECK =
         "pinot.server.starter.enableSegmentsLoadingCheck";
     public static final String CONFIG_OF_STARTER_TIMEOUT_IN_SECONDS = "pinot.server.starter.timeoutInSeconds";
+    // Number of threads to prefetch and pre-process the OFFLINE segments assigned to the server during bootstrap, so
+    // that the state transitions only need to load the prepared segments. A value of <= 0 disables the preloading.
+    public static final String CONFIG_OF_STARTER_SEGMENT_PRELOAD_PARALLELISM =
+        "pinot.server.starter.segmentPreloadParallelism";
 
     public static final String CONFIG_OF_SEGMENT_FORMAT_VERSION = "pinot.server.instance.segment.format.version";
     public static final String CONFIG_OF_ENABLE_DEFAULT_COLUMNS = "pinot.server.instance.enable.default.columns";
     public static final String CONFIG_OF_ENABLE_SHUTDOWN_DELAY = "pinot.server.instance.enable.shutdown.delay";
+    // Whether to untar the segment while downloading it instead of storing the tarred segment locally first (not
+    // applied to encrypted segments)
+    public static final String CONFIG_OF_ENABLE_STREAMED_SEGMENT_DOWNLOAD_UNTAR =
+        "pinot.server.instance.enable.streamed.segment.download.untar";
     public static final String CONFIG_OF_ENABLE_SPLIT_COMMIT = "pinot.server.instance.enable.split.commit";
     public static final String CONFIG_OF_ENABLE_COMMIT_END_WITH_METADATA =
         "pinot.server.instance.enable.commitend.metadata";
@@ -186,6 +194,8 @@ public class CommonConstants {
     public static final int DEFAULT_ADMIN_API_PORT = 8097;
     public static final boolean DEFAULT_STARTER_ENABLE_SEGMENTS_LOADING_CHECK = false;
     public static final int DEFAULT_STARTER_TIMEOUT_IN_SECONDS = 600;
+    public static final int DEFAULT_STARTER_SEGMENT_PRELOAD_PARALLELISM = 0;
+    public static final boolean DEFAULT_ENABLE_STREAMED_SEGMENT_DOWNLOAD_UNTAR = false;
     public static final String DEFAULT_READ_MODE = "heap";
     public static final String DEFAULT_INSTANCE_BASE_DIR =
         System.getProperty("java.io.tmpdir") + File.separator + "PinotServer";
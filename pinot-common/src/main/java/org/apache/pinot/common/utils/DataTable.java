@@ -37,6 +37,8 @@ public interface DataTable {
   String NUM_SEGMENTS_MATCHED = "numSegmentsMatched";
   String TOTAL_DOCS_METADATA_KEY = "totalDocs";
   String NUM_GROUPS_LIMIT_REACHED_KEY = "numGroupsLimitReached";
+  String MEMORY_ALLOCATED_BYTES_METADATA_KEY = "memoryAllocatedBytes";
+  String MEMORY_LIMIT_REACHED_METADATA_KEY = "memoryLimitReached";
   String TIME_USED_MS_METADATA_KEY = "timeUsedMs";
   String TRACE_INFO_METADATA_KEY = "traceInfo";
   String REQUEST_ID_METADATA_KEY = "requestId";
@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
+import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -89,6 +90,7 @@ public class FileUploadDownloadClient implements Closeable {
 
   public static final int DEFAULT_SOCKET_TIMEOUT_MS = 600 * 1000; // 10 minutes
   public static final int GET_REQUEST_SOCKET_TIMEOUT_MS = 5 * 1000; // 5 seconds
+  public static final int DELETE_REQUEST_SOCKET_TIMEOUT_MS = 60 * 1000; // 60 seconds
 
   private static final String HTTP = "http";
   private static final String HTTPS = "https";
@@ -202,6 +204,12 @@ public class FileUploadDownloadClient implements Closeable {
     return requestBuilder.build();
   }
 
+  private static HttpUriRequest constructDeleteRequest(URI uri) {
+    RequestBuilder requestBuilder = RequestBuilder.delete(uri).setVersion(HttpVersion.HTTP_1_1);
+    setTimeout(requestBuilder, DELETE_REQUEST_SOCKET_TIMEOUT_MS);
+    return requestBuilder.build();
+  }
+
   private static HttpUriRequest getAddSchemaRequest(URI uri, String schemaName, File schemaFile) {
     return getUploadFileRequest(HttpPost.METHOD_NAME, uri, getContentBody(schemaName, schemaFile), null, null,
         DEFAULT_SOCKET_TIMEOUT_MS);
@@ -355,6 +363,11 @@ public class FileUploadDownloadClient implements Closeable {
     return sendRequest(constructGetRequest(uri));
   }
 
+  public SimpleHttpResponse sendDeleteRequest(URI uri)
+      throws IOException, HttpErrorStatusException {
+    return sendRequest(constructDeleteRequest(uri));
+  }
+
   /**
    * Add schema.
    *
@@ -611,6 +624,51 @@ public class FileUploadDownloadClient implements Closeable {
     return downloadFile(uri, DEFAULT_SOCKET_TIMEOUT_MS, dest);
   }
 
+  /**
+   * Download a tar.gz file and untar it into the destination directory while downloading, without storing the tar.gz
+   * file locally.
+   *
+   * @param uri URI
+   * @param socketTimeoutMs Socket timeout in milliseconds
+   * @param destDir Destination directory for the untarred files
+   * @return Response status code
+   * @throws IOException
+   * @throws HttpErrorStatusException
+   */
+  public int downloadUntarFileStreamed(URI uri, int socketTimeoutMs, File destDir)
+      throws IOException, HttpErrorStatusException {
+    HttpUriRequest request = getDownloadFileRequest(uri, socketTimeoutMs);
+    try (CloseableHttpResponse response = _httpClient.execute(request)) {
+      StatusLine statusLine = response.getStatusLine();
+      int statusCode = statusLine.getStatusCode();
+      if (statusCode >= 300) {
+        throw new HttpErrorStatusException(getErrorMessage(request, response), statusCode);
+      }
+
+      try {
+        TarGzCompressionUtils.unTar(response.getEntity().getContent(), destDir);
+      } catch (ArchiveException e) {
+        throw new IOException(String.format("Caught exception while untarring file with uri: %s", uri), e);
+      }
+
+      return statusCode;
+    }
+  }
+
+  /**
+   * Download a tar.gz file and untar it into the destination directory while downloading.
+   *
+   * @param uri URI
+   * @param destDir Destination directory for the untarred files
+   * @return Response status code
+   * @throws IOException
+   * @throws HttpErrorStatusException
+   */
+  public int downloadUntarFileStreamed(URI uri, File destDir)
+      throws IOException, HttpErrorStatusException {
+    return downloadUntarFileStreamed(uri, DEFAULT_SOCKET_TIMEOUT_MS, destDir);
+  }
+
   @Override
   public void close()
       throws IOException {
@@ -154,14 +154,29 @@ public class TarGzCompressionUtils {
    */
   public static List<File> unTar(final File inputFile, final File outputDir)
       throws IOException, ArchiveException {
+    LOGGER.debug("Untaring {} to dir {}.", inputFile.getAbsolutePath(), outputDir.getAbsolutePath());
+    return unTar(new BufferedInputStream(new FileInputStream(inputFile)), outputDir);
+  }
+
+  /** Untar a tar.gz input stream into the output folder while reading the stream, so that the tar.gz file does not
+   * need to be stored locally (e.g. when downloading a segment). The input stream is closed after untarring.
+   *
+   * @param tarGzInputStream the input tar.gz stream
+   * @param outputDir        the output directory file.
+   * @throws IOException
+   *
+   * @return The {@link List} of {@link File}s with the untared content.
+   * @throws ArchiveException
+   */
+  public static List<File> unTar(final InputStream tarGzInputStream, final File outputDir)
+      throws IOException, ArchiveException {
 
     String outputDirectoryPath = outputDir.getCanonicalPath();
-    LOGGER.debug("Untaring {} to dir {}.", inputFile.getAbsolutePath(), outputDirectoryPath);
     TarArchiveInputStream debInputStream = null;
     InputStream is = null;
     final List<File> untaredFiles = new LinkedList<File>();
     try {
-      is = new GzipCompressorInputStream(new BufferedInputStream(new FileInputStream(inputFile)));
+      is = new GzipCompressorInputStream(tarGzInputStream);
       debInputStream = (TarArchiveInputStream) new ArchiveStreamFactory().createArchiveInputStream("tar", is);
       TarArchiveEntry entry = null;
       while ((entry = (TarArchiveEntry) debInputStream.getNextEntry()) != null) {
@@ -201,6 +216,7 @@ public class TarGzCompressionUtils {
     } finally {
       IOUtils.closeQuietly(debInputStream);
       IOUtils.closeQuietly(is);
+      IOUtils.closeQuietly(tarGzInputStream);
     }
     return untaredFiles;
   }
@@ -24,6 +24,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Random;
 import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
@@ -114,6 +115,30 @@ public class TarGzCompressionUtilsTest {
     }
   }
 
+  @Test
+  public void testUntarInputStream()
+      throws IOException, ArchiveException {
+    File metaFile = new File(segmentDir, "metadata.properties");
+    FileUtils.writeStringToFile(metaFile, "segment.name = " + SEGMENT_NAME);
+    File v3Dir = new File(segmentDir, "v3");
+    FileUtils.forceMkdir(v3Dir);
+    File indexFile = new File(v3Dir, "columns.psf");
+    byte[] indexBytes = new byte[100_000];
+    new Random().nextBytes(indexBytes);
+    FileUtils.writeByteArrayToFile(indexFile, indexBytes);
+
+    File tarGzPath = new File(tarDir, SEGMENT_NAME + ".tar.gz");
+    TarGzCompressionUtils.createTarGzOfDirectory(segmentDir.getPath(), tarGzPath.getPath());
+    TarGzCompressionUtils.unTar(new FileInputStream(tarGzPath), untarDir);
+    File[] segments = untarDir.listFiles();
+    Assert.assertNotNull(segments);
+    Assert.assertEquals(segments.length, 1);
+    Assert.assertEquals(FileUtils.readFileToString(new File(segments[0], metaFile.getName())),
+        "segment.name = " + SEGMENT_NAME);
+    File untarredIndexFile = new File(new File(segments[0], v3Dir.getName()), indexFile.getName());
+    Assert.assertEquals(FileUtils.readFileToByteArray(untarredIndexFile), indexBytes);
+  }
+
   @Test
   public void testEmptyDirectory()
       throws IOException, ArchiveException {
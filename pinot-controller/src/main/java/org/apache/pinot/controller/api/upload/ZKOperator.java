@@ -21,6 +21,7 @@ package org.apache.pinot.controller.api.upload;
 import java.io.File;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import org.apache.helix.ZNRecord;
@@ -70,8 +71,16 @@ public class ZKOperator {
     if (znRecord == null) {
       LOGGER.info("Adding new segment {} from table {}", segmentName, rawTableName);
       String crypter = headers.getHeaderString(FileUploadDownloadClient.CustomHeaders.CRYPTER);
+      // Set the custom map in segment ZK metadata if the modifier is provided
+      String segmentZKMetadataCustomMapModifierStr =
+          headers.getHeaderString(FileUploadDownloadClient.CustomHeaders.SEGMENT_ZK_METADATA_CUSTOM_MAP_MODIFIER);
+      Map<String, String> customMap = null;
+      if (segmentZKMetadataCustomMapModifierStr != null) {
+        customMap = new SegmentZKMetadataCustomMapModifier(segmentZKMetadataCustomMapModifierStr).modifyMap(null);
+      }
       processNewSegment(segmentMetadata, finalSegmentLocationURI, currentSegmentLocation, zkDownloadURI, crypter,
-          rawTableName, segmentName, moveSegmentToFinalLocation, segmentValidatorResponse.getAssignedInstances());
+          customMap, rawTableName, segmentName, moveSegmentToFinalLocation,
+          segmentValidatorResponse.getAssignedInstances());
       return;
     }
 
@@ -206,8 +215,8 @@ public class ZKOperator {
   }
 
   private void processNewSegment(SegmentMetadata segmentMetadata, URI finalSegmentLocationURI,
-      File currentSegmentLocation, String zkDownloadURI, String crypter, String rawTableName, String segmentName,
-      boolean moveSegmentToFinalLocation, List<String> assignedInstances) {
+      File currentSegmentLocation, String zkDownloadURI, String crypter, Map<String, String> customMap,
+      String rawTableName, String segmentName, boolean moveSegmentToFinalLocation, List<String> assignedInstances) {
     // For v1 segment uploads, we will not move the segment
     if (moveSegmentToFinalLocation) {
       try {
@@ -223,7 +232,7 @@ public class ZKOperator {
       LOGGER.info("Skipping segment move, keeping segment {} from table {} at {}", segmentName, rawTableName,
           zkDownloadURI);
     }
-    _pinotHelixResourceManager.addNewSegment(segmentMetadata, zkDownloadURI, crypter, assignedInstances);
+    _pinotHelixResourceManager.addNewSegment(segmentMetadata, zkDownloadURI, crypter, customMap, assignedInstances);
   }
 
   private void moveSegmentToPermanentDirectory(File currentSegmentLocation, URI finalSegmentLocationURI)
@@ -1530,6 +1530,11 @@ public class PinotHelixResourceManager {
 
   public void addNewSegment(@Nonnull SegmentMetadata segmentMetadata, @Nonnull String downloadUrl, String crypter,
       @Nonnull List<String> assignedInstances) {
+    addNewSegment(segmentMetadata, downloadUrl, crypter, null, assignedInstances);
+  }
+
+  public void addNewSegment(@Nonnull SegmentMetadata segmentMetadata, @Nonnull String downloadUrl, String crypter,
+      @Nullable Map<String, String> customMap, @Nonnull List<String> assignedInstances) {
     Preconditions.checkNotNull(assignedInstances, "Assigned Instances should not be null!");
     String segmentName = segmentMetadata.getName();
     String offlineTableName = TableNameBuilder.OFFLINE.tableNameWithType(segmentMetadata.getTableName());
@@ -1540,6 +1545,7 @@ public class PinotHelixResourceManager {
     offlineSegmentZKMetadata = ZKMetadataUtils.updateSegmentMetadata(offlineSegmentZKMetadata, segmentMetadata);
     offlineSegmentZKMetadata.setDownloadUrl(downloadUrl);
     offlineSegmentZKMetadata.setCrypterName(crypter);
+    offlineSegmentZKMetadata.setCustomMap(customMap);
     offlineSegmentZKMetadata.setPushTime(System.currentTimeMillis());
     if (!ZKMetadataProvider.setOfflineSegmentZKMetadata(_propertyStore, offlineSegmentZKMetadata)) {
       throw new RuntimeException(
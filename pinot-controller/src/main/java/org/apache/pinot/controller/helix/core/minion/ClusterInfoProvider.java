@@ -100,6 +100,18 @@ public class ClusterInfoProvider {
         .getRealtimeSegmentZKMetadataListForTable(_pinotHelixResourceManager.getPropertyStore(), realtimeTableName);
   }
 
+  /**
+   * Delete the given segments from the given OFFLINE table.
+   *
+   * @param offlineTableName Offline table name
+   * @param segmentNames List of names of segments to be deleted
+   * @return Whether the segments are deleted successfully
+   */
+  public boolean deleteOfflineSegments(@Nonnull String offlineTableName, @Nonnull List<String> segmentNames) {
+    Preconditions.checkArgument(TableNameBuilder.OFFLINE.tableHasTypeSuffix(offlineTableName));
+    return _pinotHelixResourceManager.deleteSegments(offlineTableName, segmentNames).isSuccessful();
+  }
+
   /**
    * Get all tasks' state for the given task type.
    *
@@ -0,0 +1,285 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.controller.helix.core.minion.generator;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.apache.pinot.common.config.PinotTaskConfig;
+import org.apache.pinot.common.config.TableConfig;
+import org.apache.pinot.common.config.TableNameBuilder;
+import org.apache.pinot.common.config.TableTaskConfig;
+import org.apache.pinot.common.data.Segment;
+import org.apache.pinot.common.metadata.segment.OfflineSegmentZKMetadata;
+import org.apache.pinot.common.utils.CommonConstants;
+import org.apache.pinot.common.utils.JsonUtils;
+import org.apache.pinot.common.utils.time.TimeUtils;
+import org.apache.pinot.controller.helix.core.minion.ClusterInfoProvider;
+import org.apache.pinot.core.common.MinionConstants;
+import org.apache.pinot.core.minion.rollup.MergeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Task generator for {@link MinionConstants.MergeRollupTask}, which picks the small segments to be merged.
+ * <ul>
+ *   <li>Segments are bucketed by their time range based on the bucket time period, and only the segments with time
+ *   range fully inside a bucket are merged. The bucket of the current time is skipped as it is still getting new
+ *   segments.</li>
+ *   <li>Segments with number of records no less than the max number of records per segment are not merged.</li>
+ *   <li>Within each bucket, segments are packed in the order of their start time into tasks of up to the max number of
+ *   segments per task, and with total number of records up to the max number of records per segment.</li>
+ *   <li>A task is generated only if it merges at least 2 segments.</li>
+ *   <li>Segments recorded as the input segments of a merged segment failed to be deleted after the merged segment was
+ *   uploaded. They are never merged again, and are deleted here.</li>
+ * </ul>
+ */
+public class MergeRollupTaskGenerator implements PinotTaskGenerator {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MergeRollupTaskGenerator.class);
+
+  private static final String MERGED_SEGMENT_NAME_PREFIX = "merged_";
+
+  private final ClusterInfoProvider _clusterInfoProvider;
+
+  public MergeRollupTaskGenerator(ClusterInfoProvider clusterInfoProvider) {
+    _clusterInfoProvider = clusterInfoProvider;
+  }
+
+  @Nonnull
+  @Override
+  public String getTaskType() {
+    return MinionConstants.MergeRollupTask.TASK_TYPE;
+  }
+
+  @Nonnull
+  @Override
+  public List<PinotTaskConfig> generateTasks(@Nonnull List<TableConfig> tableConfigs) {
+    List<PinotTaskConfig> pinotTaskConfigs = new ArrayList<>();
+
+    // Get the segments that are being merged so that we don't submit them again
+    Set<Segment> runningSegments =
+        TaskGeneratorUtils.getRunningSegments(MinionConstants.MergeRollupTask.TASK_TYPE, _clusterInfoProvider);
+
+    for (TableConfig tableConfig : tableConfigs) {
+      // Only generate tasks for OFFLINE tables
+      String offlineTableName = tableConfig.getTableName();
+      if (tableConfig.getTableType() != CommonConstants.Helix.TableType.OFFLINE) {
+        LOGGER.warn("Skip generating MergeRollupTask for non-OFFLINE table: {}", offlineTableName);
+        continue;
+      }
+
+      TableTaskConfig tableTaskConfig = tableConfig.getTaskConfig();
+      Preconditions.checkNotNull(tableTaskConfig);
+      Map<String, String> taskConfigs =
+          tableTaskConfig.getConfigsForTaskType(MinionConstants.MergeRollupTask.TASK_TYPE);
+      Preconditions.checkNotNull(taskConfigs, "Task config shouldn't be null for Table: {}", offlineTableName);
+
+      // Get max number of tasks for this table
+      int tableMaxNumTasks;
+      String tableMaxNumTasksConfig = taskConfigs.get(MinionConstants.TABLE_MAX_NUM_TASKS_KEY);
+      if (tableMaxNumTasksConfig != null) {
+        try {
+          tableMaxNumTasks = Integer.valueOf(tableMaxNumTasksConfig);
+        } catch (Exception e) {
+          tableMaxNumTasks = Integer.MAX_VALUE;
+        }
+      } else {
+        tableMaxNumTasks = Integer.MAX_VALUE;
+      }
+
+      long bucketTimeMs;
+      int maxNumSegmentsPerTask;
+      long maxNumRecordsPerSegment;
+      String mergeType;
+      try {
+        String bucketTimePeriod = taskConfigs.getOrDefault(MinionConstants.MergeRollupTask.BUCKET_TIME_PERIOD_KEY,
+            MinionConstants.MergeRollupTask.DEFAULT_BUCKET_TIME_PERIOD);
+        bucketTimeMs = TimeUtils.convertPeriodToMillis(bucketTimePeriod);
+        Preconditions.checkArgument(bucketTimeMs > 0, "Invalid bucket time period: %s", bucketTimePeriod);
+        String maxNumSegmentsPerTaskConfig =
+            taskConfigs.get(MinionConstants.MergeRollupTask.MAX_NUM_SEGMENTS_PER_TASK_KEY);
+        maxNumSegmentsPerTask = maxNumSegmentsPerTaskConfig != null ? Integer.parseInt(maxNumSegmentsPerTaskConfig)
+            : MinionConstants.MergeRollupTask.DEFAULT_MAX_NUM_SEGMENTS_PER_TASK;
+        String maxNumRecordsPerSegmentConfig =
+            taskConfigs.get(MinionConstants.MergeRollupTask.MAX_NUM_RECORDS_PER_SEGMENT_KEY);
+        maxNumRecordsPerSegment =
+            maxNumRecordsPerSegmentConfig != null ? Long.parseLong(maxNumRecordsPerSegmentConfig)
+                : MinionConstants.MergeRollupTask.DEFAULT_MAX_NUM_RECORDS_PER_SEGMENT;
+        mergeType = taskConfigs.getOrDefault(MinionConstants.MergeRollupTask.MERGE_TYPE_KEY,
+            MergeType.CONCATENATE.toString());
+        MergeType.fromString(mergeType);
+      } catch (Exception e) {
+        LOGGER.error("Skip generating MergeRollupTask for table: {} because of invalid task config", offlineTableName,
+            e);
+        continue;
+      }
+
+      // Pass the indexing config to the task so that the merged segment keeps the sorted column and the inverted index
+      String indexingConfig;
+      try {
+        indexingConfig = JsonUtils.objectToString(tableConfig.getIndexingConfig());
+      } catch (Exception e) {
+        LOGGER.error("Skip generating MergeRollupTask for table: {} because of failing to serialize indexing config",
+            offlineTableName, e);
+        continue;
+      }
+
+      List<OfflineSegmentZKMetadata> offlineSegmentsMetadata =
+          _clusterInfoProvider.getOfflineSegmentsMetadata(offlineTableName);
+
+      // Get the input segments of the merged segments
+      Set<String> mergedInputSegments = new HashSet<>();
+      for (OfflineSegmentZKMetadata offlineSegmentZKMetadata : offlineSegmentsMetadata) {
+        Map<String, String> customMap = offlineSegmentZKMetadata.getCustomMap();
+        if (customMap != null) {
+          String inputSegments = customMap.get(MinionConstants.MergeRollupTask.INPUT_SEGMENTS_KEY);
+          if (inputSegments != null) {
+            mergedInputSegments.addAll(Arrays.asList(inputSegments.split(MinionConstants.URL_SEPARATOR)));
+          }
+        }
+      }
+
+      // Bucket the candidate segments by their time range
+      long currentBucket = System.currentTimeMillis() / bucketTimeMs;
+      TreeMap<Long, List<OfflineSegmentZKMetadata>> bucketToSegments = new TreeMap<>();
+      List<String> segmentsToDelete = new ArrayList<>();
+      for (OfflineSegmentZKMetadata offlineSegmentZKMetadata : offlineSegmentsMetadata) {
+        String segmentName = offlineSegmentZKMetadata.getSegmentName();
+        // Skip segments that are already submitted
+        if (runningSegments.contains(new Segment(offlineTableName, segmentName))) {
+          continue;
+        }
+        // Skip and delete the input segments left behind by the finished tasks
+        if (mergedInputSegments.contains(segmentName)) {
+          segmentsToDelete.add(segmentName);
+          continue;
+        }
+        // Skip segments that are large enough
+        if (offlineSegmentZKMetadata.getTotalRawDocs() >= maxNumRecordsPerSegment) {
+          continue;
+        }
+        TimeUnit timeUnit = offlineSegmentZKMetadata.getTimeUnit();
+        if (timeUnit == null) {
+          continue;
+        }
+        long startBucket = timeUnit.toMillis(offlineSegmentZKMetadata.getStartTime()) / bucketTimeMs;
+        long endBucket = timeUnit.toMillis(offlineSegmentZKMetadata.getEndTime()) / bucketTimeMs;
+        if (startBucket != endBucket || startBucket >= currentBucket) {
+          continue;
+        }
+        bucketToSegments.computeIfAbsent(startBucket, k -> new ArrayList<>()).add(offlineSegmentZKMetadata);
+      }
+      if (!segmentsToDelete.isEmpty()) {
+        LOGGER.info("Deleting segments: {} of table: {} that are already merged", segmentsToDelete, offlineTableName);
+        if (!_clusterInfoProvider.deleteOfflineSegments(offlineTableName, segmentsToDelete)) {
+          LOGGER.warn("Failed to delete segments: {} of table: {}, will retry in the next run", segmentsToDelete,
+              offlineTableName);
+        }
+      }
+
+      // Pack the segments within each bucket into tasks
+      int tableNumTasks = 0;
+      for (Map.Entry<Long, List<OfflineSegmentZKMetadata>> entry : bucketToSegments.entrySet()) {
+        if (tableNumTasks == tableMaxNumTasks) {
+          break;
+        }
+        List<OfflineSegmentZKMetadata> segments = entry.getValue();
+        segments.sort(Comparator.comparingLong(OfflineSegmentZKMetadata::getStartTime));
+
+        List<OfflineSegmentZKMetadata> segmentsToMerge = new ArrayList<>();
+        long numRecordsToMerge = 0;
+        for (OfflineSegmentZKMetadata segment : segments) {
+          if (segmentsToMerge.size() == maxNumSegmentsPerTask
+              || numRecordsToMerge + segment.getTotalRawDocs() > maxNumRecordsPerSegment) {
+            if (segmentsToMerge.size() > 1) {
+              pinotTaskConfigs.add(
+                  getTaskConfig(offlineTableName, entry.getKey(), tableNumTasks, segmentsToMerge, mergeType,
+                      indexingConfig, taskConfigs));
+              tableNumTasks++;
+              if (tableNumTasks == tableMaxNumTasks) {
+                break;
+              }
+            }
+            segmentsToMerge = new ArrayList<>();
+            numRecordsToMerge = 0;
+          }
+          segmentsToMerge.add(segment);
+          numRecordsToMerge += segment.getTotalRawDocs();
+        }
+        if (tableNumTasks < tableMaxNumTasks && segmentsToMerge.size() > 1) {
+          pinotTaskConfigs.add(
+              getTaskConfig(offlineTableName, entry.getKey(), tableNumTasks, segmentsToMerge, mergeType, indexingConfig,
+                  taskConfigs));
+          tableNumTasks++;
+        }
+      }
+    }
+
+    return pinotTaskConfigs;
+  }
+
+  private PinotTaskConfig getTaskConfig(String offlineTableName, long bucket, int sequenceId,
+      List<OfflineSegmentZKMetadata> segmentsToMerge, String mergeType, String indexingConfig,
+      Map<String, String> taskConfigs) {
+    List<String> segmentNames = new ArrayList<>(segmentsToMerge.size());
+    List<String> downloadURLs = new ArrayList<>(segmentsToMerge.size());
+    for (OfflineSegmentZKMetadata segment : segmentsToMerge) {
+      segmentNames.add(segment.getSegmentName());
+      downloadURLs.add(segment.getDownloadUrl());
+    }
+
+    Map<String, String> configs = new HashMap<>();
+    configs.put(MinionConstants.TABLE_NAME_KEY, offlineTableName);
+    configs.put(MinionConstants.SEGMENT_NAME_KEY, String.join(MinionConstants.URL_SEPARATOR, segmentNames));
+    configs.put(MinionConstants.DOWNLOAD_URL_KEY, String.join(MinionConstants.URL_SEPARATOR, downloadURLs));
+    configs.put(MinionConstants.UPLOAD_URL_KEY, _clusterInfoProvider.getVipUrl() + "/segments");
+    configs.put(MinionConstants.MergeRollupTask.MERGE_TYPE_KEY, mergeType);
+    configs.put(MinionConstants.MergeRollupTask.INDEXING_CONFIG_KEY, indexingConfig);
+    configs.put(MinionConstants.MergeRollupTask.MERGED_SEGMENT_NAME_KEY,
+        MERGED_SEGMENT_NAME_PREFIX + TableNameBuilder.extractRawTableName(offlineTableName) + "_" + bucket + "_"
+            + System.currentTimeMillis() + "_" + sequenceId);
+    for (Map.Entry<String, String> entry : taskConfigs.entrySet()) {
+      String key = entry.getKey();
+      if (key.endsWith(MinionConstants.MergeRollupTask.AGGREGATION_TYPE_KEY_SUFFIX)
+          || key.equals(MinionConstants.MergeRollupTask.NUM_THREADS_KEY)) {
+        configs.put(key, entry.getValue());
+      }
+    }
+    return new PinotTaskConfig(MinionConstants.MergeRollupTask.TASK_TYPE, configs);
+  }
+
+  @Override
+  public int getNumConcurrentTasksPerInstance() {
+    return DEFAULT_NUM_CONCURRENT_TASKS_PER_INSTANCE;
+  }
+
+  @Override
+  public void nonLeaderCleanUp() {
+  }
+}
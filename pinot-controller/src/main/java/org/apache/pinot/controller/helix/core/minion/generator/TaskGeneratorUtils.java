@@ -62,8 +62,11 @@ public class TaskGeneratorUtils {
 
       for (PinotTaskConfig pinotTaskConfig : clusterInfoProvider.getTaskConfigs(entry.getKey())) {
         Map<String, String> configs = pinotTaskConfig.getConfigs();
-        runningSegments.add(
-            new Segment(configs.get(MinionConstants.TABLE_NAME_KEY), configs.get(MinionConstants.SEGMENT_NAME_KEY)));
+        String tableName = configs.get(MinionConstants.TABLE_NAME_KEY);
+        // Tasks on multiple segments have the segment names joined with the separator
+        for (String segmentName : configs.get(MinionConstants.SEGMENT_NAME_KEY).split(MinionConstants.URL_SEPARATOR)) {
+          runningSegments.add(new Segment(tableName, segmentName));
+        }
       }
     }
     return runningSegments;
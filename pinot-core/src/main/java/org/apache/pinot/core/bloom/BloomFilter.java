@@ -55,6 +55,21 @@ public interface BloomFilter {
    */
   boolean mightContain(Object input);
 
+  /**
+   * Check if any of the input elements may exist or not
+   *
+   * @param inputs input objects for testing
+   * @return true if any of the inputs may exist, false if none of them exists
+   */
+  default boolean mightContainAny(Object[] inputs) {
+    for (Object input : inputs) {
+      if (mightContain(input)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Serialize bloom filter to output stream.
    *
@@ -31,6 +31,14 @@ public class BloomFilterUtil {
         .ceil((cardinality * Math.log(maxFalsePosProbability)) / Math.log(1.0 / Math.pow(2.0, Math.log(2.0)))));
   }
 
+  /**
+   * Computes the number of bits for a split block bloom filter, where each value sets one bit in each of the 8 words of
+   * a block. The false positive probability is approximate, and the result is not rounded to the block size.
+   */
+  public static long computeNumBitsForSplitBlock(long cardinality, double maxFalsePosProbability) {
+    return (long) Math.ceil(-8.0 * cardinality / Math.log(1.0 - Math.pow(maxFalsePosProbability, 1.0 / 8)));
+  }
+
   public static int computeNumberOfHashFunctions(long cardinality, long numBits) {
     return (int) Math.max(1.0, Math.round(((double) numBits / cardinality) * Math.log(2.0)));
   }
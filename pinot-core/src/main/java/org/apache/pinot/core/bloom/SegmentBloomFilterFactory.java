@@ -31,8 +31,26 @@ public class SegmentBloomFilterFactory {
    * @return a bloom filter
    */
   public static BloomFilter createSegmentBloomFilter(int cardinality, double maxFalsePosProbability) {
-    // TODO: when we add more types of bloom filter, we will need to add a new config and wire in here
-    return new GuavaOnHeapBloomFilter(cardinality, maxFalsePosProbability);
+    return createSegmentBloomFilter(BloomFilterType.GUAVA_ON_HEAP, cardinality, maxFalsePosProbability);
+  }
+
+  /**
+   * Factory used when creating a new bloom filter of the given type
+   *
+   * @param type a bloom filter type
+   * @param cardinality cardinality of column
+   * @param maxFalsePosProbability maximum false positive probability
+   * @return a bloom filter
+   */
+  public static BloomFilter createSegmentBloomFilter(BloomFilterType type, int cardinality,
+      double maxFalsePosProbability) {
+    switch (type) {
+      case GUAVA_ON_HEAP:
+        return new GuavaOnHeapBloomFilter(cardinality, maxFalsePosProbability);
+      case SPLIT_BLOCK:
+        return new SplitBlockBloomFilter(cardinality, maxFalsePosProbability);
+    }
+    throw new RuntimeException("Invalid bloom filter type: " + type.toString());
   }
 
   /**
@@ -45,6 +63,8 @@ public class SegmentBloomFilterFactory {
     switch (type) {
       case GUAVA_ON_HEAP:
         return new GuavaOnHeapBloomFilter();
+      case SPLIT_BLOCK:
+        return new SplitBlockBloomFilter();
     }
     throw new RuntimeException("Invalid bloom filter type: " + type.toString());
   }
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.bloom;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+
+
+/**
+ * Split block bloom filter, where each value only touches one block of 256 bits (8 words of 32 bits), so that probing a
+ * value costs a single cache line access.
+ * <p>The block is picked by the upper 32 bits of the 64-bit hash of the value, and one bit is set in each word of the
+ * block based on the lower 32 bits of the hash multiplied by a per-word salt.
+ * <p>Serialized format (big-endian): number of blocks (int), followed by the words of all the blocks (int).
+ * <p>The bloom filter can be read directly from a {@link PinotDataBuffer} (e.g. the memory mapped index file) without
+ * copying it onto the heap.
+ */
+public class SplitBlockBloomFilter implements BloomFilter {
+  // Increment the version when the bloom filter implementation becomes backward incompatible
+  private static final int VERSION = 1;
+
+  private static final int NUM_WORDS_PER_BLOCK = 8;
+  private static final int NUM_BITS_PER_BLOCK = NUM_WORDS_PER_BLOCK * Integer.SIZE;
+  private static final int NUM_BYTES_PER_BLOCK = NUM_WORDS_PER_BLOCK * Integer.BYTES;
+  private static final int HEADER_SIZE = Integer.BYTES;
+  private static final int[] SALTS =
+      {0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d, 0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31};
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private int _numBlocks;
+  // Exactly one of the on-heap words and the data buffer is set
+  private int[] _words;
+  private PinotDataBuffer _dataBuffer;
+
+  public SplitBlockBloomFilter() {
+  }
+
+  public SplitBlockBloomFilter(int cardinality, double maxFalsePosProbability) {
+    long numBits = BloomFilterUtil.computeNumBitsForSplitBlock(Math.max(cardinality, 1), maxFalsePosProbability);
+    long numBlocks = Math.max((numBits + NUM_BITS_PER_BLOCK - 1) / NUM_BITS_PER_BLOCK, 1);
+    Preconditions.checkArgument(numBlocks <= Integer.MAX_VALUE / NUM_WORDS_PER_BLOCK,
+        "Too many blocks: %s for cardinality: %s, max false positive probability: %s", numBlocks, cardinality,
+        maxFalsePosProbability);
+    _numBlocks = (int) numBlocks;
+    _words = new int[_numBlocks * NUM_WORDS_PER_BLOCK];
+  }
+
+  /**
+   * Reads the bloom filter from the given big-endian data buffer (starting with the number of blocks) without copying
+   * it onto the heap.
+   */
+  public SplitBlockBloomFilter(PinotDataBuffer dataBuffer) {
+    Preconditions.checkArgument(dataBuffer.order() == ByteOrder.BIG_ENDIAN, "Data buffer must be big-endian");
+    _numBlocks = dataBuffer.getInt(0);
+    Preconditions.checkState(dataBuffer.size() >= HEADER_SIZE + (long) _numBlocks * NUM_BYTES_PER_BLOCK,
+        "Data buffer size: %s is too small for %s blocks", dataBuffer.size(), _numBlocks);
+    _dataBuffer = dataBuffer;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public BloomFilterType getBloomFilterType() {
+    return BloomFilterType.SPLIT_BLOCK;
+  }
+
+  public int getNumBlocks() {
+    return _numBlocks;
+  }
+
+  @Override
+  public void add(Object input) {
+    Preconditions.checkState(_words != null, "Cannot add value to a bloom filter read from data buffer");
+    long hash = hash(input);
+    int wordOffset = getBlockIndex(hash) * NUM_WORDS_PER_BLOCK;
+    int key = (int) hash;
+    for (int i = 0; i < NUM_WORDS_PER_BLOCK; i++) {
+      _words[wordOffset + i] |= getMask(key, i);
+    }
+  }
+
+  @Override
+  public boolean mightContain(Object input) {
+    return mightContain(hash(input));
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>Hashes all the inputs before probing the blocks so that the hashing and the memory accesses are not interleaved.
+   */
+  @Override
+  public boolean mightContainAny(Object[] inputs) {
+    int numInputs = inputs.length;
+    long[] hashes = new long[numInputs];
+    for (int i = 0; i < numInputs; i++) {
+      hashes[i] = hash(inputs[i]);
+    }
+    for (long hash : hashes) {
+      if (mightContain(hash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean mightContain(long hash) {
+    int blockIndex = getBlockIndex(hash);
+    int key = (int) hash;
+    if (_words != null) {
+      int wordOffset = blockIndex * NUM_WORDS_PER_BLOCK;
+      for (int i = 0; i < NUM_WORDS_PER_BLOCK; i++) {
+        int mask = getMask(key, i);
+        if ((_words[wordOffset + i] & mask) != mask) {
+          return false;
+        }
+      }
+    } else {
+      long byteOffset = HEADER_SIZE + (long) blockIndex * NUM_BYTES_PER_BLOCK;
+      for (int i = 0; i < NUM_WORDS_PER_BLOCK; i++) {
+        int mask = getMask(key, i);
+        if ((_dataBuffer.getInt(byteOffset + i * Integer.BYTES) & mask) != mask) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static long hash(Object input) {
+    return HASH_FUNCTION.hashString(input.toString(), StandardCharsets.UTF_8).asLong();
+  }
+
+  private int getBlockIndex(long hash) {
+    // Map the upper 32 bits of the hash to [0, numBlocks) without modulo
+    return (int) (((hash >>> 32) * _numBlocks) >>> 32);
+  }
+
+  private static int getMask(int key, int wordIndex) {
+    return 1 << ((key * SALTS[wordIndex]) >>> 27);
+  }
+
+  @Override
+  public void writeTo(OutputStream out)
+      throws IOException {
+    Preconditions.checkState(_words != null, "Cannot serialize a bloom filter read from data buffer");
+    ByteBuffer byteBuffer = ByteBuffer.allocate(HEADER_SIZE + _numBlocks * NUM_BYTES_PER_BLOCK);
+    byteBuffer.putInt(_numBlocks);
+    byteBuffer.asIntBuffer().put(_words);
+    out.write(byteBuffer.array());
+  }
+
+  @Override
+  public void readFrom(InputStream in)
+      throws IOException {
+    DataInputStream dataInputStream = new DataInputStream(in);
+    _numBlocks = dataInputStream.readInt();
+    byte[] bytes = new byte[_numBlocks * NUM_BYTES_PER_BLOCK];
+    dataInputStream.readFully(bytes);
+    _words = new int[_numBlocks * NUM_WORDS_PER_BLOCK];
+    ByteBuffer.wrap(bytes).asIntBuffer().get(_words);
+    _dataBuffer = null;
+  }
+}
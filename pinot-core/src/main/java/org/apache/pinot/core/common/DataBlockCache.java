@@ -18,13 +18,7 @@
  */
 package org.apache.pinot.core.common;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import javax.annotation.Nonnull;
 import org.apache.pinot.common.data.FieldSpec;
-import org.apache.pinot.common.utils.EqualityUtils;
 import org.apache.pinot.core.plan.DocIdSetPlanNode;
 
 
@@ -32,26 +26,64 @@ import org.apache.pinot.core.plan.DocIdSetPlanNode;
  * This class serves as a block level cache for column dictionary Ids and values. Using this class can prevent fetching
  * data for the same column multiple times. This class allocate resources on demand, and reuse them as much as possible
  * to prevent garbage collection.
+ * <p>Buffers are stored in arrays indexed by the column index assigned by the {@link DataFetcher}, so that no map
+ * lookup or key allocation is needed per access. Callers on the hot path should resolve the column index once via
+ * {@link #getColumnIndex(String)} and use the index based getters.
  */
 @SuppressWarnings("Duplicates")
 public class DataBlockCache {
+  private static final int NUM_DATA_TYPES = FieldSpec.DataType.values().length;
+
   private final DataFetcher _dataFetcher;
 
-  // Mark whether data have been fetched, need to be cleared in initNewBlock()
-  private final Set<String> _columnDictIdLoaded = new HashSet<>();
-  private final Set<ColumnTypePair> _columnValueLoaded = new HashSet<>();
-  private final Set<String> _columnNumValuesLoaded = new HashSet<>();
+  // Mark whether data have been fetched for the current block: data is loaded iff the recorded block id equals the
+  // current block id, so that nothing needs to be cleared in initNewBlock()
+  private final int[] _dictIdsLoadedBlockIds;
+  private final int[][] _valuesLoadedBlockIds;
+  private final int[] _numValuesLoadedBlockIds;
+  private int _blockId;
 
-  // Buffer for data
-  private final Map<String, Object> _dictIdsMap = new HashMap<>();
-  private final Map<ColumnTypePair, Object> _valuesMap = new HashMap<>();
-  private final Map<String, int[]> _numValuesMap = new HashMap<>();
+  // Buffer for data, indexed by column index
+  private final int[][] _svDictIds;
+  private final int[][] _svIntValues;
+  private final long[][] _svLongValues;
+  private final float[][] _svFloatValues;
+  private final double[][] _svDoubleValues;
+  private final String[][] _svStringValues;
+  private final byte[][][] _svBytesValues;
+  private final int[][][] _mvDictIds;
+  private final int[][][] _mvIntValues;
+  private final long[][][] _mvLongValues;
+  private final float[][][] _mvFloatValues;
+  private final double[][][] _mvDoubleValues;
+  private final String[][][] _mvStringValues;
+  private final int[][] _numValues;
 
   private int[] _docIds;
   private int _length;
 
   public DataBlockCache(DataFetcher dataFetcher) {
     _dataFetcher = dataFetcher;
+
+    int numColumns = dataFetcher.getNumColumns();
+    _dictIdsLoadedBlockIds = new int[numColumns];
+    _valuesLoadedBlockIds = new int[NUM_DATA_TYPES][numColumns];
+    _numValuesLoadedBlockIds = new int[numColumns];
+
+    _svDictIds = new int[numColumns][];
+    _svIntValues = new int[numColumns][];
+    _svLongValues = new long[numColumns][];
+    _svFloatValues = new float[numColumns][];
+    _svDoubleValues = new double[numColumns][];
+    _svStringValues = new String[numColumns][];
+    _svBytesValues = new byte[numColumns][][];
+    _mvDictIds = new int[numColumns][][];
+    _mvIntValues = new int[numColumns][][];
+    _mvLongValues = new long[numColumns][][];
+    _mvFloatValues = new float[numColumns][][];
+    _mvDoubleValues = new double[numColumns][][];
+    _mvStringValues = new String[numColumns][][];
+    _numValues = new int[numColumns][];
   }
 
   /**
@@ -64,10 +96,41 @@ public class DataBlockCache {
   public void initNewBlock(int[] docIds, int length) {
     _docIds = docIds;
     _length = length;
+    _blockId++;
+  }
+
+  /**
+   * Returns the index of the given column, which can be used in the index based getters.
+   *
+   * @param column Column name
+   * @return Index of the column
+   */
+  public int getColumnIndex(String column) {
+    return _dataFetcher.getColumnIndex(column);
+  }
 
-    _columnDictIdLoaded.clear();
-    _columnValueLoaded.clear();
-    _columnNumValuesLoaded.clear();
+  /**
+   * Marks the dictionary Ids for the given column as loaded, returns {@code true} if they were not loaded before.
+   */
+  private boolean markDictIdsLoaded(int columnIndex) {
+    if (_dictIdsLoadedBlockIds[columnIndex] == _blockId) {
+      return false;
+    }
+    _dictIdsLoadedBlockIds[columnIndex] = _blockId;
+    return true;
+  }
+
+  /**
+   * Marks the values of the given data type for the given column as loaded, returns {@code true} if they were not
+   * loaded before.
+   */
+  private boolean markValuesLoaded(int columnIndex, FieldSpec.DataType dataType) {
+    int[] loadedBlockIds = _valuesLoadedBlockIds[dataType.ordinal()];
+    if (loadedBlockIds[columnIndex] == _blockId) {
+      return false;
+    }
+    loadedBlockIds[columnIndex] = _blockId;
+    return true;
   }
 
   /**
@@ -81,13 +144,23 @@ public class DataBlockCache {
    * @return Array of dictionary Ids
    */
   public int[] getDictIdsForSVColumn(String column) {
-    int[] dictIds = (int[]) _dictIdsMap.get(column);
-    if (_columnDictIdLoaded.add(column)) {
+    return getDictIdsForSVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the dictionary Ids for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of dictionary Ids
+   */
+  public int[] getDictIdsForSVColumn(int columnIndex) {
+    int[] dictIds = _svDictIds[columnIndex];
+    if (markDictIdsLoaded(columnIndex)) {
       if (dictIds == null) {
         dictIds = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
-        _dictIdsMap.put(column, dictIds);
+        _svDictIds[columnIndex] = dictIds;
       }
-      _dataFetcher.fetchDictIds(column, _docIds, _length, dictIds);
+      _dataFetcher.fetchDictIds(columnIndex, _docIds, _length, dictIds);
     }
     return dictIds;
   }
@@ -99,14 +172,23 @@ public class DataBlockCache {
    * @return Array of int values
    */
   public int[] getIntValuesForSVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.INT);
-    int[] intValues = (int[]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getIntValuesForSVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the int values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of int values
+   */
+  public int[] getIntValuesForSVColumn(int columnIndex) {
+    int[] intValues = _svIntValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.INT)) {
       if (intValues == null) {
         intValues = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
-        _valuesMap.put(key, intValues);
+        _svIntValues[columnIndex] = intValues;
       }
-      _dataFetcher.fetchIntValues(column, _docIds, _length, intValues);
+      _dataFetcher.fetchIntValues(columnIndex, _docIds, _length, intValues);
     }
     return intValues;
   }
@@ -118,14 +200,23 @@ public class DataBlockCache {
    * @return Array of long values
    */
   public long[] getLongValuesForSVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.LONG);
-    long[] longValues = (long[]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getLongValuesForSVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the long values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of long values
+   */
+  public long[] getLongValuesForSVColumn(int columnIndex) {
+    long[] longValues = _svLongValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.LONG)) {
       if (longValues == null) {
         longValues = new long[DocIdSetPlanNode.MAX_DOC_PER_CALL];
-        _valuesMap.put(key, longValues);
+        _svLongValues[columnIndex] = longValues;
       }
-      _dataFetcher.fetchLongValues(column, _docIds, _length, longValues);
+      _dataFetcher.fetchLongValues(columnIndex, _docIds, _length, longValues);
     }
     return longValues;
   }
@@ -137,14 +228,23 @@ public class DataBlockCache {
    * @return Array of float values
    */
   public float[] getFloatValuesForSVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.FLOAT);
-    float[] floatValues = (float[]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getFloatValuesForSVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the float values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of float values
+   */
+  public float[] getFloatValuesForSVColumn(int columnIndex) {
+    float[] floatValues = _svFloatValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.FLOAT)) {
       if (floatValues == null) {
         floatValues = new float[DocIdSetPlanNode.MAX_DOC_PER_CALL];
-        _valuesMap.put(key, floatValues);
+        _svFloatValues[columnIndex] = floatValues;
       }
-      _dataFetcher.fetchFloatValues(column, _docIds, _length, floatValues);
+      _dataFetcher.fetchFloatValues(columnIndex, _docIds, _length, floatValues);
     }
     return floatValues;
   }
@@ -156,14 +256,23 @@ public class DataBlockCache {
    * @return Array of double values
    */
   public double[] getDoubleValuesForSVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.DOUBLE);
-    double[] doubleValues = (double[]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getDoubleValuesForSVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the double values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of double values
+   */
+  public double[] getDoubleValuesForSVColumn(int columnIndex) {
+    double[] doubleValues = _svDoubleValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.DOUBLE)) {
       if (doubleValues == null) {
         doubleValues = new double[DocIdSetPlanNode.MAX_DOC_PER_CALL];
-        _valuesMap.put(key, doubleValues);
+        _svDoubleValues[columnIndex] = doubleValues;
       }
-      _dataFetcher.fetchDoubleValues(column, _docIds, _length, doubleValues);
+      _dataFetcher.fetchDoubleValues(columnIndex, _docIds, _length, doubleValues);
     }
     return doubleValues;
   }
@@ -175,34 +284,51 @@ public class DataBlockCache {
    * @return Array of string values
    */
   public String[] getStringValuesForSVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.STRING);
-    String[] stringValues = (String[]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getStringValuesForSVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the string values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of string values
+   */
+  public String[] getStringValuesForSVColumn(int columnIndex) {
+    String[] stringValues = _svStringValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.STRING)) {
       if (stringValues == null) {
         stringValues = new String[DocIdSetPlanNode.MAX_DOC_PER_CALL];
-        _valuesMap.put(key, stringValues);
+        _svStringValues[columnIndex] = stringValues;
       }
-      _dataFetcher.fetchStringValues(column, _docIds, _length, stringValues);
+      _dataFetcher.fetchStringValues(columnIndex, _docIds, _length, stringValues);
     }
     return stringValues;
   }
 
   /**
-   * Get byte[] values for the given single-valued column.
+   * Get the byte[] values for a single-valued column.
    *
-   * @param column Column to read
-   * @return byte[] for the column
+   * @param column Column name
+   * @return Array of byte[] values
    */
   public byte[][] getBytesValuesForSVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.BYTES);
-    byte[][] bytesValues = (byte[][]) _valuesMap.get(key);
+    return getBytesValuesForSVColumn(getColumnIndex(column));
+  }
 
-    if (_columnValueLoaded.add(key)) {
+  /**
+   * Get the byte[] values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of byte[] values
+   */
+  public byte[][] getBytesValuesForSVColumn(int columnIndex) {
+    byte[][] bytesValues = _svBytesValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.BYTES)) {
       if (bytesValues == null) {
         bytesValues = new byte[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
-        _valuesMap.put(key, bytesValues);
+        _svBytesValues[columnIndex] = bytesValues;
       }
-      _dataFetcher.fetchBytesValues(column, _docIds, _length, bytesValues);
+      _dataFetcher.fetchBytesValues(columnIndex, _docIds, _length, bytesValues);
     }
     return bytesValues;
   }
@@ -218,13 +344,23 @@ public class DataBlockCache {
    * @return Array of dictionary Ids
    */
   public int[][] getDictIdsForMVColumn(String column) {
-    int[][] dictIds = (int[][]) _dictIdsMap.get(column);
-    if (_columnDictIdLoaded.add(column)) {
+    return getDictIdsForMVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the dictionary Ids for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of dictionary Ids
+   */
+  public int[][] getDictIdsForMVColumn(int columnIndex) {
+    int[][] dictIds = _mvDictIds[columnIndex];
+    if (markDictIdsLoaded(columnIndex)) {
       if (dictIds == null) {
         dictIds = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
-        _dictIdsMap.put(column, dictIds);
+        _mvDictIds[columnIndex] = dictIds;
       }
-      _dataFetcher.fetchDictIds(column, _docIds, _length, dictIds);
+      _dataFetcher.fetchDictIds(columnIndex, _docIds, _length, dictIds);
     }
     return dictIds;
   }
@@ -236,14 +372,23 @@ public class DataBlockCache {
    * @return Array of int values
    */
   public int[][] getIntValuesForMVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.INT);
-    int[][] intValues = (int[][]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getIntValuesForMVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the int values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of int values
+   */
+  public int[][] getIntValuesForMVColumn(int columnIndex) {
+    int[][] intValues = _mvIntValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.INT)) {
       if (intValues == null) {
         intValues = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
-        _valuesMap.put(key, intValues);
+        _mvIntValues[columnIndex] = intValues;
       }
-      _dataFetcher.fetchIntValues(column, _docIds, _length, intValues);
+      _dataFetcher.fetchIntValues(columnIndex, _docIds, _length, intValues);
     }
     return intValues;
   }
@@ -255,14 +400,23 @@ public class DataBlockCache {
    * @return Array of long values
    */
   public long[][] getLongValuesForMVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.LONG);
-    long[][] longValues = (long[][]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getLongValuesForMVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the long values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of long values
+   */
+  public long[][] getLongValuesForMVColumn(int columnIndex) {
+    long[][] longValues = _mvLongValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.LONG)) {
       if (longValues == null) {
         longValues = new long[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
-        _valuesMap.put(key, longValues);
+        _mvLongValues[columnIndex] = longValues;
       }
-      _dataFetcher.fetchLongValues(column, _docIds, _length, longValues);
+      _dataFetcher.fetchLongValues(columnIndex, _docIds, _length, longValues);
     }
     return longValues;
   }
@@ -274,14 +428,23 @@ public class DataBlockCache {
    * @return Array of float values
    */
   public float[][] getFloatValuesForMVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.FLOAT);
-    float[][] floatValues = (float[][]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getFloatValuesForMVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the float values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of float values
+   */
+  public float[][] getFloatValuesForMVColumn(int columnIndex) {
+    float[][] floatValues = _mvFloatValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.FLOAT)) {
       if (floatValues == null) {
         floatValues = new float[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
-        _valuesMap.put(key, floatValues);
+        _mvFloatValues[columnIndex] = floatValues;
       }
-      _dataFetcher.fetchFloatValues(column, _docIds, _length, floatValues);
+      _dataFetcher.fetchFloatValues(columnIndex, _docIds, _length, floatValues);
     }
     return floatValues;
   }
@@ -293,14 +456,23 @@ public class DataBlockCache {
    * @return Array of double values
    */
   public double[][] getDoubleValuesForMVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.DOUBLE);
-    double[][] doubleValues = (double[][]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getDoubleValuesForMVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the double values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of double values
+   */
+  public double[][] getDoubleValuesForMVColumn(int columnIndex) {
+    double[][] doubleValues = _mvDoubleValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.DOUBLE)) {
       if (doubleValues == null) {
         doubleValues = new double[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
-        _valuesMap.put(key, doubleValues);
+        _mvDoubleValues[columnIndex] = doubleValues;
       }
-      _dataFetcher.fetchDoubleValues(column, _docIds, _length, doubleValues);
+      _dataFetcher.fetchDoubleValues(columnIndex, _docIds, _length, doubleValues);
     }
     return doubleValues;
   }
@@ -312,14 +484,23 @@ public class DataBlockCache {
    * @return Array of string values
    */
   public String[][] getStringValuesForMVColumn(String column) {
-    ColumnTypePair key = new ColumnTypePair(column, FieldSpec.DataType.STRING);
-    String[][] stringValues = (String[][]) _valuesMap.get(key);
-    if (_columnValueLoaded.add(key)) {
+    return getStringValuesForMVColumn(getColumnIndex(column));
+  }
+
+  /**
+   * Get the string values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of string values
+   */
+  public String[][] getStringValuesForMVColumn(int columnIndex) {
+    String[][] stringValues = _mvStringValues[columnIndex];
+    if (markValuesLoaded(columnIndex, FieldSpec.DataType.STRING)) {
       if (stringValues == null) {
         stringValues = new String[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
-        _valuesMap.put(key, stringValues);
+        _mvStringValues[columnIndex] = stringValues;
       }
-      _dataFetcher.fetchStringValues(column, _docIds, _length, stringValues);
+      _dataFetcher.fetchStringValues(columnIndex, _docIds, _length, stringValues);
     }
     return stringValues;
   }
@@ -331,39 +512,25 @@ public class DataBlockCache {
    * @return Array of number of values
    */
   public int[] getNumValuesForMVColumn(String column) {
-    int[] numValues = _numValuesMap.get(column);
-    if (_columnNumValuesLoaded.add(column)) {
-      if (numValues == null) {
-        numValues = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
-        _numValuesMap.put(column, numValues);
-      }
-      _dataFetcher.fetchNumValues(column, _docIds, _length, numValues);
-    }
-    return numValues;
+    return getNumValuesForMVColumn(getColumnIndex(column));
   }
 
   /**
-   * Helper class to store pair of column name and data type.
+   * Get the number of values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @return Array of number of values
    */
-  private static class ColumnTypePair {
-    final String _column;
-    final FieldSpec.DataType _dataType;
-
-    ColumnTypePair(@Nonnull String column, @Nonnull FieldSpec.DataType dataType) {
-      _column = column;
-      _dataType = dataType;
-    }
-
-    @Override
-    public int hashCode() {
-      return EqualityUtils.hashCodeOf(_column.hashCode(), _dataType.hashCode());
-    }
-
-    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
-    @Override
-    public boolean equals(Object obj) {
-      ColumnTypePair that = (ColumnTypePair) obj;
-      return _column.equals(that._column) && _dataType == that._dataType;
+  public int[] getNumValuesForMVColumn(int columnIndex) {
+    int[] numValues = _numValues[columnIndex];
+    if (_numValuesLoadedBlockIds[columnIndex] != _blockId) {
+      _numValuesLoadedBlockIds[columnIndex] = _blockId;
+      if (numValues == null) {
+        numValues = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+        _numValues[columnIndex] = numValues;
+      }
+      _dataFetcher.fetchNumValues(columnIndex, _docIds, _length, numValues);
     }
+    return numValues;
   }
 }
@@ -18,9 +18,12 @@
  */
 package org.apache.pinot.core.common;
 
+import com.google.common.base.Preconditions;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.pinot.core.io.reader.ReaderContext;
+import org.apache.pinot.core.operator.docvalsets.MultiValueSet;
 import org.apache.pinot.core.operator.docvalsets.SingleValueSet;
 import org.apache.pinot.core.plan.DocIdSetPlanNode;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
@@ -31,6 +34,11 @@ import org.apache.pinot.core.segment.index.readers.Dictionary;
  * DataSource, Dictionary, BlockValSet and BlockValIterator for this segment, preventing redundant construction for
  * these instances. DataFetcher can be used by both selection, aggregation and group-by data fetching process, reducing
  * duplicate codes and garbage collection.
+ * <p>Each column is assigned an index (slot) at construction time. Callers on the hot path should resolve the index
+ * once via {@link #getColumnIndex(String)} and use the index based fetch methods to avoid per-call map lookups.
+ * <p>The input document Ids are expected to be sorted in ascending order (as produced by the DocIdSetOperator). When
+ * the document Ids form a contiguous range, dictionary Ids for single-valued columns are bulk-decoded from the range.
+ * Values for multi-valued columns are read for the whole block at once through {@link MultiValueSet}.
  */
 public class DataFetcher {
   // Thread local (reusable) buffer for single-valued column dictionary Ids
@@ -40,13 +48,22 @@ public class DataFetcher {
       return new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
     }
   };
+  // Thread local (reusable) buffer for multi-valued column number of values
+  private static final ThreadLocal<int[]> THREAD_LOCAL_NUM_VALUES = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue() {
+      return new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+  };
 
-  private final Map<String, Dictionary> _dictionaryMap;
+  private final Map<String, Integer> _columnIndexMap;
+  private final Dictionary[] _dictionaries;
   // For single-valued column
-  private final Map<String, SingleValueSet> _singleValueSetMap;
+  private final SingleValueSet[] _singleValueSets;
+  // Reusable reader contexts for the contiguous document range reads of single-valued columns
+  private final ReaderContext[] _readerContexts;
   // For multi-valued column
-  private final Map<String, BlockMultiValIterator> _blockMultiValIteratorMap;
-  private final int[] _reusableMVDictIds;
+  private final MultiValueSet[] _multiValueSets;
 
   /**
    * Constructor for DataFetcher.
@@ -55,26 +72,54 @@ public class DataFetcher {
    */
   public DataFetcher(Map<String, DataSource> dataSourceMap) {
     int numColumns = dataSourceMap.size();
-    _dictionaryMap = new HashMap<>(numColumns);
-    _singleValueSetMap = new HashMap<>(numColumns);
-    _blockMultiValIteratorMap = new HashMap<>(numColumns);
+    _columnIndexMap = new HashMap<>(numColumns);
+    _dictionaries = new Dictionary[numColumns];
+    _singleValueSets = new SingleValueSet[numColumns];
+    _readerContexts = new ReaderContext[numColumns];
+    _multiValueSets = new MultiValueSet[numColumns];
 
-    int maxNumMultiValues = 0;
+    int columnIndex = 0;
     for (Map.Entry<String, DataSource> entry : dataSourceMap.entrySet()) {
-      String column = entry.getKey();
       DataSource dataSource = entry.getValue();
-      _dictionaryMap.put(column, dataSource.getDictionary());
+      _columnIndexMap.put(entry.getKey(), columnIndex);
+      _dictionaries[columnIndex] = dataSource.getDictionary();
       DataSourceMetadata dataSourceMetadata = dataSource.getDataSourceMetadata();
       BlockValSet blockValueSet = dataSource.nextBlock().getBlockValueSet();
       if (dataSourceMetadata.isSingleValue()) {
-        _singleValueSetMap.put(column, (SingleValueSet) blockValueSet);
+        SingleValueSet singleValueSet = (SingleValueSet) blockValueSet;
+        _singleValueSets[columnIndex] = singleValueSet;
+        _readerContexts[columnIndex] = singleValueSet.createReaderContext();
       } else {
-        _blockMultiValIteratorMap.put(column, (BlockMultiValIterator) blockValueSet.iterator());
-        maxNumMultiValues = Math.max(maxNumMultiValues, dataSourceMetadata.getMaxNumMultiValues());
+        _multiValueSets[columnIndex] = (MultiValueSet) blockValueSet;
       }
+      columnIndex++;
     }
+  }
+
+  /**
+   * Returns the number of columns managed by this data fetcher. Column indexes are in range [0, numColumns).
+   */
+  public int getNumColumns() {
+    return _dictionaries.length;
+  }
 
-    _reusableMVDictIds = new int[maxNumMultiValues];
+  /**
+   * Returns the index of the given column, which can be used in the index based fetch methods.
+   *
+   * @param column Column name
+   * @return Index of the column
+   */
+  public int getColumnIndex(String column) {
+    Integer columnIndex = _columnIndexMap.get(column);
+    Preconditions.checkArgument(columnIndex != null, "Failed to find column: %s", column);
+    return columnIndex;
+  }
+
+  /**
+   * Returns whether the given sorted document Ids form a contiguous range.
+   */
+  private static boolean isContiguous(int[] docIds, int length) {
+    return length > 0 && docIds[length - 1] - docIds[0] == length - 1;
   }
 
   /**
@@ -90,7 +135,35 @@ public class DataFetcher {
    * @param outDictIds Buffer for output
    */
   public void fetchDictIds(String column, int[] inDocIds, int length, int[] outDictIds) {
-    _singleValueSetMap.get(column).getDictionaryIds(inDocIds, 0, length, outDictIds, 0);
+    fetchDictIds(getColumnIndex(column), inDocIds, length, outDictIds);
+  }
+
+  /**
+   * Fetch the dictionary Ids for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outDictIds Buffer for output
+   */
+  public void fetchDictIds(int columnIndex, int[] inDocIds, int length, int[] outDictIds) {
+    if (isContiguous(inDocIds, length)) {
+      fetchDictIds(columnIndex, inDocIds[0], length, outDictIds);
+    } else {
+      _singleValueSets[columnIndex].getDictionaryIds(inDocIds, 0, length, outDictIds, 0);
+    }
+  }
+
+  /**
+   * Fetch the dictionary Ids for a single-valued column for a contiguous range of documents.
+   *
+   * @param columnIndex Column index
+   * @param startDocId First document Id
+   * @param length Number of documents
+   * @param outDictIds Buffer for output
+   */
+  public void fetchDictIds(int columnIndex, int startDocId, int length, int[] outDictIds) {
+    _singleValueSets[columnIndex].getDictionaryIds(startDocId, length, _readerContexts[columnIndex], outDictIds);
   }
 
   /**
@@ -102,13 +175,25 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchIntValues(String column, int[] inDocIds, int length, int[] outValues) {
-    Dictionary dictionary = _dictionaryMap.get(column);
+    fetchIntValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the int values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchIntValues(int columnIndex, int[] inDocIds, int length, int[] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
     if (dictionary != null) {
       int[] dictIds = THREAD_LOCAL_DICT_IDS.get();
-      fetchDictIds(column, inDocIds, length, dictIds);
+      fetchDictIds(columnIndex, inDocIds, length, dictIds);
       dictionary.readIntValues(dictIds, 0, length, outValues, 0);
     } else {
-      _singleValueSetMap.get(column).getIntValues(inDocIds, 0, length, outValues, 0);
+      _singleValueSets[columnIndex].getIntValues(inDocIds, 0, length, outValues, 0);
     }
   }
 
@@ -121,13 +206,25 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchLongValues(String column, int[] inDocIds, int length, long[] outValues) {
-    Dictionary dictionary = _dictionaryMap.get(column);
+    fetchLongValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the long values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchLongValues(int columnIndex, int[] inDocIds, int length, long[] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
     if (dictionary != null) {
       int[] dictIds = THREAD_LOCAL_DICT_IDS.get();
-      fetchDictIds(column, inDocIds, length, dictIds);
+      fetchDictIds(columnIndex, inDocIds, length, dictIds);
       dictionary.readLongValues(dictIds, 0, length, outValues, 0);
     } else {
-      _singleValueSetMap.get(column).getLongValues(inDocIds, 0, length, outValues, 0);
+      _singleValueSets[columnIndex].getLongValues(inDocIds, 0, length, outValues, 0);
     }
   }
 
@@ -140,13 +237,25 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchFloatValues(String column, int[] inDocIds, int length, float[] outValues) {
-    Dictionary dictionary = _dictionaryMap.get(column);
+    fetchFloatValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the float values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchFloatValues(int columnIndex, int[] inDocIds, int length, float[] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
     if (dictionary != null) {
       int[] dictIds = THREAD_LOCAL_DICT_IDS.get();
-      fetchDictIds(column, inDocIds, length, dictIds);
+      fetchDictIds(columnIndex, inDocIds, length, dictIds);
       dictionary.readFloatValues(dictIds, 0, length, outValues, 0);
     } else {
-      _singleValueSetMap.get(column).getFloatValues(inDocIds, 0, length, outValues, 0);
+      _singleValueSets[columnIndex].getFloatValues(inDocIds, 0, length, outValues, 0);
     }
   }
 
@@ -159,13 +268,25 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchDoubleValues(String column, int[] inDocIds, int length, double[] outValues) {
-    Dictionary dictionary = _dictionaryMap.get(column);
+    fetchDoubleValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the double values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchDoubleValues(int columnIndex, int[] inDocIds, int length, double[] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
     if (dictionary != null) {
       int[] dictIds = THREAD_LOCAL_DICT_IDS.get();
-      fetchDictIds(column, inDocIds, length, dictIds);
+      fetchDictIds(columnIndex, inDocIds, length, dictIds);
       dictionary.readDoubleValues(dictIds, 0, length, outValues, 0);
     } else {
-      _singleValueSetMap.get(column).getDoubleValues(inDocIds, 0, length, outValues, 0);
+      _singleValueSets[columnIndex].getDoubleValues(inDocIds, 0, length, outValues, 0);
     }
   }
 
@@ -178,32 +299,56 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchStringValues(String column, int[] inDocIds, int length, String[] outValues) {
-    Dictionary dictionary = _dictionaryMap.get(column);
+    fetchStringValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the string values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchStringValues(int columnIndex, int[] inDocIds, int length, String[] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
     if (dictionary != null) {
       int[] dictIds = THREAD_LOCAL_DICT_IDS.get();
-      fetchDictIds(column, inDocIds, length, dictIds);
+      fetchDictIds(columnIndex, inDocIds, length, dictIds);
       dictionary.readStringValues(dictIds, 0, length, outValues, 0);
     } else {
-      _singleValueSetMap.get(column).getStringValues(inDocIds, 0, length, outValues, 0);
+      _singleValueSets[columnIndex].getStringValues(inDocIds, 0, length, outValues, 0);
     }
   }
 
   /**
-   * Fetch byte[] values for a single-valued column.
+   * Fetch the byte[] values for a single-valued column.
    *
-   * @param column Column to read
-   * @param inDocIds Input document id's buffer
-   * @param length Number of input document id'
+   * @param column Column name
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
    * @param outValues Buffer for output
    */
   public void fetchBytesValues(String column, int[] inDocIds, int length, byte[][] outValues) {
-    Dictionary dictionary = _dictionaryMap.get(column);
+    fetchBytesValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the byte[] values for a single-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchBytesValues(int columnIndex, int[] inDocIds, int length, byte[][] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
     if (dictionary != null) {
       int[] dictIds = THREAD_LOCAL_DICT_IDS.get();
-      fetchDictIds(column, inDocIds, length, dictIds);
+      fetchDictIds(columnIndex, inDocIds, length, dictIds);
       dictionary.readBytesValues(dictIds, 0, length, outValues, 0);
     } else {
-      _singleValueSetMap.get(column).getBytesValues(inDocIds, 0, length, outValues, 0);
+      _singleValueSets[columnIndex].getBytesValues(inDocIds, 0, length, outValues, 0);
     }
   }
 
@@ -220,11 +365,25 @@ public class DataFetcher {
    * @param outDictIds Buffer for output
    */
   public void fetchDictIds(String column, int[] inDocIds, int length, int[][] outDictIds) {
-    BlockMultiValIterator blockMultiValIterator = _blockMultiValIteratorMap.get(column);
+    fetchDictIds(getColumnIndex(column), inDocIds, length, outDictIds);
+  }
+
+  /**
+   * Fetch the dictionary Ids for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outDictIds Buffer for output
+   */
+  public void fetchDictIds(int columnIndex, int[] inDocIds, int length, int[][] outDictIds) {
+    int[] numValues = THREAD_LOCAL_NUM_VALUES.get();
+    int[] dictIds = _multiValueSets[columnIndex].getDictionaryIds(inDocIds, length, numValues);
+    int dictIdIndex = 0;
     for (int i = 0; i < length; i++) {
-      blockMultiValIterator.skipTo(inDocIds[i]);
-      int numMultiValues = blockMultiValIterator.nextIntVal(_reusableMVDictIds);
-      outDictIds[i] = Arrays.copyOfRange(_reusableMVDictIds, 0, numMultiValues);
+      int numMultiValues = numValues[i];
+      outDictIds[i] = Arrays.copyOfRange(dictIds, dictIdIndex, dictIdIndex + numMultiValues);
+      dictIdIndex += numMultiValues;
     }
   }
 
@@ -237,12 +396,27 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchIntValues(String column, int[] inDocIds, int length, int[][] outValues) {
-    BlockMultiValIterator blockMultiValIterator = _blockMultiValIteratorMap.get(column);
+    fetchIntValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the int values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchIntValues(int columnIndex, int[] inDocIds, int length, int[][] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
+    int[] numValues = THREAD_LOCAL_NUM_VALUES.get();
+    int[] dictIds = _multiValueSets[columnIndex].getDictionaryIds(inDocIds, length, numValues);
+    int dictIdIndex = 0;
     for (int i = 0; i < length; i++) {
-      blockMultiValIterator.skipTo(inDocIds[i]);
-      int numMultiValues = blockMultiValIterator.nextIntVal(_reusableMVDictIds);
+      int numMultiValues = numValues[i];
       outValues[i] = new int[numMultiValues];
-      _dictionaryMap.get(column).readIntValues(_reusableMVDictIds, 0, numMultiValues, outValues[i], 0);
+      dictionary.readIntValues(dictIds, dictIdIndex, numMultiValues, outValues[i], 0);
+      dictIdIndex += numMultiValues;
     }
   }
 
@@ -255,12 +429,27 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchLongValues(String column, int[] inDocIds, int length, long[][] outValues) {
-    BlockMultiValIterator blockMultiValIterator = _blockMultiValIteratorMap.get(column);
+    fetchLongValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the long values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchLongValues(int columnIndex, int[] inDocIds, int length, long[][] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
+    int[] numValues = THREAD_LOCAL_NUM_VALUES.get();
+    int[] dictIds = _multiValueSets[columnIndex].getDictionaryIds(inDocIds, length, numValues);
+    int dictIdIndex = 0;
     for (int i = 0; i < length; i++) {
-      blockMultiValIterator.skipTo(inDocIds[i]);
-      int numMultiValues = blockMultiValIterator.nextIntVal(_reusableMVDictIds);
+      int numMultiValues = numValues[i];
       outValues[i] = new long[numMultiValues];
-      _dictionaryMap.get(column).readLongValues(_reusableMVDictIds, 0, numMultiValues, outValues[i], 0);
+      dictionary.readLongValues(dictIds, dictIdIndex, numMultiValues, outValues[i], 0);
+      dictIdIndex += numMultiValues;
     }
   }
 
@@ -273,12 +462,27 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchFloatValues(String column, int[] inDocIds, int length, float[][] outValues) {
-    BlockMultiValIterator blockMultiValIterator = _blockMultiValIteratorMap.get(column);
+    fetchFloatValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the float values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchFloatValues(int columnIndex, int[] inDocIds, int length, float[][] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
+    int[] numValues = THREAD_LOCAL_NUM_VALUES.get();
+    int[] dictIds = _multiValueSets[columnIndex].getDictionaryIds(inDocIds, length, numValues);
+    int dictIdIndex = 0;
     for (int i = 0; i < length; i++) {
-      blockMultiValIterator.skipTo(inDocIds[i]);
-      int numMultiValues = blockMultiValIterator.nextIntVal(_reusableMVDictIds);
+      int numMultiValues = numValues[i];
       outValues[i] = new float[numMultiValues];
-      _dictionaryMap.get(column).readFloatValues(_reusableMVDictIds, 0, numMultiValues, outValues[i], 0);
+      dictionary.readFloatValues(dictIds, dictIdIndex, numMultiValues, outValues[i], 0);
+      dictIdIndex += numMultiValues;
     }
   }
 
@@ -291,12 +495,27 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchDoubleValues(String column, int[] inDocIds, int length, double[][] outValues) {
-    BlockMultiValIterator blockMultiValIterator = _blockMultiValIteratorMap.get(column);
+    fetchDoubleValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the double values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchDoubleValues(int columnIndex, int[] inDocIds, int length, double[][] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
+    int[] numValues = THREAD_LOCAL_NUM_VALUES.get();
+    int[] dictIds = _multiValueSets[columnIndex].getDictionaryIds(inDocIds, length, numValues);
+    int dictIdIndex = 0;
     for (int i = 0; i < length; i++) {
-      blockMultiValIterator.skipTo(inDocIds[i]);
-      int numMultiValues = blockMultiValIterator.nextIntVal(_reusableMVDictIds);
+      int numMultiValues = numValues[i];
       outValues[i] = new double[numMultiValues];
-      _dictionaryMap.get(column).readDoubleValues(_reusableMVDictIds, 0, numMultiValues, outValues[i], 0);
+      dictionary.readDoubleValues(dictIds, dictIdIndex, numMultiValues, outValues[i], 0);
+      dictIdIndex += numMultiValues;
     }
   }
 
@@ -309,12 +528,27 @@ public class DataFetcher {
    * @param outValues Buffer for output
    */
   public void fetchStringValues(String column, int[] inDocIds, int length, String[][] outValues) {
-    BlockMultiValIterator blockMultiValIterator = _blockMultiValIteratorMap.get(column);
+    fetchStringValues(getColumnIndex(column), inDocIds, length, outValues);
+  }
+
+  /**
+   * Fetch the string values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outValues Buffer for output
+   */
+  public void fetchStringValues(int columnIndex, int[] inDocIds, int length, String[][] outValues) {
+    Dictionary dictionary = _dictionaries[columnIndex];
+    int[] numValues = THREAD_LOCAL_NUM_VALUES.get();
+    int[] dictIds = _multiValueSets[columnIndex].getDictionaryIds(inDocIds, length, numValues);
+    int dictIdIndex = 0;
     for (int i = 0; i < length; i++) {
-      blockMultiValIterator.skipTo(inDocIds[i]);
-      int numMultiValues = blockMultiValIterator.nextIntVal(_reusableMVDictIds);
+      int numMultiValues = numValues[i];
       outValues[i] = new String[numMultiValues];
-      _dictionaryMap.get(column).readStringValues(_reusableMVDictIds, 0, numMultiValues, outValues[i], 0);
+      dictionary.readStringValues(dictIds, dictIdIndex, numMultiValues, outValues[i], 0);
+      dictIdIndex += numMultiValues;
     }
   }
 
@@ -327,10 +561,18 @@ public class DataFetcher {
    * @param outNumValues Buffer for output
    */
   public void fetchNumValues(String column, int[] inDocIds, int length, int[] outNumValues) {
-    BlockMultiValIterator blockMultiValIterator = _blockMultiValIteratorMap.get(column);
-    for (int i = 0; i < length; i++) {
-      blockMultiValIterator.skipTo(inDocIds[i]);
-      outNumValues[i] = blockMultiValIterator.nextIntVal(_reusableMVDictIds);
-    }
+    fetchNumValues(getColumnIndex(column), inDocIds, length, outNumValues);
+  }
+
+  /**
+   * Fetch the number of values for a multi-valued column.
+   *
+   * @param columnIndex Column index
+   * @param inDocIds Input document Ids buffer
+   * @param length Number of input document Ids
+   * @param outNumValues Buffer for output
+   */
+  public void fetchNumValues(int columnIndex, int[] inDocIds, int length, int[] outNumValues) {
+    _multiValueSets[columnIndex].getNumValues(inDocIds, length, outNumValues);
   }
 }
@@ -55,4 +55,28 @@ public class MinionConstants {
   public static class PurgeTask {
     public static final String TASK_TYPE = "PurgeTask";
   }
+
+  // Merges (concatenates or rolls up) small segments within the same time bucket into larger segments
+  public static class MergeRollupTask {
+    public static final String TASK_TYPE = "MergeRollupTask";
+    public static final String MERGE_TYPE_KEY = "mergeType";
+    public static final String MERGED_SEGMENT_NAME_KEY = "mergedSegmentName";
+    public static final String NUM_THREADS_KEY = "numThreads";
+    // Suffix of the keys for the aggregation type of the metric columns, e.g. "m1.aggregationType" -> "MAX"
+    public static final String AGGREGATION_TYPE_KEY_SUFFIX = ".aggregationType";
+    // JSON serialized indexing config of the table, used to generate the merged segment with the sorted column and the
+    // inverted index columns of the table
+    public static final String INDEXING_CONFIG_KEY = "indexingConfig";
+    // Key in the custom map of the merged segment ZK metadata for the names of the input segments, which are skipped
+    // and deleted by the task generator if they still exist after the merged segment is uploaded
+    public static final String INPUT_SEGMENTS_KEY = TASK_TYPE + ".inputSegments";
+
+    // Configs for the task generator
+    public static final String BUCKET_TIME_PERIOD_KEY = "bucketTimePeriod";
+    public static final String MAX_NUM_SEGMENTS_PER_TASK_KEY = "maxNumSegmentsPerTask";
+    public static final String MAX_NUM_RECORDS_PER_SEGMENT_KEY = "maxNumRecordsPerSegment";
+    public static final String DEFAULT_BUCKET_TIME_PERIOD = "1d";
+    public static final int DEFAULT_MAX_NUM_SEGMENTS_PER_TASK = 20;
+    public static final long DEFAULT_MAX_NUM_RECORDS_PER_SEGMENT = 5_000_000L;
+  }
 }
@@ -36,6 +36,7 @@ import org.apache.pinot.core.common.ObjectSerDeUtils;
 import org.apache.pinot.core.query.aggregation.AggregationFunctionContext;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils;
+import org.apache.pinot.core.query.scheduler.resources.QueryMemoryTracker;
 
 
 /**
@@ -282,6 +283,17 @@ public class DataTableBuilder {
   }
 
   public DataTable build() {
+    // The data is copied out of the output streams, and serialized again when sending the response
+    QueryMemoryTracker queryMemoryTracker = QueryMemoryTracker.get();
+    if (queryMemoryTracker != null) {
+      long numBytes = 2L * (_fixedSizeDataByteArrayOutputStream.size() + _variableSizeDataByteArrayOutputStream.size());
+      if (queryMemoryTracker.getOverflowPolicy() == QueryMemoryTracker.OverflowPolicy.TRIM) {
+        // The results are already trimmed, serialize them even if the limit is reached
+        queryMemoryTracker.tryAllocate(numBytes);
+      } else {
+        queryMemoryTracker.allocate(numBytes, "data table");
+      }
+    }
     return new DataTableImplV2(_numRows, _dataSchema, _reverseDictionaryMap,
         _fixedSizeDataByteArrayOutputStream.toByteArray(), _variableSizeDataByteArrayOutputStream.toByteArray());
   }
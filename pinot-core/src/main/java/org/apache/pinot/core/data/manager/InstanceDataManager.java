@@ -65,6 +65,13 @@ public interface InstanceDataManager {
   void addOfflineSegment(@Nonnull String offlineTableName, @Nonnull String segmentName, @Nonnull File indexDir)
       throws Exception;
 
+  /**
+   * Prepares a segment on local disk for an OFFLINE table (converts the segment format and creates the missing
+   * indexes) without adding it, so that adding it later only needs to load the prepared segment.
+   */
+  void preprocessOfflineSegment(@Nonnull String offlineTableName, @Nonnull File indexDir)
+      throws Exception;
+
   /**
    * Adds a segment into an REALTIME table.
    * <p>The segment might be committed or under consuming.
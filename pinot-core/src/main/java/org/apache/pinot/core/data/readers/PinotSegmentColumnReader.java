@@ -35,6 +35,7 @@ public class PinotSegmentColumnReader {
   private final DataFileReader _reader;
   private final ReaderContext _readerContext;
   private final int[] _mvBuffer;
+  private int[] _dictIdBuffer;
 
   public PinotSegmentColumnReader(ImmutableSegment immutableSegment, String column) {
     _dictionary = immutableSegment.getDictionary(column);
@@ -128,6 +129,35 @@ public class PinotSegmentColumnReader {
     }
   }
 
+  /**
+   * Reads the single-value values for the contiguous docIds [startDocId, startDocId + length) into the given array.
+   * <p>For dictionary-encoded columns, the dictionary ids of the range are decoded in bulk from the forward index.
+   */
+  public void readSV(int startDocId, int length, DataType dataType, Object[] values) {
+    if (_dictionary != null) {
+      if (_dictIdBuffer == null || _dictIdBuffer.length < length) {
+        _dictIdBuffer = new int[length];
+      }
+      ((SingleColumnSingleValueReader) _reader).readValues(startDocId, length, _readerContext, _dictIdBuffer);
+      for (int i = 0; i < length; i++) {
+        values[i] = _dictionary.get(_dictIdBuffer[i]);
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        values[i] = readSV(startDocId + i, dataType);
+      }
+    }
+  }
+
+  /**
+   * Reads the multi-value values for the contiguous docIds [startDocId, startDocId + length) into the given array.
+   */
+  public void readMV(int startDocId, int length, Object[] values) {
+    for (int i = 0; i < length; i++) {
+      values[i] = readMV(startDocId + i);
+    }
+  }
+
   public Object[] readMV(int docId) {
     SingleColumnMultiValueReader mvReader = (SingleColumnMultiValueReader) _reader;
     int numValues = mvReader.getIntArray(docId, _mvBuffer, _readerContext);
@@ -0,0 +1,414 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.data.readers.sort;
+
+import com.google.common.base.Preconditions;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.utils.StringUtil;
+import org.apache.pinot.common.utils.primitive.ByteArray;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.data.recordtransformer.RecordTransformer;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Record reader which sorts the rows from another record reader on the given sort order columns with an external merge
+ * sort, so that inputs larger than the heap can still generate segments sorted on a column.
+ * <p>The rows are transformed with the given record transformer and buffered in memory until the estimated size of the
+ * buffered rows reaches the memory budget, then the buffered rows are sorted and spilled to disk as a sorted run. The
+ * sorted runs are k-way merged while reading the rows. If all the rows fit in the memory budget, they are sorted and
+ * served from memory without spilling.
+ * <p>The rows returned are already transformed, so the segment creation should use a pass-through transformer.
+ * <p>NOTE: only single-value columns can be used in the sort order.
+ */
+public class ExternalSortRecordReader implements RecordReader {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExternalSortRecordReader.class);
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  // Estimated on-heap overheads used to account the buffered rows against the memory budget
+  private static final int OBJECT_OVERHEAD_IN_BYTES = 16;
+  private static final int REFERENCE_SIZE_IN_BYTES = 8;
+
+  private final RecordReader _recordReader;
+  private final Schema _schema;
+  private final FieldSpec[] _fieldSpecs;
+  private final Comparator<Object[]> _comparator;
+  private final File _spillDir;
+  private final List<File> _runFiles = new ArrayList<>();
+  private final int _numRows;
+
+  // Sorted rows when all the rows fit in memory, null if the rows are spilled to disk
+  private List<Object[]> _inMemoryRows;
+  private PriorityQueue<RunReader> _mergeQueue;
+  private int _nextRowId;
+
+  public ExternalSortRecordReader(RecordReader recordReader, RecordTransformer recordTransformer,
+      List<String> sortOrder, File spillDir, long maxMemoryInBytes)
+      throws IOException {
+    Preconditions.checkArgument(maxMemoryInBytes > 0, "Max memory for sorting must be positive");
+    _recordReader = recordReader;
+    _schema = recordReader.getSchema();
+    _spillDir = spillDir;
+
+    List<FieldSpec> fieldSpecs = new ArrayList<>();
+    for (FieldSpec fieldSpec : _schema.getAllFieldSpecs()) {
+      // Virtual columns do not get an on-disk representation
+      if (!_schema.isVirtualColumn(fieldSpec.getName())) {
+        fieldSpecs.add(fieldSpec);
+      }
+    }
+    _fieldSpecs = fieldSpecs.toArray(new FieldSpec[0]);
+
+    int numSortColumns = sortOrder.size();
+    int[] sortColumnIndexes = new int[numSortColumns];
+    for (int i = 0; i < numSortColumns; i++) {
+      String column = sortOrder.get(i);
+      int index = fieldSpecs.indexOf(_schema.getFieldSpecFor(column));
+      Preconditions.checkState(index >= 0, "Sort column: %s does not exist in the schema", column);
+      Preconditions.checkState(_fieldSpecs[index].isSingleValueField(), "Sort column: %s is not single-value", column);
+      sortColumnIndexes[i] = index;
+    }
+    _comparator = (row1, row2) -> {
+      for (int index : sortColumnIndexes) {
+        int result = compareValues(row1[index], row2[index]);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return 0;
+    };
+
+    // Buffer the transformed rows, and spill the sorted runs when the memory budget is reached
+    long start = System.currentTimeMillis();
+    int numColumns = _fieldSpecs.length;
+    int numRows = 0;
+    List<Object[]> bufferedRows = new ArrayList<>();
+    long bufferedSizeInBytes = 0;
+    GenericRow reuse = new GenericRow();
+    while (recordReader.hasNext()) {
+      reuse.clear();
+      GenericRow transformedRow = recordTransformer.transform(recordReader.next(reuse));
+      if (transformedRow == null) {
+        continue;
+      }
+      Object[] row = new Object[numColumns];
+      long rowSizeInBytes = OBJECT_OVERHEAD_IN_BYTES + (long) numColumns * REFERENCE_SIZE_IN_BYTES;
+      for (int i = 0; i < numColumns; i++) {
+        Object value = transformedRow.getValue(_fieldSpecs[i].getName());
+        row[i] = value;
+        rowSizeInBytes += estimateSizeInBytes(value);
+      }
+      bufferedRows.add(row);
+      bufferedSizeInBytes += rowSizeInBytes + REFERENCE_SIZE_IN_BYTES;
+      numRows++;
+      if (bufferedSizeInBytes >= maxMemoryInBytes) {
+        spill(bufferedRows);
+        bufferedRows = new ArrayList<>();
+        bufferedSizeInBytes = 0;
+      }
+    }
+    _numRows = numRows;
+    if (_runFiles.isEmpty()) {
+      bufferedRows.sort(_comparator);
+      _inMemoryRows = bufferedRows;
+    } else {
+      if (!bufferedRows.isEmpty()) {
+        spill(bufferedRows);
+      }
+      _mergeQueue = new PriorityQueue<>(_runFiles.size(), (reader1, reader2) -> {
+        int result = _comparator.compare(reader1._row, reader2._row);
+        // Break the ties with the run id to keep the sort stable
+        return result != 0 ? result : Integer.compare(reader1._runId, reader2._runId);
+      });
+    }
+    LOGGER.info("Sorted {} rows on columns: {} into {} runs in {}ms", _numRows, sortOrder,
+        Math.max(_runFiles.size(), 1), System.currentTimeMillis() - start);
+
+    rewind();
+  }
+
+  /**
+   * Sorts the buffered rows and writes them into a new run file.
+   */
+  private void spill(List<Object[]> bufferedRows)
+      throws IOException {
+    bufferedRows.sort(_comparator);
+    FileUtils.forceMkdir(_spillDir);
+    File runFile = new File(_spillDir, "run_" + _runFiles.size());
+    try (DataOutputStream outputStream = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(runFile), BUFFER_SIZE))) {
+      outputStream.writeInt(bufferedRows.size());
+      for (Object[] row : bufferedRows) {
+        for (int i = 0; i < _fieldSpecs.length; i++) {
+          writeValue(outputStream, _fieldSpecs[i], row[i]);
+        }
+      }
+    }
+    _runFiles.add(runFile);
+    LOGGER.debug("Spilled {} rows into run file: {}", bufferedRows.size(), runFile);
+  }
+
+  @Override
+  public void init(SegmentGeneratorConfig segmentGeneratorConfig) {
+  }
+
+  @Override
+  public boolean hasNext() {
+    return _nextRowId < _numRows;
+  }
+
+  @Override
+  public GenericRow next()
+      throws IOException {
+    return next(new GenericRow());
+  }
+
+  @Override
+  public GenericRow next(GenericRow reuse)
+      throws IOException {
+    Object[] row;
+    if (_inMemoryRows != null) {
+      row = _inMemoryRows.get(_nextRowId);
+    } else {
+      RunReader runReader = _mergeQueue.poll();
+      row = runReader._row;
+      if (runReader.advance()) {
+        _mergeQueue.add(runReader);
+      } else {
+        runReader.close();
+      }
+    }
+    _nextRowId++;
+    for (int i = 0; i < _fieldSpecs.length; i++) {
+      reuse.putField(_fieldSpecs[i].getName(), row[i]);
+    }
+    return reuse;
+  }
+
+  @Override
+  public void rewind()
+      throws IOException {
+    _nextRowId = 0;
+    if (_mergeQueue != null) {
+      closeRunReaders();
+      for (int i = 0; i < _runFiles.size(); i++) {
+        RunReader runReader = new RunReader(i, _runFiles.get(i));
+        if (runReader.advance()) {
+          _mergeQueue.add(runReader);
+        } else {
+          runReader.close();
+        }
+      }
+    }
+  }
+
+  @Override
+  public Schema getSchema() {
+    return _schema;
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    try {
+      if (_mergeQueue != null) {
+        closeRunReaders();
+      }
+      _recordReader.close();
+    } finally {
+      FileUtils.deleteQuietly(_spillDir);
+    }
+  }
+
+  private void closeRunReaders()
+      throws IOException {
+    for (RunReader runReader : _mergeQueue) {
+      runReader.close();
+    }
+    _mergeQueue.clear();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int compareValues(Object value1, Object value2) {
+    if (value1 instanceof byte[]) {
+      return ByteArray.compare((byte[]) value1, (byte[]) value2);
+    } else {
+      return ((Comparable) value1).compareTo(value2);
+    }
+  }
+
+  private static long estimateSizeInBytes(Object value) {
+    if (value instanceof String) {
+      return OBJECT_OVERHEAD_IN_BYTES * 2 + 2L * ((String) value).length();
+    }
+    if (value instanceof byte[]) {
+      return OBJECT_OVERHEAD_IN_BYTES + ((byte[]) value).length;
+    }
+    if (value instanceof Object[]) {
+      Object[] values = (Object[]) value;
+      long sizeInBytes = OBJECT_OVERHEAD_IN_BYTES + (long) values.length * REFERENCE_SIZE_IN_BYTES;
+      for (Object v : values) {
+        sizeInBytes += estimateSizeInBytes(v);
+      }
+      return sizeInBytes;
+    }
+    // Boxed number
+    return OBJECT_OVERHEAD_IN_BYTES + Long.BYTES;
+  }
+
+  private static void writeValue(DataOutputStream outputStream, FieldSpec fieldSpec, Object value)
+      throws IOException {
+    FieldSpec.DataType dataType = fieldSpec.getDataType().getStoredType();
+    if (fieldSpec.isSingleValueField()) {
+      writeSingleValue(outputStream, dataType, value);
+    } else {
+      Object[] values = (Object[]) value;
+      outputStream.writeInt(values.length);
+      for (Object v : values) {
+        writeSingleValue(outputStream, dataType, v);
+      }
+    }
+  }
+
+  private static void writeSingleValue(DataOutputStream outputStream, FieldSpec.DataType dataType, Object value)
+      throws IOException {
+    switch (dataType) {
+      case INT:
+        outputStream.writeInt((Integer) value);
+        break;
+      case LONG:
+        outputStream.writeLong((Long) value);
+        break;
+      case FLOAT:
+        outputStream.writeFloat((Float) value);
+        break;
+      case DOUBLE:
+        outputStream.writeDouble((Double) value);
+        break;
+      case STRING:
+        byte[] stringBytes = StringUtil.encodeUtf8((String) value);
+        outputStream.writeInt(stringBytes.length);
+        outputStream.write(stringBytes);
+        break;
+      case BYTES:
+        byte[] bytes = (byte[]) value;
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+        break;
+      default:
+        throw new IllegalStateException("Illegal data type: " + dataType);
+    }
+  }
+
+  private static Object readValue(DataInputStream inputStream, FieldSpec fieldSpec)
+      throws IOException {
+    FieldSpec.DataType dataType = fieldSpec.getDataType().getStoredType();
+    if (fieldSpec.isSingleValueField()) {
+      return readSingleValue(inputStream, dataType);
+    } else {
+      Object[] values = new Object[inputStream.readInt()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = readSingleValue(inputStream, dataType);
+      }
+      return values;
+    }
+  }
+
+  private static Object readSingleValue(DataInputStream inputStream, FieldSpec.DataType dataType)
+      throws IOException {
+    switch (dataType) {
+      case INT:
+        return inputStream.readInt();
+      case LONG:
+        return inputStream.readLong();
+      case FLOAT:
+        return inputStream.readFloat();
+      case DOUBLE:
+        return inputStream.readDouble();
+      case STRING:
+        byte[] stringBytes = new byte[inputStream.readInt()];
+        inputStream.readFully(stringBytes);
+        return StringUtil.decodeUtf8(stringBytes);
+      case BYTES:
+        byte[] bytes = new byte[inputStream.readInt()];
+        inputStream.readFully(bytes);
+        return bytes;
+      default:
+        throw new IllegalStateException("Illegal data type: " + dataType);
+    }
+  }
+
+  /**
+   * Reader over the rows of a sorted run file, which keeps the current row for the k-way merge.
+   */
+  private class RunReader implements Closeable {
+    final int _runId;
+    final DataInputStream _inputStream;
+    int _numRowsRemaining;
+    Object[] _row;
+
+    RunReader(int runId, File runFile)
+        throws IOException {
+      _runId = runId;
+      _inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(runFile), BUFFER_SIZE));
+      _numRowsRemaining = _inputStream.readInt();
+    }
+
+    /**
+     * Reads the next row of the run, returns {@code false} if the run is exhausted.
+     */
+    boolean advance()
+        throws IOException {
+      if (_numRowsRemaining == 0) {
+        return false;
+      }
+      _numRowsRemaining--;
+      Object[] row = new Object[_fieldSpecs.length];
+      for (int i = 0; i < _fieldSpecs.length; i++) {
+        row[i] = readValue(_inputStream, _fieldSpecs[i]);
+      }
+      _row = row;
+      return true;
+    }
+
+    @Override
+    public void close()
+        throws IOException {
+      _inputStream.close();
+    }
+  }
+}
@@ -73,11 +73,14 @@ public class SegmentGeneratorConfig {
     EPOCH, SIMPLE_DATE
   }
 
+  public static final long DEFAULT_MAX_SORT_MEMORY_IN_BYTES = 256 * 1024 * 1024L;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(SegmentGeneratorConfig.class);
 
   private Map<String, String> _customProperties = new HashMap<>();
   private Set<String> _rawIndexCreationColumns = new HashSet<>();
   private Map<String, ChunkCompressorFactory.CompressionType> _rawIndexCompressionType = new HashMap<>();
+  private Set<String> _varLengthDictionaryColumns = new HashSet<>();
   private List<String> _invertedIndexCreationColumns = new ArrayList<>();
   private List<String> _columnSortOrder = new ArrayList<>();
   private String _dataDir = null;
@@ -111,6 +114,17 @@ public class SegmentGeneratorConfig {
   private String _simpleDateFormat = null;
   // Use on-heap or off-heap memory to generate index (currently only affect inverted index and star-tree v2)
   private boolean _onHeap = false;
+  // Use the prefix sum layout for multi-value forward indexes
+  private boolean _prefixSumMultiValueForwardIndex = false;
+  // Read the input only once, spooling the transformed rows off-heap while collecting stats (no star-tree)
+  private boolean _singlePassCreation = false;
+  // Number of threads to build the column indexes from the spooled rows, where more than 1 implies single-pass creation
+  private int _numIndexCreationThreads = 1;
+  // Targets for the RollingSegmentCreationDriver to roll over to a new segment
+  private int _maxNumRowsPerSegment = Integer.MAX_VALUE;
+  private long _maxSegmentSizeInBytes = Long.MAX_VALUE;
+  // Memory budget for the external sort on the column sort order, above which sorted runs are spilled to disk
+  private long _maxSortMemoryInBytes = DEFAULT_MAX_SORT_MEMORY_IN_BYTES;
 
   public SegmentGeneratorConfig() {
   }
@@ -126,6 +140,7 @@ public class SegmentGeneratorConfig {
     _customProperties.putAll(config._customProperties);
     _rawIndexCreationColumns.addAll(config._rawIndexCreationColumns);
     _rawIndexCompressionType.putAll(config._rawIndexCompressionType);
+    _varLengthDictionaryColumns.addAll(config._varLengthDictionaryColumns);
     _invertedIndexCreationColumns.addAll(config._invertedIndexCreationColumns);
     _columnSortOrder.addAll(config._columnSortOrder);
     _dataDir = config._dataDir;
@@ -157,6 +172,12 @@ public class SegmentGeneratorConfig {
     _timeColumnType = config._timeColumnType;
     _simpleDateFormat = config._simpleDateFormat;
     _onHeap = config._onHeap;
+    _prefixSumMultiValueForwardIndex = config._prefixSumMultiValueForwardIndex;
+    _singlePassCreation = config._singlePassCreation;
+    _numIndexCreationThreads = config._numIndexCreationThreads;
+    _maxNumRowsPerSegment = config._maxNumRowsPerSegment;
+    _maxSegmentSizeInBytes = config._maxSegmentSizeInBytes;
+    _maxSortMemoryInBytes = config._maxSortMemoryInBytes;
     _recordReaderPath = config._recordReaderPath;
   }
 
@@ -187,6 +208,14 @@ public class SegmentGeneratorConfig {
         this.setRawIndexCompressionType(serializedNoDictionaryColumnMap);
       }
     }
+    List<String> varLengthDictionaryColumns = indexingConfig.getVarLengthDictionaryColumns();
+    if (varLengthDictionaryColumns != null) {
+      this.setVarLengthDictionaryColumns(varLengthDictionaryColumns);
+    }
+    List<String> sortedColumns = indexingConfig.getSortedColumn();
+    if (sortedColumns != null) {
+      setColumnSortOrder(sortedColumns);
+    }
     _segmentPartitionConfig = indexingConfig.getSegmentPartitionConfig();
 
     // Star-tree V1 config
@@ -208,6 +237,7 @@ public class SegmentGeneratorConfig {
     if (indexingConfig.isCreateInvertedIndexDuringSegmentGeneration()) {
       _invertedIndexCreationColumns = indexingConfig.getInvertedIndexColumns();
     }
+    _prefixSumMultiValueForwardIndex = indexingConfig.isPrefixSumMultiValueForwardIndex();
 
     SegmentsValidationAndRetentionConfig validationConfig = tableConfig.getValidationConfig();
     _hllConfig = validationConfig.getHllConfig();
@@ -253,6 +283,10 @@ public class SegmentGeneratorConfig {
     return _rawIndexCreationColumns;
   }
 
+  public Set<String> getVarLengthDictionaryColumns() {
+    return _varLengthDictionaryColumns;
+  }
+
   public List<String> getInvertedIndexCreationColumns() {
     return _invertedIndexCreationColumns;
   }
@@ -266,6 +300,15 @@ public class SegmentGeneratorConfig {
     _rawIndexCreationColumns.addAll(rawIndexCreationColumns);
   }
 
+  /**
+   * Sets the STRING columns whose dictionary should be stored in the variable-length format instead of padding every
+   * value to the longest one.
+   */
+  public void setVarLengthDictionaryColumns(List<String> varLengthDictionaryColumns) {
+    Preconditions.checkNotNull(varLengthDictionaryColumns);
+    _varLengthDictionaryColumns.addAll(varLengthDictionaryColumns);
+  }
+
   public void setInvertedIndexCreationColumns(List<String> indexCreationColumns) {
     Preconditions.checkNotNull(indexCreationColumns);
     _invertedIndexCreationColumns.addAll(indexCreationColumns);
@@ -580,6 +623,58 @@ public class SegmentGeneratorConfig {
     _onHeap = onHeap;
   }
 
+  public boolean isPrefixSumMultiValueForwardIndex() {
+    return _prefixSumMultiValueForwardIndex;
+  }
+
+  public void setPrefixSumMultiValueForwardIndex(boolean prefixSumMultiValueForwardIndex) {
+    _prefixSumMultiValueForwardIndex = prefixSumMultiValueForwardIndex;
+  }
+
+  public boolean isSinglePassCreation() {
+    return _singlePassCreation;
+  }
+
+  public void setSinglePassCreation(boolean singlePassCreation) {
+    _singlePassCreation = singlePassCreation;
+  }
+
+  public int getNumIndexCreationThreads() {
+    return _numIndexCreationThreads;
+  }
+
+  public void setNumIndexCreationThreads(int numIndexCreationThreads) {
+    _numIndexCreationThreads = numIndexCreationThreads;
+  }
+
+  public int getMaxNumRowsPerSegment() {
+    return _maxNumRowsPerSegment;
+  }
+
+  public void setMaxNumRowsPerSegment(int maxNumRowsPerSegment) {
+    _maxNumRowsPerSegment = maxNumRowsPerSegment;
+  }
+
+  public long getMaxSegmentSizeInBytes() {
+    return _maxSegmentSizeInBytes;
+  }
+
+  /**
+   * Sets the max raw size of the transformed rows in a segment for the rolling segment creation, which is not the size
+   * of the segment on disk.
+   */
+  public void setMaxSegmentSizeInBytes(long maxSegmentSizeInBytes) {
+    _maxSegmentSizeInBytes = maxSegmentSizeInBytes;
+  }
+
+  public long getMaxSortMemoryInBytes() {
+    return _maxSortMemoryInBytes;
+  }
+
+  public void setMaxSortMemoryInBytes(long maxSortMemoryInBytes) {
+    _maxSortMemoryInBytes = maxSortMemoryInBytes;
+  }
+
   public Map<String, ChunkCompressorFactory.CompressionType> getRawIndexCompressionType() {
     return _rawIndexCompressionType;
   }
@@ -31,6 +31,8 @@ import org.apache.pinot.core.io.reader.DataFileReader;
 import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
 import org.apache.pinot.core.segment.index.column.ColumnIndexContainer;
 import org.apache.pinot.core.segment.index.data.source.ColumnDataSource;
+import org.apache.pinot.core.segment.index.loader.warmup.SegmentWarmUpManager;
+import org.apache.pinot.core.segment.index.loader.warmup.SegmentWarmUpTask;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
 import org.apache.pinot.core.segment.store.SegmentDirectory;
@@ -47,6 +49,7 @@ public class ImmutableSegmentImpl implements ImmutableSegment {
   private final SegmentMetadataImpl _segmentMetadata;
   private final Map<String, ColumnIndexContainer> _indexContainerMap;
   private final StarTreeIndexContainer _starTreeIndexContainer;
+  private volatile SegmentWarmUpTask _warmUpTask;
 
   public ImmutableSegmentImpl(SegmentDirectory segmentDirectory, SegmentMetadataImpl segmentMetadata,
       Map<String, ColumnIndexContainer> columnIndexContainerMap,
@@ -57,6 +60,13 @@ public class ImmutableSegmentImpl implements ImmutableSegment {
     _starTreeIndexContainer = starTreeIndexContainer;
   }
 
+  /**
+   * Sets the task warming up the index buffers, which will be cancelled before the buffers are closed.
+   */
+  public void setWarmUpTask(SegmentWarmUpTask warmUpTask) {
+    _warmUpTask = warmUpTask;
+  }
+
   @Override
   public Dictionary getDictionary(String column) {
     return _indexContainerMap.get(column).getDictionary();
@@ -113,6 +123,10 @@ public class ImmutableSegmentImpl implements ImmutableSegment {
   @Override
   public void destroy() {
     LOGGER.info("Trying to destroy segment : {}", this.getSegmentName());
+    // Stop the warm-up before closing the buffers
+    if (_warmUpTask != null) {
+      SegmentWarmUpManager.cancel(_warmUpTask);
+    }
     for (String column : _indexContainerMap.keySet()) {
       ColumnIndexContainer columnIndexContainer = _indexContainerMap.get(column);
 
@@ -20,7 +20,11 @@ package org.apache.pinot.core.indexsegment.immutable;
 
 import com.google.common.base.Preconditions;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,6 +41,13 @@ import org.apache.pinot.core.segment.index.converter.SegmentFormatConverter;
 import org.apache.pinot.core.segment.index.converter.SegmentFormatConverterFactory;
 import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
 import org.apache.pinot.core.segment.index.loader.SegmentPreProcessor;
+import org.apache.pinot.core.segment.index.loader.SegmentReloadPlanner;
+import org.apache.pinot.core.segment.index.loader.forwardindex.MultiValueForwardIndexHandler;
+import org.apache.pinot.core.segment.index.loader.warmup.SegmentWarmUpManager;
+import org.apache.pinot.core.segment.index.loader.warmup.SegmentWarmUpPolicy;
+import org.apache.pinot.core.segment.index.loader.warmup.SegmentWarmUpTask;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.apache.pinot.core.segment.store.ColumnIndexType;
 import org.apache.pinot.core.segment.store.SegmentDirectory;
 import org.apache.pinot.core.segment.store.SegmentDirectoryPaths;
 import org.apache.pinot.core.segment.virtualcolumn.VirtualColumnContext;
@@ -53,6 +64,9 @@ public class ImmutableSegmentLoader {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ImmutableSegmentLoader.class);
 
+  // Max time to wait for the segment warm-up before making the segment query-ready
+  private static final long MAX_WARM_UP_WAIT_TIME_MS = 600_000L;
+
   /**
    * For tests only.
    */
@@ -76,9 +90,12 @@ public class ImmutableSegmentLoader {
   }
 
   /**
-   * For segments from OFFLINE table.
+   * Converts the segment to the configured version and pre-processes it (e.g. creates the missing indexes) without
+   * loading it. Can be used to prepare the segment on disk ahead of time so that loading it only needs to map the index
+   * files.
+   * <p>NOTE: this method may modify the segment on disk, caller should hold the segment lock.
    */
-  public static ImmutableSegment load(@Nonnull File indexDir, @Nonnull IndexLoadingConfig indexLoadingConfig,
+  public static void preprocess(@Nonnull File indexDir, @Nonnull IndexLoadingConfig indexLoadingConfig,
       @Nullable Schema schema)
       throws Exception {
     Preconditions
@@ -97,6 +114,11 @@ public class ImmutableSegmentLoader {
         SegmentFormatConverter converter =
             SegmentFormatConverterFactory.getConverter(segmentVersionOnDisk, segmentVersionToLoad);
         LOGGER.info("Using converter: {} to up-convert segment: {}", converter.getClass().getName(), segmentName);
+        if (segmentVersionToLoad == SegmentVersion.v3) {
+          // Forward indexes cannot be replaced inside the v3 single index file, so convert them before the format
+          // conversion
+          MultiValueForwardIndexHandler.convertForwardIndices(indexDir, indexLoadingConfig);
+        }
         converter.convert(indexDir);
         LOGGER.info("Successfully up-converted segment: {} from version: {} to {}", segmentName, segmentVersionOnDisk,
             segmentVersionToLoad);
@@ -108,11 +130,32 @@ public class ImmutableSegmentLoader {
     try (SegmentPreProcessor preProcessor = new SegmentPreProcessor(indexDir, indexLoadingConfig, schema)) {
       preProcessor.process();
     }
+  }
 
+  /**
+   * For segments from OFFLINE table.
+   */
+  public static ImmutableSegment load(@Nonnull File indexDir, @Nonnull IndexLoadingConfig indexLoadingConfig,
+      @Nullable Schema schema)
+      throws Exception {
+    preprocess(indexDir, indexLoadingConfig, schema);
+    return loadWithoutPreprocessing(indexDir, indexLoadingConfig, schema);
+  }
+
+  /**
+   * Loads the segment without converting or pre-processing it, so the segment on disk is never modified. Can be used to
+   * reload a segment in place while the segment being replaced is still serving queries from the same directory.
+   * <p>NOTE: the segment on disk must already match the index loading config and schema, i.e. no change is planned by
+   * {@link SegmentReloadPlanner}, otherwise loading the missing indexes fails.
+   */
+  public static ImmutableSegment loadWithoutPreprocessing(@Nonnull File indexDir,
+      @Nonnull IndexLoadingConfig indexLoadingConfig, @Nullable Schema schema)
+      throws Exception {
     // Load the metadata again since converter and pre-processor may have changed it
     SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl(indexDir);
 
     // Load the segment
+    String segmentName = indexDir.getName();
     ReadMode readMode = indexLoadingConfig.getReadMode();
     SegmentDirectory segmentDirectory = SegmentDirectory.createFromLocalFS(indexDir, segmentMetadata, readMode);
     SegmentDirectory.Reader segmentReader = segmentDirectory.createReader();
@@ -122,6 +165,13 @@ public class ImmutableSegmentLoader {
           .put(entry.getKey(), new PhysicalColumnIndexContainer(segmentReader, entry.getValue(), indexLoadingConfig));
     }
 
+    // Collect the memory-mapped index buffers to warm up before adding the virtual columns
+    SegmentWarmUpPolicy warmUpPolicy = indexLoadingConfig.getSegmentWarmUpPolicy();
+    List<PinotDataBuffer> buffersToWarmUp = Collections.emptyList();
+    if (readMode == ReadMode.mmap && warmUpPolicy != SegmentWarmUpPolicy.NONE) {
+      buffersToWarmUp = getBuffersToWarmUp(segmentReader, segmentMetadata, indexLoadingConfig, warmUpPolicy);
+    }
+
     if (schema == null) {
       schema = segmentMetadata.getSchema();
     }
@@ -151,6 +201,51 @@ public class ImmutableSegmentLoader {
               indexContainerMap, readMode);
     }
 
-    return new ImmutableSegmentImpl(segmentDirectory, segmentMetadata, indexContainerMap, starTreeIndexContainer);
+    ImmutableSegmentImpl segment =
+        new ImmutableSegmentImpl(segmentDirectory, segmentMetadata, indexContainerMap, starTreeIndexContainer);
+
+    // Warm up the memory-mapped index buffers asynchronously
+    if (!buffersToWarmUp.isEmpty()) {
+      SegmentWarmUpTask warmUpTask =
+          SegmentWarmUpManager.submit(segmentMetadata.getTableName(), segmentName, buffersToWarmUp);
+      segment.setWarmUpTask(warmUpTask);
+      if (indexLoadingConfig.isWaitForSegmentWarmUp()) {
+        // Do not make the segment query-ready before it is warmed up
+        if (!warmUpTask.awaitCompletion(MAX_WARM_UP_WAIT_TIME_MS)) {
+          LOGGER.warn("Segment: {} is not warmed up within {}ms, continue without waiting", segmentName,
+              MAX_WARM_UP_WAIT_TIME_MS);
+        }
+      }
+    }
+
+    return segment;
+  }
+
+  private static List<PinotDataBuffer> getBuffersToWarmUp(SegmentDirectory.Reader segmentReader,
+      SegmentMetadataImpl segmentMetadata, IndexLoadingConfig indexLoadingConfig, SegmentWarmUpPolicy warmUpPolicy)
+      throws IOException {
+    List<PinotDataBuffer> buffers = new ArrayList<>();
+    for (ColumnMetadata columnMetadata : segmentMetadata.getColumnMetadataMap().values()) {
+      String column = columnMetadata.getColumnName();
+      if (warmUpPolicy == SegmentWarmUpPolicy.ALL) {
+        for (ColumnIndexType indexType : ColumnIndexType.values()) {
+          if (segmentReader.hasIndexFor(column, indexType)) {
+            buffers.add(segmentReader.getIndexFor(column, indexType));
+          }
+        }
+      } else {
+        // Dictionaries loaded on heap do not need warm-up
+        if (columnMetadata.hasDictionary() && !indexLoadingConfig.getOnHeapDictionaryColumns().contains(column)) {
+          buffers.add(segmentReader.getIndexFor(column, ColumnIndexType.DICTIONARY));
+        }
+        if (segmentReader.hasIndexFor(column, ColumnIndexType.INVERTED_INDEX)) {
+          buffers.add(segmentReader.getIndexFor(column, ColumnIndexType.INVERTED_INDEX));
+        }
+        if (columnMetadata.isSorted() && columnMetadata.isSingleValue()) {
+          buffers.add(segmentReader.getIndexFor(column, ColumnIndexType.FORWARD_INDEX));
+        }
+      }
+    }
+    return buffers;
   }
 }
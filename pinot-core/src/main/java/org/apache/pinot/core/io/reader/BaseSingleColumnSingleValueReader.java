@@ -99,4 +99,11 @@ public abstract class BaseSingleColumnSingleValueReader<T extends ReaderContext>
   public void readValues(int[] rows, int rowStartPos, int rowSize, int[] values, int valuesStartPos) {
     throw new UnsupportedOperationException("not supported");
   }
+
+  @Override
+  public void readValues(int startRow, int length, T context, int[] values) {
+    for (int i = 0; i < length; i++) {
+      values[i] = getInt(startRow + i, context);
+    }
+  }
 }
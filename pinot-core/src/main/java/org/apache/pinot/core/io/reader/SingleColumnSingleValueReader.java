@@ -148,4 +148,15 @@ public interface SingleColumnSingleValueReader<T extends ReaderContext> extends
    * @param valuesStartPos Start offset of 'values' array to write the values.
    */
   void readValues(int[] rows, int rowStartPos, int rowSize, int[] values, int valuesStartPos);
+
+  /**
+   * Read the values for a contiguous range of rows, i.e. rows [startRow, startRow + length).
+   * <p>Readers can decode the range sequentially instead of seeking for each row.
+   *
+   * @param startRow First row to read
+   * @param length Number of rows to read
+   * @param context Reader context
+   * @param values Output array, values are written starting from index 0
+   */
+  void readValues(int startRow, int length, T context, int[] values);
 }
@@ -0,0 +1,272 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.io.reader.impl.v1;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import org.apache.pinot.core.io.reader.BaseSingleColumnMultiValueReader;
+import org.apache.pinot.core.io.reader.ReaderContext;
+import org.apache.pinot.core.io.util.FixedBitIntReaderWriter;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+
+
+/**
+ * Storage Layout:
+ * <ul>
+ *   <li>
+ *     There will be three sections: HEADER, OFFSET and RAW DATA.
+ *   </li>
+ *   <li>
+ *     HEADER contains 4 ints: the magic marker, the version, the number of bits per offset and the number of bits per
+ *     value.
+ *   </li>
+ *   <li>
+ *     OFFSET contains (numRows + 1) bit compressed prefix sums of the number of values, where the values of row i are
+ *     stored in RAW DATA with index range [offset(i), offset(i + 1)).
+ *   </li>
+ *   <li>
+ *     RAW DATA contains the bit compressed values.
+ *   </li>
+ * </ul>
+ * <p>Compared to {@link FixedBitMultiValueReader}, locating a row takes 2 offset lookups instead of a bitmap scan, and
+ * the number of values and the values of a block of rows can be read in bulk.
+ * <p>The magic marker is always non-zero, while the first int of the {@link FixedBitMultiValueReader} layout (offset of
+ * the first chunk) is always 0, so that the 2 layouts can be told apart with
+ * {@link #isPrefixSumFormat(PinotDataBuffer)}.
+ */
+public final class FixedBitPrefixSumMultiValueReader
+    extends BaseSingleColumnMultiValueReader<FixedBitPrefixSumMultiValueReader.Context> {
+  public static final int MAGIC_MARKER = 0x4D564F46;
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+  // Number of rows to buffer the offsets for on sequential access
+  private static final int NUM_ROWS_TO_BUFFER = 128;
+  // Read the offsets of all the rows in the span of a block if the span is at most this many times the block size
+  private static final int MAX_SPAN_FACTOR_FOR_BULK_OFFSET_READ = 4;
+
+  private final PinotDataBuffer _dataBuffer;
+  private final FixedBitIntReaderWriter _offsetReader;
+  private final FixedBitIntReaderWriter _rawDataReader;
+  private final int _numRows;
+
+  /**
+   * Returns whether the given forward index buffer is in the prefix sum layout.
+   */
+  public static boolean isPrefixSumFormat(PinotDataBuffer dataBuffer) {
+    return dataBuffer.size() >= HEADER_SIZE && dataBuffer.getInt(0) == MAGIC_MARKER;
+  }
+
+  /**
+   * Returns the size in bytes of the given number of bit compressed values.
+   */
+  public static long getDataSize(int numValues, int numBitsPerValue) {
+    return ((long) numValues * numBitsPerValue + Byte.SIZE - 1) / Byte.SIZE;
+  }
+
+  public FixedBitPrefixSumMultiValueReader(PinotDataBuffer dataBuffer, int numRows, int numValues,
+      int numBitsPerValue) {
+    Preconditions.checkState(isPrefixSumFormat(dataBuffer), "Invalid magic marker for prefix sum forward index");
+    int version = dataBuffer.getInt(Integer.BYTES);
+    Preconditions.checkState(version == VERSION, "Unsupported prefix sum forward index version: %s", version);
+    int numBitsPerOffset = dataBuffer.getInt(2 * Integer.BYTES);
+    int storedNumBitsPerValue = dataBuffer.getInt(3 * Integer.BYTES);
+    Preconditions.checkState(storedNumBitsPerValue == numBitsPerValue,
+        "Number of bits per value mismatch, expected: %s, stored: %s", numBitsPerValue, storedNumBitsPerValue);
+
+    _dataBuffer = dataBuffer;
+    _numRows = numRows;
+    long offsetEnd = HEADER_SIZE + getDataSize(numRows + 1, numBitsPerOffset);
+    _offsetReader =
+        new FixedBitIntReaderWriter(dataBuffer.view(HEADER_SIZE, offsetEnd), numRows + 1, numBitsPerOffset);
+    long rawDataEnd = offsetEnd + getDataSize(numValues, numBitsPerValue);
+    _rawDataReader =
+        new FixedBitIntReaderWriter(dataBuffer.view(offsetEnd, rawDataEnd), numValues, numBitsPerValue);
+  }
+
+  @Override
+  public int getIntArray(int row, int[] intArray) {
+    int startOffset = _offsetReader.readInt(row);
+    int numValues = _offsetReader.readInt(row + 1) - startOffset;
+    _rawDataReader.readInt(startOffset, numValues, intArray);
+    return numValues;
+  }
+
+  @Override
+  public int getIntArray(int row, int[] intArray, Context context) {
+    int startOffset;
+    int endOffset;
+    int indexInBuffer = row - context._bufferStartRow;
+    if (indexInBuffer >= 0 && indexInBuffer < context._numBufferedRows) {
+      startOffset = context._offsetBuffer[indexInBuffer];
+      endOffset = context._offsetBuffer[indexInBuffer + 1];
+    } else if (row == context._row + 1) {
+      // Sequential access, buffer the offsets for the following rows
+      int numRowsToBuffer = Math.min(NUM_ROWS_TO_BUFFER, _numRows - row);
+      _offsetReader.readInt(row, numRowsToBuffer + 1, context._offsetBuffer);
+      context._bufferStartRow = row;
+      context._numBufferedRows = numRowsToBuffer;
+      startOffset = context._offsetBuffer[0];
+      endOffset = context._offsetBuffer[1];
+    } else {
+      startOffset = _offsetReader.readInt(row);
+      endOffset = _offsetReader.readInt(row + 1);
+    }
+    int numValues = endOffset - startOffset;
+    _rawDataReader.readInt(startOffset, numValues, intArray);
+    context._row = row;
+    return numValues;
+  }
+
+  /**
+   * Reads the number of values for a block of rows into {@code numValues[0, length)}.
+   *
+   * @param rows Rows to read, sorted in ascending order
+   * @param length Number of rows
+   * @param numValues Buffer for the number of values of each row
+   * @param context Reader context
+   * @return Total number of values for the rows
+   */
+  public int getNumValues(int[] rows, int length, int[] numValues, Context context) {
+    readOffsets(rows, length, context);
+    int[] startOffsets = context._startOffsets;
+    int[] endOffsets = context._endOffsets;
+    int totalNumValues = 0;
+    for (int i = 0; i < length; i++) {
+      int numValuesForRow = endOffsets[i] - startOffsets[i];
+      numValues[i] = numValuesForRow;
+      totalNumValues += numValuesForRow;
+    }
+    return totalNumValues;
+  }
+
+  /**
+   * Reads the number of values and the values for a block of rows. The number of values are read into
+   * {@code numValues[0, length)}, and the values of all the rows are concatenated into the returned array, where the
+   * values of row {@code rows[i]} start right after the values of row {@code rows[i - 1]}.
+   * <p>Values of rows that are adjacent in the forward index are decoded with a single bulk read.
+   * <p>NOTE: The returned array is owned by the context and is only valid until the next call with the same context.
+   *
+   * @param rows Rows to read, sorted in ascending order
+   * @param length Number of rows
+   * @param numValues Buffer for the number of values of each row
+   * @param context Reader context
+   * @return Array containing the values of all the rows
+   */
+  public int[] getIntArrays(int[] rows, int length, int[] numValues, Context context) {
+    int totalNumValues = getNumValues(rows, length, numValues, context);
+    int[] values = context.getValueBuffer(totalNumValues);
+    int[] startOffsets = context._startOffsets;
+    int[] endOffsets = context._endOffsets;
+    int valueIndex = 0;
+    int i = 0;
+    while (i < length) {
+      // Merge the rows with adjacent values into one bulk read
+      int runStartOffset = startOffsets[i];
+      int runEndOffset = endOffsets[i];
+      i++;
+      while (i < length && startOffsets[i] == runEndOffset) {
+        runEndOffset = endOffsets[i];
+        i++;
+      }
+      int numValuesInRun = runEndOffset - runStartOffset;
+      _rawDataReader.readInt(runStartOffset, numValuesInRun, values, valueIndex);
+      valueIndex += numValuesInRun;
+    }
+    return values;
+  }
+
+  /**
+   * Reads the start and end offsets of the given rows into the context.
+   */
+  private void readOffsets(int[] rows, int length, Context context) {
+    context.ensureOffsetCapacity(length);
+    if (length == 0) {
+      return;
+    }
+    int[] startOffsets = context._startOffsets;
+    int[] endOffsets = context._endOffsets;
+    int firstRow = rows[0];
+    int numRowsInSpan = rows[length - 1] - firstRow + 1;
+    if (numRowsInSpan <= length * MAX_SPAN_FACTOR_FOR_BULK_OFFSET_READ) {
+      // Dense rows, bulk read the offsets for all the rows in the span
+      int[] spanOffsets = context.getSpanOffsetBuffer(numRowsInSpan + 1);
+      _offsetReader.readInt(firstRow, numRowsInSpan + 1, spanOffsets);
+      for (int i = 0; i < length; i++) {
+        int indexInSpan = rows[i] - firstRow;
+        startOffsets[i] = spanOffsets[indexInSpan];
+        endOffsets[i] = spanOffsets[indexInSpan + 1];
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        int row = rows[i];
+        startOffsets[i] = _offsetReader.readInt(row);
+        endOffsets[i] = _offsetReader.readInt(row + 1);
+      }
+    }
+  }
+
+  @Override
+  public Context createContext() {
+    return new Context();
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    _offsetReader.close();
+    _rawDataReader.close();
+    _dataBuffer.close();
+  }
+
+  public static class Context implements ReaderContext {
+    // For single row access
+    private int _row = -1;
+    private int _bufferStartRow = 0;
+    private int _numBufferedRows = 0;
+    private final int[] _offsetBuffer = new int[NUM_ROWS_TO_BUFFER + 1];
+
+    // For block access, lazily allocated
+    private int[] _startOffsets = new int[0];
+    private int[] _endOffsets = new int[0];
+    private int[] _spanOffsets = new int[0];
+    private int[] _values = new int[0];
+
+    private void ensureOffsetCapacity(int length) {
+      if (_startOffsets.length < length) {
+        _startOffsets = new int[length];
+        _endOffsets = new int[length];
+      }
+    }
+
+    private int[] getSpanOffsetBuffer(int length) {
+      if (_spanOffsets.length < length) {
+        _spanOffsets = new int[length];
+      }
+      return _spanOffsets;
+    }
+
+    private int[] getValueBuffer(int length) {
+      if (_values.length < length) {
+        _values = new int[Math.max(length, 2 * _values.length)];
+      }
+      return _values;
+    }
+  }
+}
@@ -25,7 +25,8 @@ import org.apache.pinot.core.io.util.FixedBitIntReaderWriter;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 
 
-public final class FixedBitSingleValueReader extends BaseSingleColumnSingleValueReader {
+public final class FixedBitSingleValueReader
+    extends BaseSingleColumnSingleValueReader<FixedBitSingleValueReader.Context> {
   private final FixedBitIntReaderWriter _reader;
 
   public FixedBitSingleValueReader(PinotDataBuffer dataBuffer, int numRows, int numBitsPerValue) {
@@ -38,7 +39,7 @@ public final class FixedBitSingleValueReader extends BaseSingleColumnSingleValue
   }
 
   @Override
-  public int getInt(int row, ReaderContext context) {
+  public int getInt(int row, Context context) {
     return _reader.readInt(row);
   }
 
@@ -51,8 +52,15 @@ public final class FixedBitSingleValueReader extends BaseSingleColumnSingleValue
   }
 
   @Override
-  public ReaderContext createContext() {
-    return null;
+  public void readValues(int startRow, int length, Context context, int[] values) {
+    if (length > 0) {
+      _reader.readInt(startRow, length, values, 0, context != null ? context._unpackBuffer : null);
+    }
+  }
+
+  @Override
+  public Context createContext() {
+    return new Context(_reader.getNumBitsPerValue());
   }
 
   @Override
@@ -60,4 +68,13 @@ public final class FixedBitSingleValueReader extends BaseSingleColumnSingleValue
       throws IOException {
     _reader.close();
   }
+
+  public static class Context implements ReaderContext {
+    // Reusable buffer for the packed words when bulk reading the values
+    private final int[] _unpackBuffer;
+
+    private Context(int numBitsPerValue) {
+      _unpackBuffer = new int[numBitsPerValue];
+    }
+  }
 }
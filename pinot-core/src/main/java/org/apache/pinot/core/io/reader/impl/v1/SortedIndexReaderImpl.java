@@ -20,6 +20,7 @@ package org.apache.pinot.core.io.reader.impl.v1;
 
 import com.google.common.base.Preconditions;
 import java.io.IOException;
+import java.util.Arrays;
 import org.apache.pinot.common.utils.Pairs;
 import org.apache.pinot.core.io.reader.BaseSingleColumnSingleValueReader;
 import org.apache.pinot.core.io.reader.ReaderContext;
@@ -114,6 +115,24 @@ public class SortedIndexReaderImpl extends BaseSingleColumnSingleValueReader<Sor
     }
   }
 
+  @Override
+  public void readValues(int startRow, int length, Context context, int[] values) {
+    if (_cardinality == 1) {
+      Arrays.fill(values, 0, length, 0);
+      return;
+    }
+    // Fill the runs of each dictionary id directly instead of looking up the dictionary id for every row
+    int endRow = startRow + length;
+    int row = startRow;
+    int dictId = binarySearch(row, 0, _cardinality - 1);
+    while (row < endRow) {
+      int runEndRow = Math.min(_reader.getInt(2 * dictId + 1) + 1, endRow);
+      Arrays.fill(values, row - startRow, runEndRow - startRow, dictId);
+      row = runEndRow;
+      dictId++;
+    }
+  }
+
   @Override
   public Context createContext() {
     return new Context();
@@ -21,6 +21,7 @@ package org.apache.pinot.core.io.util;
 import com.google.common.base.Preconditions;
 import java.io.Closeable;
 import java.io.IOException;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 
 
@@ -43,6 +44,21 @@ public final class FixedBitIntReaderWriter implements Closeable {
     _dataBitSet.readInt(startIndex, _numBitsPerValue, length, buffer);
   }
 
+  public void readInt(int startIndex, int length, int[] buffer, int bufferStartIndex) {
+    _dataBitSet.readInt(startIndex, _numBitsPerValue, length, buffer, bufferStartIndex);
+  }
+
+  /**
+   * Bulk reads the values with a reusable buffer of at least {@link #getNumBitsPerValue()} ints for the packed words.
+   */
+  public void readInt(int startIndex, int length, int[] buffer, int bufferStartIndex, @Nullable int[] unpackBuffer) {
+    _dataBitSet.readInt(startIndex, _numBitsPerValue, length, buffer, bufferStartIndex, unpackBuffer);
+  }
+
+  public int getNumBitsPerValue() {
+    return _numBitsPerValue;
+  }
+
   public void writeInt(int index, int value) {
     _dataBitSet.writeInt(index, _numBitsPerValue, value);
   }
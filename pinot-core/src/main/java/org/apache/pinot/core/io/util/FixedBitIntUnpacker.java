@@ -0,0 +1,1269 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.io.util;
+
+
+/**
+ * Bulk unpack routines for bit-packed integers, specialized per number of bits per value (1-32).
+ * <p>Each routine decodes a group of 32 values packed in {@code numBitsPerValue} 32-bit words. The bits are laid out
+ * in the same order as {@link PinotDataBitSet}: values are stored back to back starting from the most significant bit
+ * of the first word. The routines are fully unrolled with constant shifts and masks, so that the JIT can keep the
+ * words in registers and avoid the per-value offset arithmetic of the one-value-at-a-time decoder.
+ */
+final class FixedBitIntUnpacker {
+  /**
+   * Number of values decoded by each unpack routine.
+   */
+  static final int NUM_VALUES_PER_GROUP = 32;
+
+  private FixedBitIntUnpacker() {
+  }
+
+  /**
+   * Unpacks 32 values of the given number of bits from {@code in[0, numBitsPerValue)} into
+   * {@code out[outPos, outPos + 32)}.
+   *
+   * @param numBitsPerValue Number of bits per value (1-32)
+   * @param in Packed words
+   * @param out Output buffer
+   * @param outPos Start position in the output buffer
+   */
+  static void unpack32(int numBitsPerValue, int[] in, int[] out, int outPos) {
+    switch (numBitsPerValue) {
+      case 1:
+        unpack1Bits(in, out, outPos);
+        return;
+      case 2:
+        unpack2Bits(in, out, outPos);
+        return;
+      case 3:
+        unpack3Bits(in, out, outPos);
+        return;
+      case 4:
+        unpack4Bits(in, out, outPos);
+        return;
+      case 5:
+        unpack5Bits(in, out, outPos);
+        return;
+      case 6:
+        unpack6Bits(in, out, outPos);
+        return;
+      case 7:
+        unpack7Bits(in, out, outPos);
+        return;
+      case 8:
+        unpack8Bits(in, out, outPos);
+        return;
+      case 9:
+        unpack9Bits(in, out, outPos);
+        return;
+      case 10:
+        unpack10Bits(in, out, outPos);
+        return;
+      case 11:
+        unpack11Bits(in, out, outPos);
+        return;
+      case 12:
+        unpack12Bits(in, out, outPos);
+        return;
+      case 13:
+        unpack13Bits(in, out, outPos);
+        return;
+      case 14:
+        unpack14Bits(in, out, outPos);
+        return;
+      case 15:
+        unpack15Bits(in, out, outPos);
+        return;
+      case 16:
+        unpack16Bits(in, out, outPos);
+        return;
+      case 17:
+        unpack17Bits(in, out, outPos);
+        return;
+      case 18:
+        unpack18Bits(in, out, outPos);
+        return;
+      case 19:
+        unpack19Bits(in, out, outPos);
+        return;
+      case 20:
+        unpack20Bits(in, out, outPos);
+        return;
+      case 21:
+        unpack21Bits(in, out, outPos);
+        return;
+      case 22:
+        unpack22Bits(in, out, outPos);
+        return;
+      case 23:
+        unpack23Bits(in, out, outPos);
+        return;
+      case 24:
+        unpack24Bits(in, out, outPos);
+        return;
+      case 25:
+        unpack25Bits(in, out, outPos);
+        return;
+      case 26:
+        unpack26Bits(in, out, outPos);
+        return;
+      case 27:
+        unpack27Bits(in, out, outPos);
+        return;
+      case 28:
+        unpack28Bits(in, out, outPos);
+        return;
+      case 29:
+        unpack29Bits(in, out, outPos);
+        return;
+      case 30:
+        unpack30Bits(in, out, outPos);
+        return;
+      case 31:
+        unpack31Bits(in, out, outPos);
+        return;
+      case 32:
+        unpack32Bits(in, out, outPos);
+        return;
+      default:
+        throw new IllegalArgumentException("Unsupported number of bits per value: " + numBitsPerValue);
+    }
+  }
+
+  private static void unpack1Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 31;
+    out[outPos + 1] = (in[0] >>> 30) & 0x1;
+    out[outPos + 2] = (in[0] >>> 29) & 0x1;
+    out[outPos + 3] = (in[0] >>> 28) & 0x1;
+    out[outPos + 4] = (in[0] >>> 27) & 0x1;
+    out[outPos + 5] = (in[0] >>> 26) & 0x1;
+    out[outPos + 6] = (in[0] >>> 25) & 0x1;
+    out[outPos + 7] = (in[0] >>> 24) & 0x1;
+    out[outPos + 8] = (in[0] >>> 23) & 0x1;
+    out[outPos + 9] = (in[0] >>> 22) & 0x1;
+    out[outPos + 10] = (in[0] >>> 21) & 0x1;
+    out[outPos + 11] = (in[0] >>> 20) & 0x1;
+    out[outPos + 12] = (in[0] >>> 19) & 0x1;
+    out[outPos + 13] = (in[0] >>> 18) & 0x1;
+    out[outPos + 14] = (in[0] >>> 17) & 0x1;
+    out[outPos + 15] = (in[0] >>> 16) & 0x1;
+    out[outPos + 16] = (in[0] >>> 15) & 0x1;
+    out[outPos + 17] = (in[0] >>> 14) & 0x1;
+    out[outPos + 18] = (in[0] >>> 13) & 0x1;
+    out[outPos + 19] = (in[0] >>> 12) & 0x1;
+    out[outPos + 20] = (in[0] >>> 11) & 0x1;
+    out[outPos + 21] = (in[0] >>> 10) & 0x1;
+    out[outPos + 22] = (in[0] >>> 9) & 0x1;
+    out[outPos + 23] = (in[0] >>> 8) & 0x1;
+    out[outPos + 24] = (in[0] >>> 7) & 0x1;
+    out[outPos + 25] = (in[0] >>> 6) & 0x1;
+    out[outPos + 26] = (in[0] >>> 5) & 0x1;
+    out[outPos + 27] = (in[0] >>> 4) & 0x1;
+    out[outPos + 28] = (in[0] >>> 3) & 0x1;
+    out[outPos + 29] = (in[0] >>> 2) & 0x1;
+    out[outPos + 30] = (in[0] >>> 1) & 0x1;
+    out[outPos + 31] = in[0] & 0x1;
+  }
+
+  private static void unpack2Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 30;
+    out[outPos + 1] = (in[0] >>> 28) & 0x3;
+    out[outPos + 2] = (in[0] >>> 26) & 0x3;
+    out[outPos + 3] = (in[0] >>> 24) & 0x3;
+    out[outPos + 4] = (in[0] >>> 22) & 0x3;
+    out[outPos + 5] = (in[0] >>> 20) & 0x3;
+    out[outPos + 6] = (in[0] >>> 18) & 0x3;
+    out[outPos + 7] = (in[0] >>> 16) & 0x3;
+    out[outPos + 8] = (in[0] >>> 14) & 0x3;
+    out[outPos + 9] = (in[0] >>> 12) & 0x3;
+    out[outPos + 10] = (in[0] >>> 10) & 0x3;
+    out[outPos + 11] = (in[0] >>> 8) & 0x3;
+    out[outPos + 12] = (in[0] >>> 6) & 0x3;
+    out[outPos + 13] = (in[0] >>> 4) & 0x3;
+    out[outPos + 14] = (in[0] >>> 2) & 0x3;
+    out[outPos + 15] = in[0] & 0x3;
+    out[outPos + 16] = in[1] >>> 30;
+    out[outPos + 17] = (in[1] >>> 28) & 0x3;
+    out[outPos + 18] = (in[1] >>> 26) & 0x3;
+    out[outPos + 19] = (in[1] >>> 24) & 0x3;
+    out[outPos + 20] = (in[1] >>> 22) & 0x3;
+    out[outPos + 21] = (in[1] >>> 20) & 0x3;
+    out[outPos + 22] = (in[1] >>> 18) & 0x3;
+    out[outPos + 23] = (in[1] >>> 16) & 0x3;
+    out[outPos + 24] = (in[1] >>> 14) & 0x3;
+    out[outPos + 25] = (in[1] >>> 12) & 0x3;
+    out[outPos + 26] = (in[1] >>> 10) & 0x3;
+    out[outPos + 27] = (in[1] >>> 8) & 0x3;
+    out[outPos + 28] = (in[1] >>> 6) & 0x3;
+    out[outPos + 29] = (in[1] >>> 4) & 0x3;
+    out[outPos + 30] = (in[1] >>> 2) & 0x3;
+    out[outPos + 31] = in[1] & 0x3;
+  }
+
+  private static void unpack3Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 29;
+    out[outPos + 1] = (in[0] >>> 26) & 0x7;
+    out[outPos + 2] = (in[0] >>> 23) & 0x7;
+    out[outPos + 3] = (in[0] >>> 20) & 0x7;
+    out[outPos + 4] = (in[0] >>> 17) & 0x7;
+    out[outPos + 5] = (in[0] >>> 14) & 0x7;
+    out[outPos + 6] = (in[0] >>> 11) & 0x7;
+    out[outPos + 7] = (in[0] >>> 8) & 0x7;
+    out[outPos + 8] = (in[0] >>> 5) & 0x7;
+    out[outPos + 9] = (in[0] >>> 2) & 0x7;
+    out[outPos + 10] = ((in[0] << 1) | (in[1] >>> 31)) & 0x7;
+    out[outPos + 11] = (in[1] >>> 28) & 0x7;
+    out[outPos + 12] = (in[1] >>> 25) & 0x7;
+    out[outPos + 13] = (in[1] >>> 22) & 0x7;
+    out[outPos + 14] = (in[1] >>> 19) & 0x7;
+    out[outPos + 15] = (in[1] >>> 16) & 0x7;
+    out[outPos + 16] = (in[1] >>> 13) & 0x7;
+    out[outPos + 17] = (in[1] >>> 10) & 0x7;
+    out[outPos + 18] = (in[1] >>> 7) & 0x7;
+    out[outPos + 19] = (in[1] >>> 4) & 0x7;
+    out[outPos + 20] = (in[1] >>> 1) & 0x7;
+    out[outPos + 21] = ((in[1] << 2) | (in[2] >>> 30)) & 0x7;
+    out[outPos + 22] = (in[2] >>> 27) & 0x7;
+    out[outPos + 23] = (in[2] >>> 24) & 0x7;
+    out[outPos + 24] = (in[2] >>> 21) & 0x7;
+    out[outPos + 25] = (in[2] >>> 18) & 0x7;
+    out[outPos + 26] = (in[2] >>> 15) & 0x7;
+    out[outPos + 27] = (in[2] >>> 12) & 0x7;
+    out[outPos + 28] = (in[2] >>> 9) & 0x7;
+    out[outPos + 29] = (in[2] >>> 6) & 0x7;
+    out[outPos + 30] = (in[2] >>> 3) & 0x7;
+    out[outPos + 31] = in[2] & 0x7;
+  }
+
+  private static void unpack4Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 28;
+    out[outPos + 1] = (in[0] >>> 24) & 0xF;
+    out[outPos + 2] = (in[0] >>> 20) & 0xF;
+    out[outPos + 3] = (in[0] >>> 16) & 0xF;
+    out[outPos + 4] = (in[0] >>> 12) & 0xF;
+    out[outPos + 5] = (in[0] >>> 8) & 0xF;
+    out[outPos + 6] = (in[0] >>> 4) & 0xF;
+    out[outPos + 7] = in[0] & 0xF;
+    out[outPos + 8] = in[1] >>> 28;
+    out[outPos + 9] = (in[1] >>> 24) & 0xF;
+    out[outPos + 10] = (in[1] >>> 20) & 0xF;
+    out[outPos + 11] = (in[1] >>> 16) & 0xF;
+    out[outPos + 12] = (in[1] >>> 12) & 0xF;
+    out[outPos + 13] = (in[1] >>> 8) & 0xF;
+    out[outPos + 14] = (in[1] >>> 4) & 0xF;
+    out[outPos + 15] = in[1] & 0xF;
+    out[outPos + 16] = in[2] >>> 28;
+    out[outPos + 17] = (in[2] >>> 24) & 0xF;
+    out[outPos + 18] = (in[2] >>> 20) & 0xF;
+    out[outPos + 19] = (in[2] >>> 16) & 0xF;
+    out[outPos + 20] = (in[2] >>> 12) & 0xF;
+    out[outPos + 21] = (in[2] >>> 8) & 0xF;
+    out[outPos + 22] = (in[2] >>> 4) & 0xF;
+    out[outPos + 23] = in[2] & 0xF;
+    out[outPos + 24] = in[3] >>> 28;
+    out[outPos + 25] = (in[3] >>> 24) & 0xF;
+    out[outPos + 26] = (in[3] >>> 20) & 0xF;
+    out[outPos + 27] = (in[3] >>> 16) & 0xF;
+    out[outPos + 28] = (in[3] >>> 12) & 0xF;
+    out[outPos + 29] = (in[3] >>> 8) & 0xF;
+    out[outPos + 30] = (in[3] >>> 4) & 0xF;
+    out[outPos + 31] = in[3] & 0xF;
+  }
+
+  private static void unpack5Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 27;
+    out[outPos + 1] = (in[0] >>> 22) & 0x1F;
+    out[outPos + 2] = (in[0] >>> 17) & 0x1F;
+    out[outPos + 3] = (in[0] >>> 12) & 0x1F;
+    out[outPos + 4] = (in[0] >>> 7) & 0x1F;
+    out[outPos + 5] = (in[0] >>> 2) & 0x1F;
+    out[outPos + 6] = ((in[0] << 3) | (in[1] >>> 29)) & 0x1F;
+    out[outPos + 7] = (in[1] >>> 24) & 0x1F;
+    out[outPos + 8] = (in[1] >>> 19) & 0x1F;
+    out[outPos + 9] = (in[1] >>> 14) & 0x1F;
+    out[outPos + 10] = (in[1] >>> 9) & 0x1F;
+    out[outPos + 11] = (in[1] >>> 4) & 0x1F;
+    out[outPos + 12] = ((in[1] << 1) | (in[2] >>> 31)) & 0x1F;
+    out[outPos + 13] = (in[2] >>> 26) & 0x1F;
+    out[outPos + 14] = (in[2] >>> 21) & 0x1F;
+    out[outPos + 15] = (in[2] >>> 16) & 0x1F;
+    out[outPos + 16] = (in[2] >>> 11) & 0x1F;
+    out[outPos + 17] = (in[2] >>> 6) & 0x1F;
+    out[outPos + 18] = (in[2] >>> 1) & 0x1F;
+    out[outPos + 19] = ((in[2] << 4) | (in[3] >>> 28)) & 0x1F;
+    out[outPos + 20] = (in[3] >>> 23) & 0x1F;
+    out[outPos + 21] = (in[3] >>> 18) & 0x1F;
+    out[outPos + 22] = (in[3] >>> 13) & 0x1F;
+    out[outPos + 23] = (in[3] >>> 8) & 0x1F;
+    out[outPos + 24] = (in[3] >>> 3) & 0x1F;
+    out[outPos + 25] = ((in[3] << 2) | (in[4] >>> 30)) & 0x1F;
+    out[outPos + 26] = (in[4] >>> 25) & 0x1F;
+    out[outPos + 27] = (in[4] >>> 20) & 0x1F;
+    out[outPos + 28] = (in[4] >>> 15) & 0x1F;
+    out[outPos + 29] = (in[4] >>> 10) & 0x1F;
+    out[outPos + 30] = (in[4] >>> 5) & 0x1F;
+    out[outPos + 31] = in[4] & 0x1F;
+  }
+
+  private static void unpack6Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 26;
+    out[outPos + 1] = (in[0] >>> 20) & 0x3F;
+    out[outPos + 2] = (in[0] >>> 14) & 0x3F;
+    out[outPos + 3] = (in[0] >>> 8) & 0x3F;
+    out[outPos + 4] = (in[0] >>> 2) & 0x3F;
+    out[outPos + 5] = ((in[0] << 4) | (in[1] >>> 28)) & 0x3F;
+    out[outPos + 6] = (in[1] >>> 22) & 0x3F;
+    out[outPos + 7] = (in[1] >>> 16) & 0x3F;
+    out[outPos + 8] = (in[1] >>> 10) & 0x3F;
+    out[outPos + 9] = (in[1] >>> 4) & 0x3F;
+    out[outPos + 10] = ((in[1] << 2) | (in[2] >>> 30)) & 0x3F;
+    out[outPos + 11] = (in[2] >>> 24) & 0x3F;
+    out[outPos + 12] = (in[2] >>> 18) & 0x3F;
+    out[outPos + 13] = (in[2] >>> 12) & 0x3F;
+    out[outPos + 14] = (in[2] >>> 6) & 0x3F;
+    out[outPos + 15] = in[2] & 0x3F;
+    out[outPos + 16] = in[3] >>> 26;
+    out[outPos + 17] = (in[3] >>> 20) & 0x3F;
+    out[outPos + 18] = (in[3] >>> 14) & 0x3F;
+    out[outPos + 19] = (in[3] >>> 8) & 0x3F;
+    out[outPos + 20] = (in[3] >>> 2) & 0x3F;
+    out[outPos + 21] = ((in[3] << 4) | (in[4] >>> 28)) & 0x3F;
+    out[outPos + 22] = (in[4] >>> 22) & 0x3F;
+    out[outPos + 23] = (in[4] >>> 16) & 0x3F;
+    out[outPos + 24] = (in[4] >>> 10) & 0x3F;
+    out[outPos + 25] = (in[4] >>> 4) & 0x3F;
+    out[outPos + 26] = ((in[4] << 2) | (in[5] >>> 30)) & 0x3F;
+    out[outPos + 27] = (in[5] >>> 24) & 0x3F;
+    out[outPos + 28] = (in[5] >>> 18) & 0x3F;
+    out[outPos + 29] = (in[5] >>> 12) & 0x3F;
+    out[outPos + 30] = (in[5] >>> 6) & 0x3F;
+    out[outPos + 31] = in[5] & 0x3F;
+  }
+
+  private static void unpack7Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 25;
+    out[outPos + 1] = (in[0] >>> 18) & 0x7F;
+    out[outPos + 2] = (in[0] >>> 11) & 0x7F;
+    out[outPos + 3] = (in[0] >>> 4) & 0x7F;
+    out[outPos + 4] = ((in[0] << 3) | (in[1] >>> 29)) & 0x7F;
+    out[outPos + 5] = (in[1] >>> 22) & 0x7F;
+    out[outPos + 6] = (in[1] >>> 15) & 0x7F;
+    out[outPos + 7] = (in[1] >>> 8) & 0x7F;
+    out[outPos + 8] = (in[1] >>> 1) & 0x7F;
+    out[outPos + 9] = ((in[1] << 6) | (in[2] >>> 26)) & 0x7F;
+    out[outPos + 10] = (in[2] >>> 19) & 0x7F;
+    out[outPos + 11] = (in[2] >>> 12) & 0x7F;
+    out[outPos + 12] = (in[2] >>> 5) & 0x7F;
+    out[outPos + 13] = ((in[2] << 2) | (in[3] >>> 30)) & 0x7F;
+    out[outPos + 14] = (in[3] >>> 23) & 0x7F;
+    out[outPos + 15] = (in[3] >>> 16) & 0x7F;
+    out[outPos + 16] = (in[3] >>> 9) & 0x7F;
+    out[outPos + 17] = (in[3] >>> 2) & 0x7F;
+    out[outPos + 18] = ((in[3] << 5) | (in[4] >>> 27)) & 0x7F;
+    out[outPos + 19] = (in[4] >>> 20) & 0x7F;
+    out[outPos + 20] = (in[4] >>> 13) & 0x7F;
+    out[outPos + 21] = (in[4] >>> 6) & 0x7F;
+    out[outPos + 22] = ((in[4] << 1) | (in[5] >>> 31)) & 0x7F;
+    out[outPos + 23] = (in[5] >>> 24) & 0x7F;
+    out[outPos + 24] = (in[5] >>> 17) & 0x7F;
+    out[outPos + 25] = (in[5] >>> 10) & 0x7F;
+    out[outPos + 26] = (in[5] >>> 3) & 0x7F;
+    out[outPos + 27] = ((in[5] << 4) | (in[6] >>> 28)) & 0x7F;
+    out[outPos + 28] = (in[6] >>> 21) & 0x7F;
+    out[outPos + 29] = (in[6] >>> 14) & 0x7F;
+    out[outPos + 30] = (in[6] >>> 7) & 0x7F;
+    out[outPos + 31] = in[6] & 0x7F;
+  }
+
+  private static void unpack8Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 24;
+    out[outPos + 1] = (in[0] >>> 16) & 0xFF;
+    out[outPos + 2] = (in[0] >>> 8) & 0xFF;
+    out[outPos + 3] = in[0] & 0xFF;
+    out[outPos + 4] = in[1] >>> 24;
+    out[outPos + 5] = (in[1] >>> 16) & 0xFF;
+    out[outPos + 6] = (in[1] >>> 8) & 0xFF;
+    out[outPos + 7] = in[1] & 0xFF;
+    out[outPos + 8] = in[2] >>> 24;
+    out[outPos + 9] = (in[2] >>> 16) & 0xFF;
+    out[outPos + 10] = (in[2] >>> 8) & 0xFF;
+    out[outPos + 11] = in[2] & 0xFF;
+    out[outPos + 12] = in[3] >>> 24;
+    out[outPos + 13] = (in[3] >>> 16) & 0xFF;
+    out[outPos + 14] = (in[3] >>> 8) & 0xFF;
+    out[outPos + 15] = in[3] & 0xFF;
+    out[outPos + 16] = in[4] >>> 24;
+    out[outPos + 17] = (in[4] >>> 16) & 0xFF;
+    out[outPos + 18] = (in[4] >>> 8) & 0xFF;
+    out[outPos + 19] = in[4] & 0xFF;
+    out[outPos + 20] = in[5] >>> 24;
+    out[outPos + 21] = (in[5] >>> 16) & 0xFF;
+    out[outPos + 22] = (in[5] >>> 8) & 0xFF;
+    out[outPos + 23] = in[5] & 0xFF;
+    out[outPos + 24] = in[6] >>> 24;
+    out[outPos + 25] = (in[6] >>> 16) & 0xFF;
+    out[outPos + 26] = (in[6] >>> 8) & 0xFF;
+    out[outPos + 27] = in[6] & 0xFF;
+    out[outPos + 28] = in[7] >>> 24;
+    out[outPos + 29] = (in[7] >>> 16) & 0xFF;
+    out[outPos + 30] = (in[7] >>> 8) & 0xFF;
+    out[outPos + 31] = in[7] & 0xFF;
+  }
+
+  private static void unpack9Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 23;
+    out[outPos + 1] = (in[0] >>> 14) & 0x1FF;
+    out[outPos + 2] = (in[0] >>> 5) & 0x1FF;
+    out[outPos + 3] = ((in[0] << 4) | (in[1] >>> 28)) & 0x1FF;
+    out[outPos + 4] = (in[1] >>> 19) & 0x1FF;
+    out[outPos + 5] = (in[1] >>> 10) & 0x1FF;
+    out[outPos + 6] = (in[1] >>> 1) & 0x1FF;
+    out[outPos + 7] = ((in[1] << 8) | (in[2] >>> 24)) & 0x1FF;
+    out[outPos + 8] = (in[2] >>> 15) & 0x1FF;
+    out[outPos + 9] = (in[2] >>> 6) & 0x1FF;
+    out[outPos + 10] = ((in[2] << 3) | (in[3] >>> 29)) & 0x1FF;
+    out[outPos + 11] = (in[3] >>> 20) & 0x1FF;
+    out[outPos + 12] = (in[3] >>> 11) & 0x1FF;
+    out[outPos + 13] = (in[3] >>> 2) & 0x1FF;
+    out[outPos + 14] = ((in[3] << 7) | (in[4] >>> 25)) & 0x1FF;
+    out[outPos + 15] = (in[4] >>> 16) & 0x1FF;
+    out[outPos + 16] = (in[4] >>> 7) & 0x1FF;
+    out[outPos + 17] = ((in[4] << 2) | (in[5] >>> 30)) & 0x1FF;
+    out[outPos + 18] = (in[5] >>> 21) & 0x1FF;
+    out[outPos + 19] = (in[5] >>> 12) & 0x1FF;
+    out[outPos + 20] = (in[5] >>> 3) & 0x1FF;
+    out[outPos + 21] = ((in[5] << 6) | (in[6] >>> 26)) & 0x1FF;
+    out[outPos + 22] = (in[6] >>> 17) & 0x1FF;
+    out[outPos + 23] = (in[6] >>> 8) & 0x1FF;
+    out[outPos + 24] = ((in[6] << 1) | (in[7] >>> 31)) & 0x1FF;
+    out[outPos + 25] = (in[7] >>> 22) & 0x1FF;
+    out[outPos + 26] = (in[7] >>> 13) & 0x1FF;
+    out[outPos + 27] = (in[7] >>> 4) & 0x1FF;
+    out[outPos + 28] = ((in[7] << 5) | (in[8] >>> 27)) & 0x1FF;
+    out[outPos + 29] = (in[8] >>> 18) & 0x1FF;
+    out[outPos + 30] = (in[8] >>> 9) & 0x1FF;
+    out[outPos + 31] = in[8] & 0x1FF;
+  }
+
+  private static void unpack10Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 22;
+    out[outPos + 1] = (in[0] >>> 12) & 0x3FF;
+    out[outPos + 2] = (in[0] >>> 2) & 0x3FF;
+    out[outPos + 3] = ((in[0] << 8) | (in[1] >>> 24)) & 0x3FF;
+    out[outPos + 4] = (in[1] >>> 14) & 0x3FF;
+    out[outPos + 5] = (in[1] >>> 4) & 0x3FF;
+    out[outPos + 6] = ((in[1] << 6) | (in[2] >>> 26)) & 0x3FF;
+    out[outPos + 7] = (in[2] >>> 16) & 0x3FF;
+    out[outPos + 8] = (in[2] >>> 6) & 0x3FF;
+    out[outPos + 9] = ((in[2] << 4) | (in[3] >>> 28)) & 0x3FF;
+    out[outPos + 10] = (in[3] >>> 18) & 0x3FF;
+    out[outPos + 11] = (in[3] >>> 8) & 0x3FF;
+    out[outPos + 12] = ((in[3] << 2) | (in[4] >>> 30)) & 0x3FF;
+    out[outPos + 13] = (in[4] >>> 20) & 0x3FF;
+    out[outPos + 14] = (in[4] >>> 10) & 0x3FF;
+    out[outPos + 15] = in[4] & 0x3FF;
+    out[outPos + 16] = in[5] >>> 22;
+    out[outPos + 17] = (in[5] >>> 12) & 0x3FF;
+    out[outPos + 18] = (in[5] >>> 2) & 0x3FF;
+    out[outPos + 19] = ((in[5] << 8) | (in[6] >>> 24)) & 0x3FF;
+    out[outPos + 20] = (in[6] >>> 14) & 0x3FF;
+    out[outPos + 21] = (in[6] >>> 4) & 0x3FF;
+    out[outPos + 22] = ((in[6] << 6) | (in[7] >>> 26)) & 0x3FF;
+    out[outPos + 23] = (in[7] >>> 16) & 0x3FF;
+    out[outPos + 24] = (in[7] >>> 6) & 0x3FF;
+    out[outPos + 25] = ((in[7] << 4) | (in[8] >>> 28)) & 0x3FF;
+    out[outPos + 26] = (in[8] >>> 18) & 0x3FF;
+    out[outPos + 27] = (in[8] >>> 8) & 0x3FF;
+    out[outPos + 28] = ((in[8] << 2) | (in[9] >>> 30)) & 0x3FF;
+    out[outPos + 29] = (in[9] >>> 20) & 0x3FF;
+    out[outPos + 30] = (in[9] >>> 10) & 0x3FF;
+    out[outPos + 31] = in[9] & 0x3FF;
+  }
+
+  private static void unpack11Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 21;
+    out[outPos + 1] = (in[0] >>> 10) & 0x7FF;
+    out[outPos + 2] = ((in[0] << 1) | (in[1] >>> 31)) & 0x7FF;
+    out[outPos + 3] = (in[1] >>> 20) & 0x7FF;
+    out[outPos + 4] = (in[1] >>> 9) & 0x7FF;
+    out[outPos + 5] = ((in[1] << 2) | (in[2] >>> 30)) & 0x7FF;
+    out[outPos + 6] = (in[2] >>> 19) & 0x7FF;
+    out[outPos + 7] = (in[2] >>> 8) & 0x7FF;
+    out[outPos + 8] = ((in[2] << 3) | (in[3] >>> 29)) & 0x7FF;
+    out[outPos + 9] = (in[3] >>> 18) & 0x7FF;
+    out[outPos + 10] = (in[3] >>> 7) & 0x7FF;
+    out[outPos + 11] = ((in[3] << 4) | (in[4] >>> 28)) & 0x7FF;
+    out[outPos + 12] = (in[4] >>> 17) & 0x7FF;
+    out[outPos + 13] = (in[4] >>> 6) & 0x7FF;
+    out[outPos + 14] = ((in[4] << 5) | (in[5] >>> 27)) & 0x7FF;
+    out[outPos + 15] = (in[5] >>> 16) & 0x7FF;
+    out[outPos + 16] = (in[5] >>> 5) & 0x7FF;
+    out[outPos + 17] = ((in[5] << 6) | (in[6] >>> 26)) & 0x7FF;
+    out[outPos + 18] = (in[6] >>> 15) & 0x7FF;
+    out[outPos + 19] = (in[6] >>> 4) & 0x7FF;
+    out[outPos + 20] = ((in[6] << 7) | (in[7] >>> 25)) & 0x7FF;
+    out[outPos + 21] = (in[7] >>> 14) & 0x7FF;
+    out[outPos + 22] = (in[7] >>> 3) & 0x7FF;
+    out[outPos + 23] = ((in[7] << 8) | (in[8] >>> 24)) & 0x7FF;
+    out[outPos + 24] = (in[8] >>> 13) & 0x7FF;
+    out[outPos + 25] = (in[8] >>> 2) & 0x7FF;
+    out[outPos + 26] = ((in[8] << 9) | (in[9] >>> 23)) & 0x7FF;
+    out[outPos + 27] = (in[9] >>> 12) & 0x7FF;
+    out[outPos + 28] = (in[9] >>> 1) & 0x7FF;
+    out[outPos + 29] = ((in[9] << 10) | (in[10] >>> 22)) & 0x7FF;
+    out[outPos + 30] = (in[10] >>> 11) & 0x7FF;
+    out[outPos + 31] = in[10] & 0x7FF;
+  }
+
+  private static void unpack12Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 20;
+    out[outPos + 1] = (in[0] >>> 8) & 0xFFF;
+    out[outPos + 2] = ((in[0] << 4) | (in[1] >>> 28)) & 0xFFF;
+    out[outPos + 3] = (in[1] >>> 16) & 0xFFF;
+    out[outPos + 4] = (in[1] >>> 4) & 0xFFF;
+    out[outPos + 5] = ((in[1] << 8) | (in[2] >>> 24)) & 0xFFF;
+    out[outPos + 6] = (in[2] >>> 12) & 0xFFF;
+    out[outPos + 7] = in[2] & 0xFFF;
+    out[outPos + 8] = in[3] >>> 20;
+    out[outPos + 9] = (in[3] >>> 8) & 0xFFF;
+    out[outPos + 10] = ((in[3] << 4) | (in[4] >>> 28)) & 0xFFF;
+    out[outPos + 11] = (in[4] >>> 16) & 0xFFF;
+    out[outPos + 12] = (in[4] >>> 4) & 0xFFF;
+    out[outPos + 13] = ((in[4] << 8) | (in[5] >>> 24)) & 0xFFF;
+    out[outPos + 14] = (in[5] >>> 12) & 0xFFF;
+    out[outPos + 15] = in[5] & 0xFFF;
+    out[outPos + 16] = in[6] >>> 20;
+    out[outPos + 17] = (in[6] >>> 8) & 0xFFF;
+    out[outPos + 18] = ((in[6] << 4) | (in[7] >>> 28)) & 0xFFF;
+    out[outPos + 19] = (in[7] >>> 16) & 0xFFF;
+    out[outPos + 20] = (in[7] >>> 4) & 0xFFF;
+    out[outPos + 21] = ((in[7] << 8) | (in[8] >>> 24)) & 0xFFF;
+    out[outPos + 22] = (in[8] >>> 12) & 0xFFF;
+    out[outPos + 23] = in[8] & 0xFFF;
+    out[outPos + 24] = in[9] >>> 20;
+    out[outPos + 25] = (in[9] >>> 8) & 0xFFF;
+    out[outPos + 26] = ((in[9] << 4) | (in[10] >>> 28)) & 0xFFF;
+    out[outPos + 27] = (in[10] >>> 16) & 0xFFF;
+    out[outPos + 28] = (in[10] >>> 4) & 0xFFF;
+    out[outPos + 29] = ((in[10] << 8) | (in[11] >>> 24)) & 0xFFF;
+    out[outPos + 30] = (in[11] >>> 12) & 0xFFF;
+    out[outPos + 31] = in[11] & 0xFFF;
+  }
+
+  private static void unpack13Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 19;
+    out[outPos + 1] = (in[0] >>> 6) & 0x1FFF;
+    out[outPos + 2] = ((in[0] << 7) | (in[1] >>> 25)) & 0x1FFF;
+    out[outPos + 3] = (in[1] >>> 12) & 0x1FFF;
+    out[outPos + 4] = ((in[1] << 1) | (in[2] >>> 31)) & 0x1FFF;
+    out[outPos + 5] = (in[2] >>> 18) & 0x1FFF;
+    out[outPos + 6] = (in[2] >>> 5) & 0x1FFF;
+    out[outPos + 7] = ((in[2] << 8) | (in[3] >>> 24)) & 0x1FFF;
+    out[outPos + 8] = (in[3] >>> 11) & 0x1FFF;
+    out[outPos + 9] = ((in[3] << 2) | (in[4] >>> 30)) & 0x1FFF;
+    out[outPos + 10] = (in[4] >>> 17) & 0x1FFF;
+    out[outPos + 11] = (in[4] >>> 4) & 0x1FFF;
+    out[outPos + 12] = ((in[4] << 9) | (in[5] >>> 23)) & 0x1FFF;
+    out[outPos + 13] = (in[5] >>> 10) & 0x1FFF;
+    out[outPos + 14] = ((in[5] << 3) | (in[6] >>> 29)) & 0x1FFF;
+    out[outPos + 15] = (in[6] >>> 16) & 0x1FFF;
+    out[outPos + 16] = (in[6] >>> 3) & 0x1FFF;
+    out[outPos + 17] = ((in[6] << 10) | (in[7] >>> 22)) & 0x1FFF;
+    out[outPos + 18] = (in[7] >>> 9) & 0x1FFF;
+    out[outPos + 19] = ((in[7] << 4) | (in[8] >>> 28)) & 0x1FFF;
+    out[outPos + 20] = (in[8] >>> 15) & 0x1FFF;
+    out[outPos + 21] = (in[8] >>> 2) & 0x1FFF;
+    out[outPos + 22] = ((in[8] << 11) | (in[9] >>> 21)) & 0x1FFF;
+    out[outPos + 23] = (in[9] >>> 8) & 0x1FFF;
+    out[outPos + 24] = ((in[9] << 5) | (in[10] >>> 27)) & 0x1FFF;
+    out[outPos + 25] = (in[10] >>> 14) & 0x1FFF;
+    out[outPos + 26] = (in[10] >>> 1) & 0x1FFF;
+    out[outPos + 27] = ((in[10] << 12) | (in[11] >>> 20)) & 0x1FFF;
+    out[outPos + 28] = (in[11] >>> 7) & 0x1FFF;
+    out[outPos + 29] = ((in[11] << 6) | (in[12] >>> 26)) & 0x1FFF;
+    out[outPos + 30] = (in[12] >>> 13) & 0x1FFF;
+    out[outPos + 31] = in[12] & 0x1FFF;
+  }
+
+  private static void unpack14Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 18;
+    out[outPos + 1] = (in[0] >>> 4) & 0x3FFF;
+    out[outPos + 2] = ((in[0] << 10) | (in[1] >>> 22)) & 0x3FFF;
+    out[outPos + 3] = (in[1] >>> 8) & 0x3FFF;
+    out[outPos + 4] = ((in[1] << 6) | (in[2] >>> 26)) & 0x3FFF;
+    out[outPos + 5] = (in[2] >>> 12) & 0x3FFF;
+    out[outPos + 6] = ((in[2] << 2) | (in[3] >>> 30)) & 0x3FFF;
+    out[outPos + 7] = (in[3] >>> 16) & 0x3FFF;
+    out[outPos + 8] = (in[3] >>> 2) & 0x3FFF;
+    out[outPos + 9] = ((in[3] << 12) | (in[4] >>> 20)) & 0x3FFF;
+    out[outPos + 10] = (in[4] >>> 6) & 0x3FFF;
+    out[outPos + 11] = ((in[4] << 8) | (in[5] >>> 24)) & 0x3FFF;
+    out[outPos + 12] = (in[5] >>> 10) & 0x3FFF;
+    out[outPos + 13] = ((in[5] << 4) | (in[6] >>> 28)) & 0x3FFF;
+    out[outPos + 14] = (in[6] >>> 14) & 0x3FFF;
+    out[outPos + 15] = in[6] & 0x3FFF;
+    out[outPos + 16] = in[7] >>> 18;
+    out[outPos + 17] = (in[7] >>> 4) & 0x3FFF;
+    out[outPos + 18] = ((in[7] << 10) | (in[8] >>> 22)) & 0x3FFF;
+    out[outPos + 19] = (in[8] >>> 8) & 0x3FFF;
+    out[outPos + 20] = ((in[8] << 6) | (in[9] >>> 26)) & 0x3FFF;
+    out[outPos + 21] = (in[9] >>> 12) & 0x3FFF;
+    out[outPos + 22] = ((in[9] << 2) | (in[10] >>> 30)) & 0x3FFF;
+    out[outPos + 23] = (in[10] >>> 16) & 0x3FFF;
+    out[outPos + 24] = (in[10] >>> 2) & 0x3FFF;
+    out[outPos + 25] = ((in[10] << 12) | (in[11] >>> 20)) & 0x3FFF;
+    out[outPos + 26] = (in[11] >>> 6) & 0x3FFF;
+    out[outPos + 27] = ((in[11] << 8) | (in[12] >>> 24)) & 0x3FFF;
+    out[outPos + 28] = (in[12] >>> 10) & 0x3FFF;
+    out[outPos + 29] = ((in[12] << 4) | (in[13] >>> 28)) & 0x3FFF;
+    out[outPos + 30] = (in[13] >>> 14) & 0x3FFF;
+    out[outPos + 31] = in[13] & 0x3FFF;
+  }
+
+  private static void unpack15Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 17;
+    out[outPos + 1] = (in[0] >>> 2) & 0x7FFF;
+    out[outPos + 2] = ((in[0] << 13) | (in[1] >>> 19)) & 0x7FFF;
+    out[outPos + 3] = (in[1] >>> 4) & 0x7FFF;
+    out[outPos + 4] = ((in[1] << 11) | (in[2] >>> 21)) & 0x7FFF;
+    out[outPos + 5] = (in[2] >>> 6) & 0x7FFF;
+    out[outPos + 6] = ((in[2] << 9) | (in[3] >>> 23)) & 0x7FFF;
+    out[outPos + 7] = (in[3] >>> 8) & 0x7FFF;
+    out[outPos + 8] = ((in[3] << 7) | (in[4] >>> 25)) & 0x7FFF;
+    out[outPos + 9] = (in[4] >>> 10) & 0x7FFF;
+    out[outPos + 10] = ((in[4] << 5) | (in[5] >>> 27)) & 0x7FFF;
+    out[outPos + 11] = (in[5] >>> 12) & 0x7FFF;
+    out[outPos + 12] = ((in[5] << 3) | (in[6] >>> 29)) & 0x7FFF;
+    out[outPos + 13] = (in[6] >>> 14) & 0x7FFF;
+    out[outPos + 14] = ((in[6] << 1) | (in[7] >>> 31)) & 0x7FFF;
+    out[outPos + 15] = (in[7] >>> 16) & 0x7FFF;
+    out[outPos + 16] = (in[7] >>> 1) & 0x7FFF;
+    out[outPos + 17] = ((in[7] << 14) | (in[8] >>> 18)) & 0x7FFF;
+    out[outPos + 18] = (in[8] >>> 3) & 0x7FFF;
+    out[outPos + 19] = ((in[8] << 12) | (in[9] >>> 20)) & 0x7FFF;
+    out[outPos + 20] = (in[9] >>> 5) & 0x7FFF;
+    out[outPos + 21] = ((in[9] << 10) | (in[10] >>> 22)) & 0x7FFF;
+    out[outPos + 22] = (in[10] >>> 7) & 0x7FFF;
+    out[outPos + 23] = ((in[10] << 8) | (in[11] >>> 24)) & 0x7FFF;
+    out[outPos + 24] = (in[11] >>> 9) & 0x7FFF;
+    out[outPos + 25] = ((in[11] << 6) | (in[12] >>> 26)) & 0x7FFF;
+    out[outPos + 26] = (in[12] >>> 11) & 0x7FFF;
+    out[outPos + 27] = ((in[12] << 4) | (in[13] >>> 28)) & 0x7FFF;
+    out[outPos + 28] = (in[13] >>> 13) & 0x7FFF;
+    out[outPos + 29] = ((in[13] << 2) | (in[14] >>> 30)) & 0x7FFF;
+    out[outPos + 30] = (in[14] >>> 15) & 0x7FFF;
+    out[outPos + 31] = in[14] & 0x7FFF;
+  }
+
+  private static void unpack16Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 16;
+    out[outPos + 1] = in[0] & 0xFFFF;
+    out[outPos + 2] = in[1] >>> 16;
+    out[outPos + 3] = in[1] & 0xFFFF;
+    out[outPos + 4] = in[2] >>> 16;
+    out[outPos + 5] = in[2] & 0xFFFF;
+    out[outPos + 6] = in[3] >>> 16;
+    out[outPos + 7] = in[3] & 0xFFFF;
+    out[outPos + 8] = in[4] >>> 16;
+    out[outPos + 9] = in[4] & 0xFFFF;
+    out[outPos + 10] = in[5] >>> 16;
+    out[outPos + 11] = in[5] & 0xFFFF;
+    out[outPos + 12] = in[6] >>> 16;
+    out[outPos + 13] = in[6] & 0xFFFF;
+    out[outPos + 14] = in[7] >>> 16;
+    out[outPos + 15] = in[7] & 0xFFFF;
+    out[outPos + 16] = in[8] >>> 16;
+    out[outPos + 17] = in[8] & 0xFFFF;
+    out[outPos + 18] = in[9] >>> 16;
+    out[outPos + 19] = in[9] & 0xFFFF;
+    out[outPos + 20] = in[10] >>> 16;
+    out[outPos + 21] = in[10] & 0xFFFF;
+    out[outPos + 22] = in[11] >>> 16;
+    out[outPos + 23] = in[11] & 0xFFFF;
+    out[outPos + 24] = in[12] >>> 16;
+    out[outPos + 25] = in[12] & 0xFFFF;
+    out[outPos + 26] = in[13] >>> 16;
+    out[outPos + 27] = in[13] & 0xFFFF;
+    out[outPos + 28] = in[14] >>> 16;
+    out[outPos + 29] = in[14] & 0xFFFF;
+    out[outPos + 30] = in[15] >>> 16;
+    out[outPos + 31] = in[15] & 0xFFFF;
+  }
+
+  private static void unpack17Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 15;
+    out[outPos + 1] = ((in[0] << 2) | (in[1] >>> 30)) & 0x1FFFF;
+    out[outPos + 2] = (in[1] >>> 13) & 0x1FFFF;
+    out[outPos + 3] = ((in[1] << 4) | (in[2] >>> 28)) & 0x1FFFF;
+    out[outPos + 4] = (in[2] >>> 11) & 0x1FFFF;
+    out[outPos + 5] = ((in[2] << 6) | (in[3] >>> 26)) & 0x1FFFF;
+    out[outPos + 6] = (in[3] >>> 9) & 0x1FFFF;
+    out[outPos + 7] = ((in[3] << 8) | (in[4] >>> 24)) & 0x1FFFF;
+    out[outPos + 8] = (in[4] >>> 7) & 0x1FFFF;
+    out[outPos + 9] = ((in[4] << 10) | (in[5] >>> 22)) & 0x1FFFF;
+    out[outPos + 10] = (in[5] >>> 5) & 0x1FFFF;
+    out[outPos + 11] = ((in[5] << 12) | (in[6] >>> 20)) & 0x1FFFF;
+    out[outPos + 12] = (in[6] >>> 3) & 0x1FFFF;
+    out[outPos + 13] = ((in[6] << 14) | (in[7] >>> 18)) & 0x1FFFF;
+    out[outPos + 14] = (in[7] >>> 1) & 0x1FFFF;
+    out[outPos + 15] = ((in[7] << 16) | (in[8] >>> 16)) & 0x1FFFF;
+    out[outPos + 16] = ((in[8] << 1) | (in[9] >>> 31)) & 0x1FFFF;
+    out[outPos + 17] = (in[9] >>> 14) & 0x1FFFF;
+    out[outPos + 18] = ((in[9] << 3) | (in[10] >>> 29)) & 0x1FFFF;
+    out[outPos + 19] = (in[10] >>> 12) & 0x1FFFF;
+    out[outPos + 20] = ((in[10] << 5) | (in[11] >>> 27)) & 0x1FFFF;
+    out[outPos + 21] = (in[11] >>> 10) & 0x1FFFF;
+    out[outPos + 22] = ((in[11] << 7) | (in[12] >>> 25)) & 0x1FFFF;
+    out[outPos + 23] = (in[12] >>> 8) & 0x1FFFF;
+    out[outPos + 24] = ((in[12] << 9) | (in[13] >>> 23)) & 0x1FFFF;
+    out[outPos + 25] = (in[13] >>> 6) & 0x1FFFF;
+    out[outPos + 26] = ((in[13] << 11) | (in[14] >>> 21)) & 0x1FFFF;
+    out[outPos + 27] = (in[14] >>> 4) & 0x1FFFF;
+    out[outPos + 28] = ((in[14] << 13) | (in[15] >>> 19)) & 0x1FFFF;
+    out[outPos + 29] = (in[15] >>> 2) & 0x1FFFF;
+    out[outPos + 30] = ((in[15] << 15) | (in[16] >>> 17)) & 0x1FFFF;
+    out[outPos + 31] = in[16] & 0x1FFFF;
+  }
+
+  private static void unpack18Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 14;
+    out[outPos + 1] = ((in[0] << 4) | (in[1] >>> 28)) & 0x3FFFF;
+    out[outPos + 2] = (in[1] >>> 10) & 0x3FFFF;
+    out[outPos + 3] = ((in[1] << 8) | (in[2] >>> 24)) & 0x3FFFF;
+    out[outPos + 4] = (in[2] >>> 6) & 0x3FFFF;
+    out[outPos + 5] = ((in[2] << 12) | (in[3] >>> 20)) & 0x3FFFF;
+    out[outPos + 6] = (in[3] >>> 2) & 0x3FFFF;
+    out[outPos + 7] = ((in[3] << 16) | (in[4] >>> 16)) & 0x3FFFF;
+    out[outPos + 8] = ((in[4] << 2) | (in[5] >>> 30)) & 0x3FFFF;
+    out[outPos + 9] = (in[5] >>> 12) & 0x3FFFF;
+    out[outPos + 10] = ((in[5] << 6) | (in[6] >>> 26)) & 0x3FFFF;
+    out[outPos + 11] = (in[6] >>> 8) & 0x3FFFF;
+    out[outPos + 12] = ((in[6] << 10) | (in[7] >>> 22)) & 0x3FFFF;
+    out[outPos + 13] = (in[7] >>> 4) & 0x3FFFF;
+    out[outPos + 14] = ((in[7] << 14) | (in[8] >>> 18)) & 0x3FFFF;
+    out[outPos + 15] = in[8] & 0x3FFFF;
+    out[outPos + 16] = in[9] >>> 14;
+    out[outPos + 17] = ((in[9] << 4) | (in[10] >>> 28)) & 0x3FFFF;
+    out[outPos + 18] = (in[10] >>> 10) & 0x3FFFF;
+    out[outPos + 19] = ((in[10] << 8) | (in[11] >>> 24)) & 0x3FFFF;
+    out[outPos + 20] = (in[11] >>> 6) & 0x3FFFF;
+    out[outPos + 21] = ((in[11] << 12) | (in[12] >>> 20)) & 0x3FFFF;
+    out[outPos + 22] = (in[12] >>> 2) & 0x3FFFF;
+    out[outPos + 23] = ((in[12] << 16) | (in[13] >>> 16)) & 0x3FFFF;
+    out[outPos + 24] = ((in[13] << 2) | (in[14] >>> 30)) & 0x3FFFF;
+    out[outPos + 25] = (in[14] >>> 12) & 0x3FFFF;
+    out[outPos + 26] = ((in[14] << 6) | (in[15] >>> 26)) & 0x3FFFF;
+    out[outPos + 27] = (in[15] >>> 8) & 0x3FFFF;
+    out[outPos + 28] = ((in[15] << 10) | (in[16] >>> 22)) & 0x3FFFF;
+    out[outPos + 29] = (in[16] >>> 4) & 0x3FFFF;
+    out[outPos + 30] = ((in[16] << 14) | (in[17] >>> 18)) & 0x3FFFF;
+    out[outPos + 31] = in[17] & 0x3FFFF;
+  }
+
+  private static void unpack19Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 13;
+    out[outPos + 1] = ((in[0] << 6) | (in[1] >>> 26)) & 0x7FFFF;
+    out[outPos + 2] = (in[1] >>> 7) & 0x7FFFF;
+    out[outPos + 3] = ((in[1] << 12) | (in[2] >>> 20)) & 0x7FFFF;
+    out[outPos + 4] = (in[2] >>> 1) & 0x7FFFF;
+    out[outPos + 5] = ((in[2] << 18) | (in[3] >>> 14)) & 0x7FFFF;
+    out[outPos + 6] = ((in[3] << 5) | (in[4] >>> 27)) & 0x7FFFF;
+    out[outPos + 7] = (in[4] >>> 8) & 0x7FFFF;
+    out[outPos + 8] = ((in[4] << 11) | (in[5] >>> 21)) & 0x7FFFF;
+    out[outPos + 9] = (in[5] >>> 2) & 0x7FFFF;
+    out[outPos + 10] = ((in[5] << 17) | (in[6] >>> 15)) & 0x7FFFF;
+    out[outPos + 11] = ((in[6] << 4) | (in[7] >>> 28)) & 0x7FFFF;
+    out[outPos + 12] = (in[7] >>> 9) & 0x7FFFF;
+    out[outPos + 13] = ((in[7] << 10) | (in[8] >>> 22)) & 0x7FFFF;
+    out[outPos + 14] = (in[8] >>> 3) & 0x7FFFF;
+    out[outPos + 15] = ((in[8] << 16) | (in[9] >>> 16)) & 0x7FFFF;
+    out[outPos + 16] = ((in[9] << 3) | (in[10] >>> 29)) & 0x7FFFF;
+    out[outPos + 17] = (in[10] >>> 10) & 0x7FFFF;
+    out[outPos + 18] = ((in[10] << 9) | (in[11] >>> 23)) & 0x7FFFF;
+    out[outPos + 19] = (in[11] >>> 4) & 0x7FFFF;
+    out[outPos + 20] = ((in[11] << 15) | (in[12] >>> 17)) & 0x7FFFF;
+    out[outPos + 21] = ((in[12] << 2) | (in[13] >>> 30)) & 0x7FFFF;
+    out[outPos + 22] = (in[13] >>> 11) & 0x7FFFF;
+    out[outPos + 23] = ((in[13] << 8) | (in[14] >>> 24)) & 0x7FFFF;
+    out[outPos + 24] = (in[14] >>> 5) & 0x7FFFF;
+    out[outPos + 25] = ((in[14] << 14) | (in[15] >>> 18)) & 0x7FFFF;
+    out[outPos + 26] = ((in[15] << 1) | (in[16] >>> 31)) & 0x7FFFF;
+    out[outPos + 27] = (in[16] >>> 12) & 0x7FFFF;
+    out[outPos + 28] = ((in[16] << 7) | (in[17] >>> 25)) & 0x7FFFF;
+    out[outPos + 29] = (in[17] >>> 6) & 0x7FFFF;
+    out[outPos + 30] = ((in[17] << 13) | (in[18] >>> 19)) & 0x7FFFF;
+    out[outPos + 31] = in[18] & 0x7FFFF;
+  }
+
+  private static void unpack20Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 12;
+    out[outPos + 1] = ((in[0] << 8) | (in[1] >>> 24)) & 0xFFFFF;
+    out[outPos + 2] = (in[1] >>> 4) & 0xFFFFF;
+    out[outPos + 3] = ((in[1] << 16) | (in[2] >>> 16)) & 0xFFFFF;
+    out[outPos + 4] = ((in[2] << 4) | (in[3] >>> 28)) & 0xFFFFF;
+    out[outPos + 5] = (in[3] >>> 8) & 0xFFFFF;
+    out[outPos + 6] = ((in[3] << 12) | (in[4] >>> 20)) & 0xFFFFF;
+    out[outPos + 7] = in[4] & 0xFFFFF;
+    out[outPos + 8] = in[5] >>> 12;
+    out[outPos + 9] = ((in[5] << 8) | (in[6] >>> 24)) & 0xFFFFF;
+    out[outPos + 10] = (in[6] >>> 4) & 0xFFFFF;
+    out[outPos + 11] = ((in[6] << 16) | (in[7] >>> 16)) & 0xFFFFF;
+    out[outPos + 12] = ((in[7] << 4) | (in[8] >>> 28)) & 0xFFFFF;
+    out[outPos + 13] = (in[8] >>> 8) & 0xFFFFF;
+    out[outPos + 14] = ((in[8] << 12) | (in[9] >>> 20)) & 0xFFFFF;
+    out[outPos + 15] = in[9] & 0xFFFFF;
+    out[outPos + 16] = in[10] >>> 12;
+    out[outPos + 17] = ((in[10] << 8) | (in[11] >>> 24)) & 0xFFFFF;
+    out[outPos + 18] = (in[11] >>> 4) & 0xFFFFF;
+    out[outPos + 19] = ((in[11] << 16) | (in[12] >>> 16)) & 0xFFFFF;
+    out[outPos + 20] = ((in[12] << 4) | (in[13] >>> 28)) & 0xFFFFF;
+    out[outPos + 21] = (in[13] >>> 8) & 0xFFFFF;
+    out[outPos + 22] = ((in[13] << 12) | (in[14] >>> 20)) & 0xFFFFF;
+    out[outPos + 23] = in[14] & 0xFFFFF;
+    out[outPos + 24] = in[15] >>> 12;
+    out[outPos + 25] = ((in[15] << 8) | (in[16] >>> 24)) & 0xFFFFF;
+    out[outPos + 26] = (in[16] >>> 4) & 0xFFFFF;
+    out[outPos + 27] = ((in[16] << 16) | (in[17] >>> 16)) & 0xFFFFF;
+    out[outPos + 28] = ((in[17] << 4) | (in[18] >>> 28)) & 0xFFFFF;
+    out[outPos + 29] = (in[18] >>> 8) & 0xFFFFF;
+    out[outPos + 30] = ((in[18] << 12) | (in[19] >>> 20)) & 0xFFFFF;
+    out[outPos + 31] = in[19] & 0xFFFFF;
+  }
+
+  private static void unpack21Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 11;
+    out[outPos + 1] = ((in[0] << 10) | (in[1] >>> 22)) & 0x1FFFFF;
+    out[outPos + 2] = (in[1] >>> 1) & 0x1FFFFF;
+    out[outPos + 3] = ((in[1] << 20) | (in[2] >>> 12)) & 0x1FFFFF;
+    out[outPos + 4] = ((in[2] << 9) | (in[3] >>> 23)) & 0x1FFFFF;
+    out[outPos + 5] = (in[3] >>> 2) & 0x1FFFFF;
+    out[outPos + 6] = ((in[3] << 19) | (in[4] >>> 13)) & 0x1FFFFF;
+    out[outPos + 7] = ((in[4] << 8) | (in[5] >>> 24)) & 0x1FFFFF;
+    out[outPos + 8] = (in[5] >>> 3) & 0x1FFFFF;
+    out[outPos + 9] = ((in[5] << 18) | (in[6] >>> 14)) & 0x1FFFFF;
+    out[outPos + 10] = ((in[6] << 7) | (in[7] >>> 25)) & 0x1FFFFF;
+    out[outPos + 11] = (in[7] >>> 4) & 0x1FFFFF;
+    out[outPos + 12] = ((in[7] << 17) | (in[8] >>> 15)) & 0x1FFFFF;
+    out[outPos + 13] = ((in[8] << 6) | (in[9] >>> 26)) & 0x1FFFFF;
+    out[outPos + 14] = (in[9] >>> 5) & 0x1FFFFF;
+    out[outPos + 15] = ((in[9] << 16) | (in[10] >>> 16)) & 0x1FFFFF;
+    out[outPos + 16] = ((in[10] << 5) | (in[11] >>> 27)) & 0x1FFFFF;
+    out[outPos + 17] = (in[11] >>> 6) & 0x1FFFFF;
+    out[outPos + 18] = ((in[11] << 15) | (in[12] >>> 17)) & 0x1FFFFF;
+    out[outPos + 19] = ((in[12] << 4) | (in[13] >>> 28)) & 0x1FFFFF;
+    out[outPos + 20] = (in[13] >>> 7) & 0x1FFFFF;
+    out[outPos + 21] = ((in[13] << 14) | (in[14] >>> 18)) & 0x1FFFFF;
+    out[outPos + 22] = ((in[14] << 3) | (in[15] >>> 29)) & 0x1FFFFF;
+    out[outPos + 23] = (in[15] >>> 8) & 0x1FFFFF;
+    out[outPos + 24] = ((in[15] << 13) | (in[16] >>> 19)) & 0x1FFFFF;
+    out[outPos + 25] = ((in[16] << 2) | (in[17] >>> 30)) & 0x1FFFFF;
+    out[outPos + 26] = (in[17] >>> 9) & 0x1FFFFF;
+    out[outPos + 27] = ((in[17] << 12) | (in[18] >>> 20)) & 0x1FFFFF;
+    out[outPos + 28] = ((in[18] << 1) | (in[19] >>> 31)) & 0x1FFFFF;
+    out[outPos + 29] = (in[19] >>> 10) & 0x1FFFFF;
+    out[outPos + 30] = ((in[19] << 11) | (in[20] >>> 21)) & 0x1FFFFF;
+    out[outPos + 31] = in[20] & 0x1FFFFF;
+  }
+
+  private static void unpack22Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 10;
+    out[outPos + 1] = ((in[0] << 12) | (in[1] >>> 20)) & 0x3FFFFF;
+    out[outPos + 2] = ((in[1] << 2) | (in[2] >>> 30)) & 0x3FFFFF;
+    out[outPos + 3] = (in[2] >>> 8) & 0x3FFFFF;
+    out[outPos + 4] = ((in[2] << 14) | (in[3] >>> 18)) & 0x3FFFFF;
+    out[outPos + 5] = ((in[3] << 4) | (in[4] >>> 28)) & 0x3FFFFF;
+    out[outPos + 6] = (in[4] >>> 6) & 0x3FFFFF;
+    out[outPos + 7] = ((in[4] << 16) | (in[5] >>> 16)) & 0x3FFFFF;
+    out[outPos + 8] = ((in[5] << 6) | (in[6] >>> 26)) & 0x3FFFFF;
+    out[outPos + 9] = (in[6] >>> 4) & 0x3FFFFF;
+    out[outPos + 10] = ((in[6] << 18) | (in[7] >>> 14)) & 0x3FFFFF;
+    out[outPos + 11] = ((in[7] << 8) | (in[8] >>> 24)) & 0x3FFFFF;
+    out[outPos + 12] = (in[8] >>> 2) & 0x3FFFFF;
+    out[outPos + 13] = ((in[8] << 20) | (in[9] >>> 12)) & 0x3FFFFF;
+    out[outPos + 14] = ((in[9] << 10) | (in[10] >>> 22)) & 0x3FFFFF;
+    out[outPos + 15] = in[10] & 0x3FFFFF;
+    out[outPos + 16] = in[11] >>> 10;
+    out[outPos + 17] = ((in[11] << 12) | (in[12] >>> 20)) & 0x3FFFFF;
+    out[outPos + 18] = ((in[12] << 2) | (in[13] >>> 30)) & 0x3FFFFF;
+    out[outPos + 19] = (in[13] >>> 8) & 0x3FFFFF;
+    out[outPos + 20] = ((in[13] << 14) | (in[14] >>> 18)) & 0x3FFFFF;
+    out[outPos + 21] = ((in[14] << 4) | (in[15] >>> 28)) & 0x3FFFFF;
+    out[outPos + 22] = (in[15] >>> 6) & 0x3FFFFF;
+    out[outPos + 23] = ((in[15] << 16) | (in[16] >>> 16)) & 0x3FFFFF;
+    out[outPos + 24] = ((in[16] << 6) | (in[17] >>> 26)) & 0x3FFFFF;
+    out[outPos + 25] = (in[17] >>> 4) & 0x3FFFFF;
+    out[outPos + 26] = ((in[17] << 18) | (in[18] >>> 14)) & 0x3FFFFF;
+    out[outPos + 27] = ((in[18] << 8) | (in[19] >>> 24)) & 0x3FFFFF;
+    out[outPos + 28] = (in[19] >>> 2) & 0x3FFFFF;
+    out[outPos + 29] = ((in[19] << 20) | (in[20] >>> 12)) & 0x3FFFFF;
+    out[outPos + 30] = ((in[20] << 10) | (in[21] >>> 22)) & 0x3FFFFF;
+    out[outPos + 31] = in[21] & 0x3FFFFF;
+  }
+
+  private static void unpack23Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 9;
+    out[outPos + 1] = ((in[0] << 14) | (in[1] >>> 18)) & 0x7FFFFF;
+    out[outPos + 2] = ((in[1] << 5) | (in[2] >>> 27)) & 0x7FFFFF;
+    out[outPos + 3] = (in[2] >>> 4) & 0x7FFFFF;
+    out[outPos + 4] = ((in[2] << 19) | (in[3] >>> 13)) & 0x7FFFFF;
+    out[outPos + 5] = ((in[3] << 10) | (in[4] >>> 22)) & 0x7FFFFF;
+    out[outPos + 6] = ((in[4] << 1) | (in[5] >>> 31)) & 0x7FFFFF;
+    out[outPos + 7] = (in[5] >>> 8) & 0x7FFFFF;
+    out[outPos + 8] = ((in[5] << 15) | (in[6] >>> 17)) & 0x7FFFFF;
+    out[outPos + 9] = ((in[6] << 6) | (in[7] >>> 26)) & 0x7FFFFF;
+    out[outPos + 10] = (in[7] >>> 3) & 0x7FFFFF;
+    out[outPos + 11] = ((in[7] << 20) | (in[8] >>> 12)) & 0x7FFFFF;
+    out[outPos + 12] = ((in[8] << 11) | (in[9] >>> 21)) & 0x7FFFFF;
+    out[outPos + 13] = ((in[9] << 2) | (in[10] >>> 30)) & 0x7FFFFF;
+    out[outPos + 14] = (in[10] >>> 7) & 0x7FFFFF;
+    out[outPos + 15] = ((in[10] << 16) | (in[11] >>> 16)) & 0x7FFFFF;
+    out[outPos + 16] = ((in[11] << 7) | (in[12] >>> 25)) & 0x7FFFFF;
+    out[outPos + 17] = (in[12] >>> 2) & 0x7FFFFF;
+    out[outPos + 18] = ((in[12] << 21) | (in[13] >>> 11)) & 0x7FFFFF;
+    out[outPos + 19] = ((in[13] << 12) | (in[14] >>> 20)) & 0x7FFFFF;
+    out[outPos + 20] = ((in[14] << 3) | (in[15] >>> 29)) & 0x7FFFFF;
+    out[outPos + 21] = (in[15] >>> 6) & 0x7FFFFF;
+    out[outPos + 22] = ((in[15] << 17) | (in[16] >>> 15)) & 0x7FFFFF;
+    out[outPos + 23] = ((in[16] << 8) | (in[17] >>> 24)) & 0x7FFFFF;
+    out[outPos + 24] = (in[17] >>> 1) & 0x7FFFFF;
+    out[outPos + 25] = ((in[17] << 22) | (in[18] >>> 10)) & 0x7FFFFF;
+    out[outPos + 26] = ((in[18] << 13) | (in[19] >>> 19)) & 0x7FFFFF;
+    out[outPos + 27] = ((in[19] << 4) | (in[20] >>> 28)) & 0x7FFFFF;
+    out[outPos + 28] = (in[20] >>> 5) & 0x7FFFFF;
+    out[outPos + 29] = ((in[20] << 18) | (in[21] >>> 14)) & 0x7FFFFF;
+    out[outPos + 30] = ((in[21] << 9) | (in[22] >>> 23)) & 0x7FFFFF;
+    out[outPos + 31] = in[22] & 0x7FFFFF;
+  }
+
+  private static void unpack24Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 8;
+    out[outPos + 1] = ((in[0] << 16) | (in[1] >>> 16)) & 0xFFFFFF;
+    out[outPos + 2] = ((in[1] << 8) | (in[2] >>> 24)) & 0xFFFFFF;
+    out[outPos + 3] = in[2] & 0xFFFFFF;
+    out[outPos + 4] = in[3] >>> 8;
+    out[outPos + 5] = ((in[3] << 16) | (in[4] >>> 16)) & 0xFFFFFF;
+    out[outPos + 6] = ((in[4] << 8) | (in[5] >>> 24)) & 0xFFFFFF;
+    out[outPos + 7] = in[5] & 0xFFFFFF;
+    out[outPos + 8] = in[6] >>> 8;
+    out[outPos + 9] = ((in[6] << 16) | (in[7] >>> 16)) & 0xFFFFFF;
+    out[outPos + 10] = ((in[7] << 8) | (in[8] >>> 24)) & 0xFFFFFF;
+    out[outPos + 11] = in[8] & 0xFFFFFF;
+    out[outPos + 12] = in[9] >>> 8;
+    out[outPos + 13] = ((in[9] << 16) | (in[10] >>> 16)) & 0xFFFFFF;
+    out[outPos + 14] = ((in[10] << 8) | (in[11] >>> 24)) & 0xFFFFFF;
+    out[outPos + 15] = in[11] & 0xFFFFFF;
+    out[outPos + 16] = in[12] >>> 8;
+    out[outPos + 17] = ((in[12] << 16) | (in[13] >>> 16)) & 0xFFFFFF;
+    out[outPos + 18] = ((in[13] << 8) | (in[14] >>> 24)) & 0xFFFFFF;
+    out[outPos + 19] = in[14] & 0xFFFFFF;
+    out[outPos + 20] = in[15] >>> 8;
+    out[outPos + 21] = ((in[15] << 16) | (in[16] >>> 16)) & 0xFFFFFF;
+    out[outPos + 22] = ((in[16] << 8) | (in[17] >>> 24)) & 0xFFFFFF;
+    out[outPos + 23] = in[17] & 0xFFFFFF;
+    out[outPos + 24] = in[18] >>> 8;
+    out[outPos + 25] = ((in[18] << 16) | (in[19] >>> 16)) & 0xFFFFFF;
+    out[outPos + 26] = ((in[19] << 8) | (in[20] >>> 24)) & 0xFFFFFF;
+    out[outPos + 27] = in[20] & 0xFFFFFF;
+    out[outPos + 28] = in[21] >>> 8;
+    out[outPos + 29] = ((in[21] << 16) | (in[22] >>> 16)) & 0xFFFFFF;
+    out[outPos + 30] = ((in[22] << 8) | (in[23] >>> 24)) & 0xFFFFFF;
+    out[outPos + 31] = in[23] & 0xFFFFFF;
+  }
+
+  private static void unpack25Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 7;
+    out[outPos + 1] = ((in[0] << 18) | (in[1] >>> 14)) & 0x1FFFFFF;
+    out[outPos + 2] = ((in[1] << 11) | (in[2] >>> 21)) & 0x1FFFFFF;
+    out[outPos + 3] = ((in[2] << 4) | (in[3] >>> 28)) & 0x1FFFFFF;
+    out[outPos + 4] = (in[3] >>> 3) & 0x1FFFFFF;
+    out[outPos + 5] = ((in[3] << 22) | (in[4] >>> 10)) & 0x1FFFFFF;
+    out[outPos + 6] = ((in[4] << 15) | (in[5] >>> 17)) & 0x1FFFFFF;
+    out[outPos + 7] = ((in[5] << 8) | (in[6] >>> 24)) & 0x1FFFFFF;
+    out[outPos + 8] = ((in[6] << 1) | (in[7] >>> 31)) & 0x1FFFFFF;
+    out[outPos + 9] = (in[7] >>> 6) & 0x1FFFFFF;
+    out[outPos + 10] = ((in[7] << 19) | (in[8] >>> 13)) & 0x1FFFFFF;
+    out[outPos + 11] = ((in[8] << 12) | (in[9] >>> 20)) & 0x1FFFFFF;
+    out[outPos + 12] = ((in[9] << 5) | (in[10] >>> 27)) & 0x1FFFFFF;
+    out[outPos + 13] = (in[10] >>> 2) & 0x1FFFFFF;
+    out[outPos + 14] = ((in[10] << 23) | (in[11] >>> 9)) & 0x1FFFFFF;
+    out[outPos + 15] = ((in[11] << 16) | (in[12] >>> 16)) & 0x1FFFFFF;
+    out[outPos + 16] = ((in[12] << 9) | (in[13] >>> 23)) & 0x1FFFFFF;
+    out[outPos + 17] = ((in[13] << 2) | (in[14] >>> 30)) & 0x1FFFFFF;
+    out[outPos + 18] = (in[14] >>> 5) & 0x1FFFFFF;
+    out[outPos + 19] = ((in[14] << 20) | (in[15] >>> 12)) & 0x1FFFFFF;
+    out[outPos + 20] = ((in[15] << 13) | (in[16] >>> 19)) & 0x1FFFFFF;
+    out[outPos + 21] = ((in[16] << 6) | (in[17] >>> 26)) & 0x1FFFFFF;
+    out[outPos + 22] = (in[17] >>> 1) & 0x1FFFFFF;
+    out[outPos + 23] = ((in[17] << 24) | (in[18] >>> 8)) & 0x1FFFFFF;
+    out[outPos + 24] = ((in[18] << 17) | (in[19] >>> 15)) & 0x1FFFFFF;
+    out[outPos + 25] = ((in[19] << 10) | (in[20] >>> 22)) & 0x1FFFFFF;
+    out[outPos + 26] = ((in[20] << 3) | (in[21] >>> 29)) & 0x1FFFFFF;
+    out[outPos + 27] = (in[21] >>> 4) & 0x1FFFFFF;
+    out[outPos + 28] = ((in[21] << 21) | (in[22] >>> 11)) & 0x1FFFFFF;
+    out[outPos + 29] = ((in[22] << 14) | (in[23] >>> 18)) & 0x1FFFFFF;
+    out[outPos + 30] = ((in[23] << 7) | (in[24] >>> 25)) & 0x1FFFFFF;
+    out[outPos + 31] = in[24] & 0x1FFFFFF;
+  }
+
+  private static void unpack26Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 6;
+    out[outPos + 1] = ((in[0] << 20) | (in[1] >>> 12)) & 0x3FFFFFF;
+    out[outPos + 2] = ((in[1] << 14) | (in[2] >>> 18)) & 0x3FFFFFF;
+    out[outPos + 3] = ((in[2] << 8) | (in[3] >>> 24)) & 0x3FFFFFF;
+    out[outPos + 4] = ((in[3] << 2) | (in[4] >>> 30)) & 0x3FFFFFF;
+    out[outPos + 5] = (in[4] >>> 4) & 0x3FFFFFF;
+    out[outPos + 6] = ((in[4] << 22) | (in[5] >>> 10)) & 0x3FFFFFF;
+    out[outPos + 7] = ((in[5] << 16) | (in[6] >>> 16)) & 0x3FFFFFF;
+    out[outPos + 8] = ((in[6] << 10) | (in[7] >>> 22)) & 0x3FFFFFF;
+    out[outPos + 9] = ((in[7] << 4) | (in[8] >>> 28)) & 0x3FFFFFF;
+    out[outPos + 10] = (in[8] >>> 2) & 0x3FFFFFF;
+    out[outPos + 11] = ((in[8] << 24) | (in[9] >>> 8)) & 0x3FFFFFF;
+    out[outPos + 12] = ((in[9] << 18) | (in[10] >>> 14)) & 0x3FFFFFF;
+    out[outPos + 13] = ((in[10] << 12) | (in[11] >>> 20)) & 0x3FFFFFF;
+    out[outPos + 14] = ((in[11] << 6) | (in[12] >>> 26)) & 0x3FFFFFF;
+    out[outPos + 15] = in[12] & 0x3FFFFFF;
+    out[outPos + 16] = in[13] >>> 6;
+    out[outPos + 17] = ((in[13] << 20) | (in[14] >>> 12)) & 0x3FFFFFF;
+    out[outPos + 18] = ((in[14] << 14) | (in[15] >>> 18)) & 0x3FFFFFF;
+    out[outPos + 19] = ((in[15] << 8) | (in[16] >>> 24)) & 0x3FFFFFF;
+    out[outPos + 20] = ((in[16] << 2) | (in[17] >>> 30)) & 0x3FFFFFF;
+    out[outPos + 21] = (in[17] >>> 4) & 0x3FFFFFF;
+    out[outPos + 22] = ((in[17] << 22) | (in[18] >>> 10)) & 0x3FFFFFF;
+    out[outPos + 23] = ((in[18] << 16) | (in[19] >>> 16)) & 0x3FFFFFF;
+    out[outPos + 24] = ((in[19] << 10) | (in[20] >>> 22)) & 0x3FFFFFF;
+    out[outPos + 25] = ((in[20] << 4) | (in[21] >>> 28)) & 0x3FFFFFF;
+    out[outPos + 26] = (in[21] >>> 2) & 0x3FFFFFF;
+    out[outPos + 27] = ((in[21] << 24) | (in[22] >>> 8)) & 0x3FFFFFF;
+    out[outPos + 28] = ((in[22] << 18) | (in[23] >>> 14)) & 0x3FFFFFF;
+    out[outPos + 29] = ((in[23] << 12) | (in[24] >>> 20)) & 0x3FFFFFF;
+    out[outPos + 30] = ((in[24] << 6) | (in[25] >>> 26)) & 0x3FFFFFF;
+    out[outPos + 31] = in[25] & 0x3FFFFFF;
+  }
+
+  private static void unpack27Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 5;
+    out[outPos + 1] = ((in[0] << 22) | (in[1] >>> 10)) & 0x7FFFFFF;
+    out[outPos + 2] = ((in[1] << 17) | (in[2] >>> 15)) & 0x7FFFFFF;
+    out[outPos + 3] = ((in[2] << 12) | (in[3] >>> 20)) & 0x7FFFFFF;
+    out[outPos + 4] = ((in[3] << 7) | (in[4] >>> 25)) & 0x7FFFFFF;
+    out[outPos + 5] = ((in[4] << 2) | (in[5] >>> 30)) & 0x7FFFFFF;
+    out[outPos + 6] = (in[5] >>> 3) & 0x7FFFFFF;
+    out[outPos + 7] = ((in[5] << 24) | (in[6] >>> 8)) & 0x7FFFFFF;
+    out[outPos + 8] = ((in[6] << 19) | (in[7] >>> 13)) & 0x7FFFFFF;
+    out[outPos + 9] = ((in[7] << 14) | (in[8] >>> 18)) & 0x7FFFFFF;
+    out[outPos + 10] = ((in[8] << 9) | (in[9] >>> 23)) & 0x7FFFFFF;
+    out[outPos + 11] = ((in[9] << 4) | (in[10] >>> 28)) & 0x7FFFFFF;
+    out[outPos + 12] = (in[10] >>> 1) & 0x7FFFFFF;
+    out[outPos + 13] = ((in[10] << 26) | (in[11] >>> 6)) & 0x7FFFFFF;
+    out[outPos + 14] = ((in[11] << 21) | (in[12] >>> 11)) & 0x7FFFFFF;
+    out[outPos + 15] = ((in[12] << 16) | (in[13] >>> 16)) & 0x7FFFFFF;
+    out[outPos + 16] = ((in[13] << 11) | (in[14] >>> 21)) & 0x7FFFFFF;
+    out[outPos + 17] = ((in[14] << 6) | (in[15] >>> 26)) & 0x7FFFFFF;
+    out[outPos + 18] = ((in[15] << 1) | (in[16] >>> 31)) & 0x7FFFFFF;
+    out[outPos + 19] = (in[16] >>> 4) & 0x7FFFFFF;
+    out[outPos + 20] = ((in[16] << 23) | (in[17] >>> 9)) & 0x7FFFFFF;
+    out[outPos + 21] = ((in[17] << 18) | (in[18] >>> 14)) & 0x7FFFFFF;
+    out[outPos + 22] = ((in[18] << 13) | (in[19] >>> 19)) & 0x7FFFFFF;
+    out[outPos + 23] = ((in[19] << 8) | (in[20] >>> 24)) & 0x7FFFFFF;
+    out[outPos + 24] = ((in[20] << 3) | (in[21] >>> 29)) & 0x7FFFFFF;
+    out[outPos + 25] = (in[21] >>> 2) & 0x7FFFFFF;
+    out[outPos + 26] = ((in[21] << 25) | (in[22] >>> 7)) & 0x7FFFFFF;
+    out[outPos + 27] = ((in[22] << 20) | (in[23] >>> 12)) & 0x7FFFFFF;
+    out[outPos + 28] = ((in[23] << 15) | (in[24] >>> 17)) & 0x7FFFFFF;
+    out[outPos + 29] = ((in[24] << 10) | (in[25] >>> 22)) & 0x7FFFFFF;
+    out[outPos + 30] = ((in[25] << 5) | (in[26] >>> 27)) & 0x7FFFFFF;
+    out[outPos + 31] = in[26] & 0x7FFFFFF;
+  }
+
+  private static void unpack28Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 4;
+    out[outPos + 1] = ((in[0] << 24) | (in[1] >>> 8)) & 0xFFFFFFF;
+    out[outPos + 2] = ((in[1] << 20) | (in[2] >>> 12)) & 0xFFFFFFF;
+    out[outPos + 3] = ((in[2] << 16) | (in[3] >>> 16)) & 0xFFFFFFF;
+    out[outPos + 4] = ((in[3] << 12) | (in[4] >>> 20)) & 0xFFFFFFF;
+    out[outPos + 5] = ((in[4] << 8) | (in[5] >>> 24)) & 0xFFFFFFF;
+    out[outPos + 6] = ((in[5] << 4) | (in[6] >>> 28)) & 0xFFFFFFF;
+    out[outPos + 7] = in[6] & 0xFFFFFFF;
+    out[outPos + 8] = in[7] >>> 4;
+    out[outPos + 9] = ((in[7] << 24) | (in[8] >>> 8)) & 0xFFFFFFF;
+    out[outPos + 10] = ((in[8] << 20) | (in[9] >>> 12)) & 0xFFFFFFF;
+    out[outPos + 11] = ((in[9] << 16) | (in[10] >>> 16)) & 0xFFFFFFF;
+    out[outPos + 12] = ((in[10] << 12) | (in[11] >>> 20)) & 0xFFFFFFF;
+    out[outPos + 13] = ((in[11] << 8) | (in[12] >>> 24)) & 0xFFFFFFF;
+    out[outPos + 14] = ((in[12] << 4) | (in[13] >>> 28)) & 0xFFFFFFF;
+    out[outPos + 15] = in[13] & 0xFFFFFFF;
+    out[outPos + 16] = in[14] >>> 4;
+    out[outPos + 17] = ((in[14] << 24) | (in[15] >>> 8)) & 0xFFFFFFF;
+    out[outPos + 18] = ((in[15] << 20) | (in[16] >>> 12)) & 0xFFFFFFF;
+    out[outPos + 19] = ((in[16] << 16) | (in[17] >>> 16)) & 0xFFFFFFF;
+    out[outPos + 20] = ((in[17] << 12) | (in[18] >>> 20)) & 0xFFFFFFF;
+    out[outPos + 21] = ((in[18] << 8) | (in[19] >>> 24)) & 0xFFFFFFF;
+    out[outPos + 22] = ((in[19] << 4) | (in[20] >>> 28)) & 0xFFFFFFF;
+    out[outPos + 23] = in[20] & 0xFFFFFFF;
+    out[outPos + 24] = in[21] >>> 4;
+    out[outPos + 25] = ((in[21] << 24) | (in[22] >>> 8)) & 0xFFFFFFF;
+    out[outPos + 26] = ((in[22] << 20) | (in[23] >>> 12)) & 0xFFFFFFF;
+    out[outPos + 27] = ((in[23] << 16) | (in[24] >>> 16)) & 0xFFFFFFF;
+    out[outPos + 28] = ((in[24] << 12) | (in[25] >>> 20)) & 0xFFFFFFF;
+    out[outPos + 29] = ((in[25] << 8) | (in[26] >>> 24)) & 0xFFFFFFF;
+    out[outPos + 30] = ((in[26] << 4) | (in[27] >>> 28)) & 0xFFFFFFF;
+    out[outPos + 31] = in[27] & 0xFFFFFFF;
+  }
+
+  private static void unpack29Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 3;
+    out[outPos + 1] = ((in[0] << 26) | (in[1] >>> 6)) & 0x1FFFFFFF;
+    out[outPos + 2] = ((in[1] << 23) | (in[2] >>> 9)) & 0x1FFFFFFF;
+    out[outPos + 3] = ((in[2] << 20) | (in[3] >>> 12)) & 0x1FFFFFFF;
+    out[outPos + 4] = ((in[3] << 17) | (in[4] >>> 15)) & 0x1FFFFFFF;
+    out[outPos + 5] = ((in[4] << 14) | (in[5] >>> 18)) & 0x1FFFFFFF;
+    out[outPos + 6] = ((in[5] << 11) | (in[6] >>> 21)) & 0x1FFFFFFF;
+    out[outPos + 7] = ((in[6] << 8) | (in[7] >>> 24)) & 0x1FFFFFFF;
+    out[outPos + 8] = ((in[7] << 5) | (in[8] >>> 27)) & 0x1FFFFFFF;
+    out[outPos + 9] = ((in[8] << 2) | (in[9] >>> 30)) & 0x1FFFFFFF;
+    out[outPos + 10] = (in[9] >>> 1) & 0x1FFFFFFF;
+    out[outPos + 11] = ((in[9] << 28) | (in[10] >>> 4)) & 0x1FFFFFFF;
+    out[outPos + 12] = ((in[10] << 25) | (in[11] >>> 7)) & 0x1FFFFFFF;
+    out[outPos + 13] = ((in[11] << 22) | (in[12] >>> 10)) & 0x1FFFFFFF;
+    out[outPos + 14] = ((in[12] << 19) | (in[13] >>> 13)) & 0x1FFFFFFF;
+    out[outPos + 15] = ((in[13] << 16) | (in[14] >>> 16)) & 0x1FFFFFFF;
+    out[outPos + 16] = ((in[14] << 13) | (in[15] >>> 19)) & 0x1FFFFFFF;
+    out[outPos + 17] = ((in[15] << 10) | (in[16] >>> 22)) & 0x1FFFFFFF;
+    out[outPos + 18] = ((in[16] << 7) | (in[17] >>> 25)) & 0x1FFFFFFF;
+    out[outPos + 19] = ((in[17] << 4) | (in[18] >>> 28)) & 0x1FFFFFFF;
+    out[outPos + 20] = ((in[18] << 1) | (in[19] >>> 31)) & 0x1FFFFFFF;
+    out[outPos + 21] = (in[19] >>> 2) & 0x1FFFFFFF;
+    out[outPos + 22] = ((in[19] << 27) | (in[20] >>> 5)) & 0x1FFFFFFF;
+    out[outPos + 23] = ((in[20] << 24) | (in[21] >>> 8)) & 0x1FFFFFFF;
+    out[outPos + 24] = ((in[21] << 21) | (in[22] >>> 11)) & 0x1FFFFFFF;
+    out[outPos + 25] = ((in[22] << 18) | (in[23] >>> 14)) & 0x1FFFFFFF;
+    out[outPos + 26] = ((in[23] << 15) | (in[24] >>> 17)) & 0x1FFFFFFF;
+    out[outPos + 27] = ((in[24] << 12) | (in[25] >>> 20)) & 0x1FFFFFFF;
+    out[outPos + 28] = ((in[25] << 9) | (in[26] >>> 23)) & 0x1FFFFFFF;
+    out[outPos + 29] = ((in[26] << 6) | (in[27] >>> 26)) & 0x1FFFFFFF;
+    out[outPos + 30] = ((in[27] << 3) | (in[28] >>> 29)) & 0x1FFFFFFF;
+    out[outPos + 31] = in[28] & 0x1FFFFFFF;
+  }
+
+  private static void unpack30Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 2;
+    out[outPos + 1] = ((in[0] << 28) | (in[1] >>> 4)) & 0x3FFFFFFF;
+    out[outPos + 2] = ((in[1] << 26) | (in[2] >>> 6)) & 0x3FFFFFFF;
+    out[outPos + 3] = ((in[2] << 24) | (in[3] >>> 8)) & 0x3FFFFFFF;
+    out[outPos + 4] = ((in[3] << 22) | (in[4] >>> 10)) & 0x3FFFFFFF;
+    out[outPos + 5] = ((in[4] << 20) | (in[5] >>> 12)) & 0x3FFFFFFF;
+    out[outPos + 6] = ((in[5] << 18) | (in[6] >>> 14)) & 0x3FFFFFFF;
+    out[outPos + 7] = ((in[6] << 16) | (in[7] >>> 16)) & 0x3FFFFFFF;
+    out[outPos + 8] = ((in[7] << 14) | (in[8] >>> 18)) & 0x3FFFFFFF;
+    out[outPos + 9] = ((in[8] << 12) | (in[9] >>> 20)) & 0x3FFFFFFF;
+    out[outPos + 10] = ((in[9] << 10) | (in[10] >>> 22)) & 0x3FFFFFFF;
+    out[outPos + 11] = ((in[10] << 8) | (in[11] >>> 24)) & 0x3FFFFFFF;
+    out[outPos + 12] = ((in[11] << 6) | (in[12] >>> 26)) & 0x3FFFFFFF;
+    out[outPos + 13] = ((in[12] << 4) | (in[13] >>> 28)) & 0x3FFFFFFF;
+    out[outPos + 14] = ((in[13] << 2) | (in[14] >>> 30)) & 0x3FFFFFFF;
+    out[outPos + 15] = in[14] & 0x3FFFFFFF;
+    out[outPos + 16] = in[15] >>> 2;
+    out[outPos + 17] = ((in[15] << 28) | (in[16] >>> 4)) & 0x3FFFFFFF;
+    out[outPos + 18] = ((in[16] << 26) | (in[17] >>> 6)) & 0x3FFFFFFF;
+    out[outPos + 19] = ((in[17] << 24) | (in[18] >>> 8)) & 0x3FFFFFFF;
+    out[outPos + 20] = ((in[18] << 22) | (in[19] >>> 10)) & 0x3FFFFFFF;
+    out[outPos + 21] = ((in[19] << 20) | (in[20] >>> 12)) & 0x3FFFFFFF;
+    out[outPos + 22] = ((in[20] << 18) | (in[21] >>> 14)) & 0x3FFFFFFF;
+    out[outPos + 23] = ((in[21] << 16) | (in[22] >>> 16)) & 0x3FFFFFFF;
+    out[outPos + 24] = ((in[22] << 14) | (in[23] >>> 18)) & 0x3FFFFFFF;
+    out[outPos + 25] = ((in[23] << 12) | (in[24] >>> 20)) & 0x3FFFFFFF;
+    out[outPos + 26] = ((in[24] << 10) | (in[25] >>> 22)) & 0x3FFFFFFF;
+    out[outPos + 27] = ((in[25] << 8) | (in[26] >>> 24)) & 0x3FFFFFFF;
+    out[outPos + 28] = ((in[26] << 6) | (in[27] >>> 26)) & 0x3FFFFFFF;
+    out[outPos + 29] = ((in[27] << 4) | (in[28] >>> 28)) & 0x3FFFFFFF;
+    out[outPos + 30] = ((in[28] << 2) | (in[29] >>> 30)) & 0x3FFFFFFF;
+    out[outPos + 31] = in[29] & 0x3FFFFFFF;
+  }
+
+  private static void unpack31Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0] >>> 1;
+    out[outPos + 1] = ((in[0] << 30) | (in[1] >>> 2)) & 0x7FFFFFFF;
+    out[outPos + 2] = ((in[1] << 29) | (in[2] >>> 3)) & 0x7FFFFFFF;
+    out[outPos + 3] = ((in[2] << 28) | (in[3] >>> 4)) & 0x7FFFFFFF;
+    out[outPos + 4] = ((in[3] << 27) | (in[4] >>> 5)) & 0x7FFFFFFF;
+    out[outPos + 5] = ((in[4] << 26) | (in[5] >>> 6)) & 0x7FFFFFFF;
+    out[outPos + 6] = ((in[5] << 25) | (in[6] >>> 7)) & 0x7FFFFFFF;
+    out[outPos + 7] = ((in[6] << 24) | (in[7] >>> 8)) & 0x7FFFFFFF;
+    out[outPos + 8] = ((in[7] << 23) | (in[8] >>> 9)) & 0x7FFFFFFF;
+    out[outPos + 9] = ((in[8] << 22) | (in[9] >>> 10)) & 0x7FFFFFFF;
+    out[outPos + 10] = ((in[9] << 21) | (in[10] >>> 11)) & 0x7FFFFFFF;
+    out[outPos + 11] = ((in[10] << 20) | (in[11] >>> 12)) & 0x7FFFFFFF;
+    out[outPos + 12] = ((in[11] << 19) | (in[12] >>> 13)) & 0x7FFFFFFF;
+    out[outPos + 13] = ((in[12] << 18) | (in[13] >>> 14)) & 0x7FFFFFFF;
+    out[outPos + 14] = ((in[13] << 17) | (in[14] >>> 15)) & 0x7FFFFFFF;
+    out[outPos + 15] = ((in[14] << 16) | (in[15] >>> 16)) & 0x7FFFFFFF;
+    out[outPos + 16] = ((in[15] << 15) | (in[16] >>> 17)) & 0x7FFFFFFF;
+    out[outPos + 17] = ((in[16] << 14) | (in[17] >>> 18)) & 0x7FFFFFFF;
+    out[outPos + 18] = ((in[17] << 13) | (in[18] >>> 19)) & 0x7FFFFFFF;
+    out[outPos + 19] = ((in[18] << 12) | (in[19] >>> 20)) & 0x7FFFFFFF;
+    out[outPos + 20] = ((in[19] << 11) | (in[20] >>> 21)) & 0x7FFFFFFF;
+    out[outPos + 21] = ((in[20] << 10) | (in[21] >>> 22)) & 0x7FFFFFFF;
+    out[outPos + 22] = ((in[21] << 9) | (in[22] >>> 23)) & 0x7FFFFFFF;
+    out[outPos + 23] = ((in[22] << 8) | (in[23] >>> 24)) & 0x7FFFFFFF;
+    out[outPos + 24] = ((in[23] << 7) | (in[24] >>> 25)) & 0x7FFFFFFF;
+    out[outPos + 25] = ((in[24] << 6) | (in[25] >>> 26)) & 0x7FFFFFFF;
+    out[outPos + 26] = ((in[25] << 5) | (in[26] >>> 27)) & 0x7FFFFFFF;
+    out[outPos + 27] = ((in[26] << 4) | (in[27] >>> 28)) & 0x7FFFFFFF;
+    out[outPos + 28] = ((in[27] << 3) | (in[28] >>> 29)) & 0x7FFFFFFF;
+    out[outPos + 29] = ((in[28] << 2) | (in[29] >>> 30)) & 0x7FFFFFFF;
+    out[outPos + 30] = ((in[29] << 1) | (in[30] >>> 31)) & 0x7FFFFFFF;
+    out[outPos + 31] = in[30] & 0x7FFFFFFF;
+  }
+
+  private static void unpack32Bits(int[] in, int[] out, int outPos) {
+    out[outPos] = in[0];
+    out[outPos + 1] = in[1];
+    out[outPos + 2] = in[2];
+    out[outPos + 3] = in[3];
+    out[outPos + 4] = in[4];
+    out[outPos + 5] = in[5];
+    out[outPos + 6] = in[6];
+    out[outPos + 7] = in[7];
+    out[outPos + 8] = in[8];
+    out[outPos + 9] = in[9];
+    out[outPos + 10] = in[10];
+    out[outPos + 11] = in[11];
+    out[outPos + 12] = in[12];
+    out[outPos + 13] = in[13];
+    out[outPos + 14] = in[14];
+    out[outPos + 15] = in[15];
+    out[outPos + 16] = in[16];
+    out[outPos + 17] = in[17];
+    out[outPos + 18] = in[18];
+    out[outPos + 19] = in[19];
+    out[outPos + 20] = in[20];
+    out[outPos + 21] = in[21];
+    out[outPos + 22] = in[22];
+    out[outPos + 23] = in[23];
+    out[outPos + 24] = in[24];
+    out[outPos + 25] = in[25];
+    out[outPos + 26] = in[26];
+    out[outPos + 27] = in[27];
+    out[outPos + 28] = in[28];
+    out[outPos + 29] = in[29];
+    out[outPos + 30] = in[30];
+    out[outPos + 31] = in[31];
+  }
+}
@@ -20,6 +20,8 @@ package org.apache.pinot.core.io.util;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteOrder;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 
 
@@ -71,9 +73,11 @@ public final class PinotDataBitSet implements Closeable {
   }
 
   private final PinotDataBuffer _dataBuffer;
+  private final boolean _bigEndian;
 
   public PinotDataBitSet(PinotDataBuffer dataBuffer) {
     _dataBuffer = dataBuffer;
+    _bigEndian = dataBuffer.order() == ByteOrder.BIG_ENDIAN;
   }
 
   public int readInt(int index, int numBitsPerValue) {
@@ -99,7 +103,61 @@ public final class PinotDataBitSet implements Closeable {
     }
   }
 
+  /**
+   * Reads {@code length} values starting from {@code startIndex} into {@code buffer[0, length)}.
+   * <p>Values in groups of 32 aligned to the start of the bit set are decoded with the bulk unpack routines of
+   * {@link FixedBitIntUnpacker}, the remaining values at the head and tail are decoded one at a time.
+   */
   public void readInt(int startIndex, int numBitsPerValue, int length, int[] buffer) {
+    readInt(startIndex, numBitsPerValue, length, buffer, 0);
+  }
+
+  /**
+   * Reads {@code length} values starting from {@code startIndex} into
+   * {@code buffer[bufferStartIndex, bufferStartIndex + length)}.
+   */
+  public void readInt(int startIndex, int numBitsPerValue, int length, int[] buffer, int bufferStartIndex) {
+    readInt(startIndex, numBitsPerValue, length, buffer, bufferStartIndex, null);
+  }
+
+  /**
+   * Reads {@code length} values starting from {@code startIndex} into
+   * {@code buffer[bufferStartIndex, bufferStartIndex + length)}, using the given reusable buffer (of at least
+   * {@code numBitsPerValue} ints) to hold the packed words of a group. A buffer is allocated if it is {@code null}.
+   */
+  public void readInt(int startIndex, int numBitsPerValue, int length, int[] buffer, int bufferStartIndex,
+      @Nullable int[] unpackBuffer) {
+    int groupSize = FixedBitIntUnpacker.NUM_VALUES_PER_GROUP;
+    int numValuesBeforeFirstGroup = Math.min((groupSize - startIndex % groupSize) % groupSize, length);
+    readIntSequentially(startIndex, numBitsPerValue, numValuesBeforeFirstGroup, buffer, bufferStartIndex);
+
+    int index = startIndex + numValuesBeforeFirstGroup;
+    int bufferIndex = bufferStartIndex + numValuesBeforeFirstGroup;
+    int bufferEndIndex = bufferStartIndex + length;
+    if (bufferEndIndex - bufferIndex >= groupSize) {
+      // The bit offset of an aligned group is a multiple of 32, and each group is packed in numBitsPerValue words
+      int[] words = unpackBuffer != null ? unpackBuffer : new int[numBitsPerValue];
+      long wordOffset = (long) index * numBitsPerValue / Byte.SIZE;
+      while (bufferEndIndex - bufferIndex >= groupSize) {
+        for (int i = 0; i < numBitsPerValue; i++) {
+          int word = _dataBuffer.getInt(wordOffset);
+          words[i] = _bigEndian ? word : Integer.reverseBytes(word);
+          wordOffset += Integer.BYTES;
+        }
+        FixedBitIntUnpacker.unpack32(numBitsPerValue, words, buffer, bufferIndex);
+        index += groupSize;
+        bufferIndex += groupSize;
+      }
+    }
+
+    readIntSequentially(index, numBitsPerValue, bufferEndIndex - bufferIndex, buffer, bufferIndex);
+  }
+
+  private void readIntSequentially(int startIndex, int numBitsPerValue, int length, int[] buffer,
+      int bufferStartIndex) {
+    if (length == 0) {
+      return;
+    }
     long startBitOffset = (long) startIndex * numBitsPerValue;
     int byteOffset = (int) (startBitOffset / Byte.SIZE);
     int bitOffsetInFirstByte = (int) (startBitOffset % Byte.SIZE);
@@ -107,7 +165,8 @@ public final class PinotDataBitSet implements Closeable {
     // Initiated with the value in first byte
     int currentValue = _dataBuffer.getByte(byteOffset) & (BYTE_MASK >>> bitOffsetInFirstByte);
 
-    for (int i = 0; i < length; i++) {
+    int bufferEndIndex = bufferStartIndex + length;
+    for (int i = bufferStartIndex; i < bufferEndIndex; i++) {
       if (bitOffsetInFirstByte == Byte.SIZE) {
         bitOffsetInFirstByte = 0;
         currentValue = _dataBuffer.getByte(++byteOffset) & BYTE_MASK;
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.io.writer.impl.v1;
+
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
+import org.apache.pinot.core.io.util.FixedBitIntReaderWriter;
+import org.apache.pinot.core.io.util.PinotDataBitSet;
+import org.apache.pinot.core.io.writer.SingleColumnMultiValueWriter;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+
+
+/**
+ * Writer for the prefix sum multi-value forward index layout, see {@link FixedBitPrefixSumMultiValueReader} for the
+ * storage layout.
+ * <p>Rows must be written in sequence starting from row 0.
+ */
+public class FixedBitPrefixSumMultiValueWriter implements SingleColumnMultiValueWriter {
+  private final PinotDataBuffer _indexDataBuffer;
+  private final FixedBitIntReaderWriter _offsetWriter;
+  private final FixedBitIntReaderWriter _rawDataWriter;
+
+  private int _nextRow = 0;
+  private int _nextOffset = 0;
+
+  public FixedBitPrefixSumMultiValueWriter(File file, int numDocs, int totalNumValues, int numBitsPerValue)
+      throws IOException {
+    int numBitsPerOffset = PinotDataBitSet.getNumBitsPerValue(totalNumValues);
+    long offsetSize = FixedBitPrefixSumMultiValueReader.getDataSize(numDocs + 1, numBitsPerOffset);
+    long rawDataSize = FixedBitPrefixSumMultiValueReader.getDataSize(totalNumValues, numBitsPerValue);
+    long offsetEnd = FixedBitPrefixSumMultiValueReader.HEADER_SIZE + offsetSize;
+    long totalSize = offsetEnd + rawDataSize;
+    Preconditions.checkState(totalSize < Integer.MAX_VALUE, "Total size can not exceed 2GB for file: %s", file);
+
+    // Backward-compatible: index file is always big-endian
+    _indexDataBuffer =
+        PinotDataBuffer.mapFile(file, false, 0, totalSize, ByteOrder.BIG_ENDIAN, getClass().getSimpleName());
+    _indexDataBuffer.putInt(0, FixedBitPrefixSumMultiValueReader.MAGIC_MARKER);
+    _indexDataBuffer.putInt(Integer.BYTES, FixedBitPrefixSumMultiValueReader.VERSION);
+    _indexDataBuffer.putInt(2 * Integer.BYTES, numBitsPerOffset);
+    _indexDataBuffer.putInt(3 * Integer.BYTES, numBitsPerValue);
+
+    _offsetWriter = new FixedBitIntReaderWriter(
+        _indexDataBuffer.view(FixedBitPrefixSumMultiValueReader.HEADER_SIZE, offsetEnd), numDocs + 1,
+        numBitsPerOffset);
+    _rawDataWriter =
+        new FixedBitIntReaderWriter(_indexDataBuffer.view(offsetEnd, totalSize), totalNumValues, numBitsPerValue);
+    _offsetWriter.writeInt(0, 0);
+  }
+
+  @Override
+  public void setIntArray(int row, int[] intArray) {
+    Preconditions.checkArgument(row == _nextRow, "Rows must be written in sequence, expected: %s, got: %s", _nextRow,
+        row);
+    int numValues = intArray.length;
+    if (numValues > 0) {
+      _rawDataWriter.writeInt(_nextOffset, numValues, intArray);
+    }
+    _nextOffset += numValues;
+    _offsetWriter.writeInt(++_nextRow, _nextOffset);
+  }
+
+  @Override
+  public void setCharArray(int row, char[] charArray) {
+    throw new UnsupportedOperationException("Only int data type is supported in fixedbit format");
+  }
+
+  @Override
+  public void setShortArray(int row, short[] shortsArray) {
+    throw new UnsupportedOperationException("Only int data type is supported in fixedbit format");
+  }
+
+  @Override
+  public void setLongArray(int row, long[] longArray) {
+    throw new UnsupportedOperationException("Only int data type is supported in fixedbit format");
+  }
+
+  @Override
+  public void setFloatArray(int row, float[] floatArray) {
+    throw new UnsupportedOperationException("Only int data type is supported in fixedbit format");
+  }
+
+  @Override
+  public void setDoubleArray(int row, double[] doubleArray) {
+    throw new UnsupportedOperationException("Only int data type is supported in fixedbit format");
+  }
+
+  @Override
+  public void setStringArray(int row, String[] stringArray) {
+    throw new UnsupportedOperationException("Only int data type is supported in fixedbit format");
+  }
+
+  @Override
+  public void setBytesArray(int row, byte[][] bytesArray) {
+    throw new UnsupportedOperationException("Only int data type is supported in fixedbit format");
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    _offsetWriter.close();
+    _rawDataWriter.close();
+    _indexDataBuffer.close();
+  }
+}
@@ -0,0 +1,433 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.minion;
+
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.Utils;
+import org.apache.pinot.common.config.IndexingConfig;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.segment.ReadMode;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.PinotSegmentColumnReader;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.data.readers.sort.ExternalSortRecordReader;
+import org.apache.pinot.core.data.recordtransformer.CompoundTransformer;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegment;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.core.minion.segment.DefaultRecordPartitioner;
+import org.apache.pinot.core.minion.segment.RecordAggregator;
+import org.apache.pinot.core.minion.segment.RecordPartitioner;
+import org.apache.pinot.core.minion.segment.RecordTransformer;
+import org.apache.pinot.core.minion.segment.ReducerRecordReader;
+import org.apache.pinot.core.segment.creator.impl.ColumnarRowSpool;
+import org.apache.pinot.core.segment.creator.impl.RowSpoolRecordReader;
+import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Segment converter which runs the stages of the segment conversion in parallel, and does not need to hold the input
+ * rows or the groups in memory.
+ *
+ * 1. Map stage (parallel on contiguous ranges of input segments, one mapper per thread): the input segments are read
+ *    column by column in batches of docs. The rows are transformed with the record transformer, and spooled off-heap
+ *    into the mapper's spool for the partition decided by the record partitioner. The number of spools only depends on
+ *    the number of threads and partitions, and the spools are sized from the number of docs to map.
+ * 2. Reduce stage (parallel on partitions): if a record aggregator is configured, the rows of the partition are sorted
+ *    on the group-by columns with an external merge sort that spills to disk beyond the memory budget, and each group
+ *    is reduced into a single row by the record aggregator.
+ * 3. Index creation: one segment is created for each partition, sorted on the sorted column and with the inverted and
+ *    star-tree index if configured.
+ *
+ * The output follows the same contract as {@link SegmentConverter}: one segment per partition (empty partitions are
+ * skipped), with the partition id appended to the segment name if there are multiple partitions. When aggregating
+ * without a record partitioner, the rows are partitioned on the group-by columns so that each group is fully reduced.
+ */
+public class ParallelSegmentConverter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParallelSegmentConverter.class);
+
+  private static final int DEFAULT_NUM_PARTITION = 1;
+  private static final int DEFAULT_NUM_THREADS = 1;
+  private static final int NUM_DOCS_PER_BATCH = 1024;
+  private static final String MAPPER_PREFIX = "mapper_";
+  private static final String REDUCER_PREFIX = "reducer_";
+  private static final String OUTPUT_PREFIX = "output_";
+
+  // Required
+  private final List<File> _inputIndexDirs;
+  private final File _workingDir;
+  private final String _tableName;
+  private final String _segmentName;
+  private final RecordTransformer _recordTransformer;
+
+  // Optional
+  private final int _totalNumPartition;
+  private final RecordPartitioner _recordPartitioner;
+  private final RecordAggregator _recordAggregator;
+  private final List<String> _groupByColumns;
+  private final IndexingConfig _indexingConfig;
+  private final int _numThreads;
+  private final long _maxMemoryInBytes;
+
+  public ParallelSegmentConverter(@Nonnull List<File> inputIndexDirs, @Nonnull File workingDir,
+      @Nonnull String tableName, @Nonnull String segmentName, int totalNumPartition,
+      @Nonnull RecordTransformer recordTransformer, @Nullable RecordPartitioner recordPartitioner,
+      @Nullable RecordAggregator recordAggregator, @Nullable List<String> groupByColumns,
+      @Nullable IndexingConfig indexingConfig, int numThreads, long maxMemoryInBytes) {
+    _inputIndexDirs = inputIndexDirs;
+    _workingDir = workingDir;
+    _tableName = tableName;
+    _segmentName = segmentName;
+    _recordTransformer = recordTransformer;
+    _totalNumPartition = (totalNumPartition < 1) ? DEFAULT_NUM_PARTITION : totalNumPartition;
+    _recordAggregator = recordAggregator;
+    _groupByColumns = groupByColumns;
+    if (recordPartitioner != null) {
+      _recordPartitioner = recordPartitioner;
+    } else if (isAggregating()) {
+      _recordPartitioner = (row, numPartition) -> {
+        Object[] groupByValues = new Object[groupByColumns.size()];
+        for (int i = 0; i < groupByValues.length; i++) {
+          groupByValues[i] = row.getValue(groupByColumns.get(i));
+        }
+        return Math.abs(Arrays.deepHashCode(groupByValues) % numPartition);
+      };
+    } else {
+      _recordPartitioner = new DefaultRecordPartitioner();
+    }
+    _indexingConfig = indexingConfig;
+    _numThreads = (numThreads < 1) ? DEFAULT_NUM_THREADS : numThreads;
+    _maxMemoryInBytes = maxMemoryInBytes;
+  }
+
+  private boolean isAggregating() {
+    return _recordAggregator != null && _groupByColumns != null && !_groupByColumns.isEmpty();
+  }
+
+  public List<File> convertSegment()
+      throws Exception {
+    Preconditions.checkNotNull(_recordTransformer);
+    Schema schema = new SegmentMetadataImpl(_inputIndexDirs.get(0)).getSchema();
+    int numInputSegments = _inputIndexDirs.size();
+    int[] numDocs = new int[numInputSegments];
+    for (int i = 0; i < numInputSegments; i++) {
+      SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl(_inputIndexDirs.get(i));
+      Preconditions.checkState(schema.equals(segmentMetadata.getSchema()),
+          "Schemas from input segments are not the same");
+      numDocs[i] = segmentMetadata.getTotalRawDocs();
+    }
+
+    // Each mapper maps a contiguous range of input segments into its own spool per partition, so that the spools of a
+    // partition keep the order of the input segments
+    int numMappers = Math.min(_numThreads, numInputSegments);
+    ColumnarRowSpool[][] mapperOutputs = new ColumnarRowSpool[numMappers][_totalNumPartition];
+    ExecutorService executorService = Executors.newFixedThreadPool(_numThreads);
+    try {
+      // Mapping stage
+      long start = System.currentTimeMillis();
+      List<Future<Void>> mapperFutures = new ArrayList<>(numMappers);
+      for (int i = 0; i < numMappers; i++) {
+        int startIndex = (int) ((long) numInputSegments * i / numMappers);
+        int endIndex = (int) ((long) numInputSegments * (i + 1) / numMappers);
+        long numMapperDocs = 0;
+        for (int j = startIndex; j < endIndex; j++) {
+          numMapperDocs += numDocs[j];
+        }
+        int expectedNumRowsPerPartition = (int) Math.min(numMapperDocs / _totalNumPartition + 1, Integer.MAX_VALUE);
+        List<File> inputIndexDirs = _inputIndexDirs.subList(startIndex, endIndex);
+        File mapperOutputDir = new File(_workingDir, MAPPER_PREFIX + i);
+        ColumnarRowSpool[] partitionSpools = mapperOutputs[i];
+        mapperFutures.add(executorService.submit(() -> {
+          for (File inputIndexDir : inputIndexDirs) {
+            map(inputIndexDir, schema, mapperOutputDir, partitionSpools, expectedNumRowsPerPartition);
+          }
+          return null;
+        }));
+      }
+      waitForAll(mapperFutures);
+      LOGGER.info("Finished mapping {} segments with {} mappers in {}ms", numInputSegments, numMappers,
+          System.currentTimeMillis() - start);
+
+      // Sorting on group-by columns & Reduce stage, and index creation
+      start = System.currentTimeMillis();
+      List<Future<File>> reducerFutures = new ArrayList<>(_totalNumPartition);
+      for (int partition = 0; partition < _totalNumPartition; partition++) {
+        List<ColumnarRowSpool> partitionSpools = new ArrayList<>(numMappers);
+        for (ColumnarRowSpool[] mapperOutput : mapperOutputs) {
+          if (mapperOutput[partition] != null) {
+            partitionSpools.add(mapperOutput[partition]);
+          }
+        }
+        if (partitionSpools.isEmpty()) {
+          LOGGER.info("Skipping empty partition: {}", partition);
+          continue;
+        }
+        int currentPartition = partition;
+        reducerFutures.add(executorService.submit(() -> reduce(currentPartition, schema, partitionSpools)));
+      }
+      List<File> resultFiles = waitForAll(reducerFutures);
+      LOGGER.info("Finished creating {} segments in {}ms", resultFiles.size(), System.currentTimeMillis() - start);
+      return resultFiles;
+    } finally {
+      executorService.shutdownNow();
+      for (ColumnarRowSpool[] mapperOutput : mapperOutputs) {
+        for (ColumnarRowSpool rowSpool : mapperOutput) {
+          if (rowSpool != null) {
+            rowSpool.close();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the rows of the input segment, and appends the transformed rows to the spools of their partitions, which are
+   * created on the first row with the given expected number of rows.
+   */
+  private void map(File inputIndexDir, Schema schema, File mapperOutputDir, ColumnarRowSpool[] partitionSpools,
+      int expectedNumRowsPerPartition)
+      throws Exception {
+    ImmutableSegment immutableSegment = ImmutableSegmentLoader.load(inputIndexDir, ReadMode.mmap);
+    try {
+      FieldSpec[] fieldSpecs = schema.getAllFieldSpecs().toArray(new FieldSpec[0]);
+      int numColumns = fieldSpecs.length;
+      PinotSegmentColumnReader[] columnReaders = new PinotSegmentColumnReader[numColumns];
+      for (int i = 0; i < numColumns; i++) {
+        columnReaders[i] = new PinotSegmentColumnReader(immutableSegment, fieldSpecs[i].getName());
+      }
+
+      int numDocs = immutableSegment.getSegmentMetadata().getTotalRawDocs();
+      Object[][] valueBuffers = new Object[numColumns][NUM_DOCS_PER_BATCH];
+      GenericRow reuse = new GenericRow();
+      for (int startDocId = 0; startDocId < numDocs; startDocId += NUM_DOCS_PER_BATCH) {
+        // Read the values column by column so that each forward index is scanned sequentially
+        int length = Math.min(NUM_DOCS_PER_BATCH, numDocs - startDocId);
+        for (int i = 0; i < numColumns; i++) {
+          FieldSpec fieldSpec = fieldSpecs[i];
+          if (fieldSpec.isSingleValueField()) {
+            columnReaders[i].readSV(startDocId, length, fieldSpec.getDataType(), valueBuffers[i]);
+          } else {
+            columnReaders[i].readMV(startDocId, length, valueBuffers[i]);
+          }
+        }
+
+        for (int j = 0; j < length; j++) {
+          for (int i = 0; i < numColumns; i++) {
+            reuse.putField(fieldSpecs[i].getName(), valueBuffers[i][j]);
+          }
+          GenericRow transformedRow = _recordTransformer.transformRecord(reuse);
+          // Skip the record if the row is null after transformation
+          if (transformedRow == null) {
+            continue;
+          }
+          int partition = _recordPartitioner.getPartitionFromRecord(transformedRow, _totalNumPartition);
+          ColumnarRowSpool rowSpool = partitionSpools[partition];
+          if (rowSpool == null) {
+            File spoolDir = new File(mapperOutputDir, mapperOutputDir.getName() + "_" + partition);
+            rowSpool = new ColumnarRowSpool(schema, spoolDir, expectedNumRowsPerPartition);
+            partitionSpools[partition] = rowSpool;
+          }
+          rowSpool.add(transformedRow);
+        }
+      }
+    } finally {
+      immutableSegment.destroy();
+    }
+  }
+
+  /**
+   * Reduces the rows of the partition if needed, and creates the output segment for the partition.
+   */
+  private File reduce(int partition, Schema schema, List<ColumnarRowSpool> partitionSpools)
+      throws Exception {
+    String outputSegmentName = (_totalNumPartition <= 1) ? _segmentName : _segmentName + "_" + partition;
+    File outputDir = new File(_workingDir, OUTPUT_PREFIX + partition);
+    long maxMemoryInBytesPerTask = Math.max(_maxMemoryInBytes / _numThreads, 1);
+
+    RecordReader recordReader = new RowSpoolRecordReader(partitionSpools, schema);
+    if (isAggregating()) {
+      // The spooled rows are already transformed
+      recordReader = new ReducerRecordReader(
+          new ExternalSortRecordReader(recordReader, CompoundTransformer.getPassThroughTransformer(), _groupByColumns,
+              new File(_workingDir, REDUCER_PREFIX + partition), maxMemoryInBytesPerTask), _recordAggregator,
+          _groupByColumns);
+    }
+    try {
+      SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig(schema);
+      segmentGeneratorConfig.setOutDir(outputDir.getPath());
+      segmentGeneratorConfig.setTableName(_tableName);
+      segmentGeneratorConfig.setSegmentName(outputSegmentName);
+      segmentGeneratorConfig.setMaxSortMemoryInBytes(maxMemoryInBytesPerTask);
+      // Share the threads among the partitions being reduced concurrently
+      segmentGeneratorConfig.setNumIndexCreationThreads(Math.max(_numThreads / _totalNumPartition, 1));
+      if (_indexingConfig != null) {
+        List<String> sortedColumn = _indexingConfig.getSortedColumn();
+        if (sortedColumn != null) {
+          segmentGeneratorConfig.setColumnSortOrder(sortedColumn);
+        }
+        List<String> invertedIndexColumns = _indexingConfig.getInvertedIndexColumns();
+        if (invertedIndexColumns != null) {
+          segmentGeneratorConfig.setInvertedIndexCreationColumns(invertedIndexColumns);
+        }
+        if (_indexingConfig.getStarTreeIndexSpec() != null) {
+          segmentGeneratorConfig.enableStarTreeIndex(_indexingConfig.getStarTreeIndexSpec());
+        }
+      }
+      SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+      driver.init(segmentGeneratorConfig, recordReader);
+      driver.build();
+    } finally {
+      recordReader.close();
+    }
+    return new File(outputDir, outputSegmentName);
+  }
+
+  /**
+   * Waits for all the tasks to finish before throwing, so that no task is still writing when the spools get closed.
+   */
+  private static <T> List<T> waitForAll(List<Future<T>> futures)
+      throws Exception {
+    List<T> results = new ArrayList<>(futures.size());
+    ExecutionException exception = null;
+    for (Future<T> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (ExecutionException e) {
+        if (exception == null) {
+          exception = e;
+        }
+      }
+    }
+    if (exception != null) {
+      Utils.rethrowException(exception.getCause());
+    }
+    return results;
+  }
+
+  public static class Builder {
+    // Required
+    private List<File> _inputIndexDirs;
+    private File _workingDir;
+    private String _tableName;
+    private String _segmentName;
+    private RecordTransformer _recordTransformer;
+
+    // Optional
+    private int _totalNumPartition;
+    private RecordPartitioner _recordPartitioner;
+    private RecordAggregator _recordAggregator;
+    private List<String> _groupByColumns;
+    private IndexingConfig _indexingConfig;
+    private int _numThreads = DEFAULT_NUM_THREADS;
+    private long _maxMemoryInBytes = SegmentGeneratorConfig.DEFAULT_MAX_SORT_MEMORY_IN_BYTES;
+
+    public Builder setInputIndexDirs(List<File> inputIndexDirs) {
+      _inputIndexDirs = inputIndexDirs;
+      return this;
+    }
+
+    public Builder setWorkingDir(File workingDir) {
+      _workingDir = workingDir;
+      return this;
+    }
+
+    public Builder setTableName(String tableName) {
+      _tableName = tableName;
+      return this;
+    }
+
+    public Builder setSegmentName(String segmentName) {
+      _segmentName = segmentName;
+      return this;
+    }
+
+    public Builder setRecordTransformer(RecordTransformer recordTransformer) {
+      _recordTransformer = recordTransformer;
+      return this;
+    }
+
+    public Builder setRecordPartitioner(RecordPartitioner recordPartitioner) {
+      _recordPartitioner = recordPartitioner;
+      return this;
+    }
+
+    public Builder setRecordAggregator(RecordAggregator recordAggregator) {
+      _recordAggregator = recordAggregator;
+      return this;
+    }
+
+    public Builder setTotalNumPartition(int totalNumPartition) {
+      _totalNumPartition = totalNumPartition;
+      return this;
+    }
+
+    public Builder setGroupByColumns(List<String> groupByColumns) {
+      _groupByColumns = groupByColumns;
+      return this;
+    }
+
+    public Builder setIndexingConfig(IndexingConfig indexingConfig) {
+      _indexingConfig = indexingConfig;
+      return this;
+    }
+
+    public Builder setNumThreads(int numThreads) {
+      _numThreads = numThreads;
+      return this;
+    }
+
+    /**
+     * Sets the memory budget shared by the concurrent sorts, beyond which the sorted rows are spilled to disk.
+     */
+    public Builder setMaxMemoryInBytes(long maxMemoryInBytes) {
+      _maxMemoryInBytes = maxMemoryInBytes;
+      return this;
+    }
+
+    public ParallelSegmentConverter build() {
+      // Check that the group-by columns and record aggregator are configured together
+      if (_groupByColumns != null && _groupByColumns.size() > 0) {
+        Preconditions
+            .checkNotNull(_recordAggregator, "If group-by columns are given, the record aggregator is required.");
+      } else {
+        Preconditions.checkArgument(_recordAggregator == null,
+            "If group-by columns are not given, the record aggregator has to be null.");
+      }
+      Preconditions.checkArgument(_maxMemoryInBytes > 0, "Max memory must be positive");
+
+      return new ParallelSegmentConverter(_inputIndexDirs, _workingDir, _tableName, _segmentName, _totalNumPartition,
+          _recordTransformer, _recordPartitioner, _recordAggregator, _groupByColumns, _indexingConfig, _numThreads,
+          _maxMemoryInBytes);
+    }
+  }
+}
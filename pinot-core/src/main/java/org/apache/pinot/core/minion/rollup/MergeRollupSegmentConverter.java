@@ -28,7 +28,7 @@ import org.apache.pinot.common.config.IndexingConfig;
 import org.apache.pinot.common.data.DimensionFieldSpec;
 import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.common.exception.InvalidConfigException;
-import org.apache.pinot.core.minion.SegmentConverter;
+import org.apache.pinot.core.minion.ParallelSegmentConverter;
 import org.apache.pinot.core.minion.segment.RecordAggregator;
 import org.apache.pinot.core.minion.segment.RecordTransformer;
 import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
@@ -47,10 +47,11 @@ public class MergeRollupSegmentConverter {
   private String _segmentName;
   private MergeType _mergeType;
   private Map<String, String> _rolllupPreAggregateType;
+  private int _numThreads;
 
   private MergeRollupSegmentConverter(@Nonnull List<File> inputIndexDirs, @Nonnull File workingDir,
       @Nonnull String tableName, @Nonnull String segmentName, @Nonnull String mergeType,
-      @Nullable Map<String, String> rollupPreAggregateType, @Nullable IndexingConfig indexingConfig) {
+      @Nullable Map<String, String> rollupPreAggregateType, @Nullable IndexingConfig indexingConfig, int numThreads) {
     _inputIndexDirs = inputIndexDirs;
     _workingDir = workingDir;
     _tableName = tableName;
@@ -58,6 +59,7 @@ public class MergeRollupSegmentConverter {
     _mergeType = MergeType.fromString(mergeType);
     _rolllupPreAggregateType = rollupPreAggregateType;
     _indexingConfig = indexingConfig;
+    _numThreads = numThreads;
   }
 
   public List<File> convert()
@@ -86,10 +88,10 @@ public class MergeRollupSegmentConverter {
    */
   private List<File> concatenateSegments()
       throws Exception {
-    SegmentConverter concatenateSegmentConverter =
-        new SegmentConverter.Builder().setTableName(_tableName).setSegmentName(_segmentName)
+    ParallelSegmentConverter concatenateSegmentConverter =
+        new ParallelSegmentConverter.Builder().setTableName(_tableName).setSegmentName(_segmentName)
             .setInputIndexDirs(_inputIndexDirs).setWorkingDir(_workingDir).setRecordTransformer((row) -> row)
-            .setIndexingConfig(_indexingConfig).build();
+            .setIndexingConfig(_indexingConfig).setNumThreads(_numThreads).build();
 
     return concatenateSegmentConverter.convertSegment();
   }
@@ -118,11 +120,11 @@ public class MergeRollupSegmentConverter {
     // Initialize roll-up record aggregator
     RecordAggregator rollupRecordAggregator = new RollupRecordAggregator(schema, _rolllupPreAggregateType);
 
-    SegmentConverter rollupSegmentConverter =
-        new SegmentConverter.Builder().setTableName(_tableName).setSegmentName(_segmentName)
+    ParallelSegmentConverter rollupSegmentConverter =
+        new ParallelSegmentConverter.Builder().setTableName(_tableName).setSegmentName(_segmentName)
             .setInputIndexDirs(_inputIndexDirs).setWorkingDir(_workingDir).setRecordTransformer(rollupRecordTransformer)
             .setRecordAggregator(rollupRecordAggregator).setGroupByColumns(groupByColumns)
-            .setIndexingConfig(_indexingConfig).build();
+            .setIndexingConfig(_indexingConfig).setNumThreads(_numThreads).build();
 
     return rollupSegmentConverter.convertSegment();
   }
@@ -138,6 +140,7 @@ public class MergeRollupSegmentConverter {
     // Optional
     private Map<String, String> _rollupPreAggregateType;
     private IndexingConfig _indexingConfig;
+    private int _numThreads = 1;
 
     public Builder setInputIndexDirs(List<File> inputIndexDirs) {
       _inputIndexDirs = inputIndexDirs;
@@ -174,9 +177,14 @@ public class MergeRollupSegmentConverter {
       return this;
     }
 
+    public Builder setNumThreads(int numThreads) {
+      _numThreads = numThreads;
+      return this;
+    }
+
     public MergeRollupSegmentConverter build() {
       return new MergeRollupSegmentConverter(_inputIndexDirs, _workingDir, _tableName, _segmentName, _mergeType,
-          _rollupPreAggregateType, _indexingConfig);
+          _rollupPreAggregateType, _indexingConfig, _numThreads);
     }
   }
 }
@@ -20,6 +20,7 @@ package org.apache.pinot.core.minion.segment;
 
 import com.google.common.base.Preconditions;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.pinot.common.data.Schema;
@@ -34,8 +35,11 @@ import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
  * Record reader for reducer stage of the segment conversion
  */
 public class ReducerRecordReader implements RecordReader {
+  // Rows of a group are aggregated into a single row whenever the buffered rows reach this number, so that large groups
+  // do not need to fit in memory (the record aggregator is expected to be associative)
+  private static final int MAX_NUM_BUFFERED_ROWS_PER_GROUP = 1000;
 
-  private PinotSegmentRecordReader _recordReader;
+  private RecordReader _recordReader;
   private RecordAggregator _recordAggregator;
   private List<String> _groupByColumns;
 
@@ -46,7 +50,16 @@ public class ReducerRecordReader implements RecordReader {
 
   public ReducerRecordReader(File indexDir, RecordAggregator recordAggregator, List<String> groupByColumns)
       throws Exception {
-    _recordReader = new PinotSegmentRecordReader(indexDir, null, groupByColumns);
+    this(new PinotSegmentRecordReader(indexDir, null, groupByColumns), recordAggregator, groupByColumns);
+  }
+
+  /**
+   * Constructor for a record reader whose rows are already sorted on the group-by columns. The record reader will be
+   * closed when this reducer record reader is closed.
+   */
+  public ReducerRecordReader(RecordReader sortedRecordReader, RecordAggregator recordAggregator,
+      List<String> groupByColumns) {
+    _recordReader = sortedRecordReader;
     _recordAggregator = recordAggregator;
     _groupByColumns = groupByColumns;
   }
@@ -67,11 +80,21 @@ public class ReducerRecordReader implements RecordReader {
     }
 
     while (_recordReader.hasNext()) {
-      GenericRow currentRow = _recordReader.next();
+      GenericRow currentRow;
+      try {
+        currentRow = _recordReader.next();
+      } catch (IOException e) {
+        throw new RuntimeException("Caught exception while reading the next row", e);
+      }
 
       // Grouping rows by the given group-by columns
       if (_rowGroup.isEmpty() || haveSameGroupByColumns(_rowGroup.iterator().next(), currentRow)) {
         _rowGroup.add(currentRow);
+        if (_rowGroup.size() >= MAX_NUM_BUFFERED_ROWS_PER_GROUP) {
+          GenericRow aggregatedRow = _recordAggregator.aggregateRecords(_rowGroup);
+          _rowGroup.clear();
+          _rowGroup.add(aggregatedRow);
+        }
       } else {
         // Aggregate the list of rows into a single row
         _nextRow = _recordAggregator.aggregateRecords(_rowGroup);
@@ -107,7 +130,8 @@ public class ReducerRecordReader implements RecordReader {
   }
 
   @Override
-  public void rewind() {
+  public void rewind()
+      throws IOException {
     _recordReader.rewind();
     _rowGroup.clear();
     _nextRowReturned = true;
@@ -120,7 +144,8 @@ public class ReducerRecordReader implements RecordReader {
   }
 
   @Override
-  public void close() {
+  public void close()
+      throws IOException {
     _recordReader.close();
   }
 
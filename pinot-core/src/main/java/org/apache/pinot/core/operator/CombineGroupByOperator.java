@@ -30,6 +30,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.pinot.common.exception.QueryException;
 import org.apache.pinot.common.request.BrokerRequest;
@@ -42,6 +43,9 @@ import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils
 import org.apache.pinot.core.query.aggregation.groupby.AggregationGroupByResult;
 import org.apache.pinot.core.query.aggregation.groupby.AggregationGroupByTrimmingService;
 import org.apache.pinot.core.query.aggregation.groupby.GroupKeyGenerator;
+import org.apache.pinot.core.query.exception.QueryMemoryLimitExceededException;
+import org.apache.pinot.core.query.scheduler.resources.BoundedAccountingExecutor;
+import org.apache.pinot.core.query.scheduler.resources.QueryMemoryTracker;
 import org.apache.pinot.core.util.trace.TraceRunnable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +58,13 @@ public class CombineGroupByOperator extends BaseOperator<IntermediateResultsBloc
   private static final Logger LOGGER = LoggerFactory.getLogger(CombineGroupByOperator.class);
   private static final String OPERATOR_NAME = "CombineGroupByOperator";
 
+  // Memory for the merged groups is allocated from the query memory tracker in batches of this number of groups
+  private static final int MEMORY_TRACKING_BATCH_SIZE = 1024;
+  // Estimated heap size of a merged group without the results (map node, string key and result array header)
+  private static final int MERGED_GROUP_SIZE_IN_BYTES = 112;
+  // Estimated heap size of a reference plus an intermediate result object
+  private static final int MERGED_RESULT_SIZE_IN_BYTES = 64;
+
   private final List<Operator> _operators;
   private final BrokerRequest _brokerRequest;
   private final ExecutorService _executorService;
@@ -96,7 +107,9 @@ public class CombineGroupByOperator extends BaseOperator<IntermediateResultsBloc
     CountDownLatch operatorLatch = new CountDownLatch(numOperators);
     ConcurrentHashMap<String, Object[]> resultsMap = new ConcurrentHashMap<>();
     AtomicInteger numGroups = new AtomicInteger();
+    AtomicBoolean memoryLimitReached = new AtomicBoolean();
     ConcurrentLinkedQueue<ProcessingException> mergedProcessingExceptions = new ConcurrentLinkedQueue<>();
+    QueryMemoryTracker queryMemoryTracker = QueryMemoryTracker.get();
 
     AggregationFunctionContext[] aggregationFunctionContexts =
         AggregationFunctionUtils.getAggregationFunctionContexts(_brokerRequest.getAggregationsInfo(), null);
@@ -105,6 +118,8 @@ public class CombineGroupByOperator extends BaseOperator<IntermediateResultsBloc
     for (int i = 0; i < numAggregationFunctions; i++) {
       aggregationFunctions[i] = aggregationFunctionContexts[i].getAggregationFunction();
     }
+    long memoryTrackingBatchSizeInBytes = (long) MEMORY_TRACKING_BATCH_SIZE * (MERGED_GROUP_SIZE_IN_BYTES
+        + MERGED_RESULT_SIZE_IN_BYTES * numAggregationFunctions);
 
     Future[] futures = new Future[numOperators];
     for (int i = 0; i < numOperators; i++) {
@@ -116,6 +131,8 @@ public class CombineGroupByOperator extends BaseOperator<IntermediateResultsBloc
           AggregationGroupByResult aggregationGroupByResult;
 
           try {
+            // Charge the CPU time so far and get deprioritized if the query exceeded its CPU budget
+            BoundedAccountingExecutor.checkpoint();
             IntermediateResultsBlock intermediateResultsBlock =
                 (IntermediateResultsBlock) _operators.get(index).nextBlock();
 
@@ -134,8 +151,17 @@ public class CombineGroupByOperator extends BaseOperator<IntermediateResultsBloc
                 GroupKeyGenerator.GroupKey groupKey = groupKeyIterator.next();
                 resultsMap.compute(groupKey._stringKey, (key, value) -> {
                   if (value == null) {
-                    if (numGroups.get() < _numGroupsLimit) {
-                      numGroups.getAndIncrement();
+                    if (numGroups.get() < _numGroupsLimit && !memoryLimitReached.get()) {
+                      int groupIndex = numGroups.getAndIncrement();
+                      if (queryMemoryTracker != null && groupIndex % MEMORY_TRACKING_BATCH_SIZE == 0) {
+                        if (queryMemoryTracker.getOverflowPolicy() == QueryMemoryTracker.OverflowPolicy.TRIM) {
+                          if (!queryMemoryTracker.tryAllocate(memoryTrackingBatchSizeInBytes)) {
+                            memoryLimitReached.set(true);
+                          }
+                        } else {
+                          queryMemoryTracker.allocate(memoryTrackingBatchSizeInBytes, "combined group-by results");
+                        }
+                      }
                       value = new Object[numAggregationFunctions];
                       for (int i = 0; i < numAggregationFunctions; i++) {
                         value[i] = aggregationGroupByResult.getResultForKey(groupKey, i);
@@ -150,7 +176,16 @@ public class CombineGroupByOperator extends BaseOperator<IntermediateResultsBloc
                   return value;
                 });
               }
+              // The per-segment group-by result is no longer referenced after being merged
+              if (queryMemoryTracker != null) {
+                queryMemoryTracker.release(aggregationGroupByResult.getTrackedSizeInBytes());
+              }
             }
+          } catch (QueryMemoryLimitExceededException e) {
+            LOGGER.warn("Memory limit exceeded while processing CombineGroupBy for index {}: {}", index,
+                e.getMessage());
+            mergedProcessingExceptions
+                .add(QueryException.getException(QueryException.QUERY_MEMORY_LIMIT_EXCEEDED_ERROR, e.getMessage()));
           } catch (Exception e) {
             LOGGER.error("Exception processing CombineGroupBy for index {}, operator {}", index,
                 _operators.get(index).getClass().getName(), e);
@@ -202,6 +237,10 @@ public class CombineGroupByOperator extends BaseOperator<IntermediateResultsBloc
       if (numGroups.get() >= _numGroupsLimit) {
         mergedBlock.setNumGroupsLimitReached(true);
       }
+      // Results are also trimmed when the query memory limit is reached under the TRIM policy
+      if (queryMemoryTracker != null && queryMemoryTracker.isLimitReached()) {
+        mergedBlock.setNumGroupsLimitReached(true);
+      }
 
       return mergedBlock;
     } catch (Exception e) {
@@ -33,6 +33,7 @@ import org.apache.pinot.core.common.Block;
 import org.apache.pinot.core.common.Operator;
 import org.apache.pinot.core.operator.blocks.IntermediateResultsBlock;
 import org.apache.pinot.core.query.reduce.CombineService;
+import org.apache.pinot.core.query.scheduler.resources.BoundedAccountingExecutor;
 import org.apache.pinot.core.util.trace.TraceCallable;
 import org.apache.pinot.core.util.trace.TraceRunnable;
 import org.slf4j.Logger;
@@ -53,7 +54,7 @@ public class CombineOperator extends BaseOperator<IntermediateResultsBlock> {
   //Make this configurable
   //These two control the parallelism on a per query basis, depending on the number of segments to process
   private static final int MIN_THREADS_PER_QUERY;
-  private static final int MAX_THREADS_PER_QUERY;
+  public static final int MAX_THREADS_PER_QUERY;
   private static final int MIN_SEGMENTS_PER_THREAD = 10;
 
   static {
@@ -97,6 +98,8 @@ public class CombineOperator extends BaseOperator<IntermediateResultsBlock> {
           IntermediateResultsBlock mergedBlock = null;
           try {
             for (Operator operator : operatorGroup) {
+              // Charge the CPU time so far and get deprioritized if the query exceeded its CPU budget
+              BoundedAccountingExecutor.checkpoint();
               IntermediateResultsBlock blockToMerge = (IntermediateResultsBlock) operator.nextBlock();
               if (mergedBlock == null) {
                 mergedBlock = blockToMerge;
@@ -32,6 +32,8 @@ import org.apache.pinot.core.plan.DocIdSetPlanNode;
  * The <code>DocIdSetOperator</code> takes a filter operator and returns blocks with set of the matched document Ids.
  * <p>Should call {@link #nextBlock()} multiple times until it returns <code>null</code> (already exhausts all the
  * matched documents) or already gathered enough documents (for selection queries).
+ * <p>The operator can optionally be restricted to a range of document ids, so that a large segment can be split into
+ * multiple sub-ranges which are processed in parallel.
  */
 public class DocIdSetOperator extends BaseOperator<DocIdSetBlock> {
   private static final String OPERATOR_NAME = "DocIdSetOperator";
@@ -45,15 +47,33 @@ public class DocIdSetOperator extends BaseOperator<DocIdSetBlock> {
 
   private final BaseFilterOperator _filterOperator;
   private final int _maxSizeOfDocIdSet;
+  private final int _startDocId;
+  private final int _endDocId;
 
   private FilterBlockDocIdSet _filterBlockDocIdSet;
   private BlockDocIdIterator _blockDocIdIterator;
   private int _currentDocId = 0;
 
   public DocIdSetOperator(@Nonnull BaseFilterOperator filterOperator, int maxSizeOfDocIdSet) {
+    this(filterOperator, maxSizeOfDocIdSet, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Constructor for the operator restricted to the given document id range.
+   *
+   * @param filterOperator Filter operator
+   * @param maxSizeOfDocIdSet Maximum number of document ids in each block
+   * @param startDocId Start document id (inclusive)
+   * @param endDocId End document id (exclusive)
+   */
+  public DocIdSetOperator(@Nonnull BaseFilterOperator filterOperator, int maxSizeOfDocIdSet, int startDocId,
+      int endDocId) {
     Preconditions.checkArgument(maxSizeOfDocIdSet > 0 && maxSizeOfDocIdSet <= DocIdSetPlanNode.MAX_DOC_PER_CALL);
+    Preconditions.checkArgument(startDocId >= 0 && startDocId <= endDocId);
     _filterOperator = filterOperator;
     _maxSizeOfDocIdSet = maxSizeOfDocIdSet;
+    _startDocId = startDocId;
+    _endDocId = endDocId;
   }
 
   @Override
@@ -71,8 +91,14 @@ public class DocIdSetOperator extends BaseOperator<DocIdSetBlock> {
     int pos = 0;
     int[] docIds = THREAD_LOCAL_DOC_IDS.get();
     for (int i = 0; i < _maxSizeOfDocIdSet; i++) {
-      _currentDocId = _blockDocIdIterator.next();
-      if (_currentDocId == Constants.EOF) {
+      if (_currentDocId < _startDocId) {
+        // Skip the documents before the start of the range
+        _currentDocId = _blockDocIdIterator.advance(_startDocId);
+      } else {
+        _currentDocId = _blockDocIdIterator.next();
+      }
+      if (_currentDocId == Constants.EOF || _currentDocId >= _endDocId) {
+        _currentDocId = Constants.EOF;
         break;
       }
       docIds[pos++] = _currentDocId;
@@ -18,6 +18,10 @@
  */
 package org.apache.pinot.core.operator;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+
+
 /**
  * The <code>ExecutionStatistics</code> class contains the operator statistics during execution time.
  */
@@ -34,12 +38,35 @@ public class ExecutionStatistics {
 
   public ExecutionStatistics(long numDocsScanned, long numEntriesScannedInFilter, long numEntriesScannedPostFilter,
       long numTotalRawDocs) {
+    this(numDocsScanned, numEntriesScannedInFilter, numEntriesScannedPostFilter, numTotalRawDocs, true, null);
+  }
+
+  /**
+   * Constructor for the execution statistics of an operator which might only process a sub-range of a segment.
+   * <p>When a segment is split into multiple sub-ranges, only one of them should count the segment as processed so
+   * that the number of segments processed is not inflated. The sub-ranges share the <code>segmentMatched</code> flag,
+   * and the segment is counted as matched by the first sub-range with matching documents, no matter which one.
+   *
+   * @param countSegment Whether to count the segment as processed
+   * @param segmentMatched Flag shared by all the sub-ranges of the segment, or <code>null</code> if the segment is not
+   *                       split
+   */
+  public ExecutionStatistics(long numDocsScanned, long numEntriesScannedInFilter, long numEntriesScannedPostFilter,
+      long numTotalRawDocs, boolean countSegment, @Nullable AtomicBoolean segmentMatched) {
     _numDocsScanned = numDocsScanned;
     _numEntriesScannedInFilter = numEntriesScannedInFilter;
     _numEntriesScannedPostFilter = numEntriesScannedPostFilter;
     _numTotalRawDocs = numTotalRawDocs;
-    _numSegmentsProcessed = 1;
-    _numSegmentsMatched = (numDocsScanned == 0) ? 0 : 1;
+    if (countSegment) {
+      _numSegmentsProcessed = 1;
+    }
+    if (numDocsScanned != 0) {
+      if (segmentMatched == null) {
+        _numSegmentsMatched = countSegment ? 1 : 0;
+      } else {
+        _numSegmentsMatched = segmentMatched.compareAndSet(false, true) ? 1 : 0;
+      }
+    }
   }
 
   public long getNumDocsScanned() {
@@ -22,11 +22,13 @@ import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import org.apache.pinot.core.common.Block;
+import org.apache.pinot.core.common.BlockValSet;
 import org.apache.pinot.core.common.DataBlockCache;
 import org.apache.pinot.core.common.DataFetcher;
 import org.apache.pinot.core.common.DataSource;
 import org.apache.pinot.core.operator.blocks.DocIdSetBlock;
 import org.apache.pinot.core.operator.blocks.ProjectionBlock;
+import org.apache.pinot.core.operator.docvalsets.ProjectionBlockValSet;
 
 
 public class ProjectionOperator extends BaseOperator<ProjectionBlock> {
@@ -34,18 +36,27 @@ public class ProjectionOperator extends BaseOperator<ProjectionBlock> {
 
   private final Map<String, DataSource> _dataSourceMap;
   private final Map<String, Block> _dataBlockMap;
+  private final Map<String, BlockValSet> _blockValSetMap;
   private final DocIdSetOperator _docIdSetOperator;
   private final DataBlockCache _dataBlockCache;
 
   public ProjectionOperator(@Nonnull Map<String, DataSource> dataSourceMap,
       @Nonnull DocIdSetOperator docIdSetOperator) {
     _dataSourceMap = dataSourceMap;
-    _dataBlockMap = new HashMap<>(dataSourceMap.size());
-    for (Map.Entry<String, DataSource> entry : dataSourceMap.entrySet()) {
-      _dataBlockMap.put(entry.getKey(), entry.getValue().nextBlock());
-    }
     _docIdSetOperator = docIdSetOperator;
     _dataBlockCache = new DataBlockCache(new DataFetcher(dataSourceMap));
+
+    // Resolve the column index for each projected column once, and reuse the block value sets across blocks
+    int numColumns = dataSourceMap.size();
+    _dataBlockMap = new HashMap<>(numColumns);
+    _blockValSetMap = new HashMap<>(numColumns);
+    for (Map.Entry<String, DataSource> entry : dataSourceMap.entrySet()) {
+      String column = entry.getKey();
+      Block dataBlock = entry.getValue().nextBlock();
+      _dataBlockMap.put(column, dataBlock);
+      _blockValSetMap.put(column,
+          new ProjectionBlockValSet(_dataBlockCache, column, dataBlock.getMetadata().getDataType()));
+    }
   }
 
   /**
@@ -73,7 +84,7 @@ public class ProjectionOperator extends BaseOperator<ProjectionBlock> {
       return null;
     } else {
       _dataBlockCache.initNewBlock(docIdSetBlock.getDocIdSet(), docIdSetBlock.getSearchableLength());
-      return new ProjectionBlock(_dataBlockMap, _dataBlockCache, docIdSetBlock);
+      return new ProjectionBlock(_dataBlockMap, _blockValSetMap, docIdSetBlock);
     }
   }
 
@@ -38,6 +38,7 @@ import org.apache.pinot.core.common.datatable.DataTableBuilder;
 import org.apache.pinot.core.common.datatable.DataTableImplV2;
 import org.apache.pinot.core.query.aggregation.AggregationFunctionContext;
 import org.apache.pinot.core.query.aggregation.groupby.AggregationGroupByResult;
+import org.apache.pinot.core.query.exception.QueryMemoryLimitExceededException;
 import org.apache.pinot.core.query.selection.SelectionOperatorUtils;
 
 
@@ -106,7 +107,8 @@ public class IntermediateResultsBlock implements Block {
    * Constructor for exception block.
    */
   public IntermediateResultsBlock(@Nonnull Exception e) {
-    this(QueryException.QUERY_EXECUTION_ERROR, e);
+    this(e instanceof QueryMemoryLimitExceededException ? QueryException.QUERY_MEMORY_LIMIT_EXCEEDED_ERROR
+        : QueryException.QUERY_EXECUTION_ERROR, e);
   }
 
   @Nullable
@@ -35,7 +35,7 @@ public final class MultiValueBlock implements Block {
 
   public MultiValueBlock(SingleColumnMultiValueReader reader, int numDocs, int maxNumMultiValues,
       FieldSpec.DataType dataType, Dictionary dictionary) {
-    _blockValSet = new MultiValueSet(reader, numDocs, dataType);
+    _blockValSet = new MultiValueSet(reader, numDocs, maxNumMultiValues, dataType);
     _blockMetadata = new BlockMetadataImpl(numDocs, false, maxNumMultiValues, dataType, dictionary);
   }
 
@@ -24,8 +24,6 @@ import org.apache.pinot.core.common.BlockDocIdSet;
 import org.apache.pinot.core.common.BlockDocIdValueSet;
 import org.apache.pinot.core.common.BlockMetadata;
 import org.apache.pinot.core.common.BlockValSet;
-import org.apache.pinot.core.common.DataBlockCache;
-import org.apache.pinot.core.operator.docvalsets.ProjectionBlockValSet;
 
 
 /**
@@ -34,13 +32,14 @@ import org.apache.pinot.core.operator.docvalsets.ProjectionBlockValSet;
  */
 public class ProjectionBlock implements Block {
   private final Map<String, Block> _blockMap;
+  private final Map<String, BlockValSet> _blockValSetMap;
   private final DocIdSetBlock _docIdSetBlock;
-  private final DataBlockCache _dataBlockCache;
 
-  public ProjectionBlock(Map<String, Block> blockMap, DataBlockCache dataBlockCache, DocIdSetBlock docIdSetBlock) {
+  public ProjectionBlock(Map<String, Block> blockMap, Map<String, BlockValSet> blockValSetMap,
+      DocIdSetBlock docIdSetBlock) {
     _blockMap = blockMap;
+    _blockValSetMap = blockValSetMap;
     _docIdSetBlock = docIdSetBlock;
-    _dataBlockCache = dataBlockCache;
   }
 
   @Override
@@ -69,7 +68,7 @@ public class ProjectionBlock implements Block {
   }
 
   public BlockValSet getBlockValueSet(String column) {
-    return new ProjectionBlockValSet(_dataBlockCache, column, _blockMap.get(column).getMetadata().getDataType());
+    return _blockValSetMap.get(column);
   }
 
   public DocIdSetBlock getDocIdSetBlock() {
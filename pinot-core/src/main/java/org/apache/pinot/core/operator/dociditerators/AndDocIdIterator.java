@@ -37,26 +37,25 @@ public final class AndDocIdIterator implements BlockDocIdIterator {
   private boolean hasScanBasedIterators;
 
   public AndDocIdIterator(BlockDocIdIterator[] blockDocIdIterators) {
-    int numIndexBasedIterators = 0;
     int numScanBasedIterators = 0;
     for (int i = 0; i < blockDocIdIterators.length; i++) {
-      if (blockDocIdIterators[i] instanceof IndexBasedDocIdIterator) {
-        numIndexBasedIterators = numIndexBasedIterators + 1;
-      } else if (blockDocIdIterators[i] instanceof ScanBasedDocIdIterator) {
+      if (blockDocIdIterators[i] instanceof ScanBasedDocIdIterator) {
         numScanBasedIterators = numScanBasedIterators + 1;
       }
     }
-    // if we have at least one index based then do intersection based on index based only, and then
-    // check if matching docs apply on scan based iterator
-    if (numIndexBasedIterators > 0 && numScanBasedIterators > 0) {
+    // Scan based iterators are only used to check whether the docs matching the other iterators also match them. If
+    // all the iterators are scan based, the first one (the most selective one after reordering) drives the iteration.
+    // The relative order of the iterators is preserved so that the more selective ones are advanced first.
+    boolean allScanBased = numScanBasedIterators == blockDocIdIterators.length;
+    int numMatchingScanBasedIterators = allScanBased ? numScanBasedIterators - 1 : numScanBasedIterators;
+    if (numMatchingScanBasedIterators > 0) {
       hasScanBasedIterators = true;
-      int nonScanIteratorsSize = blockDocIdIterators.length - numScanBasedIterators;
-      this.docIdIterators = new BlockDocIdIterator[nonScanIteratorsSize];
-      this.scanBasedDocIdIterators = new ScanBasedDocIdIterator[numScanBasedIterators];
+      this.docIdIterators = new BlockDocIdIterator[blockDocIdIterators.length - numMatchingScanBasedIterators];
+      this.scanBasedDocIdIterators = new ScanBasedDocIdIterator[numMatchingScanBasedIterators];
       int nonScanBasedIndex = 0;
       int scanBasedIndex = 0;
       for (int i = 0; i < blockDocIdIterators.length; i++) {
-        if (blockDocIdIterators[i] instanceof ScanBasedDocIdIterator) {
+        if (blockDocIdIterators[i] instanceof ScanBasedDocIdIterator && !(allScanBased && i == 0)) {
           this.scanBasedDocIdIterators[scanBasedIndex++] = (ScanBasedDocIdIterator) blockDocIdIterators[i];
         } else {
           this.docIdIterators[nonScanBasedIndex++] = blockDocIdIterators[i];
@@ -20,6 +20,7 @@ package org.apache.pinot.core.operator.dociditerators;
 
 import org.apache.pinot.core.common.Constants;
 import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.PeekableIntIterator;
 
 
 public final class BitmapDocIdIterator implements IndexBasedDocIdIterator {
@@ -77,6 +78,10 @@ public final class BitmapDocIdIterator implements IndexBasedDocIdIterator {
 
     if (currentDocId == targetDocId) {
       return currentDocId;
+    } else if (iterator instanceof PeekableIntIterator) {
+      // Skip the containers before the target document id instead of iterating over all the values
+      ((PeekableIntIterator) iterator).advanceIfNeeded(targetDocId);
+      return next();
     } else {
       int curr = next();
       while (curr < targetDocId && curr != Constants.EOF) {
@@ -20,6 +20,7 @@ package org.apache.pinot.core.operator.docidsets;
 
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.utils.Pairs.IntPair;
 import org.apache.pinot.core.common.BlockDocIdIterator;
 import org.apache.pinot.core.common.BlockDocIdSet;
@@ -27,7 +28,6 @@ import org.apache.pinot.core.common.Constants;
 import org.apache.pinot.core.operator.dociditerators.AndDocIdIterator;
 import org.apache.pinot.core.operator.dociditerators.BitmapDocIdIterator;
 import org.apache.pinot.core.operator.dociditerators.RangelessBitmapDocIdIterator;
-import org.apache.pinot.core.operator.dociditerators.ScanBasedDocIdIterator;
 import org.apache.pinot.core.util.SortedRangeIntersection;
 import org.roaringbitmap.IntIterator;
 import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
@@ -143,72 +143,32 @@ public final class AndBlockDocIdSet implements FilterBlockDocIdSet {
 
   public BlockDocIdIterator fastIterator() {
     long start = System.currentTimeMillis();
-    List<List<IntPair>> sortedRangeSets = new ArrayList<>();
-    List<ImmutableRoaringBitmap> childBitmaps = new ArrayList<ImmutableRoaringBitmap>();
-    List<FilterBlockDocIdSet> scanBasedDocIdSets = new ArrayList<>();
+    List<FilterBlockDocIdSet> materializableDocIdSets = new ArrayList<>();
     List<BlockDocIdIterator> remainingIterators = new ArrayList<>();
+    boolean hasIndexBasedDocIdSet = false;
 
-    for (BlockDocIdSet docIdSet : blockDocIdSets) {
-      if (docIdSet instanceof SortedDocIdSet) {
-        SortedDocIdSet sortedDocIdSet = (SortedDocIdSet) docIdSet;
-        List<IntPair> pairs = sortedDocIdSet.getRaw();
-        sortedRangeSets.add(pairs);
-      } else if (docIdSet instanceof BitmapDocIdSet) {
-        BitmapDocIdSet bitmapDocIdSet = (BitmapDocIdSet) docIdSet;
-        ImmutableRoaringBitmap childBitmap = bitmapDocIdSet.getRaw();
-        childBitmaps.add(childBitmap);
-      } else if (docIdSet instanceof ScanBasedSingleValueDocIdSet) {
-        scanBasedDocIdSets.add((ScanBasedSingleValueDocIdSet) docIdSet);
-      } else if (docIdSet instanceof ScanBasedMultiValueDocIdSet) {
-        scanBasedDocIdSets.add((ScanBasedMultiValueDocIdSet) docIdSet);
+    for (FilterBlockDocIdSet docIdSet : blockDocIdSets) {
+      if (BitmapMaterializer.canMaterialize(docIdSet, false)) {
+        // Bitmap, sorted, or nested AND/OR that can be materialized without scanning
+        hasIndexBasedDocIdSet = true;
+        materializableDocIdSets.add(docIdSet);
+      } else if (BitmapMaterializer.canMaterialize(docIdSet, true)) {
+        // Scan based, or nested AND/OR that can be evaluated over the surviving docs
+        materializableDocIdSets.add(docIdSet);
       } else {
-        // TODO:handle child OR/AND as bitmap if possible
         remainingIterators.add(docIdSet.iterator());
       }
     }
-    if (childBitmaps.size() == 0 && sortedRangeSets.size() == 0) {
-      // When one or more of the operands are operators themselves, then we don't have a sorted or
-      // bitmap index. In that case, just use the AndDocIdIterator to iterate over all of of the subtree.
+    if (!hasIndexBasedDocIdSet) {
+      // When none of the operands can be materialized without scanning, then we don't have a sorted or bitmap index.
+      // In that case, just use the AndDocIdIterator to iterate over all of of the subtree.
       BlockDocIdIterator[] docIdIterators = new BlockDocIdIterator[blockDocIdSets.size()];
       for (int srcId = 0; srcId < blockDocIdSets.size(); srcId++) {
         docIdIterators[srcId] = blockDocIdSets.get(srcId).iterator();
       }
       return new AndDocIdIterator(docIdIterators);
     } else {
-      // handle sorted ranges
-      // TODO: will be nice to re-order sorted and bitmap index based on size
-      if (sortedRangeSets.size() > 0) {
-        List<IntPair> pairList;
-        pairList = SortedRangeIntersection.intersectSortedRangeSets(sortedRangeSets);
-        answer = new MutableRoaringBitmap();
-        for (IntPair pair : pairList) {
-          // end is exclusive
-          answer.add(pair.getLeft(), pair.getRight() + 1);
-        }
-      }
-      // handle bitmaps
-      if (childBitmaps.size() > 0) {
-        if (answer == null) {
-          answer = childBitmaps.get(0).toMutableRoaringBitmap();
-          for (int i = 1; i < childBitmaps.size(); i++) {
-            answer.and(childBitmaps.get(i));
-          }
-        } else {
-          for (int i = 0; i < childBitmaps.size(); i++) {
-            answer.and(childBitmaps.get(i));
-          }
-        }
-      }
-
-      // At this point, we must have 'answer' to be non-null.
-      assert (answer != null) : "sortedRangeSets=" + sortedRangeSets.size() + ",childBitmaps=" + childBitmaps.size();
-
-      // handle raw iterators
-      for (FilterBlockDocIdSet scanBasedDocIdSet : scanBasedDocIdSets) {
-        ScanBasedDocIdIterator iterator = (ScanBasedDocIdIterator) scanBasedDocIdSet.iterator();
-        MutableRoaringBitmap scanAnswer = iterator.applyAnd(answer);
-        answer.and(scanAnswer);
-      }
+      answer = intersect(materializableDocIdSets, null);
       long end = System.currentTimeMillis();
       LOGGER.debug("Time to evaluate and Filter:{}", (end - start));
       // if other iterators exists resort to iterator style intersection
@@ -226,6 +186,72 @@ public final class AndBlockDocIdSet implements FilterBlockDocIdSet {
     }
   }
 
+  /**
+   * Returns whether this doc id set can be materialized into a bitmap, see {@link BitmapMaterializer}.
+   */
+  boolean canMaterialize(boolean hasCandidates) {
+    boolean hasIndexBasedDocIdSet = false;
+    for (FilterBlockDocIdSet docIdSet : blockDocIdSets) {
+      if (BitmapMaterializer.canMaterialize(docIdSet, false)) {
+        hasIndexBasedDocIdSet = true;
+      } else if (!BitmapMaterializer.canMaterialize(docIdSet, true)) {
+        return false;
+      }
+    }
+    return hasCandidates || hasIndexBasedDocIdSet;
+  }
+
+  /**
+   * Materializes this doc id set into a bitmap, optionally restricted to the given candidate docs.
+   */
+  MutableRoaringBitmap materialize(@Nullable MutableRoaringBitmap candidates) {
+    return intersect(blockDocIdSets, candidates);
+  }
+
+  /**
+   * Intersects the given materializable doc id sets. The index based ones (including the nested ones that can be
+   * materialized without scanning) are intersected smallest first, then the remaining ones are evaluated in order over
+   * the surviving docs only.
+   */
+  private static MutableRoaringBitmap intersect(List<FilterBlockDocIdSet> docIdSets,
+      @Nullable MutableRoaringBitmap candidates) {
+    List<List<IntPair>> sortedRangeSets = new ArrayList<>();
+    List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+    List<FilterBlockDocIdSet> candidateBasedDocIdSets = new ArrayList<>();
+    if (candidates != null) {
+      bitmaps.add(candidates);
+    }
+    for (FilterBlockDocIdSet docIdSet : docIdSets) {
+      if (docIdSet instanceof SortedDocIdSet) {
+        sortedRangeSets.add(docIdSet.getRaw());
+      } else if (docIdSet instanceof BitmapDocIdSet) {
+        bitmaps.add(docIdSet.getRaw());
+      } else if (BitmapMaterializer.canMaterialize(docIdSet, false)) {
+        bitmaps.add(BitmapMaterializer.materialize(docIdSet, null));
+      } else {
+        candidateBasedDocIdSets.add(docIdSet);
+      }
+    }
+    // handle sorted ranges
+    if (sortedRangeSets.size() > 0) {
+      List<IntPair> pairList = SortedRangeIntersection.intersectSortedRangeSets(sortedRangeSets);
+      bitmaps.add(BitmapMaterializer.toBitmap(pairList));
+    }
+
+    // At this point, we must have at least one bitmap.
+    assert !bitmaps.isEmpty() : "docIdSets=" + docIdSets.size();
+    MutableRoaringBitmap answer = BitmapMaterializer.and(bitmaps);
+
+    // handle scan based and nested doc id sets over the surviving docs
+    for (FilterBlockDocIdSet docIdSet : candidateBasedDocIdSets) {
+      if (answer.isEmpty()) {
+        break;
+      }
+      answer = BitmapMaterializer.materialize(docIdSet, answer);
+    }
+    return answer;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public <T> T getRaw() {
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.docidsets;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.utils.Pairs.IntPair;
+import org.apache.pinot.core.operator.dociditerators.ScanBasedDocIdIterator;
+import org.roaringbitmap.buffer.BufferFastAggregation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Helper class to materialize (nested) filter block doc id sets into bitmaps.
+ * <p>A doc id set is only materialized when that does not require scanning the whole doc id range:
+ * <ul>
+ *   <li>Bitmap and sorted doc id sets can always be materialized</li>
+ *   <li>Scan based doc id sets can only be materialized over a candidate bitmap (via applyAnd)</li>
+ *   <li>AND doc id sets can be materialized if all the children can be materialized over the surviving docs, and
+ *   either a candidate bitmap is given or at least one child can be materialized without candidates</li>
+ *   <li>OR doc id sets can be materialized if all the children can be materialized</li>
+ * </ul>
+ * Doc id sets that cannot be materialized are left to the doc id iterators.
+ */
+public final class BitmapMaterializer {
+  private static final Comparator<ImmutableRoaringBitmap> CARDINALITY_COMPARATOR =
+      Comparator.comparingInt(ImmutableRoaringBitmap::getCardinality);
+
+  private BitmapMaterializer() {
+  }
+
+  /**
+   * Returns whether the given doc id set can be materialized into a bitmap, with or without candidate docs.
+   */
+  public static boolean canMaterialize(FilterBlockDocIdSet docIdSet, boolean hasCandidates) {
+    if (docIdSet instanceof BitmapDocIdSet || docIdSet instanceof SortedDocIdSet) {
+      return true;
+    }
+    if (docIdSet instanceof ScanBasedSingleValueDocIdSet || docIdSet instanceof ScanBasedMultiValueDocIdSet) {
+      return hasCandidates;
+    }
+    if (docIdSet instanceof AndBlockDocIdSet) {
+      return ((AndBlockDocIdSet) docIdSet).canMaterialize(hasCandidates);
+    }
+    if (docIdSet instanceof OrBlockDocIdSet) {
+      return ((OrBlockDocIdSet) docIdSet).canMaterialize(hasCandidates);
+    }
+    return false;
+  }
+
+  /**
+   * Materializes the given doc id set into a bitmap. When candidates are provided, only the candidate docs are
+   * evaluated, and the returned bitmap is a subset of the candidates.
+   * <p>Should only be called when {@link #canMaterialize(FilterBlockDocIdSet, boolean)} returns true. The returned
+   * bitmap can be modified by the caller.
+   */
+  public static MutableRoaringBitmap materialize(FilterBlockDocIdSet docIdSet,
+      @Nullable MutableRoaringBitmap candidates) {
+    if (docIdSet instanceof AndBlockDocIdSet) {
+      return ((AndBlockDocIdSet) docIdSet).materialize(candidates);
+    }
+    if (docIdSet instanceof OrBlockDocIdSet) {
+      return ((OrBlockDocIdSet) docIdSet).materialize(candidates);
+    }
+    if (docIdSet instanceof ScanBasedSingleValueDocIdSet || docIdSet instanceof ScanBasedMultiValueDocIdSet) {
+      return ((ScanBasedDocIdIterator) docIdSet.iterator()).applyAnd(candidates);
+    }
+    ImmutableRoaringBitmap bitmap = getIndexBitmap(docIdSet);
+    if (candidates != null) {
+      return ImmutableRoaringBitmap.and(candidates, bitmap);
+    } else {
+      return bitmap.toMutableRoaringBitmap();
+    }
+  }
+
+  /**
+   * Returns the bitmap for a bitmap or sorted doc id set without copying the underlying index bitmap. The returned
+   * bitmap should not be modified.
+   */
+  static ImmutableRoaringBitmap getIndexBitmap(FilterBlockDocIdSet docIdSet) {
+    if (docIdSet instanceof BitmapDocIdSet) {
+      return docIdSet.getRaw();
+    }
+    List<IntPair> pairs = docIdSet.getRaw();
+    return toBitmap(pairs);
+  }
+
+  static MutableRoaringBitmap toBitmap(List<IntPair> pairs) {
+    MutableRoaringBitmap bitmap = new MutableRoaringBitmap();
+    for (IntPair pair : pairs) {
+      // Add takes [start, end) i.e inclusive start, exclusive end
+      bitmap.add(pair.getLeft(), pair.getRight() + 1);
+    }
+    return bitmap;
+  }
+
+  /**
+   * Intersects the given bitmaps smallest first. The given bitmaps are not modified.
+   */
+  static MutableRoaringBitmap and(List<ImmutableRoaringBitmap> bitmaps) {
+    int numBitmaps = bitmaps.size();
+    if (numBitmaps == 1) {
+      return bitmaps.get(0).toMutableRoaringBitmap();
+    }
+    List<ImmutableRoaringBitmap> sortedBitmaps = new ArrayList<>(bitmaps);
+    sortedBitmaps.sort(CARDINALITY_COMPARATOR);
+    if (numBitmaps == 2) {
+      return ImmutableRoaringBitmap.and(sortedBitmaps.get(0), sortedBitmaps.get(1));
+    }
+    return BufferFastAggregation.and(sortedBitmaps.toArray(new ImmutableRoaringBitmap[numBitmaps]));
+  }
+
+  /**
+   * Unions the given bitmaps. The given bitmaps are not modified.
+   */
+  static MutableRoaringBitmap or(List<ImmutableRoaringBitmap> bitmaps) {
+    int numBitmaps = bitmaps.size();
+    if (numBitmaps == 0) {
+      return new MutableRoaringBitmap();
+    }
+    if (numBitmaps == 1) {
+      return bitmaps.get(0).toMutableRoaringBitmap();
+    }
+    return BufferFastAggregation.or(bitmaps.toArray(new ImmutableRoaringBitmap[numBitmaps]));
+  }
+}
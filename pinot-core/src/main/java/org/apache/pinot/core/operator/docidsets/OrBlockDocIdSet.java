@@ -20,9 +20,8 @@ package org.apache.pinot.core.operator.docidsets;
 
 import java.util.ArrayList;
 import java.util.List;
-import org.apache.pinot.common.utils.Pairs;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.common.BlockDocIdIterator;
-import org.apache.pinot.core.common.BlockDocIdSet;
 import org.apache.pinot.core.operator.dociditerators.BitmapDocIdIterator;
 import org.apache.pinot.core.operator.dociditerators.OrDocIdIterator;
 import org.roaringbitmap.IntIterator;
@@ -77,29 +76,23 @@ public final class OrBlockDocIdSet implements FilterBlockDocIdSet {
   @Override
   public BlockDocIdIterator iterator() {
     boolean useBitmapOr = false;
-    for (BlockDocIdSet docIdSet : _docIdSets) {
-      if (docIdSet instanceof BitmapDocIdSet) {
+    for (FilterBlockDocIdSet docIdSet : _docIdSets) {
+      if (!(docIdSet instanceof SortedDocIdSet) && BitmapMaterializer.canMaterialize(docIdSet, false)) {
         useBitmapOr = true;
         break;
       }
     }
     if (useBitmapOr) {
       List<BlockDocIdIterator> iterators = new ArrayList<>();
-      MutableRoaringBitmap bitmap = new MutableRoaringBitmap();
-      for (BlockDocIdSet docIdSet : _docIdSets) {
-        if (docIdSet instanceof SortedDocIdSet) {
-          List<Pairs.IntPair> pairs = docIdSet.getRaw();
-          for (Pairs.IntPair pair : pairs) {
-            // Add takes [start, end) i.e inclusive start, exclusive end
-            bitmap.add(pair.getLeft(), pair.getRight() + 1);
-          }
-        } else if (docIdSet instanceof BitmapDocIdSet) {
-          bitmap.or((ImmutableRoaringBitmap) docIdSet.getRaw());
+      List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+      for (FilterBlockDocIdSet docIdSet : _docIdSets) {
+        if (BitmapMaterializer.canMaterialize(docIdSet, false)) {
+          bitmaps.add(getBitmap(docIdSet));
         } else {
           iterators.add(docIdSet.iterator());
         }
       }
-      IntIterator intIterator = bitmap.getIntIterator();
+      IntIterator intIterator = BitmapMaterializer.or(bitmaps).getIntIterator();
       BitmapDocIdIterator bitmapDocIdIterator = new BitmapDocIdIterator(intIterator);
       bitmapDocIdIterator.setStartDocId(_minDocId);
       bitmapDocIdIterator.setEndDocId(_maxDocId);
@@ -119,6 +112,56 @@ public final class OrBlockDocIdSet implements FilterBlockDocIdSet {
     }
   }
 
+  /**
+   * Returns whether this doc id set can be materialized into a bitmap, see {@link BitmapMaterializer}.
+   */
+  boolean canMaterialize(boolean hasCandidates) {
+    for (FilterBlockDocIdSet docIdSet : _docIdSets) {
+      if (!BitmapMaterializer.canMaterialize(docIdSet, hasCandidates)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Materializes this doc id set into a bitmap, optionally restricted to the given candidate docs.
+   * <p>The index based children are unioned first, then the remaining children are only evaluated over the candidate
+   * docs that are not matched yet.
+   */
+  MutableRoaringBitmap materialize(@Nullable MutableRoaringBitmap candidates) {
+    List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+    List<FilterBlockDocIdSet> candidateBasedDocIdSets = new ArrayList<>();
+    for (FilterBlockDocIdSet docIdSet : _docIdSets) {
+      if (BitmapMaterializer.canMaterialize(docIdSet, false)) {
+        bitmaps.add(getBitmap(docIdSet));
+      } else {
+        candidateBasedDocIdSets.add(docIdSet);
+      }
+    }
+    MutableRoaringBitmap answer = BitmapMaterializer.or(bitmaps);
+    if (candidates == null) {
+      return answer;
+    }
+    answer.and(candidates);
+    for (FilterBlockDocIdSet docIdSet : candidateBasedDocIdSets) {
+      MutableRoaringBitmap unmatchedCandidates = ImmutableRoaringBitmap.andNot(candidates, answer);
+      if (unmatchedCandidates.isEmpty()) {
+        break;
+      }
+      answer.or(BitmapMaterializer.materialize(docIdSet, unmatchedCandidates));
+    }
+    return answer;
+  }
+
+  private static ImmutableRoaringBitmap getBitmap(FilterBlockDocIdSet docIdSet) {
+    if (docIdSet instanceof BitmapDocIdSet || docIdSet instanceof SortedDocIdSet) {
+      return BitmapMaterializer.getIndexBitmap(docIdSet);
+    } else {
+      return BitmapMaterializer.materialize(docIdSet, null);
+    }
+  }
+
   @Override
   public <T> T getRaw() {
     throw new UnsupportedOperationException();
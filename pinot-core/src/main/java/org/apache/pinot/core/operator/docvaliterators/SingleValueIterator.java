@@ -21,25 +21,53 @@ package org.apache.pinot.core.operator.docvaliterators;
 import org.apache.pinot.core.common.BlockSingleValIterator;
 import org.apache.pinot.core.io.reader.ReaderContext;
 import org.apache.pinot.core.io.reader.SingleColumnSingleValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitSingleValueReader;
 
 
 @SuppressWarnings("unchecked")
 public final class SingleValueIterator extends BlockSingleValIterator {
+  // Number of dictionary ids bulk-decoded at a time when iterating a fixed-bit reader sequentially
+  private static final int DICT_ID_BUFFER_SIZE = 128;
+
   private final SingleColumnSingleValueReader _reader;
   private final int _numDocs;
   private final ReaderContext _context;
+  private final int[] _dictIdBuffer;
 
   private int _nextDocId;
+  private int _previousDocId = -2;
+  private int _bufferStartDocId;
+  private int _bufferLength;
 
   public SingleValueIterator(SingleColumnSingleValueReader reader, int numDocs) {
     _reader = reader;
     _numDocs = numDocs;
     _context = _reader.createContext();
+    _dictIdBuffer = reader instanceof FixedBitSingleValueReader ? new int[DICT_ID_BUFFER_SIZE] : null;
   }
 
   @Override
   public int nextIntVal() {
-    return _reader.getInt(_nextDocId++, _context);
+    int docId = _nextDocId++;
+    if (_dictIdBuffer == null) {
+      return _reader.getInt(docId, _context);
+    }
+
+    // For sequential scans over a fixed-bit reader, bulk-decode the following dictionary ids into the buffer; random
+    // accesses (e.g. when applying on top of a bitmap) read the single value to avoid decoding unused values
+    int bufferIndex = docId - _bufferStartDocId;
+    if (bufferIndex < 0 || bufferIndex >= _bufferLength) {
+      if (docId != _previousDocId + 1) {
+        _previousDocId = docId;
+        return _reader.getInt(docId, _context);
+      }
+      _bufferStartDocId = docId;
+      _bufferLength = Math.min(DICT_ID_BUFFER_SIZE, _numDocs - docId);
+      _reader.readValues(docId, _bufferLength, _context, _dictIdBuffer);
+      bufferIndex = 0;
+    }
+    _previousDocId = docId;
+    return _dictIdBuffer[bufferIndex];
   }
 
   @Override
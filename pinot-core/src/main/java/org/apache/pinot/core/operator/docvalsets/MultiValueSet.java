@@ -21,18 +21,28 @@ package org.apache.pinot.core.operator.docvalsets;
 import org.apache.pinot.common.data.FieldSpec.DataType;
 import org.apache.pinot.core.common.BaseBlockValSet;
 import org.apache.pinot.core.common.BlockValIterator;
+import org.apache.pinot.core.io.reader.ReaderContext;
 import org.apache.pinot.core.io.reader.SingleColumnMultiValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
 import org.apache.pinot.core.operator.docvaliterators.MultiValueIterator;
 
 
+@SuppressWarnings("unchecked")
 public final class MultiValueSet extends BaseBlockValSet {
   private final SingleColumnMultiValueReader _reader;
   private final int _numDocs;
+  private final int _maxNumMultiValues;
   private final DataType _dataType;
 
-  public MultiValueSet(SingleColumnMultiValueReader reader, int numDocs, DataType dataType) {
+  // Lazily initialized for the bulk read methods
+  private ReaderContext _readerContext;
+  private int[] _reusableDocDictIds;
+  private int[] _reusableDictIds;
+
+  public MultiValueSet(SingleColumnMultiValueReader reader, int numDocs, int maxNumMultiValues, DataType dataType) {
     _reader = reader;
     _numDocs = numDocs;
+    _maxNumMultiValues = maxNumMultiValues;
     _dataType = dataType;
   }
 
@@ -45,4 +55,67 @@ public final class MultiValueSet extends BaseBlockValSet {
   public DataType getValueType() {
     return _dataType;
   }
+
+  /**
+   * Reads the number of values for the given document Ids (sorted in ascending order) into
+   * {@code outNumValues[0, length)}.
+   */
+  public void getNumValues(int[] docIds, int length, int[] outNumValues) {
+    ReaderContext readerContext = getReaderContext();
+    if (_reader instanceof FixedBitPrefixSumMultiValueReader) {
+      ((FixedBitPrefixSumMultiValueReader) _reader).getNumValues(docIds, length, outNumValues,
+          (FixedBitPrefixSumMultiValueReader.Context) readerContext);
+    } else {
+      int[] docDictIds = getReusableDocDictIds();
+      for (int i = 0; i < length; i++) {
+        outNumValues[i] = _reader.getIntArray(docIds[i], docDictIds, readerContext);
+      }
+    }
+  }
+
+  /**
+   * Reads the dictionary Ids for the given document Ids (sorted in ascending order). The number of values of each
+   * document are read into {@code outNumValues[0, length)}, and the dictionary Ids of all the documents are
+   * concatenated into the returned array.
+   * <p>NOTE: The returned array is reused, and is only valid until the next call.
+   */
+  public int[] getDictionaryIds(int[] docIds, int length, int[] outNumValues) {
+    ReaderContext readerContext = getReaderContext();
+    if (_reader instanceof FixedBitPrefixSumMultiValueReader) {
+      return ((FixedBitPrefixSumMultiValueReader) _reader).getIntArrays(docIds, length, outNumValues,
+          (FixedBitPrefixSumMultiValueReader.Context) readerContext);
+    } else {
+      int[] docDictIds = getReusableDocDictIds();
+      if (_reusableDictIds == null) {
+        _reusableDictIds = new int[_maxNumMultiValues];
+      }
+      int numDictIds = 0;
+      for (int i = 0; i < length; i++) {
+        int numValues = _reader.getIntArray(docIds[i], docDictIds, readerContext);
+        outNumValues[i] = numValues;
+        if (_reusableDictIds.length < numDictIds + numValues) {
+          int[] dictIds = new int[Math.max(2 * _reusableDictIds.length, numDictIds + numValues)];
+          System.arraycopy(_reusableDictIds, 0, dictIds, 0, numDictIds);
+          _reusableDictIds = dictIds;
+        }
+        System.arraycopy(docDictIds, 0, _reusableDictIds, numDictIds, numValues);
+        numDictIds += numValues;
+      }
+      return _reusableDictIds;
+    }
+  }
+
+  private ReaderContext getReaderContext() {
+    if (_readerContext == null) {
+      _readerContext = _reader.createContext();
+    }
+    return _readerContext;
+  }
+
+  private int[] getReusableDocDictIds() {
+    if (_reusableDocDictIds == null) {
+      _reusableDocDictIds = new int[_maxNumMultiValues];
+    }
+    return _reusableDocDictIds;
+  }
 }
@@ -31,51 +31,52 @@ import org.apache.pinot.core.operator.ProjectionOperator;
  */
 public class ProjectionBlockValSet extends BaseBlockValSet {
   private final DataBlockCache _dataBlockCache;
-  private final String _column;
+  private final int _columnIndex;
   private final FieldSpec.DataType _dataType;
 
   /**
    * Constructor for the class.
    * The dataBlockCache argument is initialized in {@link ProjectionOperator},
-   * so that it can be reused across multiple calls to {@link ProjectionOperator#nextBlock()}.
+   * so that it can be reused across multiple calls to {@link ProjectionOperator#nextBlock()}. The column index is
+   * resolved once here, so the block value set itself can also be reused across blocks.
    *
    * @param dataBlockCache data block cache
    * @param column Projection column.
    */
   public ProjectionBlockValSet(DataBlockCache dataBlockCache, String column, FieldSpec.DataType dataType) {
     _dataBlockCache = dataBlockCache;
-    _column = column;
+    _columnIndex = dataBlockCache.getColumnIndex(column);
     _dataType = dataType;
   }
 
   @Override
   public int[] getIntValuesSV() {
-    return _dataBlockCache.getIntValuesForSVColumn(_column);
+    return _dataBlockCache.getIntValuesForSVColumn(_columnIndex);
   }
 
   @Override
   public int[][] getIntValuesMV() {
-    return _dataBlockCache.getIntValuesForMVColumn(_column);
+    return _dataBlockCache.getIntValuesForMVColumn(_columnIndex);
   }
 
   @Override
   public long[] getLongValuesSV() {
-    return _dataBlockCache.getLongValuesForSVColumn(_column);
+    return _dataBlockCache.getLongValuesForSVColumn(_columnIndex);
   }
 
   @Override
   public long[][] getLongValuesMV() {
-    return _dataBlockCache.getLongValuesForMVColumn(_column);
+    return _dataBlockCache.getLongValuesForMVColumn(_columnIndex);
   }
 
   @Override
   public float[] getFloatValuesSV() {
-    return _dataBlockCache.getFloatValuesForSVColumn(_column);
+    return _dataBlockCache.getFloatValuesForSVColumn(_columnIndex);
   }
 
   @Override
   public float[][] getFloatValuesMV() {
-    return _dataBlockCache.getFloatValuesForMVColumn(_column);
+    return _dataBlockCache.getFloatValuesForMVColumn(_columnIndex);
   }
 
   /**
@@ -86,7 +87,7 @@ public class ProjectionBlockValSet extends BaseBlockValSet {
    */
   @Override
   public double[] getDoubleValuesSV() {
-    return _dataBlockCache.getDoubleValuesForSVColumn(_column);
+    return _dataBlockCache.getDoubleValuesForSVColumn(_columnIndex);
   }
 
   /**
@@ -97,22 +98,22 @@ public class ProjectionBlockValSet extends BaseBlockValSet {
    */
   @Override
   public double[][] getDoubleValuesMV() {
-    return _dataBlockCache.getDoubleValuesForMVColumn(_column);
+    return _dataBlockCache.getDoubleValuesForMVColumn(_columnIndex);
   }
 
   @Override
   public String[] getStringValuesSV() {
-    return _dataBlockCache.getStringValuesForSVColumn(_column);
+    return _dataBlockCache.getStringValuesForSVColumn(_columnIndex);
   }
 
   @Override
   public byte[][] getBytesValuesSV() {
-    return _dataBlockCache.getBytesValuesForSVColumn(_column);
+    return _dataBlockCache.getBytesValuesForSVColumn(_columnIndex);
   }
 
   @Override
   public String[][] getStringValuesMV() {
-    return _dataBlockCache.getStringValuesForMVColumn(_column);
+    return _dataBlockCache.getStringValuesForMVColumn(_columnIndex);
   }
 
   @Override
@@ -122,16 +123,16 @@ public class ProjectionBlockValSet extends BaseBlockValSet {
 
   @Override
   public int[] getDictionaryIdsSV() {
-    return _dataBlockCache.getDictIdsForSVColumn(_column);
+    return _dataBlockCache.getDictIdsForSVColumn(_columnIndex);
   }
 
   @Override
   public int[][] getDictionaryIdsMV() {
-    return _dataBlockCache.getDictIdsForMVColumn(_column);
+    return _dataBlockCache.getDictIdsForMVColumn(_columnIndex);
   }
 
   @Override
   public int[] getNumMVEntries() {
-    return _dataBlockCache.getNumValuesForMVColumn(_column);
+    return _dataBlockCache.getNumValuesForMVColumn(_columnIndex);
   }
 }
@@ -167,4 +167,23 @@ public final class SingleValueSet extends BaseBlockValSet {
       int outStartPos) {
     _reader.readValues(inDocIds, inStartPos, inDocIdsSize, outDictionaryIds, outStartPos);
   }
+
+  /**
+   * Get the dictionary Ids for a contiguous range of documents, i.e. documents [startDocId, startDocId + length).
+   *
+   * @param startDocId First document Id
+   * @param length Number of documents
+   * @param readerContext Reader context created by {@link #createReaderContext()}, which can be reused across calls
+   * @param outDictionaryIds Buffer for output, values are written starting from index 0
+   */
+  public void getDictionaryIds(int startDocId, int length, ReaderContext readerContext, int[] outDictionaryIds) {
+    _reader.readValues(startDocId, length, readerContext, outDictionaryIds);
+  }
+
+  /**
+   * Creates a reader context for the contiguous document range API. The context is not thread-safe.
+   */
+  public ReaderContext createReaderContext() {
+    return _reader.createContext();
+  }
 }
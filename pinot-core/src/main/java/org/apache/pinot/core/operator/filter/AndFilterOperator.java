@@ -24,6 +24,7 @@ import java.util.List;
 import org.apache.pinot.core.operator.blocks.FilterBlock;
 import org.apache.pinot.core.operator.docidsets.AndBlockDocIdSet;
 import org.apache.pinot.core.operator.docidsets.FilterBlockDocIdSet;
+import org.apache.pinot.core.util.trace.TraceContext;
 
 
 public class AndFilterOperator extends BaseFilterOperator {
@@ -47,8 +48,29 @@ public class AndFilterOperator extends BaseFilterOperator {
     _filterOperators = filterOperators;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>For AND filter, the estimation is the minimum of the child estimations.
+   */
+  @Override
+  public int getEstimatedNumMatchingDocs() {
+    int estimatedNumMatchingDocs = Integer.MAX_VALUE;
+    for (BaseFilterOperator filterOperator : _filterOperators) {
+      estimatedNumMatchingDocs = Math.min(estimatedNumMatchingDocs, filterOperator.getEstimatedNumMatchingDocs());
+    }
+    return estimatedNumMatchingDocs;
+  }
+
   @Override
   protected FilterBlock getNextBlock() {
+    if (TraceContext.traceEnabled()) {
+      // Log the evaluation order of the child filter operators along with their estimated number of matching docs
+      List<String> childOrder = new ArrayList<>(_filterOperators.size());
+      for (BaseFilterOperator filterOperator : _filterOperators) {
+        childOrder.add(filterOperator + ":" + filterOperator.getEstimatedNumMatchingDocs());
+      }
+      TraceContext.logInfo(OPERATOR_NAME + " Child Order", childOrder);
+    }
     List<FilterBlockDocIdSet> filterBlockDocIdSets = new ArrayList<>(_filterOperators.size());
     for (BaseFilterOperator filterOperator : _filterOperators) {
       filterBlockDocIdSets.add(filterOperator.nextBlock().getBlockDocIdSet());
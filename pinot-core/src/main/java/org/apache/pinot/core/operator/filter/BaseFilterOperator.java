@@ -40,4 +40,20 @@ public abstract class BaseFilterOperator extends BaseOperator<FilterBlock> {
   public boolean isResultMatchingAll() {
     return false;
   }
+
+  /**
+   * Returns the estimated number of documents matching the filter, or {@link Integer#MAX_VALUE} if it cannot be
+   * estimated cheaply.
+   * <p>The estimation is based on the dictionary, inverted index and metadata without evaluating the filter, and is used
+   * to order the child filter operators of the {@link AndFilterOperator} so that the most selective one is evaluated
+   * first.
+   */
+  public int getEstimatedNumMatchingDocs() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public String toString() {
+    return getOperatorName();
+  }
 }
@@ -29,6 +29,9 @@ import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
 
 public class BitmapBasedFilterOperator extends BaseFilterOperator {
   private static final String OPERATOR_NAME = "BitmapBasedFilterOperator";
+  // Max number of dictionary ids to look up when estimating the number of matching docs, the cardinality of the rest of
+  // the dictionary ids is extrapolated from the inspected ones
+  private static final int MAX_NUM_DICT_IDS_TO_ESTIMATE = 64;
 
   private final PredicateEvaluator _predicateEvaluator;
   private final DataSource _dataSource;
@@ -39,6 +42,8 @@ public class BitmapBasedFilterOperator extends BaseFilterOperator {
   private final int _endDocId;
   private final boolean _exclusive;
 
+  private int _estimatedNumMatchingDocs = -1;
+
   BitmapBasedFilterOperator(PredicateEvaluator predicateEvaluator, DataSource dataSource, int startDocId,
       int endDocId) {
     // NOTE:
@@ -83,8 +88,62 @@ public class BitmapBasedFilterOperator extends BaseFilterOperator {
     return new FilterBlock(new BitmapDocIdSet(bitmaps, _startDocId, _endDocId, _exclusive));
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>For inverted index, the estimation is the total cardinality of the bitmaps of the matching dictionary ids. When
+   * there are too many matching dictionary ids, only an evenly spaced sample of them is looked up and the total
+   * cardinality is extrapolated. The estimation is computed once and cached.
+   */
+  @Override
+  public int getEstimatedNumMatchingDocs() {
+    if (_estimatedNumMatchingDocs < 0) {
+      _estimatedNumMatchingDocs = estimateNumMatchingDocs();
+    }
+    return _estimatedNumMatchingDocs;
+  }
+
+  private int estimateNumMatchingDocs() {
+    long numDocs = 0;
+    if (_bitmaps != null) {
+      for (ImmutableRoaringBitmap bitmap : _bitmaps) {
+        numDocs += bitmap.getCardinality();
+      }
+    } else {
+      int[] dictIds =
+          _exclusive ? _predicateEvaluator.getNonMatchingDictIds() : _predicateEvaluator.getMatchingDictIds();
+      InvertedIndexReader invertedIndex = _dataSource.getInvertedIndex();
+      int numDictIds = dictIds.length;
+      if (numDictIds <= MAX_NUM_DICT_IDS_TO_ESTIMATE) {
+        for (int dictId : dictIds) {
+          numDocs += ((ImmutableRoaringBitmap) invertedIndex.getDocIds(dictId)).getCardinality();
+        }
+      } else {
+        for (int i = 0; i < MAX_NUM_DICT_IDS_TO_ESTIMATE; i++) {
+          int dictId = dictIds[(int) ((long) i * numDictIds / MAX_NUM_DICT_IDS_TO_ESTIMATE)];
+          numDocs += ((ImmutableRoaringBitmap) invertedIndex.getDocIds(dictId)).getCardinality();
+        }
+        numDocs = numDocs * numDictIds / MAX_NUM_DICT_IDS_TO_ESTIMATE;
+      }
+    }
+    int numDocsInRange = _endDocId - _startDocId + 1;
+    if (_exclusive) {
+      return (int) Math.max(numDocsInRange - numDocs, 0);
+    } else {
+      return (int) Math.min(numDocs, numDocsInRange);
+    }
+  }
+
   @Override
   public String getOperatorName() {
     return OPERATOR_NAME;
   }
+
+  @Override
+  public String toString() {
+    if (_dataSource != null) {
+      return OPERATOR_NAME + "(" + _dataSource.getOperatorName() + ")";
+    } else {
+      return OPERATOR_NAME;
+    }
+  }
 }
@@ -20,6 +20,7 @@ package org.apache.pinot.core.operator.filter;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -36,6 +37,8 @@ public class FilterOperatorUtils {
 
   // Debug option to enable or disable multi-value optimization
   public static final String USE_SCAN_REORDER_OPTIMIZATION = "useScanReorderOpt";
+  // Debug option to enable or disable selectivity based reordering of AND child filter operators
+  public static final String USE_SELECTIVITY_REORDER_OPTIMIZATION = "useSelectivityReorderOpt";
 
   /**
    * Returns the leaf filter operator (i.e. not {@link AndFilterOperator} or {@link OrFilterOperator}).
@@ -122,16 +125,31 @@ public class FilterOperatorUtils {
   }
 
   /**
-   * For AND filter operator, reorders its child filter operators based on the their cost and puts the ones with
-   * inverted index first in order to reduce the number of documents to be processed.
+   * For AND filter operator, reorders its child filter operators based on their estimated number of matching documents
+   * so that the most selective one drives the iteration, and breaks ties with their cost (puts the ones with inverted
+   * index first) in order to reduce the number of documents to be processed.
    * <p>Special filter operators such as {@link MatchAllFilterOperator} and {@link EmptyFilterOperator} should be
    * removed from the list before calling this method.
    */
   private static void reorderAndFilterChildOperators(List<BaseFilterOperator> filterOperators,
       @Nullable Map<String, String> debugOptions) {
+    boolean useSelectivity = debugOptions == null
+        || StringUtils.compareIgnoreCase(debugOptions.get(USE_SELECTIVITY_REORDER_OPTIMIZATION), "false") != 0;
+    Map<BaseFilterOperator, Integer> estimatedNumMatchingDocsMap = new IdentityHashMap<>();
+    if (useSelectivity) {
+      for (BaseFilterOperator filterOperator : filterOperators) {
+        estimatedNumMatchingDocsMap.put(filterOperator, filterOperator.getEstimatedNumMatchingDocs());
+      }
+    }
     filterOperators.sort(new Comparator<BaseFilterOperator>() {
       @Override
       public int compare(BaseFilterOperator o1, BaseFilterOperator o2) {
+        if (useSelectivity) {
+          int result = Integer.compare(estimatedNumMatchingDocsMap.get(o1), estimatedNumMatchingDocsMap.get(o2));
+          if (result != 0) {
+            return result;
+          }
+        }
         return getPriority(o1) - getPriority(o2);
       }
 
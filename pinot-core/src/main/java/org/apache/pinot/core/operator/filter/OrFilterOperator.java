@@ -56,6 +56,19 @@ public class OrFilterOperator extends BaseFilterOperator {
     return new FilterBlock(new OrBlockDocIdSet(filterBlockDocIdSets));
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>For OR filter, the estimation is the sum of the child estimations.
+   */
+  @Override
+  public int getEstimatedNumMatchingDocs() {
+    long estimatedNumMatchingDocs = 0;
+    for (BaseFilterOperator filterOperator : _filterOperators) {
+      estimatedNumMatchingDocs += filterOperator.getEstimatedNumMatchingDocs();
+    }
+    return (int) Math.min(estimatedNumMatchingDocs, Integer.MAX_VALUE);
+  }
+
   @Override
   public String getOperatorName() {
     return OPERATOR_NAME;
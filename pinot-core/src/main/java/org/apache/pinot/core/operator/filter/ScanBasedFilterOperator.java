@@ -77,11 +77,40 @@ public class ScanBasedFilterOperator extends BaseFilterOperator {
     return new FilterBlock(filterBlockDocIdSet);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>For dictionary-encoded column, the estimation assumes the values are uniformly distributed, and is based on the
+   * ratio of the matching dictionary ids. For raw column, the selectivity is unknown, so all the documents are assumed
+   * to be matched.
+   */
+  @Override
+  public int getEstimatedNumMatchingDocs() {
+    int numDocsInRange = _endDocId - _startDocId + 1;
+    DataSourceMetadata dataSourceMetadata = _dataSource.getDataSourceMetadata();
+    int cardinality = dataSourceMetadata.getCardinality();
+    if (!_predicateEvaluator.isDictionaryBased() || cardinality <= 0) {
+      return numDocsInRange;
+    }
+    int numMatchingDictIds = _predicateEvaluator.isExclusive() ? cardinality - _predicateEvaluator
+        .getNumNonMatchingDictIds() : _predicateEvaluator.getNumMatchingDictIds();
+    long estimatedNumMatchingDocs = (long) numDocsInRange * numMatchingDictIds / cardinality;
+    if (!dataSourceMetadata.isSingleValue()) {
+      // Each document can match any of its values
+      estimatedNumMatchingDocs *= dataSourceMetadata.getMaxNumMultiValues();
+    }
+    return (int) Math.min(estimatedNumMatchingDocs, numDocsInRange);
+  }
+
   @Override
   public String getOperatorName() {
     return OPERATOR_NAME;
   }
 
+  @Override
+  public String toString() {
+    return OPERATOR_NAME + "(" + _dataSource.getOperatorName() + ")";
+  }
+
   /**
    * Returns the predicate evaluator associated with the scan filter.
    */
@@ -157,8 +157,40 @@ public class SortedInvertedIndexBasedFilterOperator extends BaseFilterOperator {
     return new FilterBlock(new SortedDocIdSet(_dataSource.getOperatorName(), pairs));
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>For sorted column, the doc id ranges are in the same order as the dictionary ids, so the estimation only looks
+   * up the doc id ranges of the smallest and largest dictionary ids, and takes the docs between them. It is exact for
+   * EQ and NEQ, and an upper bound of the matching docs for IN (lower bound for NOT IN).
+   */
+  @Override
+  public int getEstimatedNumMatchingDocs() {
+    boolean exclusive = _predicateEvaluator.isExclusive();
+    int[] dictIds = exclusive ? _predicateEvaluator.getNonMatchingDictIds() : _predicateEvaluator.getMatchingDictIds();
+    int numDocsInRange = _endDocId - _startDocId + 1;
+    if (dictIds.length == 0) {
+      return exclusive ? numDocsInRange : 0;
+    }
+    int minDictId = dictIds[0];
+    int maxDictId = dictIds[0];
+    for (int dictId : dictIds) {
+      minDictId = Math.min(minDictId, dictId);
+      maxDictId = Math.max(maxDictId, dictId);
+    }
+    SortedIndexReader invertedIndex = (SortedIndexReader) _dataSource.getInvertedIndex();
+    int startDocId = Math.max(invertedIndex.getDocIds(minDictId).getLeft(), _startDocId);
+    int endDocId = Math.min(invertedIndex.getDocIds(maxDictId).getRight(), _endDocId);
+    int numDocs = Math.max(endDocId - startDocId + 1, 0);
+    return exclusive ? numDocsInRange - numDocs : numDocs;
+  }
+
   @Override
   public String getOperatorName() {
     return OPERATOR_NAME;
   }
+
+  @Override
+  public String toString() {
+    return OPERATOR_NAME + "(" + _dataSource.getOperatorName() + ")";
+  }
 }
@@ -18,7 +18,9 @@
  */
 package org.apache.pinot.core.operator.query;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.request.GroupBy;
 import org.apache.pinot.core.operator.BaseOperator;
 import org.apache.pinot.core.operator.ExecutionStatistics;
@@ -45,12 +47,27 @@ public class AggregationGroupByOperator extends BaseOperator<IntermediateResults
   private final TransformOperator _transformOperator;
   private final long _numTotalRawDocs;
   private final boolean _useStarTree;
+  private final boolean _countSegment;
+  private final AtomicBoolean _segmentMatched;
 
   private ExecutionStatistics _executionStatistics;
 
   public AggregationGroupByOperator(@Nonnull AggregationFunctionContext[] functionContexts, @Nonnull GroupBy groupBy,
       int maxInitialResultHolderCapacity, int numGroupsLimit, @Nonnull TransformOperator transformOperator,
       long numTotalRawDocs, boolean useStarTree) {
+    this(functionContexts, groupBy, maxInitialResultHolderCapacity, numGroupsLimit, transformOperator, numTotalRawDocs,
+        useStarTree, true, null);
+  }
+
+  /**
+   * Constructor for the operator, where <code>countSegment</code> indicates whether to count the segment as processed
+   * in the execution statistics (false for all but the first sub-range of a split segment), and
+   * <code>segmentMatched</code> is the flag shared by all the sub-ranges of a split segment to count the segment as
+   * matched once (<code>null</code> if the segment is not split).
+   */
+  public AggregationGroupByOperator(@Nonnull AggregationFunctionContext[] functionContexts, @Nonnull GroupBy groupBy,
+      int maxInitialResultHolderCapacity, int numGroupsLimit, @Nonnull TransformOperator transformOperator,
+      long numTotalRawDocs, boolean useStarTree, boolean countSegment, @Nullable AtomicBoolean segmentMatched) {
     _functionContexts = functionContexts;
     _groupBy = groupBy;
     _maxInitialResultHolderCapacity = maxInitialResultHolderCapacity;
@@ -58,6 +75,8 @@ public class AggregationGroupByOperator extends BaseOperator<IntermediateResults
     _transformOperator = transformOperator;
     _numTotalRawDocs = numTotalRawDocs;
     _useStarTree = useStarTree;
+    _countSegment = countSegment;
+    _segmentMatched = segmentMatched;
   }
 
   @Override
@@ -87,7 +106,7 @@ public class AggregationGroupByOperator extends BaseOperator<IntermediateResults
     long numEntriesScannedPostFilter = numDocsScanned * _transformOperator.getNumColumnsProjected();
     _executionStatistics =
         new ExecutionStatistics(numDocsScanned, numEntriesScannedInFilter, numEntriesScannedPostFilter,
-            _numTotalRawDocs);
+            _numTotalRawDocs, _countSegment, _segmentMatched);
 
     // Build intermediate result block based on aggregation group-by result from the executor
     return new IntermediateResultsBlock(_functionContexts, groupByResult);
@@ -19,7 +19,9 @@
 package org.apache.pinot.core.operator.query;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.operator.BaseOperator;
 import org.apache.pinot.core.operator.ExecutionStatistics;
 import org.apache.pinot.core.operator.blocks.IntermediateResultsBlock;
@@ -41,15 +43,37 @@ public class AggregationOperator extends BaseOperator<IntermediateResultsBlock>
   private final TransformOperator _transformOperator;
   private final long _numTotalRawDocs;
   private final boolean _useStarTree;
+  private final boolean _countSegment;
+  private final AtomicBoolean _segmentMatched;
 
   private ExecutionStatistics _executionStatistics;
 
   public AggregationOperator(@Nonnull AggregationFunctionContext[] functionContexts,
       @Nonnull TransformOperator transformOperator, long numTotalRawDocs, boolean useStarTree) {
+    this(functionContexts, transformOperator, numTotalRawDocs, useStarTree, true, null);
+  }
+
+  /**
+   * Constructor for the operator.
+   *
+   * @param functionContexts Aggregation function contexts
+   * @param transformOperator Transform operator
+   * @param numTotalRawDocs Number of total raw documents to process
+   * @param useStarTree Whether the transform operator is based on star-tree
+   * @param countSegment Whether to count the segment as processed in the execution statistics (false for all but the
+   *                     first sub-range of a split segment)
+   * @param segmentMatched Flag shared by all the sub-ranges of a split segment to count the segment as matched once,
+   *                       or <code>null</code> if the segment is not split
+   */
+  public AggregationOperator(@Nonnull AggregationFunctionContext[] functionContexts,
+      @Nonnull TransformOperator transformOperator, long numTotalRawDocs, boolean useStarTree, boolean countSegment,
+      @Nullable AtomicBoolean segmentMatched) {
     _functionContexts = functionContexts;
     _transformOperator = transformOperator;
     _numTotalRawDocs = numTotalRawDocs;
     _useStarTree = useStarTree;
+    _countSegment = countSegment;
+    _segmentMatched = segmentMatched;
   }
 
   @Override
@@ -61,7 +85,7 @@ public class AggregationOperator extends BaseOperator<IntermediateResultsBlock>
     if (_useStarTree) {
       aggregationExecutor = new StarTreeAggregationExecutor(_functionContexts);
     } else {
-      aggregationExecutor = new DefaultAggregationExecutor(_functionContexts);
+      aggregationExecutor = new DefaultAggregationExecutor(_functionContexts, _transformOperator);
     }
     TransformBlock transformBlock;
     while ((transformBlock = _transformOperator.nextBlock()) != null) {
@@ -75,7 +99,7 @@ public class AggregationOperator extends BaseOperator<IntermediateResultsBlock>
     long numEntriesScannedPostFilter = numDocsScanned * _transformOperator.getNumColumnsProjected();
     _executionStatistics =
         new ExecutionStatistics(numDocsScanned, numEntriesScannedInFilter, numEntriesScannedPostFilter,
-            _numTotalRawDocs);
+            _numTotalRawDocs, _countSegment, _segmentMatched);
 
     // Build intermediate result block based on aggregation result from the executor
     return new IntermediateResultsBlock(_functionContexts, aggregationResult, false);
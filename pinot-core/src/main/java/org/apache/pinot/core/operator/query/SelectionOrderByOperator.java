@@ -31,6 +31,7 @@ import org.apache.pinot.core.operator.ProjectionOperator;
 import org.apache.pinot.core.operator.blocks.DocIdSetBlock;
 import org.apache.pinot.core.operator.blocks.IntermediateResultsBlock;
 import org.apache.pinot.core.operator.blocks.ProjectionBlock;
+import org.apache.pinot.core.query.scheduler.resources.QueryMemoryTracker;
 import org.apache.pinot.core.query.selection.SelectionOperatorService;
 
 
@@ -83,6 +84,10 @@ public class SelectionOrderByOperator extends BaseOperator<IntermediateResultsBl
   protected IntermediateResultsBlock getNextBlock() {
     int numDocsScanned = 0;
 
+    // Allocate the growth of the priority queue from the query memory tracker (queue is bounded by offset + size)
+    QueryMemoryTracker queryMemoryTracker = QueryMemoryTracker.get();
+    long trackedSizeInBytes = 0;
+
     ProjectionBlock projectionBlock;
     while ((projectionBlock = _projectionOperator.nextBlock()) != null) {
       for (int i = 0; i < _dataSchema.size(); i++) {
@@ -90,6 +95,12 @@ public class SelectionOrderByOperator extends BaseOperator<IntermediateResultsBl
       }
       DocIdSetBlock docIdSetBlock = projectionBlock.getDocIdSetBlock();
       _selectionOperatorService.iterateOnBlocksWithOrdering(docIdSetBlock.getBlockDocIdSet().iterator(), _blocks);
+
+      if (queryMemoryTracker != null) {
+        long sizeInBytes = _selectionOperatorService.getEstimatedSizeInBytes();
+        queryMemoryTracker.allocate(sizeInBytes - trackedSizeInBytes, "selection order-by rows");
+        trackedSizeInBytes = sizeInBytes;
+      }
     }
 
     // Create execution statistics.
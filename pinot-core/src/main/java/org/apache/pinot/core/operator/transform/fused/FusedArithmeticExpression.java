@@ -0,0 +1,270 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.fused;
+
+import org.apache.pinot.core.operator.blocks.TransformBlock;
+
+
+/**
+ * The <code>FusedArithmeticExpression</code> class evaluates a compiled tree of arithmetic transform functions (ADD,
+ * SUB, MULT, DIV) one document at a time directly on top of the projected primitive values, instead of materializing
+ * a <code>double[]</code> for each transform function in the tree.
+ * <p>The evaluation order is the same as the transform functions (literal arguments are folded first, then the other
+ * arguments are applied in order), so the results are identical to the non-fused path.
+ * <p>Should be used as: <code>bind(transformBlock)</code> once per block, then <code>evaluate(index)</code> for each
+ * document inside the block.
+ */
+public abstract class FusedArithmeticExpression {
+
+  /**
+   * Binds the expression to the projected values of the given transform block.
+   *
+   * @param transformBlock Transform block
+   */
+  public abstract void bind(TransformBlock transformBlock);
+
+  /**
+   * Evaluates the expression for the document at the given index inside the bound block.
+   *
+   * @param index Index of the document inside the block
+   * @return Value of the expression
+   */
+  public abstract double evaluate(int index);
+
+  static final class Constant extends FusedArithmeticExpression {
+    final double _value;
+
+    Constant(double value) {
+      _value = value;
+    }
+
+    @Override
+    public void bind(TransformBlock transformBlock) {
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _value;
+    }
+  }
+
+  static final class IntColumn extends FusedArithmeticExpression {
+    private final String _column;
+    private int[] _values;
+
+    IntColumn(String column) {
+      _column = column;
+    }
+
+    @Override
+    public void bind(TransformBlock transformBlock) {
+      _values = transformBlock.getBlockValueSet(_column).getIntValuesSV();
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _values[index];
+    }
+  }
+
+  static final class LongColumn extends FusedArithmeticExpression {
+    private final String _column;
+    private long[] _values;
+
+    LongColumn(String column) {
+      _column = column;
+    }
+
+    @Override
+    public void bind(TransformBlock transformBlock) {
+      _values = transformBlock.getBlockValueSet(_column).getLongValuesSV();
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _values[index];
+    }
+  }
+
+  static final class FloatColumn extends FusedArithmeticExpression {
+    private final String _column;
+    private float[] _values;
+
+    FloatColumn(String column) {
+      _column = column;
+    }
+
+    @Override
+    public void bind(TransformBlock transformBlock) {
+      _values = transformBlock.getBlockValueSet(_column).getFloatValuesSV();
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _values[index];
+    }
+  }
+
+  static final class DoubleColumn extends FusedArithmeticExpression {
+    private final String _column;
+    private double[] _values;
+
+    DoubleColumn(String column) {
+      _column = column;
+    }
+
+    @Override
+    public void bind(TransformBlock transformBlock) {
+      _values = transformBlock.getBlockValueSet(_column).getDoubleValuesSV();
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _values[index];
+    }
+  }
+
+  /**
+   * Base class for the functions, which binds all the arguments.
+   */
+  abstract static class Function extends FusedArithmeticExpression {
+    final FusedArithmeticExpression[] _arguments;
+
+    Function(FusedArithmeticExpression[] arguments) {
+      _arguments = arguments;
+    }
+
+    @Override
+    public void bind(TransformBlock transformBlock) {
+      for (FusedArithmeticExpression argument : _arguments) {
+        argument.bind(transformBlock);
+      }
+    }
+  }
+
+  static final class Addition extends Function {
+    private final double _literalSum;
+
+    Addition(double literalSum, FusedArithmeticExpression[] arguments) {
+      super(arguments);
+      _literalSum = literalSum;
+    }
+
+    @Override
+    public double evaluate(int index) {
+      double sum = _literalSum;
+      for (FusedArithmeticExpression argument : _arguments) {
+        sum += argument.evaluate(index);
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * Specialization of {@link Addition} for 2 non-literal arguments.
+   */
+  static final class BinaryAddition extends Function {
+    private final double _literalSum;
+    private final FusedArithmeticExpression _first;
+    private final FusedArithmeticExpression _second;
+
+    BinaryAddition(double literalSum, FusedArithmeticExpression first, FusedArithmeticExpression second) {
+      super(new FusedArithmeticExpression[]{first, second});
+      _literalSum = literalSum;
+      _first = first;
+      _second = second;
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _literalSum + _first.evaluate(index) + _second.evaluate(index);
+    }
+  }
+
+  static final class Multiplication extends Function {
+    private final double _literalProduct;
+
+    Multiplication(double literalProduct, FusedArithmeticExpression[] arguments) {
+      super(arguments);
+      _literalProduct = literalProduct;
+    }
+
+    @Override
+    public double evaluate(int index) {
+      double product = _literalProduct;
+      for (FusedArithmeticExpression argument : _arguments) {
+        product *= argument.evaluate(index);
+      }
+      return product;
+    }
+  }
+
+  /**
+   * Specialization of {@link Multiplication} for 2 non-literal arguments.
+   */
+  static final class BinaryMultiplication extends Function {
+    private final double _literalProduct;
+    private final FusedArithmeticExpression _first;
+    private final FusedArithmeticExpression _second;
+
+    BinaryMultiplication(double literalProduct, FusedArithmeticExpression first, FusedArithmeticExpression second) {
+      super(new FusedArithmeticExpression[]{first, second});
+      _literalProduct = literalProduct;
+      _first = first;
+      _second = second;
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _literalProduct * _first.evaluate(index) * _second.evaluate(index);
+    }
+  }
+
+  static final class Subtraction extends Function {
+    private final FusedArithmeticExpression _first;
+    private final FusedArithmeticExpression _second;
+
+    Subtraction(FusedArithmeticExpression first, FusedArithmeticExpression second) {
+      super(new FusedArithmeticExpression[]{first, second});
+      _first = first;
+      _second = second;
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _first.evaluate(index) - _second.evaluate(index);
+    }
+  }
+
+  static final class Division extends Function {
+    private final FusedArithmeticExpression _first;
+    private final FusedArithmeticExpression _second;
+
+    Division(FusedArithmeticExpression first, FusedArithmeticExpression second) {
+      super(new FusedArithmeticExpression[]{first, second});
+      _first = first;
+      _second = second;
+    }
+
+    @Override
+    public double evaluate(int index) {
+      return _first.evaluate(index) / _second.evaluate(index);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.fused;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.common.DataSourceMetadata;
+import org.apache.pinot.core.operator.transform.function.AdditionTransformFunction;
+import org.apache.pinot.core.operator.transform.function.DivisionTransformFunction;
+import org.apache.pinot.core.operator.transform.function.MultiplicationTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SubtractionTransformFunction;
+
+
+/**
+ * Compiler for {@link FusedArithmeticExpression}.
+ * <p>Only expression trees composed of ADD, SUB, MULT and DIV functions on top of numeric literals and single-valued
+ * INT, LONG, FLOAT and DOUBLE columns can be compiled. For all other expressions, the compiler returns
+ * <code>null</code> and the caller should fall back to the transform functions.
+ */
+public class FusedArithmeticExpressionCompiler {
+  private FusedArithmeticExpressionCompiler() {
+  }
+
+  /**
+   * Compiles the given transform expression into a fused arithmetic expression.
+   *
+   * @param expression Transform expression
+   * @param dataSourceMap Map from column to data source
+   * @return Fused arithmetic expression, or <code>null</code> if the expression cannot be fused
+   */
+  @Nullable
+  public static FusedArithmeticExpression compile(@Nonnull TransformExpressionTree expression,
+      @Nonnull Map<String, DataSource> dataSourceMap) {
+    // Columns and literals do not have intermediate results, no need to fuse
+    if (expression.getExpressionType() != TransformExpressionTree.ExpressionType.FUNCTION) {
+      return null;
+    }
+    return compileExpression(expression, dataSourceMap);
+  }
+
+  @Nullable
+  private static FusedArithmeticExpression compileExpression(TransformExpressionTree expression,
+      Map<String, DataSource> dataSourceMap) {
+    switch (expression.getExpressionType()) {
+      case LITERAL:
+        try {
+          return new FusedArithmeticExpression.Constant(Double.parseDouble(expression.getValue()));
+        } catch (NumberFormatException e) {
+          return null;
+        }
+      case IDENTIFIER:
+        return compileColumn(expression.getValue(), dataSourceMap);
+      case FUNCTION:
+        return compileFunction(expression, dataSourceMap);
+      default:
+        return null;
+    }
+  }
+
+  @Nullable
+  private static FusedArithmeticExpression compileColumn(String column, Map<String, DataSource> dataSourceMap) {
+    DataSource dataSource = dataSourceMap.get(column);
+    if (dataSource == null) {
+      return null;
+    }
+    DataSourceMetadata dataSourceMetadata = dataSource.getDataSourceMetadata();
+    if (!dataSourceMetadata.isSingleValue()) {
+      return null;
+    }
+    switch (dataSourceMetadata.getDataType()) {
+      case INT:
+        return new FusedArithmeticExpression.IntColumn(column);
+      case LONG:
+        return new FusedArithmeticExpression.LongColumn(column);
+      case FLOAT:
+        return new FusedArithmeticExpression.FloatColumn(column);
+      case DOUBLE:
+        return new FusedArithmeticExpression.DoubleColumn(column);
+      default:
+        return null;
+    }
+  }
+
+  @Nullable
+  private static FusedArithmeticExpression compileFunction(TransformExpressionTree expression,
+      Map<String, DataSource> dataSourceMap) {
+    List<TransformExpressionTree> children = expression.getChildren();
+    int numArguments = children.size();
+    FusedArithmeticExpression[] arguments = new FusedArithmeticExpression[numArguments];
+    for (int i = 0; i < numArguments; i++) {
+      arguments[i] = compileExpression(children.get(i), dataSourceMap);
+      if (arguments[i] == null) {
+        return null;
+      }
+    }
+
+    switch (expression.getValue()) {
+      case AdditionTransformFunction.FUNCTION_NAME:
+        if (numArguments < 2) {
+          return null;
+        }
+        return compileAddition(children, arguments);
+      case MultiplicationTransformFunction.FUNCTION_NAME:
+        if (numArguments < 2) {
+          return null;
+        }
+        return compileMultiplication(children, arguments);
+      case SubtractionTransformFunction.FUNCTION_NAME:
+        if (numArguments != 2) {
+          return null;
+        }
+        return new FusedArithmeticExpression.Subtraction(arguments[0], arguments[1]);
+      case DivisionTransformFunction.FUNCTION_NAME:
+        if (numArguments != 2) {
+          return null;
+        }
+        return new FusedArithmeticExpression.Division(arguments[0], arguments[1]);
+      default:
+        return null;
+    }
+  }
+
+  private static FusedArithmeticExpression compileAddition(List<TransformExpressionTree> children,
+      FusedArithmeticExpression[] arguments) {
+    // Same as AdditionTransformFunction, fold the literal arguments first
+    double literalSum = 0.0;
+    List<FusedArithmeticExpression> nonLiteralArguments = new ArrayList<>();
+    for (int i = 0; i < arguments.length; i++) {
+      if (isLiteral(children.get(i))) {
+        literalSum += ((FusedArithmeticExpression.Constant) arguments[i])._value;
+      } else {
+        nonLiteralArguments.add(arguments[i]);
+      }
+    }
+    if (nonLiteralArguments.size() == 2) {
+      return new FusedArithmeticExpression.BinaryAddition(literalSum, nonLiteralArguments.get(0),
+          nonLiteralArguments.get(1));
+    }
+    return new FusedArithmeticExpression.Addition(literalSum,
+        nonLiteralArguments.toArray(new FusedArithmeticExpression[0]));
+  }
+
+  private static FusedArithmeticExpression compileMultiplication(List<TransformExpressionTree> children,
+      FusedArithmeticExpression[] arguments) {
+    // Same as MultiplicationTransformFunction, fold the literal arguments first
+    double literalProduct = 1.0;
+    List<FusedArithmeticExpression> nonLiteralArguments = new ArrayList<>();
+    for (int i = 0; i < arguments.length; i++) {
+      if (isLiteral(children.get(i))) {
+        literalProduct *= ((FusedArithmeticExpression.Constant) arguments[i])._value;
+      } else {
+        nonLiteralArguments.add(arguments[i]);
+      }
+    }
+    if (nonLiteralArguments.size() == 2) {
+      return new FusedArithmeticExpression.BinaryMultiplication(literalProduct, nonLiteralArguments.get(0),
+          nonLiteralArguments.get(1));
+    }
+    return new FusedArithmeticExpression.Multiplication(literalProduct,
+        nonLiteralArguments.toArray(new FusedArithmeticExpression[0]));
+  }
+
+  private static boolean isLiteral(TransformExpressionTree expression) {
+    return expression.getExpressionType() == TransformExpressionTree.ExpressionType.LITERAL;
+  }
+}
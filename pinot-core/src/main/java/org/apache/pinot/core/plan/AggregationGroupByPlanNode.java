@@ -21,7 +21,9 @@ package org.apache.pinot.core.plan;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.request.AggregationInfo;
 import org.apache.pinot.common.request.BrokerRequest;
 import org.apache.pinot.common.request.GroupBy;
@@ -55,10 +57,34 @@ public class AggregationGroupByPlanNode implements PlanNode {
   private final GroupBy _groupBy;
   private final TransformPlanNode _transformPlanNode;
   private final StarTreeTransformPlanNode _starTreeTransformPlanNode;
+  private final int _startDocId;
+  private final int _endDocId;
+  private final AtomicBoolean _segmentMatched;
 
   public AggregationGroupByPlanNode(@Nonnull IndexSegment indexSegment, @Nonnull BrokerRequest brokerRequest,
       int maxInitialResultHolderCapacity, int numGroupsLimit) {
+    this(indexSegment, brokerRequest, maxInitialResultHolderCapacity, numGroupsLimit, 0, Integer.MAX_VALUE, null);
+  }
+
+  /**
+   * Constructor for the plan node which only processes the documents within the given document id range. Star-tree
+   * is not used when the range does not cover the whole segment.
+   *
+   * @param indexSegment Segment to process
+   * @param brokerRequest Broker request
+   * @param maxInitialResultHolderCapacity Max initial capacity of the result holder
+   * @param numGroupsLimit Limit on number of groups
+   * @param startDocId Start document id (inclusive)
+   * @param endDocId End document id (exclusive)
+   * @param segmentMatched Flag shared by all the sub-ranges of the segment to count the segment as matched once
+   */
+  public AggregationGroupByPlanNode(@Nonnull IndexSegment indexSegment, @Nonnull BrokerRequest brokerRequest,
+      int maxInitialResultHolderCapacity, int numGroupsLimit, int startDocId, int endDocId,
+      @Nullable AtomicBoolean segmentMatched) {
     _indexSegment = indexSegment;
+    _startDocId = startDocId;
+    _endDocId = endDocId;
+    _segmentMatched = segmentMatched;
     _maxInitialResultHolderCapacity = maxInitialResultHolderCapacity;
     _numGroupsLimit = numGroupsLimit;
     _aggregationInfos = brokerRequest.getAggregationsInfo();
@@ -67,7 +93,7 @@ public class AggregationGroupByPlanNode implements PlanNode {
     _groupBy = brokerRequest.getGroupBy();
 
     List<StarTreeV2> starTrees = indexSegment.getStarTrees();
-    if (starTrees != null) {
+    if (starTrees != null && isFullRange()) {
       if (!StarTreeUtils.isStarTreeDisabled(brokerRequest)) {
         Set<AggregationFunctionColumnPair> aggregationFunctionColumnPairs = new HashSet<>();
         for (AggregationInfo aggregationInfo : _aggregationInfos) {
@@ -92,17 +118,29 @@ public class AggregationGroupByPlanNode implements PlanNode {
       }
     }
 
-    _transformPlanNode = new TransformPlanNode(_indexSegment, brokerRequest);
+    _transformPlanNode = new TransformPlanNode(_indexSegment, brokerRequest, startDocId, endDocId);
     _starTreeTransformPlanNode = null;
   }
 
+  private boolean isFullRange() {
+    return _startDocId == 0 && _endDocId >= _indexSegment.getSegmentMetadata().getTotalRawDocs();
+  }
+
   @Override
   public AggregationGroupByOperator run() {
     int numTotalRawDocs = _indexSegment.getSegmentMetadata().getTotalRawDocs();
     if (_transformPlanNode != null) {
       // Do not use star-tree
-      return new AggregationGroupByOperator(_functionContexts, _groupBy, _maxInitialResultHolderCapacity,
-          _numGroupsLimit, _transformPlanNode.run(), numTotalRawDocs, false);
+      if (isFullRange()) {
+        return new AggregationGroupByOperator(_functionContexts, _groupBy, _maxInitialResultHolderCapacity,
+            _numGroupsLimit, _transformPlanNode.run(), numTotalRawDocs, false);
+      } else {
+        // Only count the segment as processed for the first sub-range of the split segment, and as matched for the
+        // first sub-range with matching documents
+        int numRawDocsInRange = Math.min(_endDocId, numTotalRawDocs) - _startDocId;
+        return new AggregationGroupByOperator(_functionContexts, _groupBy, _maxInitialResultHolderCapacity,
+            _numGroupsLimit, _transformPlanNode.run(), numRawDocsInRange, false, _startDocId == 0, _segmentMatched);
+      }
     } else {
       // Use star-tree
       return new AggregationGroupByOperator(_functionContexts, _groupBy, _maxInitialResultHolderCapacity,
@@ -117,6 +155,9 @@ public class AggregationGroupByPlanNode implements PlanNode {
     LOGGER.debug(prefix + "Argument 0: IndexSegment - " + _indexSegment.getSegmentName());
     LOGGER.debug(prefix + "Argument 1: Aggregations - " + _aggregationInfos);
     LOGGER.debug(prefix + "Argument 2: GroupBy - " + _groupBy);
+    if (!isFullRange()) {
+      LOGGER.debug(prefix + "DocId Range: [" + _startDocId + ", " + _endDocId + ")");
+    }
     if (_transformPlanNode != null) {
       LOGGER.debug(prefix + "Argument 3: TransformPlanNode -");
       _transformPlanNode.showTree(prefix + "    ");
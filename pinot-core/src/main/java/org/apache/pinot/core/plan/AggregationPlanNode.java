@@ -21,7 +21,9 @@ package org.apache.pinot.core.plan;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.request.AggregationInfo;
 import org.apache.pinot.common.request.BrokerRequest;
 import org.apache.pinot.common.utils.request.FilterQueryTree;
@@ -50,15 +52,36 @@ public class AggregationPlanNode implements PlanNode {
   private final AggregationFunctionContext[] _functionContexts;
   private final TransformPlanNode _transformPlanNode;
   private final StarTreeTransformPlanNode _starTreeTransformPlanNode;
+  private final int _startDocId;
+  private final int _endDocId;
+  private final AtomicBoolean _segmentMatched;
 
   public AggregationPlanNode(@Nonnull IndexSegment indexSegment, @Nonnull BrokerRequest brokerRequest) {
+    this(indexSegment, brokerRequest, 0, Integer.MAX_VALUE, null);
+  }
+
+  /**
+   * Constructor for the plan node which only aggregates the documents within the given document id range. Star-tree
+   * is not used when the range does not cover the whole segment.
+   *
+   * @param indexSegment Segment to process
+   * @param brokerRequest Broker request
+   * @param startDocId Start document id (inclusive)
+   * @param endDocId End document id (exclusive)
+   * @param segmentMatched Flag shared by all the sub-ranges of the segment to count the segment as matched once
+   */
+  public AggregationPlanNode(@Nonnull IndexSegment indexSegment, @Nonnull BrokerRequest brokerRequest, int startDocId,
+      int endDocId, @Nullable AtomicBoolean segmentMatched) {
     _indexSegment = indexSegment;
     _aggregationInfos = brokerRequest.getAggregationsInfo();
     _functionContexts =
         AggregationFunctionUtils.getAggregationFunctionContexts(_aggregationInfos, indexSegment.getSegmentMetadata());
+    _startDocId = startDocId;
+    _endDocId = endDocId;
+    _segmentMatched = segmentMatched;
 
     List<StarTreeV2> starTrees = indexSegment.getStarTrees();
-    if (starTrees != null) {
+    if (starTrees != null && isFullRange()) {
       if (!StarTreeUtils.isStarTreeDisabled(brokerRequest)) {
         Set<AggregationFunctionColumnPair> aggregationFunctionColumnPairs = new HashSet<>();
         for (AggregationInfo aggregationInfo : _aggregationInfos) {
@@ -78,16 +101,28 @@ public class AggregationPlanNode implements PlanNode {
       }
     }
 
-    _transformPlanNode = new TransformPlanNode(_indexSegment, brokerRequest);
+    _transformPlanNode = new TransformPlanNode(_indexSegment, brokerRequest, startDocId, endDocId);
     _starTreeTransformPlanNode = null;
   }
 
+  private boolean isFullRange() {
+    return _startDocId == 0 && _endDocId >= _indexSegment.getSegmentMetadata().getTotalRawDocs();
+  }
+
   @Override
   public AggregationOperator run() {
     int numTotalRawDocs = _indexSegment.getSegmentMetadata().getTotalRawDocs();
     if (_transformPlanNode != null) {
       // Do not use star-tree
-      return new AggregationOperator(_functionContexts, _transformPlanNode.run(), numTotalRawDocs, false);
+      if (isFullRange()) {
+        return new AggregationOperator(_functionContexts, _transformPlanNode.run(), numTotalRawDocs, false);
+      } else {
+        // Only count the segment as processed for the first sub-range of the split segment, and as matched for the
+        // first sub-range with matching documents
+        int numRawDocsInRange = Math.min(_endDocId, numTotalRawDocs) - _startDocId;
+        return new AggregationOperator(_functionContexts, _transformPlanNode.run(), numRawDocsInRange, false,
+            _startDocId == 0, _segmentMatched);
+      }
     } else {
       // Use star-tree
       return new AggregationOperator(_functionContexts, _starTreeTransformPlanNode.run(), numTotalRawDocs, true);
@@ -100,6 +135,9 @@ public class AggregationPlanNode implements PlanNode {
     LOGGER.debug(prefix + "Operator: AggregationOperator");
     LOGGER.debug(prefix + "Argument 0: IndexSegment - " + _indexSegment.getSegmentName());
     LOGGER.debug(prefix + "Argument 1: Aggregations - " + _aggregationInfos);
+    if (!isFullRange()) {
+      LOGGER.debug(prefix + "DocId Range: [" + _startDocId + ", " + _endDocId + ")");
+    }
     if (_transformPlanNode != null) {
       LOGGER.debug(prefix + "Argument 2: TransformPlanNode -");
       _transformPlanNode.showTree(prefix + "    ");
@@ -35,12 +35,21 @@ public class DocIdSetPlanNode implements PlanNode {
   private final IndexSegment _indexSegment;
   private final FilterPlanNode _filterPlanNode;
   private final int _maxDocPerCall;
+  private final int _startDocId;
+  private final int _endDocId;
 
-  public DocIdSetPlanNode(@Nonnull IndexSegment indexSegment, @Nonnull BrokerRequest brokerRequest, int maxDocPerCall) {
+  public DocIdSetPlanNode(@Nonnull IndexSegment indexSegment, @Nonnull BrokerRequest brokerRequest, int maxDocPerCall,
+      int startDocId, int endDocId) {
     Preconditions.checkState(maxDocPerCall > 0 && maxDocPerCall <= MAX_DOC_PER_CALL);
     _indexSegment = indexSegment;
     _filterPlanNode = new FilterPlanNode(_indexSegment, brokerRequest);
     _maxDocPerCall = maxDocPerCall;
+    _startDocId = startDocId;
+    _endDocId = endDocId;
+  }
+
+  public DocIdSetPlanNode(@Nonnull IndexSegment indexSegment, @Nonnull BrokerRequest brokerRequest, int maxDocPerCall) {
+    this(indexSegment, brokerRequest, maxDocPerCall, 0, Integer.MAX_VALUE);
   }
 
   public DocIdSetPlanNode(@Nonnull IndexSegment indexSegment, @Nonnull BrokerRequest brokerRequest) {
@@ -49,7 +58,7 @@ public class DocIdSetPlanNode implements PlanNode {
 
   @Override
   public DocIdSetOperator run() {
-    return new DocIdSetOperator(_filterPlanNode.run(), _maxDocPerCall);
+    return new DocIdSetOperator(_filterPlanNode.run(), _maxDocPerCall, _startDocId, _endDocId);
   }
 
   @Override
@@ -57,6 +66,9 @@ public class DocIdSetPlanNode implements PlanNode {
     LOGGER.debug(prefix + "DocIdSetPlanNode Plan Node :");
     LOGGER.debug(prefix + "Operator: DocIdSetOperator");
     LOGGER.debug(prefix + "Argument 0: IndexSegment - " + _indexSegment.getSegmentName());
+    if (_startDocId != 0 || _endDocId != Integer.MAX_VALUE) {
+      LOGGER.debug(prefix + "DocId Range: [" + _startDocId + ", " + _endDocId + ")");
+    }
     LOGGER.debug(prefix + "Argument 1: FilterPlanNode:");
     _filterPlanNode.showTree(prefix + "    ");
   }
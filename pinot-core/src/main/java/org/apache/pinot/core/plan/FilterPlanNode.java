@@ -28,6 +28,7 @@ import org.apache.pinot.common.utils.request.FilterQueryTree;
 import org.apache.pinot.common.utils.request.RequestUtils;
 import org.apache.pinot.core.common.DataSource;
 import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.common.predicate.EqPredicate;
 import org.apache.pinot.core.indexsegment.IndexSegment;
 import org.apache.pinot.core.operator.filter.BaseFilterOperator;
 import org.apache.pinot.core.operator.filter.EmptyFilterOperator;
@@ -35,6 +36,8 @@ import org.apache.pinot.core.operator.filter.FilterOperatorUtils;
 import org.apache.pinot.core.operator.filter.MatchAllFilterOperator;
 import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
 import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluatorProvider;
+import org.apache.pinot.core.query.pruner.AbstractSegmentPruner;
+import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -102,11 +105,23 @@ public class FilterPlanNode implements PlanNode {
       // Leaf filter operator
       Predicate predicate = Predicate.newPredicate(filterQueryTree);
       DataSource dataSource = segment.getDataSource(filterQueryTree.getColumn());
+      // EQ predicate does not match any document if the bloom filter does not contain the value, which is cheaper to
+      // check than looking up the dictionary. The empty filter operator is estimated to match no document, and makes
+      // the parent AND filter operator empty
+      if (predicate.getType() == Predicate.Type.EQ && isBloomFilterMiss((EqPredicate) predicate, dataSource)) {
+        return EmptyFilterOperator.getInstance();
+      }
       PredicateEvaluator predicateEvaluator = PredicateEvaluatorProvider.getPredicateEvaluator(predicate, dataSource);
       return FilterOperatorUtils.getLeafFilterOperator(predicateEvaluator, dataSource, numDocs);
     }
   }
 
+  private static boolean isBloomFilterMiss(EqPredicate eqPredicate, DataSource dataSource) {
+    BloomFilterReader bloomFilter = dataSource.getBloomFilter();
+    return bloomFilter != null && !bloomFilter.mightContain(AbstractSegmentPruner
+        .getValue(eqPredicate.getEqualsValue(), dataSource.getDataSourceMetadata().getDataType()));
+  }
+
   @Override
   public void showTree(String prefix) {
     final String treeStructure =
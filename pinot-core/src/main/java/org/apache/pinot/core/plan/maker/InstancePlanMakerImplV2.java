@@ -23,11 +23,14 @@ import com.google.common.base.Preconditions;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.pinot.common.request.AggregationInfo;
 import org.apache.pinot.common.request.BrokerRequest;
 import org.apache.pinot.common.request.transform.TransformExpressionTree;
 import org.apache.pinot.core.data.manager.SegmentDataManager;
 import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegment;
+import org.apache.pinot.core.operator.CombineOperator;
 import org.apache.pinot.core.plan.AggregationGroupByPlanNode;
 import org.apache.pinot.core.plan.AggregationPlanNode;
 import org.apache.pinot.core.plan.CombinePlanNode;
@@ -42,6 +45,7 @@ import org.apache.pinot.core.query.aggregation.function.AggregationFunctionType;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils;
 import org.apache.pinot.core.query.config.QueryExecutorConfig;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
+import org.apache.pinot.core.startree.v2.StarTreeV2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,21 +60,35 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
   public static final int DEFAULT_MAX_INITIAL_RESULT_HOLDER_CAPACITY = 10_000;
   public static final String NUM_GROUPS_LIMIT = "num.groups.limit";
   public static final int DEFAULT_NUM_GROUPS_LIMIT = 100_000;
+  public static final String MIN_DOCS_PER_SEGMENT_SPLIT_KEY = "min.docs.per.segment.split";
+  public static final int DEFAULT_MIN_DOCS_PER_SEGMENT_SPLIT = 1_000_000;
+
+  // Number of worker threads a single query can use to process segments, capped the same way as CombineOperator
+  private static final int NUM_WORKERS_PER_QUERY = Math.max(1, CombineOperator.MAX_THREADS_PER_QUERY);
 
   private final int _maxInitialResultHolderCapacity;
   // Limit on number of groups, beyond which no new group will be created
   private final int _numGroupsLimit;
+  // Minimum number of documents in each sub-range when splitting a segment for intra-segment parallelism
+  private final int _minDocsPerSegmentSplit;
 
   @VisibleForTesting
   public InstancePlanMakerImplV2() {
     _maxInitialResultHolderCapacity = DEFAULT_MAX_INITIAL_RESULT_HOLDER_CAPACITY;
     _numGroupsLimit = DEFAULT_NUM_GROUPS_LIMIT;
+    _minDocsPerSegmentSplit = DEFAULT_MIN_DOCS_PER_SEGMENT_SPLIT;
   }
 
   @VisibleForTesting
   public InstancePlanMakerImplV2(int maxInitialResultHolderCapacity, int numGroupsLimit) {
+    this(maxInitialResultHolderCapacity, numGroupsLimit, DEFAULT_MIN_DOCS_PER_SEGMENT_SPLIT);
+  }
+
+  @VisibleForTesting
+  public InstancePlanMakerImplV2(int maxInitialResultHolderCapacity, int numGroupsLimit, int minDocsPerSegmentSplit) {
     _maxInitialResultHolderCapacity = maxInitialResultHolderCapacity;
     _numGroupsLimit = numGroupsLimit;
+    _minDocsPerSegmentSplit = minDocsPerSegmentSplit;
   }
 
   /**
@@ -78,6 +96,7 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
    * <ul>
    *   <li>Set limit on the initial result holder capacity</li>
    *   <li>Set limit on number of groups returned from each segment and combined result</li>
+   *   <li>Set minimum number of documents in each sub-range when splitting large segments</li>
    * </ul>
    *
    * @param queryExecutorConfig Query executor configuration
@@ -86,11 +105,16 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
     _maxInitialResultHolderCapacity = queryExecutorConfig.getConfig()
         .getInt(MAX_INITIAL_RESULT_HOLDER_CAPACITY_KEY, DEFAULT_MAX_INITIAL_RESULT_HOLDER_CAPACITY);
     _numGroupsLimit = queryExecutorConfig.getConfig().getInt(NUM_GROUPS_LIMIT, DEFAULT_NUM_GROUPS_LIMIT);
+    _minDocsPerSegmentSplit = queryExecutorConfig.getConfig()
+        .getInt(MIN_DOCS_PER_SEGMENT_SPLIT_KEY, DEFAULT_MIN_DOCS_PER_SEGMENT_SPLIT);
     Preconditions.checkState(_maxInitialResultHolderCapacity <= _numGroupsLimit,
         "Invalid configuration: maxInitialResultHolderCapacity: %d must be smaller or equal to numGroupsLimit: %d",
         _maxInitialResultHolderCapacity, _numGroupsLimit);
-    LOGGER.info("Initializing plan maker with maxInitialResultHolderCapacity: {}, numGroupsLimit: {}",
-        _maxInitialResultHolderCapacity, _numGroupsLimit);
+    Preconditions.checkState(_minDocsPerSegmentSplit > 0,
+        "Invalid configuration: minDocsPerSegmentSplit: %d must be positive", _minDocsPerSegmentSplit);
+    LOGGER.info("Initializing plan maker with maxInitialResultHolderCapacity: {}, numGroupsLimit: {}, "
+            + "minDocsPerSegmentSplit: {}", _maxInitialResultHolderCapacity, _numGroupsLimit,
+        _minDocsPerSegmentSplit);
   }
 
   @Override
@@ -126,8 +150,17 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
     BrokerRequestPreProcessor.preProcess(indexSegments, brokerRequest);
 
     List<PlanNode> planNodes = new ArrayList<>();
-    for (IndexSegment indexSegment : indexSegments) {
-      planNodes.add(makeInnerSegmentPlan(indexSegment, brokerRequest));
+    int numSegments = indexSegments.size();
+    if (numSegments > 0 && numSegments < NUM_WORKERS_PER_QUERY) {
+      // Not enough segments to keep all the workers busy, split the large segments into sub-ranges
+      int maxNumSplitsPerSegment = (NUM_WORKERS_PER_QUERY + numSegments - 1) / numSegments;
+      for (IndexSegment indexSegment : indexSegments) {
+        makeSplitInnerSegmentPlans(indexSegment, brokerRequest, maxNumSplitsPerSegment, planNodes);
+      }
+    } else {
+      for (IndexSegment indexSegment : indexSegments) {
+        planNodes.add(makeInnerSegmentPlan(indexSegment, brokerRequest));
+      }
     }
     CombinePlanNode combinePlanNode =
         new CombinePlanNode(planNodes, brokerRequest, executorService, timeOutMs, _numGroupsLimit);
@@ -135,6 +168,52 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
     return new GlobalPlanImplV0(new InstanceResponsePlanNode(combinePlanNode));
   }
 
+  /**
+   * Helper method to make the inner-segment plans for the given segment, where the segment is split into multiple
+   * document id sub-ranges if possible so that they can be aggregated/grouped in parallel by the combine operator.
+   * <p>Only aggregation queries on immutable segments without star-tree are split, and each sub-range contains at
+   * least {@link #_minDocsPerSegmentSplit} documents.
+   */
+  @VisibleForTesting
+  void makeSplitInnerSegmentPlans(IndexSegment indexSegment, BrokerRequest brokerRequest, int maxNumSplits,
+      List<PlanNode> planNodes) {
+    int numDocs = indexSegment.getSegmentMetadata().getTotalRawDocs();
+    int numSplits = Math.min(maxNumSplits, numDocs / _minDocsPerSegmentSplit);
+    if (numSplits <= 1 || !isFitForSegmentSplit(brokerRequest, indexSegment)) {
+      planNodes.add(makeInnerSegmentPlan(indexSegment, brokerRequest));
+      return;
+    }
+
+    int numDocsPerSplit = (numDocs + numSplits - 1) / numSplits;
+    AtomicBoolean segmentMatched = new AtomicBoolean();
+    for (int startDocId = 0; startDocId < numDocs; startDocId += numDocsPerSplit) {
+      int endDocId = Math.min(startDocId + numDocsPerSplit, numDocs);
+      if (brokerRequest.isSetGroupBy()) {
+        planNodes.add(new AggregationGroupByPlanNode(indexSegment, brokerRequest, _maxInitialResultHolderCapacity,
+            _numGroupsLimit, startDocId, endDocId, segmentMatched));
+      } else {
+        planNodes.add(new AggregationPlanNode(indexSegment, brokerRequest, startDocId, endDocId, segmentMatched));
+      }
+    }
+  }
+
+  /**
+   * Helper method to identify if the segment can be split into sub-ranges for the query.
+   * <p>Selection queries, queries served by metadata/dictionary and segments with star-tree are not split. Mutable
+   * segments are not split because their number of documents keeps growing.
+   */
+  private static boolean isFitForSegmentSplit(BrokerRequest brokerRequest, IndexSegment indexSegment) {
+    if (!brokerRequest.isSetAggregationsInfo() || !(indexSegment instanceof ImmutableSegment)) {
+      return false;
+    }
+    List<StarTreeV2> starTrees = indexSegment.getStarTrees();
+    if (starTrees != null && !starTrees.isEmpty()) {
+      return false;
+    }
+    return brokerRequest.isSetGroupBy() || (!isFitForMetadataBasedPlan(brokerRequest, indexSegment)
+        && !isFitForDictionaryBasedPlan(brokerRequest, indexSegment));
+  }
+
   /**
    * Helper method to identify if query is fit to be be served purely based on metadata.
    * Currently count queries without any filters are supported.
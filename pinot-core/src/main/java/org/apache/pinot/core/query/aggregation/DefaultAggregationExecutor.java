@@ -21,8 +21,11 @@ package org.apache.pinot.core.query.aggregation;
 import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.request.transform.TransformExpressionTree;
 import org.apache.pinot.core.operator.blocks.TransformBlock;
+import org.apache.pinot.core.operator.transform.TransformOperator;
+import org.apache.pinot.core.operator.transform.fused.FusedArithmeticExpression;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunctionType;
 
@@ -36,18 +39,37 @@ public class DefaultAggregationExecutor implements AggregationExecutor {
   protected final AggregationFunction[] _functions;
   protected final AggregationResultHolder[] _resultHolders;
   protected final TransformExpressionTree[] _expressions;
+  // Fused arithmetic expressions for the aggregations that can skip the transform functions, null otherwise
+  protected final FusedArithmeticExpression[] _fusedExpressions;
 
   public DefaultAggregationExecutor(@Nonnull AggregationFunctionContext[] functionContexts) {
+    this(functionContexts, null);
+  }
+
+  /**
+   * Constructor for the class.
+   * <p>When the transform operator is provided, SUM/MIN/MAX on top of arithmetic expressions are evaluated with fused
+   * arithmetic expressions instead of the transform functions.
+   *
+   * @param functionContexts Array of aggregation functions
+   * @param transformOperator Transform operator
+   */
+  public DefaultAggregationExecutor(@Nonnull AggregationFunctionContext[] functionContexts,
+      @Nullable TransformOperator transformOperator) {
     _numFunctions = functionContexts.length;
     _functions = new AggregationFunction[_numFunctions];
     _resultHolders = new AggregationResultHolder[_numFunctions];
     _expressions = new TransformExpressionTree[_numFunctions];
+    _fusedExpressions = new FusedArithmeticExpression[_numFunctions];
     for (int i = 0; i < _numFunctions; i++) {
       AggregationFunction function = functionContexts[i].getAggregationFunction();
       _functions[i] = function;
       _resultHolders[i] = _functions[i].createAggregationResultHolder();
       if (function.getType() != AggregationFunctionType.COUNT) {
         _expressions[i] = TransformExpressionTree.compileToExpressionTree(functionContexts[i].getColumn());
+        if (transformOperator != null) {
+          _fusedExpressions[i] = FusedAggregationUtils.compile(function.getType(), _expressions[i], transformOperator);
+        }
       }
     }
   }
@@ -59,8 +81,12 @@ public class DefaultAggregationExecutor implements AggregationExecutor {
       AggregationFunction function = _functions[i];
       AggregationResultHolder resultHolder = _resultHolders[i];
 
+      FusedArithmeticExpression fusedExpression = _fusedExpressions[i];
       if (function.getType() == AggregationFunctionType.COUNT) {
         function.aggregate(length, resultHolder);
+      } else if (fusedExpression != null) {
+        fusedExpression.bind(transformBlock);
+        FusedAggregationUtils.aggregate(function.getType(), length, resultHolder, fusedExpression);
       } else {
         function.aggregate(length, resultHolder, transformBlock.getBlockValueSet(_expressions[i]));
       }
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.aggregation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.core.operator.transform.TransformOperator;
+import org.apache.pinot.core.operator.transform.fused.FusedArithmeticExpression;
+import org.apache.pinot.core.operator.transform.fused.FusedArithmeticExpressionCompiler;
+import org.apache.pinot.core.query.aggregation.function.AggregationFunctionType;
+import org.apache.pinot.core.query.aggregation.groupby.GroupByResultHolder;
+
+
+/**
+ * Utility class to run SUM, MIN and MAX aggregations directly on top of a {@link FusedArithmeticExpression}, so that
+ * the arithmetic transform and the aggregation are evaluated within a single loop without intermediate arrays.
+ * <p>The update logic is the same as the corresponding aggregation functions.
+ */
+public class FusedAggregationUtils {
+  private FusedAggregationUtils() {
+  }
+
+  /**
+   * Compiles the fused arithmetic expression for the given aggregation function and expression.
+   *
+   * @param functionType Aggregation function type
+   * @param expression Aggregation expression
+   * @param transformOperator Transform operator
+   * @return Fused arithmetic expression, or <code>null</code> if the aggregation cannot be fused
+   */
+  @Nullable
+  public static FusedArithmeticExpression compile(@Nonnull AggregationFunctionType functionType,
+      @Nonnull TransformExpressionTree expression, @Nonnull TransformOperator transformOperator) {
+    switch (functionType) {
+      case SUM:
+      case MIN:
+      case MAX:
+        return FusedArithmeticExpressionCompiler.compile(expression, transformOperator.getDataSourceMap());
+      default:
+        return null;
+    }
+  }
+
+  public static void aggregate(AggregationFunctionType functionType, int length,
+      AggregationResultHolder aggregationResultHolder, FusedArithmeticExpression expression) {
+    double result = aggregationResultHolder.getDoubleResult();
+    switch (functionType) {
+      case SUM:
+        for (int i = 0; i < length; i++) {
+          result += expression.evaluate(i);
+        }
+        break;
+      case MIN:
+        for (int i = 0; i < length; i++) {
+          double value = expression.evaluate(i);
+          if (value < result) {
+            result = value;
+          }
+        }
+        break;
+      case MAX:
+        for (int i = 0; i < length; i++) {
+          double value = expression.evaluate(i);
+          if (value > result) {
+            result = value;
+          }
+        }
+        break;
+      default:
+        throw new IllegalStateException("Unsupported aggregation function for fused expression: " + functionType);
+    }
+    aggregationResultHolder.setValue(result);
+  }
+
+  public static void aggregateGroupBySV(AggregationFunctionType functionType, int length, int[] groupKeyArray,
+      GroupByResultHolder groupByResultHolder, FusedArithmeticExpression expression) {
+    switch (functionType) {
+      case SUM:
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeyArray[i];
+          groupByResultHolder
+              .setValueForKey(groupKey, groupByResultHolder.getDoubleResult(groupKey) + expression.evaluate(i));
+        }
+        break;
+      case MIN:
+        for (int i = 0; i < length; i++) {
+          double value = expression.evaluate(i);
+          int groupKey = groupKeyArray[i];
+          if (value < groupByResultHolder.getDoubleResult(groupKey)) {
+            groupByResultHolder.setValueForKey(groupKey, value);
+          }
+        }
+        break;
+      case MAX:
+        for (int i = 0; i < length; i++) {
+          double value = expression.evaluate(i);
+          int groupKey = groupKeyArray[i];
+          if (value > groupByResultHolder.getDoubleResult(groupKey)) {
+            groupByResultHolder.setValueForKey(groupKey, value);
+          }
+        }
+        break;
+      default:
+        throw new IllegalStateException("Unsupported aggregation function for fused expression: " + functionType);
+    }
+  }
+}
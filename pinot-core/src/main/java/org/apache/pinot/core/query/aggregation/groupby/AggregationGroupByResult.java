@@ -31,12 +31,19 @@ public class AggregationGroupByResult {
   private final GroupKeyGenerator _groupKeyGenerator;
   private final AggregationFunction[] _aggregationFunctions;
   private final GroupByResultHolder[] _resultHolders;
+  private final long _trackedSizeInBytes;
 
   public AggregationGroupByResult(GroupKeyGenerator groupKeyGenerator, AggregationFunction[] aggregationFunctions,
       GroupByResultHolder[] resultHolders) {
+    this(groupKeyGenerator, aggregationFunctions, resultHolders, 0L);
+  }
+
+  public AggregationGroupByResult(GroupKeyGenerator groupKeyGenerator, AggregationFunction[] aggregationFunctions,
+      GroupByResultHolder[] resultHolders, long trackedSizeInBytes) {
     _groupKeyGenerator = groupKeyGenerator;
     _aggregationFunctions = aggregationFunctions;
     _resultHolders = resultHolders;
+    _trackedSizeInBytes = trackedSizeInBytes;
   }
 
   /**
@@ -67,4 +74,12 @@ public class AggregationGroupByResult {
   public Object getResultForKey(GroupKeyGenerator.GroupKey groupKey, int index) {
     return _aggregationFunctions[index].extractGroupByResult(_resultHolders[index], groupKey._groupId);
   }
+
+  /**
+   * Returns the number of bytes allocated from the query memory tracker for this result, which can be released once the
+   * result is merged.
+   */
+  public long getTrackedSizeInBytes() {
+    return _trackedSizeInBytes;
+  }
 }
@@ -26,10 +26,13 @@ import org.apache.pinot.core.common.BlockValSet;
 import org.apache.pinot.core.operator.blocks.TransformBlock;
 import org.apache.pinot.core.operator.transform.TransformOperator;
 import org.apache.pinot.core.operator.transform.TransformResultMetadata;
+import org.apache.pinot.core.operator.transform.fused.FusedArithmeticExpression;
 import org.apache.pinot.core.plan.DocIdSetPlanNode;
 import org.apache.pinot.core.query.aggregation.AggregationFunctionContext;
+import org.apache.pinot.core.query.aggregation.FusedAggregationUtils;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunctionType;
+import org.apache.pinot.core.query.scheduler.resources.QueryMemoryTracker;
 
 
 /**
@@ -51,12 +54,19 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
   protected final int _numFunctions;
   protected final AggregationFunction[] _functions;
   protected final TransformExpressionTree[] _aggregationExpressions;
+  // Fused arithmetic expressions for the aggregations that can skip the transform functions, null otherwise
+  protected final FusedArithmeticExpression[] _fusedExpressions;
   protected final GroupKeyGenerator _groupKeyGenerator;
   protected final GroupByResultHolder[] _resultHolders;
   protected final boolean _hasMVGroupByExpression;
   protected final boolean _hasNoDictionaryGroupByExpression;
   protected final int[] _svGroupKeys;
   protected final int[][] _mvGroupKeys;
+  protected final QueryMemoryTracker _queryMemoryTracker;
+
+  // Estimated size of the group key generator and result holders already allocated from the query memory tracker
+  private long _trackedSizeInBytes;
+  private boolean _memoryLimitReached;
 
   /**
    * Constructor for the class.
@@ -73,11 +83,14 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
     _numFunctions = functionContexts.length;
     _functions = new AggregationFunction[_numFunctions];
     _aggregationExpressions = new TransformExpressionTree[_numFunctions];
+    _fusedExpressions = new FusedArithmeticExpression[_numFunctions];
     for (int i = 0; i < _numFunctions; i++) {
       AggregationFunction function = functionContexts[i].getAggregationFunction();
       _functions[i] = function;
       if (function.getType() != AggregationFunctionType.COUNT) {
         _aggregationExpressions[i] = TransformExpressionTree.compileToExpressionTree(functionContexts[i].getColumn());
+        _fusedExpressions[i] =
+            FusedAggregationUtils.compile(function.getType(), _aggregationExpressions[i], transformOperator);
       }
     }
 
@@ -126,6 +139,9 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
       _svGroupKeys = THREAD_LOCAL_SV_GROUP_KEYS.get();
       _mvGroupKeys = null;
     }
+
+    _queryMemoryTracker = QueryMemoryTracker.get();
+    trackMemory();
   }
 
   @Override
@@ -145,6 +161,37 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
       resultHolder.ensureCapacity(capacityNeeded);
       aggregate(transformBlock, length, i);
     }
+    trackMemory();
+  }
+
+  /**
+   * Allocates the growth of the group key generator and result holders from the query memory tracker.
+   * <p>When the memory limit is reached, either stops generating new groups (TRIM policy) or throws
+   * {@link org.apache.pinot.core.query.exception.QueryMemoryLimitExceededException} (REJECT policy).
+   */
+  private void trackMemory() {
+    if (_queryMemoryTracker == null || _memoryLimitReached) {
+      return;
+    }
+    long sizeInBytes = _groupKeyGenerator.getEstimatedSizeInBytes();
+    for (GroupByResultHolder resultHolder : _resultHolders) {
+      sizeInBytes += resultHolder.getEstimatedSizeInBytes();
+    }
+    long numBytesToAllocate = sizeInBytes - _trackedSizeInBytes;
+    if (numBytesToAllocate <= 0) {
+      return;
+    }
+    if (_queryMemoryTracker.getOverflowPolicy() == QueryMemoryTracker.OverflowPolicy.TRIM) {
+      if (_queryMemoryTracker.tryAllocate(numBytesToAllocate)) {
+        _trackedSizeInBytes = sizeInBytes;
+      } else {
+        _groupKeyGenerator.stopGeneratingNewGroupKeys();
+        _memoryLimitReached = true;
+      }
+    } else {
+      _queryMemoryTracker.allocate(numBytesToAllocate, "group-by results");
+      _trackedSizeInBytes = sizeInBytes;
+    }
   }
 
   protected void aggregate(@Nonnull TransformBlock transformBlock, int length, int functionIndex) {
@@ -157,6 +204,11 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
       } else {
         function.aggregateGroupBySV(length, _svGroupKeys, resultHolder);
       }
+    } else if (_fusedExpressions[functionIndex] != null && !_hasMVGroupByExpression) {
+      FusedArithmeticExpression fusedExpression = _fusedExpressions[functionIndex];
+      fusedExpression.bind(transformBlock);
+      FusedAggregationUtils
+          .aggregateGroupBySV(function.getType(), length, _svGroupKeys, resultHolder, fusedExpression);
     } else {
       BlockValSet blockValueSet = transformBlock.getBlockValueSet(_aggregationExpressions[functionIndex]);
       if (_hasMVGroupByExpression) {
@@ -169,6 +221,6 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
 
   @Override
   public AggregationGroupByResult getResult() {
-    return new AggregationGroupByResult(_groupKeyGenerator, _functions, _resultHolders);
+    return new AggregationGroupByResult(_groupKeyGenerator, _functions, _resultHolders, _trackedSizeInBytes);
   }
 }
@@ -22,9 +22,8 @@ import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2IntMap;
 import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import javax.annotation.Nonnull;
@@ -32,6 +31,7 @@ import org.apache.pinot.common.request.transform.TransformExpressionTree;
 import org.apache.pinot.core.common.BlockValSet;
 import org.apache.pinot.core.operator.blocks.TransformBlock;
 import org.apache.pinot.core.operator.transform.TransformOperator;
+import org.apache.pinot.core.query.aggregation.groupby.utils.LongArrayKeyToIdMap;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 
 
@@ -53,14 +53,19 @@ import org.apache.pinot.core.segment.index.readers.Dictionary;
  *     raw keys and map them onto contiguous group ids. (LONG_MAP_BASED)
  *   </li>
  *   <li>
- *     If the maximum number of possible group keys cannot fit into long, use int arrays as the raw keys to store the
- *     dictionary ids of all the group-by columns and map them onto contiguous group ids. (ARRAY_MAP_BASED)
+ *     If the maximum number of possible group keys cannot fit into long, bit-pack the dictionary ids of all the
+ *     group-by columns into fixed-length long arrays as the raw keys, and map them onto contiguous group ids with a
+ *     primitive open-addressing hash map so that no object is allocated per group. (ARRAY_MAP_BASED)
  *   </li>
  * </ul>
  * <p>All the logic is maintained internally, and to the outside world, the group ids are always int type, and are
  * bounded by the number of groups limit (globalGroupIdUpperBound is always smaller or equal to numGroupsLimit).
  */
 public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
+  // Estimated heap size per entry of the open hash maps (key and value arrays with the default load factor)
+  private static final int INT_MAP_ENTRY_SIZE_IN_BYTES = 16;
+  private static final int LONG_MAP_ENTRY_SIZE_IN_BYTES = 24;
+
   private final TransformExpressionTree[] _groupByExpressions;
   private final int _numGroupByExpressions;
   private final int[] _cardinalities;
@@ -76,6 +81,9 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
   private final int _globalGroupIdUpperBound;
   private final RawKeyHolder _rawKeyHolder;
 
+  // New group ids are only generated when the number of groups is less than this limit
+  private int _groupIdLimit;
+
   public DictionaryBasedGroupKeyGenerator(TransformOperator transformOperator,
       TransformExpressionTree[] groupByExpressions, int numGroupsLimit, int arrayBasedThreshold) {
     assert numGroupsLimit >= arrayBasedThreshold;
@@ -123,6 +131,7 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
         }
       }
     }
+    _groupIdLimit = _globalGroupIdUpperBound;
   }
 
   @Override
@@ -166,6 +175,16 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
     return _rawKeyHolder.iterator();
   }
 
+  @Override
+  public void stopGeneratingNewGroupKeys() {
+    _groupIdLimit = 0;
+  }
+
+  @Override
+  public long getEstimatedSizeInBytes() {
+    return _rawKeyHolder.getEstimatedSizeInBytes();
+  }
+
   private interface RawKeyHolder extends Iterable<GroupKey> {
 
     /**
@@ -190,6 +209,13 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
      * @return Upper bound of group id inside the holder
      */
     int getGroupIdUpperBound();
+
+    /**
+     * Get the estimated heap size of the holder in bytes.
+     *
+     * @return Estimated size of the holder in bytes
+     */
+    long getEstimatedSizeInBytes();
   }
 
   private class ArrayBasedHolder implements RawKeyHolder {
@@ -224,6 +250,11 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
       return _globalGroupIdUpperBound;
     }
 
+    @Override
+    public long getEstimatedSizeInBytes() {
+      return _flags.length;
+    }
+
     @Nonnull
     @Override
     public Iterator<GroupKey> iterator() {
@@ -293,7 +324,7 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
     private int getGroupId(int rawKey) {
       int groupId = _rawKeyToGroupIdMap.get(rawKey);
       if (groupId == INVALID_ID) {
-        if (_numGroups < _globalGroupIdUpperBound) {
+        if (_numGroups < _groupIdLimit) {
           groupId = _numGroups;
           _rawKeyToGroupIdMap.put(rawKey, _numGroups++);
         }
@@ -306,6 +337,11 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
       return _numGroups;
     }
 
+    @Override
+    public long getEstimatedSizeInBytes() {
+      return (long) _numGroups * INT_MAP_ENTRY_SIZE_IN_BYTES;
+    }
+
     @Nonnull
     @Override
     public Iterator<GroupKey> iterator() {
@@ -472,7 +508,7 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
     private int getGroupId(long rawKey) {
       int groupId = _rawKeyToGroupIdMap.get(rawKey);
       if (groupId == INVALID_ID) {
-        if (_numGroups < _globalGroupIdUpperBound) {
+        if (_numGroups < _groupIdLimit) {
           groupId = _numGroups;
           _rawKeyToGroupIdMap.put(rawKey, _numGroups++);
         }
@@ -485,6 +521,11 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
       return _numGroups;
     }
 
+    @Override
+    public long getEstimatedSizeInBytes() {
+      return (long) _numGroups * LONG_MAP_ENTRY_SIZE_IN_BYTES;
+    }
+
     @Nonnull
     @Override
     public Iterator<GroupKey> iterator() {
@@ -607,72 +648,112 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
   }
 
   private class ArrayMapBasedHolder implements RawKeyHolder {
-    private final Object2IntOpenHashMap<IntArray> _rawKeyToGroupIdMap = new Object2IntOpenHashMap<>();
-
-    private int _numGroups = 0;
+    // Bit offset and number of bits of each group-by column inside the packed key
+    private final int[] _bitOffsets = new int[_numGroupByExpressions];
+    private final int[] _numBits = new int[_numGroupByExpressions];
+    private final LongArrayKeyToIdMap _rawKeyToGroupIdMap;
+    // Reusable buffer for the packed key
+    private final long[] _packedKey;
 
     public ArrayMapBasedHolder() {
-      _rawKeyToGroupIdMap.defaultReturnValue(INVALID_ID);
+      int bitOffset = 0;
+      for (int i = 0; i < _numGroupByExpressions; i++) {
+        _bitOffsets[i] = bitOffset;
+        _numBits[i] = Math.max(Integer.SIZE - Integer.numberOfLeadingZeros(_cardinalities[i] - 1), 1);
+        bitOffset += _numBits[i];
+      }
+      int keyLength = (bitOffset + Long.SIZE - 1) / Long.SIZE;
+      _rawKeyToGroupIdMap = new LongArrayKeyToIdMap(keyLength);
+      _packedKey = new long[keyLength];
     }
 
     @Override
     public void processSingleValue(int numDocs, @Nonnull int[] outGroupIds) {
       for (int i = 0; i < numDocs; i++) {
-        int[] dictIds = new int[_numGroupByExpressions];
+        Arrays.fill(_packedKey, 0L);
         for (int j = 0; j < _numGroupByExpressions; j++) {
-          dictIds[j] = _singleValueDictIds[j][i];
+          pack(j, _singleValueDictIds[j][i]);
         }
-        outGroupIds[i] = getGroupId(new IntArray(dictIds));
+        outGroupIds[i] = _rawKeyToGroupIdMap.put(_packedKey, _groupIdLimit);
       }
     }
 
     @Override
     public void processMultiValue(int numDocs, @Nonnull int[][] outGroupIds) {
       for (int i = 0; i < numDocs; i++) {
-        IntArray[] rawKeys = getIntArrayRawKeys(i);
+        int[][] rawKeys = getIntArrayRawKeys(i);
         int length = rawKeys.length;
         int[] groupIds = new int[length];
         for (int j = 0; j < length; j++) {
-          groupIds[j] = getGroupId(rawKeys[j]);
+          int[] dictIds = rawKeys[j];
+          Arrays.fill(_packedKey, 0L);
+          for (int k = 0; k < _numGroupByExpressions; k++) {
+            pack(k, dictIds[k]);
+          }
+          groupIds[j] = _rawKeyToGroupIdMap.put(_packedKey, _groupIdLimit);
         }
         outGroupIds[i] = groupIds;
       }
     }
 
-    private int getGroupId(IntArray rawKey) {
-      int groupId = _rawKeyToGroupIdMap.getInt(rawKey);
-      if (groupId == INVALID_ID) {
-        if (_numGroups < _globalGroupIdUpperBound) {
-          groupId = _numGroups;
-          _rawKeyToGroupIdMap.put(rawKey, _numGroups++);
-        }
+    private void pack(int index, int dictId) {
+      int bitOffset = _bitOffsets[index];
+      int wordIndex = bitOffset >>> 6;
+      int shift = bitOffset & 63;
+      _packedKey[wordIndex] |= (long) dictId << shift;
+      if (shift + _numBits[index] > Long.SIZE) {
+        _packedKey[wordIndex + 1] |= (long) dictId >>> (Long.SIZE - shift);
       }
-      return groupId;
+    }
+
+    private int unpack(int index) {
+      int bitOffset = _bitOffsets[index];
+      int wordIndex = bitOffset >>> 6;
+      int shift = bitOffset & 63;
+      int numBits = _numBits[index];
+      long value = _packedKey[wordIndex] >>> shift;
+      if (shift + numBits > Long.SIZE) {
+        value |= _packedKey[wordIndex + 1] << (Long.SIZE - shift);
+      }
+      return (int) (value & ((1L << numBits) - 1));
     }
 
     @Override
     public int getGroupIdUpperBound() {
-      return _numGroups;
+      return _rawKeyToGroupIdMap.size();
+    }
+
+    @Override
+    public long getEstimatedSizeInBytes() {
+      return _rawKeyToGroupIdMap.getSizeInBytes();
     }
 
     @Nonnull
     @Override
     public Iterator<GroupKey> iterator() {
       return new Iterator<GroupKey>() {
-        private final ObjectIterator<Object2IntMap.Entry<IntArray>> _iterator =
-            _rawKeyToGroupIdMap.object2IntEntrySet().fastIterator();
+        private final int _numGroups = _rawKeyToGroupIdMap.size();
+        private int _currentGroupId;
         private final GroupKey _groupKey = new GroupKey();
 
         @Override
         public boolean hasNext() {
-          return _iterator.hasNext();
+          return _currentGroupId < _numGroups;
         }
 
         @Override
         public GroupKey next() {
-          Object2IntMap.Entry<IntArray> entry = _iterator.next();
-          _groupKey._groupId = entry.getIntValue();
-          _groupKey._stringKey = getGroupKey(entry.getKey());
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          _rawKeyToGroupIdMap.getKey(_currentGroupId, _packedKey);
+          StringBuilder groupKeyBuilder = new StringBuilder(_dictionaries[0].get(unpack(0)).toString());
+          for (int i = 1; i < _numGroupByExpressions; i++) {
+            groupKeyBuilder.append(AggregationGroupByTrimmingService.GROUP_KEY_DELIMITER);
+            groupKeyBuilder.append(_dictionaries[i].get(unpack(i)));
+          }
+          _groupKey._groupId = _currentGroupId++;
+          _groupKey._stringKey = groupKeyBuilder.toString();
           return _groupKey;
         }
 
@@ -685,14 +766,14 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
   }
 
   /**
-   * Helper method to calculate raw keys that can fit into integer for the given index.
+   * Helper method to calculate raw keys that cannot fit into long for the given index.
    *
    * @param index Index in block
-   * @return Array of IntArray raw keys
+   * @return Array of dictionary id arrays
    */
   @SuppressWarnings("Duplicates")
-  private IntArray[] getIntArrayRawKeys(int index) {
-    IntArray[] rawKeys = null;
+  private int[][] getIntArrayRawKeys(int index) {
+    int[][] rawKeys = null;
 
     // Before having to transform to array, use single value raw key for better performance
     int[] dictIds = new int[_numGroupByExpressions];
@@ -703,8 +784,8 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
         if (rawKeys == null) {
           dictIds[i] = dictId;
         } else {
-          for (IntArray rawKey : rawKeys) {
-            rawKey._elements[i] = dictId;
+          for (int[] rawKey : rawKeys) {
+            rawKey[i] = dictId;
           }
         }
       } else {
@@ -717,27 +798,27 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
           if (rawKeys == null) {
             dictIds[i] = dictId;
           } else {
-            for (IntArray rawKey : rawKeys) {
-              rawKey._elements[i] = dictId;
+            for (int[] rawKey : rawKeys) {
+              rawKey[i] = dictId;
             }
           }
         } else {
           if (rawKeys == null) {
-            rawKeys = new IntArray[numValues];
+            rawKeys = new int[numValues][];
             for (int j = 0; j < numValues; j++) {
               int dictId = multiValueDictIds[j];
-              rawKeys[j] = new IntArray(dictIds.clone());
-              rawKeys[j]._elements[i] = dictId;
+              rawKeys[j] = dictIds.clone();
+              rawKeys[j][i] = dictId;
             }
           } else {
             int currentLength = rawKeys.length;
             int newLength = currentLength * numValues;
-            IntArray[] newRawKeys = new IntArray[newLength];
+            int[][] newRawKeys = new int[newLength][];
             System.arraycopy(rawKeys, 0, newRawKeys, 0, currentLength);
             for (int j = 1; j < numValues; j++) {
               int offset = j * currentLength;
               for (int k = 0; k < currentLength; k++) {
-                newRawKeys[offset + k] = new IntArray(rawKeys[k]._elements.clone());
+                newRawKeys[offset + k] = rawKeys[k].clone();
               }
             }
             for (int j = 0; j < numValues; j++) {
@@ -745,7 +826,7 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
               int dictId = multiValueDictIds[j];
               int endOffset = startOffset + currentLength;
               for (int k = startOffset; k < endOffset; k++) {
-                newRawKeys[k]._elements[i] = dictId;
+                newRawKeys[k][i] = dictId;
               }
             }
             rawKeys = newRawKeys;
@@ -755,60 +836,9 @@ public class DictionaryBasedGroupKeyGenerator implements GroupKeyGenerator {
     }
 
     if (rawKeys == null) {
-      return new IntArray[]{new IntArray(dictIds)};
+      return new int[][]{dictIds};
     } else {
       return rawKeys;
     }
   }
-
-  /**
-   * Helper method to get group key from raw key.
-   *
-   * @param rawKey IntArray raw key
-   * @return String group key
-   */
-  private String getGroupKey(IntArray rawKey) {
-    StringBuilder groupKeyBuilder = new StringBuilder(_dictionaries[0].get(rawKey._elements[0]).toString());
-    for (int i = 1; i < _numGroupByExpressions; i++) {
-      groupKeyBuilder.append(AggregationGroupByTrimmingService.GROUP_KEY_DELIMITER);
-      groupKeyBuilder.append(_dictionaries[i].get(rawKey._elements[i]));
-    }
-    return groupKeyBuilder.toString();
-  }
-
-  /**
-   * Drop un-necessary checks for highest performance.
-   */
-  private static class IntArray {
-    public int[] _elements;
-
-    public IntArray(int[] elements) {
-      _elements = elements;
-    }
-
-    @Override
-    public int hashCode() {
-      int result = 1;
-      for (int element : _elements) {
-        result = 31 * result + element;
-      }
-      return result;
-    }
-
-    @SuppressWarnings({"Contract", "EqualsWhichDoesntCheckParameterClass"})
-    @Override
-    public boolean equals(Object obj) {
-      int[] that = ((IntArray) obj)._elements;
-      int length = _elements.length;
-      if (length != that.length) {
-        return false;
-      }
-      for (int i = 0; i < length; i++) {
-        if (_elements[i] != that[i]) {
-          return false;
-        }
-      }
-      return true;
-    }
-  }
 }
@@ -71,6 +71,11 @@ public class DoubleGroupByResultHolder implements GroupByResultHolder {
     }
   }
 
+  @Override
+  public long getEstimatedSizeInBytes() {
+    return (long) _resultHolderCapacity * Double.BYTES;
+  }
+
   @Override
   public double getDoubleResult(int groupKey) {
     if (groupKey == GroupKeyGenerator.INVALID_ID) {
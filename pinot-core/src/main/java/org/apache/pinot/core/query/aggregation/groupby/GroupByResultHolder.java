@@ -67,4 +67,11 @@ public interface GroupByResultHolder {
    * @param capacity
    */
   void ensureCapacity(int capacity);
+
+  /**
+   * Returns the estimated heap size of the result holder in bytes.
+   *
+   * @return
+   */
+  long getEstimatedSizeInBytes();
 }
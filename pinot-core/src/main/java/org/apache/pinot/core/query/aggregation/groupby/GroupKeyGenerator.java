@@ -72,6 +72,20 @@ public interface GroupKeyGenerator {
    */
   Iterator<GroupKey> getUniqueGroupKeys();
 
+  /**
+   * Stops generating new group keys. Afterwards, values belonging to the existing groups are still mapped to their group
+   * keys, but values of new groups get {@link #INVALID_ID}. This is used to trim the results when the query runs out of
+   * memory.
+   */
+  void stopGeneratingNewGroupKeys();
+
+  /**
+   * Returns the estimated heap size of the group key generator in bytes.
+   *
+   * @return estimated size in bytes.
+   */
+  long getEstimatedSizeInBytes();
+
   /**
    * This class encapsulates the integer group id and the string group key.
    */
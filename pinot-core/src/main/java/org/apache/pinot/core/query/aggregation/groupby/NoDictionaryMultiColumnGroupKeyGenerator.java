@@ -18,9 +18,9 @@
  */
 package org.apache.pinot.core.query.aggregation.groupby;
 
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import javax.annotation.Nonnull;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.request.transform.TransformExpressionTree;
@@ -28,16 +28,19 @@ import org.apache.pinot.core.common.BlockValSet;
 import org.apache.pinot.core.operator.blocks.TransformBlock;
 import org.apache.pinot.core.operator.transform.TransformOperator;
 import org.apache.pinot.core.operator.transform.TransformResultMetadata;
+import org.apache.pinot.core.query.aggregation.groupby.utils.LongArrayKeyToIdMap;
 import org.apache.pinot.core.query.aggregation.groupby.utils.ValueToIdMap;
 import org.apache.pinot.core.query.aggregation.groupby.utils.ValueToIdMapFactory;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
-import org.apache.pinot.core.util.FixedIntArray;
 
 
 /**
  * Implementation of {@link GroupKeyGenerator} interface using actual value based
  * group keys, instead of dictionary ids. This implementation is used for group-by key
  * generation when one or more of the group-by columns do not have dictionary.
+ * <p>The values of the no-dictionary columns are mapped onto ids with type-specialized on-the-fly dictionaries, and the
+ * per-column ids (32 bits each) are packed into a reusable long array key which is mapped onto contiguous group ids
+ * with a primitive open-addressing hash map, so no object is allocated per row.
  *
  * TODO:
  * 1. Add support for multi-valued group-by columns.
@@ -49,10 +52,13 @@ public class NoDictionaryMultiColumnGroupKeyGenerator implements GroupKeyGenerat
   private final FieldSpec.DataType[] _dataTypes;
   private final Dictionary[] _dictionaries;
   private final ValueToIdMap[] _onTheFlyDictionaries;
-  private final Object2IntOpenHashMap<FixedIntArray> _groupKeyMap;
+  private final LongArrayKeyToIdMap _groupKeyMap;
+  // Reusable buffer for the packed key
+  private final long[] _packedKey;
   private final int _globalGroupIdUpperBound;
 
-  private int _numGroups = 0;
+  // New group ids are only generated when the number of groups is less than this limit
+  private int _groupIdLimit;
 
   public NoDictionaryMultiColumnGroupKeyGenerator(TransformOperator transformOperator,
       TransformExpressionTree[] groupByExpressions, int numGroupsLimit) {
@@ -73,9 +79,12 @@ public class NoDictionaryMultiColumnGroupKeyGenerator implements GroupKeyGenerat
       }
     }
 
-    _groupKeyMap = new Object2IntOpenHashMap<>();
-    _groupKeyMap.defaultReturnValue(INVALID_ID);
+    // Pack 2 ids into each long
+    int keyLength = (_numGroupByExpressions + 1) / 2;
+    _groupKeyMap = new LongArrayKeyToIdMap(keyLength);
+    _packedKey = new long[keyLength];
     _globalGroupIdUpperBound = numGroupsLimit;
+    _groupIdLimit = numGroupsLimit;
   }
 
   @Override
@@ -97,40 +106,46 @@ public class NoDictionaryMultiColumnGroupKeyGenerator implements GroupKeyGenerat
     }
 
     for (int i = 0; i < numDocs; i++) {
-      int[] keys = new int[_numGroupByExpressions];
+      Arrays.fill(_packedKey, 0L);
       for (int j = 0; j < _numGroupByExpressions; j++) {
+        int key;
         if (_dictionaries[j] != null) {
           int[] dictIds = (int[]) values[j];
-          keys[j] = dictIds[i];
+          key = dictIds[i];
         } else {
           FieldSpec.DataType dataType = _dataTypes[j];
           switch (dataType) {
             case INT:
               int[] intValues = (int[]) values[j];
-              keys[j] = _onTheFlyDictionaries[j].put(intValues[i]);
+              key = _onTheFlyDictionaries[j].put(intValues[i]);
               break;
             case LONG:
               long[] longValues = (long[]) values[j];
-              keys[j] = _onTheFlyDictionaries[j].put(longValues[i]);
+              key = _onTheFlyDictionaries[j].put(longValues[i]);
               break;
             case FLOAT:
               float[] floatValues = (float[]) values[j];
-              keys[j] = _onTheFlyDictionaries[j].put(floatValues[i]);
+              key = _onTheFlyDictionaries[j].put(floatValues[i]);
               break;
             case DOUBLE:
               double[] doubleValues = (double[]) values[j];
-              keys[j] = _onTheFlyDictionaries[j].put(doubleValues[i]);
+              key = _onTheFlyDictionaries[j].put(doubleValues[i]);
               break;
             case STRING:
               String[] stringValues = (String[]) values[j];
-              keys[j] = _onTheFlyDictionaries[j].put(stringValues[i]);
+              key = _onTheFlyDictionaries[j].put(stringValues[i]);
+              break;
+            case BYTES:
+              byte[][] bytesValues = (byte[][]) values[j];
+              key = _onTheFlyDictionaries[j].put(bytesValues[i]);
               break;
             default:
               throw new IllegalArgumentException("Illegal data type for no-dictionary key generator: " + dataType);
           }
         }
+        _packedKey[j >>> 1] |= (key & 0xFFFFFFFFL) << ((j & 1) << 5);
       }
-      groupKeys[i] = getGroupIdForKey(new FixedIntArray(keys));
+      groupKeys[i] = _groupKeyMap.put(_packedKey, _groupIdLimit);
     }
   }
 
@@ -147,48 +162,41 @@ public class NoDictionaryMultiColumnGroupKeyGenerator implements GroupKeyGenerat
 
   @Override
   public Iterator<GroupKey> getUniqueGroupKeys() {
-    return new GroupKeyIterator(_groupKeyMap);
+    return new GroupKeyIterator();
   }
 
-  /**
-   * Helper method to get or create group-id for a group key.
-   *
-   * @param keyList Group key, that is a list of objects to be grouped
-   * @return Group id
-   */
-  private int getGroupIdForKey(FixedIntArray keyList) {
-    int groupId = _groupKeyMap.getInt(keyList);
-    if (groupId == INVALID_ID) {
-      if (_numGroups < _globalGroupIdUpperBound) {
-        groupId = _numGroups;
-        _groupKeyMap.put(keyList, _numGroups++);
-      }
-    }
-    return groupId;
+  @Override
+  public void stopGeneratingNewGroupKeys() {
+    _groupIdLimit = 0;
+  }
+
+  @Override
+  public long getEstimatedSizeInBytes() {
+    return _groupKeyMap.getSizeInBytes();
   }
 
   /**
    * Iterator for {Group-Key, Group-id) pair.
    */
   class GroupKeyIterator implements Iterator<GroupKey> {
-    Iterator<Map.Entry<FixedIntArray, Integer>> _iterator;
-    GroupKey _groupKey;
-
-    public GroupKeyIterator(Map<FixedIntArray, Integer> map) {
-      _iterator = map.entrySet().iterator();
-      _groupKey = new GroupKey();
-    }
+    final int _numGroups = _groupKeyMap.size();
+    final long[] _key = new long[_packedKey.length];
+    int _currentGroupId;
+    GroupKey _groupKey = new GroupKey();
 
     @Override
     public boolean hasNext() {
-      return _iterator.hasNext();
+      return _currentGroupId < _numGroups;
     }
 
     @Override
     public GroupKey next() {
-      Map.Entry<FixedIntArray, Integer> entry = _iterator.next();
-      _groupKey._groupId = entry.getValue();
-      _groupKey._stringKey = buildStringKeyFromIds(entry.getKey());
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      _groupKeyMap.getKey(_currentGroupId, _key);
+      _groupKey._groupId = _currentGroupId++;
+      _groupKey._stringKey = buildStringKeyFromIds(_key);
       return _groupKey;
     }
 
@@ -198,12 +206,11 @@ public class NoDictionaryMultiColumnGroupKeyGenerator implements GroupKeyGenerat
     }
   }
 
-  private String buildStringKeyFromIds(FixedIntArray keyList) {
+  private String buildStringKeyFromIds(long[] packedKey) {
     StringBuilder builder = new StringBuilder();
-    int[] keys = keyList.elements();
-    for (int i = 0; i < keyList.size(); i++) {
+    for (int i = 0; i < _numGroupByExpressions; i++) {
       String key;
-      int dictId = keys[i];
+      int dictId = (int) (packedKey[i >>> 1] >>> ((i & 1) << 5));
 
       if (_dictionaries[i] != null) {
         key = _dictionaries[i].get(dictId).toString();
@@ -250,6 +257,10 @@ public class NoDictionaryMultiColumnGroupKeyGenerator implements GroupKeyGenerat
         values = blockValSet.getStringValuesSV();
         break;
 
+      case BYTES:
+        values = blockValSet.getBytesValuesSV();
+        break;
+
       default:
         throw new IllegalArgumentException("Illegal data type for no-dictionary key generator: " + dataType);
     }
@@ -26,37 +26,53 @@ import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2IntMap;
 import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import javax.annotation.Nonnull;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.request.transform.TransformExpressionTree;
 import org.apache.pinot.core.common.BlockValSet;
 import org.apache.pinot.core.operator.blocks.TransformBlock;
 import org.apache.pinot.core.operator.transform.TransformOperator;
+import org.apache.pinot.core.query.aggregation.groupby.utils.BytesToIdMap;
+import org.apache.pinot.core.query.aggregation.groupby.utils.StringToIdMap;
+import org.apache.pinot.core.query.aggregation.groupby.utils.ValueToIdMap;
 
 
 /**
  * Implementation of {@link GroupKeyGenerator} interface for single group by column,
  * in absence of dictionary for the group by column.
- *
+ * <p>Numeric values are mapped onto group ids with primitive open hash maps, STRING and BYTES values with arena backed
+ * maps (see {@link StringToIdMap} and {@link BytesToIdMap}), so no object is allocated or retained per group.
  */
 public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenerator {
+  // Estimated heap size per entry of the open hash maps (key and value arrays with the default load factor)
+  private static final int INT_MAP_ENTRY_SIZE_IN_BYTES = 16;
+  private static final int LONG_MAP_ENTRY_SIZE_IN_BYTES = 24;
+
   private final TransformExpressionTree _groupByExpression;
   private final FieldSpec.DataType _dataType;
+  // Group key map for numeric values
   private final Map _groupKeyMap;
+  // Group key maps for STRING and BYTES values
+  private final StringToIdMap _stringToIdMap;
+  private final BytesToIdMap _bytesToIdMap;
   private final int _globalGroupIdUpperBound;
 
   private int _numGroups = 0;
+  // New group ids are only generated when the number of groups is less than this limit
+  private int _groupIdLimit;
 
   public NoDictionarySingleColumnGroupKeyGenerator(TransformOperator transformOperator,
       TransformExpressionTree groupByExpression, int numGroupsLimit) {
     _groupByExpression = groupByExpression;
     _dataType = transformOperator.getResultMetadata(_groupByExpression).getDataType();
-    _groupKeyMap = createGroupKeyMap(_dataType);
+    _stringToIdMap = _dataType == FieldSpec.DataType.STRING ? new StringToIdMap() : null;
+    _bytesToIdMap = _dataType == FieldSpec.DataType.BYTES ? new BytesToIdMap() : null;
+    _groupKeyMap = (_stringToIdMap == null && _bytesToIdMap == null) ? createGroupKeyMap(_dataType) : null;
     _globalGroupIdUpperBound = numGroupsLimit;
+    _groupIdLimit = numGroupsLimit;
   }
 
   @Override
@@ -100,14 +116,19 @@ public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenera
           groupKeys[i] = getKeyForValue(stringValues[i]);
         }
         break;
+      case BYTES:
+        byte[][] bytesValues = blockValSet.getBytesValuesSV();
+        for (int i = 0; i < numDocs; i++) {
+          groupKeys[i] = getKeyForValue(bytesValues[i]);
+        }
+        break;
       default:
         throw new IllegalArgumentException("Illegal data type for no-dictionary key generator: " + _dataType);
     }
   }
 
   /**
-   * Helper method to create the group-key map, depending on the data type.
-   * Uses primitive maps when possible.
+   * Helper method to create the primitive group-key map for numeric data type.
    *
    * @param keyType DataType for the key
    * @return Map
@@ -139,12 +160,6 @@ public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenera
         map = doubleMap;
         break;
 
-      case STRING:
-        Object2IntOpenHashMap<String> stringMap = new Object2IntOpenHashMap<>();
-        stringMap.defaultReturnValue(INVALID_ID);
-        map = stringMap;
-        break;
-
       default:
         throw new IllegalArgumentException("Illegal data type for no-dictionary key generator: " + keyType);
     }
@@ -159,20 +174,47 @@ public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenera
 
   @Override
   public int getCurrentGroupKeyUpperBound() {
-    return _groupKeyMap.size();
+    return _numGroups;
   }
 
   @Override
   public Iterator<GroupKey> getUniqueGroupKeys() {
+    if (_stringToIdMap != null) {
+      return new ValueToIdMapGroupKeyIterator(_stringToIdMap);
+    }
+    if (_bytesToIdMap != null) {
+      return new ValueToIdMapGroupKeyIterator(_bytesToIdMap);
+    }
     return new GroupKeyIterator(_groupKeyMap);
   }
 
+  @Override
+  public void stopGeneratingNewGroupKeys() {
+    _groupIdLimit = 0;
+  }
+
+  @Override
+  public long getEstimatedSizeInBytes() {
+    switch (_dataType) {
+      case INT:
+      case FLOAT:
+        return (long) _numGroups * INT_MAP_ENTRY_SIZE_IN_BYTES;
+      case LONG:
+      case DOUBLE:
+        return (long) _numGroups * LONG_MAP_ENTRY_SIZE_IN_BYTES;
+      case STRING:
+        return _stringToIdMap.getSizeInBytes();
+      default:
+        return _bytesToIdMap.getSizeInBytes();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private int getKeyForValue(int value) {
     Int2IntMap map = (Int2IntMap) _groupKeyMap;
     int groupId = map.get(value);
     if (groupId == INVALID_ID) {
-      if (_numGroups < _globalGroupIdUpperBound) {
+      if (_numGroups < _groupIdLimit) {
         groupId = _numGroups;
         map.put(value, _numGroups++);
       }
@@ -185,7 +227,7 @@ public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenera
     Long2IntMap map = (Long2IntMap) _groupKeyMap;
     int groupId = map.get(value);
     if (groupId == INVALID_ID) {
-      if (_numGroups < _globalGroupIdUpperBound) {
+      if (_numGroups < _groupIdLimit) {
         groupId = _numGroups;
         map.put(value, _numGroups++);
       }
@@ -198,7 +240,7 @@ public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenera
     Float2IntMap map = (Float2IntMap) _groupKeyMap;
     int groupId = map.get(value);
     if (groupId == INVALID_ID) {
-      if (_numGroups < _globalGroupIdUpperBound) {
+      if (_numGroups < _groupIdLimit) {
         groupId = _numGroups;
         map.put(value, _numGroups++);
       }
@@ -211,7 +253,7 @@ public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenera
     Double2IntMap map = (Double2IntMap) _groupKeyMap;
     int groupId = map.get(value);
     if (groupId == INVALID_ID) {
-      if (_numGroups < _globalGroupIdUpperBound) {
+      if (_numGroups < _groupIdLimit) {
         groupId = _numGroups;
         map.put(value, _numGroups++);
       }
@@ -219,14 +261,23 @@ public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenera
     return groupId;
   }
 
-  @SuppressWarnings("unchecked")
   private int getKeyForValue(String value) {
-    Object2IntMap<String> map = (Object2IntMap<String>) _groupKeyMap;
-    int groupId = map.getInt(value);
+    int groupId = _stringToIdMap.getId(value);
     if (groupId == INVALID_ID) {
-      if (_numGroups < _globalGroupIdUpperBound) {
-        groupId = _numGroups;
-        map.put(value, _numGroups++);
+      if (_numGroups < _groupIdLimit) {
+        groupId = _stringToIdMap.put(value);
+        _numGroups++;
+      }
+    }
+    return groupId;
+  }
+
+  private int getKeyForValue(byte[] value) {
+    int groupId = _bytesToIdMap.getId(value);
+    if (groupId == INVALID_ID) {
+      if (_numGroups < _groupIdLimit) {
+        groupId = _bytesToIdMap.put(value);
+        _numGroups++;
       }
     }
     return groupId;
@@ -263,4 +314,40 @@ public class NoDictionarySingleColumnGroupKeyGenerator implements GroupKeyGenera
       throw new UnsupportedOperationException();
     }
   }
+
+  /**
+   * Iterator for {Group-Key, Group-id) pair where the group ids are the ids inside the value to id map.
+   */
+  class ValueToIdMapGroupKeyIterator implements Iterator<GroupKey> {
+    final ValueToIdMap _valueToIdMap;
+    final int _numGroups;
+    int _currentGroupId;
+    GroupKey _groupKey;
+
+    public ValueToIdMapGroupKeyIterator(ValueToIdMap valueToIdMap) {
+      _valueToIdMap = valueToIdMap;
+      _numGroups = valueToIdMap.size();
+      _groupKey = new GroupKey();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return _currentGroupId < _numGroups;
+    }
+
+    @Override
+    public GroupKey next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      _groupKey._groupId = _currentGroupId;
+      _groupKey._stringKey = _valueToIdMap.getString(_currentGroupId++);
+      return _groupKey;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
 }
@@ -25,6 +25,9 @@ import com.google.common.base.Preconditions;
  * Result Holder implemented using ObjectArray.
  */
 public class ObjectGroupByResultHolder implements GroupByResultHolder {
+  // Estimated heap size of the reference plus the intermediate result object (e.g. boxed number, AvgPair, MinMaxRange)
+  private static final int ESTIMATED_RESULT_SIZE_IN_BYTES = 64;
+
   private final int _maxCapacity;
 
   private int _resultHolderCapacity;
@@ -60,6 +63,11 @@ public class ObjectGroupByResultHolder implements GroupByResultHolder {
     }
   }
 
+  @Override
+  public long getEstimatedSizeInBytes() {
+    return (long) _resultHolderCapacity * ESTIMATED_RESULT_SIZE_IN_BYTES;
+  }
+
   @Override
   public double getDoubleResult(int groupKey) {
     throw new UnsupportedOperationException();
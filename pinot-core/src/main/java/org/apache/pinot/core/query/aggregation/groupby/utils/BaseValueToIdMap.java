@@ -47,6 +47,11 @@ public abstract class BaseValueToIdMap implements ValueToIdMap {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public int put(byte[] value) {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   public int getInt(int id) {
     throw new UnsupportedOperationException();
@@ -71,4 +76,9 @@ public abstract class BaseValueToIdMap implements ValueToIdMap {
   public String getString(int id) {
     throw new UnsupportedOperationException();
   }
+
+  @Override
+  public byte[] getBytes(int id) {
+    throw new UnsupportedOperationException();
+  }
 }
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.aggregation.groupby.utils;
+
+import java.util.Arrays;
+import org.apache.pinot.common.utils.primitive.ByteArray;
+
+
+/**
+ * Implementation of {@link ValueToIdMap} for BYTES.
+ * <p>The bytes of all the values are stored back-to-back inside a single byte arena, and the open-addressing hash
+ * table only stores the ids, so neither lookups nor insertions allocate, and no byte array is retained per value.
+ */
+public class BytesToIdMap extends BaseValueToIdMap {
+  private static final int INITIAL_CAPACITY = 1 << 8;
+  private static final int INITIAL_ARENA_SIZE = 1 << 12;
+
+  // Hash table of ids, INVALID_KEY for empty slot
+  private int[] _hashTable;
+  private int _mask;
+  // Hash code and start offset inside the arena of each value by id, the end offset is the start offset of the next id
+  private int[] _hashCodes;
+  private int[] _offsets;
+  private byte[] _arena;
+  private int _size;
+
+  public BytesToIdMap() {
+    _hashTable = new int[INITIAL_CAPACITY << 1];
+    Arrays.fill(_hashTable, INVALID_KEY);
+    _mask = _hashTable.length - 1;
+    _hashCodes = new int[INITIAL_CAPACITY];
+    _offsets = new int[INITIAL_CAPACITY + 1];
+    _arena = new byte[INITIAL_ARENA_SIZE];
+  }
+
+  @Override
+  public int put(byte[] value) {
+    int hashCode = Arrays.hashCode(value);
+    int slot = HashUtils.mix(hashCode) & _mask;
+    while (true) {
+      int id = _hashTable[slot];
+      if (id == INVALID_KEY) {
+        id = addValue(value, hashCode);
+        _hashTable[slot] = id;
+        if (_size << 1 > _hashTable.length) {
+          rehash();
+        }
+        return id;
+      }
+      if (_hashCodes[id] == hashCode && valueEquals(id, value)) {
+        return id;
+      }
+      slot = (slot + 1) & _mask;
+    }
+  }
+
+  /**
+   * Returns the id for the given value, or {@link #INVALID_KEY} if the value does not exist.
+   */
+  public int getId(byte[] value) {
+    int hashCode = Arrays.hashCode(value);
+    int slot = HashUtils.mix(hashCode) & _mask;
+    while (true) {
+      int id = _hashTable[slot];
+      if (id == INVALID_KEY || (_hashCodes[id] == hashCode && valueEquals(id, value))) {
+        return id;
+      }
+      slot = (slot + 1) & _mask;
+    }
+  }
+
+  @Override
+  public byte[] getBytes(int id) {
+    assert id < _size;
+    return Arrays.copyOfRange(_arena, _offsets[id], _offsets[id + 1]);
+  }
+
+  @Override
+  public String getString(int id) {
+    return ByteArray.toHexString(getBytes(id));
+  }
+
+  @Override
+  public int size() {
+    return _size;
+  }
+
+  /**
+   * Returns the heap size of the arrays backing the map in bytes.
+   */
+  public long getSizeInBytes() {
+    return (long) (_hashTable.length + _hashCodes.length + _offsets.length) * Integer.BYTES + _arena.length;
+  }
+
+  private boolean valueEquals(int id, byte[] value) {
+    int startOffset = _offsets[id];
+    int length = value.length;
+    if (_offsets[id + 1] - startOffset != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (_arena[startOffset + i] != value[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int addValue(byte[] value, int hashCode) {
+    int id = _size++;
+    if (id == _hashCodes.length) {
+      _hashCodes = Arrays.copyOf(_hashCodes, id << 1);
+      _offsets = Arrays.copyOf(_offsets, (id << 1) + 1);
+    }
+    int startOffset = _offsets[id];
+    int endOffset = startOffset + value.length;
+    if (endOffset > _arena.length) {
+      _arena = Arrays.copyOf(_arena, Math.max(_arena.length << 1, endOffset));
+    }
+    System.arraycopy(value, 0, _arena, startOffset, value.length);
+    _hashCodes[id] = hashCode;
+    _offsets[id + 1] = endOffset;
+    return id;
+  }
+
+  private void rehash() {
+    _hashTable = HashUtils.rehash(_hashCodes, _size, _hashTable.length << 1, INVALID_KEY);
+    _mask = _hashTable.length - 1;
+  }
+}
@@ -59,4 +59,9 @@ public class DoubleToIdMap extends BaseValueToIdMap {
     assert id < _idToValueMap.size();
     return (Double.valueOf(_idToValueMap.getDouble(id)).toString());
   }
+
+  @Override
+  public int size() {
+    return _idToValueMap.size();
+  }
 }
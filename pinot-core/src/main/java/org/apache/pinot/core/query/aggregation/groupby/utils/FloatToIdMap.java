@@ -59,4 +59,9 @@ public class FloatToIdMap extends BaseValueToIdMap {
     assert id < _idToValueMap.size();
     return (Float.valueOf(_idToValueMap.getFloat(id)).toString());
   }
+
+  @Override
+  public int size() {
+    return _idToValueMap.size();
+  }
 }
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.aggregation.groupby.utils;
+
+import java.util.Arrays;
+
+
+/**
+ * Helper methods shared by the open-addressing value to id maps.
+ */
+class HashUtils {
+  private HashUtils() {
+  }
+
+  /**
+   * Spreads the bits of the hash code so that masking off the high bits still gives a good distribution.
+   */
+  static int mix(int hashCode) {
+    int h = hashCode * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Builds a new linear probing hash table of ids with the given capacity (power of 2) from the hash codes by id.
+   */
+  static int[] rehash(int[] hashCodes, int size, int capacity, int emptyId) {
+    int[] hashTable = new int[capacity];
+    Arrays.fill(hashTable, emptyId);
+    int mask = capacity - 1;
+    for (int id = 0; id < size; id++) {
+      int slot = mix(hashCodes[id]) & mask;
+      while (hashTable[slot] != emptyId) {
+        slot = (slot + 1) & mask;
+      }
+      hashTable[slot] = id;
+    }
+    return hashTable;
+  }
+}
@@ -59,4 +59,9 @@ public class IntToIdMap extends BaseValueToIdMap {
     assert id < _idToValueMap.size();
     return (Integer.valueOf(_idToValueMap.getInt(id)).toString());
   }
+
+  @Override
+  public int size() {
+    return _idToValueMap.size();
+  }
 }
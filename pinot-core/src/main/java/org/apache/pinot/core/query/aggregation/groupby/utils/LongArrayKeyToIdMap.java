@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.aggregation.groupby.utils;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+
+
+/**
+ * Open-addressing hash map from fixed-length long array keys to contiguous int ids (0, 1, 2, ...).
+ * <p>Keys are stored back-to-back inside a single long array indexed by id, and the hash table only stores the ids, so
+ * no object is allocated per key. Because the ids are contiguous, they can be used to directly index into the result
+ * holder storage.
+ * <p>The key passed in is only read during the call, so callers can reuse the same buffer for all the keys.
+ */
+public class LongArrayKeyToIdMap {
+  public static final int INVALID_ID = -1;
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 1 << 10;
+  // Resize the hash table when it is half full to keep the linear probing sequences short
+  private static final int MAX_LOAD_FACTOR_RECIPROCAL = 2;
+
+  private final int _keyLength;
+
+  // Hash table of ids, INVALID_ID for empty slot
+  private int[] _hashTable;
+  private int _mask;
+  // Keys stored back-to-back by id
+  private long[] _keys;
+  private int _size;
+
+  public LongArrayKeyToIdMap(int keyLength) {
+    this(keyLength, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public LongArrayKeyToIdMap(int keyLength, int initialCapacity) {
+    Preconditions.checkArgument(keyLength > 0, "Key length must be positive");
+    Preconditions.checkArgument(initialCapacity > 0, "Initial capacity must be positive");
+    _keyLength = keyLength;
+    int hashTableSize = Integer.highestOneBit(Math.max(initialCapacity * MAX_LOAD_FACTOR_RECIPROCAL - 1, 1)) << 1;
+    _hashTable = new int[hashTableSize];
+    Arrays.fill(_hashTable, INVALID_ID);
+    _mask = hashTableSize - 1;
+    _keys = new long[initialCapacity * keyLength];
+  }
+
+  /**
+   * Returns the id for the given key, or {@link #INVALID_ID} if the key does not exist.
+   */
+  public int get(long[] key) {
+    int slot = hash(key, 0) & _mask;
+    while (true) {
+      int id = _hashTable[slot];
+      if (id == INVALID_ID || keyEquals(id, key)) {
+        return id;
+      }
+      slot = (slot + 1) & _mask;
+    }
+  }
+
+  /**
+   * Returns the id for the given key, and assigns the next id to the key if it does not exist and the number of keys
+   * is less than the given limit. Returns {@link #INVALID_ID} if the key does not exist and the limit is reached.
+   */
+  public int put(long[] key, int limit) {
+    int slot = hash(key, 0) & _mask;
+    while (true) {
+      int id = _hashTable[slot];
+      if (id == INVALID_ID) {
+        if (_size >= limit) {
+          return INVALID_ID;
+        }
+        id = _size++;
+        int offset = id * _keyLength;
+        if (offset + _keyLength > _keys.length) {
+          _keys = Arrays.copyOf(_keys, Math.max(_keys.length << 1, offset + _keyLength));
+        }
+        System.arraycopy(key, 0, _keys, offset, _keyLength);
+        _hashTable[slot] = id;
+        if ((long) _size * MAX_LOAD_FACTOR_RECIPROCAL > _hashTable.length) {
+          rehash();
+        }
+        return id;
+      }
+      if (keyEquals(id, key)) {
+        return id;
+      }
+      slot = (slot + 1) & _mask;
+    }
+  }
+
+  /**
+   * Copies the key for the given id into the given buffer.
+   */
+  public void getKey(int id, long[] outKey) {
+    assert id < _size;
+    System.arraycopy(_keys, id * _keyLength, outKey, 0, _keyLength);
+  }
+
+  public int size() {
+    return _size;
+  }
+
+  /**
+   * Returns the heap size of the arrays backing the map in bytes.
+   */
+  public long getSizeInBytes() {
+    return (long) _hashTable.length * Integer.BYTES + (long) _keys.length * Long.BYTES;
+  }
+
+  private boolean keyEquals(int id, long[] key) {
+    int offset = id * _keyLength;
+    for (int i = 0; i < _keyLength; i++) {
+      if (_keys[offset + i] != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void rehash() {
+    int hashTableSize = _hashTable.length << 1;
+    Preconditions.checkState(hashTableSize > 0, "Hash table size overflow");
+    int[] hashTable = new int[hashTableSize];
+    Arrays.fill(hashTable, INVALID_ID);
+    int mask = hashTableSize - 1;
+    for (int id = 0; id < _size; id++) {
+      int slot = hash(_keys, id * _keyLength) & mask;
+      while (hashTable[slot] != INVALID_ID) {
+        slot = (slot + 1) & mask;
+      }
+      hashTable[slot] = id;
+    }
+    _hashTable = hashTable;
+    _mask = mask;
+  }
+
+  private int hash(long[] keys, int offset) {
+    long hash = 0L;
+    for (int i = 0; i < _keyLength; i++) {
+      hash = hash * 31 + keys[offset + i];
+    }
+    // Murmur3 finalizer to spread the bits before masking
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return (int) hash;
+  }
+}
@@ -59,4 +59,9 @@ public class LongToIdMap extends BaseValueToIdMap {
     assert id < _idToValueMap.size();
     return (Long.valueOf(_idToValueMap.getLong(id)).toString());
   }
+
+  @Override
+  public int size() {
+    return _idToValueMap.size();
+  }
 }
@@ -18,39 +18,125 @@
  */
 package org.apache.pinot.core.query.aggregation.groupby.utils;
 
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
-import it.unimi.dsi.fastutil.objects.ObjectList;
+import java.util.Arrays;
 
 
 /**
  * Implementation of {@link ValueToIdMap} for String.
+ * <p>The characters of all the values are stored back-to-back inside a single char arena, and the open-addressing hash
+ * table only stores the ids, so neither lookups nor insertions allocate, and no String object is retained per value.
  */
 public class StringToIdMap extends BaseValueToIdMap {
-  Object2IntMap<String> _valueToIdMap;
-  ObjectList<String> _idToValueMap;
+  private static final int INITIAL_CAPACITY = 1 << 8;
+  private static final int INITIAL_ARENA_SIZE = 1 << 12;
+
+  // Hash table of ids, INVALID_KEY for empty slot
+  private int[] _hashTable;
+  private int _mask;
+  // Hash code and start offset inside the arena of each value by id, the end offset is the start offset of the next id
+  private int[] _hashCodes;
+  private int[] _offsets;
+  private char[] _arena;
+  private int _size;
 
   public StringToIdMap() {
-    _valueToIdMap = new Object2IntOpenHashMap<>();
-    _valueToIdMap.defaultReturnValue(INVALID_KEY);
-    _idToValueMap = new ObjectArrayList<>();
+    _hashTable = new int[INITIAL_CAPACITY << 1];
+    Arrays.fill(_hashTable, INVALID_KEY);
+    _mask = _hashTable.length - 1;
+    _hashCodes = new int[INITIAL_CAPACITY];
+    _offsets = new int[INITIAL_CAPACITY + 1];
+    _arena = new char[INITIAL_ARENA_SIZE];
   }
 
   @Override
   public int put(String value) {
-    int id = _valueToIdMap.getInt(value);
-    if (id == INVALID_KEY) {
-      id = _idToValueMap.size();
-      _valueToIdMap.put(value, id);
-      _idToValueMap.add(value);
+    int hashCode = value.hashCode();
+    int slot = HashUtils.mix(hashCode) & _mask;
+    while (true) {
+      int id = _hashTable[slot];
+      if (id == INVALID_KEY) {
+        id = addValue(value, hashCode);
+        _hashTable[slot] = id;
+        if (_size << 1 > _hashTable.length) {
+          rehash();
+        }
+        return id;
+      }
+      if (_hashCodes[id] == hashCode && valueEquals(id, value)) {
+        return id;
+      }
+      slot = (slot + 1) & _mask;
+    }
+  }
+
+  /**
+   * Returns the id for the given value, or {@link #INVALID_KEY} if the value does not exist.
+   */
+  public int getId(String value) {
+    int hashCode = value.hashCode();
+    int slot = HashUtils.mix(hashCode) & _mask;
+    while (true) {
+      int id = _hashTable[slot];
+      if (id == INVALID_KEY || (_hashCodes[id] == hashCode && valueEquals(id, value))) {
+        return id;
+      }
+      slot = (slot + 1) & _mask;
     }
-    return id;
   }
 
   @Override
   public String getString(int id) {
-    assert id < _idToValueMap.size();
-    return _idToValueMap.get(id);
+    assert id < _size;
+    int startOffset = _offsets[id];
+    return new String(_arena, startOffset, _offsets[id + 1] - startOffset);
+  }
+
+  @Override
+  public int size() {
+    return _size;
+  }
+
+  /**
+   * Returns the heap size of the arrays backing the map in bytes.
+   */
+  public long getSizeInBytes() {
+    return (long) (_hashTable.length + _hashCodes.length + _offsets.length) * Integer.BYTES
+        + (long) _arena.length * Character.BYTES;
+  }
+
+  private boolean valueEquals(int id, String value) {
+    int startOffset = _offsets[id];
+    int length = value.length();
+    if (_offsets[id + 1] - startOffset != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (_arena[startOffset + i] != value.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int addValue(String value, int hashCode) {
+    int id = _size++;
+    if (id == _hashCodes.length) {
+      _hashCodes = Arrays.copyOf(_hashCodes, id << 1);
+      _offsets = Arrays.copyOf(_offsets, (id << 1) + 1);
+    }
+    int startOffset = _offsets[id];
+    int endOffset = startOffset + value.length();
+    if (endOffset > _arena.length) {
+      _arena = Arrays.copyOf(_arena, Math.max(_arena.length << 1, endOffset));
+    }
+    value.getChars(0, value.length(), _arena, startOffset);
+    _hashCodes[id] = hashCode;
+    _offsets[id + 1] = endOffset;
+    return id;
+  }
+
+  private void rehash() {
+    _hashTable = HashUtils.rehash(_hashCodes, _size, _hashTable.length << 1, INVALID_KEY);
+    _mask = _hashTable.length - 1;
   }
 }
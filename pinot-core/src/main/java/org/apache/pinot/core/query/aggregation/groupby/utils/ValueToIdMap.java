@@ -34,6 +34,8 @@ public interface ValueToIdMap {
 
   int put(String value);
 
+  int put(byte[] value);
+
   int getInt(int id);
 
   long getLong(int id);
@@ -43,4 +45,11 @@ public interface ValueToIdMap {
   double getDouble(int id);
 
   String getString(int id);
+
+  byte[] getBytes(int id);
+
+  /**
+   * Returns the number of values (ids) inside the map.
+   */
+  int size();
 }
@@ -46,6 +46,9 @@ public class ValueToIdMapFactory {
       case STRING:
         return new StringToIdMap();
 
+      case BYTES:
+        return new BytesToIdMap();
+
       default:
         throw new IllegalArgumentException("Illegal data type for ValueToIdMapFactory: " + dataType);
     }
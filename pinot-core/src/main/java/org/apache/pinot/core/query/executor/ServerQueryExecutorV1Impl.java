@@ -46,6 +46,7 @@ import org.apache.pinot.core.plan.maker.InstancePlanMakerImplV2;
 import org.apache.pinot.core.plan.maker.PlanMaker;
 import org.apache.pinot.core.query.config.QueryExecutorConfig;
 import org.apache.pinot.core.query.exception.BadQueryRequestException;
+import org.apache.pinot.core.query.exception.QueryMemoryLimitExceededException;
 import org.apache.pinot.core.query.pruner.SegmentPrunerService;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
 import org.apache.pinot.core.query.request.context.TimerContext;
@@ -185,6 +186,12 @@ public class ServerQueryExecutorV1Impl implements QueryExecutor {
         // Update the total docs in the metadata based on un-pruned segments.
         dataTable.getMetadata().put(DataTable.TOTAL_DOCS_METADATA_KEY, Long.toString(totalRawDocs));
       }
+    } catch (QueryMemoryLimitExceededException e) {
+      _serverMetrics.addMeteredQueryValue(brokerRequest, ServerMeter.QUERY_MEMORY_LIMIT_EXCEEDED_EXCEPTIONS, 1);
+      LOGGER.warn("Memory limit exceeded while processing requestId: {}, {}", requestId, e.getMessage());
+      dataTable = new DataTableImplV2();
+      dataTable.addException(
+          QueryException.getException(QueryException.QUERY_MEMORY_LIMIT_EXCEEDED_ERROR, e.getMessage()));
     } catch (Exception e) {
       _serverMetrics.addMeteredQueryValue(brokerRequest, ServerMeter.QUERY_EXECUTION_EXCEPTIONS, 1);
 
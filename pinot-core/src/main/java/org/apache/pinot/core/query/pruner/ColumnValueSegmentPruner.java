@@ -18,6 +18,7 @@
  */
 package org.apache.pinot.core.query.pruner;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.apache.commons.configuration.Configuration;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.request.FilterOperator;
 import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.core.common.predicate.InPredicate;
 import org.apache.pinot.core.common.predicate.RangePredicate;
 import org.apache.pinot.core.indexsegment.IndexSegment;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
@@ -96,8 +98,9 @@ public class ColumnValueSegmentPruner extends AbstractSegmentPruner {
     if (children == null || children.isEmpty()) {
       // Leaf Node
 
-      // Skip operator other than EQUALITY and RANGE
-      if ((filterOperator != FilterOperator.EQUALITY) && (filterOperator != FilterOperator.RANGE)) {
+      // Skip operator other than EQUALITY, IN and RANGE
+      if ((filterOperator != FilterOperator.EQUALITY) && (filterOperator != FilterOperator.IN) && (filterOperator
+          != FilterOperator.RANGE)) {
         return false;
       }
 
@@ -129,6 +132,27 @@ public class ColumnValueSegmentPruner extends AbstractSegmentPruner {
         }
 
         return pruneSegment;
+      } else if (filterOperator == FilterOperator.IN) {
+        // IN
+        FieldSpec.DataType dataType = columnMetadata.getDataType();
+        String[] inValues = new InPredicate(column, filterQueryTree.getValue()).getValues();
+
+        // Only keep the values in the min/max range
+        List<Comparable> values = new ArrayList<>(inValues.length);
+        for (String inValue : inValues) {
+          Comparable value = getValue(inValue, dataType);
+          if (minValue == null || maxValue == null || (value.compareTo(minValue) >= 0
+              && value.compareTo(maxValue) <= 0)) {
+            values.add(value);
+          }
+        }
+        if (values.isEmpty()) {
+          return true;
+        }
+
+        // If the bloom filter is available for the column, check if any of the values may exist with one batch probe
+        BloomFilterReader bloomFilterReader = bloomFilterMap.get(column);
+        return bloomFilterReader != null && !bloomFilterReader.mightContainAny(values.toArray());
       } else {
         // RANGE
 
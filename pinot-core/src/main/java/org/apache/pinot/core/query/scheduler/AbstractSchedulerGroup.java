@@ -22,13 +22,14 @@ import com.google.common.base.Preconditions;
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 
 
 /**
  * Abstract {@link SchedulerGroup} class that provides common facilities like
  * managing pending queries as a Linked queue of requests and provides basic accounting
- * by tracking running queries, reserved threads and in-use threads
+ * by tracking running queries, reserved threads, in-use threads and consumed CPU time
  */
 public abstract class AbstractSchedulerGroup implements SchedulerGroup {
   // Queue of pending queries for this group
@@ -40,6 +41,8 @@ public abstract class AbstractSchedulerGroup implements SchedulerGroup {
   protected AtomicInteger threadsInUse = new AtomicInteger(0);
   // Total reserved threads for currently running queries for this group
   protected AtomicInteger reservedThreads = new AtomicInteger(0);
+  // Total thread CPU time consumed by the queries of this group
+  protected AtomicLong cpuTimeNs = new AtomicLong(0);
 
   public AbstractSchedulerGroup(@Nonnull String name) {
     Preconditions.checkNotNull(name);
@@ -133,4 +136,14 @@ public abstract class AbstractSchedulerGroup implements SchedulerGroup {
     decrementThreads();
     numRunning.decrementAndGet();
   }
+
+  @Override
+  public void addCpuTimeNs(long cpuTimeNs) {
+    this.cpuTimeNs.addAndGet(cpuTimeNs);
+  }
+
+  @Override
+  public long getCpuTimeNs() {
+    return cpuTimeNs.get();
+  }
 }
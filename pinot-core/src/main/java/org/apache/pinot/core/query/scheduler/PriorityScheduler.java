@@ -36,6 +36,7 @@ import org.apache.pinot.core.query.executor.QueryExecutor;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
 import org.apache.pinot.core.query.scheduler.resources.QueryExecutorService;
 import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
+import org.apache.pinot.core.query.scheduler.resources.ThreadCpuTimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -123,7 +124,20 @@ public abstract class PriorityScheduler extends QueryScheduler {
             request.setResultFuture(queryFutureTask);
             request.getSchedulerGroup().startQuery();
             queryRequest.getTimerContext().getPhaseTimer(ServerQueryPhase.SCHEDULER_WAIT).stopAndRecord();
-            resourceManager.getQueryRunners().submit(queryFutureTask);
+            resourceManager.getQueryRunners().submit(new Runnable() {
+              @Override
+              public void run() {
+                // Charge the CPU time of the query runner thread to the scheduler group. CPU time of the worker
+                // threads is charged by the executor service
+                long startCpuTimeNs = ThreadCpuTimeUtils.getCurrentThreadCpuTimeNs();
+                try {
+                  queryFutureTask.run();
+                } finally {
+                  request.getSchedulerGroup()
+                      .addCpuTimeNs(ThreadCpuTimeUtils.getCurrentThreadCpuTimeNs() - startCpuTimeNs);
+                }
+              }
+            });
           } catch (Throwable t) {
             LOGGER.error(
                 "Error in scheduler thread. This is indicative of a bug. Please report this. Server will continue with errors",
@@ -40,6 +40,8 @@ import org.apache.pinot.core.common.datatable.DataTableImplV2;
 import org.apache.pinot.core.query.executor.QueryExecutor;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
 import org.apache.pinot.core.query.request.context.TimerContext;
+import org.apache.pinot.core.query.scheduler.resources.QueryMemoryBudget;
+import org.apache.pinot.core.query.scheduler.resources.QueryMemoryTracker;
 import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +66,8 @@ public abstract class QueryScheduler {
   protected final ServerMetrics serverMetrics;
   protected final QueryExecutor queryExecutor;
   protected final ResourceManager resourceManager;
+  // Null if the query memory budget is not enabled
+  protected final QueryMemoryBudget queryMemoryBudget;
   protected final LongAccumulator latestQueryTime;
   protected volatile boolean isRunning = false;
 
@@ -84,6 +88,7 @@ public abstract class QueryScheduler {
     this.serverMetrics = serverMetrics;
     this.resourceManager = resourceManager;
     this.queryExecutor = queryExecutor;
+    this.queryMemoryBudget = QueryMemoryBudget.fromConfig(config);
     this.latestQueryTime = latestQueryTime;
     this.queryLogRateLimiter = RateLimiter.create(config.getDouble(QUERY_LOG_MAX_RATE_KEY, DEFAULT_QUERY_LOG_MAX_RATE));
     this.numDroppedLogRateLimiter = RateLimiter.create(1.0d);
@@ -144,6 +149,13 @@ public abstract class QueryScheduler {
   protected byte[] processQueryAndSerialize(@Nonnull ServerQueryRequest queryRequest,
       @Nonnull ExecutorService executorService) {
     latestQueryTime.accumulate(System.currentTimeMillis());
+    // Track the memory used by the query against the server-wide budget if enabled, the allocated memory is returned
+    // back to the budget after the response is serialized
+    QueryMemoryTracker queryMemoryTracker = null;
+    if (queryMemoryBudget != null) {
+      queryMemoryTracker = queryMemoryBudget.newQueryTracker();
+      QueryMemoryTracker.register(queryMemoryTracker);
+    }
     DataTable dataTable;
     try {
       dataTable = queryExecutor.processQuery(queryRequest, executorService);
@@ -154,12 +166,28 @@ public abstract class QueryScheduler {
       serverMetrics.addMeteredGlobalValue(ServerMeter.UNCAUGHT_EXCEPTIONS, 1);
       dataTable = new DataTableImplV2();
       dataTable.addException(QueryException.getException(QueryException.INTERNAL_ERROR, e));
+    } finally {
+      QueryMemoryTracker.unregister();
     }
     long requestId = queryRequest.getRequestId();
+    long memoryAllocatedBytes = queryMemoryTracker != null ? queryMemoryTracker.getAllocatedBytes() : 0L;
     Map<String, String> dataTableMetadata = dataTable.getMetadata();
     dataTableMetadata.put(DataTable.REQUEST_ID_METADATA_KEY, Long.toString(requestId));
+    if (queryMemoryTracker != null) {
+      dataTableMetadata.put(DataTable.MEMORY_ALLOCATED_BYTES_METADATA_KEY, Long.toString(memoryAllocatedBytes));
+      if (queryMemoryTracker.isLimitReached()) {
+        dataTableMetadata.put(DataTable.MEMORY_LIMIT_REACHED_METADATA_KEY, "true");
+      }
+    }
 
-    byte[] responseData = serializeDataTable(queryRequest, dataTable);
+    byte[] responseData;
+    try {
+      responseData = serializeDataTable(queryRequest, dataTable);
+    } finally {
+      if (queryMemoryTracker != null) {
+        queryMemoryTracker.releaseAll();
+      }
+    }
 
     // Log the statistics
     String tableNameWithType = queryRequest.getTableNameWithType();
@@ -192,11 +220,11 @@ public abstract class QueryScheduler {
 
     if (queryLogRateLimiter.tryAcquire() || forceLog(schedulerWaitMs, numDocsScanned)) {
       LOGGER.info(
-          "Processed requestId={},table={},segments(queried/processed/matched)={}/{}/{},schedulerWaitMs={},totalExecMs={},totalTimeMs={},broker={},numDocsScanned={},scanInFilter={},scanPostFilter={},sched={}",
+          "Processed requestId={},table={},segments(queried/processed/matched)={}/{}/{},schedulerWaitMs={},totalExecMs={},totalTimeMs={},broker={},numDocsScanned={},scanInFilter={},scanPostFilter={},memoryAllocatedBytes={},sched={}",
           requestId, tableNameWithType, numSegmentsQueried, numSegmentsProcessed, numSegmentsMatched, schedulerWaitMs,
           timerContext.getPhaseDurationMs(ServerQueryPhase.QUERY_PROCESSING),
           timerContext.getPhaseDurationMs(ServerQueryPhase.TOTAL_QUERY_TIME), queryRequest.getBrokerId(),
-          numDocsScanned, numEntriesScannedInFilter, numEntriesScannedPostFilter, name());
+          numDocsScanned, numEntriesScannedInFilter, numEntriesScannedPostFilter, memoryAllocatedBytes, name());
 
       // Limit the dropping log message at most once per second.
       if (numDroppedLogRateLimiter.tryAcquire()) {
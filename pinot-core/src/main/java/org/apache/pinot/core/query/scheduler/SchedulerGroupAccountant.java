@@ -27,6 +27,9 @@ package org.apache.pinot.core.query.scheduler;
  * CPU and IO cost for each query but also penalizes for GC activity. We do not account
  * for memory utilization yet. Nevertheless, wall clock time is a good approximation for
  * resource utilization in an online system.
+ *
+ * Thread CPU time consumed by the queries of the group is also tracked so that
+ * CPU based schedulers can tell cheap queries from expensive scans.
  */
 public interface SchedulerGroupAccountant extends Comparable<SchedulerGroupAccountant> {
   /**
@@ -72,4 +75,16 @@ public interface SchedulerGroupAccountant extends Comparable<SchedulerGroupAccou
    * Mark end of query execution.
    */
   void endQuery();
+
+  /**
+   * Charge thread CPU time consumed by a query of this group
+   * @param cpuTimeNs CPU time in nanoseconds
+   */
+  void addCpuTimeNs(long cpuTimeNs);
+
+  /**
+   * Total thread CPU time consumed by the queries of this group
+   * @return CPU time in nanoseconds
+   */
+  long getCpuTimeNs();
 }
@@ -21,6 +21,7 @@ package org.apache.pinot.core.query.scheduler.resources;
 import com.google.common.base.Preconditions;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
 import org.slf4j.Logger;
@@ -36,23 +37,45 @@ import org.slf4j.LoggerFactory;
  * This class also supports a resource accounting interface to accurately track resources
  * utilization based on submission time and end time of a task. This does not require
  * any changes to client code which continue to use ExecutorService interface.
+ *
+ * Thread CPU time of each task is measured and charged to both the query (this executor)
+ * and the scheduler group. Tasks can call {@link #checkpoint()} between units of work (e.g. segment
+ * operators) to charge the CPU time consumed so far while they are still running. Optionally, a CPU
+ * budget can be set for the query. Once the query exceeds the budget, its tasks are deprioritized at
+ * their next checkpoint by running them one at a time so that the query stops competing with other
+ * queries for the worker threads.
  */
 public class BoundedAccountingExecutor extends QueryExecutorService {
   private static Logger LOGGER = LoggerFactory.getLogger(BoundedAccountingExecutor.class);
+  // Accounting runnable running on the current thread, null if the thread is not running an accounting runnable
+  private static final ThreadLocal<QueryAccountingRunnable> CURRENT_RUNNABLE = new ThreadLocal<>();
 
   private final Executor delegateExecutor;
   private final int bounds;
   private Semaphore semaphore;
   private final SchedulerGroupAccountant accountant;
+  // CPU budget for the query in nanoseconds, Long.MAX_VALUE if there is no budget
+  private final long cpuBudgetNs;
+  // Total thread CPU time consumed by the tasks of the query
+  private final AtomicLong queryCpuTimeNs = new AtomicLong(0);
+  // Allows only one task at a time to run after the query exceeds its CPU budget
+  private final Semaphore overBudgetSemaphore = new Semaphore(1);
 
   public BoundedAccountingExecutor(@Nonnull Executor s, int bounds, @Nonnull SchedulerGroupAccountant accountant) {
+    this(s, bounds, accountant, Long.MAX_VALUE);
+  }
+
+  public BoundedAccountingExecutor(@Nonnull Executor s, int bounds, @Nonnull SchedulerGroupAccountant accountant,
+      long cpuBudgetNs) {
     Preconditions.checkNotNull(s);
     Preconditions.checkNotNull(accountant);
     Preconditions.checkArgument(bounds > 0);
+    Preconditions.checkArgument(cpuBudgetNs > 0);
     this.delegateExecutor = s;
     this.bounds = bounds;
     this.semaphore = new Semaphore(bounds);
     this.accountant = accountant;
+    this.cpuBudgetNs = cpuBudgetNs;
   }
 
   @Override
@@ -60,17 +83,47 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
     delegateExecutor.execute(toAccountingRunnable(command));
   }
 
+  /**
+   * Total thread CPU time charged by the tasks of the query, including the CPU time charged at the checkpoints of the
+   * running tasks
+   * @return CPU time in nanoseconds
+   */
+  public long getQueryCpuTimeNs() {
+    return queryCpuTimeNs.get();
+  }
+
+  /**
+   * @return true if the query has consumed more CPU time than its budget
+   */
+  public boolean isOverCpuBudget() {
+    return queryCpuTimeNs.get() > cpuBudgetNs;
+  }
+
   @Override
   public void releaseWorkers() {
     accountant.releasedReservedThreads(bounds);
   }
 
+  /**
+   * Charges the CPU time consumed by the current task since its last checkpoint to the query and the scheduler group.
+   * If the query has exceeded its CPU budget, blocks until no other task of the query is running past its budget, so
+   * that the remaining work of the query runs one task at a time.
+   * <p>Should be called between units of work of a task, and only when the task does not wait for other tasks of the
+   * same query. No-op if the current thread is not running a task of a {@link BoundedAccountingExecutor}.
+   */
+  public static void checkpoint() {
+    QueryAccountingRunnable runnable = CURRENT_RUNNABLE.get();
+    if (runnable != null) {
+      runnable.checkpoint();
+    }
+  }
+
   private QueryAccountingRunnable toAccountingRunnable(Runnable runnable) {
-    acquirePermits(1);
+    acquirePermits(semaphore, 1);
     return new QueryAccountingRunnable(runnable, semaphore, accountant);
   }
 
-  private void acquirePermits(int permits) {
+  private void acquirePermits(Semaphore semaphore, int permits) {
     try {
       semaphore.acquire(permits);
     } catch (InterruptedException e) {
@@ -83,6 +136,9 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
     private final Runnable runnable;
     private final Semaphore semaphore;
     private final SchedulerGroupAccountant accountant;
+    // Thread CPU time at the last time the CPU time was charged
+    private long lastCpuTimeNs;
+    private boolean overBudget;
 
     QueryAccountingRunnable(Runnable r, Semaphore semaphore, SchedulerGroupAccountant accountant) {
       this.runnable = r;
@@ -92,16 +148,43 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
 
     @Override
     public void run() {
+      lastCpuTimeNs = ThreadCpuTimeUtils.getCurrentThreadCpuTimeNs();
+      CURRENT_RUNNABLE.set(this);
       try {
         if (accountant != null) {
           accountant.incrementThreads();
         }
         runnable.run();
       } finally {
+        CURRENT_RUNNABLE.remove();
+        chargeCpuTime();
         if (accountant != null) {
           accountant.decrementThreads();
         }
         semaphore.release();
+        if (overBudget) {
+          overBudgetSemaphore.release();
+        }
+      }
+    }
+
+    void checkpoint() {
+      chargeCpuTime();
+      if (!overBudget && isOverCpuBudget()) {
+        LOGGER.debug("Query exceeded CPU budget: {}ns, consumed: {}ns. Running remaining work one task at a time",
+            cpuBudgetNs, queryCpuTimeNs.get());
+        acquirePermits(overBudgetSemaphore, 1);
+        overBudget = true;
+      }
+    }
+
+    private void chargeCpuTime() {
+      long currentCpuTimeNs = ThreadCpuTimeUtils.getCurrentThreadCpuTimeNs();
+      long cpuTimeNs = currentCpuTimeNs - lastCpuTimeNs;
+      lastCpuTimeNs = currentCpuTimeNs;
+      queryCpuTimeNs.addAndGet(cpuTimeNs);
+      if (accountant != null) {
+        accountant.addCpuTimeNs(cpuTimeNs);
       }
     }
   }
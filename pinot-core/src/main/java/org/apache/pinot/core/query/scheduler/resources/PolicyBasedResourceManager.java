@@ -71,7 +71,18 @@ public class PolicyBasedResourceManager extends ResourceManager {
     accountant.addReservedThreads(spareThreads);
     // TODO: For 1 thread we should have the query run in the same queryRunner thread
     // by supplying an executor service that similar to Guava' directExecutor()
-    return new BoundedAccountingExecutor(queryWorkers, spareThreads, accountant);
+    return createExecutorService(spareThreads, accountant);
+  }
+
+  /**
+   * Creates the executor service for a query with the given number of reserved threads.
+   * Derived classes can override this to configure additional limits on the query
+   * @param numThreads number of threads reserved for the query
+   * @param accountant Accountant for a scheduler group
+   * @return executor service bounded by the number of reserved threads
+   */
+  protected BoundedAccountingExecutor createExecutorService(int numThreads, SchedulerGroupAccountant accountant) {
+    return new BoundedAccountingExecutor(queryWorkers, numThreads, accountant);
   }
 
   @Override
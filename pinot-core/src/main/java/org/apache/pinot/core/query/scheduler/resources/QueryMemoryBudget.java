@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.resources;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Server-wide memory budget shared by all the queries running on the server.
+ *
+ * The budget is only an estimation of the heap memory held by the query execution data structures (group-by result
+ * holders and key maps, selection priority queues and serialized data tables). Each query reserves memory through its
+ * own {@link QueryMemoryTracker}, and returns all of it back when the query finishes.
+ * <p>
+ * The budget is disabled unless {@link #MEMORY_BUDGET_BYTES_KEY} is configured, so that the query results do not change
+ * (e.g. trimmed group-by results) for the servers that do not opt in.
+ */
+public class QueryMemoryBudget {
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryMemoryBudget.class);
+
+  public static final String MEMORY_BUDGET_BYTES_KEY = "query.memory.budget.bytes";
+  public static final String MAX_MEMORY_BYTES_PER_QUERY_KEY = "query.memory.max.bytes.per.query";
+  public static final String OVERFLOW_POLICY_KEY = "query.memory.overflow.policy";
+
+  private final long _maxBytes;
+  private final long _maxBytesPerQuery;
+  private final QueryMemoryTracker.OverflowPolicy _overflowPolicy;
+  private final AtomicLong _reservedBytes = new AtomicLong();
+
+  public QueryMemoryBudget(long maxBytes, long maxBytesPerQuery, QueryMemoryTracker.OverflowPolicy overflowPolicy) {
+    Preconditions.checkArgument(maxBytes > 0 && maxBytesPerQuery > 0);
+    _maxBytes = maxBytes;
+    _maxBytesPerQuery = maxBytesPerQuery;
+    _overflowPolicy = overflowPolicy;
+  }
+
+  /**
+   * Returns the budget configured in the given config, or {@code null} if the budget is not enabled.
+   */
+  @Nullable
+  public static QueryMemoryBudget fromConfig(Configuration config) {
+    long maxBytes = config.getLong(MEMORY_BUDGET_BYTES_KEY, 0L);
+    if (maxBytes <= 0) {
+      LOGGER.info("Query memory budget is not enabled");
+      return null;
+    }
+    long maxBytesPerQuery = config.getLong(MAX_MEMORY_BYTES_PER_QUERY_KEY, maxBytes);
+    QueryMemoryTracker.OverflowPolicy overflowPolicy = QueryMemoryTracker.OverflowPolicy
+        .valueOf(config.getString(OVERFLOW_POLICY_KEY, QueryMemoryTracker.OverflowPolicy.TRIM.name()).toUpperCase());
+    LOGGER.info("Query memory budget: {} bytes, max bytes per query: {}, overflow policy: {}", maxBytes,
+        maxBytesPerQuery, overflowPolicy);
+    return new QueryMemoryBudget(maxBytes, maxBytesPerQuery, overflowPolicy);
+  }
+
+  /**
+   * Creates a tracker for a new query backed by this budget.
+   */
+  public QueryMemoryTracker newQueryTracker() {
+    return new QueryMemoryTracker(this, _maxBytesPerQuery, _overflowPolicy);
+  }
+
+  /**
+   * Tries to reserve the given number of bytes from the budget, returns {@code true} if succeeded.
+   */
+  boolean tryReserve(long numBytes) {
+    while (true) {
+      long reservedBytes = _reservedBytes.get();
+      long newReservedBytes = reservedBytes + numBytes;
+      if (newReservedBytes > _maxBytes) {
+        return false;
+      }
+      if (_reservedBytes.compareAndSet(reservedBytes, newReservedBytes)) {
+        return true;
+      }
+    }
+  }
+
+  void release(long numBytes) {
+    _reservedBytes.addAndGet(-numBytes);
+  }
+
+  public long getMaxBytes() {
+    return _maxBytes;
+  }
+
+  public long getReservedBytes() {
+    return _reservedBytes.get();
+  }
+}
@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.resources;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.apache.pinot.core.query.exception.QueryMemoryLimitExceededException;
+
+
+/**
+ * Tracks the estimated memory allocated by a single query against its per-query limit and the server-wide
+ * {@link QueryMemoryBudget}.
+ * <p>
+ * The query runner thread should register the tracker by calling {@link #register(QueryMemoryTracker)} before
+ * executing the query, and un-register it with {@link #unregister()} after the query finishes.
+ * {@link org.apache.pinot.core.util.trace.TraceRunnable} and {@link org.apache.pinot.core.util.trace.TraceCallable}
+ * propagate the tracker to the worker threads.
+ * <p>
+ * Allocations are released when the memory they account for is no longer referenced (e.g. the per-segment group-by
+ * results after they are merged), or all at once when the query finishes. Worker threads might still be running after
+ * the query times out, so all the allocations and releases after {@link #releaseAll()} are no-ops.
+ */
+public class QueryMemoryTracker {
+
+  /**
+   * Policy applied to group-by queries when the memory limit is reached. All the other allocations are always rejected,
+   * except for the final data table serialization which is not failed under TRIM so that the trimmed results can be
+   * returned.
+   * <ul>
+   *   <li>REJECT: fail the query with a memory limit exceeded error</li>
+   *   <li>TRIM: stop generating new groups and return the groups collected so far</li>
+   * </ul>
+   */
+  public enum OverflowPolicy {
+    REJECT, TRIM
+  }
+
+  private static final ThreadLocal<QueryMemoryTracker> TRACKER_THREAD_LOCAL = new ThreadLocal<>();
+
+  private final QueryMemoryBudget _budget;
+  private final long _maxBytes;
+  private final OverflowPolicy _overflowPolicy;
+  private final AtomicLong _allocatedBytes = new AtomicLong();
+  private volatile boolean _limitReached = false;
+  // Guarded by this, set once all the allocated bytes are returned back to the budget
+  private boolean _released = false;
+
+  QueryMemoryTracker(QueryMemoryBudget budget, long maxBytes, OverflowPolicy overflowPolicy) {
+    _budget = budget;
+    _maxBytes = maxBytes;
+    _overflowPolicy = overflowPolicy;
+  }
+
+  /**
+   * Tries to allocate the given number of bytes, returns {@code false} if the per-query limit or the server-wide
+   * budget would be exceeded.
+   */
+  public synchronized boolean tryAllocate(long numBytes) {
+    if (numBytes <= 0 || _released) {
+      return true;
+    }
+    if (_allocatedBytes.addAndGet(numBytes) > _maxBytes) {
+      _allocatedBytes.addAndGet(-numBytes);
+      _limitReached = true;
+      return false;
+    }
+    if (!_budget.tryReserve(numBytes)) {
+      _allocatedBytes.addAndGet(-numBytes);
+      _limitReached = true;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Allocates the given number of bytes, throws {@link QueryMemoryLimitExceededException} if the per-query limit or the
+   * server-wide budget would be exceeded.
+   */
+  public void allocate(long numBytes, String allocationName) {
+    if (!tryAllocate(numBytes)) {
+      throw new QueryMemoryLimitExceededException(String
+          .format("Failed to allocate %d bytes for %s (query allocated: %d bytes, query limit: %d bytes, "
+                  + "server budget: %d/%d bytes)", numBytes, allocationName, _allocatedBytes.get(), _maxBytes,
+              _budget.getReservedBytes(), _budget.getMaxBytes()));
+    }
+  }
+
+  /**
+   * Returns the given number of previously allocated bytes back to the server-wide budget.
+   */
+  public synchronized void release(long numBytes) {
+    if (numBytes <= 0 || _released) {
+      return;
+    }
+    _allocatedBytes.addAndGet(-numBytes);
+    _budget.release(numBytes);
+  }
+
+  /**
+   * Returns all the allocated bytes back to the server-wide budget. Should be called once after the query finishes, all
+   * the later allocations and releases are ignored.
+   */
+  public synchronized void releaseAll() {
+    if (!_released) {
+      _released = true;
+      _budget.release(_allocatedBytes.getAndSet(0));
+    }
+  }
+
+  public long getAllocatedBytes() {
+    return _allocatedBytes.get();
+  }
+
+  public boolean isLimitReached() {
+    return _limitReached;
+  }
+
+  public OverflowPolicy getOverflowPolicy() {
+    return _overflowPolicy;
+  }
+
+  /**
+   * Registers the tracker to the current thread.
+   */
+  public static void register(QueryMemoryTracker tracker) {
+    TRACKER_THREAD_LOCAL.set(tracker);
+  }
+
+  /**
+   * Un-registers the tracker from the current thread.
+   */
+  public static void unregister() {
+    TRACKER_THREAD_LOCAL.remove();
+  }
+
+  /**
+   * Returns the tracker registered to the current thread, or {@code null} if memory tracking is not enabled.
+   */
+  @Nullable
+  public static QueryMemoryTracker get() {
+    return TRACKER_THREAD_LOCAL.get();
+  }
+
+  /**
+   * Allocates the given number of bytes from the tracker registered to the current thread if there is one.
+   */
+  public static void allocateIfTracked(long numBytes, String allocationName) {
+    QueryMemoryTracker tracker = TRACKER_THREAD_LOCAL.get();
+    if (tracker != null) {
+      tracker.allocate(numBytes, allocationName);
+    }
+  }
+}
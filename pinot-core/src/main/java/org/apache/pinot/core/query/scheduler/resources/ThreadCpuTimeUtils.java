@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.resources;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Utility class to measure the CPU time of the current thread through {@link ThreadMXBean}.
+ *
+ * If the JVM does not support thread CPU time measurement, all the measured CPU time will be 0.
+ */
+public class ThreadCpuTimeUtils {
+  private ThreadCpuTimeUtils() {
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ThreadCpuTimeUtils.class);
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+  private static final boolean IS_CPU_TIME_SUPPORTED;
+
+  static {
+    boolean isCpuTimeSupported = false;
+    try {
+      if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+        if (!THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+          THREAD_MX_BEAN.setThreadCpuTimeEnabled(true);
+        }
+        isCpuTimeSupported = true;
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while enabling thread CPU time measurement", e);
+    }
+    IS_CPU_TIME_SUPPORTED = isCpuTimeSupported;
+    LOGGER.info("Thread CPU time measurement supported: {}", IS_CPU_TIME_SUPPORTED);
+  }
+
+  public static boolean isCpuTimeSupported() {
+    return IS_CPU_TIME_SUPPORTED;
+  }
+
+  /**
+   * Returns the total CPU time of the current thread in nanoseconds, or 0 if not supported.
+   */
+  public static long getCurrentThreadCpuTimeNs() {
+    if (IS_CPU_TIME_SUPPORTED) {
+      return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+    } else {
+      return 0L;
+    }
+  }
+}
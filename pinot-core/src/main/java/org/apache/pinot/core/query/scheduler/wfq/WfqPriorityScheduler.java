@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.wfq;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import javax.annotation.Nonnull;
+import org.apache.commons.configuration.Configuration;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.core.query.executor.QueryExecutor;
+import org.apache.pinot.core.query.scheduler.MultiLevelPriorityQueue;
+import org.apache.pinot.core.query.scheduler.PriorityScheduler;
+import org.apache.pinot.core.query.scheduler.SchedulerGroup;
+import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
+import org.apache.pinot.core.query.scheduler.SchedulerGroupFactory;
+import org.apache.pinot.core.query.scheduler.TableBasedGroupMapper;
+import org.apache.pinot.core.query.scheduler.resources.BoundedAccountingExecutor;
+import org.apache.pinot.core.query.scheduler.resources.PolicyBasedResourceManager;
+import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
+
+
+/**
+ * Schedules queries from the {@link SchedulerGroup} with the lowest weighted CPU time on priority.
+ * Thread CPU time of the query runner and worker threads is charged to the scheduler group of
+ * the query. Queries exceeding the CPU budget of their group get their remaining segment tasks
+ * deprioritized.
+ *
+ * This is a thin wrapper factory class that configures {@link PriorityScheduler} with
+ * the right concrete classes. All the priority based scheduling logic is in {@link PriorityScheduler}
+ */
+public class WfqPriorityScheduler extends PriorityScheduler {
+  // Weight of a scheduler group can be configured with 'group_weight.<groupName>'
+  public static final String GROUP_WEIGHT_KEY = "group_weight";
+  // CPU budget per query of a scheduler group can be configured with 'query_cpu_budget_ms.<groupName>'
+  public static final String QUERY_CPU_BUDGET_MS_KEY = "query_cpu_budget_ms";
+  private static final int DEFAULT_GROUP_WEIGHT = 1;
+  private static final long DEFAULT_QUERY_CPU_BUDGET_MS = 10_000L;
+
+  public static WfqPriorityScheduler create(@Nonnull Configuration config, @Nonnull QueryExecutor queryExecutor,
+      @Nonnull ServerMetrics metrics, @Nonnull LongAccumulator latestQueryTime) {
+    final ResourceManager rm = new PolicyBasedResourceManager(config) {
+      @Override
+      protected BoundedAccountingExecutor createExecutorService(int numThreads, SchedulerGroupAccountant accountant) {
+        long queryCpuBudgetNs = ((WfqSchedulerGroup) accountant).getQueryCpuBudgetNs();
+        return new BoundedAccountingExecutor(queryWorkers, numThreads, accountant, queryCpuBudgetNs);
+      }
+    };
+    final AtomicLong systemVirtualTimeNs = new AtomicLong(0);
+    final SchedulerGroupFactory groupFactory = new SchedulerGroupFactory() {
+      @Override
+      public SchedulerGroup create(Configuration config, String groupName) {
+        int weight = config.getInt(GROUP_WEIGHT_KEY + "." + groupName,
+            config.getInt(GROUP_WEIGHT_KEY, DEFAULT_GROUP_WEIGHT));
+        long queryCpuBudgetMs = config.getLong(QUERY_CPU_BUDGET_MS_KEY + "." + groupName,
+            config.getLong(QUERY_CPU_BUDGET_MS_KEY, DEFAULT_QUERY_CPU_BUDGET_MS));
+        return new WfqSchedulerGroup(groupName, weight, TimeUnit.MILLISECONDS.toNanos(queryCpuBudgetMs),
+            systemVirtualTimeNs);
+      }
+    };
+
+    MultiLevelPriorityQueue queue = new MultiLevelPriorityQueue(config, rm, groupFactory, new TableBasedGroupMapper());
+    return new WfqPriorityScheduler(config, rm, queryExecutor, queue, metrics, latestQueryTime);
+  }
+
+  private WfqPriorityScheduler(@Nonnull Configuration config, @Nonnull ResourceManager resourceManager,
+      @Nonnull QueryExecutor queryExecutor, @Nonnull MultiLevelPriorityQueue queue, @Nonnull ServerMetrics metrics,
+      @Nonnull LongAccumulator latestQueryTime) {
+    super(config, resourceManager, queryExecutor, queue, metrics, latestQueryTime);
+  }
+
+  @Override
+  public String name() {
+    return "WeightedFairQueue";
+  }
+}
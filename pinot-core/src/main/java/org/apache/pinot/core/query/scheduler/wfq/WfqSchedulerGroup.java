@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.wfq;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.pinot.core.query.scheduler.AbstractSchedulerGroup;
+import org.apache.pinot.core.query.scheduler.SchedulerGroup;
+import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
+import org.apache.pinot.core.query.scheduler.SchedulerQueryContext;
+import org.apache.pinot.core.query.scheduler.fcfs.FCFSSchedulerGroup;
+
+
+/**
+ * Scheduler group that manages accounting based on the thread CPU time consumed by its queries.
+ *
+ * This implements start-time weighted fair queuing over CPU time. Each group has a virtual
+ * time which is the CPU time consumed by the group divided by its weight. The group with
+ * the lowest virtual time has the highest priority, so groups running expensive scans are
+ * deprioritized in favor of groups running cheap lookups until their CPU usage evens out.
+ *
+ * The system virtual time is the virtual time of the group that started the latest query.
+ * An idle group that becomes active again starts from the system virtual time so that it
+ * can not accumulate credits while idle and then starve the other groups.
+ */
+public class WfqSchedulerGroup extends AbstractSchedulerGroup {
+  // weight of this group. A group with weight 2 gets twice the CPU time of a group with weight 1
+  private final int weight;
+  // CPU budget for each query of this group in nanoseconds
+  private final long queryCpuBudgetNs;
+  // system virtual time shared by all the groups of the scheduler
+  private final AtomicLong systemVirtualTimeNs;
+  // virtual time of this group when it became active, virtual time advances from here as CPU time is charged
+  private long virtualStartTimeNs;
+  // CPU time charged to this group when it became active
+  private long cpuTimeAtStartNs;
+
+  WfqSchedulerGroup(String schedGroupName, int weight, long queryCpuBudgetNs, AtomicLong systemVirtualTimeNs) {
+    super(schedGroupName);
+    Preconditions.checkArgument(weight > 0);
+    Preconditions.checkArgument(queryCpuBudgetNs > 0);
+    this.weight = weight;
+    this.queryCpuBudgetNs = queryCpuBudgetNs;
+    this.systemVirtualTimeNs = systemVirtualTimeNs;
+    virtualStartTimeNs = systemVirtualTimeNs.get();
+  }
+
+  public int getWeight() {
+    return weight;
+  }
+
+  public long getQueryCpuBudgetNs() {
+    return queryCpuBudgetNs;
+  }
+
+  /**
+   * Virtual time of this group: weighted CPU time since the group became active
+   */
+  public synchronized long getVirtualTimeNs() {
+    return virtualStartTimeNs + (getCpuTimeNs() - cpuTimeAtStartNs) / weight;
+  }
+
+  @Override
+  public synchronized void addLast(SchedulerQueryContext query) {
+    if (isEmpty() && numRunning() == 0) {
+      // Group was idle, do not let it use the credits accumulated while idle
+      long virtualTimeNs = getVirtualTimeNs();
+      long systemTimeNs = systemVirtualTimeNs.get();
+      if (virtualTimeNs < systemTimeNs) {
+        virtualStartTimeNs = systemTimeNs;
+        cpuTimeAtStartNs = getCpuTimeNs();
+      }
+    }
+    super.addLast(query);
+  }
+
+  @Override
+  public void startQuery() {
+    super.startQuery();
+    // advance the system virtual time to the start tag of the query in service
+    long virtualTimeNs = getVirtualTimeNs();
+    systemVirtualTimeNs.accumulateAndGet(virtualTimeNs, Math::max);
+  }
+
+  /**
+   * Compares priority of this group with respect to another scheduler group.
+   * Group with lower virtual time has higher priority. If both groups have the same virtual time then
+   * the group with earliest waiting job has higher priority.
+   * @param rhs SchedulerGroupAccount to compare with
+   * @return < 0 if lhs has lower priority than rhs
+   *     > 0 if lhs has higher priority than rhs
+   *     = 0 if lhs has same priority as rhs
+   */
+  @Override
+  public int compareTo(SchedulerGroupAccountant rhs) {
+    if (rhs == null) {
+      return 1;
+    }
+    if (this == rhs) {
+      return 0;
+    }
+
+    int comparison = Long.compare(((WfqSchedulerGroup) rhs).getVirtualTimeNs(), getVirtualTimeNs());
+    if (comparison != 0) {
+      return comparison;
+    }
+    return FCFSSchedulerGroup.compare(this, (SchedulerGroup) rhs);
+  }
+
+  public String toString() {
+    return String.format(" {%s:[%d,%d,%d,%d,%d,%d]},", name(), getVirtualTimeNs(), getCpuTimeNs(), numPending(),
+        numRunning(), getThreadsInUse(), totalReservedThreads());
+  }
+}
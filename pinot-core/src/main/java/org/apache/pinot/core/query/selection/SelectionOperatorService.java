@@ -68,6 +68,10 @@ import org.apache.pinot.core.query.selection.comparator.CompositeDocIdValCompara
  * </ul>
  */
 public class SelectionOperatorService {
+  // Estimated heap size of a row without the values (queue slot, array header) and of a single (boxed) value
+  private static final int ROW_SIZE_IN_BYTES = 24;
+  private static final int VALUE_SIZE_IN_BYTES = 32;
+
   private final List<String> _selectionColumns;
   private final List<SelectionSort> _sortSequence;
   private final DataSchema _dataSchema;
@@ -258,6 +262,15 @@ public class SelectionOperatorService {
     return _rows;
   }
 
+  /**
+   * Get the estimated heap size of the selection results in bytes.
+   *
+   * @return estimated size of the selection results in bytes.
+   */
+  public long getEstimatedSizeInBytes() {
+    return (long) _rows.size() * (ROW_SIZE_IN_BYTES + VALUE_SIZE_IN_BYTES * _dataSchema.size());
+  }
+
   /**
    * Get number of documents scanned. (Inner segment)
    *
@@ -0,0 +1,335 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.creator.impl;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.utils.StringUtil;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.io.readerwriter.PinotDataBufferMemoryManager;
+import org.apache.pinot.core.io.readerwriter.impl.FixedByteSingleColumnSingleValueReaderWriter;
+import org.apache.pinot.core.io.writer.impl.MmapMemoryManager;
+import org.apache.pinot.core.io.writer.impl.MutableOffHeapByteArrayStore;
+
+
+/**
+ * Off-heap columnar buffer of the transformed rows, used by the single-pass segment creation to index the rows after
+ * the stats are collected without reading the input a second time.
+ * <ul>
+ *   <li>Single-value numeric columns are stored as fixed size values.</li>
+ *   <li>Other columns are serialized into a byte array per row: UTF-8 bytes for STRING, the value for BYTES, the
+ *   values back to back for numeric multi-value, and length prefixed UTF-8 bytes for STRING multi-value.</li>
+ * </ul>
+ * The memory is allocated from memory mapped files under the given spool directory, which is deleted on close. The
+ * initial chunks can be sized from the expected number of rows so that small spools do not reserve full size chunks.
+ */
+public class ColumnarRowSpool implements Closeable {
+  private static final int MAX_NUM_ROWS_PER_CHUNK = 64 * 1024;
+  private static final int MIN_NUM_ROWS_PER_CHUNK = 1024;
+  private static final int INITIAL_AVG_ARRAY_LENGTH = 16;
+
+  private final File _spoolDir;
+  private final PinotDataBufferMemoryManager _memoryManager;
+  private final FieldSpec[] _fieldSpecs;
+  private final FixedByteSingleColumnSingleValueReaderWriter[] _fixedByteColumns;
+  private final MutableOffHeapByteArrayStore[] _byteArrayColumns;
+  private int _numRows;
+  private long _sizeInBytes;
+
+  public ColumnarRowSpool(Schema schema, File spoolDir)
+      throws IOException {
+    this(schema, spoolDir, MAX_NUM_ROWS_PER_CHUNK);
+  }
+
+  /**
+   * Creates a spool with the chunks sized for the expected number of rows (the spool still grows beyond it).
+   */
+  public ColumnarRowSpool(Schema schema, File spoolDir, int expectedNumRows)
+      throws IOException {
+    FileUtils.forceMkdir(spoolDir);
+    _spoolDir = spoolDir;
+    _memoryManager = new MmapMemoryManager(spoolDir.getAbsolutePath(), spoolDir.getName());
+
+    List<FieldSpec> fieldSpecs = new ArrayList<>();
+    for (FieldSpec fieldSpec : schema.getAllFieldSpecs()) {
+      // Virtual columns do not get an on-disk representation
+      if (!schema.isVirtualColumn(fieldSpec.getName())) {
+        fieldSpecs.add(fieldSpec);
+      }
+    }
+    int numColumns = fieldSpecs.size();
+    _fieldSpecs = fieldSpecs.toArray(new FieldSpec[numColumns]);
+    _fixedByteColumns = new FixedByteSingleColumnSingleValueReaderWriter[numColumns];
+    _byteArrayColumns = new MutableOffHeapByteArrayStore[numColumns];
+    int numRowsPerChunk = Math.max(Math.min(expectedNumRows, MAX_NUM_ROWS_PER_CHUNK), MIN_NUM_ROWS_PER_CHUNK);
+    for (int i = 0; i < numColumns; i++) {
+      FieldSpec fieldSpec = _fieldSpecs[i];
+      String allocationContext = spoolDir.getName() + ":" + fieldSpec.getName();
+      FieldSpec.DataType dataType = fieldSpec.getDataType().getStoredType();
+      if (fieldSpec.isSingleValueField() && dataType != FieldSpec.DataType.STRING
+          && dataType != FieldSpec.DataType.BYTES) {
+        _fixedByteColumns[i] =
+            new FixedByteSingleColumnSingleValueReaderWriter(numRowsPerChunk, dataType.size(), _memoryManager,
+                allocationContext);
+      } else {
+        _byteArrayColumns[i] = new MutableOffHeapByteArrayStore(_memoryManager, allocationContext, numRowsPerChunk,
+            INITIAL_AVG_ARRAY_LENGTH);
+      }
+    }
+  }
+
+  /**
+   * Appends a transformed row, where all the values follow the data types defined in the schema.
+   */
+  public void add(GenericRow row) {
+    int numColumns = _fieldSpecs.length;
+    for (int i = 0; i < numColumns; i++) {
+      FieldSpec fieldSpec = _fieldSpecs[i];
+      Object value = row.getValue(fieldSpec.getName());
+      if (value == null) {
+        throw new IllegalStateException("Null value for column: " + fieldSpec.getName());
+      }
+      FixedByteSingleColumnSingleValueReaderWriter fixedByteColumn = _fixedByteColumns[i];
+      if (fixedByteColumn != null) {
+        switch (fieldSpec.getDataType().getStoredType()) {
+          case INT:
+            fixedByteColumn.setInt(_numRows, (Integer) value);
+            break;
+          case LONG:
+            fixedByteColumn.setLong(_numRows, (Long) value);
+            break;
+          case FLOAT:
+            fixedByteColumn.setFloat(_numRows, (Float) value);
+            break;
+          case DOUBLE:
+            fixedByteColumn.setDouble(_numRows, (Double) value);
+            break;
+          default:
+            throw new IllegalStateException("Illegal data type: " + fieldSpec.getDataType());
+        }
+        _sizeInBytes += fieldSpec.getDataType().getStoredType().size();
+      } else {
+        byte[] bytes = serialize(fieldSpec, value);
+        _byteArrayColumns[i].add(bytes);
+        _sizeInBytes += bytes.length;
+      }
+    }
+    _numRows++;
+  }
+
+  public int getNumRows() {
+    return _numRows;
+  }
+
+  /**
+   * Returns the total size of the spooled values in bytes, which is the raw size of the rows.
+   */
+  public long getSizeInBytes() {
+    return _sizeInBytes;
+  }
+
+  /**
+   * Returns the field specs of the spooled columns, where the index of the field spec is the column index.
+   */
+  public FieldSpec[] getFieldSpecs() {
+    return _fieldSpecs;
+  }
+
+  /**
+   * Reads the row with the given id into the given reusable row.
+   */
+  public GenericRow getRow(int rowId, GenericRow reuse) {
+    int numColumns = _fieldSpecs.length;
+    for (int i = 0; i < numColumns; i++) {
+      reuse.putField(_fieldSpecs[i].getName(), getValue(i, rowId));
+    }
+    return reuse;
+  }
+
+  /**
+   * Reads the value of the given column for the row with the given id.
+   * <p>Values of different columns can be read concurrently, as each column is stored separately.
+   */
+  public Object getValue(int columnIndex, int rowId) {
+    FieldSpec fieldSpec = _fieldSpecs[columnIndex];
+    FixedByteSingleColumnSingleValueReaderWriter fixedByteColumn = _fixedByteColumns[columnIndex];
+    if (fixedByteColumn != null) {
+      switch (fieldSpec.getDataType().getStoredType()) {
+        case INT:
+          return fixedByteColumn.getInt(rowId);
+        case LONG:
+          return fixedByteColumn.getLong(rowId);
+        case FLOAT:
+          return fixedByteColumn.getFloat(rowId);
+        case DOUBLE:
+          return fixedByteColumn.getDouble(rowId);
+        default:
+          throw new IllegalStateException("Illegal data type: " + fieldSpec.getDataType());
+      }
+    } else {
+      return deserialize(fieldSpec, _byteArrayColumns[columnIndex].get(rowId));
+    }
+  }
+
+  private static byte[] serialize(FieldSpec fieldSpec, Object value) {
+    FieldSpec.DataType dataType = fieldSpec.getDataType().getStoredType();
+    if (fieldSpec.isSingleValueField()) {
+      switch (dataType) {
+        case STRING:
+          return StringUtil.encodeUtf8((String) value);
+        case BYTES:
+          return (byte[]) value;
+        default:
+          throw new IllegalStateException("Illegal data type: " + dataType);
+      }
+    }
+
+    Object[] values = (Object[]) value;
+    int numValues = values.length;
+    switch (dataType) {
+      case INT: {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(numValues * Integer.BYTES);
+        for (Object v : values) {
+          byteBuffer.putInt((Integer) v);
+        }
+        return byteBuffer.array();
+      }
+      case LONG: {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(numValues * Long.BYTES);
+        for (Object v : values) {
+          byteBuffer.putLong((Long) v);
+        }
+        return byteBuffer.array();
+      }
+      case FLOAT: {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(numValues * Float.BYTES);
+        for (Object v : values) {
+          byteBuffer.putFloat((Float) v);
+        }
+        return byteBuffer.array();
+      }
+      case DOUBLE: {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(numValues * Double.BYTES);
+        for (Object v : values) {
+          byteBuffer.putDouble((Double) v);
+        }
+        return byteBuffer.array();
+      }
+      case STRING: {
+        byte[][] utf8Values = new byte[numValues][];
+        int size = Integer.BYTES;
+        for (int i = 0; i < numValues; i++) {
+          utf8Values[i] = StringUtil.encodeUtf8((String) values[i]);
+          size += Integer.BYTES + utf8Values[i].length;
+        }
+        ByteBuffer byteBuffer = ByteBuffer.allocate(size);
+        byteBuffer.putInt(numValues);
+        for (byte[] utf8Value : utf8Values) {
+          byteBuffer.putInt(utf8Value.length);
+          byteBuffer.put(utf8Value);
+        }
+        return byteBuffer.array();
+      }
+      default:
+        throw new IllegalStateException("Illegal data type for multi-value column: " + dataType);
+    }
+  }
+
+  private static Object deserialize(FieldSpec fieldSpec, byte[] bytes) {
+    FieldSpec.DataType dataType = fieldSpec.getDataType().getStoredType();
+    if (fieldSpec.isSingleValueField()) {
+      switch (dataType) {
+        case STRING:
+          return StringUtil.decodeUtf8(bytes);
+        case BYTES:
+          return bytes;
+        default:
+          throw new IllegalStateException("Illegal data type: " + dataType);
+      }
+    }
+
+    ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+    Object[] values;
+    switch (dataType) {
+      case INT:
+        values = new Object[bytes.length / Integer.BYTES];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = byteBuffer.getInt();
+        }
+        return values;
+      case LONG:
+        values = new Object[bytes.length / Long.BYTES];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = byteBuffer.getLong();
+        }
+        return values;
+      case FLOAT:
+        values = new Object[bytes.length / Float.BYTES];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = byteBuffer.getFloat();
+        }
+        return values;
+      case DOUBLE:
+        values = new Object[bytes.length / Double.BYTES];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = byteBuffer.getDouble();
+        }
+        return values;
+      case STRING:
+        values = new Object[byteBuffer.getInt()];
+        for (int i = 0; i < values.length; i++) {
+          int length = byteBuffer.getInt();
+          int offset = byteBuffer.position();
+          values[i] = new String(bytes, offset, length, StandardCharsets.UTF_8);
+          byteBuffer.position(offset + length);
+        }
+        return values;
+      default:
+        throw new IllegalStateException("Illegal data type for multi-value column: " + dataType);
+    }
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    try {
+      for (FixedByteSingleColumnSingleValueReaderWriter fixedByteColumn : _fixedByteColumns) {
+        if (fixedByteColumn != null) {
+          fixedByteColumn.close();
+        }
+      }
+      for (MutableOffHeapByteArrayStore byteArrayColumn : _byteArrayColumns) {
+        if (byteArrayColumn != null) {
+          byteArrayColumn.close();
+        }
+      }
+      _memoryManager.close();
+    } finally {
+      FileUtils.deleteQuietly(_spoolDir);
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.creator.impl;
+
+import com.google.common.base.Preconditions;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.pinot.common.config.ColumnPartitionConfig;
+import org.apache.pinot.common.config.SegmentPartitionConfig;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.partition.PartitionFunction;
+import org.apache.pinot.core.data.partition.PartitionFunctionFactory;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.data.recordtransformer.CompoundTransformer;
+import org.apache.pinot.core.data.recordtransformer.RecordTransformer;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.segment.creator.RecordReaderSegmentCreationDataSource;
+import org.apache.pinot.core.segment.name.SegmentNameGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Segment creation driver which streams the rows from one or more record readers, and rolls over to a new segment when
+ * the max number of rows ({@link SegmentGeneratorConfig#getMaxNumRowsPerSegment()}) or the max raw size
+ * ({@link SegmentGeneratorConfig#getMaxSegmentSizeInBytes()}) of the current segment is reached.
+ * <p>The transformed rows are buffered in a {@link ColumnarRowSpool}, and each segment is built from its spool with a
+ * {@link SegmentIndexCreationDriverImpl}. The max size applies to the raw size of the transformed rows (the size of the
+ * spooled values), not to the size of the segment on disk: dictionary encoding usually makes the segment smaller, while
+ * the indexes and high cardinality columns can make it larger.
+ * <p>If the config contains a {@link SegmentPartitionConfig}, the rows are partitioned on the partition columns, and
+ * each segment only contains rows of a single partition.
+ * <p>The segment names are generated by the segment name generator in the config, with the index of the segment in
+ * this run appended (e.g. <code>myTable_0</code>, <code>myTable_1</code> for a fixed segment name
+ * <code>myTable</code>).
+ * <p>Usage: call {@link #build(RecordReader)} for each input, then {@link #finish()} to build the remaining segments.
+ */
+public class RollingSegmentCreationDriver implements Closeable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RollingSegmentCreationDriver.class);
+
+  private final SegmentGeneratorConfig _config;
+  private final Schema _schema;
+  private final RecordTransformer _recordTransformer;
+  private final int _maxNumRowsPerSegment;
+  private final long _maxSegmentSizeInBytes;
+  private final String[] _partitionColumns;
+  private final PartitionFunction[] _partitionFunctions;
+  // Key is the partition ids of the rows (empty for non-partitioned segments)
+  private final Map<List<Integer>, ColumnarRowSpool> _rowSpools = new TreeMap<>((o1, o2) -> {
+    for (int i = 0; i < o1.size(); i++) {
+      int result = Integer.compare(o1.get(i), o2.get(i));
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  });
+  private final List<String> _segmentNames = new ArrayList<>();
+
+  public RollingSegmentCreationDriver(SegmentGeneratorConfig config) {
+    _config = config;
+    _schema = config.getSchema();
+    Preconditions.checkState(!config.isEnableStarTreeIndex(), "Star-tree index is not supported");
+    _recordTransformer = CompoundTransformer.getDefaultTransformer(_schema);
+    _maxNumRowsPerSegment = config.getMaxNumRowsPerSegment();
+    _maxSegmentSizeInBytes = config.getMaxSegmentSizeInBytes();
+    Preconditions.checkArgument(_maxNumRowsPerSegment > 0, "Max number of rows per segment must be positive");
+    Preconditions.checkArgument(_maxSegmentSizeInBytes > 0, "Max segment size must be positive");
+
+    SegmentPartitionConfig segmentPartitionConfig = config.getSegmentPartitionConfig();
+    if (segmentPartitionConfig != null) {
+      Map<String, ColumnPartitionConfig> columnPartitionMap = segmentPartitionConfig.getColumnPartitionMap();
+      int numPartitionColumns = columnPartitionMap.size();
+      _partitionColumns = new String[numPartitionColumns];
+      _partitionFunctions = new PartitionFunction[numPartitionColumns];
+      int index = 0;
+      for (Map.Entry<String, ColumnPartitionConfig> entry : columnPartitionMap.entrySet()) {
+        String column = entry.getKey();
+        Preconditions.checkState(_schema.hasColumn(column) && _schema.getFieldSpecFor(column).isSingleValueField(),
+            "Partition column: %s must be a single-value column in the schema", column);
+        ColumnPartitionConfig columnPartitionConfig = entry.getValue();
+        _partitionColumns[index] = column;
+        _partitionFunctions[index] = PartitionFunctionFactory
+            .getPartitionFunction(columnPartitionConfig.getFunctionName(), columnPartitionConfig.getNumPartitions());
+        index++;
+      }
+    } else {
+      _partitionColumns = new String[0];
+      _partitionFunctions = new PartitionFunction[0];
+    }
+  }
+
+  /**
+   * Reads all the rows from the given record reader, and builds the segments that reach the targets. The record reader
+   * is not closed.
+   */
+  public void build(RecordReader recordReader)
+      throws Exception {
+    int numPartitionColumns = _partitionColumns.length;
+    GenericRow reuse = new GenericRow();
+    while (recordReader.hasNext()) {
+      reuse.clear();
+      GenericRow transformedRow = _recordTransformer.transform(recordReader.next(reuse));
+      if (transformedRow == null) {
+        continue;
+      }
+
+      List<Integer> partitionIds = new ArrayList<>(numPartitionColumns);
+      for (int i = 0; i < numPartitionColumns; i++) {
+        partitionIds.add(_partitionFunctions[i].getPartition(transformedRow.getValue(_partitionColumns[i])));
+      }
+      ColumnarRowSpool rowSpool = _rowSpools.get(partitionIds);
+      if (rowSpool == null) {
+        rowSpool = new ColumnarRowSpool(_schema,
+            new File(_config.getOutDir(), org.apache.pinot.common.utils.FileUtils.getRandomFileName()));
+        _rowSpools.put(partitionIds, rowSpool);
+      }
+      rowSpool.add(transformedRow);
+      if (rowSpool.getNumRows() >= _maxNumRowsPerSegment || rowSpool.getSizeInBytes() >= _maxSegmentSizeInBytes) {
+        _rowSpools.remove(partitionIds);
+        buildSegment(rowSpool, partitionIds);
+      }
+    }
+  }
+
+  /**
+   * Builds the segments for all the remaining rows, and returns the names of all the segments built, in the order of
+   * creation.
+   */
+  public List<String> finish()
+      throws Exception {
+    for (Map.Entry<List<Integer>, ColumnarRowSpool> entry : _rowSpools.entrySet()) {
+      buildSegment(entry.getValue(), entry.getKey());
+    }
+    _rowSpools.clear();
+    return _segmentNames;
+  }
+
+  private void buildSegment(ColumnarRowSpool rowSpool, List<Integer> partitionIds)
+      throws Exception {
+    try {
+      int segmentIndex = _segmentNames.size();
+      SegmentNameGenerator segmentNameGenerator = _config.getSegmentNameGenerator();
+      SegmentGeneratorConfig segmentConfig = new SegmentGeneratorConfig(_config);
+      segmentConfig.setSegmentNameGenerator(
+          (sequenceId, minTimeValue, maxTimeValue) -> segmentNameGenerator
+              .generateSegmentName(sequenceId, minTimeValue, maxTimeValue) + "_" + segmentIndex);
+
+      LOGGER.info("Start building segment: {} with {} rows of partition: {}", segmentIndex, rowSpool.getNumRows(),
+          partitionIds);
+      SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+      // The spooled rows are already transformed
+      driver.init(segmentConfig, new RecordReaderSegmentCreationDataSource(
+          new RowSpoolRecordReader(Collections.singletonList(rowSpool), _schema)),
+          CompoundTransformer.getPassThroughTransformer());
+      driver.build();
+      _segmentNames.add(driver.getSegmentName());
+      LOGGER.info("Finished building segment: {}", driver.getSegmentName());
+    } finally {
+      rowSpool.close();
+    }
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    for (ColumnarRowSpool rowSpool : _rowSpools.values()) {
+      rowSpool.close();
+    }
+    _rowSpools.clear();
+  }
+}
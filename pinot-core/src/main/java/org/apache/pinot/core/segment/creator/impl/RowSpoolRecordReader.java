@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.creator.impl;
+
+import java.util.List;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+
+
+/**
+ * Record reader over the rows of one or more {@link ColumnarRowSpool}s, which returns the rows of the spools in order.
+ * <p>The row spools are not closed by this record reader.
+ */
+public class RowSpoolRecordReader implements RecordReader {
+  private final List<ColumnarRowSpool> _rowSpools;
+  private final Schema _schema;
+
+  private int _spoolIndex;
+  private int _nextRowId;
+
+  public RowSpoolRecordReader(List<ColumnarRowSpool> rowSpools, Schema schema) {
+    _rowSpools = rowSpools;
+    _schema = schema;
+  }
+
+  @Override
+  public void init(SegmentGeneratorConfig segmentGeneratorConfig) {
+  }
+
+  @Override
+  public boolean hasNext() {
+    int numSpools = _rowSpools.size();
+    while (_spoolIndex < numSpools) {
+      if (_nextRowId < _rowSpools.get(_spoolIndex).getNumRows()) {
+        return true;
+      }
+      _spoolIndex++;
+      _nextRowId = 0;
+    }
+    return false;
+  }
+
+  @Override
+  public GenericRow next() {
+    return next(new GenericRow());
+  }
+
+  @Override
+  public GenericRow next(GenericRow reuse) {
+    return _rowSpools.get(_spoolIndex).getRow(_nextRowId++, reuse);
+  }
+
+  @Override
+  public void rewind() {
+    _spoolIndex = 0;
+    _nextRowId = 0;
+  }
+
+  @Override
+  public Schema getSchema() {
+    return _schema;
+  }
+
+  @Override
+  public void close() {
+  }
+}
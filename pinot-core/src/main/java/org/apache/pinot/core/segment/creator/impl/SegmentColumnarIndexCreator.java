@@ -21,14 +21,20 @@ package org.apache.pinot.core.segment.creator.impl;
 import com.google.common.base.Preconditions;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.pinot.common.Utils;
 import org.apache.pinot.common.data.DateTimeFieldSpec;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.data.FieldSpec.FieldType;
@@ -128,8 +134,11 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
         // Create dictionary-encoded index
 
         // Initialize dictionary creator
+        boolean useVarLengthDictionary = fieldSpec.getDataType() == FieldSpec.DataType.STRING && config
+            .getVarLengthDictionaryColumns().contains(columnName);
         SegmentDictionaryCreator dictionaryCreator =
-            new SegmentDictionaryCreator(indexCreationInfo.getSortedUniqueElementsArray(), fieldSpec, _indexDir);
+            new SegmentDictionaryCreator(indexCreationInfo.getSortedUniqueElementsArray(), fieldSpec, _indexDir,
+                useVarLengthDictionary);
         _dictionaryCreatorMap.put(columnName, dictionaryCreator);
 
         // Create dictionary
@@ -154,7 +163,8 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
         } else {
           _forwardIndexCreatorMap.put(columnName,
               new MultiValueUnsortedForwardIndexCreator(_indexDir, columnName, cardinality, totalDocs,
-                  indexCreationInfo.getTotalNumberOfEntries()));
+                  indexCreationInfo.getTotalNumberOfEntries(),
+                  segmentCreationSpec.isPrefixSumMultiValueForwardIndex()));
         }
 
         // Initialize inverted index creator
@@ -251,32 +261,77 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
   @Override
   public void indexRow(GenericRow row) {
     for (String columnName : _forwardIndexCreatorMap.keySet()) {
-      Object columnValueToIndex = row.getValue(columnName);
-      if (columnValueToIndex == null) {
-        throw new RuntimeException("Null value for column:" + columnName);
+      indexValue(columnName, docIdCounter, row.getValue(columnName));
+    }
+    docIdCounter++;
+  }
+
+  /**
+   * Indexes all the rows in the given row spool, with one task per column submitted to the given executor service.
+   * <p>Each column is still indexed in docId order by a single thread, so the index files are identical to the ones
+   * created by calling {@link #indexRow(GenericRow)} for each row.
+   */
+  public void indexColumns(ColumnarRowSpool rowSpool, ExecutorService executorService)
+      throws Exception {
+    Preconditions.checkState(docIdCounter == 0, "Cannot index columns after indexing rows");
+    int numRows = rowSpool.getNumRows();
+    FieldSpec[] fieldSpecs = rowSpool.getFieldSpecs();
+    int numColumns = fieldSpecs.length;
+    List<Future<Void>> futures = new ArrayList<>(numColumns);
+    for (int i = 0; i < numColumns; i++) {
+      String columnName = fieldSpecs[i].getName();
+      if (!_forwardIndexCreatorMap.containsKey(columnName)) {
+        continue;
       }
+      int columnIndex = i;
+      futures.add(executorService.submit(() -> {
+        for (int docId = 0; docId < numRows; docId++) {
+          indexValue(columnName, docId, rowSpool.getValue(columnIndex, docId));
+        }
+        return null;
+      }));
+    }
 
-      SegmentDictionaryCreator dictionaryCreator = _dictionaryCreatorMap.get(columnName);
-      if (schema.getFieldSpecFor(columnName).isSingleValueField()) {
-        if (dictionaryCreator != null) {
-          int dictId = dictionaryCreator.indexOfSV(columnValueToIndex);
-          ((SingleValueForwardIndexCreator) _forwardIndexCreatorMap.get(columnName)).index(docIdCounter, dictId);
-          if (_invertedIndexCreatorMap.containsKey(columnName)) {
-            _invertedIndexCreatorMap.get(columnName).add(dictId);
-          }
-        } else {
-          ((SingleValueRawIndexCreator) _forwardIndexCreatorMap.get(columnName))
-              .index(docIdCounter, columnValueToIndex);
+    // Wait for all the tasks to finish before throwing, so that no task is still writing when the creators get closed
+    ExecutionException exception = null;
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (exception == null) {
+          exception = e;
         }
-      } else {
-        int[] dictIds = dictionaryCreator.indexOfMV(columnValueToIndex);
-        ((MultiValueForwardIndexCreator) _forwardIndexCreatorMap.get(columnName)).index(docIdCounter, dictIds);
+      }
+    }
+    if (exception != null) {
+      Utils.rethrowException(exception.getCause());
+    }
+    docIdCounter = numRows;
+  }
+
+  private void indexValue(String columnName, int docId, Object columnValueToIndex) {
+    if (columnValueToIndex == null) {
+      throw new RuntimeException("Null value for column:" + columnName);
+    }
+
+    SegmentDictionaryCreator dictionaryCreator = _dictionaryCreatorMap.get(columnName);
+    if (schema.getFieldSpecFor(columnName).isSingleValueField()) {
+      if (dictionaryCreator != null) {
+        int dictId = dictionaryCreator.indexOfSV(columnValueToIndex);
+        ((SingleValueForwardIndexCreator) _forwardIndexCreatorMap.get(columnName)).index(docId, dictId);
         if (_invertedIndexCreatorMap.containsKey(columnName)) {
-          _invertedIndexCreatorMap.get(columnName).add(dictIds, dictIds.length);
+          _invertedIndexCreatorMap.get(columnName).add(dictId);
         }
+      } else {
+        ((SingleValueRawIndexCreator) _forwardIndexCreatorMap.get(columnName)).index(docId, columnValueToIndex);
+      }
+    } else {
+      int[] dictIds = dictionaryCreator.indexOfMV(columnValueToIndex);
+      ((MultiValueForwardIndexCreator) _forwardIndexCreatorMap.get(columnName)).index(docId, dictIds);
+      if (_invertedIndexCreatorMap.containsKey(columnName)) {
+        _invertedIndexCreatorMap.get(columnName).add(dictIds, dictIds.length);
       }
     }
-    docIdCounter++;
   }
 
   @Override
@@ -385,6 +440,9 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
       addColumnMetadataInfo(properties, column, columnIndexCreationInfo, totalDocs, totalRawDocs, totalAggDocs,
           schema.getFieldSpecFor(column), _dictionaryCreatorMap.containsKey(column), dictionaryElementSize,
           hasInvertedIndex, hllOriginColumn);
+      if (dictionaryCreator != null && dictionaryCreator.isVarLengthDictionary()) {
+        properties.setProperty(getKeyFor(column, HAS_VAR_LENGTH_DICTIONARY), String.valueOf(true));
+      }
     }
 
     properties.save();
@@ -469,6 +527,7 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
     properties.clearProperty(getKeyFor(column, IS_SORTED));
     properties.clearProperty(getKeyFor(column, HAS_NULL_VALUE));
     properties.clearProperty(getKeyFor(column, HAS_DICTIONARY));
+    properties.clearProperty(getKeyFor(column, HAS_VAR_LENGTH_DICTIONARY));
     properties.clearProperty(getKeyFor(column, HAS_INVERTED_INDEX));
     properties.clearProperty(getKeyFor(column, IS_SINGLE_VALUED));
     properties.clearProperty(getKeyFor(column, MAX_MULTI_VALUE_ELEMTS));
@@ -34,6 +34,7 @@ import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.utils.StringUtil;
 import org.apache.pinot.common.utils.primitive.ByteArray;
 import org.apache.pinot.core.io.util.FixedByteValueReaderWriter;
+import org.apache.pinot.core.segment.index.readers.VarLengthStringDictionary;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +46,7 @@ public class SegmentDictionaryCreator implements Closeable {
   private final Object _sortedValues;
   private final FieldSpec _fieldSpec;
   private final File _dictionaryFile;
+  private final boolean _useVarLengthDictionary;
 
   private Int2IntOpenHashMap _intValueToIndexMap;
   private Long2IntOpenHashMap _longValueToIndexMap;
@@ -53,12 +55,23 @@ public class SegmentDictionaryCreator implements Closeable {
   private Object2IntOpenHashMap<String> _stringValueToIndexMap;
   private Object2IntOpenHashMap<ByteArray> _bytesValueToIndexMap;
   private int _numBytesPerEntry = 0;
+  private boolean _varLengthDictionary = false;
 
   public SegmentDictionaryCreator(Object sortedValues, FieldSpec fieldSpec, File indexDir)
       throws IOException {
+    this(sortedValues, fieldSpec, indexDir, false);
+  }
+
+  /**
+   * @param useVarLengthDictionary Whether to store the dictionary in the variable-length format (STRING column only)
+   */
+  public SegmentDictionaryCreator(Object sortedValues, FieldSpec fieldSpec, File indexDir,
+      boolean useVarLengthDictionary)
+      throws IOException {
     _sortedValues = sortedValues;
     _fieldSpec = fieldSpec;
     _dictionaryFile = new File(indexDir, fieldSpec.getName() + V1Constants.Dict.FILE_EXTENSION);
+    _useVarLengthDictionary = useVarLengthDictionary;
     FileUtils.touch(_dictionaryFile);
   }
 
@@ -163,6 +176,22 @@ public class SegmentDictionaryCreator implements Closeable {
           _numBytesPerEntry = Math.max(_numBytesPerEntry, valueBytes.length);
         }
 
+        if (_useVarLengthDictionary) {
+          // The var-length dictionary compares values in UTF-8 byte order, which can differ from the string order when
+          // both supplementary characters and characters above U+E000 are present
+          if (isSortedInByteOrder(sortedStringBytes)) {
+            writeVarLengthStringDictionary(sortedStringBytes);
+            _varLengthDictionary = true;
+            LOGGER.info(
+                "Created var-length dictionary for STRING column: {} with cardinality: {}, max length in bytes: {}, "
+                    + "size in bytes: {}, range: {} to {}", _fieldSpec.getName(), numValues, _numBytesPerEntry,
+                _dictionaryFile.length(), sortedStrings[0], sortedStrings[numValues - 1]);
+            return;
+          }
+          LOGGER.warn("Values are not sorted in UTF-8 byte order, use fixed-length dictionary for column: {}",
+              _fieldSpec.getName());
+        }
+
         // Backward-compatible: index file is always big-endian
         try (PinotDataBuffer dataBuffer = PinotDataBuffer
             .mapFile(_dictionaryFile, false, 0, (long) numValues * _numBytesPerEntry, ByteOrder.BIG_ENDIAN,
@@ -215,6 +244,88 @@ public class SegmentDictionaryCreator implements Closeable {
     return _numBytesPerEntry;
   }
 
+  /**
+   * Returns whether the dictionary is stored in the variable-length format.
+   */
+  public boolean isVarLengthDictionary() {
+    return _varLengthDictionary;
+  }
+
+  private static boolean isSortedInByteOrder(byte[][] sortedValueBytes) {
+    for (int i = 1; i < sortedValueBytes.length; i++) {
+      if (ByteArray.compare(sortedValueBytes[i - 1], sortedValueBytes[i]) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes the values in the format of {@link VarLengthStringDictionary}, front-coded in blocks of
+   * {@link VarLengthStringDictionary#DEFAULT_NUM_VALUES_PER_BLOCK} values.
+   */
+  private void writeVarLengthStringDictionary(byte[][] sortedValueBytes)
+      throws IOException {
+    int numValues = sortedValueBytes.length;
+    int numValuesPerBlock = VarLengthStringDictionary.DEFAULT_NUM_VALUES_PER_BLOCK;
+    int numBlocks = (numValues + numValuesPerBlock - 1) / numValuesPerBlock;
+
+    // Compute the shared prefix length with the previous value, and the total size
+    int[] prefixLengths = new int[numValues];
+    long size = (long) (VarLengthStringDictionary.NUM_HEADER_INTS + numBlocks + 1) * Integer.BYTES;
+    for (int i = 0; i < numValues; i++) {
+      byte[] value = sortedValueBytes[i];
+      if (i % numValuesPerBlock == 0) {
+        size += VarLengthStringDictionary.getVarIntSize(value.length) + value.length;
+      } else {
+        int prefixLength = getSharedPrefixLength(sortedValueBytes[i - 1], value);
+        int suffixLength = value.length - prefixLength;
+        prefixLengths[i] = prefixLength;
+        size += VarLengthStringDictionary.getVarIntSize(prefixLength) + VarLengthStringDictionary
+            .getVarIntSize(suffixLength) + suffixLength;
+      }
+    }
+    Preconditions.checkState(size <= Integer.MAX_VALUE, "Var-length dictionary size: %s exceeds 2GB for column: %s",
+        size, _fieldSpec.getName());
+
+    // Backward-compatible: index file is always big-endian
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer
+        .mapFile(_dictionaryFile, false, 0, size, ByteOrder.BIG_ENDIAN, getClass().getSimpleName())) {
+      dataBuffer.putInt(0, VarLengthStringDictionary.VERSION);
+      dataBuffer.putInt(Integer.BYTES, numValues);
+      dataBuffer.putInt(2 * Integer.BYTES, numValuesPerBlock);
+      dataBuffer.putInt(3 * Integer.BYTES, _numBytesPerEntry);
+      long blockOffsetsOffset = VarLengthStringDictionary.NUM_HEADER_INTS * Integer.BYTES;
+      long offset = blockOffsetsOffset + (long) (numBlocks + 1) * Integer.BYTES;
+      for (int i = 0; i < numValues; i++) {
+        byte[] value = sortedValueBytes[i];
+        if (i % numValuesPerBlock == 0) {
+          dataBuffer.putInt(blockOffsetsOffset + (i / numValuesPerBlock) * Integer.BYTES, (int) offset);
+          offset += VarLengthStringDictionary.writeVarInt(dataBuffer, offset, value.length);
+          dataBuffer.readFrom(offset, value);
+          offset += value.length;
+        } else {
+          int prefixLength = prefixLengths[i];
+          int suffixLength = value.length - prefixLength;
+          offset += VarLengthStringDictionary.writeVarInt(dataBuffer, offset, prefixLength);
+          offset += VarLengthStringDictionary.writeVarInt(dataBuffer, offset, suffixLength);
+          dataBuffer.readFrom(offset, value, prefixLength, suffixLength);
+          offset += suffixLength;
+        }
+      }
+      dataBuffer.putInt(blockOffsetsOffset + numBlocks * Integer.BYTES, (int) offset);
+    }
+  }
+
+  private static int getSharedPrefixLength(byte[] value1, byte[] value2) {
+    int minLength = Math.min(value1.length, value2.length);
+    int prefixLength = 0;
+    while (prefixLength < minLength && value1[prefixLength] == value2[prefixLength]) {
+      prefixLength++;
+    }
+    return prefixLength;
+  }
+
   public int indexOfSV(Object value) {
     switch (_fieldSpec.getDataType()) {
       case INT:
@@ -29,14 +29,20 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.Utils;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.data.MetricFieldSpec;
 import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.common.data.StarTreeIndexSpec;
 import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.MultiplePinotSegmentRecordReader;
+import org.apache.pinot.core.data.readers.PinotSegmentRecordReader;
 import org.apache.pinot.core.data.readers.RecordReader;
 import org.apache.pinot.core.data.readers.RecordReaderFactory;
+import org.apache.pinot.core.data.readers.sort.ExternalSortRecordReader;
 import org.apache.pinot.core.data.recordtransformer.CompoundTransformer;
 import org.apache.pinot.core.data.recordtransformer.RecordTransformer;
 import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
@@ -47,7 +53,6 @@ import org.apache.pinot.core.segment.creator.ForwardIndexType;
 import org.apache.pinot.core.segment.creator.InvertedIndexType;
 import org.apache.pinot.core.segment.creator.RecordReaderSegmentCreationDataSource;
 import org.apache.pinot.core.segment.creator.SegmentCreationDataSource;
-import org.apache.pinot.core.segment.creator.SegmentCreator;
 import org.apache.pinot.core.segment.creator.SegmentIndexCreationDriver;
 import org.apache.pinot.core.segment.creator.SegmentIndexCreationInfo;
 import org.apache.pinot.core.segment.creator.SegmentPreIndexStatsContainer;
@@ -80,7 +85,7 @@ public class SegmentIndexCreationDriverImpl implements SegmentIndexCreationDrive
   private RecordReader recordReader;
   private SegmentPreIndexStatsContainer segmentStats;
   private Map<String, ColumnIndexCreationInfo> indexCreationInfoMap;
-  private SegmentCreator indexCreator;
+  private SegmentColumnarIndexCreator indexCreator;
   private SegmentIndexCreationInfo segmentIndexCreationInfo;
   private Schema dataSchema;
   private RecordTransformer _recordTransformer;
@@ -93,6 +98,8 @@ public class SegmentIndexCreationDriverImpl implements SegmentIndexCreationDrive
   private long totalIndexTime = 0;
   private long totalStatsCollectorTime = 0;
   private boolean createStarTree = false;
+  // Single-pass creation reads the input only once, and indexes the rows spooled while collecting stats
+  private boolean singlePass = false;
   // flag indicates if the this segment generator code
   // will create the HLL index for the given columns.
   // This will be false if HLL column is provided to us
@@ -118,6 +125,7 @@ public class SegmentIndexCreationDriverImpl implements SegmentIndexCreationDrive
       RecordTransformer recordTransformer) {
     this.config = config;
     this.createStarTree = config.isEnableStarTreeIndex();
+    this.singlePass = (config.isSinglePassCreation() || config.getNumIndexCreationThreads() > 1) && !createStarTree;
     recordReader = dataSource.getRecordReader();
     Preconditions.checkState(recordReader.hasNext(), "No record in data source");
     dataSchema = recordReader.getSchema();
@@ -140,8 +148,27 @@ public class SegmentIndexCreationDriverImpl implements SegmentIndexCreationDrive
 
     _recordTransformer = recordTransformer;
 
+    // Sort the rows on the column sort order with an external merge sort, so that the first sort column gets a sorted
+    // index (rows from Pinot segments are already sorted by the record reader, and star-tree re-orders the rows)
+    List<String> sortOrder = config.getColumnSortOrder();
+    if (!sortOrder.isEmpty() && !createStarTree && !(recordReader instanceof PinotSegmentRecordReader)
+        && !(recordReader instanceof MultiplePinotSegmentRecordReader)) {
+      File sortDir = new File(config.getOutDir(), org.apache.pinot.common.utils.FileUtils.getRandomFileName());
+      try {
+        recordReader = new ExternalSortRecordReader(recordReader, recordTransformer, sortOrder, sortDir,
+            config.getMaxSortMemoryInBytes());
+      } catch (IOException e) {
+        LOGGER.error("Caught exception while sorting the rows on columns: {}", sortOrder, e);
+        Utils.rethrowException(e);
+      }
+      // The sorted rows are already transformed
+      _recordTransformer = CompoundTransformer.getPassThroughTransformer();
+      dataSource = new RecordReaderSegmentCreationDataSource(recordReader);
+    }
+
     // Initialize stats collection
-    if (!createStarTree) { // For star tree, the stats are gathered in buildStarTree()
+    // For star tree and single-pass creation, the stats are gathered in buildStarTree() and buildSinglePass()
+    if (!createStarTree && !singlePass) {
       segmentStats = dataSource.gatherStats(new StatsCollectorConfig(dataSchema, config.getSegmentPartitionConfig()));
       totalDocs = segmentStats.getTotalDocCount();
       totalRawDocs = segmentStats.getRawDocCount();
@@ -205,6 +232,8 @@ public class SegmentIndexCreationDriverImpl implements SegmentIndexCreationDrive
     if (createStarTree) {
       // TODO: add on-heap star-tree builder
       buildStarTree();
+    } else if (singlePass) {
+      buildSinglePass();
     } else {
       buildRaw();
     }
@@ -356,6 +385,78 @@ public class SegmentIndexCreationDriverImpl implements SegmentIndexCreationDrive
     handlePostCreation();
   }
 
+  /**
+   * Builds the segment with a single pass over the input: the transformed rows are spooled into an off-heap columnar
+   * buffer while collecting the stats, then the indexes are built from the buffer instead of rewinding the record
+   * reader and transforming the rows again.
+   */
+  private void buildSinglePass()
+      throws Exception {
+    SegmentPreIndexStatsCollectorImpl statsCollector =
+        new SegmentPreIndexStatsCollectorImpl(new StatsCollectorConfig(dataSchema, config.getSegmentPartitionConfig()));
+    statsCollector.init();
+    segmentStats = statsCollector;
+
+    File spoolDir = new File(config.getOutDir(), org.apache.pinot.common.utils.FileUtils.getRandomFileName());
+    try (ColumnarRowSpool rowSpool = new ColumnarRowSpool(dataSchema, spoolDir)) {
+      long start = System.currentTimeMillis();
+      LOGGER.info("Start spooling rows and building StatsCollector!");
+      try {
+        GenericRow readRow = null;
+        while (recordReader.hasNext()) {
+          readRow = GenericRow.createOrReuseRow(readRow);
+          GenericRow transformedRow = _recordTransformer.transform(recordReader.next(readRow));
+          if (transformedRow != null) {
+            statsCollector.collectRow(transformedRow);
+            rowSpool.add(transformedRow);
+          }
+        }
+      } finally {
+        recordReader.close();
+      }
+      statsCollector.build();
+      totalDocs = statsCollector.getTotalDocCount();
+      totalRawDocs = statsCollector.getRawDocCount();
+      totalAggDocs = statsCollector.getAggregatedDocCount();
+      buildIndexCreationInfo();
+      long statsCollectorFinishTime = System.currentTimeMillis();
+      // Stats collector time includes reading, transforming and spooling the rows
+      totalStatsCollectorTime = statsCollectorFinishTime - start;
+      LOGGER.info("Collected stats for {} documents", totalDocs);
+
+      try {
+        // Initialize the index creation using the per-column statistics information
+        indexCreator.init(config, segmentIndexCreationInfo, indexCreationInfoMap, dataSchema, tempIndexDir);
+
+        // Build the index from the spooled rows
+        LOGGER.info("Start building IndexCreator!");
+        int numThreads = config.getNumIndexCreationThreads();
+        if (numThreads > 1) {
+          // Index the columns in parallel
+          ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+          try {
+            indexCreator.indexColumns(rowSpool, executorService);
+          } finally {
+            executorService.shutdown();
+          }
+        } else {
+          GenericRow row = new GenericRow();
+          int numRows = rowSpool.getNumRows();
+          for (int i = 0; i < numRows; i++) {
+            indexCreator.indexRow(rowSpool.getRow(i, row));
+          }
+        }
+      } catch (Exception e) {
+        indexCreator.close();
+        throw e;
+      }
+      totalIndexTime = System.currentTimeMillis() - statsCollectorFinishTime;
+    }
+    LOGGER.info("Finished records indexing in IndexCreator!");
+
+    handlePostCreation();
+  }
+
   private void handlePostCreation()
       throws Exception {
     ColumnStatistics timeColumnStatistics = segmentStats.getColumnProfileFor(config.getTimeColumnName());
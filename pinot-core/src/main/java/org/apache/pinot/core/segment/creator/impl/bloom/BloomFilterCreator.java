@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import org.apache.pinot.core.bloom.BloomFilter;
+import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.bloom.BloomFilterUtil;
 import org.apache.pinot.core.bloom.SegmentBloomFilterFactory;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
@@ -37,19 +38,29 @@ import org.apache.pinot.core.segment.creator.impl.V1Constants;
  * 2. When capping the bloom filter to 1MB, max false pos steeply grows from 1 million cardinality. If the column has
  *    larger than "5 million" cardinality, it is not recommended to use bloom filter since maxFalsePosProb is already
  *    0.45 when the filter size is 1MB.
+ * 3. The size cap does not apply to the {@link BloomFilterType#SPLIT_BLOCK} bloom filter, which is read directly from
+ *    the memory mapped index file instead of being loaded onto the heap.
  */
 public class BloomFilterCreator implements AutoCloseable {
-  private static double DEFAULT_MAX_FALSE_POS_PROBABILITY = 0.05;
+  public static final double DEFAULT_MAX_FALSE_POS_PROBABILITY = 0.05;
   private static int MB_IN_BITS = 8388608;
 
   private BloomFilter _bloomFilter;
   private File _bloomFilterFile;
 
   public BloomFilterCreator(File indexDir, String columnName, int cardinality) {
+    this(indexDir, columnName, cardinality, BloomFilterType.GUAVA_ON_HEAP, DEFAULT_MAX_FALSE_POS_PROBABILITY);
+  }
+
+  public BloomFilterCreator(File indexDir, String columnName, int cardinality, BloomFilterType bloomFilterType,
+      double maxFalsePosProbability) {
     _bloomFilterFile = new File(indexDir, columnName + V1Constants.Indexes.BLOOM_FILTER_FILE_EXTENSION);
-    double maxFalsePosProbability = BloomFilterUtil
-        .computeMaxFalsePositiveProbabilityForNumBits(cardinality, MB_IN_BITS, DEFAULT_MAX_FALSE_POS_PROBABILITY);
-    _bloomFilter = SegmentBloomFilterFactory.createSegmentBloomFilter(cardinality, maxFalsePosProbability);
+    if (bloomFilterType == BloomFilterType.GUAVA_ON_HEAP) {
+      maxFalsePosProbability = BloomFilterUtil
+          .computeMaxFalsePositiveProbabilityForNumBits(cardinality, MB_IN_BITS, maxFalsePosProbability);
+    }
+    _bloomFilter =
+        SegmentBloomFilterFactory.createSegmentBloomFilter(bloomFilterType, cardinality, maxFalsePosProbability);
   }
 
   @Override
@@ -23,6 +23,7 @@ import java.io.IOException;
 import org.apache.pinot.core.io.util.PinotDataBitSet;
 import org.apache.pinot.core.io.writer.SingleColumnMultiValueWriter;
 import org.apache.pinot.core.io.writer.impl.v1.FixedBitMultiValueWriter;
+import org.apache.pinot.core.io.writer.impl.v1.FixedBitPrefixSumMultiValueWriter;
 import org.apache.pinot.core.segment.creator.MultiValueForwardIndexCreator;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
 
@@ -33,9 +34,24 @@ public class MultiValueUnsortedForwardIndexCreator implements MultiValueForwardI
   public MultiValueUnsortedForwardIndexCreator(File outputDir, String column, int cardinality, int numDocs,
       int totalNumValues)
       throws Exception {
+    this(outputDir, column, cardinality, numDocs, totalNumValues, false);
+  }
+
+  /**
+   * @param prefixSum Whether to write the prefix sum layout (read by
+   *                  {@link org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader}) instead of the
+   *                  chunk offset and bitmap layout
+   */
+  public MultiValueUnsortedForwardIndexCreator(File outputDir, String column, int cardinality, int numDocs,
+      int totalNumValues, boolean prefixSum)
+      throws Exception {
     File indexFile = new File(outputDir, column + V1Constants.Indexes.UNSORTED_MV_FORWARD_INDEX_FILE_EXTENSION);
-    _writer = new FixedBitMultiValueWriter(indexFile, numDocs, totalNumValues,
-        PinotDataBitSet.getNumBitsPerValue(cardinality - 1));
+    int numBitsPerValue = PinotDataBitSet.getNumBitsPerValue(cardinality - 1);
+    if (prefixSum) {
+      _writer = new FixedBitPrefixSumMultiValueWriter(indexFile, numDocs, totalNumValues, numBitsPerValue);
+    } else {
+      _writer = new FixedBitMultiValueWriter(indexFile, numDocs, totalNumValues, numBitsPerValue);
+    }
   }
 
   @Override
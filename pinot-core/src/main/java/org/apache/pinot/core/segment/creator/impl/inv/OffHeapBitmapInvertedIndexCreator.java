@@ -22,14 +22,26 @@ import com.google.common.base.Preconditions;
 import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.Utils;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.core.segment.creator.InvertedIndexCreator;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 /**
@@ -47,11 +59,17 @@ import org.roaringbitmap.buffer.MutableRoaringBitmap;
  *     value buffer (for multi-valued column we also need forward index length buffer to get the docId for each dictId).
  *     <p>Once we have the inverted index buffers, we simply go over them and create the bitmap for each dictId and
  *     serialize them into a file.
+ *     <p>With multiple threads, the dictIds are split into contiguous ranges with about the same number of values, and
+ *     the bitmaps for each range are created and serialized into a temporary file in parallel on the executor service
+ *     provided by the caller. The temporary files are then appended in order after the offsets, so the inverted index
+ *     file is the same as the one created with a single thread.
  *   </li>
  * </ul>
  * <p>Based on the number of values we need to store, we use direct memory or MMap file to allocate the buffer.
  */
 public final class OffHeapBitmapInvertedIndexCreator implements InvertedIndexCreator {
+  private static final Logger LOGGER = LoggerFactory.getLogger(OffHeapBitmapInvertedIndexCreator.class);
+
   // Use MMapBuffer if the buffer size is larger than 100MB
   private static final int NUM_VALUES_THRESHOLD_FOR_MMAP_BUFFER = 25_000_000;
 
@@ -59,6 +77,7 @@ public final class OffHeapBitmapInvertedIndexCreator implements InvertedIndexCre
   private static final String FORWARD_INDEX_LENGTH_BUFFER_SUFFIX = ".fwd.idx.len.buf";
   private static final String INVERTED_INDEX_VALUE_BUFFER_SUFFIX = ".inv.idx.val.buf";
   private static final String INVERTED_INDEX_LENGTH_BUFFER_SUFFIX = ".inv.idx.len.buf";
+  private static final String BITMAP_BUFFER_SUFFIX = ".bitmap.buf.";
 
   private final File _invertedIndexFile;
   private final File _forwardIndexValueBufferFile;
@@ -70,6 +89,8 @@ public final class OffHeapBitmapInvertedIndexCreator implements InvertedIndexCre
   private final int _numDocs;
   private final int _numValues;
   private final boolean _useMMapBuffer;
+  private final int _numThreads;
+  private final ExecutorService _executorService;
 
   // Forward index buffers (from docId to dictId)
   private int _nextDocId;
@@ -85,6 +106,16 @@ public final class OffHeapBitmapInvertedIndexCreator implements InvertedIndexCre
   public OffHeapBitmapInvertedIndexCreator(File indexDir, FieldSpec fieldSpec, int cardinality, int numDocs,
       int numValues)
       throws IOException {
+    this(indexDir, fieldSpec, cardinality, numDocs, numValues, null, 1);
+  }
+
+  /**
+   * Constructor for the inverted index creator which creates the bitmaps with the given number of threads from the
+   * given executor service when sealed. The executor service is shared across columns and shut down by the caller.
+   */
+  public OffHeapBitmapInvertedIndexCreator(File indexDir, FieldSpec fieldSpec, int cardinality, int numDocs,
+      int numValues, @Nullable ExecutorService executorService, int numThreads)
+      throws IOException {
     String columnName = fieldSpec.getName();
     _invertedIndexFile = new File(indexDir, columnName + V1Constants.Indexes.BITMAP_INVERTED_INDEX_FILE_EXTENSION);
     _forwardIndexValueBufferFile = new File(indexDir, columnName + FORWARD_INDEX_VALUE_BUFFER_SUFFIX);
@@ -96,6 +127,8 @@ public final class OffHeapBitmapInvertedIndexCreator implements InvertedIndexCre
     _numDocs = numDocs;
     _numValues = _singleValue ? numDocs : numValues;
     _useMMapBuffer = _numValues > NUM_VALUES_THRESHOLD_FOR_MMAP_BUFFER;
+    _numThreads = executorService != null ? Math.max(Math.min(numThreads, cardinality), 1) : 1;
+    _executorService = executorService;
 
     try {
       _forwardIndexValueBuffer = createTempBuffer((long) _numValues * Integer.BYTES, _forwardIndexValueBufferFile);
@@ -179,6 +212,11 @@ public final class OffHeapBitmapInvertedIndexCreator implements InvertedIndexCre
       _forwardIndexLengthBuffer = null;
     }
 
+    if (_numThreads > 1) {
+      createBitmapsInParallel();
+      return;
+    }
+
     // Create bitmaps from inverted index buffers and serialize them to file
     try (DataOutputStream offsetDataStream = new DataOutputStream(
         new BufferedOutputStream(new FileOutputStream(_invertedIndexFile)));
@@ -210,6 +248,145 @@ public final class OffHeapBitmapInvertedIndexCreator implements InvertedIndexCre
     }
   }
 
+  /**
+   * Creates the bitmaps from the inverted index buffers with multiple threads, and serializes them to file.
+   * <p>The serialized size of each bitmap is stored into the inverted index length buffer (after reading the end index
+   * for the dictId), then used to write the offsets before appending the serialized bitmaps.
+   */
+  private void createBitmapsInParallel()
+      throws IOException {
+    long startTime = System.currentTimeMillis();
+
+    // Split the dictIds into ranges with about the same number of values, where the inverted index length buffer now
+    // contains the end index for each dictId
+    int numPartitions = _numThreads;
+    int[] partitionStartDictIds = new int[numPartitions + 1];
+    int partitionId = 1;
+    for (int dictId = 0; dictId < _cardinality && partitionId < numPartitions; dictId++) {
+      long endIndex = getInt(_invertedIndexLengthBuffer, dictId);
+      while (partitionId < numPartitions && endIndex * numPartitions >= (long) _numValues * partitionId) {
+        partitionStartDictIds[partitionId++] = dictId + 1;
+      }
+    }
+    while (partitionId <= numPartitions) {
+      partitionStartDictIds[partitionId++] = _cardinality;
+    }
+    int[] partitionStartIndexes = new int[numPartitions];
+    for (int i = 1; i < numPartitions; i++) {
+      int startDictId = partitionStartDictIds[i];
+      partitionStartIndexes[i] = startDictId > 0 ? getInt(_invertedIndexLengthBuffer, startDictId - 1) : 0;
+    }
+
+    File[] bitmapBufferFiles = new File[numPartitions];
+    for (int i = 0; i < numPartitions; i++) {
+      bitmapBufferFiles[i] = new File(_invertedIndexFile.getPath() + BITMAP_BUFFER_SUFFIX + i);
+    }
+    List<Future<Void>> futures = new ArrayList<>(numPartitions);
+    try {
+      AtomicInteger numFinishedPartitions = new AtomicInteger();
+      for (int i = 0; i < numPartitions; i++) {
+        int startDictId = partitionStartDictIds[i];
+        int endDictId = partitionStartDictIds[i + 1];
+        int startIndex = partitionStartIndexes[i];
+        File bitmapBufferFile = bitmapBufferFiles[i];
+        futures.add(_executorService.submit(() -> {
+          createBitmaps(startDictId, endDictId, startIndex, bitmapBufferFile);
+          LOGGER.info("Created bitmaps for {} dictIds of inverted index: {} ({}/{} partitions finished)",
+              endDictId - startDictId, _invertedIndexFile.getName(), numFinishedPartitions.incrementAndGet(),
+              numPartitions);
+          return null;
+        }));
+      }
+
+      // Wait for all the partitions to finish before cleaning up the buffer files
+      ExecutionException exception = null;
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while creating inverted index: " + _invertedIndexFile, e);
+        } catch (ExecutionException e) {
+          if (exception == null) {
+            exception = e;
+          }
+        }
+      }
+      if (exception != null) {
+        Utils.rethrowException(exception.getCause());
+      }
+
+      // Write the offsets, then append the serialized bitmaps
+      try (DataOutputStream offsetDataStream = new DataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(_invertedIndexFile)))) {
+        int bitmapOffset = (_cardinality + 1) * Integer.BYTES;
+        offsetDataStream.writeInt(bitmapOffset);
+        for (int dictId = 0; dictId < _cardinality; dictId++) {
+          bitmapOffset += getInt(_invertedIndexLengthBuffer, dictId);
+          // Check for int overflow
+          Preconditions.checkState(bitmapOffset > 0, "Inverted index file: %s exceeds 2GB limit", _invertedIndexFile);
+          offsetDataStream.writeInt(bitmapOffset);
+        }
+      }
+      try (FileChannel outputChannel = new FileOutputStream(_invertedIndexFile, true).getChannel()) {
+        for (File bitmapBufferFile : bitmapBufferFiles) {
+          try (FileChannel inputChannel = new FileInputStream(bitmapBufferFile).getChannel()) {
+            long position = 0;
+            long size = inputChannel.size();
+            while (position < size) {
+              position += inputChannel.transferTo(position, size - position, outputChannel);
+            }
+          }
+        }
+      }
+    } catch (Exception e) {
+      FileUtils.deleteQuietly(_invertedIndexFile);
+      throw e;
+    } finally {
+      for (Future<Void> future : futures) {
+        future.cancel(true);
+      }
+      for (File bitmapBufferFile : bitmapBufferFiles) {
+        FileUtils.deleteQuietly(bitmapBufferFile);
+      }
+    }
+    LOGGER.info("Created inverted index: {} with cardinality: {} using {} threads in {}ms",
+        _invertedIndexFile.getName(), _cardinality, numPartitions, System.currentTimeMillis() - startTime);
+  }
+
+  /**
+   * Creates and serializes the bitmaps for the dictIds within the given range into the given file.
+   */
+  private void createBitmaps(int startDictId, int endDictId, int startIndex, File bitmapBufferFile)
+      throws IOException {
+    try (DataOutputStream bitmapDataStream = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(bitmapBufferFile)))) {
+      for (int dictId = startDictId; dictId < endDictId; dictId++) {
+        // DocIds are appended in ascending order, which always hits the last container of the bitmap
+        MutableRoaringBitmap bitmap = new MutableRoaringBitmap();
+        int endIndex = getInt(_invertedIndexLengthBuffer, dictId);
+        for (int i = startIndex; i < endIndex; i++) {
+          bitmap.add(getInt(_invertedIndexValueBuffer, i));
+        }
+        startIndex = endIndex;
+
+        putInt(_invertedIndexLengthBuffer, dictId, bitmap.serializedSizeInBytes());
+        bitmap.serialize(bitmapDataStream);
+      }
+    }
+  }
+
+  /**
+   * Returns whether the given file is a temporary buffer file of the inverted index creation, which can be left behind
+   * if the process dies while creating the inverted index.
+   */
+  public static boolean isTempFile(File file) {
+    String fileName = file.getName();
+    return fileName.endsWith(FORWARD_INDEX_VALUE_BUFFER_SUFFIX) || fileName.endsWith(FORWARD_INDEX_LENGTH_BUFFER_SUFFIX)
+        || fileName.endsWith(INVERTED_INDEX_VALUE_BUFFER_SUFFIX)
+        || fileName.endsWith(INVERTED_INDEX_LENGTH_BUFFER_SUFFIX) || fileName.contains(BITMAP_BUFFER_SUFFIX);
+  }
+
   @Override
   public void close()
       throws IOException {
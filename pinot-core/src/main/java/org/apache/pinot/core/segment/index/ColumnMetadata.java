@@ -63,6 +63,7 @@ public class ColumnMetadata {
   private final boolean containsNulls;
   @JsonProperty
   private final boolean hasDictionary;
+  private final boolean hasVarLengthDictionary;
   @JsonProperty
   private final boolean hasInvertedIndex;
   private final boolean isSingleValue;
@@ -101,6 +102,7 @@ public class ColumnMetadata {
     builder.setIsSorted(config.getBoolean(getKeyFor(column, IS_SORTED)));
     builder.setContainsNulls(config.getBoolean(getKeyFor(column, HAS_NULL_VALUE)));
     builder.setHasDictionary(config.getBoolean(getKeyFor(column, HAS_DICTIONARY), true));
+    builder.setHasVarLengthDictionary(config.getBoolean(getKeyFor(column, HAS_VAR_LENGTH_DICTIONARY), false));
     builder.setHasInvertedIndex(config.getBoolean(getKeyFor(column, HAS_INVERTED_INDEX)));
     builder.setSingleValue(config.getBoolean(getKeyFor(column, IS_SINGLE_VALUED)));
     builder.setMaxNumberOfMultiValues(config.getInt(getKeyFor(column, MAX_MULTI_VALUE_ELEMTS)));
@@ -221,6 +223,7 @@ public class ColumnMetadata {
     private boolean isSorted;
     private boolean containsNulls;
     private boolean hasDictionary;
+    private boolean hasVarLengthDictionary;
     private boolean hasInvertedIndex;
     private boolean isSingleValue;
     private boolean isVirtual;
@@ -301,6 +304,11 @@ public class ColumnMetadata {
       return this;
     }
 
+    public Builder setHasVarLengthDictionary(boolean hasVarLengthDictionary) {
+      this.hasVarLengthDictionary = hasVarLengthDictionary;
+      return this;
+    }
+
     public Builder setHasInvertedIndex(boolean hasInvertedIndex) {
       this.hasInvertedIndex = hasInvertedIndex;
       return this;
@@ -397,8 +405,8 @@ public class ColumnMetadata {
 
     public ColumnMetadata build() {
       return new ColumnMetadata(columnName, cardinality, totalDocs, totalRawDocs, totalAggDocs, dataType,
-          bitsPerElement, columnMaxLength, fieldType, isSorted, containsNulls, hasDictionary, hasInvertedIndex,
-          isSingleValue, maxNumberOfMultiValues, totalNumberOfEntries, isAutoGenerated, isVirtual,
+          bitsPerElement, columnMaxLength, fieldType, isSorted, containsNulls, hasDictionary, hasVarLengthDictionary,
+          hasInvertedIndex, isSingleValue, maxNumberOfMultiValues, totalNumberOfEntries, isAutoGenerated, isVirtual,
           defaultNullValueString, timeUnit, paddingCharacter, derivedMetricType, fieldSize, originColumnName, minValue,
           maxValue, partitionFunction, numPartitions, _partitions, dateTimeFormat, dateTimeGranularity);
     }
@@ -406,12 +414,12 @@ public class ColumnMetadata {
 
   private ColumnMetadata(String columnName, int cardinality, int totalDocs, int totalRawDocs, int totalAggDocs,
       DataType dataType, int bitsPerElement, int columnMaxLength, FieldType fieldType, boolean isSorted,
-      boolean hasNulls, boolean hasDictionary, boolean hasInvertedIndex, boolean isSingleValue,
-      int maxNumberOfMultiValues, int totalNumberOfEntries, boolean isAutoGenerated, boolean isVirtual,
-      String defaultNullValueString, TimeUnit timeUnit, char paddingCharacter, DerivedMetricType derivedMetricType,
-      int fieldSize, String originColumnName, Comparable minValue, Comparable maxValue,
-      PartitionFunction partitionFunction, int numPartitions, Set<Integer> partitions, String dateTimeFormat,
-      String dateTimeGranularity) {
+      boolean hasNulls, boolean hasDictionary, boolean hasVarLengthDictionary, boolean hasInvertedIndex,
+      boolean isSingleValue, int maxNumberOfMultiValues, int totalNumberOfEntries, boolean isAutoGenerated,
+      boolean isVirtual, String defaultNullValueString, TimeUnit timeUnit, char paddingCharacter,
+      DerivedMetricType derivedMetricType, int fieldSize, String originColumnName, Comparable minValue,
+      Comparable maxValue, PartitionFunction partitionFunction, int numPartitions, Set<Integer> partitions,
+      String dateTimeFormat, String dateTimeGranularity) {
     this.columnName = columnName;
     this.cardinality = cardinality;
     this.totalDocs = totalDocs;
@@ -424,6 +432,7 @@ public class ColumnMetadata {
     this.isSorted = isSorted;
     this.containsNulls = hasNulls;
     this.hasDictionary = hasDictionary;
+    this.hasVarLengthDictionary = hasVarLengthDictionary;
     this.hasInvertedIndex = hasInvertedIndex;
     this.isSingleValue = isSingleValue;
     this.maxNumberOfMultiValues = maxNumberOfMultiValues;
@@ -520,6 +529,13 @@ public class ColumnMetadata {
     return hasDictionary;
   }
 
+  /**
+   * Returns whether the dictionary is stored in the variable-length format (STRING column only).
+   */
+  public boolean hasVarLengthDictionary() {
+    return hasVarLengthDictionary;
+  }
+
   public boolean hasInvertedIndex() {
     return hasInvertedIndex;
   }
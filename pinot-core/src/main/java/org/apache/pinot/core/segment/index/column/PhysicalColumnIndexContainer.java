@@ -23,6 +23,7 @@ import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.core.io.reader.DataFileReader;
 import org.apache.pinot.core.io.reader.SingleColumnSingleValueReader;
 import org.apache.pinot.core.io.reader.impl.v1.FixedBitMultiValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
 import org.apache.pinot.core.io.reader.impl.v1.FixedBitSingleValueReader;
 import org.apache.pinot.core.io.reader.impl.v1.FixedByteChunkSingleValueReader;
 import org.apache.pinot.core.io.reader.impl.v1.SortedIndexReader;
@@ -45,6 +46,7 @@ import org.apache.pinot.core.segment.index.readers.OnHeapIntDictionary;
 import org.apache.pinot.core.segment.index.readers.OnHeapLongDictionary;
 import org.apache.pinot.core.segment.index.readers.OnHeapStringDictionary;
 import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.segment.index.readers.VarLengthStringDictionary;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.apache.pinot.core.segment.store.ColumnIndexType;
 import org.apache.pinot.core.segment.store.SegmentDirectory;
@@ -100,9 +102,14 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
         }
       } else {
         // Multi-value
-        _forwardIndex =
-            new FixedBitMultiValueReader(fwdIndexBuffer, metadata.getTotalDocs(), metadata.getTotalNumberOfEntries(),
-                metadata.getBitsPerElement());
+        if (FixedBitPrefixSumMultiValueReader.isPrefixSumFormat(fwdIndexBuffer)) {
+          _forwardIndex = new FixedBitPrefixSumMultiValueReader(fwdIndexBuffer, metadata.getTotalDocs(),
+              metadata.getTotalNumberOfEntries(), metadata.getBitsPerElement());
+        } else {
+          _forwardIndex =
+              new FixedBitMultiValueReader(fwdIndexBuffer, metadata.getTotalDocs(), metadata.getTotalNumberOfEntries(),
+                  metadata.getBitsPerElement());
+        }
       }
       if (loadInvertedIndex) {
         _invertedIndex =
@@ -167,6 +174,10 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
             : new DoubleDictionary(dictionaryBuffer, length);
 
       case STRING:
+        if (metadata.hasVarLengthDictionary()) {
+          // Values are not padded, so the var-length dictionary is always loaded off-heap
+          return new VarLengthStringDictionary(dictionaryBuffer, length);
+        }
         int numBytesPerValue = metadata.getColumnMaxLength();
         byte paddingByte = (byte) metadata.getPaddingCharacter();
         return loadOnHeap ? new OnHeapStringDictionary(dictionaryBuffer, length, numBytesPerValue, paddingByte)
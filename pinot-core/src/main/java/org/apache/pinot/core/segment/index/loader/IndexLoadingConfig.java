@@ -30,9 +30,11 @@ import javax.annotation.Nullable;
 import org.apache.pinot.common.config.IndexingConfig;
 import org.apache.pinot.common.config.TableConfig;
 import org.apache.pinot.common.segment.ReadMode;
+import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.data.manager.config.InstanceDataManagerConfig;
 import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
 import org.apache.pinot.core.segment.index.loader.columnminmaxvalue.ColumnMinMaxValueGeneratorMode;
+import org.apache.pinot.core.segment.index.loader.warmup.SegmentWarmUpPolicy;
 
 
 /**
@@ -48,6 +50,8 @@ public class IndexLoadingConfig {
   private Map<String, String> _noDictionaryConfig = new HashMap<>();
   private Set<String> _onHeapDictionaryColumns = new HashSet<>();
   private Set<String> _bloomFilterColumns = new HashSet<>();
+  private BloomFilterType _bloomFilterType = BloomFilterType.GUAVA_ON_HEAP;
+  private Map<String, Double> _bloomFilterMaxFalsePosProbabilities = new HashMap<>();
 
   private SegmentVersion _segmentVersion;
   private ColumnMinMaxValueGeneratorMode _columnMinMaxValueGeneratorMode = ColumnMinMaxValueGeneratorMode.DEFAULT_MODE;
@@ -56,6 +60,10 @@ public class IndexLoadingConfig {
   private boolean _isRealtimeOffheapAllocation;
   private boolean _isDirectRealtimeOffheapAllocation;
   private boolean _enableSplitCommitEndWithMetadata;
+  private SegmentWarmUpPolicy _segmentWarmUpPolicy = SegmentWarmUpPolicy.DEFAULT_POLICY;
+  private boolean _waitForSegmentWarmUp;
+  private boolean _prefixSumMultiValueForwardIndex;
+  private int _numInvertedIndexCreationThreads = 1;
 
   public IndexLoadingConfig(@Nonnull InstanceDataManagerConfig instanceDataManagerConfig,
       @Nonnull TableConfig tableConfig) {
@@ -85,6 +93,18 @@ public class IndexLoadingConfig {
       _bloomFilterColumns.addAll(bloomFilterColumns);
     }
 
+    String bloomFilterType = indexingConfig.getBloomFilterType();
+    if (bloomFilterType != null) {
+      _bloomFilterType = BloomFilterType.valueOf(bloomFilterType.toUpperCase());
+    }
+
+    Map<String, String> bloomFilterConfig = indexingConfig.getBloomFilterConfig();
+    if (bloomFilterConfig != null) {
+      for (Map.Entry<String, String> entry : bloomFilterConfig.entrySet()) {
+        _bloomFilterMaxFalsePosProbabilities.put(entry.getKey(), Double.valueOf(entry.getValue()));
+      }
+    }
+
     List<String> noDictionaryColumns = indexingConfig.getNoDictionaryColumns();
     if (noDictionaryColumns != null) {
       _noDictionaryColumns.addAll(noDictionaryColumns);
@@ -110,6 +130,13 @@ public class IndexLoadingConfig {
       _columnMinMaxValueGeneratorMode =
           ColumnMinMaxValueGeneratorMode.valueOf(columnMinMaxValueGeneratorMode.toUpperCase());
     }
+
+    String segmentWarmUpPolicy = indexingConfig.getSegmentWarmUpPolicy();
+    if (segmentWarmUpPolicy != null) {
+      _segmentWarmUpPolicy = SegmentWarmUpPolicy.valueOf(segmentWarmUpPolicy.toUpperCase());
+    }
+    _waitForSegmentWarmUp = indexingConfig.isWaitForSegmentWarmUp();
+    _prefixSumMultiValueForwardIndex = indexingConfig.isPrefixSumMultiValueForwardIndex();
   }
 
   private void extractFromInstanceConfig(@Nonnull InstanceDataManagerConfig instanceDataManagerConfig) {
@@ -133,6 +160,11 @@ public class IndexLoadingConfig {
       _realtimeAvgMultiValueCount = Integer.valueOf(avgMultiValueCount);
     }
     _enableSplitCommitEndWithMetadata = instanceDataManagerConfig.isEnableSplitCommitEndWithMetadata();
+
+    int numInvertedIndexCreationThreads = instanceDataManagerConfig.getNumInvertedIndexCreationThreads();
+    if (numInvertedIndexCreationThreads > 0) {
+      _numInvertedIndexCreationThreads = numInvertedIndexCreationThreads;
+    }
   }
 
   /**
@@ -200,6 +232,34 @@ public class IndexLoadingConfig {
     return _bloomFilterColumns;
   }
 
+  @Nonnull
+  public BloomFilterType getBloomFilterType() {
+    return _bloomFilterType;
+  }
+
+  /**
+   * For tests only.
+   */
+  public void setBloomFilterType(@Nonnull BloomFilterType bloomFilterType) {
+    _bloomFilterType = bloomFilterType;
+  }
+
+  /**
+   * Returns the configured maximum false positive probability of the bloom filter for the given column, or
+   * <code>null</code> if not configured.
+   */
+  @Nullable
+  public Double getBloomFilterMaxFalsePosProbability(@Nonnull String column) {
+    return _bloomFilterMaxFalsePosProbabilities.get(column);
+  }
+
+  /**
+   * For tests only.
+   */
+  public void setBloomFilterMaxFalsePosProbabilities(@Nonnull Map<String, Double> maxFalsePosProbabilities) {
+    _bloomFilterMaxFalsePosProbabilities = maxFalsePosProbabilities;
+  }
+
   @Nullable
   public SegmentVersion getSegmentVersion() {
     return _segmentVersion;
@@ -240,6 +300,51 @@ public class IndexLoadingConfig {
     _columnMinMaxValueGeneratorMode = columnMinMaxValueGeneratorMode;
   }
 
+  @Nonnull
+  public SegmentWarmUpPolicy getSegmentWarmUpPolicy() {
+    return _segmentWarmUpPolicy;
+  }
+
+  /**
+   * For tests only.
+   */
+  public void setSegmentWarmUpPolicy(@Nonnull SegmentWarmUpPolicy segmentWarmUpPolicy) {
+    _segmentWarmUpPolicy = segmentWarmUpPolicy;
+  }
+
+  public boolean isWaitForSegmentWarmUp() {
+    return _waitForSegmentWarmUp;
+  }
+
+  /**
+   * For tests only.
+   */
+  public void setWaitForSegmentWarmUp(boolean waitForSegmentWarmUp) {
+    _waitForSegmentWarmUp = waitForSegmentWarmUp;
+  }
+
+  public boolean isPrefixSumMultiValueForwardIndex() {
+    return _prefixSumMultiValueForwardIndex;
+  }
+
+  /**
+   * For tests only.
+   */
+  public void setPrefixSumMultiValueForwardIndex(boolean prefixSumMultiValueForwardIndex) {
+    _prefixSumMultiValueForwardIndex = prefixSumMultiValueForwardIndex;
+  }
+
+  public int getNumInvertedIndexCreationThreads() {
+    return _numInvertedIndexCreationThreads;
+  }
+
+  /**
+   * For tests only.
+   */
+  public void setNumInvertedIndexCreationThreads(int numInvertedIndexCreationThreads) {
+    _numInvertedIndexCreationThreads = numInvertedIndexCreationThreads;
+  }
+
   public int getRealtimeAvgMultiValueCount() {
     return _realtimeAvgMultiValueCount;
   }
@@ -25,12 +25,14 @@ import org.apache.commons.io.FileUtils;
 import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.common.segment.ReadMode;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.creator.impl.inv.OffHeapBitmapInvertedIndexCreator;
 import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
 import org.apache.pinot.core.segment.index.loader.bloomfilter.BloomFilterHandler;
 import org.apache.pinot.core.segment.index.loader.columnminmaxvalue.ColumnMinMaxValueGenerator;
 import org.apache.pinot.core.segment.index.loader.columnminmaxvalue.ColumnMinMaxValueGeneratorMode;
 import org.apache.pinot.core.segment.index.loader.defaultcolumn.DefaultColumnHandler;
 import org.apache.pinot.core.segment.index.loader.defaultcolumn.DefaultColumnHandlerFactory;
+import org.apache.pinot.core.segment.index.loader.forwardindex.MultiValueForwardIndexHandler;
 import org.apache.pinot.core.segment.index.loader.invertedindex.InvertedIndexHandler;
 import org.apache.pinot.core.segment.store.SegmentDirectory;
 
@@ -71,12 +73,13 @@ public class SegmentPreProcessor implements AutoCloseable {
     }
     // Remove all the existing inverted index temp files before loading segments.
     // NOTE: This step fixes the issue of temporary files not getting deleted after creating new inverted indexes.
-    // In this, we look for all files in the directory and remove the ones with  '.bitmap.inv.tmp' extension.
+    // In this, we look for all files in the directory and remove the ones with  '.bitmap.inv.tmp' extension, and the
+    // temporary buffers left behind by an interrupted inverted index creation (e.g. '.bitmap.buf.N').
     File[] directoryListing = _indexDir.listFiles();
     String tempFileExtension = V1Constants.Indexes.BITMAP_INVERTED_INDEX_FILE_EXTENSION + ".tmp";
     if (directoryListing != null) {
       for (File child : directoryListing) {
-        if (child.getName().endsWith(tempFileExtension)) {
+        if (child.getName().endsWith(tempFileExtension) || OffHeapBitmapInvertedIndexCreator.isTempFile(child)) {
           FileUtils.deleteQuietly(child);
         }
       }
@@ -101,6 +104,11 @@ public class SegmentPreProcessor implements AutoCloseable {
           new BloomFilterHandler(_indexDir, _segmentMetadata, _indexLoadingConfig, segmentWriter);
       bloomFilterHandler.createBloomFilters();
 
+      // Convert multi-value forward indexes to the prefix sum layout if required
+      MultiValueForwardIndexHandler multiValueForwardIndexHandler =
+          new MultiValueForwardIndexHandler(_indexDir, _segmentMetadata, _indexLoadingConfig, segmentWriter);
+      multiValueForwardIndexHandler.convertForwardIndices();
+
       // Add min/max value to column metadata according to the prune mode.
       // For star-tree index, because it can only increase the range, so min/max value can still be used in pruner.
       ColumnMinMaxValueGeneratorMode columnMinMaxValueGeneratorMode =
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.segment.ReadMode;
+import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
+import org.apache.pinot.core.segment.index.ColumnMetadata;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+import org.apache.pinot.core.segment.index.loader.columnminmaxvalue.ColumnMinMaxValueGenerator;
+import org.apache.pinot.core.segment.index.loader.defaultcolumn.BaseDefaultColumnHandler;
+import org.apache.pinot.core.segment.store.ColumnIndexType;
+import org.apache.pinot.core.segment.store.SegmentDirectory;
+import org.apache.pinot.core.segment.store.SegmentDirectoryPaths;
+
+
+/**
+ * Plans the reload of a segment by comparing the {@link IndexLoadingConfig} (and schema) against the indexes on disk,
+ * without modifying the segment.
+ * <p>The planned changes are the steps that {@link org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader}
+ * would perform on disk before loading the segment (version conversion, default column update, inverted index and
+ * bloom filter creation, multi-value forward index conversion and min/max value generation). If there is no change,
+ * the segment can be reloaded in place without copying the index directory, using
+ * {@link org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader#loadWithoutPreprocessing} so that the
+ * directory shared with the serving segment is never modified.
+ * <p>The planned changes are only used to decide whether the segment needs to be modified: any planned change still
+ * takes the full copy of the index directory and the full pre-processing, not only the planned steps.
+ * <p>Indexes that are no longer configured do not need any change on disk because they are not loaded.
+ */
+public class SegmentReloadPlanner {
+  private static final String IN_PROGRESS_MARKER_SUFFIX = ".inprogress";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  private final File _indexDir;
+  private final IndexLoadingConfig _indexLoadingConfig;
+  private final Schema _schema;
+
+  public SegmentReloadPlanner(@Nonnull File indexDir, @Nonnull IndexLoadingConfig indexLoadingConfig,
+      @Nullable Schema schema) {
+    _indexDir = indexDir;
+    _indexLoadingConfig = indexLoadingConfig;
+    _schema = schema;
+  }
+
+  /**
+   * Returns the descriptions of the changes needed on disk to reload the segment, or an empty list if the segment can
+   * be loaded as is.
+   */
+  public List<String> planChanges()
+      throws Exception {
+    List<String> changes = new ArrayList<>();
+
+    // Left-over files from an interrupted pre-processing
+    File[] files = _indexDir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        String fileName = file.getName();
+        if (fileName.endsWith(IN_PROGRESS_MARKER_SUFFIX) || fileName.endsWith(TEMP_FILE_SUFFIX)) {
+          changes.add("clean up interrupted pre-processing file: " + fileName);
+        }
+      }
+    }
+
+    SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl(_indexDir);
+    SegmentVersion segmentVersionToLoad = _indexLoadingConfig.getSegmentVersion();
+    if (segmentVersionToLoad != null && !SegmentDirectoryPaths.segmentDirectoryFor(_indexDir, segmentVersionToLoad)
+        .isDirectory() && segmentMetadata.getSegmentVersion() != segmentVersionToLoad) {
+      // All the other steps are performed on the converted segment
+      changes.add("convert segment from version: " + segmentMetadata.getSegmentVersion() + " to: "
+          + segmentVersionToLoad);
+      return changes;
+    }
+    if (segmentMetadata.getTotalDocs() == 0) {
+      return changes;
+    }
+
+    if (_schema != null) {
+      try {
+        if (BaseDefaultColumnHandler.needUpdateDefaultColumns(_schema, segmentMetadata)) {
+          changes.add("update default columns");
+        }
+      } catch (Exception e) {
+        // Let the pre-processing fail the same way
+        changes.add("update default columns (" + e.getMessage() + ")");
+      }
+    }
+
+    try (SegmentDirectory segmentDirectory = SegmentDirectory
+        .createFromLocalFS(_indexDir, segmentMetadata, ReadMode.mmap);
+        SegmentDirectory.Reader segmentReader = segmentDirectory.createReader()) {
+      for (String column : _indexLoadingConfig.getInvertedIndexColumns()) {
+        ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(column);
+        if (columnMetadata != null && !columnMetadata.isSorted() && !segmentReader
+            .hasIndexFor(column, ColumnIndexType.INVERTED_INDEX)) {
+          changes.add("create inverted index for column: " + column);
+        }
+      }
+
+      for (String column : _indexLoadingConfig.getBloomFilterColumns()) {
+        ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(column);
+        if (columnMetadata != null && columnMetadata.hasDictionary() && !segmentReader
+            .hasIndexFor(column, ColumnIndexType.BLOOM_FILTER)) {
+          changes.add("create bloom filter for column: " + column);
+        }
+      }
+
+      if (_indexLoadingConfig.isPrefixSumMultiValueForwardIndex()
+          && segmentMetadata.getSegmentVersion() != SegmentVersion.v3) {
+        for (ColumnMetadata columnMetadata : segmentMetadata.getColumnMetadataMap().values()) {
+          String column = columnMetadata.getColumnName();
+          if (!columnMetadata.isSingleValue() && !FixedBitPrefixSumMultiValueReader
+              .isPrefixSumFormat(segmentReader.getIndexFor(column, ColumnIndexType.FORWARD_INDEX))) {
+            changes.add("convert multi-value forward index to prefix sum layout for column: " + column);
+          }
+        }
+      }
+    }
+
+    if (ColumnMinMaxValueGenerator
+        .needAddColumnMinMaxValue(segmentMetadata, _indexLoadingConfig.getColumnMinMaxValueGeneratorMode())) {
+      changes.add("add column min/max value");
+    }
+
+    return changes;
+  }
+}
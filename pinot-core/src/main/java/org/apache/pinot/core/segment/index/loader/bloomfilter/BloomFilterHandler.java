@@ -25,6 +25,7 @@ import java.util.Set;
 import javax.annotation.Nonnull;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.common.data.FieldSpec.DataType;
+import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
 import org.apache.pinot.core.segment.creator.impl.bloom.BloomFilterCreator;
@@ -39,6 +40,7 @@ import org.apache.pinot.core.segment.index.readers.ImmutableDictionaryReader;
 import org.apache.pinot.core.segment.index.readers.IntDictionary;
 import org.apache.pinot.core.segment.index.readers.LongDictionary;
 import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.segment.index.readers.VarLengthStringDictionary;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.apache.pinot.core.segment.store.ColumnIndexType;
 import org.apache.pinot.core.segment.store.SegmentDirectory;
@@ -53,6 +55,7 @@ public class BloomFilterHandler {
   private final SegmentDirectory.Writer _segmentWriter;
   private final String _segmentName;
   private final SegmentVersion _segmentVersion;
+  private final IndexLoadingConfig _indexLoadingConfig;
   private final Set<ColumnMetadata> _bloomFilterColumns = new HashSet<>();
 
   public BloomFilterHandler(@Nonnull File indexDir, @Nonnull SegmentMetadataImpl segmentMetadata,
@@ -61,6 +64,7 @@ public class BloomFilterHandler {
     _segmentWriter = segmentWriter;
     _segmentName = segmentMetadata.getName();
     _segmentVersion = SegmentVersion.valueOf(segmentMetadata.getVersion());
+    _indexLoadingConfig = indexLoadingConfig;
 
     for (String column : indexLoadingConfig.getBloomFilterColumns()) {
       ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(column);
@@ -103,8 +107,15 @@ public class BloomFilterHandler {
     }
 
     // Create new bloom filter for the column.
-    LOGGER.info("Creating new bloom filter for segment: {}, column: {}", _segmentName, columnName);
-    try (BloomFilterCreator creator = new BloomFilterCreator(_indexDir, columnName, columnMetadata.getCardinality())) {
+    BloomFilterType bloomFilterType = _indexLoadingConfig.getBloomFilterType();
+    Double maxFalsePosProbability = _indexLoadingConfig.getBloomFilterMaxFalsePosProbability(columnName);
+    if (maxFalsePosProbability == null) {
+      maxFalsePosProbability = BloomFilterCreator.DEFAULT_MAX_FALSE_POS_PROBABILITY;
+    }
+    LOGGER.info("Creating new bloom filter of type: {} with max false positive probability: {} for segment: {}, "
+        + "column: {}", bloomFilterType, maxFalsePosProbability, _segmentName, columnName);
+    try (BloomFilterCreator creator = new BloomFilterCreator(_indexDir, columnName, columnMetadata.getCardinality(),
+        bloomFilterType, maxFalsePosProbability)) {
       if (columnMetadata.hasDictionary()) {
         // Read dictionary
         try (ImmutableDictionaryReader dictionaryReader = getDictionaryReader(columnMetadata, _segmentWriter)) {
@@ -150,8 +161,12 @@ public class BloomFilterHandler {
         dictionaryReader = new DoubleDictionary(dictionaryBuffer, cardinality);
         break;
       case STRING:
-        dictionaryReader = new StringDictionary(dictionaryBuffer, cardinality, columnMetadata.getColumnMaxLength(),
-            (byte) columnMetadata.getPaddingCharacter());
+        if (columnMetadata.hasVarLengthDictionary()) {
+          dictionaryReader = new VarLengthStringDictionary(dictionaryBuffer, cardinality);
+        } else {
+          dictionaryReader = new StringDictionary(dictionaryBuffer, cardinality, columnMetadata.getColumnMaxLength(),
+              (byte) columnMetadata.getPaddingCharacter());
+        }
         break;
       default:
         throw new IllegalStateException(
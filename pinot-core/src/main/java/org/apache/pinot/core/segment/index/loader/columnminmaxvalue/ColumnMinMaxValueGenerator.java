@@ -19,6 +19,8 @@
 package org.apache.pinot.core.segment.index.loader.columnminmaxvalue;
 
 import com.clearspring.analytics.util.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.data.Schema;
@@ -29,7 +31,9 @@ import org.apache.pinot.core.segment.index.readers.DoubleDictionary;
 import org.apache.pinot.core.segment.index.readers.FloatDictionary;
 import org.apache.pinot.core.segment.index.readers.IntDictionary;
 import org.apache.pinot.core.segment.index.readers.LongDictionary;
+import org.apache.pinot.core.segment.index.readers.ImmutableDictionaryReader;
 import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.segment.index.readers.VarLengthStringDictionary;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.apache.pinot.core.segment.store.ColumnIndexType;
 import org.apache.pinot.core.segment.store.SegmentDirectory;
@@ -55,32 +59,51 @@ public class ColumnMinMaxValueGenerator {
       throws Exception {
     Preconditions.checkState(_columnMinMaxValueGeneratorMode != ColumnMinMaxValueGeneratorMode.NONE);
 
-    Schema schema = _segmentMetadata.getSchema();
+    for (String columnName : getColumnsToProcess(_segmentMetadata.getSchema(), _columnMinMaxValueGeneratorMode)) {
+      addColumnMinMaxValueForColumn(columnName);
+    }
+    saveMetadata();
+  }
+
+  /**
+   * Returns whether min/max value needs to be added for any column of the segment with the given mode.
+   */
+  public static boolean needAddColumnMinMaxValue(SegmentMetadataImpl segmentMetadata,
+      ColumnMinMaxValueGeneratorMode columnMinMaxValueGeneratorMode) {
+    if (columnMinMaxValueGeneratorMode == ColumnMinMaxValueGeneratorMode.NONE) {
+      return false;
+    }
+    for (String columnName : getColumnsToProcess(segmentMetadata.getSchema(), columnMinMaxValueGeneratorMode)) {
+      ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(columnName);
+      if (columnMetadata.hasDictionary() && columnMetadata.getMinValue() == null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<String> getColumnsToProcess(Schema schema,
+      ColumnMinMaxValueGeneratorMode columnMinMaxValueGeneratorMode) {
+    List<String> columnNames = new ArrayList<>();
 
     // Process time column
     String timeColumnName = schema.getTimeColumnName();
     if (timeColumnName != null) {
-      addColumnMinMaxValueForColumn(timeColumnName);
+      columnNames.add(timeColumnName);
     }
-    if (_columnMinMaxValueGeneratorMode == ColumnMinMaxValueGeneratorMode.TIME) {
-      saveMetadata();
-      return;
+    if (columnMinMaxValueGeneratorMode == ColumnMinMaxValueGeneratorMode.TIME) {
+      return columnNames;
     }
 
     // Process dimension columns
-    for (String dimensionColumnName : schema.getDimensionNames()) {
-      addColumnMinMaxValueForColumn(dimensionColumnName);
-    }
-    if (_columnMinMaxValueGeneratorMode == ColumnMinMaxValueGeneratorMode.NON_METRIC) {
-      saveMetadata();
-      return;
+    columnNames.addAll(schema.getDimensionNames());
+    if (columnMinMaxValueGeneratorMode == ColumnMinMaxValueGeneratorMode.NON_METRIC) {
+      return columnNames;
     }
 
     // Process metric columns
-    for (String metricColumnName : schema.getMetricNames()) {
-      addColumnMinMaxValueForColumn(metricColumnName);
-    }
-    saveMetadata();
+    columnNames.addAll(schema.getMetricNames());
+    return columnNames;
   }
 
   private void addColumnMinMaxValueForColumn(String columnName)
@@ -124,10 +147,12 @@ public class ColumnMinMaxValueGenerator {
         }
         break;
       case STRING:
-        try (StringDictionary stringDictionary = new StringDictionary(dictionaryBuffer, length,
-            columnMetadata.getColumnMaxLength(), (byte) columnMetadata.getPaddingCharacter())) {
-          SegmentColumnarIndexCreator.addColumnMinMaxValueInfo(_segmentProperties, columnName, stringDictionary.get(0),
-              stringDictionary.get(length - 1));
+        try (ImmutableDictionaryReader stringDictionary = columnMetadata.hasVarLengthDictionary()
+            ? new VarLengthStringDictionary(dictionaryBuffer, length)
+            : new StringDictionary(dictionaryBuffer, length, columnMetadata.getColumnMaxLength(),
+                (byte) columnMetadata.getPaddingCharacter())) {
+          SegmentColumnarIndexCreator.addColumnMinMaxValueInfo(_segmentProperties, columnName,
+              stringDictionary.getStringValue(0), stringDictionary.getStringValue(length - 1));
         }
         break;
       default:
@@ -88,7 +88,7 @@ public abstract class BaseDefaultColumnHandler implements DefaultColumnHandler {
   public void updateDefaultColumns()
       throws Exception {
     // Compute the action needed for each column.
-    Map<String, DefaultColumnAction> defaultColumnActionMap = computeDefaultColumnActionMap();
+    Map<String, DefaultColumnAction> defaultColumnActionMap = computeDefaultColumnActionMap(_schema, _segmentMetadata);
     if (defaultColumnActionMap.isEmpty()) {
       return;
     }
@@ -138,22 +138,31 @@ public abstract class BaseDefaultColumnHandler implements DefaultColumnHandler {
     _segmentProperties.save();
   }
 
+  /**
+   * Returns whether any auto-generated default column of the segment needs to be added, updated or removed according to
+   * the schema.
+   */
+  public static boolean needUpdateDefaultColumns(Schema schema, SegmentMetadataImpl segmentMetadata) {
+    return !computeDefaultColumnActionMap(schema, segmentMetadata).isEmpty();
+  }
+
   /**
    * Compute the action needed for each column.
    * This method compares the column metadata across schema and segment.
    *
    * @return Action Map for each column.
    */
-  private Map<String, DefaultColumnAction> computeDefaultColumnActionMap() {
+  private static Map<String, DefaultColumnAction> computeDefaultColumnActionMap(Schema schema,
+      SegmentMetadataImpl segmentMetadata) {
     Map<String, DefaultColumnAction> defaultColumnActionMap = new HashMap<>();
 
     // Compute ADD and UPDATE actions.
-    Collection<String> columnsInSchema = _schema.getPhysicalColumnNames();
+    Collection<String> columnsInSchema = schema.getPhysicalColumnNames();
     for (String column : columnsInSchema) {
-      FieldSpec fieldSpecInSchema = _schema.getFieldSpecFor(column);
+      FieldSpec fieldSpecInSchema = schema.getFieldSpecFor(column);
       Preconditions.checkNotNull(fieldSpecInSchema);
       FieldSpec.FieldType fieldTypeInSchema = fieldSpecInSchema.getFieldType();
-      ColumnMetadata columnMetadata = _segmentMetadata.getColumnMetadataFor(column);
+      ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(column);
 
       if (columnMetadata != null) {
         // Column exists in the segment, check if we need to update the value.
@@ -206,10 +215,10 @@ public abstract class BaseDefaultColumnHandler implements DefaultColumnHandler {
     }
 
     // Compute REMOVE actions.
-    Set<String> columnsInMetadata = _segmentMetadata.getAllColumns();
+    Set<String> columnsInMetadata = segmentMetadata.getAllColumns();
     for (String column : columnsInMetadata) {
       if (!columnsInSchema.contains(column)) {
-        ColumnMetadata columnMetadata = _segmentMetadata.getColumnMetadataFor(column);
+        ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(column);
 
         // Only remove auto-generated columns.
         if (columnMetadata.isAutoGenerated()) {
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader.forwardindex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.segment.ReadMode;
+import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitMultiValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
+import org.apache.pinot.core.io.writer.impl.v1.FixedBitPrefixSumMultiValueWriter;
+import org.apache.pinot.core.segment.index.ColumnMetadata;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.apache.pinot.core.segment.store.ColumnIndexType;
+import org.apache.pinot.core.segment.store.SegmentDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Converts the multi-value forward indexes from the chunk offset and bitmap layout ({@link FixedBitMultiValueReader})
+ * to the prefix sum layout ({@link FixedBitPrefixSumMultiValueReader}) when enabled in the index loading config.
+ * <p>The converted index is written into a temporary file, which then atomically replaces the original forward index
+ * file, so that an interrupted conversion always leaves a valid forward index behind.
+ * <p>Only v1 and v2 segments are converted because indexes inside the v3 single index file cannot be replaced. Segments
+ * loaded as v3 are converted by {@link #convertForwardIndices(File, IndexLoadingConfig)} before the format conversion;
+ * segments that are already in v3 on disk keep their forward indexes.
+ */
+public class MultiValueForwardIndexHandler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MultiValueForwardIndexHandler.class);
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  private final File _indexDir;
+  private final SegmentMetadataImpl _segmentMetadata;
+  private final SegmentDirectory.Writer _segmentWriter;
+  private final String _segmentName;
+  private final SegmentVersion _segmentVersion;
+  private final Set<ColumnMetadata> _multiValueColumns = new HashSet<>();
+
+  public MultiValueForwardIndexHandler(@Nonnull File indexDir, @Nonnull SegmentMetadataImpl segmentMetadata,
+      @Nonnull IndexLoadingConfig indexLoadingConfig, @Nonnull SegmentDirectory.Writer segmentWriter) {
+    _indexDir = indexDir;
+    _segmentMetadata = segmentMetadata;
+    _segmentWriter = segmentWriter;
+    _segmentName = segmentMetadata.getName();
+    _segmentVersion = SegmentVersion.valueOf(segmentMetadata.getVersion());
+
+    if (indexLoadingConfig.isPrefixSumMultiValueForwardIndex()) {
+      for (ColumnMetadata columnMetadata : segmentMetadata.getColumnMetadataMap().values()) {
+        if (!columnMetadata.isSingleValue()) {
+          _multiValueColumns.add(columnMetadata);
+        }
+      }
+    }
+  }
+
+  public void convertForwardIndices()
+      throws IOException {
+    if (_multiValueColumns.isEmpty()) {
+      return;
+    }
+    if (_segmentVersion == SegmentVersion.v3) {
+      LOGGER.warn("Skip converting multi-value forward indexes for segment: {} already in v3 format", _segmentName);
+      return;
+    }
+    for (ColumnMetadata columnMetadata : _multiValueColumns) {
+      convertForwardIndexForColumn(columnMetadata);
+    }
+  }
+
+  /**
+   * Converts the multi-value forward indexes of the given v1 or v2 segment before it is converted to v3 format.
+   */
+  public static void convertForwardIndices(File indexDir, IndexLoadingConfig indexLoadingConfig)
+      throws Exception {
+    if (!indexLoadingConfig.isPrefixSumMultiValueForwardIndex()) {
+      return;
+    }
+    SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl(indexDir);
+    if (segmentMetadata.getTotalDocs() == 0) {
+      return;
+    }
+    try (SegmentDirectory segmentDirectory = SegmentDirectory.createFromLocalFS(indexDir, segmentMetadata,
+        ReadMode.mmap); SegmentDirectory.Writer segmentWriter = segmentDirectory.createWriter()) {
+      new MultiValueForwardIndexHandler(indexDir, segmentMetadata, indexLoadingConfig, segmentWriter)
+          .convertForwardIndices();
+    }
+  }
+
+  private void convertForwardIndexForColumn(ColumnMetadata columnMetadata)
+      throws IOException {
+    String column = columnMetadata.getColumnName();
+
+    PinotDataBuffer buffer = _segmentWriter.getIndexFor(column, ColumnIndexType.FORWARD_INDEX);
+    if (FixedBitPrefixSumMultiValueReader.isPrefixSumFormat(buffer)) {
+      // Skip converting forward index if already converted.
+      LOGGER.info("Found prefix sum forward index for segment: {}, column: {}", _segmentName, column);
+      return;
+    }
+
+    File forwardIndexFile = new File(_indexDir, _segmentMetadata.getForwardIndexFileName(column));
+    File tempFile = new File(_indexDir, forwardIndexFile.getName() + TEMP_FILE_SUFFIX);
+    // Remove the temporary file left behind by an interrupted run.
+    FileUtils.deleteQuietly(tempFile);
+
+    LOGGER.info("Converting forward index to prefix sum layout for segment: {}, column: {}", _segmentName, column);
+    int numDocs = columnMetadata.getTotalDocs();
+    int numValues = columnMetadata.getTotalNumberOfEntries();
+    int numBitsPerValue = columnMetadata.getBitsPerElement();
+    try (FixedBitMultiValueReader reader = new FixedBitMultiValueReader(buffer, numDocs, numValues, numBitsPerValue);
+        FixedBitPrefixSumMultiValueWriter writer = new FixedBitPrefixSumMultiValueWriter(tempFile, numDocs, numValues,
+            numBitsPerValue)) {
+      FixedBitMultiValueReader.Context context = reader.createContext();
+      int[] dictIds = new int[columnMetadata.getMaxNumberOfMultiValues()];
+      for (int docId = 0; docId < numDocs; docId++) {
+        int numValuesForDoc = reader.getIntArray(docId, dictIds, context);
+        writer.setIntArray(docId, Arrays.copyOf(dictIds, numValuesForDoc));
+      }
+    }
+
+    Files.move(tempFile.toPath(), forwardIndexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    LOGGER.info("Converted forward index to prefix sum layout for segment: {}, column: {}", _segmentName, column);
+  }
+}
@@ -22,12 +22,15 @@ import java.io.File;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
 import org.apache.pinot.core.io.reader.DataFileReader;
 import org.apache.pinot.core.io.reader.SingleColumnMultiValueReader;
 import org.apache.pinot.core.io.reader.impl.v1.FixedBitMultiValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
 import org.apache.pinot.core.io.reader.impl.v1.FixedBitSingleValueReader;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
 import org.apache.pinot.core.segment.creator.impl.inv.OffHeapBitmapInvertedIndexCreator;
@@ -50,6 +53,7 @@ public class InvertedIndexHandler {
   private final String _segmentName;
   private final SegmentVersion _segmentVersion;
   private final Set<ColumnMetadata> _invertedIndexColumns = new HashSet<>();
+  private final int _numCreationThreads;
 
   public InvertedIndexHandler(@Nonnull File indexDir, @Nonnull SegmentMetadataImpl segmentMetadata,
       @Nonnull IndexLoadingConfig indexLoadingConfig, @Nonnull SegmentDirectory.Writer segmentWriter) {
@@ -57,6 +61,7 @@ public class InvertedIndexHandler {
     _segmentWriter = segmentWriter;
     _segmentName = segmentMetadata.getName();
     _segmentVersion = SegmentVersion.valueOf(segmentMetadata.getVersion());
+    _numCreationThreads = indexLoadingConfig.getNumInvertedIndexCreationThreads();
 
     // Do not create inverted index for sorted column
     for (String column : indexLoadingConfig.getInvertedIndexColumns()) {
@@ -69,12 +74,23 @@ public class InvertedIndexHandler {
 
   public void createInvertedIndices()
       throws IOException {
-    for (ColumnMetadata columnMetadata : _invertedIndexColumns) {
-      createInvertedIndexForColumn(columnMetadata);
+    // The threads are shared by the inverted indexes created for all the columns
+    ExecutorService executorService = null;
+    if (_numCreationThreads > 1 && !_invertedIndexColumns.isEmpty()) {
+      executorService = Executors.newFixedThreadPool(_numCreationThreads);
+    }
+    try {
+      for (ColumnMetadata columnMetadata : _invertedIndexColumns) {
+        createInvertedIndexForColumn(columnMetadata, executorService);
+      }
+    } finally {
+      if (executorService != null) {
+        executorService.shutdownNow();
+      }
     }
   }
 
-  private void createInvertedIndexForColumn(ColumnMetadata columnMetadata)
+  private void createInvertedIndexForColumn(ColumnMetadata columnMetadata, ExecutorService executorService)
       throws IOException {
     String column = columnMetadata.getColumnName();
 
@@ -106,7 +122,7 @@ public class InvertedIndexHandler {
     int numDocs = columnMetadata.getTotalDocs();
     try (OffHeapBitmapInvertedIndexCreator creator = new OffHeapBitmapInvertedIndexCreator(_indexDir,
         columnMetadata.getFieldSpec(), columnMetadata.getCardinality(), numDocs,
-        columnMetadata.getTotalNumberOfEntries())) {
+        columnMetadata.getTotalNumberOfEntries(), executorService, _numCreationThreads)) {
       try (DataFileReader fwdIndex = getForwardIndexReader(columnMetadata, _segmentWriter)) {
         if (columnMetadata.isSingleValue()) {
           // Single-value column.
@@ -148,7 +164,12 @@ public class InvertedIndexHandler {
     if (columnMetadata.isSingleValue()) {
       return new FixedBitSingleValueReader(buffer, numRows, numBitsPerValue);
     } else {
-      return new FixedBitMultiValueReader(buffer, numRows, columnMetadata.getTotalNumberOfEntries(), numBitsPerValue);
+      int numValues = columnMetadata.getTotalNumberOfEntries();
+      if (FixedBitPrefixSumMultiValueReader.isPrefixSumFormat(buffer)) {
+        return new FixedBitPrefixSumMultiValueReader(buffer, numRows, numValues, numBitsPerValue);
+      } else {
+        return new FixedBitMultiValueReader(buffer, numRows, numValues, numBitsPerValue);
+      }
     }
   }
 }
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader.warmup;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+
+
+/**
+ * Runs the {@link SegmentWarmUpTask}s asynchronously on a shared bounded thread pool, and keeps track of the warm-up
+ * progress of the loaded segments.
+ */
+public class SegmentWarmUpManager {
+  private SegmentWarmUpManager() {
+  }
+
+  // Warm-up is bounded by the disk throughput, so use a small number of threads to not compete with the queries
+  private static final int NUM_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+  private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(NUM_THREADS,
+      new ThreadFactoryBuilder().setNameFormat("segment-warm-up-%d").setDaemon(true).build());
+
+  // Key is "tableName/segmentName"
+  private static final Map<String, SegmentWarmUpTask> WARM_UP_TASK_MAP = new ConcurrentHashMap<>();
+
+  /**
+   * Submits a task to warm up the given buffers of a segment.
+   */
+  public static SegmentWarmUpTask submit(String tableName, String segmentName, List<PinotDataBuffer> buffers) {
+    SegmentWarmUpTask warmUpTask = new SegmentWarmUpTask(tableName, segmentName, buffers);
+    WARM_UP_TASK_MAP.put(getKey(tableName, segmentName), warmUpTask);
+    warmUpTask.setFuture(EXECUTOR_SERVICE.submit(warmUpTask));
+    return warmUpTask;
+  }
+
+  /**
+   * Cancels the given task (blocks until the task no longer touches the buffers), and stops tracking it.
+   */
+  public static void cancel(SegmentWarmUpTask warmUpTask) {
+    warmUpTask.cancel();
+    WARM_UP_TASK_MAP.remove(getKey(warmUpTask.getTableName(), warmUpTask.getSegmentName()), warmUpTask);
+  }
+
+  /**
+   * Returns the warm-up progress of the loaded segments.
+   */
+  public static List<String> getWarmUpInfo() {
+    List<String> warmUpInfo = new ArrayList<>(WARM_UP_TASK_MAP.size());
+    for (SegmentWarmUpTask warmUpTask : WARM_UP_TASK_MAP.values()) {
+      warmUpInfo.add(warmUpTask.toString());
+    }
+    return warmUpInfo;
+  }
+
+  private static String getKey(String tableName, String segmentName) {
+    return tableName + '/' + segmentName;
+  }
+}
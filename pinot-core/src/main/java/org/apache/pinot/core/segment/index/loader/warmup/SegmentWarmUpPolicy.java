@@ -0,0 +1,34 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader.warmup;
+
+/**
+ * Policy to warm up the memory-mapped index buffers of a segment after it is loaded.
+ * <ul>
+ *   <li>NONE: do not warm up the segment</li>
+ *   <li>INDEXES: warm up the dictionaries, the inverted indexes and the forward indexes of the sorted columns, which
+ *   are read by most of the filters</li>
+ *   <li>ALL: warm up all the index buffers of all the columns</li>
+ * </ul>
+ */
+public enum SegmentWarmUpPolicy {
+  NONE, INDEXES, ALL;
+
+  public static final SegmentWarmUpPolicy DEFAULT_POLICY = NONE;
+}
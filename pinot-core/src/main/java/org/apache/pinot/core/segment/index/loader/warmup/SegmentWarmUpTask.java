@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader.warmup;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Task to warm up the index buffers of a segment by prefetching them into memory chunk by chunk.
+ * <p>The task must be cancelled with {@link #cancel()} before the buffers are closed, because touching an unmapped
+ * buffer will crash the JVM.
+ */
+@ThreadSafe
+public class SegmentWarmUpTask implements Runnable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentWarmUpTask.class);
+
+  // Check for cancellation after each chunk
+  private static final long CHUNK_SIZE = 1024 * 1024;
+
+  public enum Status {
+    PENDING, IN_PROGRESS, DONE, CANCELLED, FAILED
+  }
+
+  private final String _tableName;
+  private final String _segmentName;
+  private final List<PinotDataBuffer> _buffers;
+  private final long _totalBytes;
+  private final AtomicLong _warmedUpBytes = new AtomicLong();
+  private final CountDownLatch _finishedLatch = new CountDownLatch(1);
+
+  private volatile Status _status = Status.PENDING;
+  private volatile boolean _cancelled;
+  private volatile long _startTimeMs;
+  private volatile long _endTimeMs;
+  private volatile Future<?> _future;
+
+  public SegmentWarmUpTask(String tableName, String segmentName, List<PinotDataBuffer> buffers) {
+    _tableName = tableName;
+    _segmentName = segmentName;
+    _buffers = buffers;
+    long totalBytes = 0;
+    for (PinotDataBuffer buffer : buffers) {
+      totalBytes += buffer.size();
+    }
+    _totalBytes = totalBytes;
+  }
+
+  void setFuture(Future<?> future) {
+    _future = future;
+  }
+
+  @Override
+  public void run() {
+    if (_cancelled) {
+      _status = Status.CANCELLED;
+      _finishedLatch.countDown();
+      return;
+    }
+    _status = Status.IN_PROGRESS;
+    _startTimeMs = System.currentTimeMillis();
+    try {
+      long checksum = 0;
+      for (PinotDataBuffer buffer : _buffers) {
+        long size = buffer.size();
+        for (long offset = 0; offset < size; offset += CHUNK_SIZE) {
+          if (_cancelled) {
+            _status = Status.CANCELLED;
+            return;
+          }
+          long chunkSize = Math.min(CHUNK_SIZE, size - offset);
+          checksum += buffer.prefetch(offset, chunkSize);
+          _warmedUpBytes.addAndGet(chunkSize);
+        }
+      }
+      _status = Status.DONE;
+      LOGGER.info("Warmed up {} bytes for segment: {} of table: {} in {}ms (checksum: {})", _totalBytes, _segmentName,
+          _tableName, System.currentTimeMillis() - _startTimeMs, checksum);
+    } catch (Exception e) {
+      _status = Status.FAILED;
+      LOGGER.warn("Caught exception while warming up segment: {} of table: {}", _segmentName, _tableName, e);
+    } finally {
+      _endTimeMs = System.currentTimeMillis();
+      _finishedLatch.countDown();
+    }
+  }
+
+  /**
+   * Cancels the task, and blocks until the task no longer touches the buffers.
+   */
+  public void cancel() {
+    _cancelled = true;
+    Future<?> future = _future;
+    if (future != null && future.cancel(false)) {
+      // The task has not started yet and will never run, release the callers waiting for it to finish
+      _status = Status.CANCELLED;
+      _endTimeMs = System.currentTimeMillis();
+      _finishedLatch.countDown();
+      return;
+    }
+    try {
+      _finishedLatch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while cancelling warm-up for segment: " + _segmentName, e);
+    }
+  }
+
+  /**
+   * Waits for the task to finish, returns {@code false} if the task does not finish within the timeout.
+   */
+  public boolean awaitCompletion(long timeoutMs)
+      throws InterruptedException {
+    return _finishedLatch.await(timeoutMs, TimeUnit.MILLISECONDS);
+  }
+
+  public String getTableName() {
+    return _tableName;
+  }
+
+  public String getSegmentName() {
+    return _segmentName;
+  }
+
+  public Status getStatus() {
+    return _status;
+  }
+
+  public long getTotalBytes() {
+    return _totalBytes;
+  }
+
+  public long getWarmedUpBytes() {
+    return _warmedUpBytes.get();
+  }
+
+  @Override
+  public String toString() {
+    long startTimeMs = _startTimeMs;
+    long timeMs = 0;
+    if (startTimeMs > 0) {
+      long endTimeMs = _endTimeMs;
+      timeMs = (endTimeMs > 0 ? endTimeMs : System.currentTimeMillis()) - startTimeMs;
+    }
+    return "Table: " + _tableName + ", segment: " + _segmentName + ", status: " + _status + ", warmed up: "
+        + getWarmedUpBytes() + "/" + _totalBytes + " bytes, time: " + timeMs + "ms";
+  }
+}
@@ -21,21 +21,39 @@ package org.apache.pinot.core.segment.index.readers;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteOrder;
 import org.apache.pinot.core.bloom.BloomFilter;
 import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.bloom.SegmentBloomFilterFactory;
+import org.apache.pinot.core.bloom.SplitBlockBloomFilter;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 
 
 /**
  * Bloom filter reader
+ * <p>The {@link BloomFilterType#SPLIT_BLOCK} bloom filter is read directly from the data buffer, other types are
+ * deserialized onto the heap.
  */
 public class BloomFilterReader {
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
 
   private BloomFilter _bloomFilter;
 
   public BloomFilterReader(PinotDataBuffer bloomFilterBuffer)
       throws IOException {
+    // The bloom filter file is written with DataOutputStream in big-endian
+    long size = bloomFilterBuffer.size();
+    PinotDataBuffer bigEndianBuffer = bloomFilterBuffer.view(0, size, ByteOrder.BIG_ENDIAN);
+    if (BloomFilterType.valueOf(bigEndianBuffer.getInt(0)) == BloomFilterType.SPLIT_BLOCK) {
+      int version = bigEndianBuffer.getInt(Integer.BYTES);
+      _bloomFilter = new SplitBlockBloomFilter(bloomFilterBuffer.view(HEADER_SIZE, size, ByteOrder.BIG_ENDIAN));
+      if (version != _bloomFilter.getVersion()) {
+        throw new IOException(
+            "Unexpected bloom filter version (type: " + BloomFilterType.SPLIT_BLOCK + ", version: " + version);
+      }
+      return;
+    }
+
     byte[] buffer = new byte[(int) bloomFilterBuffer.size()];
     bloomFilterBuffer.copyTo(0, buffer);
 
@@ -54,4 +72,11 @@ public class BloomFilterReader {
   public boolean mightContain(Object key) {
     return _bloomFilter.mightContain(key.toString());
   }
+
+  /**
+   * Returns true if any of the keys might exist, false if none of them exists.
+   */
+  public boolean mightContainAny(Object[] keys) {
+    return _bloomFilter.mightContainAny(keys);
+  }
 }
@@ -0,0 +1,252 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.readers;
+
+import com.google.common.base.Preconditions;
+import org.apache.pinot.common.utils.StringUtil;
+import org.apache.pinot.core.io.util.FixedByteValueReaderWriter;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+
+
+/**
+ * Dictionary for STRING column where values are stored with variable length instead of being padded to the longest
+ * value.
+ * <p>File format (big-endian):
+ * <ul>
+ *   <li>Header (int): version, number of values, number of values per block, max value length in bytes</li>
+ *   <li>Block offsets (int): start offset of each block in the file, plus the end offset of the last block</li>
+ *   <li>Blocks: values are grouped into blocks of fixed number of values. The first value of the block is stored as
+ *   (length, UTF-8 bytes), the following values are front-coded against the previous value as (shared prefix length,
+ *   suffix length, suffix UTF-8 bytes). All lengths are stored as variable-length ints. With one value per block, the
+ *   block offsets become a plain offset array.</li>
+ * </ul>
+ * <p>Values are sorted in UTF-8 byte order (which is the same as the string order for the values accepted by the
+ * creator), so lookups compare in byte space without decoding the values into strings.
+ */
+public class VarLengthStringDictionary extends ImmutableDictionaryReader {
+  public static final int VERSION = 1;
+  public static final int NUM_HEADER_INTS = 4;
+  public static final int DEFAULT_NUM_VALUES_PER_BLOCK = 16;
+
+  private final PinotDataBuffer _dataBuffer;
+  private final int _numValuesPerBlock;
+  private final int _numBlocks;
+  private final int _maxValueLength;
+  // Thread local (reusable) byte[] to decode the front-coded values.
+  private final ThreadLocal<byte[]> _reusableBytes = ThreadLocal.withInitial(() -> new byte[_maxValueLength]);
+
+  public VarLengthStringDictionary(PinotDataBuffer dataBuffer, int length) {
+    // The fixed-byte reader is used to read the header and the block offsets
+    super(new FixedByteValueReaderWriter(dataBuffer), length);
+    _dataBuffer = dataBuffer;
+    int version = getInt(0);
+    Preconditions.checkState(version == VERSION, "Unsupported var-length dictionary version: %s", version);
+    int numValues = getInt(1);
+    Preconditions.checkState(numValues == length, "Number of values mismatch, expected: %s, got: %s", length,
+        numValues);
+    _numValuesPerBlock = getInt(2);
+    _numBlocks = (length + _numValuesPerBlock - 1) / _numValuesPerBlock;
+    _maxValueLength = getInt(3);
+  }
+
+  @Override
+  public int indexOf(Object rawValue) {
+    int index = insertionIndexOf(rawValue);
+    return (index >= 0) ? index : -1;
+  }
+
+  @Override
+  public int insertionIndexOf(Object rawValue) {
+    return binarySearch((String) rawValue);
+  }
+
+  @Override
+  protected int binarySearch(String value) {
+    byte[] valueBytes = StringUtil.encodeUtf8(value);
+
+    // Find the last block whose first value is smaller than or equal to the value
+    int low = 0;
+    int high = _numBlocks - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int compareResult = compareBlockHead(mid, valueBytes);
+      if (compareResult < 0) {
+        low = mid + 1;
+      } else if (compareResult > 0) {
+        high = mid - 1;
+      } else {
+        return mid * _numValuesPerBlock;
+      }
+    }
+    if (high < 0) {
+      return -1;
+    }
+
+    // Scan the remaining values of the block
+    int startDictId = high * _numValuesPerBlock;
+    int endDictId = Math.min(startDictId + _numValuesPerBlock, length());
+    byte[] buffer = getBuffer();
+    long offset = getBlockOffset(high);
+    int headLength = readVarInt(offset);
+    offset += getVarIntSize(headLength);
+    _dataBuffer.copyTo(offset, buffer, 0, headLength);
+    offset += headLength;
+    for (int dictId = startDictId + 1; dictId < endDictId; dictId++) {
+      int prefixLength = readVarInt(offset);
+      offset += getVarIntSize(prefixLength);
+      int suffixLength = readVarInt(offset);
+      offset += getVarIntSize(suffixLength);
+      _dataBuffer.copyTo(offset, buffer, prefixLength, suffixLength);
+      offset += suffixLength;
+      int compareResult = compare(buffer, prefixLength + suffixLength, valueBytes);
+      if (compareResult == 0) {
+        return dictId;
+      }
+      if (compareResult > 0) {
+        return -(dictId + 1);
+      }
+    }
+    return -(endDictId + 1);
+  }
+
+  @Override
+  public String get(int dictId) {
+    return getString(dictId, getBuffer());
+  }
+
+  @Override
+  public String getStringValue(int dictId) {
+    return getString(dictId, getBuffer());
+  }
+
+  @Override
+  public void readStringValues(int[] dictIds, int inStartPos, int length, String[] outValues, int outStartPos) {
+    byte[] buffer = getBuffer();
+    int inEndPos = inStartPos + length;
+    for (int i = inStartPos; i < inEndPos; i++) {
+      outValues[outStartPos++] = getString(dictIds[i], buffer);
+    }
+  }
+
+  @Override
+  protected byte[] getBuffer() {
+    return _reusableBytes.get();
+  }
+
+  private String getString(int dictId, byte[] buffer) {
+    int blockId = dictId / _numValuesPerBlock;
+    int numValuesToSkip = dictId - blockId * _numValuesPerBlock;
+    long offset = getBlockOffset(blockId);
+    int valueLength = readVarInt(offset);
+    offset += getVarIntSize(valueLength);
+    if (numValuesToSkip == 0) {
+      // No need to copy the bytes for the first value of the block
+      return StringUtil.decodeUtf8(readBytes(offset, valueLength));
+    }
+    _dataBuffer.copyTo(offset, buffer, 0, valueLength);
+    offset += valueLength;
+    for (int i = 0; i < numValuesToSkip; i++) {
+      int prefixLength = readVarInt(offset);
+      offset += getVarIntSize(prefixLength);
+      int suffixLength = readVarInt(offset);
+      offset += getVarIntSize(suffixLength);
+      _dataBuffer.copyTo(offset, buffer, prefixLength, suffixLength);
+      offset += suffixLength;
+      valueLength = prefixLength + suffixLength;
+    }
+    return StringUtil.decodeUtf8(buffer, 0, valueLength);
+  }
+
+  private byte[] readBytes(long offset, int length) {
+    byte[] bytes = new byte[length];
+    _dataBuffer.copyTo(offset, bytes, 0, length);
+    return bytes;
+  }
+
+  private long getBlockOffset(int blockId) {
+    return getInt(NUM_HEADER_INTS + blockId);
+  }
+
+  /**
+   * Compares the first value of the given block with the given bytes without copying the value.
+   */
+  private int compareBlockHead(int blockId, byte[] valueBytes) {
+    long offset = getBlockOffset(blockId);
+    int headLength = readVarInt(offset);
+    offset += getVarIntSize(headLength);
+    int minLength = Math.min(headLength, valueBytes.length);
+    for (int i = 0; i < minLength; i++) {
+      int headByte = Byte.toUnsignedInt(_dataBuffer.getByte(offset + i));
+      int valueByte = Byte.toUnsignedInt(valueBytes[i]);
+      if (headByte != valueByte) {
+        return headByte - valueByte;
+      }
+    }
+    return headLength - valueBytes.length;
+  }
+
+  private static int compare(byte[] buffer, int length, byte[] valueBytes) {
+    int minLength = Math.min(length, valueBytes.length);
+    for (int i = 0; i < minLength; i++) {
+      int bufferByte = Byte.toUnsignedInt(buffer[i]);
+      int valueByte = Byte.toUnsignedInt(valueBytes[i]);
+      if (bufferByte != valueByte) {
+        return bufferByte - valueByte;
+      }
+    }
+    return length - valueBytes.length;
+  }
+
+  private int readVarInt(long offset) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = _dataBuffer.getByte(offset++);
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+
+  /**
+   * Returns the number of bytes used to store the given non-negative int as variable-length int.
+   */
+  public static int getVarIntSize(int value) {
+    int size = 1;
+    while ((value >>>= 7) != 0) {
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * Writes the given non-negative int as variable-length int at the given offset, and returns the number of bytes
+   * written.
+   */
+  public static int writeVarInt(PinotDataBuffer dataBuffer, long offset, int value) {
+    int size = 0;
+    while ((value & ~0x7F) != 0) {
+      dataBuffer.putByte(offset + size++, (byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    dataBuffer.putByte(offset + size++, (byte) value);
+    return size;
+  }
+}
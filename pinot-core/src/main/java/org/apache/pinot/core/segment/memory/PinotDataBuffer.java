@@ -57,6 +57,8 @@ public abstract class PinotDataBuffer implements Closeable {
       NATIVE_ORDER == ByteOrder.BIG_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PinotDataBuffer.class);
+  // Size of the OS memory page
+  private static final int PAGE_SIZE = 4096;
 
   // We use this threshold to decide whether we use bulk bytes processing or not
   // With number of bytes less than this threshold, we get/put bytes one by one
@@ -386,6 +388,22 @@ public abstract class PinotDataBuffer implements Closeable {
     return toDirectByteBuffer(offset, size, order());
   }
 
+  /**
+   * Prefetches the range [offset, offset + size) of the buffer into memory by touching one byte per page. For
+   * memory-mapped buffers, this has the same effect as madvise(MADV_WILLNEED): the sequential page faults let the OS
+   * read ahead, so that the pages are resident before the queries read them in random order.
+   *
+   * @return Sum of the touched bytes, which should be consumed by the caller so that the reads are not eliminated
+   */
+  public long prefetch(long offset, long size) {
+    long checksum = 0;
+    long endOffset = offset + size;
+    for (long pageOffset = offset; pageOffset < endOffset; pageOffset += PAGE_SIZE) {
+      checksum += getByte(pageOffset);
+    }
+    return checksum;
+  }
+
   public abstract void flush();
 
   protected abstract void release()
@@ -19,19 +19,23 @@
 package org.apache.pinot.core.util.trace;
 
 import java.util.concurrent.Callable;
+import org.apache.pinot.core.query.scheduler.resources.QueryMemoryTracker;
 
 
 /**
  * Wrapper class for {@link Callable} to automatically register/un-register itself to/from a request.
+ * <p>The {@link QueryMemoryTracker} of the request is also propagated to the thread running the job.
  */
 public abstract class TraceCallable<V> implements Callable<V> {
   private final TraceContext.TraceEntry _parentTraceEntry;
+  private final QueryMemoryTracker _queryMemoryTracker;
 
   /**
    * If trace is not enabled, parent trace entry will be null.
    */
   public TraceCallable() {
     _parentTraceEntry = TraceContext.getTraceEntry();
+    _queryMemoryTracker = QueryMemoryTracker.get();
   }
 
   @Override
@@ -40,12 +44,18 @@ public abstract class TraceCallable<V> implements Callable<V> {
     if (_parentTraceEntry != null) {
       TraceContext.registerThreadToRequest(_parentTraceEntry);
     }
+    if (_queryMemoryTracker != null) {
+      QueryMemoryTracker.register(_queryMemoryTracker);
+    }
     try {
       return callJob();
     } finally {
       if (_parentTraceEntry != null) {
         TraceContext.unregisterThreadFromRequest();
       }
+      if (_queryMemoryTracker != null) {
+        QueryMemoryTracker.unregister();
+      }
     }
   }
 
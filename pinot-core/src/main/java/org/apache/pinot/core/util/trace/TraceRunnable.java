@@ -18,17 +18,23 @@
  */
 package org.apache.pinot.core.util.trace;
 
+import org.apache.pinot.core.query.scheduler.resources.QueryMemoryTracker;
+
+
 /**
  * Wrapper class for {@link Runnable} to automatically register/un-register itself to/from a request.
+ * <p>The {@link QueryMemoryTracker} of the request is also propagated to the thread running the job.
  */
 public abstract class TraceRunnable implements Runnable {
   private final TraceContext.TraceEntry _parentTraceEntry;
+  private final QueryMemoryTracker _queryMemoryTracker;
 
   /**
    * If trace is not enabled, parent trace entry will be null.
    */
   public TraceRunnable() {
     _parentTraceEntry = TraceContext.getTraceEntry();
+    _queryMemoryTracker = QueryMemoryTracker.get();
   }
 
   @Override
@@ -36,12 +42,18 @@ public abstract class TraceRunnable implements Runnable {
     if (_parentTraceEntry != null) {
       TraceContext.registerThreadToRequest(_parentTraceEntry);
     }
+    if (_queryMemoryTracker != null) {
+      QueryMemoryTracker.register(_queryMemoryTracker);
+    }
     try {
       runJob();
     } finally {
       if (_parentTraceEntry != null) {
         TraceContext.unregisterThreadFromRequest();
       }
+      if (_queryMemoryTracker != null) {
+        QueryMemoryTracker.unregister();
+      }
     }
   }
 
@@ -232,6 +232,26 @@ public class DataFetcherTest {
     }
   }
 
+  @Test
+  public void testFetchContiguousValues() {
+    int startDocId = _random.nextInt(NUM_ROWS);
+    int length = _random.nextInt(NUM_ROWS - startDocId) + 1;
+    int[] docIds = new int[length];
+    for (int i = 0; i < length; i++) {
+      docIds[i] = startDocId + i;
+    }
+
+    int[] intValues = new int[length];
+    _dataFetcher.fetchIntValues(_dataFetcher.getColumnIndex(INT_METRIC_NAME), docIds, length, intValues);
+    String[] stringValues = new String[length];
+    _dataFetcher.fetchStringValues(_dataFetcher.getColumnIndex(DIMENSION_NAME), docIds, length, stringValues);
+
+    for (int i = 0; i < length; i++) {
+      Assert.assertEquals(intValues[i], _intMetricValues[startDocId + i], _errorMessage);
+      Assert.assertEquals(stringValues[i], _dimensionValues[startDocId + i], _errorMessage);
+    }
+  }
+
   @AfterClass
   public void cleanUp() {
     FileUtils.deleteQuietly(new File(INDEX_DIR_PATH));
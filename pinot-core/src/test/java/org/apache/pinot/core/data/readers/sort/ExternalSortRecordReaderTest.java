@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.data.readers.sort;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.config.TableConfig;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.utils.CommonConstants;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.GenericRowRecordReader;
+import org.apache.pinot.core.data.readers.PinotSegmentRecordReader;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.data.recordtransformer.CompoundTransformer;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class ExternalSortRecordReaderTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "ExternalSortRecordReaderTest");
+  private static final int NUM_ROWS = 10000;
+  private static final int NUM_STRING_VALUES = 10;
+  private static final int MAX_NUM_MULTI_VALUES = 5;
+  // Small enough to spill multiple runs
+  private static final long MAX_SORT_MEMORY_IN_BYTES = 64 * 1024L;
+  private static final List<String> SORT_ORDER = Arrays.asList("stringSV", "intSV");
+
+  private static final Schema SCHEMA = new Schema.SchemaBuilder().setSchemaName("testSchema")
+      .addSingleValueDimension("id", FieldSpec.DataType.INT)
+      .addSingleValueDimension("stringSV", FieldSpec.DataType.STRING)
+      .addSingleValueDimension("intSV", FieldSpec.DataType.INT)
+      .addMultiValueDimension("longMV", FieldSpec.DataType.LONG)
+      .addMetric("doubleMetric", FieldSpec.DataType.DOUBLE).build();
+
+  private final List<GenericRow> _rows = new ArrayList<>(NUM_ROWS);
+  private final List<GenericRow> _sortedRows = new ArrayList<>(NUM_ROWS);
+
+  @BeforeClass
+  public void setUp() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+
+    Random random = new Random();
+    for (int i = 0; i < NUM_ROWS; i++) {
+      GenericRow row = new GenericRow();
+      row.putField("id", i);
+      row.putField("stringSV", "value_" + random.nextInt(NUM_STRING_VALUES));
+      // Duplicate sort keys to verify that the sort is stable
+      row.putField("intSV", random.nextInt(NUM_ROWS / 10));
+      Object[] longValues = new Object[random.nextInt(MAX_NUM_MULTI_VALUES) + 1];
+      for (int j = 0; j < longValues.length; j++) {
+        longValues[j] = random.nextLong();
+      }
+      row.putField("longMV", longValues);
+      row.putField("doubleMetric", random.nextDouble());
+      _rows.add(row);
+    }
+
+    _sortedRows.addAll(_rows);
+    _sortedRows.sort(Comparator.comparing((GenericRow row) -> (String) row.getValue("stringSV"))
+        .thenComparing(row -> (Integer) row.getValue("intSV")));
+  }
+
+  @Test
+  public void testSpilledSort()
+      throws Exception {
+    File spillDir = new File(TEMP_DIR, "spilled");
+    ExternalSortRecordReader recordReader = getRecordReader(spillDir, MAX_SORT_MEMORY_IN_BYTES);
+    File[] runFiles = spillDir.listFiles();
+    Assert.assertNotNull(runFiles);
+    Assert.assertTrue(runFiles.length > 1);
+
+    checkSortedRows(recordReader);
+    recordReader.rewind();
+    checkSortedRows(recordReader);
+
+    recordReader.close();
+    Assert.assertFalse(spillDir.exists());
+  }
+
+  @Test
+  public void testInMemorySort()
+      throws Exception {
+    File spillDir = new File(TEMP_DIR, "inMemory");
+    try (ExternalSortRecordReader recordReader = getRecordReader(spillDir, Long.MAX_VALUE)) {
+      Assert.assertFalse(spillDir.exists());
+
+      checkSortedRows(recordReader);
+      recordReader.rewind();
+      checkSortedRows(recordReader);
+    }
+  }
+
+  @Test
+  public void testSortedSegmentCreation()
+      throws Exception {
+    SegmentGeneratorConfig config = new SegmentGeneratorConfig(SCHEMA);
+    config.setOutDir(new File(TEMP_DIR, "segment").getAbsolutePath());
+    config.setSegmentName("testSegment");
+    config.setColumnSortOrder(SORT_ORDER);
+    config.setMaxSortMemoryInBytes(MAX_SORT_MEMORY_IN_BYTES);
+
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(config, new GenericRowRecordReader(_rows, SCHEMA));
+    driver.build();
+    File indexDir = driver.getOutputDirectory();
+
+    // Only the segment should remain in the output directory
+    File[] files = new File(config.getOutDir()).listFiles();
+    Assert.assertNotNull(files);
+    Assert.assertEquals(files.length, 1);
+
+    SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl(indexDir);
+    Assert.assertTrue(segmentMetadata.getColumnMetadataFor("stringSV").isSorted());
+    Assert.assertFalse(segmentMetadata.getColumnMetadataFor("id").isSorted());
+    try (PinotSegmentRecordReader recordReader = new PinotSegmentRecordReader(indexDir)) {
+      checkSortedRows(recordReader);
+    }
+  }
+
+  @Test
+  public void testSortedSegmentCreationFromTableConfig()
+      throws Exception {
+    TableConfig tableConfig =
+        new TableConfig.Builder(CommonConstants.Helix.TableType.OFFLINE).setTableName("testTable")
+            .setSortedColumn("stringSV").build();
+    SegmentGeneratorConfig config = new SegmentGeneratorConfig(tableConfig, SCHEMA);
+    Assert.assertEquals(config.getColumnSortOrder(), Arrays.asList("stringSV"));
+    config.setOutDir(new File(TEMP_DIR, "tableConfigSegment").getAbsolutePath());
+    config.setSegmentName("testSegment");
+    config.setMaxSortMemoryInBytes(MAX_SORT_MEMORY_IN_BYTES);
+
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(config, new GenericRowRecordReader(_rows, SCHEMA));
+    driver.build();
+    File indexDir = driver.getOutputDirectory();
+
+    SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl(indexDir);
+    Assert.assertEquals(segmentMetadata.getTotalDocs(), NUM_ROWS);
+    Assert.assertTrue(segmentMetadata.getColumnMetadataFor("stringSV").isSorted());
+    try (PinotSegmentRecordReader recordReader = new PinotSegmentRecordReader(indexDir)) {
+      String previousValue = "";
+      while (recordReader.hasNext()) {
+        String value = (String) recordReader.next().getValue("stringSV");
+        Assert.assertTrue(value.compareTo(previousValue) >= 0);
+        previousValue = value;
+      }
+    }
+  }
+
+  private ExternalSortRecordReader getRecordReader(File spillDir, long maxMemoryInBytes)
+      throws Exception {
+    return new ExternalSortRecordReader(new GenericRowRecordReader(_rows, SCHEMA),
+        CompoundTransformer.getDefaultTransformer(SCHEMA), SORT_ORDER, spillDir, maxMemoryInBytes);
+  }
+
+  private void checkSortedRows(RecordReader recordReader)
+      throws Exception {
+    for (GenericRow expected : _sortedRows) {
+      Assert.assertTrue(recordReader.hasNext());
+      GenericRow actual = recordReader.next();
+      Assert.assertEquals(actual.getValue("id"), expected.getValue("id"));
+      Assert.assertEquals(actual.getValue("stringSV"), expected.getValue("stringSV"));
+      Assert.assertEquals(actual.getValue("intSV"), expected.getValue("intSV"));
+      Assert.assertEquals((Object[]) actual.getValue("longMV"), (Object[]) expected.getValue("longMV"));
+      Assert.assertEquals(actual.getValue("doubleMetric"), expected.getValue("doubleMetric"));
+    }
+    Assert.assertFalse(recordReader.hasNext());
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+}
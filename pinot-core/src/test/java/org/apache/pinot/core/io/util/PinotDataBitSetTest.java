@@ -96,6 +96,42 @@ public class PinotDataBitSetTest {
     }
   }
 
+  @Test
+  public void testBulkReadInt()
+      throws IOException {
+    for (int numBitsPerValue = 1; numBitsPerValue <= Integer.SIZE; numBitsPerValue++) {
+      int mask = numBitsPerValue == Integer.SIZE ? -1 : (1 << numBitsPerValue) - 1;
+      int numValues = RANDOM.nextInt(1000) + 1000;
+      int[] values = new int[numValues];
+      int dataBufferSize = (numValues * numBitsPerValue + Byte.SIZE - 1) / Byte.SIZE;
+
+      try (PinotDataBitSet dataBitSet = getEmptyBitSet(dataBufferSize)) {
+        for (int i = 0; i < numValues; i++) {
+          int value = RANDOM.nextInt() & mask;
+          values[i] = value;
+          dataBitSet.writeInt(i, numBitsPerValue, value);
+        }
+
+        // Read ranges covering unaligned head, aligned 32-value groups and unaligned tail, with and without the
+        // reusable unpack buffer
+        int[] buffer = new int[numValues];
+        int[] unpackBuffer = new int[numBitsPerValue];
+        for (int i = 0; i < 100; i++) {
+          int startIndex = RANDOM.nextInt(numValues);
+          int numValuesToRead = RANDOM.nextInt(numValues - startIndex + 1);
+          if (i % 2 == 0) {
+            dataBitSet.readInt(startIndex, numBitsPerValue, numValuesToRead, buffer);
+          } else {
+            dataBitSet.readInt(startIndex, numBitsPerValue, numValuesToRead, buffer, 0, unpackBuffer);
+          }
+          for (int j = 0; j < numValuesToRead; j++) {
+            assertEquals(buffer[j], values[startIndex + j]);
+          }
+        }
+      }
+    }
+  }
+
   @Test
   public void testSetUnsetBit()
       throws IOException {
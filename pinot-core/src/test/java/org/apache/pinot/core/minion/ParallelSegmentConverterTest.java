@@ -0,0 +1,297 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.minion;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.DimensionFieldSpec;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.MetricFieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.data.TimeFieldSpec;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.GenericRowRecordReader;
+import org.apache.pinot.core.data.readers.PinotSegmentRecordReader;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.minion.segment.RecordAggregator;
+import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class ParallelSegmentConverterTest {
+  private static final File WORKING_DIR = new File(FileUtils.getTempDirectory(), "ParallelSegmentConverterTest");
+  private static final File ORIGINAL_SEGMENT_DIR = new File(WORKING_DIR, "originalSegment");
+
+  private static final int NUM_ROWS = 10000;
+  private static final int REPEAT_ROWS = 5;
+  private static final int NUM_SEGMENTS = 10;
+  private static final int NUM_THREADS = 4;
+  private static final int NUM_SMALL_SEGMENTS = 100;
+  private static final int NUM_ROWS_PER_SMALL_SEGMENT = 10;
+  private static final String TABLE_NAME = "testTable";
+  private static final String INPUT_SEGMENT_NAME_PREFIX = "testSegment_";
+  private static final String D1 = "d1";
+  private static final String D2 = "d2";
+  private static final String M1 = "m1";
+  private static final String T = "t";
+
+  private static final RecordAggregator SUM_AGGREGATOR = (rows) -> {
+    GenericRow result = rows.get(0);
+    for (int i = 1; i < rows.size(); i++) {
+      int aggregatedValue = ((Number) result.getValue(M1)).intValue() + ((Number) rows.get(i).getValue(M1)).intValue();
+      result.putField(M1, aggregatedValue);
+    }
+    return result;
+  };
+
+  private List<File> _segmentIndexDirList;
+  private Schema _schema;
+  private final long _referenceTimestamp = System.currentTimeMillis();
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteDirectory(WORKING_DIR);
+    _segmentIndexDirList = new ArrayList<>(NUM_SEGMENTS);
+
+    Schema schema = new Schema();
+    _schema = schema;
+    schema.addField(new DimensionFieldSpec(D1, FieldSpec.DataType.INT, true));
+    schema.addField(new DimensionFieldSpec(D2, FieldSpec.DataType.STRING, true));
+    schema.addField(new MetricFieldSpec(M1, FieldSpec.DataType.INT));
+    schema.addField(new TimeFieldSpec(T, FieldSpec.DataType.LONG, TimeUnit.MILLISECONDS));
+
+    List<GenericRow> rows = new ArrayList<>(NUM_ROWS);
+    long timestamp = _referenceTimestamp;
+    for (int i = 0; i < NUM_ROWS; i++) {
+      int dimensionValue = i % (NUM_ROWS / REPEAT_ROWS);
+      GenericRow row = new GenericRow();
+      row.putField(D1, dimensionValue);
+      row.putField(D2, Integer.toString(dimensionValue));
+      row.putField(M1, dimensionValue);
+      row.putField(T, timestamp++);
+      rows.add(row);
+    }
+
+    for (int i = 0; i < NUM_SEGMENTS; i++) {
+      String segmentName = INPUT_SEGMENT_NAME_PREFIX + i;
+      RecordReader recordReader = new GenericRowRecordReader(rows, schema);
+
+      SegmentGeneratorConfig config = new SegmentGeneratorConfig(schema);
+      config.setOutDir(ORIGINAL_SEGMENT_DIR.getPath());
+      config.setTableName(TABLE_NAME);
+      config.setSegmentName(segmentName);
+      SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+      driver.init(config, recordReader);
+      driver.build();
+
+      _segmentIndexDirList.add(new File(ORIGINAL_SEGMENT_DIR, segmentName));
+    }
+  }
+
+  @Test
+  public void testSegmentConcatenate()
+      throws Exception {
+    ParallelSegmentConverter segmentConverter =
+        new ParallelSegmentConverter.Builder().setTableName(TABLE_NAME).setSegmentName("segmentConcatenate")
+            .setInputIndexDirs(_segmentIndexDirList).setWorkingDir(new File(WORKING_DIR, "concatenate"))
+            .setRecordTransformer((row) -> row).setNumThreads(NUM_THREADS).build();
+
+    List<File> result = segmentConverter.convertSegment();
+
+    Assert.assertEquals(result.size(), 1);
+    List<GenericRow> outputRows = readRows(result.get(0));
+    Assert.assertEquals(outputRows.size(), NUM_ROWS * NUM_SEGMENTS);
+
+    // The rows should be concatenated in the order of the input segments
+    int rowCount = 0;
+    for (int i = 0; i < NUM_SEGMENTS; i++) {
+      long timestamp = _referenceTimestamp;
+      for (int j = 0; j < NUM_ROWS; j++) {
+        int expectedValue = j % (NUM_ROWS / REPEAT_ROWS);
+        GenericRow row = outputRows.get(rowCount++);
+        Assert.assertEquals(row.getValue(D1), expectedValue);
+        Assert.assertEquals(row.getValue(D2), Integer.toString(expectedValue));
+        Assert.assertEquals(row.getValue(M1), expectedValue);
+        Assert.assertEquals(row.getValue(T), timestamp++);
+      }
+    }
+  }
+
+  @Test
+  public void testSegmentRollupWithSpilling()
+      throws Exception {
+    // Roll up on the dimensions only so that the rows from all the segments are aggregated into the same groups, and
+    // use a small memory budget so that the sorted rows get spilled to disk
+    ParallelSegmentConverter segmentConverter =
+        new ParallelSegmentConverter.Builder().setTableName(TABLE_NAME).setSegmentName("segmentRollup")
+            .setInputIndexDirs(_segmentIndexDirList).setWorkingDir(new File(WORKING_DIR, "rollup"))
+            .setRecordTransformer((row) -> {
+              row.putField(T, _referenceTimestamp);
+              return row;
+            }).setGroupByColumns(Arrays.asList(D1, D2, T)).setRecordAggregator(SUM_AGGREGATOR)
+            .setNumThreads(NUM_THREADS).setMaxMemoryInBytes(64 * 1024).build();
+
+    List<File> result = segmentConverter.convertSegment();
+
+    Assert.assertEquals(result.size(), 1);
+    List<GenericRow> outputRows = readRows(result.get(0));
+    Assert.assertEquals(outputRows.size(), NUM_ROWS / REPEAT_ROWS);
+
+    // The rows should be sorted on the group-by columns
+    int expectedValue = 0;
+    for (GenericRow row : outputRows) {
+      Assert.assertEquals(row.getValue(D1), expectedValue);
+      Assert.assertEquals(row.getValue(D2), Integer.toString(expectedValue));
+      Assert.assertEquals(row.getValue(M1), expectedValue * NUM_SEGMENTS * REPEAT_ROWS);
+      Assert.assertEquals(row.getValue(T), _referenceTimestamp);
+      expectedValue++;
+    }
+  }
+
+  @Test
+  public void testPartitionedRollup()
+      throws Exception {
+    int numPartitions = 3;
+    ParallelSegmentConverter segmentConverter =
+        new ParallelSegmentConverter.Builder().setTableName(TABLE_NAME).setSegmentName("segmentPartitionedRollup")
+            .setInputIndexDirs(_segmentIndexDirList).setWorkingDir(new File(WORKING_DIR, "partitionedRollup"))
+            .setRecordTransformer((row) -> row).setGroupByColumns(Arrays.asList(D1, D2))
+            .setRecordAggregator(SUM_AGGREGATOR).setTotalNumPartition(numPartitions).setNumThreads(NUM_THREADS)
+            .build();
+
+    List<File> result = segmentConverter.convertSegment();
+
+    // Each group should be fully aggregated within a single partition
+    Assert.assertEquals(result.size(), numPartitions);
+    boolean[] groupSeen = new boolean[NUM_ROWS / REPEAT_ROWS];
+    for (File resultFile : result) {
+      for (GenericRow row : readRows(resultFile)) {
+        int value = (int) row.getValue(D1);
+        Assert.assertFalse(groupSeen[value]);
+        groupSeen[value] = true;
+        Assert.assertEquals(row.getValue(D2), Integer.toString(value));
+        Assert.assertEquals(row.getValue(M1), value * NUM_SEGMENTS * REPEAT_ROWS);
+      }
+    }
+    for (boolean seen : groupSeen) {
+      Assert.assertTrue(seen);
+    }
+  }
+
+  @Test
+  public void testMultipleOutput()
+      throws Exception {
+    ParallelSegmentConverter segmentConverter =
+        new ParallelSegmentConverter.Builder().setTableName(TABLE_NAME).setSegmentName("segmentMultipleOutput")
+            .setInputIndexDirs(_segmentIndexDirList).setWorkingDir(new File(WORKING_DIR, "multipleOutput"))
+            .setRecordTransformer((row) -> row).setTotalNumPartition(3).setNumThreads(NUM_THREADS).build();
+
+    List<File> result = segmentConverter.convertSegment();
+
+    Assert.assertEquals(result.size(), 3);
+    int numRows = 0;
+    for (File resultFile : result) {
+      numRows += readRows(resultFile).size();
+    }
+    Assert.assertEquals(numRows, NUM_ROWS * NUM_SEGMENTS);
+  }
+
+  @Test
+  public void testManySmallSegments()
+      throws Exception {
+    File smallSegmentDir = new File(WORKING_DIR, "smallSegments");
+    List<File> inputIndexDirs = new ArrayList<>(NUM_SMALL_SEGMENTS);
+    int rowId = 0;
+    for (int i = 0; i < NUM_SMALL_SEGMENTS; i++) {
+      List<GenericRow> rows = new ArrayList<>(NUM_ROWS_PER_SMALL_SEGMENT);
+      for (int j = 0; j < NUM_ROWS_PER_SMALL_SEGMENT; j++) {
+        GenericRow row = new GenericRow();
+        row.putField(D1, rowId);
+        row.putField(D2, Integer.toString(rowId));
+        row.putField(M1, rowId);
+        row.putField(T, _referenceTimestamp + rowId);
+        rows.add(row);
+        rowId++;
+      }
+      String segmentName = INPUT_SEGMENT_NAME_PREFIX + i;
+      SegmentGeneratorConfig config = new SegmentGeneratorConfig(_schema);
+      config.setOutDir(smallSegmentDir.getPath());
+      config.setTableName(TABLE_NAME);
+      config.setSegmentName(segmentName);
+      SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+      driver.init(config, new GenericRowRecordReader(rows, _schema));
+      driver.build();
+      inputIndexDirs.add(new File(smallSegmentDir, segmentName));
+    }
+
+    File workingDir = new File(WORKING_DIR, "manySmall");
+    ParallelSegmentConverter segmentConverter =
+        new ParallelSegmentConverter.Builder().setTableName(TABLE_NAME).setSegmentName("segmentManySmall")
+            .setInputIndexDirs(inputIndexDirs).setWorkingDir(workingDir).setRecordTransformer((row) -> row)
+            .setTotalNumPartition(3).setNumThreads(NUM_THREADS).build();
+
+    List<File> result = segmentConverter.convertSegment();
+
+    // The rows are spooled per mapper thread instead of per input segment
+    File[] mapperDirs = workingDir.listFiles((dir, name) -> name.startsWith("mapper_"));
+    Assert.assertNotNull(mapperDirs);
+    Assert.assertEquals(mapperDirs.length, NUM_THREADS);
+
+    Assert.assertEquals(result.size(), 3);
+    boolean[] rowSeen = new boolean[NUM_SMALL_SEGMENTS * NUM_ROWS_PER_SMALL_SEGMENT];
+    for (File resultFile : result) {
+      for (GenericRow row : readRows(resultFile)) {
+        int value = (int) row.getValue(D1);
+        Assert.assertFalse(rowSeen[value]);
+        rowSeen[value] = true;
+        Assert.assertEquals(row.getValue(D2), Integer.toString(value));
+        Assert.assertEquals(row.getValue(T), _referenceTimestamp + value);
+      }
+    }
+    for (boolean seen : rowSeen) {
+      Assert.assertTrue(seen);
+    }
+  }
+
+  private static List<GenericRow> readRows(File indexDir)
+      throws Exception {
+    List<GenericRow> rows = new ArrayList<>();
+    try (PinotSegmentRecordReader pinotSegmentRecordReader = new PinotSegmentRecordReader(indexDir)) {
+      while (pinotSegmentRecordReader.hasNext()) {
+        rows.add(pinotSegmentRecordReader.next());
+      }
+    }
+    return rows;
+  }
+
+  @AfterClass
+  public void tearDown()
+      throws Exception {
+    FileUtils.deleteDirectory(WORKING_DIR);
+  }
+}
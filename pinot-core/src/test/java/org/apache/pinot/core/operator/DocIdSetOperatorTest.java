@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pinot.core.operator.blocks.DocIdSetBlock;
+import org.apache.pinot.core.operator.filter.BaseFilterOperator;
+import org.apache.pinot.core.operator.filter.MatchAllFilterOperator;
+import org.apache.pinot.core.operator.filter.TestFilterOperator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class DocIdSetOperatorTest {
+
+  @Test
+  public void testDocIdRange() {
+    int[] docIds = new int[]{2, 3, 10, 15, 16, 28, 30};
+    Assert.assertEquals(getDocIds(new TestFilterOperator(docIds), 0, Integer.MAX_VALUE),
+        new int[]{2, 3, 10, 15, 16, 28, 30});
+    Assert.assertEquals(getDocIds(new TestFilterOperator(docIds), 0, 10), new int[]{2, 3});
+    Assert.assertEquals(getDocIds(new TestFilterOperator(docIds), 10, 20), new int[]{10, 15, 16});
+    Assert.assertEquals(getDocIds(new TestFilterOperator(docIds), 20, 40), new int[]{28, 30});
+    Assert.assertEquals(getDocIds(new TestFilterOperator(docIds), 17, 28), new int[0]);
+  }
+
+  @Test
+  public void testSplitMatchAll() {
+    int numDocs = 25_000;
+    int numDocsPerSplit = 7_000;
+    int expectedDocId = 0;
+    for (int startDocId = 0; startDocId < numDocs; startDocId += numDocsPerSplit) {
+      int endDocId = Math.min(startDocId + numDocsPerSplit, numDocs);
+      for (int docId : getDocIds(new MatchAllFilterOperator(numDocs), startDocId, endDocId)) {
+        Assert.assertEquals(docId, expectedDocId++);
+      }
+    }
+    Assert.assertEquals(expectedDocId, numDocs);
+  }
+
+  private static int[] getDocIds(BaseFilterOperator filterOperator, int startDocId, int endDocId) {
+    DocIdSetOperator docIdSetOperator = new DocIdSetOperator(filterOperator, 5_000, startDocId, endDocId);
+    List<Integer> docIds = new ArrayList<>();
+    DocIdSetBlock docIdSetBlock;
+    while ((docIdSetBlock = docIdSetOperator.nextBlock()) != null) {
+      int[] docIdArray = docIdSetBlock.getDocIdSet();
+      for (int i = 0; i < docIdSetBlock.getSearchableLength(); i++) {
+        docIds.add(docIdArray[i]);
+      }
+    }
+    int[] docIdArray = new int[docIds.size()];
+    for (int i = 0; i < docIdArray.length; i++) {
+      docIdArray[i] = docIds.get(i);
+    }
+    return docIdArray;
+  }
+}
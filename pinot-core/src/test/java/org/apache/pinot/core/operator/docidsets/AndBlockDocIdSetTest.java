@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.docidsets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.pinot.common.utils.Pairs.IntPair;
+import org.apache.pinot.core.common.BlockDocIdIterator;
+import org.apache.pinot.core.common.Constants;
+import org.apache.pinot.core.operator.filter.TestFilterOperator;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class AndBlockDocIdSetTest {
+  private static final int NUM_DOCS = 100;
+
+  @Test
+  public void testNestedBitmaps() {
+    // even AND (multiple of 3 OR [90, 95]) AND (multiple of 5 AND [0, 60])
+    OrBlockDocIdSet orDocIdSet = new OrBlockDocIdSet(Arrays.asList(getBitmapDocIdSet(3), getSortedDocIdSet(90, 95)));
+    AndBlockDocIdSet childAndDocIdSet =
+        new AndBlockDocIdSet(Arrays.asList(getBitmapDocIdSet(5), getSortedDocIdSet(0, 60)));
+    Assert.assertTrue(BitmapMaterializer.canMaterialize(orDocIdSet, false));
+    Assert.assertTrue(BitmapMaterializer.canMaterialize(childAndDocIdSet, false));
+
+    AndBlockDocIdSet andDocIdSet = new AndBlockDocIdSet(Arrays.asList(getBitmapDocIdSet(2), orDocIdSet,
+        childAndDocIdSet));
+    int[] expected = new int[]{0, 30, 60, Constants.EOF};
+    checkDocIdIterator(expected, andDocIdSet.iterator());
+    checkDocIdIterator(expected, andDocIdSet.slowIterator());
+  }
+
+  @Test
+  public void testNestedNonMaterializable() {
+    // even AND (multiple of 3 OR [4, 8, 91]), where the OR cannot be materialized
+    FilterBlockDocIdSet testDocIdSet =
+        new TestFilterOperator(new int[]{4, 8, 91}).nextBlock().getBlockDocIdSet();
+    OrBlockDocIdSet orDocIdSet = new OrBlockDocIdSet(Arrays.asList(getBitmapDocIdSet(3), testDocIdSet));
+    Assert.assertFalse(BitmapMaterializer.canMaterialize(orDocIdSet, false));
+    Assert.assertFalse(BitmapMaterializer.canMaterialize(orDocIdSet, true));
+
+    AndBlockDocIdSet andDocIdSet = new AndBlockDocIdSet(Arrays.asList(getBitmapDocIdSet(2), orDocIdSet));
+    List<Integer> expected = new ArrayList<>();
+    for (int docId = 0; docId < NUM_DOCS; docId += 2) {
+      if (docId % 3 == 0 || docId == 4 || docId == 8) {
+        expected.add(docId);
+      }
+    }
+    expected.add(Constants.EOF);
+    int[] expectedArray = expected.stream().mapToInt(Integer::intValue).toArray();
+    checkDocIdIterator(expectedArray, andDocIdSet.iterator());
+    checkDocIdIterator(expectedArray, andDocIdSet.slowIterator());
+  }
+
+  private static BitmapDocIdSet getBitmapDocIdSet(int step) {
+    MutableRoaringBitmap bitmap = new MutableRoaringBitmap();
+    for (int docId = 0; docId < NUM_DOCS; docId += step) {
+      bitmap.add(docId);
+    }
+    return new BitmapDocIdSet(new ImmutableRoaringBitmap[]{bitmap}, 0, NUM_DOCS - 1, false);
+  }
+
+  private static SortedDocIdSet getSortedDocIdSet(int start, int end) {
+    return new SortedDocIdSet("sorted", Collections.singletonList(new IntPair(start, end)));
+  }
+
+  private static void checkDocIdIterator(int[] expectedValues, BlockDocIdIterator docIdIterator) {
+    for (int i = 0; i < expectedValues.length; i++) {
+      Assert.assertEquals(docIdIterator.next(), expectedValues[i],
+          "Call #" + (i + 1) + " to the iterator did not give the expected result");
+    }
+  }
+}
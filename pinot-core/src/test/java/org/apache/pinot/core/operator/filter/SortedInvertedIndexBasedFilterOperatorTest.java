@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.filter;
+
+import org.apache.pinot.common.utils.Pairs.IntPair;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.io.reader.impl.v1.SortedIndexReader;
+import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+
+public class SortedInvertedIndexBasedFilterOperatorTest {
+  private static final int CARDINALITY = 5;
+  private static final int NUM_DOCS_PER_VALUE = 10;
+  private static final int NUM_DOCS = CARDINALITY * NUM_DOCS_PER_VALUE;
+
+  private SortedIndexReader _invertedIndex;
+  private DataSource _dataSource;
+
+  @BeforeMethod
+  public void setUp() {
+    // Dictionary id i matches docs [10 * i, 10 * i + 9]
+    _invertedIndex = mock(SortedIndexReader.class);
+    for (int dictId = 0; dictId < CARDINALITY; dictId++) {
+      when(_invertedIndex.getDocIds(dictId))
+          .thenReturn(new IntPair(dictId * NUM_DOCS_PER_VALUE, (dictId + 1) * NUM_DOCS_PER_VALUE - 1));
+    }
+    _dataSource = mock(DataSource.class);
+    when(_dataSource.getInvertedIndex()).thenReturn(_invertedIndex);
+  }
+
+  @Test
+  public void testGetEstimatedNumMatchingDocs() {
+    // EQ
+    assertEquals(getEstimatedNumMatchingDocs(false, new int[]{2}, 0, NUM_DOCS - 1), NUM_DOCS_PER_VALUE);
+
+    // NEQ
+    assertEquals(getEstimatedNumMatchingDocs(true, new int[]{2}, 0, NUM_DOCS - 1), NUM_DOCS - NUM_DOCS_PER_VALUE);
+
+    // Clipped to the doc id range
+    assertEquals(getEstimatedNumMatchingDocs(false, new int[]{1}, 15, NUM_DOCS - 1), 5);
+    assertEquals(getEstimatedNumMatchingDocs(false, new int[]{1}, 20, NUM_DOCS - 1), 0);
+
+    // IN only looks up the smallest and largest dictionary ids
+    assertEquals(getEstimatedNumMatchingDocs(false, new int[]{3, 2, 1}, 0, NUM_DOCS - 1), 3 * NUM_DOCS_PER_VALUE);
+    verify(_invertedIndex, never()).getDocIds(2);
+
+    // NOT IN
+    assertEquals(getEstimatedNumMatchingDocs(true, new int[]{0, 4}, 0, NUM_DOCS - 1), 0);
+  }
+
+  private int getEstimatedNumMatchingDocs(boolean exclusive, int[] dictIds, int startDocId, int endDocId) {
+    PredicateEvaluator predicateEvaluator = mock(PredicateEvaluator.class);
+    when(predicateEvaluator.isExclusive()).thenReturn(exclusive);
+    if (exclusive) {
+      when(predicateEvaluator.getNonMatchingDictIds()).thenReturn(dictIds);
+    } else {
+      when(predicateEvaluator.getMatchingDictIds()).thenReturn(dictIds);
+    }
+    return new SortedInvertedIndexBasedFilterOperator(predicateEvaluator, _dataSource, startDocId, endDocId)
+        .getEstimatedNumMatchingDocs();
+  }
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.fused;
+
+import java.util.Collections;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.core.operator.blocks.TransformBlock;
+import org.apache.pinot.core.operator.transform.function.BaseTransformFunctionTest;
+import org.apache.pinot.core.operator.transform.function.TransformFunction;
+import org.apache.pinot.core.operator.transform.function.TransformFunctionFactory;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+public class FusedArithmeticExpressionTest extends BaseTransformFunctionTest {
+
+  @Test(dataProvider = "testFusedExpressions")
+  public void testFusedExpression(String expressionStr) {
+    TransformExpressionTree expression = TransformExpressionTree.compileToExpressionTree(expressionStr);
+    FusedArithmeticExpression fusedExpression = FusedArithmeticExpressionCompiler.compile(expression, _dataSourceMap);
+    Assert.assertNotNull(fusedExpression);
+    fusedExpression.bind(new TransformBlock(_projectionBlock, Collections.emptyMap()));
+
+    // Fused expression should give the exact same results as the transform functions
+    TransformFunction transformFunction = TransformFunctionFactory.get(expression, _dataSourceMap);
+    double[] expectedValues = transformFunction.transformToDoubleValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(fusedExpression.evaluate(i), expectedValues[i]);
+    }
+  }
+
+  @DataProvider(name = "testFusedExpressions")
+  public Object[][] testFusedExpressions() {
+    return new Object[][]{new Object[]{String.format("add(%s,%s)", INT_SV_COLUMN, DOUBLE_SV_COLUMN)}, new Object[]{
+        String.format("add(%s,mult(%s,%s))", DOUBLE_SV_COLUMN, FLOAT_SV_COLUMN, LONG_SV_COLUMN)}, new Object[]{
+        String.format("add(1.5,%s,%s,-3,%s)", INT_SV_COLUMN, LONG_SV_COLUMN, FLOAT_SV_COLUMN)}, new Object[]{
+        String.format("mult(2,%s,%s,%s)", INT_SV_COLUMN, DOUBLE_SV_COLUMN, FLOAT_SV_COLUMN)}, new Object[]{
+        String.format("sub(div(%s,%s),mult(0.5,%s))", LONG_SV_COLUMN, INT_SV_COLUMN, DOUBLE_SV_COLUMN)}, new Object[]{
+        String.format("div(100,sub(%s,%s))", FLOAT_SV_COLUMN, DOUBLE_SV_COLUMN)}};
+  }
+
+  @Test(dataProvider = "testNonFusibleExpressions")
+  public void testNonFusibleExpression(String expressionStr) {
+    TransformExpressionTree expression = TransformExpressionTree.compileToExpressionTree(expressionStr);
+    Assert.assertNull(FusedArithmeticExpressionCompiler.compile(expression, _dataSourceMap));
+  }
+
+  @DataProvider(name = "testNonFusibleExpressions")
+  public Object[][] testNonFusibleExpressions() {
+    return new Object[][]{new Object[]{INT_SV_COLUMN}, new Object[]{String.format("add(%s,%s)", INT_SV_COLUMN,
+        STRING_SV_COLUMN)}, new Object[]{String.format("add(%s,%s)", INT_SV_COLUMN, INT_MV_COLUMN)}, new Object[]{
+        String.format("add(%s,timeConvert(%s,'MILLISECONDS','SECONDS'))", INT_SV_COLUMN, TIME_COLUMN)}};
+  }
+}
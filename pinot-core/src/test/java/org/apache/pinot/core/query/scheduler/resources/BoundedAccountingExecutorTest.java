@@ -19,10 +19,14 @@
 package org.apache.pinot.core.query.scheduler.resources;
 
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
 import org.testng.annotations.Test;
 
@@ -31,6 +35,7 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 
 public class BoundedAccountingExecutorTest {
@@ -97,5 +102,71 @@ public class BoundedAccountingExecutorTest {
     verify(accountant, times(pendingJobs)).incrementThreads();
     syncer.validationBarrier.await();
   }
-}
 
+  // The query goes over its CPU budget while its tasks are running, and the remaining work of the running tasks gets
+  // serialized at their next checkpoint
+  @Test
+  public void testCpuBudgetExceededWhileRunning()
+      throws InterruptedException {
+    if (!ThreadCpuTimeUtils.isCpuTimeSupported()) {
+      return;
+    }
+    SchedulerGroupAccountant accountant = mock(SchedulerGroupAccountant.class);
+    final int numTasks = 3;
+    final int numSegmentsPerTask = 20;
+    final long cpuBudgetNs = TimeUnit.MILLISECONDS.toNanos(10);
+    final long segmentCpuTimeNs = TimeUnit.MILLISECONDS.toNanos(2);
+    ExecutorService es = Executors.newFixedThreadPool(numTasks);
+    final BoundedAccountingExecutor bes = new BoundedAccountingExecutor(es, numTasks, accountant, cpuBudgetNs);
+    final CyclicBarrier startupBarrier = new CyclicBarrier(numTasks);
+    final CountDownLatch finishedLatch = new CountDownLatch(numTasks);
+    final AtomicInteger numOverBudgetSegmentsRunning = new AtomicInteger();
+    final AtomicInteger maxOverBudgetSegmentsRunning = new AtomicInteger();
+    final AtomicInteger numOverBudgetSegments = new AtomicInteger();
+    final AtomicLong cpuTimeNsChargedWhileRunning = new AtomicLong();
+
+    for (int i = 0; i < numTasks; i++) {
+      bes.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            // All the tasks are running before any of them exceeds the budget
+            startupBarrier.await();
+            for (int j = 0; j < numSegmentsPerTask; j++) {
+              boolean overBudget = bes.isOverCpuBudget();
+              BoundedAccountingExecutor.checkpoint();
+              cpuTimeNsChargedWhileRunning.accumulateAndGet(bes.getQueryCpuTimeNs(), Math::max);
+              if (overBudget) {
+                numOverBudgetSegments.incrementAndGet();
+                int numRunning = numOverBudgetSegmentsRunning.incrementAndGet();
+                maxOverBudgetSegmentsRunning.accumulateAndGet(numRunning, Math::max);
+                burnCpu(segmentCpuTimeNs);
+                numOverBudgetSegmentsRunning.decrementAndGet();
+              } else {
+                burnCpu(segmentCpuTimeNs);
+              }
+            }
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          } finally {
+            finishedLatch.countDown();
+          }
+        }
+      });
+    }
+
+    assertTrue(finishedLatch.await(60, TimeUnit.SECONDS));
+    es.shutdown();
+    // CPU time is charged at the checkpoints without waiting for the tasks to finish
+    assertTrue(cpuTimeNsChargedWhileRunning.get() > cpuBudgetNs);
+    assertTrue(numOverBudgetSegments.get() > 0);
+    assertEquals(maxOverBudgetSegmentsRunning.get(), 1);
+  }
+
+  private static void burnCpu(long cpuTimeNs) {
+    long endCpuTimeNs = ThreadCpuTimeUtils.getCurrentThreadCpuTimeNs() + cpuTimeNs;
+    while (ThreadCpuTimeUtils.getCurrentThreadCpuTimeNs() < endCpuTimeNs) {
+      Math.sqrt(System.nanoTime());
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.resources;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.pinot.core.query.exception.QueryMemoryLimitExceededException;
+import org.apache.pinot.core.util.trace.TraceRunnable;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class QueryMemoryTrackerTest {
+
+  @Test
+  public void testPerQueryLimit() {
+    QueryMemoryBudget budget = new QueryMemoryBudget(1000L, 100L, QueryMemoryTracker.OverflowPolicy.REJECT);
+    QueryMemoryTracker tracker = budget.newQueryTracker();
+
+    assertTrue(tracker.tryAllocate(60L));
+    assertFalse(tracker.isLimitReached());
+    assertFalse(tracker.tryAllocate(60L));
+    assertTrue(tracker.isLimitReached());
+    assertEquals(tracker.getAllocatedBytes(), 60L);
+    assertEquals(budget.getReservedBytes(), 60L);
+
+    try {
+      tracker.allocate(41L, "test");
+      fail();
+    } catch (QueryMemoryLimitExceededException e) {
+      // Expected
+    }
+    tracker.allocate(40L, "test");
+    assertEquals(tracker.getAllocatedBytes(), 100L);
+
+    tracker.releaseAll();
+    assertEquals(tracker.getAllocatedBytes(), 0L);
+    assertEquals(budget.getReservedBytes(), 0L);
+  }
+
+  @Test
+  public void testServerBudget() {
+    QueryMemoryBudget budget = new QueryMemoryBudget(100L, 80L, QueryMemoryTracker.OverflowPolicy.TRIM);
+    QueryMemoryTracker tracker1 = budget.newQueryTracker();
+    QueryMemoryTracker tracker2 = budget.newQueryTracker();
+    assertEquals(tracker1.getOverflowPolicy(), QueryMemoryTracker.OverflowPolicy.TRIM);
+
+    assertTrue(tracker1.tryAllocate(80L));
+    // Within the per-query limit, but over the server-wide budget
+    assertFalse(tracker2.tryAllocate(30L));
+    assertTrue(tracker2.isLimitReached());
+    assertEquals(tracker2.getAllocatedBytes(), 0L);
+    assertTrue(tracker2.tryAllocate(20L));
+    assertEquals(budget.getReservedBytes(), 100L);
+
+    // Memory is available again after the first query finishes
+    tracker1.releaseAll();
+    assertTrue(tracker2.tryAllocate(30L));
+    assertEquals(budget.getReservedBytes(), 50L);
+    tracker2.releaseAll();
+    assertEquals(budget.getReservedBytes(), 0L);
+  }
+
+  @Test
+  public void testRelease() {
+    QueryMemoryBudget budget = new QueryMemoryBudget(100L, 100L, QueryMemoryTracker.OverflowPolicy.TRIM);
+    QueryMemoryTracker tracker = budget.newQueryTracker();
+
+    assertTrue(tracker.tryAllocate(70L));
+    assertFalse(tracker.tryAllocate(70L));
+
+    // Memory released before the query finishes can be allocated again
+    tracker.release(50L);
+    assertEquals(tracker.getAllocatedBytes(), 20L);
+    assertEquals(budget.getReservedBytes(), 20L);
+    assertTrue(tracker.tryAllocate(70L));
+    assertEquals(budget.getReservedBytes(), 90L);
+
+    tracker.releaseAll();
+    assertEquals(tracker.getAllocatedBytes(), 0L);
+    assertEquals(budget.getReservedBytes(), 0L);
+  }
+
+  @Test
+  public void testAfterReleaseAll() {
+    QueryMemoryBudget budget = new QueryMemoryBudget(100L, 100L, QueryMemoryTracker.OverflowPolicy.REJECT);
+    QueryMemoryTracker tracker = budget.newQueryTracker();
+    assertTrue(tracker.tryAllocate(60L));
+    tracker.releaseAll();
+
+    // Worker threads still running after the query times out should not change the budget
+    assertTrue(tracker.tryAllocate(200L));
+    tracker.allocate(200L, "test");
+    assertEquals(tracker.getAllocatedBytes(), 0L);
+    assertEquals(budget.getReservedBytes(), 0L);
+    tracker.release(60L);
+    tracker.releaseAll();
+    assertEquals(budget.getReservedBytes(), 0L);
+
+    // The budget is fully available to the other queries
+    assertTrue(budget.newQueryTracker().tryAllocate(100L));
+  }
+
+  @Test
+  public void testFromConfig() {
+    // Not enabled by default
+    PropertiesConfiguration config = new PropertiesConfiguration();
+    assertNull(QueryMemoryBudget.fromConfig(config));
+
+    config.setProperty(QueryMemoryBudget.MEMORY_BUDGET_BYTES_KEY, 1000L);
+    QueryMemoryBudget budget = QueryMemoryBudget.fromConfig(config);
+    assertNotNull(budget);
+    assertEquals(budget.getMaxBytes(), 1000L);
+  }
+
+  @Test
+  public void testThreadPropagation()
+      throws InterruptedException {
+    QueryMemoryTracker tracker =
+        new QueryMemoryBudget(100L, 100L, QueryMemoryTracker.OverflowPolicy.REJECT).newQueryTracker();
+    assertNull(QueryMemoryTracker.get());
+    QueryMemoryTracker.register(tracker);
+    try {
+      AtomicReference<QueryMemoryTracker> trackerInWorker = new AtomicReference<>();
+      Thread worker = new Thread(new TraceRunnable() {
+        @Override
+        public void runJob() {
+          trackerInWorker.set(QueryMemoryTracker.get());
+          QueryMemoryTracker.allocateIfTracked(10L, "test");
+        }
+      });
+      worker.start();
+      worker.join();
+      assertSame(trackerInWorker.get(), tracker);
+      assertEquals(tracker.getAllocatedBytes(), 10L);
+    } finally {
+      QueryMemoryTracker.unregister();
+    }
+    assertNull(QueryMemoryTracker.get());
+  }
+}
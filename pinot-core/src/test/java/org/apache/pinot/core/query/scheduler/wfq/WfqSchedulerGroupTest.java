@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.wfq;
+
+import com.yammer.metrics.core.MetricsRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.core.query.scheduler.TestHelper;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class WfqSchedulerGroupTest {
+  private static final ServerMetrics METRICS = new ServerMetrics(new MetricsRegistry());
+
+  @Test
+  public void testVirtualTime() {
+    AtomicLong systemVirtualTimeNs = new AtomicLong(0);
+    WfqSchedulerGroup light = new WfqSchedulerGroup("light", 1, Long.MAX_VALUE, systemVirtualTimeNs);
+    WfqSchedulerGroup heavy = new WfqSchedulerGroup("heavy", 1, Long.MAX_VALUE, systemVirtualTimeNs);
+    WfqSchedulerGroup weighted = new WfqSchedulerGroup("weighted", 4, Long.MAX_VALUE, systemVirtualTimeNs);
+
+    heavy.addCpuTimeNs(4_000_000L);
+    light.addCpuTimeNs(1_000_000L);
+    weighted.addCpuTimeNs(8_000_000L);
+    assertEquals(heavy.getVirtualTimeNs(), 4_000_000L);
+    assertEquals(light.getVirtualTimeNs(), 1_000_000L);
+    assertEquals(weighted.getVirtualTimeNs(), 2_000_000L);
+
+    // Lower virtual time has higher priority
+    assertTrue(light.compareTo(heavy) > 0);
+    assertTrue(heavy.compareTo(light) < 0);
+    assertTrue(weighted.compareTo(heavy) > 0);
+    assertTrue(weighted.compareTo(light) < 0);
+    assertEquals(light.compareTo(light), 0);
+    assertTrue(light.compareTo(null) > 0);
+  }
+
+  @Test
+  public void testEqualVirtualTimeUsesArrivalTime() {
+    AtomicLong systemVirtualTimeNs = new AtomicLong(0);
+    WfqSchedulerGroup lhs = new WfqSchedulerGroup("lhs", 1, Long.MAX_VALUE, systemVirtualTimeNs);
+    WfqSchedulerGroup rhs = new WfqSchedulerGroup("rhs", 1, Long.MAX_VALUE, systemVirtualTimeNs);
+    lhs.addLast(TestHelper.createQueryRequest("lhs", METRICS, 1000L));
+    rhs.addLast(TestHelper.createQueryRequest("rhs", METRICS, 2000L));
+    assertTrue(lhs.compareTo(rhs) > 0);
+    assertTrue(rhs.compareTo(lhs) < 0);
+  }
+
+  @Test
+  public void testIdleGroupCatchesUp() {
+    AtomicLong systemVirtualTimeNs = new AtomicLong(0);
+    WfqSchedulerGroup busy = new WfqSchedulerGroup("busy", 1, Long.MAX_VALUE, systemVirtualTimeNs);
+    WfqSchedulerGroup idle = new WfqSchedulerGroup("idle", 1, Long.MAX_VALUE, systemVirtualTimeNs);
+
+    busy.addLast(TestHelper.createQueryRequest("busy", METRICS));
+    busy.removeFirst();
+    busy.addCpuTimeNs(5_000_000L);
+    busy.startQuery();
+    assertEquals(systemVirtualTimeNs.get(), 5_000_000L);
+
+    // Idle group starts from the system virtual time instead of 0
+    idle.addLast(TestHelper.createQueryRequest("idle", METRICS));
+    assertEquals(idle.getVirtualTimeNs(), 5_000_000L);
+    idle.addCpuTimeNs(1_000_000L);
+    assertEquals(idle.getVirtualTimeNs(), 6_000_000L);
+
+    // Group with pending queries keeps its virtual time
+    systemVirtualTimeNs.set(10_000_000L);
+    idle.addLast(TestHelper.createQueryRequest("idle", METRICS));
+    assertEquals(idle.getVirtualTimeNs(), 6_000_000L);
+  }
+}
@@ -28,8 +28,11 @@ import org.apache.commons.io.IOUtils;
 import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.bloom.BloomFilterUtil;
 import org.apache.pinot.core.bloom.GuavaOnHeapBloomFilter;
+import org.apache.pinot.core.bloom.SplitBlockBloomFilter;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
 import org.apache.pinot.core.segment.creator.impl.bloom.BloomFilterCreator;
+import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Test;
@@ -111,6 +114,62 @@ public class BloomFilterCreatorTest {
     }
   }
 
+  @Test
+  public void testSplitBlockBloomFilter()
+      throws Exception {
+    File bloomFilterDir = new File(TEMP_DIR, "splitBlockBloomFilterDir");
+    FileUtils.deleteQuietly(bloomFilterDir);
+    Preconditions.checkState(bloomFilterDir.mkdirs());
+
+    // Create a split block bloom filter and serialize it to a file
+    int cardinality = 10000;
+    double maxFalsePosProbability = 0.01;
+    String columnName = "testColumn";
+    try (BloomFilterCreator bloomFilterCreator = new BloomFilterCreator(bloomFilterDir, columnName, cardinality,
+        BloomFilterType.SPLIT_BLOCK, maxFalsePosProbability)) {
+      for (int i = 0; i < cardinality; i++) {
+        bloomFilterCreator.add(Integer.toString(i));
+      }
+    }
+
+    // Deserialize the bloom filter onto the heap
+    File bloomFilterFile = new File(bloomFilterDir, columnName + V1Constants.Indexes.BLOOM_FILTER_FILE_EXTENSION);
+    try (DataInputStream in = new DataInputStream(new FileInputStream(bloomFilterFile))) {
+      SplitBlockBloomFilter bloomFilter = new SplitBlockBloomFilter();
+      Assert.assertEquals(BloomFilterType.valueOf(in.readInt()), bloomFilter.getBloomFilterType());
+      Assert.assertEquals(in.readInt(), bloomFilter.getVersion());
+      bloomFilter.readFrom(in);
+      for (int i = 0; i < cardinality; i++) {
+        Assert.assertTrue(bloomFilter.mightContain(Integer.toString(i)));
+      }
+    }
+
+    // Read the bloom filter directly from the memory mapped file
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(bloomFilterFile)) {
+      BloomFilterReader bloomFilterReader = new BloomFilterReader(dataBuffer);
+      int numFalsePositives = 0;
+      for (int i = 0; i < cardinality; i++) {
+        Assert.assertTrue(bloomFilterReader.mightContain(Integer.toString(i)));
+        if (bloomFilterReader.mightContain(Integer.toString(cardinality + i))) {
+          numFalsePositives++;
+        }
+      }
+      Assert.assertTrue(numFalsePositives < 2 * maxFalsePosProbability * cardinality);
+
+      // Batch probing
+      Assert.assertTrue(bloomFilterReader.mightContainAny(new Object[]{"-1", "-2", Integer.toString(cardinality - 1)}));
+      Object[] absentValues = new Object[100];
+      int numAbsentValues = 0;
+      for (int i = 0; numAbsentValues < absentValues.length; i++) {
+        String value = Integer.toString(-i - 1);
+        if (!bloomFilterReader.mightContain(value)) {
+          absentValues[numAbsentValues++] = value;
+        }
+      }
+      Assert.assertFalse(bloomFilterReader.mightContainAny(absentValues));
+    }
+  }
+
   @Test
   public void testBloomFilterSize()
       throws Exception {
@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.creator;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.config.ColumnPartitionConfig;
+import org.apache.pinot.common.config.SegmentPartitionConfig;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.GenericRowRecordReader;
+import org.apache.pinot.core.data.readers.PinotSegmentRecordReader;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.segment.creator.impl.RollingSegmentCreationDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class RollingSegmentCreationDriverTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "RollingSegmentCreationDriverTest");
+  private static final String SEGMENT_NAME = "testSegment";
+  private static final int NUM_ROWS_PER_INPUT = 500;
+  private static final int NUM_INPUTS = 2;
+  private static final int NUM_PARTITIONS = 4;
+  // Each row has an INT and a LONG value
+  private static final int ROW_SIZE_IN_BYTES = 12;
+
+  private static final Schema SCHEMA = new Schema.SchemaBuilder().setSchemaName("testSchema")
+      .addSingleValueDimension("intSV", FieldSpec.DataType.INT)
+      .addSingleValueDimension("longSV", FieldSpec.DataType.LONG).build();
+
+  private final List<List<GenericRow>> _inputs = new ArrayList<>(NUM_INPUTS);
+
+  @BeforeClass
+  public void setUp() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+
+    int rowId = 0;
+    for (int i = 0; i < NUM_INPUTS; i++) {
+      List<GenericRow> rows = new ArrayList<>(NUM_ROWS_PER_INPUT);
+      for (int j = 0; j < NUM_ROWS_PER_INPUT; j++) {
+        GenericRow row = new GenericRow();
+        row.putField("intSV", rowId);
+        row.putField("longSV", (long) rowId);
+        rows.add(row);
+        rowId++;
+      }
+      _inputs.add(rows);
+    }
+  }
+
+  @Test
+  public void testRollOverOnNumRows()
+      throws Exception {
+    SegmentGeneratorConfig config = getConfig("numRows");
+    config.setMaxNumRowsPerSegment(300);
+    List<String> segmentNames = buildSegments(config);
+
+    Assert.assertEquals(segmentNames, getExpectedSegmentNames(4));
+    List<List<GenericRow>> segments = readSegments(config, segmentNames);
+    checkNumRows(segments, 300, 300, 300, 100);
+    checkRowsInOrder(segments);
+  }
+
+  @Test
+  public void testRollOverOnSize()
+      throws Exception {
+    SegmentGeneratorConfig config = getConfig("size");
+    config.setMaxSegmentSizeInBytes(100 * ROW_SIZE_IN_BYTES);
+    List<String> segmentNames = buildSegments(config);
+
+    Assert.assertEquals(segmentNames, getExpectedSegmentNames(10));
+    List<List<GenericRow>> segments = readSegments(config, segmentNames);
+    checkNumRows(segments, 100, 100, 100, 100, 100, 100, 100, 100, 100, 100);
+    checkRowsInOrder(segments);
+  }
+
+  @Test
+  public void testPartitionedRollOver()
+      throws Exception {
+    SegmentGeneratorConfig config = getConfig("partitioned");
+    config.setMaxNumRowsPerSegment(100);
+    config.setSegmentPartitionConfig(new SegmentPartitionConfig(
+        Collections.singletonMap("intSV", new ColumnPartitionConfig("Modulo", NUM_PARTITIONS))));
+    List<String> segmentNames = buildSegments(config);
+
+    // Each partition has 250 rows, which are split into segments with 100, 100 and 50 rows
+    Assert.assertEquals(segmentNames.size(), 3 * NUM_PARTITIONS);
+    List<List<GenericRow>> segments = readSegments(config, segmentNames);
+    int[] numRowsPerPartition = new int[NUM_PARTITIONS];
+    for (List<GenericRow> segment : segments) {
+      int partition = (int) segment.get(0).getValue("intSV") % NUM_PARTITIONS;
+      for (GenericRow row : segment) {
+        Assert.assertEquals((int) row.getValue("intSV") % NUM_PARTITIONS, partition);
+      }
+      numRowsPerPartition[partition] += segment.size();
+    }
+    for (int numRows : numRowsPerPartition) {
+      Assert.assertEquals(numRows, NUM_INPUTS * NUM_ROWS_PER_INPUT / NUM_PARTITIONS);
+    }
+  }
+
+  @Test
+  public void testSegmentSizes()
+      throws Exception {
+    // Low cardinality rows with an INT and a STRING value, where the STRING values have different lengths
+    Schema schema = new Schema.SchemaBuilder().setSchemaName("testSchema")
+        .addSingleValueDimension("intSV", FieldSpec.DataType.INT)
+        .addSingleValueDimension("stringSV", FieldSpec.DataType.STRING).build();
+    int numRows = 20000;
+    List<GenericRow> rows = new ArrayList<>(numRows);
+    for (int i = 0; i < numRows; i++) {
+      GenericRow row = new GenericRow();
+      row.putField("intSV", i % 100);
+      row.putField("stringSV", "stringValue_" + (i % 10) + "_" + new String(new char[i % 10]).replace('\0', 'x'));
+      rows.add(row);
+    }
+    long maxSegmentSizeInBytes = 64 * 1024;
+
+    SegmentGeneratorConfig config = new SegmentGeneratorConfig(schema);
+    config.setOutDir(new File(TEMP_DIR, "segmentSizes").getAbsolutePath());
+    config.setSegmentName(SEGMENT_NAME);
+    config.setMaxSegmentSizeInBytes(maxSegmentSizeInBytes);
+    List<String> segmentNames;
+    try (RollingSegmentCreationDriver driver = new RollingSegmentCreationDriver(config)) {
+      driver.build(new GenericRowRecordReader(rows, schema));
+      segmentNames = driver.finish();
+    }
+    Assert.assertTrue(segmentNames.size() > 1);
+
+    // The max size applies to the raw size of the rows: every segment except the last one stops at the first row that
+    // reaches the limit
+    List<List<GenericRow>> segments = readSegments(config, segmentNames);
+    int numSegments = segments.size();
+    int totalNumRows = 0;
+    for (int i = 0; i < numSegments; i++) {
+      List<GenericRow> segment = segments.get(i);
+      long rawSize = 0;
+      for (GenericRow row : segment) {
+        rawSize += Integer.BYTES + ((String) row.getValue("stringSV")).getBytes(StandardCharsets.UTF_8).length;
+      }
+      GenericRow lastRow = segment.get(segment.size() - 1);
+      long lastRowSize =
+          Integer.BYTES + ((String) lastRow.getValue("stringSV")).getBytes(StandardCharsets.UTF_8).length;
+      Assert.assertTrue(rawSize - lastRowSize < maxSegmentSizeInBytes);
+      if (i < numSegments - 1) {
+        Assert.assertTrue(rawSize >= maxSegmentSizeInBytes);
+      }
+      totalNumRows += segment.size();
+
+      // Dictionary encoding keeps the low cardinality segments below the raw size on disk
+      long sizeOnDisk = FileUtils.sizeOfDirectory(new File(config.getOutDir(), segmentNames.get(i)));
+      Assert.assertTrue(sizeOnDisk <= maxSegmentSizeInBytes, "Segment size on disk: " + sizeOnDisk);
+    }
+    Assert.assertEquals(totalNumRows, numRows);
+  }
+
+  private static SegmentGeneratorConfig getConfig(String outDirName) {
+    SegmentGeneratorConfig config = new SegmentGeneratorConfig(SCHEMA);
+    config.setOutDir(new File(TEMP_DIR, outDirName).getAbsolutePath());
+    config.setSegmentName(SEGMENT_NAME);
+    return config;
+  }
+
+  private List<String> buildSegments(SegmentGeneratorConfig config)
+      throws Exception {
+    try (RollingSegmentCreationDriver driver = new RollingSegmentCreationDriver(config)) {
+      for (List<GenericRow> rows : _inputs) {
+        driver.build(new GenericRowRecordReader(rows, SCHEMA));
+      }
+      return driver.finish();
+    }
+  }
+
+  private static List<String> getExpectedSegmentNames(int numSegments) {
+    List<String> segmentNames = new ArrayList<>(numSegments);
+    for (int i = 0; i < numSegments; i++) {
+      segmentNames.add(SEGMENT_NAME + "_" + i);
+    }
+    return segmentNames;
+  }
+
+  private static List<List<GenericRow>> readSegments(SegmentGeneratorConfig config, List<String> segmentNames)
+      throws Exception {
+    List<List<GenericRow>> segments = new ArrayList<>(segmentNames.size());
+    for (String segmentName : segmentNames) {
+      List<GenericRow> rows = new ArrayList<>();
+      try (PinotSegmentRecordReader recordReader = new PinotSegmentRecordReader(
+          new File(config.getOutDir(), segmentName))) {
+        while (recordReader.hasNext()) {
+          rows.add(recordReader.next());
+        }
+      }
+      segments.add(rows);
+    }
+    return segments;
+  }
+
+  private static void checkNumRows(List<List<GenericRow>> segments, int... expectedNumRows) {
+    Assert.assertEquals(segments.size(), expectedNumRows.length);
+    for (int i = 0; i < expectedNumRows.length; i++) {
+      Assert.assertEquals(segments.get(i).size(), expectedNumRows[i]);
+    }
+  }
+
+  private static void checkRowsInOrder(List<List<GenericRow>> segments) {
+    int expectedRowId = 0;
+    for (List<GenericRow> segment : segments) {
+      for (GenericRow row : segment) {
+        Assert.assertEquals(row.getValue("intSV"), expectedRowId);
+        Assert.assertEquals(row.getValue("longSV"), (long) expectedRowId);
+        expectedRowId++;
+      }
+    }
+    Assert.assertEquals(expectedRowId, NUM_INPUTS * NUM_ROWS_PER_INPUT);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+}
@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.creator;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.GenericRowRecordReader;
+import org.apache.pinot.core.data.readers.PinotSegmentRecordReader;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.segment.creator.impl.ColumnarRowSpool;
+import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class SinglePassSegmentCreationTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "SinglePassSegmentCreationTest");
+  private static final String SEGMENT_NAME = "testSegment";
+  private static final int NUM_ROWS = 10000;
+  private static final int MAX_NUM_MULTI_VALUES = 5;
+  private static final int MAX_STRING_LENGTH = 20;
+
+  private static final Schema SCHEMA = new Schema.SchemaBuilder().setSchemaName("testSchema")
+      .addSingleValueDimension("intSV", FieldSpec.DataType.INT)
+      .addSingleValueDimension("longSV", FieldSpec.DataType.LONG)
+      .addSingleValueDimension("stringSV", FieldSpec.DataType.STRING)
+      .addSingleValueDimension("bytesSV", FieldSpec.DataType.BYTES)
+      .addMultiValueDimension("intMV", FieldSpec.DataType.INT)
+      .addMultiValueDimension("longMV", FieldSpec.DataType.LONG)
+      .addMultiValueDimension("floatMV", FieldSpec.DataType.FLOAT)
+      .addMultiValueDimension("doubleMV", FieldSpec.DataType.DOUBLE)
+      .addMultiValueDimension("stringMV", FieldSpec.DataType.STRING)
+      .addMetric("floatMetric", FieldSpec.DataType.FLOAT)
+      .addMetric("doubleMetric", FieldSpec.DataType.DOUBLE).build();
+
+  private final List<GenericRow> _rows = new ArrayList<>(NUM_ROWS);
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(TEMP_DIR);
+
+    Random random = new Random();
+    for (int i = 0; i < NUM_ROWS; i++) {
+      GenericRow row = new GenericRow();
+      for (FieldSpec fieldSpec : SCHEMA.getAllFieldSpecs()) {
+        if (fieldSpec.isSingleValueField()) {
+          row.putField(fieldSpec.getName(), getRandomValue(random, fieldSpec.getDataType()));
+        } else {
+          int numValues = random.nextInt(MAX_NUM_MULTI_VALUES) + 1;
+          Object[] values = new Object[numValues];
+          for (int j = 0; j < numValues; j++) {
+            values[j] = getRandomValue(random, fieldSpec.getDataType());
+          }
+          row.putField(fieldSpec.getName(), values);
+        }
+      }
+      _rows.add(row);
+    }
+  }
+
+  @Test
+  public void testColumnarRowSpool()
+      throws Exception {
+    try (ColumnarRowSpool rowSpool = new ColumnarRowSpool(SCHEMA, new File(TEMP_DIR, "spool"))) {
+      for (GenericRow row : _rows) {
+        rowSpool.add(row);
+      }
+      Assert.assertEquals(rowSpool.getNumRows(), NUM_ROWS);
+
+      GenericRow reuse = new GenericRow();
+      for (int i = 0; i < NUM_ROWS; i++) {
+        checkRow(rowSpool.getRow(i, reuse), _rows.get(i));
+      }
+    }
+    Assert.assertFalse(new File(TEMP_DIR, "spool").exists());
+  }
+
+  @Test
+  public void testSinglePassSegmentCreation()
+      throws Exception {
+    File twoPassSegmentDir = buildSegment("twoPass", false, 1);
+    File singlePassSegmentDir = buildSegment("singlePass", true, 1);
+
+    try (PinotSegmentRecordReader twoPassRecordReader = new PinotSegmentRecordReader(twoPassSegmentDir);
+        PinotSegmentRecordReader singlePassRecordReader = new PinotSegmentRecordReader(singlePassSegmentDir)) {
+      int numRows = 0;
+      while (twoPassRecordReader.hasNext()) {
+        Assert.assertTrue(singlePassRecordReader.hasNext());
+        checkRow(singlePassRecordReader.next(), twoPassRecordReader.next());
+        numRows++;
+      }
+      Assert.assertFalse(singlePassRecordReader.hasNext());
+      Assert.assertEquals(numRows, NUM_ROWS);
+    }
+  }
+
+  @Test
+  public void testParallelIndexCreation()
+      throws Exception {
+    File sequentialSegmentDir = buildSegment("sequential", false, 1);
+    File parallelSegmentDir = buildSegment("parallel", false, 4);
+
+    // All the index files should be identical, only the creation metadata can differ
+    Collection<File> sequentialFiles = FileUtils.listFiles(sequentialSegmentDir, null, true);
+    Assert.assertFalse(sequentialFiles.isEmpty());
+    for (File sequentialFile : sequentialFiles) {
+      String fileName = sequentialFile.getName();
+      if (fileName.equals(V1Constants.SEGMENT_CREATION_META) || fileName
+          .equals(V1Constants.MetadataKeys.METADATA_FILE_NAME)) {
+        continue;
+      }
+      String relativePath = sequentialSegmentDir.toURI().relativize(sequentialFile.toURI()).getPath();
+      File parallelFile = new File(parallelSegmentDir, relativePath);
+      Assert.assertTrue(FileUtils.contentEquals(sequentialFile, parallelFile), relativePath);
+    }
+  }
+
+  private static Object getRandomValue(Random random, FieldSpec.DataType dataType) {
+    switch (dataType) {
+      case INT:
+        return random.nextInt();
+      case LONG:
+        return random.nextLong();
+      case FLOAT:
+        return random.nextFloat();
+      case DOUBLE:
+        return random.nextDouble();
+      case STRING:
+        return RandomStringUtils.randomAlphanumeric(random.nextInt(MAX_STRING_LENGTH));
+      case BYTES:
+        byte[] bytes = new byte[random.nextInt(MAX_STRING_LENGTH) + 1];
+        random.nextBytes(bytes);
+        return bytes;
+      default:
+        throw new UnsupportedOperationException("Unsupported data type for random value generator: " + dataType);
+    }
+  }
+
+  private File buildSegment(String outDirName, boolean singlePass, int numIndexCreationThreads)
+      throws Exception {
+    SegmentGeneratorConfig config = new SegmentGeneratorConfig(SCHEMA);
+    config.setOutDir(new File(TEMP_DIR, outDirName).getAbsolutePath());
+    config.setSegmentName(SEGMENT_NAME);
+    config.setInvertedIndexCreationColumns(Arrays.asList("intSV", "stringSV", "intMV", "stringMV"));
+    config.setSinglePassCreation(singlePass);
+    config.setNumIndexCreationThreads(numIndexCreationThreads);
+
+    // Count the rows read from the input to make sure the single-pass creation reads the input only once
+    int[] numRowsRead = new int[1];
+    GenericRowRecordReader recordReader = new GenericRowRecordReader(_rows, SCHEMA) {
+      @Override
+      public GenericRow next(GenericRow reuse) {
+        numRowsRead[0]++;
+        return super.next(reuse);
+      }
+    };
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(config, recordReader);
+    driver.build();
+    boolean expectSinglePass = singlePass || numIndexCreationThreads > 1;
+    Assert.assertEquals(numRowsRead[0], expectSinglePass ? NUM_ROWS : 2 * NUM_ROWS);
+    Assert.assertEquals(driver.getSegmentStats().getTotalDocCount(), NUM_ROWS);
+    return driver.getOutputDirectory();
+  }
+
+  private static void checkRow(GenericRow actual, GenericRow expected) {
+    for (FieldSpec fieldSpec : SCHEMA.getAllFieldSpecs()) {
+      String column = fieldSpec.getName();
+      if (fieldSpec.isSingleValueField()) {
+        Assert.assertEquals(actual.getValue(column), expected.getValue(column), column);
+      } else {
+        Assert.assertEquals((Object[]) actual.getValue(column), (Object[]) expected.getValue(column), column);
+      }
+    }
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+}
@@ -31,6 +31,9 @@ import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.common.segment.ReadMode;
 import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
 import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitMultiValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
 import org.apache.pinot.core.segment.creator.SegmentIndexCreationDriver;
 import org.apache.pinot.core.segment.creator.impl.SegmentCreationDriverFactory;
 import org.apache.pinot.core.segment.index.ColumnMetadata;
@@ -59,6 +62,9 @@ public class SegmentPreProcessorTest {
   private static final String COLUMN13_NAME = "column13";
   private static final String NO_SUCH_COLUMN_NAME = "noSuchColumn";
 
+  // For convert multi-value forward index tests.
+  private static final String COLUMN6_NAME = "column6";
+
   // For update default value tests.
   private static final String NEW_COLUMNS_SCHEMA1 = "data/newColumnsSchema1.json";
   private static final String NEW_COLUMNS_SCHEMA2 = "data/newColumnsSchema2.json";
@@ -432,6 +438,79 @@ public class SegmentPreProcessorTest {
     Assert.assertEquals(metricColumnMetadata.getMaxValue(), 890662862);
   }
 
+  @Test
+  public void testV1ConvertMultiValueForwardIndex()
+      throws Exception {
+    constructV1Segment();
+
+    SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl(_indexDir);
+    ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(COLUMN6_NAME);
+    int numDocs = columnMetadata.getTotalDocs();
+    int numValues = columnMetadata.getTotalNumberOfEntries();
+    int numBitsPerValue = columnMetadata.getBitsPerElement();
+    File forwardIndexFile = new File(_indexDir, segmentMetadata.getForwardIndexFileName(COLUMN6_NAME));
+    int[][] expectedDictIds = new int[numDocs][];
+    try (FixedBitMultiValueReader reader = new FixedBitMultiValueReader(
+        PinotDataBuffer.mapReadOnlyBigEndianFile(forwardIndexFile), numDocs, numValues, numBitsPerValue)) {
+      int[] dictIds = new int[columnMetadata.getMaxNumberOfMultiValues()];
+      for (int docId = 0; docId < numDocs; docId++) {
+        int length = reader.getIntArray(docId, dictIds);
+        expectedDictIds[docId] = Arrays.copyOf(dictIds, length);
+      }
+    }
+
+    // Forward index should not be converted when not enabled.
+    IndexLoadingConfig indexLoadingConfig = new IndexLoadingConfig();
+    try (SegmentPreProcessor processor = new SegmentPreProcessor(_indexDir, indexLoadingConfig, null)) {
+      processor.process();
+    }
+    try (PinotDataBuffer buffer = PinotDataBuffer.mapReadOnlyBigEndianFile(forwardIndexFile)) {
+      Assert.assertFalse(FixedBitPrefixSumMultiValueReader.isPrefixSumFormat(buffer));
+    }
+
+    indexLoadingConfig.setPrefixSumMultiValueForwardIndex(true);
+    try (SegmentPreProcessor processor = new SegmentPreProcessor(_indexDir, indexLoadingConfig, null)) {
+      processor.process();
+    }
+    try (FixedBitPrefixSumMultiValueReader reader = new FixedBitPrefixSumMultiValueReader(
+        PinotDataBuffer.mapReadOnlyBigEndianFile(forwardIndexFile), numDocs, numValues, numBitsPerValue)) {
+      int[] dictIds = new int[columnMetadata.getMaxNumberOfMultiValues()];
+      for (int docId = 0; docId < numDocs; docId++) {
+        int length = reader.getIntArray(docId, dictIds);
+        Assert.assertEquals(Arrays.copyOf(dictIds, length), expectedDictIds[docId]);
+      }
+    }
+    FileTime lastModifiedTime = Files.getLastModifiedTime(forwardIndexFile.toPath());
+
+    // Sleep 2 seconds to prevent the same last modified time when modifying the file.
+    Thread.sleep(2000);
+
+    // Converted forward index should be kept as is.
+    try (SegmentPreProcessor processor = new SegmentPreProcessor(_indexDir, indexLoadingConfig, null)) {
+      processor.process();
+    }
+    Assert.assertEquals(Files.getLastModifiedTime(forwardIndexFile.toPath()), lastModifiedTime);
+  }
+
+  @Test
+  public void testConvertMultiValueForwardIndexBeforeV3Conversion()
+      throws Exception {
+    constructV1Segment();
+
+    IndexLoadingConfig indexLoadingConfig = new IndexLoadingConfig();
+    indexLoadingConfig.setSegmentVersion(SegmentVersion.v3);
+    indexLoadingConfig.setPrefixSumMultiValueForwardIndex(true);
+    ImmutableSegmentLoader.preprocess(_indexDir, indexLoadingConfig, null);
+
+    SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl(_indexDir);
+    Assert.assertEquals(segmentMetadata.getSegmentVersion(), SegmentVersion.v3);
+    try (SegmentDirectory segmentDirectory = SegmentDirectory.createFromLocalFS(_indexDir, segmentMetadata,
+        ReadMode.mmap); SegmentDirectory.Reader reader = segmentDirectory.createReader()) {
+      Assert.assertTrue(FixedBitPrefixSumMultiValueReader
+          .isPrefixSumFormat(reader.getIndexFor(COLUMN6_NAME, ColumnIndexType.FORWARD_INDEX)));
+    }
+  }
+
   @AfterClass
   public void tearDown()
       throws Exception {
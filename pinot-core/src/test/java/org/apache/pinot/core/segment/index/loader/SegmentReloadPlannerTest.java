@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegment;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.core.segment.creator.SegmentIndexCreationDriver;
+import org.apache.pinot.core.segment.creator.impl.SegmentCreationDriverFactory;
+import org.apache.pinot.segments.v1.creator.SegmentTestUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class SegmentReloadPlannerTest {
+  private static final File INDEX_DIR = new File(SegmentReloadPlannerTest.class.toString());
+  private static final String AVRO_DATA = "data/test_data-mv.avro";
+  private static final String SCHEMA = "data/testDataMVSchema.json";
+  private static final String NEW_COLUMNS_SCHEMA = "data/newColumnsSchema1.json";
+  private static final String COLUMN1_NAME = "column1";
+  private static final String COLUMN7_NAME = "column7";
+
+  private File _indexDir;
+  private Schema _schema;
+  private Schema _newColumnsSchema;
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(INDEX_DIR);
+
+    ClassLoader classLoader = getClass().getClassLoader();
+    URL resourceUrl = classLoader.getResource(AVRO_DATA);
+    Assert.assertNotNull(resourceUrl);
+    File avroFile = new File(resourceUrl.getFile());
+    resourceUrl = classLoader.getResource(SCHEMA);
+    Assert.assertNotNull(resourceUrl);
+    _schema = Schema.fromFile(new File(resourceUrl.getFile()));
+    resourceUrl = classLoader.getResource(NEW_COLUMNS_SCHEMA);
+    Assert.assertNotNull(resourceUrl);
+    _newColumnsSchema = Schema.fromFile(new File(resourceUrl.getFile()));
+
+    // Create inverted index for 'column7' when constructing the segment.
+    SegmentGeneratorConfig segmentGeneratorConfig =
+        SegmentTestUtils.getSegmentGeneratorConfigWithSchema(avroFile, INDEX_DIR, "testTable", _schema);
+    segmentGeneratorConfig.setInvertedIndexCreationColumns(Collections.singletonList(COLUMN7_NAME));
+    SegmentIndexCreationDriver driver = SegmentCreationDriverFactory.get(null);
+    driver.init(segmentGeneratorConfig);
+    driver.build();
+    _indexDir = new File(INDEX_DIR, driver.getSegmentName());
+  }
+
+  @Test
+  public void testPlanChanges()
+      throws Exception {
+    // No change needed for the existing inverted index
+    IndexLoadingConfig indexLoadingConfig = new IndexLoadingConfig();
+    indexLoadingConfig.setInvertedIndexColumns(Collections.singleton(COLUMN7_NAME));
+    Assert.assertTrue(new SegmentReloadPlanner(_indexDir, indexLoadingConfig, _schema).planChanges().isEmpty());
+
+    // Removing an inverted index does not need any change on disk
+    Assert.assertTrue(new SegmentReloadPlanner(_indexDir, new IndexLoadingConfig(), _schema).planChanges().isEmpty());
+
+    // Version conversion
+    indexLoadingConfig.setSegmentVersion(SegmentVersion.v3);
+    List<String> changes = new SegmentReloadPlanner(_indexDir, indexLoadingConfig, _schema).planChanges();
+    Assert.assertEquals(changes.size(), 1);
+    indexLoadingConfig.setSegmentVersion(SegmentVersion.v1);
+
+    // New default columns
+    Assert.assertFalse(new SegmentReloadPlanner(_indexDir, indexLoadingConfig, _newColumnsSchema).planChanges()
+        .isEmpty());
+
+    // New inverted index
+    indexLoadingConfig.setInvertedIndexColumns(Collections.singleton(COLUMN1_NAME));
+    changes = new SegmentReloadPlanner(_indexDir, indexLoadingConfig, _schema).planChanges();
+    Assert.assertEquals(changes.size(), 1);
+
+    // No change needed after the pre-processing
+    try (SegmentPreProcessor processor = new SegmentPreProcessor(_indexDir, indexLoadingConfig, _schema)) {
+      processor.process();
+    }
+    Assert.assertTrue(new SegmentReloadPlanner(_indexDir, indexLoadingConfig, _schema).planChanges().isEmpty());
+
+    // Loading without pre-processing does not modify the segment on disk
+    Set<File> filesBeforeLoading = new HashSet<>(FileUtils.listFiles(_indexDir, null, true));
+    long sizeBeforeLoading = FileUtils.sizeOfDirectory(_indexDir);
+    ImmutableSegment immutableSegment =
+        ImmutableSegmentLoader.loadWithoutPreprocessing(_indexDir, indexLoadingConfig, _schema);
+    try {
+      Assert.assertNotNull(immutableSegment.getInvertedIndex(COLUMN1_NAME));
+    } finally {
+      immutableSegment.destroy();
+    }
+    Assert.assertEquals(new HashSet<>(FileUtils.listFiles(_indexDir, null, true)), filesBeforeLoading);
+    Assert.assertEquals(FileUtils.sizeOfDirectory(_indexDir), sizeBeforeLoading);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(INDEX_DIR);
+  }
+}
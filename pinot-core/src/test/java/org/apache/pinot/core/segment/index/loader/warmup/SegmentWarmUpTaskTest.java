@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader.warmup;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class SegmentWarmUpTaskTest {
+  private static final String TABLE_NAME = "testTable";
+  private static final String SEGMENT_NAME = "testSegment";
+
+  private List<PinotDataBuffer> _buffers;
+
+  @BeforeClass
+  public void setUp() {
+    // Sizes not aligned with the chunk size or the page size
+    _buffers = Arrays.asList(PinotDataBuffer.allocateDirect(3_000_000, ByteOrder.BIG_ENDIAN, null),
+        PinotDataBuffer.allocateDirect(5_000, ByteOrder.BIG_ENDIAN, null));
+    _buffers.get(0).putByte(4096, (byte) 1);
+    _buffers.get(1).putByte(4096, (byte) 2);
+  }
+
+  @Test
+  public void testPrefetch() {
+    assertEquals(_buffers.get(0).prefetch(0, _buffers.get(0).size()), 1);
+    assertEquals(_buffers.get(0).prefetch(4097, 10_000), 0);
+    assertEquals(_buffers.get(1).prefetch(0, _buffers.get(1).size()), 2);
+  }
+
+  @Test
+  public void testWarmUp()
+      throws Exception {
+    SegmentWarmUpTask warmUpTask = SegmentWarmUpManager.submit(TABLE_NAME, SEGMENT_NAME, _buffers);
+    assertTrue(warmUpTask.awaitCompletion(10_000L));
+    assertEquals(warmUpTask.getStatus(), SegmentWarmUpTask.Status.DONE);
+    assertEquals(warmUpTask.getTotalBytes(), 3_005_000);
+    assertEquals(warmUpTask.getWarmedUpBytes(), 3_005_000);
+
+    List<String> warmUpInfo = SegmentWarmUpManager.getWarmUpInfo();
+    assertEquals(warmUpInfo.size(), 1);
+    assertTrue(warmUpInfo.get(0).contains(SEGMENT_NAME));
+
+    // Cancelling a finished task should only stop tracking it
+    SegmentWarmUpManager.cancel(warmUpTask);
+    assertEquals(warmUpTask.getStatus(), SegmentWarmUpTask.Status.DONE);
+    assertTrue(SegmentWarmUpManager.getWarmUpInfo().isEmpty());
+  }
+
+  @Test
+  public void testCancelBeforeRun()
+      throws Exception {
+    SegmentWarmUpTask warmUpTask = new SegmentWarmUpTask(TABLE_NAME, SEGMENT_NAME, _buffers);
+    warmUpTask.run();
+    warmUpTask.cancel();
+    assertEquals(warmUpTask.getStatus(), SegmentWarmUpTask.Status.DONE);
+
+    warmUpTask = new SegmentWarmUpTask(TABLE_NAME, SEGMENT_NAME, _buffers);
+    // Cancel from another thread since cancel() blocks until the task finishes
+    Thread cancelThread = new Thread(warmUpTask::cancel);
+    cancelThread.start();
+    while (cancelThread.getState() != Thread.State.WAITING) {
+      Thread.yield();
+    }
+    warmUpTask.run();
+    cancelThread.join();
+    assertEquals(warmUpTask.getStatus(), SegmentWarmUpTask.Status.CANCELLED);
+    assertFalse(warmUpTask.getWarmedUpBytes() > 0);
+  }
+
+  @Test
+  public void testCancelScheduledTask()
+      throws Exception {
+    // The scheduled task never runs once its future is cancelled, the waiting callers should not block
+    SegmentWarmUpTask warmUpTask = new SegmentWarmUpTask(TABLE_NAME, SEGMENT_NAME, _buffers);
+    warmUpTask.setFuture(new FutureTask<>(warmUpTask, null));
+    warmUpTask.cancel();
+    assertEquals(warmUpTask.getStatus(), SegmentWarmUpTask.Status.CANCELLED);
+    assertTrue(warmUpTask.awaitCompletion(0L));
+  }
+
+  @AfterClass
+  public void tearDown()
+      throws Exception {
+    for (PinotDataBuffer buffer : _buffers) {
+      buffer.close();
+    }
+  }
+}
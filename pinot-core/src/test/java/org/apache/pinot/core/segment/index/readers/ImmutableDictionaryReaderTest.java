@@ -40,6 +40,8 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 
 public class ImmutableDictionaryReaderTest {
@@ -50,6 +52,7 @@ public class ImmutableDictionaryReaderTest {
   private static final String FLOAT_COLUMN_NAME = "floatColumn";
   private static final String DOUBLE_COLUMN_NAME = "doubleColumn";
   private static final String STRING_COLUMN_NAME = "stringColumn";
+  private static final String VAR_LENGTH_STRING_COLUMN_NAME = "varLengthStringColumn";
   private static final String BYTES_COLUMN_NAME = "bytesColumn";
   private static final int NUM_VALUES = 1000;
   private static final int MAX_STRING_LENGTH = 100;
@@ -60,6 +63,7 @@ public class ImmutableDictionaryReaderTest {
   private float[] _floatValues;
   private double[] _doubleValues;
   private String[] _stringValues;
+  private String[] _varLengthStringValues;
   private ByteArray[] _bytesValues;
 
   private int _numBytesPerStringValue;
@@ -104,6 +108,16 @@ public class ImmutableDictionaryReaderTest {
     _stringValues = stringSet.toArray(new String[NUM_VALUES]);
     Arrays.sort(_stringValues);
 
+    // Use shared prefixes to test front coding
+    String[] prefixes = new String[]{"", "http://www.example.com/", "http://www.example.com/path/to/"};
+    Set<String> varLengthStringSet = new HashSet<>();
+    while (varLengthStringSet.size() < NUM_VALUES) {
+      varLengthStringSet.add(prefixes[RANDOM.nextInt(prefixes.length)] + RandomStringUtils
+          .randomAlphanumeric(RANDOM.nextInt(MAX_STRING_LENGTH)));
+    }
+    _varLengthStringValues = varLengthStringSet.toArray(new String[NUM_VALUES]);
+    Arrays.sort(_varLengthStringValues);
+
     Set<ByteArray> bytesSet = new HashSet<>();
     while (bytesSet.size() < NUM_VALUES) {
       byte[] bytes = new byte[BYTES_LENGTH];
@@ -139,6 +153,12 @@ public class ImmutableDictionaryReaderTest {
       _numBytesPerStringValue = dictionaryCreator.getNumBytesPerEntry();
     }
 
+    try (SegmentDictionaryCreator dictionaryCreator = new SegmentDictionaryCreator(_varLengthStringValues,
+        new DimensionFieldSpec(VAR_LENGTH_STRING_COLUMN_NAME, FieldSpec.DataType.STRING, true), TEMP_DIR, true)) {
+      dictionaryCreator.build();
+      assertTrue(dictionaryCreator.isVarLengthDictionary());
+    }
+
     try (SegmentDictionaryCreator dictionaryCreator = new SegmentDictionaryCreator(_bytesValues,
         new DimensionFieldSpec(BYTES_COLUMN_NAME, FieldSpec.DataType.BYTES, true), TEMP_DIR)) {
       dictionaryCreator.build();
@@ -267,6 +287,49 @@ public class ImmutableDictionaryReaderTest {
     }
   }
 
+  @Test
+  public void testVarLengthStringDictionary()
+      throws Exception {
+    try (VarLengthStringDictionary stringDictionary = new VarLengthStringDictionary(PinotDataBuffer
+        .mapReadOnlyBigEndianFile(new File(TEMP_DIR, VAR_LENGTH_STRING_COLUMN_NAME + V1Constants.Dict.FILE_EXTENSION)),
+        NUM_VALUES)) {
+      for (int i = 0; i < NUM_VALUES; i++) {
+        assertEquals(stringDictionary.get(i), _varLengthStringValues[i]);
+        assertEquals(stringDictionary.getStringValue(i), _varLengthStringValues[i]);
+
+        assertEquals(stringDictionary.indexOf(_varLengthStringValues[i]), i);
+
+        String randomString = _varLengthStringValues[i].substring(0, RANDOM.nextInt(
+            _varLengthStringValues[i].length() + 1)) + RandomStringUtils.randomAlphanumeric(RANDOM.nextInt(3));
+        assertEquals(stringDictionary.insertionIndexOf(randomString),
+            Arrays.binarySearch(_varLengthStringValues, randomString));
+      }
+      assertEquals(stringDictionary.insertionIndexOf(""), Arrays.binarySearch(_varLengthStringValues, ""));
+      assertEquals(stringDictionary.insertionIndexOf("~"), -(NUM_VALUES + 1));
+
+      int[] dictIds = new int[NUM_VALUES];
+      for (int i = 0; i < NUM_VALUES; i++) {
+        dictIds[i] = RANDOM.nextInt(NUM_VALUES);
+      }
+      String[] values = new String[NUM_VALUES];
+      stringDictionary.readStringValues(dictIds, 0, NUM_VALUES, values, 0);
+      for (int i = 0; i < NUM_VALUES; i++) {
+        assertEquals(values[i], _varLengthStringValues[dictIds[i]]);
+      }
+    }
+
+    // Var-length dictionary should be smaller than the padded one
+    File fixedLengthDictionaryDir = new File(TEMP_DIR, "fixedLength");
+    try (SegmentDictionaryCreator dictionaryCreator = new SegmentDictionaryCreator(_varLengthStringValues,
+        new DimensionFieldSpec(VAR_LENGTH_STRING_COLUMN_NAME, FieldSpec.DataType.STRING, true),
+        fixedLengthDictionaryDir)) {
+      dictionaryCreator.build();
+      assertFalse(dictionaryCreator.isVarLengthDictionary());
+    }
+    assertTrue(new File(TEMP_DIR, VAR_LENGTH_STRING_COLUMN_NAME + V1Constants.Dict.FILE_EXTENSION).length()
+        < new File(fixedLengthDictionaryDir, VAR_LENGTH_STRING_COLUMN_NAME + V1Constants.Dict.FILE_EXTENSION).length());
+  }
+
   @Test
   public void testBytesDictionary()
       throws Exception {
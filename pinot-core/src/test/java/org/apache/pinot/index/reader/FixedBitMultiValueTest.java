@@ -21,10 +21,13 @@ package org.apache.pinot.index.reader;
 import java.io.File;
 import java.io.RandomAccessFile;
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
 import java.util.Random;
 import org.apache.pinot.core.io.reader.ReaderContext;
 import org.apache.pinot.core.io.reader.SingleColumnMultiValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
 import org.apache.pinot.core.io.writer.SingleColumnMultiValueWriter;
+import org.apache.pinot.core.io.writer.impl.v1.FixedBitPrefixSumMultiValueWriter;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +45,100 @@ public class FixedBitMultiValueTest {
         org.apache.pinot.core.io.reader.impl.v1.FixedBitMultiValueReader.class);
     testSingleColMultiValueWithContext(org.apache.pinot.core.io.writer.impl.v1.FixedBitMultiValueWriter.class,
         org.apache.pinot.core.io.reader.impl.v1.FixedBitMultiValueReader.class);
+    testSingleColMultiValue(org.apache.pinot.core.io.writer.impl.v1.FixedBitPrefixSumMultiValueWriter.class,
+        org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader.class);
+    testSingleColMultiValueWithContext(
+        org.apache.pinot.core.io.writer.impl.v1.FixedBitPrefixSumMultiValueWriter.class,
+        org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader.class);
+  }
+
+  @Test
+  public void testPrefixSumBulkRead()
+      throws Exception {
+    File f = new File(getClass().getName() + "_test_prefix_sum_bulk_read.dat");
+    f.delete();
+    int numDocs = 1000;
+    int maxNumValues = 50;
+    int numBitsPerValue = 11;
+    Random r = new Random();
+    int[][] data = new int[numDocs][];
+    int totalNumValues = 0;
+    for (int i = 0; i < numDocs; i++) {
+      int numValues = r.nextInt(maxNumValues) + 1;
+      data[i] = new int[numValues];
+      for (int j = 0; j < numValues; j++) {
+        data[i][j] = r.nextInt(1 << numBitsPerValue);
+      }
+      totalNumValues += numValues;
+    }
+
+    try (FixedBitPrefixSumMultiValueWriter writer = new FixedBitPrefixSumMultiValueWriter(f, numDocs, totalNumValues,
+        numBitsPerValue)) {
+      for (int i = 0; i < numDocs; i++) {
+        writer.setIntArray(i, data[i]);
+      }
+    }
+
+    try (FixedBitPrefixSumMultiValueReader reader = new FixedBitPrefixSumMultiValueReader(
+        PinotDataBuffer.mapReadOnlyBigEndianFile(f), numDocs, totalNumValues, numBitsPerValue)) {
+      FixedBitPrefixSumMultiValueReader.Context context = reader.createContext();
+      int[] rows = new int[numDocs];
+      int[] numValues = new int[numDocs];
+
+      // Contiguous rows
+      int startRow = r.nextInt(numDocs / 2);
+      int length = numDocs / 2;
+      for (int i = 0; i < length; i++) {
+        rows[i] = startRow + i;
+      }
+      checkBulkRead(reader, context, data, rows, length, numValues);
+
+      // Dense rows
+      length = 0;
+      for (int i = 0; i < numDocs; i++) {
+        if (r.nextBoolean()) {
+          rows[length++] = i;
+        }
+      }
+      checkBulkRead(reader, context, data, rows, length, numValues);
+
+      // Sparse rows
+      length = 0;
+      for (int i = 0; i < numDocs; i += 10) {
+        rows[length++] = i;
+      }
+      checkBulkRead(reader, context, data, rows, length, numValues);
+
+      // Random single row access with the same context
+      int[] values = new int[maxNumValues];
+      for (int i = 0; i < 100; i++) {
+        int row = r.nextInt(numDocs);
+        int numValuesForRow = reader.getIntArray(row, values, context);
+        Assert.assertEquals(Arrays.copyOf(values, numValuesForRow), data[row]);
+      }
+    } finally {
+      f.delete();
+    }
+  }
+
+  private void checkBulkRead(FixedBitPrefixSumMultiValueReader reader,
+      FixedBitPrefixSumMultiValueReader.Context context, int[][] data, int[] rows, int length, int[] numValues) {
+    int expectedTotalNumValues = 0;
+    for (int i = 0; i < length; i++) {
+      expectedTotalNumValues += data[rows[i]].length;
+    }
+    Assert.assertEquals(reader.getNumValues(rows, length, numValues, context), expectedTotalNumValues);
+    for (int i = 0; i < length; i++) {
+      Assert.assertEquals(numValues[i], data[rows[i]].length);
+    }
+
+    int[] values = reader.getIntArrays(rows, length, numValues, context);
+    int valueIndex = 0;
+    for (int i = 0; i < length; i++) {
+      Assert.assertEquals(numValues[i], data[rows[i]].length);
+      Assert.assertEquals(Arrays.copyOfRange(values, valueIndex, valueIndex + numValues[i]), data[rows[i]]);
+      valueIndex += numValues[i];
+    }
   }
 
   public void testSingleColMultiValue(Class<? extends SingleColumnMultiValueWriter> writerClazz,
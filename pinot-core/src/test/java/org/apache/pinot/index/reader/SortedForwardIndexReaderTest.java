@@ -84,6 +84,18 @@ public class SortedForwardIndexReaderTest {
       }
       end = System.currentTimeMillis();
       LOGGER.debug("Took " + (end - start) + " to scan " + totalDocs + " with context");
+
+      // contiguous range of docs
+      int numDocs = endDocIdArray[cardinality - 1] + 1;
+      int[] values = new int[10 * maxLength];
+      for (int i = 0; i < 1000; i++) {
+        int startDocId = random.nextInt(numDocs);
+        int length = Math.min(random.nextInt(values.length) + 1, numDocs - startDocId);
+        reader.readValues(startDocId, length, reader.createContext(), values);
+        for (int j = 0; j < length; j++) {
+          Assert.assertEquals(values[j], reader.getInt(startDocId + j));
+        }
+      }
     }
 
     file.delete();
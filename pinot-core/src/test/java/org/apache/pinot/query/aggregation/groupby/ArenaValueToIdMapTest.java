@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.query.aggregation.groupby;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.pinot.common.utils.primitive.ByteArray;
+import org.apache.pinot.core.query.aggregation.groupby.utils.BytesToIdMap;
+import org.apache.pinot.core.query.aggregation.groupby.utils.StringToIdMap;
+import org.apache.pinot.core.query.aggregation.groupby.utils.ValueToIdMap;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+
+/**
+ * Test for the arena backed {@link StringToIdMap} and {@link BytesToIdMap}.
+ */
+public class ArenaValueToIdMapTest {
+  private static final long RANDOM_SEED = System.nanoTime();
+  private static final int NUM_UNIQUE_VALUES = 5_000;
+  private static final int NUM_LOOKUPS = 50_000;
+  private static final int MAX_LENGTH = 20;
+
+  private final Random _random = new Random(RANDOM_SEED);
+  private final String _errorMessage = "Random seed is: " + RANDOM_SEED;
+
+  @Test
+  public void testStringToIdMap() {
+    List<String> uniqueValues = new ArrayList<>(NUM_UNIQUE_VALUES);
+    // Include empty string
+    uniqueValues.add("");
+    for (int i = 1; i < NUM_UNIQUE_VALUES; i++) {
+      uniqueValues.add(RandomStringUtils.random(_random.nextInt(MAX_LENGTH + 1), 0, 0, true, true, null, _random));
+    }
+
+    StringToIdMap stringToIdMap = new StringToIdMap();
+    Map<String, Integer> expectedIds = new HashMap<>();
+    for (int i = 0; i < NUM_LOOKUPS; i++) {
+      String value = uniqueValues.get(_random.nextInt(NUM_UNIQUE_VALUES));
+      // Use a new String object to make sure the values are compared by content
+      int id = stringToIdMap.put(new String(value.toCharArray()));
+      Integer expectedId = expectedIds.putIfAbsent(value, expectedIds.size());
+      assertEquals(id, expectedId == null ? expectedIds.size() - 1 : expectedId, _errorMessage);
+    }
+
+    assertEquals(stringToIdMap.size(), expectedIds.size(), _errorMessage);
+    for (Map.Entry<String, Integer> entry : expectedIds.entrySet()) {
+      assertEquals(stringToIdMap.getId(entry.getKey()), (int) entry.getValue(), _errorMessage);
+      assertEquals(stringToIdMap.getString(entry.getValue()), entry.getKey(), _errorMessage);
+    }
+    assertEquals(stringToIdMap.getId("non-existing value longer than max length"), ValueToIdMap.INVALID_KEY,
+        _errorMessage);
+  }
+
+  @Test
+  public void testBytesToIdMap() {
+    List<byte[]> uniqueValues = new ArrayList<>(NUM_UNIQUE_VALUES);
+    for (int i = 0; i < NUM_UNIQUE_VALUES; i++) {
+      byte[] value = new byte[_random.nextInt(MAX_LENGTH + 1)];
+      _random.nextBytes(value);
+      uniqueValues.add(value);
+    }
+
+    BytesToIdMap bytesToIdMap = new BytesToIdMap();
+    Map<ByteArray, Integer> expectedIds = new HashMap<>();
+    for (int i = 0; i < NUM_LOOKUPS; i++) {
+      byte[] value = uniqueValues.get(_random.nextInt(NUM_UNIQUE_VALUES));
+      int id = bytesToIdMap.put(value.clone());
+      Integer expectedId = expectedIds.putIfAbsent(new ByteArray(value), expectedIds.size());
+      assertEquals(id, expectedId == null ? expectedIds.size() - 1 : expectedId, _errorMessage);
+    }
+
+    assertEquals(bytesToIdMap.size(), expectedIds.size(), _errorMessage);
+    for (Map.Entry<ByteArray, Integer> entry : expectedIds.entrySet()) {
+      byte[] value = entry.getKey().getBytes();
+      int id = entry.getValue();
+      assertEquals(bytesToIdMap.getId(value), id, _errorMessage);
+      assertEquals(bytesToIdMap.getBytes(id), value, _errorMessage);
+      assertEquals(bytesToIdMap.getString(id), ByteArray.toHexString(value), _errorMessage);
+    }
+  }
+}
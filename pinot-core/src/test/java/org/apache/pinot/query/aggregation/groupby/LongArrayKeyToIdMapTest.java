@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.query.aggregation.groupby;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.pinot.core.query.aggregation.groupby.utils.LongArrayKeyToIdMap;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Test for {@link LongArrayKeyToIdMap}.
+ */
+public class LongArrayKeyToIdMapTest {
+  private static final long RANDOM_SEED = System.nanoTime();
+  private static final int KEY_LENGTH = 3;
+  private static final int NUM_KEYS = 10_000;
+  private static final int NUM_LOOKUPS = 100_000;
+
+  private final String _errorMessage = "Random seed is: " + RANDOM_SEED;
+
+  @Test
+  public void testPutAndGet() {
+    Random random = new Random(RANDOM_SEED);
+    List<List<Long>> uniqueKeys = new ArrayList<>(NUM_KEYS);
+    for (int i = 0; i < NUM_KEYS; i++) {
+      List<Long> key = new ArrayList<>(KEY_LENGTH);
+      for (int j = 0; j < KEY_LENGTH; j++) {
+        // Use a small value range for the last element to create keys sharing the same prefix
+        key.add(j == KEY_LENGTH - 1 ? (long) random.nextInt(4) : random.nextLong());
+      }
+      uniqueKeys.add(key);
+    }
+
+    // Start with a small capacity to exercise the rehash
+    LongArrayKeyToIdMap map = new LongArrayKeyToIdMap(KEY_LENGTH, 4);
+    Map<List<Long>, Integer> expectedIds = new HashMap<>();
+    long[] keyBuffer = new long[KEY_LENGTH];
+    for (int i = 0; i < NUM_LOOKUPS; i++) {
+      List<Long> key = uniqueKeys.get(random.nextInt(NUM_KEYS));
+      for (int j = 0; j < KEY_LENGTH; j++) {
+        keyBuffer[j] = key.get(j);
+      }
+      Integer expectedId = expectedIds.get(key);
+      int id = map.put(keyBuffer, Integer.MAX_VALUE);
+      if (expectedId == null) {
+        // New keys should get contiguous ids
+        assertEquals(id, expectedIds.size(), _errorMessage);
+        expectedIds.put(key, id);
+      } else {
+        assertEquals(id, expectedId.intValue(), _errorMessage);
+      }
+    }
+    assertEquals(map.size(), expectedIds.size(), _errorMessage);
+
+    for (Map.Entry<List<Long>, Integer> entry : expectedIds.entrySet()) {
+      List<Long> key = entry.getKey();
+      for (int j = 0; j < KEY_LENGTH; j++) {
+        keyBuffer[j] = key.get(j);
+      }
+      int id = entry.getValue();
+      assertEquals(map.get(keyBuffer), id, _errorMessage);
+      map.getKey(id, keyBuffer);
+      for (int j = 0; j < KEY_LENGTH; j++) {
+        assertEquals(keyBuffer[j], (long) key.get(j), _errorMessage);
+      }
+    }
+    assertTrue(map.getSizeInBytes() >= (long) map.size() * KEY_LENGTH * Long.BYTES, _errorMessage);
+  }
+
+  @Test
+  public void testLimit() {
+    LongArrayKeyToIdMap map = new LongArrayKeyToIdMap(1);
+    assertEquals(map.put(new long[]{1L}, 2), 0);
+    assertEquals(map.put(new long[]{2L}, 2), 1);
+    // Limit reached, new keys should not be added but existing keys should still be found
+    assertEquals(map.put(new long[]{3L}, 2), LongArrayKeyToIdMap.INVALID_ID);
+    assertEquals(map.get(new long[]{3L}), LongArrayKeyToIdMap.INVALID_ID);
+    assertEquals(map.put(new long[]{2L}, 2), 1);
+    assertEquals(map.size(), 2);
+  }
+}
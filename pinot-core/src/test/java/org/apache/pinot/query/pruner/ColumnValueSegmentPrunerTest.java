@@ -61,6 +61,11 @@ public class ColumnValueSegmentPrunerTest {
     Assert.assertFalse(runPruner("SELECT COUNT(*) FROM table WHERE time = 20"));
     Assert.assertTrue(runPruner("SELECT COUNT(*) FROM table WHERE time = 30"));
 
+    // In predicate
+    Assert.assertTrue(runPruner("SELECT COUNT(*) FROM table WHERE time IN (0, 30)"));
+    Assert.assertFalse(runPruner("SELECT COUNT(*) FROM table WHERE time IN (0, 10)"));
+    Assert.assertFalse(runPruner("SELECT COUNT(*) FROM table WHERE time IN (15)"));
+
     // Range predicate
     Assert.assertTrue(runPruner("SELECT COUNT(*) FROM table WHERE time < 10"));
     Assert.assertFalse(runPruner("SELECT COUNT(*) FROM table WHERE time <= 10"));
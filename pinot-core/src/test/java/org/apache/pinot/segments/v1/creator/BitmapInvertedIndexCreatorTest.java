@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.common.data.DimensionFieldSpec;
 import org.apache.pinot.common.data.FieldSpec.DataType;
@@ -51,6 +53,7 @@ public class BitmapInvertedIndexCreatorTest {
   private static final int CARDINALITY = 10;
   private static final int NUM_DOCS = 100;
   private static final int MAX_NUM_MULTI_VALUES = 10;
+  private static final int NUM_THREADS = 4;
   private static final Random RANDOM = new Random();
 
   @BeforeMethod
@@ -146,6 +149,58 @@ public class BitmapInvertedIndexCreatorTest {
     Assert.assertTrue(FileUtils.contentEquals(ON_HEAP_INVERTED_INDEX, OFF_HEAP_INVERTED_INDEX));
   }
 
+  @Test
+  public void testParallelCreation()
+      throws IOException {
+    int[] svDictIds = new int[NUM_DOCS];
+    int[][] mvDictIds = new int[NUM_DOCS][];
+    int numValues = 0;
+    for (int docId = 0; docId < NUM_DOCS; docId++) {
+      svDictIds[docId] = RANDOM.nextInt(CARDINALITY);
+      int numValuesForDoc = RANDOM.nextInt(MAX_NUM_MULTI_VALUES) + 1;
+      mvDictIds[docId] = new int[numValuesForDoc];
+      numValues += numValuesForDoc;
+      for (int i = 0; i < numValuesForDoc; i++) {
+        mvDictIds[docId][i] = RANDOM.nextInt(CARDINALITY);
+      }
+    }
+
+    // Inverted index created with multiple threads should be the same as the one created with a single thread (the
+    // single-threaded one is created into the on-heap index directory to reuse the file constants)
+    ExecutorService executorService = Executors.newFixedThreadPool(NUM_THREADS);
+    try {
+      for (boolean singleValue : new boolean[]{true, false}) {
+        for (int numThreads : new int[]{1, NUM_THREADS}) {
+          File indexDir = numThreads == 1 ? ON_HEAP_INDEX_DIR : OFF_HEAP_INDEX_DIR;
+          try (OffHeapBitmapInvertedIndexCreator offHeapCreator = new OffHeapBitmapInvertedIndexCreator(indexDir,
+              new DimensionFieldSpec(COLUMN_NAME, DataType.INT, singleValue), CARDINALITY, NUM_DOCS, numValues,
+              numThreads == 1 ? null : executorService, numThreads)) {
+            for (int docId = 0; docId < NUM_DOCS; docId++) {
+              if (singleValue) {
+                offHeapCreator.add(svDictIds[docId]);
+              } else {
+                offHeapCreator.add(mvDictIds[docId], mvDictIds[docId].length);
+              }
+            }
+            offHeapCreator.seal();
+          }
+        }
+        Assert.assertTrue(FileUtils.contentEquals(ON_HEAP_INVERTED_INDEX, OFF_HEAP_INVERTED_INDEX));
+        Assert.assertEquals(OFF_HEAP_INDEX_DIR.list().length, 1);
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testIsTempFile() {
+    String invertedIndexFileName = COLUMN_NAME + V1Constants.Indexes.BITMAP_INVERTED_INDEX_FILE_EXTENSION;
+    Assert.assertTrue(OffHeapBitmapInvertedIndexCreator.isTempFile(new File(invertedIndexFileName + ".bitmap.buf.0")));
+    Assert.assertTrue(OffHeapBitmapInvertedIndexCreator.isTempFile(new File(COLUMN_NAME + ".inv.idx.val.buf")));
+    Assert.assertFalse(OffHeapBitmapInvertedIndexCreator.isTempFile(new File(invertedIndexFileName)));
+  }
+
   private void validate(File invertedIndex, Set<Integer>[] postingLists)
       throws IOException {
     try (BitmapInvertedIndexReader reader = new BitmapInvertedIndexReader(
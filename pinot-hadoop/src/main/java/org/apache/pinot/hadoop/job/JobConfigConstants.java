@@ -52,4 +52,9 @@ public class JobConfigConstants {
 
   // The path to the record reader to be configured
   public static final String RECORD_READER_PATH = "record.reader.path";
+
+  // Roll over to a new segment when the max number of rows or the max raw size of the rows (not the size on disk) is
+  // reached, where the segments are also partitioned with the segment partition config in the table config
+  public static final String MAX_NUM_ROWS_PER_SEGMENT = "max.num.rows.per.segment";
+  public static final String MAX_SEGMENT_SIZE_IN_BYTES = "max.segment.size.in.bytes";
 }
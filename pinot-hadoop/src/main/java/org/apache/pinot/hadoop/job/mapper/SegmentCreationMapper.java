@@ -22,6 +22,8 @@ import com.google.common.base.Preconditions;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
@@ -42,10 +44,13 @@ import org.apache.pinot.common.utils.JsonUtils;
 import org.apache.pinot.common.utils.TarGzCompressionUtils;
 import org.apache.pinot.core.data.readers.CSVRecordReaderConfig;
 import org.apache.pinot.core.data.readers.FileFormat;
+import org.apache.pinot.core.data.readers.RecordReader;
 import org.apache.pinot.core.data.readers.RecordReaderConfig;
+import org.apache.pinot.core.data.readers.RecordReaderFactory;
 import org.apache.pinot.core.data.readers.ThriftRecordReaderConfig;
 import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
 import org.apache.pinot.core.segment.creator.SegmentIndexCreationDriver;
+import org.apache.pinot.core.segment.creator.impl.RollingSegmentCreationDriver;
 import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
 import org.apache.pinot.core.segment.name.NormalizedDateSegmentNameGenerator;
 import org.apache.pinot.core.segment.name.SegmentNameGenerator;
@@ -71,6 +76,9 @@ public class SegmentCreationMapper extends Mapper<LongWritable, Text, LongWritab
   protected TableConfig _tableConfig;
   protected String _recordReaderPath;
   protected Path _readerConfigFile;
+  protected boolean _rollingSegmentCreation;
+  protected int _maxNumRowsPerSegment;
+  protected long _maxSegmentSizeInBytes;
 
   // HDFS segment tar directory
   protected Path _hdfsSegmentTarDir;
@@ -102,6 +110,10 @@ public class SegmentCreationMapper extends Mapper<LongWritable, Text, LongWritab
       _readerConfigFile = new Path(readerConfigFile);
     }
     _recordReaderPath = _jobConf.get(JobConfigConstants.RECORD_READER_PATH);
+    _rollingSegmentCreation = _jobConf.get(JobConfigConstants.MAX_NUM_ROWS_PER_SEGMENT) != null
+        || _jobConf.get(JobConfigConstants.MAX_SEGMENT_SIZE_IN_BYTES) != null;
+    _maxNumRowsPerSegment = _jobConf.getInt(JobConfigConstants.MAX_NUM_ROWS_PER_SEGMENT, Integer.MAX_VALUE);
+    _maxSegmentSizeInBytes = _jobConf.getLong(JobConfigConstants.MAX_SEGMENT_SIZE_IN_BYTES, Long.MAX_VALUE);
 
     // Set up segment name generator
     String segmentNameGeneratorType =
@@ -156,6 +168,10 @@ public class SegmentCreationMapper extends Mapper<LongWritable, Text, LongWritab
     _logger.info("Segment Name Generator: {}", _segmentNameGenerator);
     _logger.info("Table Config: {}", _tableConfig);
     _logger.info("Reader Config File: {}", _readerConfigFile);
+    if (_rollingSegmentCreation) {
+      _logger.info("Max Number of Rows per Segment: {}", _maxNumRowsPerSegment);
+      _logger.info("Max Segment Size in Bytes: {}", _maxSegmentSizeInBytes);
+    }
     _logger.info("*********************************************************************");
     _logger.info("HDFS Segment Tar Directory: {}", _hdfsSegmentTarDir);
     _logger.info("Local Staging Directory: {}", _localStagingDir);
@@ -220,15 +236,21 @@ public class SegmentCreationMapper extends Mapper<LongWritable, Text, LongWritab
     addAdditionalSegmentGeneratorConfigs(segmentGeneratorConfig, hdfsInputFile, sequenceId);
 
     _logger.info("Start creating segment with sequence id: {}", sequenceId);
-    SegmentIndexCreationDriver driver = new SegmentIndexCreationDriverImpl();
+    List<String> segmentNames;
 
     // Start a thread that reports progress every minute during segment generation to prevent job getting killed
     Thread progressReporterThread = new Thread(getProgressReporter(context));
     progressReporterThread.setName(PROGRESS_REPORTER_THREAD_NAME);
     progressReporterThread.start();
     try {
-      driver.init(segmentGeneratorConfig);
-      driver.build();
+      if (_rollingSegmentCreation) {
+        segmentNames = createRollingSegments(segmentGeneratorConfig);
+      } else {
+        SegmentIndexCreationDriver driver = new SegmentIndexCreationDriverImpl();
+        driver.init(segmentGeneratorConfig);
+        driver.build();
+        segmentNames = Collections.singletonList(driver.getSegmentName());
+      }
     } catch (Exception e) {
       _logger.error("Caught exception while creating segment with HDFS input file: {}, sequence id: {}", hdfsInputFile,
           sequenceId, e);
@@ -240,27 +262,44 @@ public class SegmentCreationMapper extends Mapper<LongWritable, Text, LongWritab
         _logger.error("Failed to interrupt progress reporter thread: {}", progressReporterThread);
       }
     }
-    String segmentName = driver.getSegmentName();
-    _logger.info("Finish creating segment: {} with sequence id: {}", segmentName, sequenceId);
-
-    File localSegmentDir = new File(_localSegmentDir, segmentName);
-    String segmentTarFileName = segmentName + JobConfigConstants.TAR_GZ_FILE_EXT;
-    File localSegmentTarFile = new File(_localSegmentTarDir, segmentTarFileName);
-    _logger.info("Tarring segment from: {} to: {}", localSegmentDir, localSegmentTarFile);
-    TarGzCompressionUtils.createTarGzOfDirectory(localSegmentDir.getPath(), localSegmentTarFile.getPath());
-
-    long uncompressedSegmentSize = FileUtils.sizeOf(localSegmentDir);
-    long compressedSegmentSize = FileUtils.sizeOf(localSegmentTarFile);
-    _logger.info("Size for segment: {}, uncompressed: {}, compressed: {}", segmentName,
-        DataSize.fromBytes(uncompressedSegmentSize), DataSize.fromBytes(compressedSegmentSize));
-
-    Path hdfsSegmentTarFile = new Path(_hdfsSegmentTarDir, segmentTarFileName);
-    _logger.info("Copying segment tar file from: {} to: {}", localSegmentTarFile, hdfsSegmentTarFile);
-    _fileSystem.copyFromLocalFile(true, true, new Path(localSegmentTarFile.getAbsolutePath()), hdfsSegmentTarFile);
-
-    context.write(new LongWritable(sequenceId), new Text(segmentTarFileName));
-    _logger.info("Finish generating segment: {} with HDFS input file: {}, sequence id: {}", segmentName, hdfsInputFile,
-        sequenceId);
+
+    for (String segmentName : segmentNames) {
+      _logger.info("Finish creating segment: {} with sequence id: {}", segmentName, sequenceId);
+
+      File localSegmentDir = new File(_localSegmentDir, segmentName);
+      String segmentTarFileName = segmentName + JobConfigConstants.TAR_GZ_FILE_EXT;
+      File localSegmentTarFile = new File(_localSegmentTarDir, segmentTarFileName);
+      _logger.info("Tarring segment from: {} to: {}", localSegmentDir, localSegmentTarFile);
+      TarGzCompressionUtils.createTarGzOfDirectory(localSegmentDir.getPath(), localSegmentTarFile.getPath());
+
+      long uncompressedSegmentSize = FileUtils.sizeOf(localSegmentDir);
+      long compressedSegmentSize = FileUtils.sizeOf(localSegmentTarFile);
+      _logger.info("Size for segment: {}, uncompressed: {}, compressed: {}", segmentName,
+          DataSize.fromBytes(uncompressedSegmentSize), DataSize.fromBytes(compressedSegmentSize));
+
+      Path hdfsSegmentTarFile = new Path(_hdfsSegmentTarDir, segmentTarFileName);
+      _logger.info("Copying segment tar file from: {} to: {}", localSegmentTarFile, hdfsSegmentTarFile);
+      _fileSystem.copyFromLocalFile(true, true, new Path(localSegmentTarFile.getAbsolutePath()), hdfsSegmentTarFile);
+
+      context.write(new LongWritable(sequenceId), new Text(segmentTarFileName));
+      _logger.info("Finish generating segment: {} with HDFS input file: {}, sequence id: {}", segmentName,
+          hdfsInputFile, sequenceId);
+    }
+  }
+
+  /**
+   * Creates segments from the input file, rolling over to a new segment when the max number of rows or the estimated
+   * segment size is reached.
+   */
+  protected List<String> createRollingSegments(SegmentGeneratorConfig segmentGeneratorConfig)
+      throws Exception {
+    segmentGeneratorConfig.setMaxNumRowsPerSegment(_maxNumRowsPerSegment);
+    segmentGeneratorConfig.setMaxSegmentSizeInBytes(_maxSegmentSizeInBytes);
+    try (RecordReader recordReader = RecordReaderFactory.getRecordReader(segmentGeneratorConfig);
+        RollingSegmentCreationDriver driver = new RollingSegmentCreationDriver(segmentGeneratorConfig)) {
+      driver.build(recordReader);
+      return driver.finish();
+    }
   }
 
   protected FileFormat getFileFormat(String fileName) {
@@ -26,10 +26,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
+import org.apache.http.Header;
 import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.pinot.common.config.PinotTaskConfig;
+import org.apache.pinot.common.metadata.segment.SegmentZKMetadataCustomMapModifier;
 import org.apache.pinot.common.segment.fetcher.SegmentFetcherFactory;
 import org.apache.pinot.common.utils.FileUploadDownloadClient;
 import org.apache.pinot.common.utils.TarGzCompressionUtils;
@@ -63,6 +67,20 @@ public abstract class BaseMultipleSegmentsConversionExecutor extends BaseTaskExe
       @Nonnull List<File> originalIndexDir, @Nonnull File workingDir)
       throws Exception;
 
+  /**
+   * Returns the modifier for the custom map of the given output segment ZK metadata, or {@code null} if the custom map
+   * does not need to be set.
+   *
+   * @param pinotTaskConfig Task config
+   * @param segmentConversionResult Segment conversion result for the output segment
+   * @return Segment ZK metadata custom map modifier
+   */
+  @Nullable
+  protected SegmentZKMetadataCustomMapModifier getSegmentZKMetadataCustomMapModifier(
+      @Nonnull PinotTaskConfig pinotTaskConfig, @Nonnull SegmentConversionResult segmentConversionResult) {
+    return null;
+  }
+
   @Override
   public List<SegmentConversionResult> executeTask(@Nonnull PinotTaskConfig pinotTaskConfig)
       throws Exception {
@@ -129,14 +147,26 @@ public abstract class BaseMultipleSegmentsConversionExecutor extends BaseTaskExe
       // Upload the tarred segments
       for (int i = 0; i < numOutputSegments; i++) {
         File convertedTarredSegmentFile = tarredSegmentFiles.get(i);
-        String resultSegmentName = segmentConversionResults.get(i).getSegmentName();
+        SegmentConversionResult segmentConversionResult = segmentConversionResults.get(i);
+        String resultSegmentName = segmentConversionResult.getSegmentName();
+
+        // Set segment ZK metadata custom map modifier into HTTP header if required
+        List<Header> httpHeaders = null;
+        SegmentZKMetadataCustomMapModifier segmentZKMetadataCustomMapModifier =
+            getSegmentZKMetadataCustomMapModifier(pinotTaskConfig, segmentConversionResult);
+        if (segmentZKMetadataCustomMapModifier != null) {
+          httpHeaders = Collections.singletonList(
+              new BasicHeader(FileUploadDownloadClient.CustomHeaders.SEGMENT_ZK_METADATA_CUSTOM_MAP_MODIFIER,
+                  segmentZKMetadataCustomMapModifier.toJsonString()));
+        }
 
         // Set parameters for upload request
         List<NameValuePair> parameters = Collections.singletonList(
             new BasicNameValuePair(FileUploadDownloadClient.QueryParameters.ENABLE_PARALLEL_PUSH_PROTECTION, "true"));
 
-        SegmentConversionUtils.uploadSegment(configs, null, parameters, tableNameWithType, resultSegmentName, uploadURL,
-            convertedTarredSegmentFile);
+        SegmentConversionUtils
+            .uploadSegment(configs, httpHeaders, parameters, tableNameWithType, resultSegmentName, uploadURL,
+                convertedTarredSegmentFile);
       }
 
       String outputSegmentNames = segmentConversionResults.stream().map(SegmentConversionResult::getSegmentName)
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.minion.executor;
+
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.apache.pinot.common.config.IndexingConfig;
+import org.apache.pinot.common.config.PinotTaskConfig;
+import org.apache.pinot.common.config.TableNameBuilder;
+import org.apache.pinot.common.metadata.segment.SegmentZKMetadataCustomMapModifier;
+import org.apache.pinot.common.utils.JsonUtils;
+import org.apache.pinot.core.common.MinionConstants;
+import org.apache.pinot.core.minion.rollup.MergeRollupSegmentConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Task executor that merges (concatenates or rolls up) the input segments into the merged segment, then deletes the
+ * input segments once the merged segment is uploaded.
+ * <p>Uploading the merged segment and deleting the input segments is not atomic: the rows are served twice until the
+ * input segments are deleted. The names of the input segments are recorded in the custom map of the merged segment ZK
+ * metadata, so that the input segments that fail to be deleted are never merged again, and are deleted by the
+ * {@code MergeRollupTaskGenerator} instead.
+ */
+public class MergeRollupTaskExecutor extends BaseMultipleSegmentsConversionExecutor {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MergeRollupTaskExecutor.class);
+
+  @Override
+  protected List<SegmentConversionResult> convert(@Nonnull PinotTaskConfig pinotTaskConfig,
+      @Nonnull List<File> originalIndexDirs, @Nonnull File workingDir)
+      throws Exception {
+    Map<String, String> configs = pinotTaskConfig.getConfigs();
+    String tableNameWithType = configs.get(MinionConstants.TABLE_NAME_KEY);
+    String mergedSegmentName = configs.get(MinionConstants.MergeRollupTask.MERGED_SEGMENT_NAME_KEY);
+    String mergeType = configs.get(MinionConstants.MergeRollupTask.MERGE_TYPE_KEY);
+    Preconditions.checkNotNull(mergedSegmentName, "Merged segment name must be configured");
+    Preconditions.checkNotNull(mergeType, "Merge type must be configured");
+
+    // Collect the aggregation types of the metric columns, e.g. "m1.aggregationType" -> "MAX"
+    Map<String, String> rollupAggregateTypes = new HashMap<>();
+    for (Map.Entry<String, String> entry : configs.entrySet()) {
+      String key = entry.getKey();
+      if (key.endsWith(MinionConstants.MergeRollupTask.AGGREGATION_TYPE_KEY_SUFFIX)) {
+        rollupAggregateTypes.put(
+            key.substring(0, key.length() - MinionConstants.MergeRollupTask.AGGREGATION_TYPE_KEY_SUFFIX.length()),
+            entry.getValue());
+      }
+    }
+
+    // Generate the merged segment with the sorted column and the inverted index columns of the table
+    String indexingConfigString = configs.get(MinionConstants.MergeRollupTask.INDEXING_CONFIG_KEY);
+    IndexingConfig indexingConfig =
+        indexingConfigString != null ? JsonUtils.stringToObject(indexingConfigString, IndexingConfig.class) : null;
+
+    String numThreadsConfig = configs.get(MinionConstants.MergeRollupTask.NUM_THREADS_KEY);
+    int numThreads =
+        numThreadsConfig != null ? Integer.parseInt(numThreadsConfig) : Runtime.getRuntime().availableProcessors();
+
+    MergeRollupSegmentConverter mergeRollupSegmentConverter =
+        new MergeRollupSegmentConverter.Builder().setMergeType(mergeType)
+            .setTableName(TableNameBuilder.extractRawTableName(tableNameWithType)).setSegmentName(mergedSegmentName)
+            .setInputIndexDirs(originalIndexDirs).setWorkingDir(workingDir)
+            .setRollupPreAggregateType(rollupAggregateTypes).setIndexingConfig(indexingConfig).setNumThreads(numThreads)
+            .build();
+
+    List<File> resultFiles = mergeRollupSegmentConverter.convert();
+    List<SegmentConversionResult> results = new ArrayList<>(resultFiles.size());
+    for (File resultFile : resultFiles) {
+      results.add(new SegmentConversionResult.Builder().setFile(resultFile).setTableNameWithType(tableNameWithType)
+          .setSegmentName(resultFile.getName()).build());
+    }
+    return results;
+  }
+
+  @Override
+  protected SegmentZKMetadataCustomMapModifier getSegmentZKMetadataCustomMapModifier(
+      @Nonnull PinotTaskConfig pinotTaskConfig, @Nonnull SegmentConversionResult segmentConversionResult) {
+    return new SegmentZKMetadataCustomMapModifier(SegmentZKMetadataCustomMapModifier.ModifyMode.UPDATE, Collections
+        .singletonMap(MinionConstants.MergeRollupTask.INPUT_SEGMENTS_KEY,
+            pinotTaskConfig.getConfigs().get(MinionConstants.SEGMENT_NAME_KEY)));
+  }
+
+  @Override
+  public List<SegmentConversionResult> executeTask(@Nonnull PinotTaskConfig pinotTaskConfig)
+      throws Exception {
+    List<SegmentConversionResult> results = super.executeTask(pinotTaskConfig);
+
+    // Delete the input segments after the merged segments are uploaded
+    // NOTE: failing to delete an input segment does not fail the task because the merged segment is already uploaded,
+    // and the input segment will be deleted by the task generator
+    Map<String, String> configs = pinotTaskConfig.getConfigs();
+    String tableNameWithType = configs.get(MinionConstants.TABLE_NAME_KEY);
+    String rawTableName = TableNameBuilder.extractRawTableName(tableNameWithType);
+    String tableType = TableNameBuilder.getTableTypeFromTableName(tableNameWithType).toString().toLowerCase();
+    String uploadURL = configs.get(MinionConstants.UPLOAD_URL_KEY);
+    for (String segmentName : configs.get(MinionConstants.SEGMENT_NAME_KEY).split(MinionConstants.URL_SEPARATOR)) {
+      String deleteURL =
+          uploadURL + "/" + rawTableName + "/" + URLEncoder.encode(segmentName, "UTF-8") + "?type=" + tableType;
+      try {
+        SegmentConversionUtils.deleteSegment(configs, tableNameWithType, segmentName, deleteURL);
+      } catch (Exception e) {
+        LOGGER.warn("Failed to delete input segment: {} of table: {} after merging it, will be deleted later",
+            segmentName, tableNameWithType, e);
+      }
+    }
+    return results;
+  }
+}
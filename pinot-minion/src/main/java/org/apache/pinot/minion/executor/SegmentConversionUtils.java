@@ -53,18 +53,7 @@ public class SegmentConversionUtils {
   public static void uploadSegment(Map<String, String> configs, List<Header> httpHeaders,
       List<NameValuePair> parameters, String tableNameWithType, String segmentName, String uploadURL, File fileToUpload)
       throws Exception {
-    // Generate retry policy based on the config
-    String maxNumAttemptsConfig = configs.get(MinionConstants.MAX_NUM_ATTEMPTS_KEY);
-    int maxNumAttempts =
-        maxNumAttemptsConfig != null ? Integer.parseInt(maxNumAttemptsConfig) : DEFAULT_MAX_NUM_ATTEMPTS;
-    String initialRetryDelayMsConfig = configs.get(MinionConstants.INITIAL_RETRY_DELAY_MS_KEY);
-    long initialRetryDelayMs =
-        initialRetryDelayMsConfig != null ? Long.parseLong(initialRetryDelayMsConfig) : DEFAULT_INITIAL_RETRY_DELAY_MS;
-    String retryScaleFactorConfig = configs.get(MinionConstants.RETRY_SCALE_FACTOR_KEY);
-    double retryScaleFactor =
-        retryScaleFactorConfig != null ? Double.parseDouble(retryScaleFactorConfig) : DEFAULT_RETRY_SCALE_FACTOR;
-    RetryPolicy retryPolicy =
-        RetryPolicies.exponentialBackoffRetryPolicy(maxNumAttempts, initialRetryDelayMs, retryScaleFactor);
+    RetryPolicy retryPolicy = getRetryPolicy(configs);
 
     // Upload the segment with retry policy
     SSLContext sslContext = MinionContext.getInstance().getSSLContext();
@@ -95,4 +84,62 @@ public class SegmentConversionUtils {
       });
     }
   }
+
+  /**
+   * Deletes the segment from the controller, where the delete URL is in the format of
+   * {@code <controller>/segments/<rawTableName>/<segmentName>?type=<tableType>}. A segment already deleted is treated
+   * as deleted successfully.
+   */
+  public static void deleteSegment(Map<String, String> configs, String tableNameWithType, String segmentName,
+      String deleteURL)
+      throws Exception {
+    RetryPolicy retryPolicy = getRetryPolicy(configs);
+
+    // Delete the segment with retry policy
+    SSLContext sslContext = MinionContext.getInstance().getSSLContext();
+    try (FileUploadDownloadClient fileUploadDownloadClient = new FileUploadDownloadClient(sslContext)) {
+      retryPolicy.attempt(() -> {
+        try {
+          SimpleHttpResponse response = fileUploadDownloadClient.sendDeleteRequest(new URI(deleteURL));
+          LOGGER.info("Got response {}: {} while deleting table: {}, segment: {} with deleteURL: {}",
+              response.getStatusCode(), response.getResponse(), tableNameWithType, segmentName, deleteURL);
+          return true;
+        } catch (HttpErrorStatusException e) {
+          int statusCode = e.getStatusCode();
+          if (statusCode == HttpStatus.SC_NOT_FOUND) {
+            LOGGER.info("Segment: {} of table: {} does not exist, skip deleting it", segmentName, tableNameWithType);
+            return true;
+          } else if (statusCode == HttpStatus.SC_CONFLICT || statusCode >= 500) {
+            // Temporary exception
+            LOGGER.warn("Caught temporary exception while deleting segment: {}, will retry", segmentName, e);
+            return false;
+          } else {
+            // Permanent exception
+            LOGGER.error("Caught permanent exception while deleting segment: {}, won't retry", segmentName, e);
+            throw e;
+          }
+        } catch (Exception e) {
+          LOGGER.warn("Caught temporary exception while deleting segment: {}, will retry", segmentName, e);
+          return false;
+        }
+      });
+    }
+  }
+
+  /**
+   * Generates the retry policy based on the task config.
+   */
+  private static RetryPolicy getRetryPolicy(Map<String, String> configs) {
+    // Generate retry policy based on the config
+    String maxNumAttemptsConfig = configs.get(MinionConstants.MAX_NUM_ATTEMPTS_KEY);
+    int maxNumAttempts =
+        maxNumAttemptsConfig != null ? Integer.parseInt(maxNumAttemptsConfig) : DEFAULT_MAX_NUM_ATTEMPTS;
+    String initialRetryDelayMsConfig = configs.get(MinionConstants.INITIAL_RETRY_DELAY_MS_KEY);
+    long initialRetryDelayMs =
+        initialRetryDelayMsConfig != null ? Long.parseLong(initialRetryDelayMsConfig) : DEFAULT_INITIAL_RETRY_DELAY_MS;
+    String retryScaleFactorConfig = configs.get(MinionConstants.RETRY_SCALE_FACTOR_KEY);
+    double retryScaleFactor =
+        retryScaleFactorConfig != null ? Double.parseDouble(retryScaleFactorConfig) : DEFAULT_RETRY_SCALE_FACTOR;
+    return RetryPolicies.exponentialBackoffRetryPolicy(maxNumAttempts, initialRetryDelayMs, retryScaleFactor);
+  }
 }
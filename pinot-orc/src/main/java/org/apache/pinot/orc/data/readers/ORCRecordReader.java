@@ -18,40 +18,41 @@
  */
 package org.apache.pinot.orc.data.readers;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
-import org.apache.hadoop.io.BooleanWritable;
-import org.apache.hadoop.io.BytesWritable;
-import org.apache.hadoop.io.DoubleWritable;
-import org.apache.hadoop.io.FloatWritable;
-import org.apache.hadoop.io.IntWritable;
-import org.apache.hadoop.io.LongWritable;
-import org.apache.hadoop.io.NullWritable;
-import org.apache.hadoop.io.ShortWritable;
-import org.apache.hadoop.io.Text;
-import org.apache.hadoop.io.WritableComparable;
 import org.apache.orc.OrcFile;
 import org.apache.orc.Reader;
 import org.apache.orc.TypeDescription;
-import org.apache.orc.mapred.OrcList;
-import org.apache.orc.mapred.OrcMapredRecordReader;
+import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.core.data.GenericRow;
 import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.data.readers.RecordReaderUtils;
 import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
 /**
- * The ORCRecordReader uses a VectorizedRowBatch, which we convert to a Writable. Then, we convert these
- * Writable objects to primitives that we can then store in a GenericRow.
+ * The ORCRecordReader reads the ORC file in full {@link VectorizedRowBatch}es, and converts the values in the column
+ * vectors directly into the Java objects stored in the {@link GenericRow}, without going through Hadoop Writables.
+ * <p>Only the top level fields of the ORC struct that are in the Pinot schema are read from the file (column
+ * projection), the other fields are skipped by the ORC reader.
  *
  * When new data types are added to Pinot, we will need to update them here as well.
  * Note that not all ORC types are supported; we only support the ORC types that correspond to either
@@ -64,9 +65,18 @@ public class ORCRecordReader implements RecordReader {
   private Schema _pinotSchema;
   private TypeDescription _orcSchema;
   private Reader _reader;
+  private Reader.Options _readerOptions;
   private org.apache.orc.RecordReader _recordReader;
   private VectorizedRowBatch _reusableVectorizedRowBatch;
 
+  // Projected ORC fields, where the values of field i are stored in the row batch column _fieldIndexes[i]
+  private String[] _fieldNames;
+  private TypeDescription[] _fieldTypes;
+  private int[] _fieldIndexes;
+
+  private boolean _hasNext;
+  private int _nextRowInBatch;
+
   private void init(String inputPath, Schema schema)
       throws IOException {
     _pinotSchema = schema;
@@ -75,10 +85,47 @@ public class ORCRecordReader implements RecordReader {
     _reader = OrcFile.createReader(dataFilePath, OrcFile.readerOptions(new Configuration()));
     _orcSchema = _reader.getSchema();
     LOGGER.info("ORC schema: {}", _orcSchema.toJson());
-    _recordReader = _reader.rows(_reader.options().schema(_orcSchema));
 
-    // Create a row batch with max size 1
-    _reusableVectorizedRowBatch = _orcSchema.createRowBatch(1);
+    // ORC's TypeDescription is the equivalent of a schema. The way we will support ORC in Pinot will be to get the top
+    // level struct that contains all our fields and look through its children to determine the fields in our schema.
+    Preconditions.checkArgument(_orcSchema.getCategory() == TypeDescription.Category.STRUCT, "Not a valid schema");
+    Set<String> pinotFieldNames = new HashSet<>();
+    for (FieldSpec fieldSpec : RecordReaderUtils.extractFieldSpecs(schema)) {
+      pinotFieldNames.add(fieldSpec.getName());
+    }
+    List<String> orcFieldNames = _orcSchema.getFieldNames();
+    List<TypeDescription> orcFieldTypes = _orcSchema.getChildren();
+    int numOrcFields = orcFieldNames.size();
+    List<Integer> fieldIndexes = new ArrayList<>(numOrcFields);
+    // Include array is indexed by the ORC type id, where the root struct has id 0 and each field covers the id range
+    // [id, maximumId] of its type tree
+    boolean[] include = new boolean[_orcSchema.getMaximumId() + 1];
+    include[0] = true;
+    for (int i = 0; i < numOrcFields; i++) {
+      String orcFieldName = orcFieldNames.get(i);
+      if (!pinotFieldNames.contains(orcFieldName)) {
+        LOGGER.warn("Skipping column {} because it is not in pinot schema", orcFieldName);
+        continue;
+      }
+      fieldIndexes.add(i);
+      TypeDescription orcFieldType = orcFieldTypes.get(i);
+      Arrays.fill(include, orcFieldType.getId(), orcFieldType.getMaximumId() + 1, true);
+    }
+    int numFields = fieldIndexes.size();
+    _fieldNames = new String[numFields];
+    _fieldTypes = new TypeDescription[numFields];
+    _fieldIndexes = new int[numFields];
+    for (int i = 0; i < numFields; i++) {
+      int fieldIndex = fieldIndexes.get(i);
+      _fieldNames[i] = orcFieldNames.get(fieldIndex);
+      _fieldTypes[i] = orcFieldTypes.get(fieldIndex);
+      _fieldIndexes[i] = fieldIndex;
+    }
+
+    _readerOptions = _reader.options().schema(_orcSchema).include(include);
+    _recordReader = _reader.rows(_readerOptions);
+    _reusableVectorizedRowBatch = _orcSchema.createRowBatch(VectorizedRowBatch.DEFAULT_SIZE);
+    readNextBatch();
   }
 
   @Override
@@ -87,14 +134,15 @@ public class ORCRecordReader implements RecordReader {
     init(segmentGeneratorConfig.getInputFilePath(), segmentGeneratorConfig.getSchema());
   }
 
+  private void readNextBatch()
+      throws IOException {
+    _hasNext = _recordReader.nextBatch(_reusableVectorizedRowBatch);
+    _nextRowInBatch = 0;
+  }
+
   @Override
   public boolean hasNext() {
-    try {
-      return _recordReader.getProgress() != 1;
-    } catch (IOException e) {
-      LOGGER.error("Could not get next record");
-      throw new RuntimeException(e);
-    }
+    return _hasNext;
   }
 
   @Override
@@ -106,94 +154,83 @@ public class ORCRecordReader implements RecordReader {
   @Override
   public GenericRow next(GenericRow reuse)
       throws IOException {
-    _recordReader.nextBatch(_reusableVectorizedRowBatch);
-    fillGenericRow(reuse, _reusableVectorizedRowBatch);
-    return reuse;
-  }
-
-  private void fillGenericRow(GenericRow genericRow, VectorizedRowBatch rowBatch) {
-    // TODO: use Pinot schema to fill the values to handle missing column and default values properly
-
-    // ORC's TypeDescription is the equivalent of a schema. The way we will support ORC in Pinot
-    // will be to get the top level struct that contains all our fields and look through its
-    // children to determine the fields in our schemas.
-    if (_orcSchema.getCategory().equals(TypeDescription.Category.STRUCT)) {
-      for (int i = 0; i < _orcSchema.getChildren().size(); i++) {
-        // Get current column in schema
-        TypeDescription currColumn = _orcSchema.getChildren().get(i);
-        String currColumnName = _orcSchema.getFieldNames().get(i);
-        if (!_pinotSchema.getColumnNames().contains(currColumnName)) {
-          LOGGER.warn("Skipping column {} because it is not in pinot schema", currColumnName);
-          continue;
-        }
-        // ORC will keep your columns in the same order as the schema provided
-        ColumnVector vector = rowBatch.cols[i];
-        // Previous value set to null, not used except to save allocation memory in OrcMapredRecordReader
-        WritableComparable writableComparable;
-        writableComparable = OrcMapredRecordReader.nextValue(vector, 0, currColumn, null);
-        genericRow.putField(currColumnName, getBaseObject(writableComparable));
-      }
-    } else {
-      throw new IllegalArgumentException("Not a valid schema");
+    ColumnVector[] columnVectors = _reusableVectorizedRowBatch.cols;
+    int numFields = _fieldNames.length;
+    for (int i = 0; i < numFields; i++) {
+      reuse.putField(_fieldNames[i], getValue(columnVectors[_fieldIndexes[i]], _fieldTypes[i], _nextRowInBatch));
+    }
+    if (++_nextRowInBatch == _reusableVectorizedRowBatch.size) {
+      readNextBatch();
     }
+    return reuse;
   }
 
   /**
-   * A utility method to convert an Orc WritableComparable object to a generic Java object that can
-   * be added to a Pinot GenericRow object
+   * Converts the value at the given row of an ORC column vector to a Java object that can be added to a Pinot
+   * GenericRow object.
    *
-   * @param w Orc WritableComparable to convert
+   * @param columnVector ORC column vector
+   * @param orcType ORC type of the column vector
+   * @param row Row in the column vector
    * @return Object that will be added to the Pinot GenericRow
    */
-  private Object getBaseObject(WritableComparable w) {
-    Object obj = null;
-
-    if (w == null || NullWritable.class.isAssignableFrom(w.getClass())) {
-      obj = null;
-    } else if (BooleanWritable.class.isAssignableFrom(w.getClass())) {
-      obj = ((BooleanWritable) w).get();
-    } else if (ShortWritable.class.isAssignableFrom(w.getClass())) {
-      obj = ((ShortWritable) w).get();
-    } else if (IntWritable.class.isAssignableFrom(w.getClass())) {
-      obj = ((IntWritable) w).get();
-    } else if (LongWritable.class.isAssignableFrom(w.getClass())) {
-      obj = ((LongWritable) w).get();
-    } else if (FloatWritable.class.isAssignableFrom(w.getClass())) {
-      obj = ((FloatWritable) w).get();
-    } else if (DoubleWritable.class.isAssignableFrom(w.getClass())) {
-      obj = ((DoubleWritable) w).get();
-    } else if (BytesWritable.class.isAssignableFrom(w.getClass())) {
-      obj = ((BytesWritable) w).getBytes();
-    } else if (Text.class.isAssignableFrom(w.getClass())) {
-      obj = ((Text) w).toString();
-    } else if (OrcList.class.isAssignableFrom(w.getClass())) {
-      obj = translateList((OrcList) w);
-    } else {
-      LOGGER.info("Unknown type found: " + w.getClass().getSimpleName());
-      throw new IllegalArgumentException("Unknown type: " + w.getClass().getSimpleName());
+  private static Object getValue(ColumnVector columnVector, TypeDescription orcType, int row) {
+    if (columnVector.isRepeating) {
+      row = 0;
     }
-
-    return obj;
-  }
-
-  private List<Object> translateList(OrcList<? extends WritableComparable> l) {
-    if (l == null || l.isEmpty()) {
-      return ImmutableList.of();
+    if (!columnVector.noNulls && columnVector.isNull[row]) {
+      return null;
     }
-
-    List<Object> retArray = new ArrayList<>(l.size());
-
-    for (WritableComparable w : l) {
-      Object o = getBaseObject(w);
-      retArray.add(o);
+    switch (orcType.getCategory()) {
+      case BOOLEAN:
+        return ((LongColumnVector) columnVector).vector[row] == 1;
+      case SHORT:
+        return (short) ((LongColumnVector) columnVector).vector[row];
+      case INT:
+        return (int) ((LongColumnVector) columnVector).vector[row];
+      case LONG:
+        return ((LongColumnVector) columnVector).vector[row];
+      case FLOAT:
+        return (float) ((DoubleColumnVector) columnVector).vector[row];
+      case DOUBLE:
+        return ((DoubleColumnVector) columnVector).vector[row];
+      case STRING:
+      case VARCHAR:
+      case CHAR: {
+        BytesColumnVector bytesColumnVector = (BytesColumnVector) columnVector;
+        return new String(bytesColumnVector.vector[row], bytesColumnVector.start[row], bytesColumnVector.length[row],
+            StandardCharsets.UTF_8);
+      }
+      case BINARY: {
+        BytesColumnVector bytesColumnVector = (BytesColumnVector) columnVector;
+        int start = bytesColumnVector.start[row];
+        return Arrays.copyOfRange(bytesColumnVector.vector[row], start, start + bytesColumnVector.length[row]);
+      }
+      case LIST: {
+        ListColumnVector listColumnVector = (ListColumnVector) columnVector;
+        int length = (int) listColumnVector.lengths[row];
+        if (length == 0) {
+          return ImmutableList.of();
+        }
+        int offset = (int) listColumnVector.offsets[row];
+        TypeDescription elementType = orcType.getChildren().get(0);
+        List<Object> values = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+          values.add(getValue(listColumnVector.child, elementType, offset + i));
+        }
+        return values;
+      }
+      default:
+        throw new IllegalArgumentException("Unknown type: " + orcType);
     }
-    return retArray;
   }
 
   @Override
   public void rewind()
       throws IOException {
-    _recordReader = _reader.rows();
+    _recordReader.close();
+    _recordReader = _reader.rows(_readerOptions);
+    readNextBatch();
   }
 
   @Override
@@ -28,6 +28,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
 import org.apache.hadoop.io.IntWritable;
@@ -53,6 +54,8 @@ public class ORCRecordReaderTest {
   private static final File TEMP_DIR = FileUtils.getTempDirectory();
   private static final File ORC_FILE = new File(TEMP_DIR.getAbsolutePath(), "my-file.orc");
   private static final File MULTIVALUE_ORC_FILE = new File(TEMP_DIR.getAbsolutePath(), "mv-my-file.orc");
+  private static final File MULTI_BATCH_ORC_FILE = new File(TEMP_DIR.getAbsolutePath(), "multi-batch-my-file.orc");
+  private static final int NUM_MULTI_BATCH_ROWS = 2500;
 
   @BeforeClass
   public void setUp()
@@ -107,6 +110,35 @@ public class ORCRecordReaderTest {
     OrcMapredRecordWriter mrRecordWriter = new OrcMapredRecordWriter(mvWriter);
     mrRecordWriter.write(null, struct);
     mrRecordWriter.close(null);
+
+    // Multiple row batches, with a column not in the Pinot schema and null values
+    TypeDescription multiBatchSchema = TypeDescription.fromString("struct<x:int,y:string,z:double>");
+    Writer multiBatchWriter = OrcFile.createWriter(new Path(MULTI_BATCH_ORC_FILE.getAbsolutePath()),
+        OrcFile.writerOptions(new Configuration()).setSchema(multiBatchSchema));
+    VectorizedRowBatch multiBatch = multiBatchSchema.createRowBatch();
+    LongColumnVector multiBatchX = (LongColumnVector) multiBatch.cols[0];
+    BytesColumnVector multiBatchY = (BytesColumnVector) multiBatch.cols[1];
+    DoubleColumnVector multiBatchZ = (DoubleColumnVector) multiBatch.cols[2];
+    for (int r = 0; r < NUM_MULTI_BATCH_ROWS; r++) {
+      int row = multiBatch.size++;
+      multiBatchX.vector[row] = r;
+      if (r % 7 == 0) {
+        multiBatchY.noNulls = false;
+        multiBatchY.isNull[row] = true;
+      } else {
+        byte[] buffer = ("value-" + r).getBytes(StandardCharsets.UTF_8);
+        multiBatchY.setRef(row, buffer, 0, buffer.length);
+      }
+      multiBatchZ.vector[row] = r * 0.5;
+      if (multiBatch.size == multiBatch.getMaxSize()) {
+        multiBatchWriter.addRowBatch(multiBatch);
+        multiBatch.reset();
+      }
+    }
+    if (multiBatch.size != 0) {
+      multiBatchWriter.addRowBatch(multiBatch);
+    }
+    multiBatchWriter.close();
   }
 
   @Test
@@ -168,6 +200,42 @@ public class ORCRecordReaderTest {
     Assert.assertTrue(val == 1);
   }
 
+  @Test
+  public void testReadMultipleBatches()
+      throws IOException {
+    ORCRecordReader orcRecordReader = new ORCRecordReader();
+
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig();
+    segmentGeneratorConfig.setInputFilePath(MULTI_BATCH_ORC_FILE.getAbsolutePath());
+    Schema schema = new Schema();
+    schema.addField(new DimensionFieldSpec("x", FieldSpec.DataType.INT, true));
+    schema.addField(new DimensionFieldSpec("y", FieldSpec.DataType.STRING, true));
+    segmentGeneratorConfig.setSchema(schema);
+    orcRecordReader.init(segmentGeneratorConfig);
+
+    // Read twice to also cover rewind
+    for (int pass = 0; pass < 2; pass++) {
+      GenericRow reuse = new GenericRow();
+      int numRows = 0;
+      while (orcRecordReader.hasNext()) {
+        reuse.clear();
+        orcRecordReader.next(reuse);
+        Assert.assertEquals(reuse.getValue("x"), numRows);
+        if (numRows % 7 == 0) {
+          Assert.assertNull(reuse.getValue("y"));
+        } else {
+          Assert.assertEquals(reuse.getValue("y"), "value-" + numRows);
+        }
+        // Column not in the Pinot schema should not be read
+        Assert.assertNull(reuse.getValue("z"));
+        numRows++;
+      }
+      Assert.assertEquals(numRows, NUM_MULTI_BATCH_ROWS);
+      orcRecordReader.rewind();
+    }
+    orcRecordReader.close();
+  }
+
   @AfterClass
   public void tearDown() {
     FileUtils.deleteQuietly(TEMP_DIR);
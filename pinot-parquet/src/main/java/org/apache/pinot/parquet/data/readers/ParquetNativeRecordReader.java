@@ -0,0 +1,387 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.parquet.data.readers;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.data.readers.RecordReaderUtils;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.util.AvroUtils;
+
+
+/**
+ * Record reader for Parquet file which reads the column chunks directly through the Parquet column readers, without
+ * materializing Avro records.
+ * <ul>
+ *   <li>Only the columns in the Pinot schema are read from the file (projection pushdown).</li>
+ *   <li>Dictionary-encoded pages are decoded through the column chunk dictionary, which is converted into typed values
+ *   once per row group instead of once per row (e.g. one String per dictionary entry).</li>
+ * </ul>
+ * Supports top level primitive fields (single-value columns) and top level lists of primitives (multi-value columns),
+ * which covers the files written from Pinot compatible Avro schemas. Use {@link ParquetRecordReader} for other files.
+ * <p>To use this record reader for segment creation, set the record reader path in the segment generator config to
+ * the name of this class.
+ */
+public class ParquetNativeRecordReader implements RecordReader {
+  private Path _dataFilePath;
+  private Schema _schema;
+  private List<FieldSpec> _fieldSpecs;
+
+  private ParquetMetadata _footer;
+  private MessageType _requestedSchema;
+  private ColumnDescriptor[] _columnDescriptors;
+  private ValueConverter[] _valueConverters;
+  private GroupConverter _recordConverter;
+  // Index of the Parquet column for each field spec, or -1 if the field is not in the Parquet file
+  private int[] _columnIndexes;
+
+  private ParquetFileReader _fileReader;
+  private ColumnReader[] _columnReaders;
+  private long[] _numValuesRemaining;
+  private long _numRowsRemainingInRowGroup;
+  private Object[] _reusableValues;
+  private List<Object>[] _reusableMultiValues;
+
+  @Override
+  public void init(SegmentGeneratorConfig segmentGeneratorConfig)
+      throws IOException {
+    _dataFilePath = new Path(segmentGeneratorConfig.getInputFilePath());
+    _schema = segmentGeneratorConfig.getSchema();
+    AvroUtils.validateSchema(_schema, ParquetUtils.getParquetSchema(_dataFilePath));
+    _fieldSpecs = RecordReaderUtils.extractFieldSpecs(_schema);
+
+    _footer = ParquetUtils.getParquetFooter(_dataFilePath);
+    MessageType fileSchema = _footer.getFileMetaData().getSchema();
+    List<Type> requestedFields = new ArrayList<>();
+    for (FieldSpec fieldSpec : _fieldSpecs) {
+      String fieldName = fieldSpec.getName();
+      if (fileSchema.containsField(fieldName)) {
+        Type field = fileSchema.getType(fieldName);
+        if (!requestedFields.contains(field)) {
+          requestedFields.add(field);
+        }
+      }
+    }
+    _requestedSchema = new MessageType(fileSchema.getName(), requestedFields);
+
+    // Each requested field must map to exactly one (leaf) Parquet column
+    List<ColumnDescriptor> columnDescriptors = _requestedSchema.getColumns();
+    int numColumns = columnDescriptors.size();
+    Preconditions.checkState(numColumns == requestedFields.size(),
+        "Only top level primitive fields and lists of primitives are supported, got schema: %s", _requestedSchema);
+    _columnDescriptors = columnDescriptors.toArray(new ColumnDescriptor[numColumns]);
+    _valueConverters = new ValueConverter[numColumns];
+    Converter[] fieldConverters = new Converter[numColumns];
+    for (int i = 0; i < numColumns; i++) {
+      ColumnDescriptor columnDescriptor = _columnDescriptors[i];
+      Preconditions.checkState(columnDescriptor.getMaxRepetitionLevel() <= 1, "Nested lists are not supported: %s",
+          columnDescriptor);
+      PrimitiveType primitiveType = _requestedSchema.getType(columnDescriptor.getPath()).asPrimitiveType();
+      _valueConverters[i] = new ValueConverter(primitiveType);
+      fieldConverters[i] = wrapConverter(requestedFields.get(i), _valueConverters[i]);
+    }
+    _recordConverter = new FieldsConverter(fieldConverters);
+
+    int numFields = _fieldSpecs.size();
+    _columnIndexes = new int[numFields];
+    for (int i = 0; i < numFields; i++) {
+      String fieldName = _fieldSpecs.get(i).getName();
+      _columnIndexes[i] = _requestedSchema.containsField(fieldName) ? _requestedSchema.getFieldIndex(fieldName) : -1;
+    }
+
+    _columnReaders = new ColumnReader[numColumns];
+    _numValuesRemaining = new long[numColumns];
+    _reusableValues = new Object[numColumns];
+    //noinspection unchecked
+    _reusableMultiValues = new List[numColumns];
+    for (int i = 0; i < numColumns; i++) {
+      _reusableMultiValues[i] = new ArrayList<>();
+    }
+    openFileReader();
+  }
+
+  /**
+   * Wraps the value converter into group converters that match the (single leaf) type tree of the given field.
+   */
+  private static Converter wrapConverter(Type type, ValueConverter valueConverter) {
+    if (type.isPrimitive()) {
+      return valueConverter;
+    }
+    GroupType groupType = type.asGroupType();
+    Preconditions.checkState(groupType.getFieldCount() == 1, "Unsupported group type: %s", groupType);
+    return new FieldsConverter(new Converter[]{wrapConverter(groupType.getType(0), valueConverter)});
+  }
+
+  private void openFileReader()
+      throws IOException {
+    FileMetaData fileMetaData = _footer.getFileMetaData();
+    _fileReader = new ParquetFileReader(ParquetUtils.getConfiguration(), fileMetaData, _dataFilePath,
+        _footer.getBlocks(), _requestedSchema.getColumns());
+    _numRowsRemainingInRowGroup = 0;
+    readNextRowGroup();
+  }
+
+  /**
+   * Reads the next non-empty row group if the current one is exhausted.
+   */
+  private void readNextRowGroup()
+      throws IOException {
+    while (_numRowsRemainingInRowGroup == 0) {
+      PageReadStore pageReadStore = _fileReader.readNextRowGroup();
+      if (pageReadStore == null) {
+        return;
+      }
+      _numRowsRemainingInRowGroup = pageReadStore.getRowCount();
+      ColumnReadStoreImpl columnReadStore =
+          new ColumnReadStoreImpl(pageReadStore, _recordConverter, _requestedSchema,
+              _footer.getFileMetaData().getCreatedBy());
+      int numColumns = _columnDescriptors.length;
+      for (int i = 0; i < numColumns; i++) {
+        _columnReaders[i] = columnReadStore.getColumnReader(_columnDescriptors[i]);
+        _numValuesRemaining[i] = _columnReaders[i].getTotalValueCount();
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return _numRowsRemainingInRowGroup > 0;
+  }
+
+  @Override
+  public GenericRow next()
+      throws IOException {
+    return next(new GenericRow());
+  }
+
+  @Override
+  public GenericRow next(GenericRow reuse)
+      throws IOException {
+    int numColumns = _columnDescriptors.length;
+    Object[] values = _reusableValues;
+    for (int i = 0; i < numColumns; i++) {
+      values[i] = readValue(i);
+    }
+    int numFields = _fieldSpecs.size();
+    for (int i = 0; i < numFields; i++) {
+      FieldSpec fieldSpec = _fieldSpecs.get(i);
+      int columnIndex = _columnIndexes[i];
+      Object value = columnIndex >= 0 ? values[columnIndex] : null;
+      // Allow default value for non-time columns
+      if (value != null || fieldSpec.getFieldType() != FieldSpec.FieldType.TIME) {
+        reuse.putField(fieldSpec.getName(), RecordReaderUtils.convert(fieldSpec, value));
+      }
+    }
+    _numRowsRemainingInRowGroup--;
+    readNextRowGroup();
+    return reuse;
+  }
+
+  /**
+   * Reads the value of the current row for the given column, and moves the column reader to the next row.
+   * <p>For list columns, returns the non-null elements, or <code>null</code> if there is none.
+   */
+  private Object readValue(int columnIndex) {
+    ColumnReader columnReader = _columnReaders[columnIndex];
+    ValueConverter valueConverter = _valueConverters[columnIndex];
+    int maxDefinitionLevel = _columnDescriptors[columnIndex].getMaxDefinitionLevel();
+
+    if (_columnDescriptors[columnIndex].getMaxRepetitionLevel() == 0) {
+      Object value = null;
+      if (columnReader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+        columnReader.writeCurrentValueToConverter();
+        value = valueConverter._value;
+      }
+      columnReader.consume();
+      _numValuesRemaining[columnIndex]--;
+      return value;
+    }
+
+    // The first value of each row has repetition level 0, and the following values of the same row have repetition
+    // level 1
+    List<Object> values = _reusableMultiValues[columnIndex];
+    values.clear();
+    do {
+      if (columnReader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+        columnReader.writeCurrentValueToConverter();
+        values.add(valueConverter._value);
+      }
+      columnReader.consume();
+    } while (--_numValuesRemaining[columnIndex] > 0 && columnReader.getCurrentRepetitionLevel() > 0);
+    return values.isEmpty() ? null : values;
+  }
+
+  @Override
+  public void rewind()
+      throws IOException {
+    _fileReader.close();
+    openFileReader();
+  }
+
+  @Override
+  public Schema getSchema() {
+    return _schema;
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    _fileReader.close();
+  }
+
+  /**
+   * Group converter for the record and the wrapper groups of the list fields. Only used to locate the value converter
+   * of each column, as the values are read through the column readers.
+   */
+  private static class FieldsConverter extends GroupConverter {
+    private final Converter[] _converters;
+
+    FieldsConverter(Converter[] converters) {
+      _converters = converters;
+    }
+
+    @Override
+    public Converter getConverter(int fieldIndex) {
+      return _converters[fieldIndex];
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void end() {
+    }
+  }
+
+  /**
+   * Converter that keeps the last value written by the column reader. For dictionary-encoded pages, the dictionary is
+   * decoded into typed values once, and the values are then looked up by dictionary id.
+   */
+  private static class ValueConverter extends PrimitiveConverter {
+    private final PrimitiveType _type;
+    private final boolean _isString;
+    private Object[] _dictionaryValues;
+    private Object _value;
+
+    ValueConverter(PrimitiveType type) {
+      _type = type;
+      OriginalType originalType = type.getOriginalType();
+      _isString = originalType == OriginalType.UTF8 || originalType == OriginalType.ENUM
+          || originalType == OriginalType.JSON;
+    }
+
+    @Override
+    public boolean hasDictionarySupport() {
+      return true;
+    }
+
+    @Override
+    public void setDictionary(Dictionary dictionary) {
+      int dictionarySize = dictionary.getMaxId() + 1;
+      Object[] dictionaryValues = new Object[dictionarySize];
+      for (int dictId = 0; dictId < dictionarySize; dictId++) {
+        switch (_type.getPrimitiveTypeName()) {
+          case BOOLEAN:
+            dictionaryValues[dictId] = dictionary.decodeToBoolean(dictId);
+            break;
+          case INT32:
+            dictionaryValues[dictId] = dictionary.decodeToInt(dictId);
+            break;
+          case INT64:
+            dictionaryValues[dictId] = dictionary.decodeToLong(dictId);
+            break;
+          case FLOAT:
+            dictionaryValues[dictId] = dictionary.decodeToFloat(dictId);
+            break;
+          case DOUBLE:
+            dictionaryValues[dictId] = dictionary.decodeToDouble(dictId);
+            break;
+          default:
+            dictionaryValues[dictId] = convertBinary(dictionary.decodeToBinary(dictId));
+            break;
+        }
+      }
+      _dictionaryValues = dictionaryValues;
+    }
+
+    @Override
+    public void addValueFromDictionary(int dictionaryId) {
+      _value = _dictionaryValues[dictionaryId];
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+      _value = convertBinary(value);
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+      _value = value;
+    }
+
+    @Override
+    public void addDouble(double value) {
+      _value = value;
+    }
+
+    @Override
+    public void addFloat(float value) {
+      _value = value;
+    }
+
+    @Override
+    public void addInt(int value) {
+      _value = value;
+    }
+
+    @Override
+    public void addLong(long value) {
+      _value = value;
+    }
+
+    private Object convertBinary(Binary value) {
+      return _isString ? value.toStringUsingUTF8() : value.getBytes();
+    }
+  }
+}
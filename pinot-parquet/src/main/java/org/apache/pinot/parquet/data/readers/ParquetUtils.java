@@ -61,7 +61,7 @@ public class ParquetUtils {
    */
   public static Schema getParquetSchema(Path path)
       throws IOException {
-    ParquetMetadata footer = ParquetFileReader.readFooter(getConfiguration(), path, ParquetMetadataConverter.NO_FILTER);
+    ParquetMetadata footer = getParquetFooter(path);
     Map<String, String> metaData = footer.getFileMetaData().getKeyValueMetaData();
     String schemaString = metaData.get("parquet.avro.schema");
     if (schemaString == null) {
@@ -75,7 +75,15 @@ public class ParquetUtils {
     }
   }
 
-  private static Configuration getConfiguration() {
+  /**
+   * Returns the footer (file and row group metadata) for the given Parquet file path.
+   */
+  public static ParquetMetadata getParquetFooter(Path path)
+      throws IOException {
+    return ParquetFileReader.readFooter(getConfiguration(), path, ParquetMetadataConverter.NO_FILTER);
+  }
+
+  static Configuration getConfiguration() {
     // The file path used in ParquetRecordReader is a local file path without prefix 'file:///',
     // so we have to make sure that the configuration item 'fs.defaultFS' is set to 'file:///'
     // in case that user's hadoop conf overwrite this item
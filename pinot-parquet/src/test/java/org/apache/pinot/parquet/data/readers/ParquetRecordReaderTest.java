@@ -21,14 +21,18 @@ package org.apache.pinot.parquet.data.readers;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.data.GenericRow;
 import org.apache.pinot.core.data.readers.RecordReaderTest;
 import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -37,6 +41,8 @@ import org.testng.annotations.Test;
 public class ParquetRecordReaderTest extends RecordReaderTest {
   private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "ParquetRecordReaderTest");
   private static final File DATA_FILE = new File(TEMP_DIR, "data.parquet");
+  private static final File MULTI_COLUMN_DATA_FILE = new File(TEMP_DIR, "multiColumnData.parquet");
+  private static final int NUM_MULTI_COLUMN_RECORDS = 10_000;
 
   @BeforeClass
   public void setUp()
@@ -76,6 +82,35 @@ public class ParquetRecordReaderTest extends RecordReaderTest {
         writer.write(record);
       }
     }
+
+    // Multiple columns with dictionary-encoded strings, null values and a column not in the Pinot schema
+    String multiColumnSchema = "{\"name\": \"MultiColumnParquetTest\", \"type\": \"record\", \"fields\": ["
+        + "{\"name\": \"INT_SV\", \"type\": [\"int\", \"null\"]}, "
+        + "{\"name\": \"STRING_SV\", \"type\": [\"string\", \"null\"]}, "
+        + "{\"name\": \"DOUBLE_SV\", \"type\": \"double\"}, "
+        + "{\"name\": \"STRING_MV\", \"type\": [{\"type\": \"array\", \"items\": \"string\"}, \"null\"]}]}";
+    Schema avroSchema = new Schema.Parser().parse(multiColumnSchema);
+    Random random = new Random();
+    try (ParquetWriter<GenericRecord> writer = ParquetUtils
+        .getParquetWriter(new Path(MULTI_COLUMN_DATA_FILE.getAbsolutePath()), avroSchema)) {
+      for (int i = 0; i < NUM_MULTI_COLUMN_RECORDS; i++) {
+        GenericRecord record = new GenericData.Record(avroSchema);
+        if (i % 10 != 0) {
+          record.put("INT_SV", random.nextInt());
+          record.put("STRING_SV", "value-" + random.nextInt(100));
+        }
+        record.put("DOUBLE_SV", random.nextDouble());
+        if (i % 5 != 0) {
+          List<String> values = new ArrayList<>();
+          int numValues = random.nextInt(3) + 1;
+          for (int j = 0; j < numValues; j++) {
+            values.add("value-" + random.nextInt(10));
+          }
+          record.put("STRING_MV", values);
+        }
+        writer.write(record);
+      }
+    }
   }
 
   @Test
@@ -93,6 +128,54 @@ public class ParquetRecordReaderTest extends RecordReaderTest {
     }
   }
 
+  @Test
+  public void testParquetNativeRecordReader()
+      throws Exception {
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig();
+    segmentGeneratorConfig.setInputFilePath(DATA_FILE.getAbsolutePath());
+    segmentGeneratorConfig.setSchema(SCHEMA);
+
+    try (ParquetNativeRecordReader recordReader = new ParquetNativeRecordReader()) {
+      recordReader.init(segmentGeneratorConfig);
+      checkValue(recordReader);
+      recordReader.rewind();
+      checkValue(recordReader);
+    }
+  }
+
+  @Test
+  public void testParquetNativeRecordReaderMatchesAvroRecordReader()
+      throws Exception {
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig();
+    segmentGeneratorConfig.setInputFilePath(MULTI_COLUMN_DATA_FILE.getAbsolutePath());
+    // DOUBLE_SV is not in the Pinot schema and should not be read
+    segmentGeneratorConfig.setSchema(new org.apache.pinot.common.data.Schema.SchemaBuilder()
+        .addSingleValueDimension("INT_SV", FieldSpec.DataType.INT)
+        .addSingleValueDimension("STRING_SV", FieldSpec.DataType.STRING)
+        .addMultiValueDimension("STRING_MV", FieldSpec.DataType.STRING).build());
+
+    try (ParquetRecordReader avroRecordReader = new ParquetRecordReader();
+        ParquetNativeRecordReader nativeRecordReader = new ParquetNativeRecordReader()) {
+      avroRecordReader.init(segmentGeneratorConfig);
+      nativeRecordReader.init(segmentGeneratorConfig);
+      GenericRow reuse = new GenericRow();
+      int numRecords = 0;
+      while (avroRecordReader.hasNext()) {
+        Assert.assertTrue(nativeRecordReader.hasNext());
+        GenericRow expected = avroRecordReader.next();
+        reuse.clear();
+        GenericRow actual = nativeRecordReader.next(reuse);
+        Assert.assertEquals(actual.getValue("INT_SV"), expected.getValue("INT_SV"));
+        Assert.assertEquals(actual.getValue("STRING_SV"), expected.getValue("STRING_SV"));
+        Assert.assertEquals((Object[]) actual.getValue("STRING_MV"), (Object[]) expected.getValue("STRING_MV"));
+        Assert.assertNull(actual.getValue("DOUBLE_SV"));
+        numRecords++;
+      }
+      Assert.assertFalse(nativeRecordReader.hasNext());
+      Assert.assertEquals(numRecords, NUM_MULTI_COLUMN_RECORDS);
+    }
+  }
+
   @AfterClass
   public void tearDown()
       throws Exception {
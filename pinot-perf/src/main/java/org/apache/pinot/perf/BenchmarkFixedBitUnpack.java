@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitSingleValueReader;
+import org.apache.pinot.core.io.util.FixedBitIntReaderWriter;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+
+/**
+ * Benchmark for decoding a fixed-bit forward index per number of bits per value, comparing the bulk unpack path of
+ * {@link FixedBitSingleValueReader#readValues(int, int, FixedBitSingleValueReader.Context, int[])} against reading one
+ * value at a time.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkFixedBitUnpack {
+  private static final int NUM_ROWS = 10_000_000;
+
+  @Param({"1", "2", "3", "4", "5", "7", "8", "10", "12", "15", "16", "17", "20", "24", "28", "31", "32"})
+  public int _numBitsPerValue;
+
+  private PinotDataBuffer _dataBuffer;
+  private FixedBitSingleValueReader _reader;
+  private FixedBitSingleValueReader.Context _context;
+  private final int[] _buffer = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(System.nanoTime());
+    long size = ((long) NUM_ROWS * _numBitsPerValue + Byte.SIZE - 1) / Byte.SIZE;
+    _dataBuffer = PinotDataBuffer.allocateDirect(size, ByteOrder.BIG_ENDIAN, null);
+    int mask = _numBitsPerValue == Integer.SIZE ? -1 : (1 << _numBitsPerValue) - 1;
+    FixedBitIntReaderWriter writer = new FixedBitIntReaderWriter(_dataBuffer, NUM_ROWS, _numBitsPerValue);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      writer.writeInt(i, random.nextInt() & mask);
+    }
+    _reader = new FixedBitSingleValueReader(_dataBuffer, NUM_ROWS, _numBitsPerValue);
+    _context = _reader.createContext();
+  }
+
+  @TearDown
+  public void tearDown()
+      throws IOException {
+    _dataBuffer.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long bulkUnpack() {
+    long sum = 0;
+    for (int startRow = 0; startRow < NUM_ROWS; startRow += DocIdSetPlanNode.MAX_DOC_PER_CALL) {
+      int length = Math.min(DocIdSetPlanNode.MAX_DOC_PER_CALL, NUM_ROWS - startRow);
+      _reader.readValues(startRow, length, _context, _buffer);
+      for (int i = 0; i < length; i++) {
+        sum += _buffer[i];
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long singleValueRead() {
+    long sum = 0;
+    for (int row = 0; row < NUM_ROWS; row++) {
+      sum += _reader.getInt(row);
+    }
+    return sum;
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    ChainedOptionsBuilder opt =
+        new OptionsBuilder().include(BenchmarkFixedBitUnpack.class.getSimpleName()).warmupTime(TimeValue.seconds(5))
+            .warmupIterations(2).measurementTime(TimeValue.seconds(10)).measurementIterations(3).forks(1);
+
+    new Runner(opt.build()).run();
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.MetricFieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.segment.ReadMode;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.GenericRowRecordReader;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.core.operator.blocks.TransformBlock;
+import org.apache.pinot.core.operator.transform.TransformOperator;
+import org.apache.pinot.core.plan.TransformPlanNode;
+import org.apache.pinot.core.query.aggregation.AggregationFunctionContext;
+import org.apache.pinot.core.query.aggregation.DefaultAggregationExecutor;
+import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils;
+import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.pql.parsers.Pql2Compiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+
+/**
+ * Benchmark for aggregations on top of arithmetic expressions, comparing the transform function path (one double
+ * array per transform function per block) against the fused arithmetic expression path.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkFusedAggregation {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "BenchmarkFusedAggregation");
+  private static final String SEGMENT_NAME = "testSegment";
+  private static final int NUM_ROWS = 1_000_000;
+  private static final String INT_COLUMN = "a";
+  private static final String LONG_COLUMN = "b";
+  private static final String DOUBLE_COLUMN = "c";
+
+  @Param({"SELECT SUM(add(a, mult(b, c))) FROM table",
+      "SELECT SUM(add(a, b)), MAX(sub(div(c, 3), mult(a, 0.5))) FROM table"})
+  public String _query;
+
+  private IndexSegment _indexSegment;
+  private BrokerRequest _brokerRequest;
+  private AggregationFunctionContext[] _functionContexts;
+
+  @Setup
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(TEMP_DIR);
+
+    Random random = new Random();
+    List<GenericRow> rows = new ArrayList<>(NUM_ROWS);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Map<String, Object> map = new HashMap<>();
+      map.put(INT_COLUMN, random.nextInt(1000));
+      map.put(LONG_COLUMN, (long) random.nextInt(1_000_000));
+      map.put(DOUBLE_COLUMN, random.nextDouble());
+      GenericRow row = new GenericRow();
+      row.init(map);
+      rows.add(row);
+    }
+
+    Schema schema = new Schema();
+    schema.addField(new MetricFieldSpec(INT_COLUMN, FieldSpec.DataType.INT));
+    schema.addField(new MetricFieldSpec(LONG_COLUMN, FieldSpec.DataType.LONG));
+    schema.addField(new MetricFieldSpec(DOUBLE_COLUMN, FieldSpec.DataType.DOUBLE));
+
+    SegmentGeneratorConfig config = new SegmentGeneratorConfig(schema);
+    config.setOutDir(TEMP_DIR.getAbsolutePath());
+    config.setSegmentName(SEGMENT_NAME);
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(config, new GenericRowRecordReader(rows, schema));
+    driver.build();
+
+    _indexSegment = ImmutableSegmentLoader.load(new File(TEMP_DIR, SEGMENT_NAME), ReadMode.mmap);
+    _brokerRequest = new Pql2Compiler().compileToBrokerRequest(_query);
+    _functionContexts = AggregationFunctionUtils
+        .getAggregationFunctionContexts(_brokerRequest.getAggregationsInfo(), _indexSegment.getSegmentMetadata());
+  }
+
+  @TearDown
+  public void tearDown() {
+    _indexSegment.destroy();
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public List<Object> transformFunctions() {
+    TransformOperator transformOperator = new TransformPlanNode(_indexSegment, _brokerRequest).run();
+    return aggregate(transformOperator, new DefaultAggregationExecutor(_functionContexts));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public List<Object> fusedExpressions() {
+    TransformOperator transformOperator = new TransformPlanNode(_indexSegment, _brokerRequest).run();
+    return aggregate(transformOperator, new DefaultAggregationExecutor(_functionContexts, transformOperator));
+  }
+
+  private List<Object> aggregate(TransformOperator transformOperator, DefaultAggregationExecutor aggregationExecutor) {
+    TransformBlock transformBlock;
+    while ((transformBlock = transformOperator.nextBlock()) != null) {
+      aggregationExecutor.aggregate(transformBlock);
+    }
+    return aggregationExecutor.getResult();
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    ChainedOptionsBuilder opt =
+        new OptionsBuilder().include(BenchmarkFusedAggregation.class.getSimpleName()).addProfiler(GCProfiler.class)
+            .warmupTime(TimeValue.seconds(10)).warmupIterations(2).measurementTime(TimeValue.seconds(30))
+            .measurementIterations(5).forks(1);
+
+    new Runner(opt.build()).run();
+  }
+}
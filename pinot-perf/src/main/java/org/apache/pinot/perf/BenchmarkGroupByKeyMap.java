@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.core.query.aggregation.groupby.utils.LongArrayKeyToIdMap;
+import org.apache.pinot.core.util.FixedIntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+
+/**
+ * Benchmark for mapping multi-column dictionary id tuples onto group ids, comparing the bit-packed primitive key map
+ * used by the dictionary based group key generator against a map keyed by an int array object per group.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkGroupByKeyMap {
+  private static final int ROW_COUNT = 5_000_000;
+  // 20 bits per column, so that 3 columns pack into 1 long and 5 columns pack into 2 longs
+  private static final int NUM_BITS_PER_COLUMN = 20;
+  private static final int COLUMN_CARDINALITY = 1 << NUM_BITS_PER_COLUMN;
+
+  @Param({"3", "5"})
+  public int _numColumns;
+
+  @Param({"10000", "1000000", "5000000"})
+  public int _numGroups;
+
+  // Dictionary ids stored by column, same layout as the group key generator buffers
+  private int[][] _dictIds;
+  private int _keyLength;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(System.nanoTime());
+
+    int[][] uniqueDictIds = new int[_numGroups][_numColumns];
+    for (int i = 0; i < _numGroups; i++) {
+      for (int j = 0; j < _numColumns; j++) {
+        uniqueDictIds[i][j] = random.nextInt(COLUMN_CARDINALITY);
+      }
+    }
+
+    _dictIds = new int[_numColumns][ROW_COUNT];
+    for (int i = 0; i < ROW_COUNT; i++) {
+      int[] dictIds = uniqueDictIds[random.nextInt(_numGroups)];
+      for (int j = 0; j < _numColumns; j++) {
+        _dictIds[j][i] = dictIds[j];
+      }
+    }
+    _keyLength = (_numColumns * NUM_BITS_PER_COLUMN + Long.SIZE - 1) / Long.SIZE;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int packedKeyMap() {
+    LongArrayKeyToIdMap map = new LongArrayKeyToIdMap(_keyLength);
+    long[] packedKey = new long[_keyLength];
+    for (int i = 0; i < ROW_COUNT; i++) {
+      Arrays.fill(packedKey, 0L);
+      for (int j = 0; j < _numColumns; j++) {
+        int bitOffset = j * NUM_BITS_PER_COLUMN;
+        int wordIndex = bitOffset >>> 6;
+        int shift = bitOffset & 63;
+        long dictId = _dictIds[j][i];
+        packedKey[wordIndex] |= dictId << shift;
+        if (shift + NUM_BITS_PER_COLUMN > Long.SIZE) {
+          packedKey[wordIndex + 1] |= dictId >>> (Long.SIZE - shift);
+        }
+      }
+      map.put(packedKey, Integer.MAX_VALUE);
+    }
+    return map.size();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int objectKeyMap() {
+    Object2IntOpenHashMap<FixedIntArray> map = new Object2IntOpenHashMap<>();
+    map.defaultReturnValue(-1);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      int[] dictIds = new int[_numColumns];
+      for (int j = 0; j < _numColumns; j++) {
+        dictIds[j] = _dictIds[j][i];
+      }
+      FixedIntArray key = new FixedIntArray(dictIds);
+      if (map.getInt(key) == -1) {
+        map.put(key, map.size());
+      }
+    }
+    return map.size();
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    ChainedOptionsBuilder opt =
+        new OptionsBuilder().include(BenchmarkGroupByKeyMap.class.getSimpleName()).addProfiler(GCProfiler.class)
+            .warmupTime(TimeValue.seconds(10)).warmupIterations(2).measurementTime(TimeValue.seconds(30))
+            .measurementIterations(5).forks(1);
+
+    new Runner(opt.build()).run();
+  }
+}
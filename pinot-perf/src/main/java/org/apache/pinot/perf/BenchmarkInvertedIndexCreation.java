@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.DimensionFieldSpec;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.segment.creator.impl.inv.OffHeapBitmapInvertedIndexCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+
+/**
+ * Benchmark for the inverted index creation on segment reload (adding the dictIds from the forward index, then sealing
+ * the inverted index) with different cardinalities and number of threads.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkInvertedIndexCreation {
+  private static final FieldSpec INT_FIELD = new DimensionFieldSpec("int", FieldSpec.DataType.INT, true);
+  private static final int NUM_DOCS = 10_000_000;
+  private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "BenchmarkInvertedIndexCreation");
+
+  @Param({"100", "10000", "1000000", "10000000"})
+  private int _cardinality;
+
+  @Param({"1", "4"})
+  private int _numThreads;
+
+  private final int[] _dictIds = new int[NUM_DOCS];
+  private ExecutorService _executorService;
+
+  @Setup
+  public void setUp()
+      throws IOException {
+    FileUtils.forceMkdir(INDEX_DIR);
+    Random random = new Random();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      _dictIds[i] = random.nextInt(_cardinality);
+    }
+    _executorService = Executors.newFixedThreadPool(_numThreads);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long benchmarkInvertedIndexCreation()
+      throws IOException {
+    try (OffHeapBitmapInvertedIndexCreator invertedIndexCreator = new OffHeapBitmapInvertedIndexCreator(INDEX_DIR,
+        INT_FIELD, _cardinality, NUM_DOCS, NUM_DOCS, _executorService, _numThreads)) {
+      for (int dictId : _dictIds) {
+        invertedIndexCreator.add(dictId);
+      }
+      invertedIndexCreator.seal();
+    }
+    return FileUtils.sizeOf(INDEX_DIR);
+  }
+
+  @TearDown
+  public void tearDown()
+      throws Exception {
+    _executorService.shutdownNow();
+    FileUtils.forceDelete(INDEX_DIR);
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    Options opt = new OptionsBuilder().include(BenchmarkInvertedIndexCreation.class.getSimpleName())
+        .warmupTime(TimeValue.seconds(5)).warmupIterations(1).measurementTime(TimeValue.seconds(10))
+        .measurementIterations(3).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,258 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitMultiValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitPrefixSumMultiValueReader;
+import org.apache.pinot.core.io.util.PinotDataBitSet;
+import org.apache.pinot.core.io.writer.SingleColumnMultiValueWriter;
+import org.apache.pinot.core.io.writer.impl.v1.FixedBitMultiValueWriter;
+import org.apache.pinot.core.io.writer.impl.v1.FixedBitPrefixSumMultiValueWriter;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+
+/**
+ * Benchmark for the multi-value forward index layouts, comparing the chunk offset and bitmap layout
+ * ({@link FixedBitMultiValueReader}) against the prefix sum layout ({@link FixedBitPrefixSumMultiValueReader}).
+ * <ul>
+ *   <li>countMV/sumMV: read the number of values/the values for blocks of document Ids, as done by the MV aggregation
+ *   functions through the DataFetcher</li>
+ *   <li>inFilter: scan all the documents and match the values against an IN predicate, as done by the
+ *   MVScanDocIdIterator</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+public class BenchmarkMultiValueForwardIndex {
+  private static final int NUM_DOCS = 1_000_000;
+  private static final int CARDINALITY = 10_000;
+  private static final int NUM_IN_VALUES = 100;
+  private static final int BLOCK_SIZE = DocIdSetPlanNode.MAX_DOC_PER_CALL;
+
+  @Param({"2", "10", "50"})
+  public int _maxNumValuesPerDoc;
+
+  // Fraction of the documents in each block that pass the filter
+  @Param({"1.0", "0.3"})
+  public double _selectivity;
+
+  private File _tempDir;
+  private FixedBitMultiValueReader _chunkBitmapReader;
+  private FixedBitPrefixSumMultiValueReader _prefixSumReader;
+  private int[][] _blockDocIds;
+  private int[] _blockLengths;
+  private boolean[] _inValues;
+  private final int[] _numValues = new int[BLOCK_SIZE];
+  private int[] _values;
+
+  @Setup
+  public void setUp()
+      throws Exception {
+    Random random = new Random(System.nanoTime());
+    int[][] data = new int[NUM_DOCS][];
+    int totalNumValues = 0;
+    for (int i = 0; i < NUM_DOCS; i++) {
+      int numValues = random.nextInt(_maxNumValuesPerDoc) + 1;
+      data[i] = new int[numValues];
+      for (int j = 0; j < numValues; j++) {
+        data[i][j] = random.nextInt(CARDINALITY);
+      }
+      totalNumValues += numValues;
+    }
+    int numBitsPerValue = PinotDataBitSet.getNumBitsPerValue(CARDINALITY - 1);
+
+    _tempDir = Files.createTempDirectory(BenchmarkMultiValueForwardIndex.class.getSimpleName()).toFile();
+    File chunkBitmapFile = new File(_tempDir, "chunkBitmap.mv.fwd");
+    try (SingleColumnMultiValueWriter writer = new FixedBitMultiValueWriter(chunkBitmapFile, NUM_DOCS, totalNumValues,
+        numBitsPerValue)) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        writer.setIntArray(i, data[i]);
+      }
+    }
+    File prefixSumFile = new File(_tempDir, "prefixSum.mv.fwd");
+    try (SingleColumnMultiValueWriter writer = new FixedBitPrefixSumMultiValueWriter(prefixSumFile, NUM_DOCS,
+        totalNumValues, numBitsPerValue)) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        writer.setIntArray(i, data[i]);
+      }
+    }
+    _chunkBitmapReader =
+        new FixedBitMultiValueReader(PinotDataBuffer.mapReadOnlyBigEndianFile(chunkBitmapFile), NUM_DOCS,
+            totalNumValues, numBitsPerValue);
+    _prefixSumReader =
+        new FixedBitPrefixSumMultiValueReader(PinotDataBuffer.mapReadOnlyBigEndianFile(prefixSumFile), NUM_DOCS,
+            totalNumValues, numBitsPerValue);
+
+    int numBlocks = (NUM_DOCS + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    _blockDocIds = new int[numBlocks][BLOCK_SIZE];
+    _blockLengths = new int[numBlocks];
+    for (int docId = 0; docId < NUM_DOCS; docId++) {
+      if (random.nextDouble() < _selectivity) {
+        int blockId = docId / BLOCK_SIZE;
+        _blockDocIds[blockId][_blockLengths[blockId]++] = docId;
+      }
+    }
+
+    _inValues = new boolean[CARDINALITY];
+    for (int i = 0; i < NUM_IN_VALUES; i++) {
+      _inValues[random.nextInt(CARDINALITY)] = true;
+    }
+    _values = new int[_maxNumValuesPerDoc];
+  }
+
+  @TearDown
+  public void tearDown()
+      throws IOException {
+    _chunkBitmapReader.close();
+    _prefixSumReader.close();
+    FileUtils.deleteQuietly(_tempDir);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long countMVChunkBitmap() {
+    FixedBitMultiValueReader.Context context = _chunkBitmapReader.createContext();
+    long count = 0;
+    for (int blockId = 0; blockId < _blockDocIds.length; blockId++) {
+      int[] docIds = _blockDocIds[blockId];
+      int length = _blockLengths[blockId];
+      for (int i = 0; i < length; i++) {
+        count += _chunkBitmapReader.getIntArray(docIds[i], _values, context);
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long countMVPrefixSum() {
+    FixedBitPrefixSumMultiValueReader.Context context = _prefixSumReader.createContext();
+    long count = 0;
+    for (int blockId = 0; blockId < _blockDocIds.length; blockId++) {
+      count += _prefixSumReader.getNumValues(_blockDocIds[blockId], _blockLengths[blockId], _numValues, context);
+    }
+    return count;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long sumMVChunkBitmap() {
+    FixedBitMultiValueReader.Context context = _chunkBitmapReader.createContext();
+    long sum = 0;
+    for (int blockId = 0; blockId < _blockDocIds.length; blockId++) {
+      int[] docIds = _blockDocIds[blockId];
+      int length = _blockLengths[blockId];
+      for (int i = 0; i < length; i++) {
+        int numValues = _chunkBitmapReader.getIntArray(docIds[i], _values, context);
+        for (int j = 0; j < numValues; j++) {
+          sum += _values[j];
+        }
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long sumMVPrefixSum() {
+    FixedBitPrefixSumMultiValueReader.Context context = _prefixSumReader.createContext();
+    long sum = 0;
+    for (int blockId = 0; blockId < _blockDocIds.length; blockId++) {
+      int length = _blockLengths[blockId];
+      int[] values = _prefixSumReader.getIntArrays(_blockDocIds[blockId], length, _numValues, context);
+      int totalNumValues = 0;
+      for (int i = 0; i < length; i++) {
+        totalNumValues += _numValues[i];
+      }
+      for (int i = 0; i < totalNumValues; i++) {
+        sum += values[i];
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int inFilterChunkBitmap() {
+    FixedBitMultiValueReader.Context context = _chunkBitmapReader.createContext();
+    int numMatchingDocs = 0;
+    for (int docId = 0; docId < NUM_DOCS; docId++) {
+      if (matches(_chunkBitmapReader.getIntArray(docId, _values, context))) {
+        numMatchingDocs++;
+      }
+    }
+    return numMatchingDocs;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int inFilterPrefixSum() {
+    FixedBitPrefixSumMultiValueReader.Context context = _prefixSumReader.createContext();
+    int numMatchingDocs = 0;
+    for (int docId = 0; docId < NUM_DOCS; docId++) {
+      if (matches(_prefixSumReader.getIntArray(docId, _values, context))) {
+        numMatchingDocs++;
+      }
+    }
+    return numMatchingDocs;
+  }
+
+  private boolean matches(int numValues) {
+    for (int i = 0; i < numValues; i++) {
+      if (_inValues[_values[i]]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    ChainedOptionsBuilder opt = new OptionsBuilder().include(BenchmarkMultiValueForwardIndex.class.getSimpleName())
+        .warmupTime(TimeValue.seconds(5)).warmupIterations(2).measurementTime(TimeValue.seconds(10))
+        .measurementIterations(3).forks(1);
+
+    new Runner(opt.build()).run();
+  }
+}
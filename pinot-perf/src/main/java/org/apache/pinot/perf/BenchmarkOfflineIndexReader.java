@@ -27,7 +27,6 @@ import java.util.concurrent.TimeUnit;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.common.segment.ReadMode;
 import org.apache.pinot.common.utils.TarGzCompressionUtils;
-import org.apache.pinot.core.io.reader.ReaderContext;
 import org.apache.pinot.core.io.reader.impl.v1.FixedBitMultiValueReader;
 import org.apache.pinot.core.io.reader.impl.v1.FixedBitSingleValueReader;
 import org.apache.pinot.core.io.reader.impl.v1.SortedIndexReaderImpl;
@@ -148,7 +147,7 @@ public class BenchmarkOfflineIndexReader {
   @BenchmarkMode(Mode.AverageTime)
   @OutputTimeUnit(TimeUnit.MICROSECONDS)
   public int fixedBitSingleValueReader() {
-    ReaderContext context = _fixedBitSingleValueReader.createContext();
+    FixedBitSingleValueReader.Context context = _fixedBitSingleValueReader.createContext();
     int ret = 0;
     for (int i = 0; i < _numDocs; i++) {
       ret += _fixedBitSingleValueReader.getInt(i, context);
@@ -18,10 +18,18 @@
  */
 package org.apache.pinot.perf;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
+import org.apache.pinot.common.utils.Pairs.IntPair;
 import org.apache.pinot.core.common.BlockDocIdIterator;
 import org.apache.pinot.core.common.Constants;
 import org.apache.pinot.core.operator.dociditerators.OrDocIdIterator;
+import org.apache.pinot.core.operator.docidsets.AndBlockDocIdSet;
+import org.apache.pinot.core.operator.docidsets.BitmapDocIdSet;
+import org.apache.pinot.core.operator.docidsets.FilterBlockDocIdSet;
+import org.apache.pinot.core.operator.docidsets.OrBlockDocIdSet;
+import org.apache.pinot.core.operator.docidsets.SortedDocIdSet;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -32,6 +40,8 @@ import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
 
 
 @State(Scope.Benchmark)
@@ -103,6 +113,74 @@ public class BenchmarkOrDocIdIterator {
     return ret;
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int andOrTreeFast() {
+    return iterate(setUpAndOrTree().iterator());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int andOrTreeSlow() {
+    return iterate(setUpAndOrTree().slowIterator());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int nestedAndTreeFast() {
+    return iterate(setUpNestedAndTree().iterator());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int nestedAndTreeSlow() {
+    return iterate(setUpNestedAndTree().slowIterator());
+  }
+
+  private int iterate(BlockDocIdIterator iterator) {
+    int ret = 0;
+    int docId;
+    while ((docId = iterator.next()) != Constants.EOF) {
+      ret += docId;
+    }
+    return ret;
+  }
+
+  /**
+   * a = 1 AND (b IN (...) OR c = 2)
+   */
+  private AndBlockDocIdSet setUpAndOrTree() {
+    OrBlockDocIdSet orDocIdSet =
+        new OrBlockDocIdSet(Arrays.asList(setUpBitmapBased(7), setUpBitmapBased(11), setUpSortedBased(1000, 5000)));
+    return new AndBlockDocIdSet(Arrays.asList(setUpBitmapBased(2), orDocIdSet));
+  }
+
+  /**
+   * a = 1 AND (b = 2 AND c BETWEEN ...) AND (d = 3 OR e = 4)
+   */
+  private AndBlockDocIdSet setUpNestedAndTree() {
+    AndBlockDocIdSet andDocIdSet =
+        new AndBlockDocIdSet(Arrays.asList(setUpBitmapBased(3), setUpSortedBased(0, MAX_DOC_ID / 2)));
+    OrBlockDocIdSet orDocIdSet = new OrBlockDocIdSet(Arrays.asList(setUpBitmapBased(5), setUpBitmapBased(13)));
+    return new AndBlockDocIdSet(Arrays.asList(setUpBitmapBased(2), andDocIdSet, orDocIdSet));
+  }
+
+  private FilterBlockDocIdSet setUpBitmapBased(int steps) {
+    MutableRoaringBitmap bitmap = new MutableRoaringBitmap();
+    for (int docId = 0; docId <= MAX_DOC_ID; docId += steps) {
+      bitmap.add(docId);
+    }
+    return new BitmapDocIdSet(new ImmutableRoaringBitmap[]{bitmap}, 0, MAX_DOC_ID, false);
+  }
+
+  private FilterBlockDocIdSet setUpSortedBased(int startDocId, int endDocId) {
+    return new SortedDocIdSet("sorted", Collections.singletonList(new IntPair(startDocId, endDocId)));
+  }
+
   private OrDocIdIterator setUpArrayBased(int numIterators) {
     BlockDocIdIterator[] iterators = new BlockDocIdIterator[numIterators];
     for (int i = 0; i < numIterators; i++) {
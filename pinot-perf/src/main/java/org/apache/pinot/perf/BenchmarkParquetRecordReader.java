@@ -0,0 +1,208 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.parquet.data.readers.ParquetNativeRecordReader;
+import org.apache.pinot.parquet.data.readers.ParquetRecordReader;
+import org.apache.pinot.parquet.data.readers.ParquetUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+
+/**
+ * Benchmark for reading rows from a Parquet file, comparing the Avro based {@link ParquetRecordReader} against the
+ * {@link ParquetNativeRecordReader}. The results are in rows per second.
+ * <p>The Parquet file contains {@link #NUM_COLUMNS} columns (int, long, dictionary-encoded string and string
+ * multi-value), and the Pinot schema contains the first <code>_numSchemaColumns</code> of them.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkParquetRecordReader {
+  private static final int NUM_ROWS = 500_000;
+  private static final int NUM_COLUMNS = 8;
+  private static final int STRING_CARDINALITY = 1000;
+
+  @Param({"2", "8"})
+  public int _numSchemaColumns;
+
+  private File _tempDir;
+  private SegmentGeneratorConfig _segmentGeneratorConfig;
+
+  @Setup
+  public void setUp()
+      throws Exception {
+    _tempDir = Files.createTempDirectory(BenchmarkParquetRecordReader.class.getSimpleName()).toFile();
+    File dataFile = new File(_tempDir, "data.parquet");
+
+    StringBuilder avroSchemaBuilder =
+        new StringBuilder("{\"name\": \"BenchmarkParquetRecordReader\", \"type\": \"record\", \"fields\": [");
+    Schema.SchemaBuilder pinotSchemaBuilder = new Schema.SchemaBuilder();
+    for (int i = 0; i < NUM_COLUMNS; i++) {
+      String columnName = getColumnName(i);
+      if (i > 0) {
+        avroSchemaBuilder.append(", ");
+      }
+      switch (i % 4) {
+        case 0:
+          avroSchemaBuilder.append("{\"name\": \"").append(columnName).append("\", \"type\": \"int\"}");
+          if (i < _numSchemaColumns) {
+            pinotSchemaBuilder.addSingleValueDimension(columnName, FieldSpec.DataType.INT);
+          }
+          break;
+        case 1:
+          avroSchemaBuilder.append("{\"name\": \"").append(columnName).append("\", \"type\": \"string\"}");
+          if (i < _numSchemaColumns) {
+            pinotSchemaBuilder.addSingleValueDimension(columnName, FieldSpec.DataType.STRING);
+          }
+          break;
+        case 2:
+          avroSchemaBuilder.append("{\"name\": \"").append(columnName).append("\", \"type\": \"long\"}");
+          if (i < _numSchemaColumns) {
+            pinotSchemaBuilder.addMetric(columnName, FieldSpec.DataType.LONG);
+          }
+          break;
+        default:
+          avroSchemaBuilder.append("{\"name\": \"").append(columnName)
+              .append("\", \"type\": {\"type\": \"array\", \"items\": \"string\"}}");
+          if (i < _numSchemaColumns) {
+            pinotSchemaBuilder.addMultiValueDimension(columnName, FieldSpec.DataType.STRING);
+          }
+          break;
+      }
+    }
+    avroSchemaBuilder.append("]}");
+    org.apache.avro.Schema avroSchema = new org.apache.avro.Schema.Parser().parse(avroSchemaBuilder.toString());
+
+    Random random = new Random(System.nanoTime());
+    try (ParquetWriter<GenericRecord> writer = ParquetUtils
+        .getParquetWriter(new Path(dataFile.getAbsolutePath()), avroSchema)) {
+      for (int i = 0; i < NUM_ROWS; i++) {
+        GenericRecord record = new GenericData.Record(avroSchema);
+        for (int j = 0; j < NUM_COLUMNS; j++) {
+          String columnName = getColumnName(j);
+          switch (j % 4) {
+            case 0:
+              record.put(columnName, random.nextInt());
+              break;
+            case 1:
+              record.put(columnName, "value-" + random.nextInt(STRING_CARDINALITY));
+              break;
+            case 2:
+              record.put(columnName, random.nextLong());
+              break;
+            default:
+              int numValues = random.nextInt(5) + 1;
+              List<String> values = new ArrayList<>(numValues);
+              for (int k = 0; k < numValues; k++) {
+                values.add("value-" + random.nextInt(STRING_CARDINALITY));
+              }
+              record.put(columnName, values);
+              break;
+          }
+        }
+        writer.write(record);
+      }
+    }
+
+    _segmentGeneratorConfig = new SegmentGeneratorConfig();
+    _segmentGeneratorConfig.setInputFilePath(dataFile.getAbsolutePath());
+    _segmentGeneratorConfig.setSchema(pinotSchemaBuilder.build());
+  }
+
+  private static String getColumnName(int columnIndex) {
+    return "column" + columnIndex;
+  }
+
+  @TearDown
+  public void tearDown() {
+    FileUtils.deleteQuietly(_tempDir);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(NUM_ROWS)
+  public int avroRecordReader()
+      throws Exception {
+    try (RecordReader recordReader = new ParquetRecordReader()) {
+      recordReader.init(_segmentGeneratorConfig);
+      return readAll(recordReader);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(NUM_ROWS)
+  public int nativeRecordReader()
+      throws Exception {
+    try (RecordReader recordReader = new ParquetNativeRecordReader()) {
+      recordReader.init(_segmentGeneratorConfig);
+      return readAll(recordReader);
+    }
+  }
+
+  private static int readAll(RecordReader recordReader)
+      throws Exception {
+    GenericRow reuse = new GenericRow();
+    int numRows = 0;
+    while (recordReader.hasNext()) {
+      reuse.clear();
+      recordReader.next(reuse);
+      numRows++;
+    }
+    return numRows;
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    ChainedOptionsBuilder opt = new OptionsBuilder().include(BenchmarkParquetRecordReader.class.getSimpleName())
+        .warmupTime(TimeValue.seconds(5)).warmupIterations(2).measurementTime(TimeValue.seconds(10))
+        .measurementIterations(3).forks(1);
+
+    new Runner(opt.build()).run();
+  }
+}
@@ -18,12 +18,23 @@
  */
 package org.apache.pinot.perf;
 
+import java.io.File;
 import java.util.Random;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.DimensionFieldSpec;
+import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.core.io.readerwriter.PinotDataBufferMemoryManager;
 import org.apache.pinot.core.io.writer.impl.DirectMemoryManager;
 import org.apache.pinot.core.realtime.impl.dictionary.StringOffHeapMutableDictionary;
 import org.apache.pinot.core.realtime.impl.dictionary.StringOnHeapMutableDictionary;
+import org.apache.pinot.core.segment.creator.impl.SegmentDictionaryCreator;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.index.readers.ImmutableDictionaryReader;
+import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.segment.index.readers.VarLengthStringDictionary;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -45,12 +56,22 @@ public class BenchmarkStringDictionary {
   private static final int ROW_COUNT = 2_500_000;
   private static final int CARDINALITY = 1_000_000;
   private static final int MAX_STRING_LEN = 32;
+  // Immutable dictionaries have a few long values (e.g. URLs) and many short values
+  private static final int LONG_STRING_LEN = 512;
+  private static final double LONG_STRING_RATIO = 0.001;
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "BenchmarkStringDictionary");
+  private static final String FIXED_LENGTH_COLUMN = "fixedLengthColumn";
+  private static final String VAR_LENGTH_COLUMN = "varLengthColumn";
 
   private String[] _stringValues;
+  private int[] _dictIds;
   private PinotDataBufferMemoryManager _memoryManager;
+  private StringDictionary _fixedLengthDictionary;
+  private VarLengthStringDictionary _varLengthDictionary;
 
   @Setup
-  public void setUp() {
+  public void setUp()
+      throws Exception {
     _memoryManager = new DirectMemoryManager(BenchmarkStringDictionary.class.getName());
     // Create a list of values to insert into the hash map
     String[] uniqueStrings = new String[CARDINALITY];
@@ -63,12 +84,52 @@ public class BenchmarkStringDictionary {
       int u = r.nextInt(CARDINALITY);
       _stringValues[i] = uniqueStrings[u];
     }
+
+    // Build the immutable dictionaries
+    TreeSet<String> sortedValueSet = new TreeSet<>();
+    for (String uniqueString : uniqueStrings) {
+      if (r.nextDouble() < LONG_STRING_RATIO) {
+        sortedValueSet.add(uniqueString + generateRandomString(r, LONG_STRING_LEN));
+      } else {
+        sortedValueSet.add(uniqueString);
+      }
+    }
+    String[] sortedValues = sortedValueSet.toArray(new String[0]);
+    int cardinality = sortedValues.length;
+    FileUtils.deleteQuietly(TEMP_DIR);
+    int numBytesPerValue;
+    try (SegmentDictionaryCreator dictionaryCreator = new SegmentDictionaryCreator(sortedValues,
+        new DimensionFieldSpec(FIXED_LENGTH_COLUMN, FieldSpec.DataType.STRING, true), TEMP_DIR)) {
+      dictionaryCreator.build();
+      numBytesPerValue = dictionaryCreator.getNumBytesPerEntry();
+    }
+    try (SegmentDictionaryCreator dictionaryCreator = new SegmentDictionaryCreator(sortedValues,
+        new DimensionFieldSpec(VAR_LENGTH_COLUMN, FieldSpec.DataType.STRING, true), TEMP_DIR, true)) {
+      dictionaryCreator.build();
+    }
+    File fixedLengthFile = new File(TEMP_DIR, FIXED_LENGTH_COLUMN + V1Constants.Dict.FILE_EXTENSION);
+    File varLengthFile = new File(TEMP_DIR, VAR_LENGTH_COLUMN + V1Constants.Dict.FILE_EXTENSION);
+    System.out.println(
+        "Fixed-length dictionary size: " + fixedLengthFile.length() + ", var-length dictionary size: " + varLengthFile
+            .length());
+    _fixedLengthDictionary =
+        new StringDictionary(PinotDataBuffer.mapReadOnlyBigEndianFile(fixedLengthFile), cardinality, numBytesPerValue,
+            (byte) 0);
+    _varLengthDictionary =
+        new VarLengthStringDictionary(PinotDataBuffer.mapReadOnlyBigEndianFile(varLengthFile), cardinality);
+    _dictIds = new int[ROW_COUNT];
+    for (int i = 0; i < ROW_COUNT; i++) {
+      _dictIds[i] = r.nextInt(cardinality);
+    }
   }
 
   @TearDown
   public void tearDown()
       throws Exception {
     _memoryManager.close();
+    _fixedLengthDictionary.close();
+    _varLengthDictionary.close();
+    FileUtils.deleteQuietly(TEMP_DIR);
   }
 
   // Generates a ascii displayable string of given length
@@ -107,6 +168,50 @@ public class BenchmarkStringDictionary {
     return dictionary;
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkFixedLengthStringDictionaryLookup() {
+    return lookup(_fixedLengthDictionary);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkVarLengthStringDictionaryLookup() {
+    return lookup(_varLengthDictionary);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkFixedLengthStringDictionaryGet() {
+    return get(_fixedLengthDictionary);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkVarLengthStringDictionaryGet() {
+    return get(_varLengthDictionary);
+  }
+
+  private int lookup(ImmutableDictionaryReader dictionary) {
+    int sum = 0;
+    for (String stringValue : _stringValues) {
+      sum += dictionary.indexOf(stringValue);
+    }
+    return sum;
+  }
+
+  private int get(ImmutableDictionaryReader dictionary) {
+    int sum = 0;
+    for (int dictId : _dictIds) {
+      sum += dictionary.getStringValue(dictId).length();
+    }
+    return sum;
+  }
+
   public static void main(String[] args)
       throws Exception {
     ChainedOptionsBuilder opt =
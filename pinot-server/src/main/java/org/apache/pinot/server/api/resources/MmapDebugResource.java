@@ -27,6 +27,7 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import org.apache.pinot.core.segment.index.loader.warmup.SegmentWarmUpManager;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 
 
@@ -45,4 +46,13 @@ public class MmapDebugResource {
   public List<String> getOffHeapSizes() {
     return PinotDataBuffer.getBufferInfo();
   }
+
+  @GET
+  @Path("memory/warmup")
+  @ApiOperation(value = "View segment warm-up progress", notes = "Lists the warm-up progress of the memory-mapped segments")
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "Success")})
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<String> getSegmentWarmUpProgress() {
+    return SegmentWarmUpManager.getWarmUpInfo();
+  }
 }
@@ -19,12 +19,20 @@
 package org.apache.pinot.server.starter.helix;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.RateLimiter;
 import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -34,6 +42,7 @@ import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.io.FileUtils;
 import org.apache.helix.ZNRecord;
 import org.apache.helix.store.zk.ZkHelixPropertyStore;
+import org.apache.pinot.common.Utils;
 import org.apache.pinot.common.config.TableConfig;
 import org.apache.pinot.common.config.TableNameBuilder;
 import org.apache.pinot.common.data.Schema;
@@ -50,6 +59,7 @@ import org.apache.pinot.core.indexsegment.immutable.ImmutableSegment;
 import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
 import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
 import org.apache.pinot.core.segment.index.loader.LoaderUtils;
+import org.apache.pinot.core.segment.index.loader.SegmentReloadPlanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +72,8 @@ import org.slf4j.LoggerFactory;
 @ThreadSafe
 public class HelixInstanceDataManager implements InstanceDataManager {
   private static final Logger LOGGER = LoggerFactory.getLogger(HelixInstanceDataManager.class);
+  // Segment files are copied in chunks of 1MB, one rate limiter permit per chunk
+  private static final long COPY_CHUNK_SIZE = 1024L * 1024L;
 
   private final ConcurrentHashMap<String, TableDataManager> _tableDataManagerMap = new ConcurrentHashMap<>();
 
@@ -69,6 +81,10 @@ public class HelixInstanceDataManager implements InstanceDataManager {
   private String _instanceId;
   private ZkHelixPropertyStore<ZNRecord> _propertyStore;
   private ServerMetrics _serverMetrics;
+  // Shared by all the segment reloads of the instance, null if the copy is not throttled
+  private RateLimiter _reloadCopyRateLimiter;
+  // Reloads the segments of a table in parallel, null if segments are reloaded sequentially
+  private ExecutorService _reloadExecutorService;
 
   @Override
   public synchronized void init(@Nonnull Configuration config, @Nonnull ZkHelixPropertyStore<ZNRecord> propertyStore,
@@ -91,6 +107,15 @@ public class HelixInstanceDataManager implements InstanceDataManager {
       Preconditions.checkState(instanceSegmentTarDir.mkdirs());
     }
 
+    int copyMaxMBPerSec = _instanceDataManagerConfig.getReloadCopyMaxMBPerSec();
+    if (copyMaxMBPerSec > 0) {
+      _reloadCopyRateLimiter = RateLimiter.create(copyMaxMBPerSec);
+    }
+    int maxParallelReloadThreads = _instanceDataManagerConfig.getMaxParallelReloadThreads();
+    if (maxParallelReloadThreads > 1) {
+      _reloadExecutorService = Executors.newFixedThreadPool(maxParallelReloadThreads);
+    }
+
     // Initialize the table data manager provider
     TableDataManagerProvider.init(_instanceDataManagerConfig);
 
@@ -104,6 +129,9 @@ public class HelixInstanceDataManager implements InstanceDataManager {
 
   @Override
   public synchronized void shutDown() {
+    if (_reloadExecutorService != null) {
+      _reloadExecutorService.shutdownNow();
+    }
     LOGGER.info("Helix instance data manager shut down");
   }
 
@@ -118,6 +146,16 @@ public class HelixInstanceDataManager implements InstanceDataManager {
     LOGGER.info("Added segment: {} to table: {}", segmentName, offlineTableName);
   }
 
+  @Override
+  public void preprocessOfflineSegment(@Nonnull String offlineTableName, @Nonnull File indexDir)
+      throws Exception {
+    TableConfig tableConfig = ZKMetadataProvider.getTableConfig(_propertyStore, offlineTableName);
+    Preconditions.checkNotNull(tableConfig);
+    Schema schema = ZKMetadataProvider.getTableSchema(_propertyStore, offlineTableName);
+    ImmutableSegmentLoader
+        .preprocess(indexDir, new IndexLoadingConfig(_instanceDataManagerConfig, tableConfig), schema);
+  }
+
   @Override
   public void addRealtimeSegment(@Nonnull String realtimeTableName, @Nonnull String segmentName)
       throws Exception {
@@ -203,8 +241,37 @@ public class HelixInstanceDataManager implements InstanceDataManager {
       schema = ZKMetadataProvider.getTableSchema(_propertyStore, tableNameWithType);
     }
 
-    for (SegmentMetadata segmentMetadata : getAllSegmentsMetadata(tableNameWithType)) {
-      reloadSegment(tableNameWithType, segmentMetadata, tableConfig, schema);
+    List<SegmentMetadata> segmentsMetadata = getAllSegmentsMetadata(tableNameWithType);
+    if (_reloadExecutorService == null || segmentsMetadata.size() <= 1) {
+      for (SegmentMetadata segmentMetadata : segmentsMetadata) {
+        reloadSegment(tableNameWithType, segmentMetadata, tableConfig, schema);
+      }
+    } else {
+      // Old segments keep serving queries until the reloaded segments replace them, so reloading segments in parallel
+      // is safe
+      final Schema finalSchema = schema;
+      List<Future<Void>> futures = new ArrayList<>(segmentsMetadata.size());
+      for (SegmentMetadata segmentMetadata : segmentsMetadata) {
+        futures.add(_reloadExecutorService.submit(() -> {
+          reloadSegment(tableNameWithType, segmentMetadata, tableConfig, finalSchema);
+          return null;
+        }));
+      }
+
+      // Wait for all the segments to be reloaded before failing
+      ExecutionException exception = null;
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          if (exception == null) {
+            exception = e;
+          }
+        }
+      }
+      if (exception != null) {
+        Utils.rethrowException(exception.getCause());
+      }
     }
 
     LOGGER.info("Reloaded all segments in table: {}", tableNameWithType);
@@ -223,6 +290,7 @@ public class HelixInstanceDataManager implements InstanceDataManager {
     }
     Preconditions.checkState(indexDir.isDirectory(), "Index directory: %s is not a directory", indexDir);
 
+    IndexLoadingConfig indexLoadingConfig = new IndexLoadingConfig(_instanceDataManagerConfig, tableConfig);
     File parentFile = indexDir.getParentFile();
     File segmentBackupDir =
         new File(parentFile, indexDir.getName() + CommonConstants.Segment.SEGMENT_BACKUP_DIR_SUFFIX);
@@ -232,6 +300,20 @@ public class HelixInstanceDataManager implements InstanceDataManager {
     try {
       segmentLock.lock();
 
+      // If the segment does not need any change on disk, load it in place without copying the index directory. The
+      // segment is loaded without pre-processing so that the directory is never modified while the original segment
+      // keeps serving queries from it until it gets replaced
+      // NOTE: any planned change still takes the full copy and the full pre-processing below
+      List<String> changes = new SegmentReloadPlanner(indexDir, indexLoadingConfig, schema).planChanges();
+      if (changes.isEmpty()) {
+        ImmutableSegment immutableSegment =
+            ImmutableSegmentLoader.loadWithoutPreprocessing(indexDir, indexLoadingConfig, schema);
+        _tableDataManagerMap.get(tableNameWithType).addSegment(immutableSegment);
+        LOGGER.info("Reloaded segment: {} in table: {} in place", segmentName, tableNameWithType);
+        return;
+      }
+      LOGGER.info("Reloading segment: {} in table: {} with changes: {}", segmentName, tableNameWithType, changes);
+
       // First rename index directory to segment backup directory so that original segment have all file descriptors
       // point to the segment backup directory to ensure original segment serves queries properly
 
@@ -240,11 +322,14 @@ public class HelixInstanceDataManager implements InstanceDataManager {
           "Failed to rename index directory: %s to segment backup directory: %s", indexDir, segmentBackupDir);
 
       // Copy from segment backup directory back to index directory
-      FileUtils.copyDirectory(segmentBackupDir, indexDir);
+      if (_reloadCopyRateLimiter != null) {
+        copyDirectory(segmentBackupDir, indexDir, _reloadCopyRateLimiter);
+      } else {
+        FileUtils.copyDirectory(segmentBackupDir, indexDir);
+      }
 
       // Load from index directory
-      ImmutableSegment immutableSegment = ImmutableSegmentLoader
-          .load(indexDir, new IndexLoadingConfig(_instanceDataManagerConfig, tableConfig), schema);
+      ImmutableSegment immutableSegment = ImmutableSegmentLoader.load(indexDir, indexLoadingConfig, schema);
 
       // Replace the old segment in memory
       _tableDataManagerMap.get(tableNameWithType).addSegment(immutableSegment);
@@ -267,6 +352,42 @@ public class HelixInstanceDataManager implements InstanceDataManager {
     }
   }
 
+  /**
+   * Copies the source directory to the destination directory, throttling the copy with the given rate limiter (one
+   * permit per 1MB chunk). The rate limiter is shared by all the segment reloads of the instance, so the total copy
+   * rate of the parallel reloads is bounded.
+   */
+  private static void copyDirectory(File srcDir, File destDir, RateLimiter rateLimiter)
+      throws IOException {
+    Preconditions.checkState(destDir.mkdirs(), "Failed to create directory: %s", destDir);
+    File[] files = srcDir.listFiles();
+    Preconditions.checkState(files != null, "Failed to list files in directory: %s", srcDir);
+    for (File file : files) {
+      File destFile = new File(destDir, file.getName());
+      if (file.isDirectory()) {
+        copyDirectory(file, destFile, rateLimiter);
+      } else {
+        copyFile(file, destFile, rateLimiter);
+      }
+    }
+  }
+
+  private static void copyFile(File srcFile, File destFile, RateLimiter rateLimiter)
+      throws IOException {
+    try (FileChannel srcChannel = FileChannel.open(srcFile.toPath(), StandardOpenOption.READ);
+        FileChannel destChannel = FileChannel
+            .open(destFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      long size = srcChannel.size();
+      long position = 0;
+      while (position < size) {
+        rateLimiter.acquire();
+        position += srcChannel.transferTo(position, Math.min(COPY_CHUNK_SIZE, size - position), destChannel);
+      }
+    }
+    Preconditions.checkState(destFile.setLastModified(srcFile.lastModified()),
+        "Failed to set last modified time for file: %s", destFile);
+  }
+
   @Nonnull
   @Override
   public Set<String> getAllTables() {
@@ -63,6 +63,9 @@ public class HelixInstanceDataManagerConfig implements InstanceDataManagerConfig
   // response times to suffer.
   private static final String MAX_PARALLEL_SEGMENT_BUILDS = "realtime.max.parallel.segment.builds";
 
+  // Key of how many threads can be used to create the bitmaps of each inverted index when loading segments.
+  private static final String NUM_INVERTED_INDEX_CREATION_THREADS = "inverted.index.creation.threads";
+
   // Key of whether to enable split commit
   private static final String ENABLE_SPLIT_COMMIT = "enable.split.commit";
   // Key of whether to enable split commit end with segment metadata files.
@@ -89,6 +92,14 @@ public class HelixInstanceDataManagerConfig implements InstanceDataManagerConfig
   //
   private static final String MAX_PARALLEL_REFRESH_THREADS = "max.parallel.refresh.threads";
 
+  // Number of segments of a table that can be reloaded simultaneously when reloading all segments of the table.
+  // Segments that do not need any change on disk are reloaded in place, others are copied and pre-processed, which
+  // might take up disk bandwidth and increase the query latencies.
+  private static final String MAX_PARALLEL_RELOAD_THREADS = "max.parallel.reload.threads";
+  // Maximum rate (MB/s) of copying the segment files when reloading segments that need changes on disk, shared by all
+  // the segment reloads of the instance. A value of <= 0 indicates unlimited.
+  private static final String RELOAD_COPY_MAX_MB_PER_SEC = "reload.copy.max.mb.per.sec";
+
   private final static String[] REQUIRED_KEYS = {INSTANCE_ID, INSTANCE_DATA_DIR, READ_MODE};
   private Configuration _instanceDataManagerConfiguration = null;
 
@@ -181,10 +192,23 @@ public class HelixInstanceDataManagerConfig implements InstanceDataManagerConfig
     return _instanceDataManagerConfiguration.getInt(MAX_PARALLEL_REFRESH_THREADS, 1);
   }
 
+  public int getMaxParallelReloadThreads() {
+    return _instanceDataManagerConfiguration.getInt(MAX_PARALLEL_RELOAD_THREADS, 1);
+  }
+
+  public int getReloadCopyMaxMBPerSec() {
+    return _instanceDataManagerConfiguration.getInt(RELOAD_COPY_MAX_MB_PER_SEC, 0);
+  }
+
   public int getMaxParallelSegmentBuilds() {
     return _instanceDataManagerConfiguration.getInt(MAX_PARALLEL_SEGMENT_BUILDS, 0);
   }
 
+  @Override
+  public int getNumInvertedIndexCreationThreads() {
+    return _instanceDataManagerConfiguration.getInt(NUM_INVERTED_INDEX_CREATION_THREADS, 1);
+  }
+
   @Override
   public String toString() {
     String configString = "";
@@ -19,18 +19,25 @@
 package org.apache.pinot.server.starter.helix;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationUtils;
 import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.helix.HelixAdmin;
 import org.apache.helix.HelixDataAccessor;
 import org.apache.helix.HelixManager;
@@ -58,6 +65,7 @@ import org.apache.pinot.common.config.TagNameUtils;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
 import org.apache.pinot.common.metrics.ServerMeter;
 import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.common.metrics.ServerTimer;
 import org.apache.pinot.common.utils.CommonConstants;
 import org.apache.pinot.common.utils.NetUtil;
 import org.apache.pinot.common.utils.ServiceStatus;
@@ -151,9 +159,15 @@ public class HelixServerStarter {
     _serverInstance.init(serverInstanceConfig, propertyStore);
     _serverInstance.start();
 
-    // Register state model factory
+    final ServerMetrics serverMetrics = _serverInstance.getServerMetrics();
     SegmentFetcherAndLoader fetcherAndLoader =
-        new SegmentFetcherAndLoader(_helixServerConfig, _serverInstance.getInstanceDataManager(), propertyStore);
+        new SegmentFetcherAndLoader(_helixServerConfig, _serverInstance.getInstanceDataManager(), propertyStore,
+            serverMetrics);
+
+    // Start preloading the segments before the state transitions arrive
+    preloadOfflineSegments(fetcherAndLoader, serverMetrics);
+
+    // Register state model factory
     StateModelFactory<?> stateModelFactory =
         new SegmentOnlineOfflineStateModelFactory(_instanceId, _serverInstance.getInstanceDataManager(),
             fetcherAndLoader, propertyStore);
@@ -167,7 +181,6 @@ public class HelixServerStarter {
     _adminApiApplication.start(adminApiPort);
     setAdminApiPort(adminApiPort);
 
-    final ServerMetrics serverMetrics = _serverInstance.getServerMetrics();
     // Register message handler factory
     SegmentMessageHandlerFactory messageHandlerFactory =
         new SegmentMessageHandlerFactory(fetcherAndLoader, _serverInstance.getInstanceDataManager(), serverMetrics);
@@ -202,6 +215,72 @@ public class HelixServerStarter {
     serverMetrics.addCallbackGauge("memory.allocationFailureCount", PinotDataBuffer::getAllocationFailureCount);
   }
 
+  /**
+   * Prefetches and pre-processes the OFFLINE segments assigned to this instance in the ideal states with a bounded
+   * number of threads in the background. The state transitions for the preloaded segments only need to load the
+   * prepared segments, and the state transitions for segments being preloaded wait on the segment lock.
+   */
+  private void preloadOfflineSegments(SegmentFetcherAndLoader fetcherAndLoader, ServerMetrics serverMetrics) {
+    int parallelism = _helixServerConfig.getInt(CommonConstants.Server.CONFIG_OF_STARTER_SEGMENT_PRELOAD_PARALLELISM,
+        CommonConstants.Server.DEFAULT_STARTER_SEGMENT_PRELOAD_PARALLELISM);
+    if (parallelism <= 0) {
+      return;
+    }
+
+    List<Pair<String, String>> segmentsToPreload = new ArrayList<>();
+    for (String resourceName : _helixAdmin.getResourcesInCluster(_helixClusterName)) {
+      if (!TableNameBuilder.OFFLINE.tableHasTypeSuffix(resourceName)) {
+        continue;
+      }
+      IdealState idealState = _helixAdmin.getResourceIdealState(_helixClusterName, resourceName);
+      if (idealState == null || !idealState.isEnabled()) {
+        continue;
+      }
+      for (String segmentName : idealState.getPartitionSet()) {
+        Map<String, String> instanceStateMap = idealState.getInstanceStateMap(segmentName);
+        if (instanceStateMap != null && CommonConstants.Helix.StateModel.SegmentOnlineOfflineStateModel.ONLINE
+            .equals(instanceStateMap.get(_instanceId))) {
+          segmentsToPreload.add(new ImmutablePair<>(resourceName, segmentName));
+        }
+      }
+    }
+    int numSegmentsToPreload = segmentsToPreload.size();
+    if (numSegmentsToPreload == 0) {
+      return;
+    }
+    LOGGER.info("Preloading {} OFFLINE segments with parallelism: {}", numSegmentsToPreload, parallelism);
+
+    long startTimeMs = System.currentTimeMillis();
+    AtomicInteger numSegmentsPreloaded = new AtomicInteger();
+    AtomicInteger numSegmentsFailed = new AtomicInteger();
+    ExecutorService executorService = Executors.newFixedThreadPool(parallelism,
+        new ThreadFactoryBuilder().setNameFormat("segment-preloader-%d").setDaemon(true).build());
+    for (Pair<String, String> tableAndSegment : segmentsToPreload) {
+      executorService.submit(() -> {
+        if (fetcherAndLoader.preloadOfflineSegment(tableAndSegment.getLeft(), tableAndSegment.getRight())) {
+          numSegmentsPreloaded.getAndIncrement();
+        } else {
+          numSegmentsFailed.getAndIncrement();
+        }
+      });
+    }
+    executorService.shutdown();
+
+    // Report the timing without blocking the server startup
+    new Thread(() -> {
+      try {
+        executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      long preloadTimeMs = System.currentTimeMillis() - startTimeMs;
+      serverMetrics.addTimedValue(ServerTimer.SEGMENT_PRELOAD_TIME_MS, preloadTimeMs, TimeUnit.MILLISECONDS);
+      LOGGER.info("Preloaded {} out of {} OFFLINE segments ({} failed) in {}ms", numSegmentsPreloaded.get(),
+          numSegmentsToPreload, numSegmentsFailed.get(), preloadTimeMs);
+    }, "segment-preloader-monitor").start();
+  }
+
   private void waitForAllSegmentsLoaded() {
     if (_helixServerConfig.getBoolean(CommonConstants.Server.CONFIG_OF_STARTER_ENABLE_SEGMENTS_LOADING_CHECK,
         CommonConstants.Server.DEFAULT_STARTER_ENABLE_SEGMENTS_LOADING_CHECK)) {
@@ -20,6 +20,7 @@ package org.apache.pinot.server.starter.helix;
 
 import com.google.common.base.Preconditions;
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -31,7 +32,10 @@ import org.apache.pinot.common.Utils;
 import org.apache.pinot.common.config.TableNameBuilder;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
 import org.apache.pinot.common.metadata.segment.OfflineSegmentZKMetadata;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.common.metrics.ServerTimer;
 import org.apache.pinot.common.segment.SegmentMetadata;
+import org.apache.pinot.common.segment.fetcher.SegmentFetcher;
 import org.apache.pinot.common.segment.fetcher.SegmentFetcherFactory;
 import org.apache.pinot.common.utils.CommonConstants;
 import org.apache.pinot.common.utils.TarGzCompressionUtils;
@@ -55,12 +59,18 @@ public class SegmentFetcherAndLoader {
   private final InstanceDataManager _instanceDataManager;
   private final ZkHelixPropertyStore<ZNRecord> _propertyStore;
   private final Configuration _crypterConfig;
+  private final ServerMetrics _serverMetrics;
+  private final boolean _enableStreamedDownloadUntar;
 
   public SegmentFetcherAndLoader(@Nonnull Configuration config, @Nonnull InstanceDataManager instanceDataManager,
-      @Nonnull ZkHelixPropertyStore<ZNRecord> propertyStore)
+      @Nonnull ZkHelixPropertyStore<ZNRecord> propertyStore, @Nonnull ServerMetrics serverMetrics)
       throws Exception {
     _instanceDataManager = instanceDataManager;
     _propertyStore = propertyStore;
+    _serverMetrics = serverMetrics;
+    _enableStreamedDownloadUntar = config
+        .getBoolean(CommonConstants.Server.CONFIG_OF_ENABLE_STREAMED_SEGMENT_DOWNLOAD_UNTAR,
+            CommonConstants.Server.DEFAULT_ENABLE_STREAMED_SEGMENT_DOWNLOAD_UNTAR);
 
     Configuration pinotFSConfig = config.subset(CommonConstants.Server.PREFIX_OF_CONFIG_OF_PINOT_FS_FACTORY);
     Configuration segmentFetcherFactoryConfig =
@@ -114,7 +124,7 @@ public class SegmentFetcherAndLoader {
             if (!isNewSegmentMetadata(newSegmentZKMetadata, localSegmentMetadata)) {
               LOGGER.info("Segment metadata same as before, loading {} of table {} (crc {}) from disk", segmentName,
                   tableNameWithType, localSegmentMetadata.getCrc());
-              _instanceDataManager.addOfflineSegment(tableNameWithType, segmentName, indexDir);
+              addOfflineSegment(tableNameWithType, segmentName, indexDir);
               // TODO Update zk metadata with CRC for this instance
               return;
             }
@@ -156,7 +166,7 @@ public class SegmentFetcherAndLoader {
         // Retry will be done here.
         String localSegmentDir = downloadSegmentToLocal(uri, crypter, tableNameWithType, segmentName);
         SegmentMetadata segmentMetadata = new SegmentMetadataImpl(new File(localSegmentDir));
-        _instanceDataManager.addOfflineSegment(tableNameWithType, segmentName, new File(localSegmentDir));
+        addOfflineSegment(tableNameWithType, segmentName, new File(localSegmentDir));
         LOGGER.info("Downloaded segment {} of table {} crc {} from controller", segmentName, tableNameWithType,
             segmentMetadata.getCrc());
       } else {
@@ -172,6 +182,77 @@ public class SegmentFetcherAndLoader {
     }
   }
 
+  /**
+   * Prefetches and pre-processes an OFFLINE segment on local disk without adding it, so that the state transition for
+   * the segment only needs to load the prepared segment. Returns whether the segment is prepared.
+   * <p>Failures are not thrown because the state transition will handle the segment as usual.
+   */
+  public boolean preloadOfflineSegment(String tableNameWithType, String segmentName) {
+    // This method might modify the file on disk. Use segment lock to prevent race condition
+    Lock segmentLock = SegmentLocks.getSegmentLock(tableNameWithType, segmentName);
+    try {
+      segmentLock.lock();
+
+      if (_instanceDataManager.getSegmentMetadata(tableNameWithType, segmentName) != null) {
+        LOGGER.info("Segment {} of table {} is already loaded, skipping preloading it", segmentName, tableNameWithType);
+        return true;
+      }
+      OfflineSegmentZKMetadata segmentZKMetadata =
+          ZKMetadataProvider.getOfflineSegmentZKMetadata(_propertyStore, tableNameWithType, segmentName);
+      if (segmentZKMetadata == null) {
+        LOGGER.warn("Failed to find ZK metadata for segment {} of table {}, skipping preloading it", segmentName,
+            tableNameWithType);
+        return false;
+      }
+
+      File indexDir = new File(getSegmentLocalDirectory(tableNameWithType, segmentName));
+      LoaderUtils.reloadFailureRecovery(indexDir);
+      SegmentMetadata localSegmentMetadata = null;
+      if (indexDir.exists()) {
+        try {
+          localSegmentMetadata = new SegmentMetadataImpl(indexDir);
+        } catch (Exception e) {
+          LOGGER.warn("Failed to load segment metadata from {}. Deleting it.", indexDir, e);
+          FileUtils.deleteQuietly(indexDir);
+        }
+      }
+
+      long downloadTimeMs = 0L;
+      if (isNewSegmentMetadata(segmentZKMetadata, localSegmentMetadata)) {
+        long downloadStartTimeMs = System.currentTimeMillis();
+        String crypterName = segmentZKMetadata.getCrypterName();
+        PinotCrypter crypter = (crypterName != null) ? PinotCrypterFactory.create(crypterName) : null;
+        downloadSegmentToLocal(segmentZKMetadata.getDownloadUrl(), crypter, tableNameWithType, segmentName);
+        downloadTimeMs = System.currentTimeMillis() - downloadStartTimeMs;
+      }
+
+      long preprocessStartTimeMs = System.currentTimeMillis();
+      _instanceDataManager.preprocessOfflineSegment(tableNameWithType, indexDir);
+      long preprocessTimeMs = System.currentTimeMillis() - preprocessStartTimeMs;
+      _serverMetrics.addTimedTableValue(tableNameWithType, ServerTimer.SEGMENT_PREPROCESS_TIME_MS, preprocessTimeMs,
+          TimeUnit.MILLISECONDS);
+      LOGGER.info("Preloaded segment {} of table {}, download time: {}ms, pre-process time: {}ms", segmentName,
+          tableNameWithType, downloadTimeMs, preprocessTimeMs);
+      return true;
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while preloading segment {} of table {}, leaving it to the state transition",
+          segmentName, tableNameWithType, e);
+      return false;
+    } finally {
+      segmentLock.unlock();
+    }
+  }
+
+  private void addOfflineSegment(String tableNameWithType, String segmentName, File indexDir)
+      throws Exception {
+    long startTimeMs = System.currentTimeMillis();
+    _instanceDataManager.addOfflineSegment(tableNameWithType, segmentName, indexDir);
+    long loadTimeMs = System.currentTimeMillis() - startTimeMs;
+    _serverMetrics
+        .addTimedTableValue(tableNameWithType, ServerTimer.SEGMENT_LOAD_TIME_MS, loadTimeMs, TimeUnit.MILLISECONDS);
+    LOGGER.info("Loaded segment {} of table {}, load time: {}ms", segmentName, tableNameWithType, loadTimeMs);
+  }
+
   private boolean isNewSegmentMetadata(@Nonnull OfflineSegmentZKMetadata newSegmentZKMetadata,
       @Nullable SegmentMetadata existedSegmentMetadata) {
     String offlineTableName = TableNameBuilder.OFFLINE.tableNameWithType(newSegmentZKMetadata.getTableName());
@@ -200,20 +281,31 @@ public class SegmentFetcherAndLoader {
     File tempTarFile = new File(tempDir, segmentName + TAR_GZ_SUFFIX);
     File tempSegmentDir = new File(tempDir, segmentName);
     try {
-      SegmentFetcherFactory.getInstance().getSegmentFetcherBasedOnURI(uri).fetchSegmentToLocal(uri, tempDownloadFile);
-      if (crypter != null) {
-        crypter.decrypt(tempDownloadFile, tempTarFile);
+      long startTimeMs = System.currentTimeMillis();
+      SegmentFetcher segmentFetcher = SegmentFetcherFactory.getInstance().getSegmentFetcherBasedOnURI(uri);
+      if (crypter == null && _enableStreamedDownloadUntar) {
+        // Untar the segment while downloading it, retry will be done by the segment fetcher
+        segmentFetcher.fetchUntarSegmentToLocalStreamed(uri, tempSegmentDir);
+        LOGGER.info("Downloaded and untarred segment: {} for table: {} from: {} to: {}", segmentName, tableName, uri,
+            tempSegmentDir);
       } else {
-        tempTarFile = tempDownloadFile;
-      }
+        segmentFetcher.fetchSegmentToLocal(uri, tempDownloadFile);
+        if (crypter != null) {
+          crypter.decrypt(tempDownloadFile, tempTarFile);
+        } else {
+          tempTarFile = tempDownloadFile;
+        }
 
-      LOGGER
-          .info("Downloaded tarred segment: {} for table: {} from: {} to: {}, file length: {}", segmentName, tableName,
-              uri, tempTarFile, tempTarFile.length());
+        LOGGER.info("Downloaded tarred segment: {} for table: {} from: {} to: {}, file length: {}", segmentName,
+            tableName, uri, tempTarFile, tempTarFile.length());
 
-      // If an exception is thrown when untarring, it means the tar file is broken OR not found after the retry.
-      // Thus, there's no need to retry again.
-      TarGzCompressionUtils.unTar(tempTarFile, tempSegmentDir);
+        // If an exception is thrown when untarring, it means the tar file is broken OR not found after the retry.
+        // Thus, there's no need to retry again.
+        TarGzCompressionUtils.unTar(tempTarFile, tempSegmentDir);
+      }
+      long downloadTimeMs = System.currentTimeMillis() - startTimeMs;
+      _serverMetrics
+          .addTimedTableValue(tableName, ServerTimer.SEGMENT_DOWNLOAD_TIME_MS, downloadTimeMs, TimeUnit.MILLISECONDS);
 
       File[] files = tempSegmentDir.listFiles();
       Preconditions.checkState(files != null && files.length == 1);
@@ -225,7 +317,8 @@ public class SegmentFetcherAndLoader {
         FileUtils.deleteDirectory(indexDir);
       }
       FileUtils.moveDirectory(tempIndexDir, indexDir);
-      LOGGER.info("Successfully downloaded segment: {} for table: {} to: {}", segmentName, tableName, indexDir);
+      LOGGER.info("Successfully downloaded segment: {} for table: {} to: {}, download time: {}ms", segmentName,
+          tableName, indexDir, downloadTimeMs);
       return indexDir.getAbsolutePath();
     } finally {
       FileUtils.deleteQuietly(tempDir);
@@ -21,17 +21,25 @@ package org.apache.pinot.tools.admin.command;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.pinot.common.config.TableConfig;
 import org.apache.pinot.common.data.StarTreeIndexSpec;
 import org.apache.pinot.common.utils.JsonUtils;
 import org.apache.pinot.core.data.readers.FileFormat;
+import org.apache.pinot.core.data.readers.RecordReader;
+import org.apache.pinot.core.data.readers.RecordReaderFactory;
 import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.segment.creator.impl.RollingSegmentCreationDriver;
 import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
 import org.apache.pinot.startree.hll.HllConfig;
 import org.apache.pinot.startree.hll.HllConstants;
@@ -78,6 +86,10 @@ public class CreateSegmentCommand extends AbstractBaseAdminCommand implements Co
   @Option(name = "-readerConfigFile", metaVar = "<string>", usage = "Config file for record reader.")
   private String _readerConfigFile;
 
+  @Option(name = "-tableConfigFile", metaVar = "<string>",
+      usage = "Table config file, the segments are sorted on its sorted column.")
+  private String _tableConfigFile;
+
   @Option(name = "-enableStarTreeIndex", usage = "Enable Star Tree Index.")
   boolean _enableStarTreeIndex = false;
 
@@ -96,6 +108,14 @@ public class CreateSegmentCommand extends AbstractBaseAdminCommand implements Co
   @Option(name = "-numThreads", metaVar = "<int>", usage = "Parallelism while generating segments, default is 1.")
   private int _numThreads = 1;
 
+  @Option(name = "-maxNumRowsPerSegment", metaVar = "<int>",
+      usage = "Roll over to a new segment when the number of rows is reached.")
+  private Integer _maxNumRowsPerSegment;
+
+  @Option(name = "-maxSegmentSizeInMB", metaVar = "<long>",
+      usage = "Roll over to a new segment when the raw size of the rows (not the size on disk) is reached.")
+  private Long _maxSegmentSizeInMB;
+
   @SuppressWarnings("FieldCanBeLocal")
   @Option(name = "-help", help = true, aliases = {"-h", "--h", "--help"}, usage = "Print this message.")
   private boolean _help = false;
@@ -150,6 +170,11 @@ public class CreateSegmentCommand extends AbstractBaseAdminCommand implements Co
     return this;
   }
 
+  public CreateSegmentCommand setTableConfigFile(String tableConfigFile) {
+    _tableConfigFile = tableConfigFile;
+    return this;
+  }
+
   public CreateSegmentCommand setEnableStarTreeIndex(boolean enableStarTreeIndex) {
     _enableStarTreeIndex = enableStarTreeIndex;
     return this;
@@ -177,14 +202,25 @@ public class CreateSegmentCommand extends AbstractBaseAdminCommand implements Co
     return this;
   }
 
+  public CreateSegmentCommand setMaxNumRowsPerSegment(int maxNumRowsPerSegment) {
+    _maxNumRowsPerSegment = maxNumRowsPerSegment;
+    return this;
+  }
+
+  public CreateSegmentCommand setMaxSegmentSizeInMB(long maxSegmentSizeInMB) {
+    _maxSegmentSizeInMB = maxSegmentSizeInMB;
+    return this;
+  }
+
   @Override
   public String toString() {
     return ("CreateSegment  -generatorConfigFile " + _generatorConfigFile + " -dataDir " + _dataDir + " -format "
         + _format + " -outDir " + _outDir + " -overwrite " + _overwrite + " -tableName " + _tableName + " -segmentName "
         + _segmentName + " -timeColumnName " + _timeColumnName + " -schemaFile " + _schemaFile + " -readerConfigFile "
-        + _readerConfigFile + " -enableStarTreeIndex " + _enableStarTreeIndex + " -starTreeIndexSpecFile "
-        + _starTreeIndexSpecFile + " -hllSize " + _hllSize + " -hllColumns " + _hllColumns + " -hllSuffix " + _hllSuffix
-        + " -numThreads " + _numThreads);
+        + _readerConfigFile + " -tableConfigFile " + _tableConfigFile + " -enableStarTreeIndex " + _enableStarTreeIndex
+        + " -starTreeIndexSpecFile " + _starTreeIndexSpecFile + " -hllSize " + _hllSize + " -hllColumns " + _hllColumns
+        + " -hllSuffix " + _hllSuffix + " -numThreads " + _numThreads + " -maxNumRowsPerSegment "
+        + _maxNumRowsPerSegment + " -maxSegmentSizeInMB " + _maxSegmentSizeInMB);
   }
 
   @Override
@@ -339,6 +375,20 @@ public class CreateSegmentCommand extends AbstractBaseAdminCommand implements Co
       segmentGeneratorConfig.setReaderConfigFile(_readerConfigFile);
     }
 
+    if (_tableConfigFile != null) {
+      String tableConfigString = new String(Files.readAllBytes(Paths.get(_tableConfigFile)), StandardCharsets.UTF_8);
+      List<String> sortedColumns = TableConfig.fromJsonString(tableConfigString).getIndexingConfig().getSortedColumn();
+      if (sortedColumns != null && !sortedColumns.isEmpty()) {
+        if (!segmentGeneratorConfig.getColumnSortOrder().isEmpty() && !segmentGeneratorConfig.getColumnSortOrder()
+            .equals(sortedColumns)) {
+          LOGGER.warn("Find columnSortOrder conflict in table config and config file, use table config: {}",
+              sortedColumns);
+        }
+        segmentGeneratorConfig.getColumnSortOrder().clear();
+        segmentGeneratorConfig.setColumnSortOrder(sortedColumns);
+      }
+    }
+
     if (_starTreeIndexSpecFile != null) {
       StarTreeIndexSpec starTreeIndexSpec = StarTreeIndexSpec.fromFile(new File(_starTreeIndexSpecFile));
 
@@ -360,6 +410,11 @@ public class CreateSegmentCommand extends AbstractBaseAdminCommand implements Co
       }
     }
 
+    if (_maxNumRowsPerSegment != null || _maxSegmentSizeInMB != null) {
+      createRollingSegments(segmentGeneratorConfig, files);
+      return true;
+    }
+
     ExecutorService executor = Executors.newFixedThreadPool(_numThreads);
     int cnt = 0;
     for (final File file : files) {
@@ -388,4 +443,34 @@ public class CreateSegmentCommand extends AbstractBaseAdminCommand implements Co
     executor.shutdown();
     return executor.awaitTermination(1, TimeUnit.HOURS);
   }
+
+  /**
+   * Streams the rows from all the input files into a {@link RollingSegmentCreationDriver}, which rolls over to a new
+   * segment when the max number of rows or the estimated segment size is reached.
+   */
+  private void createRollingSegments(SegmentGeneratorConfig segmentGeneratorConfig, File[] files)
+      throws Exception {
+    SegmentGeneratorConfig config = new SegmentGeneratorConfig(segmentGeneratorConfig);
+    // Schema is extracted from the first file if not specified
+    config.setInputFilePath(files[0].getAbsolutePath());
+    config.loadConfigFiles();
+    if (_maxNumRowsPerSegment != null) {
+      config.setMaxNumRowsPerSegment(_maxNumRowsPerSegment);
+    }
+    if (_maxSegmentSizeInMB != null) {
+      config.setMaxSegmentSizeInBytes(_maxSegmentSizeInMB * 1024 * 1024);
+    }
+
+    try (RollingSegmentCreationDriver driver = new RollingSegmentCreationDriver(config)) {
+      for (File file : files) {
+        SegmentGeneratorConfig fileConfig = new SegmentGeneratorConfig(config);
+        fileConfig.setInputFilePath(file.getAbsolutePath());
+        try (RecordReader recordReader = RecordReaderFactory.getRecordReader(fileConfig)) {
+          driver.build(recordReader);
+        }
+      }
+      List<String> segmentNames = driver.finish();
+      LOGGER.info("Created {} segments: {}", segmentNames.size(), segmentNames);
+    }
+  }
 }